@@ -18,8 +18,15 @@ package net.tourbook.chart;
 import java.io.InputStream;
 import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import net.tourbook.chart.preferences.IChartPreferences;
 import net.tourbook.common.PointLong;
@@ -99,6 +106,33 @@ public class ChartComponentGraph extends Canvas {
          { 40, 50 },
          { Integer.MAX_VALUE, 200 } };
 
+   /**
+    * When the line graphs have more values, they are prepared in the background and the graphs are
+    * painted when they are prepared
+    */
+   private static final int             PREPARE_GRAPHS_MIN_VALUES = 100_000;
+
+   private static final ExecutorService _graphPreparingExecutor;
+
+   static {
+
+      final ThreadFactory threadFactory = new ThreadFactory() {
+
+         @Override
+         public Thread newThread(final Runnable r) {
+
+            final Thread thread = new Thread(r, "Chart - Preparing graphs");//$NON-NLS-1$
+
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.setDaemon(true);
+
+            return thread;
+         }
+      };
+
+      _graphPreparingExecutor = Executors.newSingleThreadExecutor(threadFactory);
+   }
+
    private final LineAttributes      LINE_DASHED       = new LineAttributes(5);
    {
       LINE_DASHED.dashOffset = 3;
@@ -332,6 +366,14 @@ public class ChartComponentGraph extends Canvas {
    private ArrayList<RectangleLong[]> _lineFocusRectangles         = new ArrayList<>();
    private ArrayList<PointLong[]>     _lineDevPositions            = new ArrayList<>();
 
+   /**
+    * Visible values of the line graphs for the current x-scaling, key is the y-values array. They
+    * are also created in the background.
+    */
+   private Map<float[], LineDecimation> _lineDecimations = new ConcurrentHashMap<>();
+
+   private Future<?>                    _graphPreparingFuture;
+
    /**
     * Tooltip for value points, can be <code>null</code> when not set.
     */
@@ -1487,6 +1529,24 @@ public class ChartComponentGraph extends Canvas {
 
       _drawAsyncCounter[0]++;
 
+      // a newer painting is requested -> previous graphs are not needed any more
+      if (_graphPreparingFuture != null) {
+         _graphPreparingFuture.cancel(true);
+         _graphPreparingFuture = null;
+      }
+
+      final ArrayList<GraphDrawingData> allNotPreparedGraphs = getLineGraphs_NotPrepared();
+
+      if (allNotPreparedGraphs.size() > 0) {
+
+         // the current chart image shows other values, it is cleared until the line graphs are prepared and painted once
+         drawAsync_104_ClearChartImage();
+
+         drawAsync_102_PrepareGraphs(allNotPreparedGraphs);
+
+         return false;
+      }
+
 //      if (requestedRedrawTime > _lastChartDrawingTime + 100) {
 //
 //         // force a redraw
@@ -1628,6 +1688,108 @@ public class ChartComponentGraph extends Canvas {
 //            + _drawAsyncCounter[0]);
    }
 
+   /**
+    * Create the visible line graph values in the background and paint the graphs when they are
+    * available, the painting is then iterating only the visible values. A newer painting request
+    * cancels this preparation.
+    *
+    * @param allNotPreparedGraphs
+    */
+   private void drawAsync_102_PrepareGraphs(final ArrayList<GraphDrawingData> allNotPreparedGraphs) {
+
+      final Display display = getDisplay();
+      final int runnableCounter = _drawAsyncCounter[0];
+
+      /*
+       * The graph values, x-scaling and viewport are read in the UI thread, they can be modified
+       * while the graphs are prepared
+       */
+      final ArrayList<Runnable> allGraphPreparations = new ArrayList<>();
+
+      for (final GraphDrawingData graphDrawingData : allNotPreparedGraphs) {
+
+         final ChartDataXSerie xData = graphDrawingData.getXData();
+         final float[][] yHighValues = graphDrawingData.getYData().getHighValuesFloat();
+
+         final double[] xValues = xData.getHighValuesDouble()[0];
+         final float[] yValues = yHighValues[0];
+         final float[] yValues2 = yHighValues.length > 1 ? yHighValues[1] : null;
+         final boolean[] noLine = xData.getNoLine();
+
+         final double scaleX = graphDrawingData.getScaleX();
+         final double graphValueOffset = getLineGraph_ValueOffset(scaleX);
+
+         allGraphPreparations.add(() -> getLineDecimation_VisibleIndices(
+
+               xValues,
+               yValues,
+               yValues2,
+               noLine,
+               scaleX,
+               graphValueOffset));
+      }
+
+      _graphPreparingFuture = _graphPreparingExecutor.submit(() -> {
+
+         for (final Runnable graphPreparation : allGraphPreparations) {
+
+            if (Thread.currentThread().isInterrupted()) {
+               return;
+            }
+
+            graphPreparation.run();
+         }
+
+         if (display.isDisposed()) {
+            return;
+         }
+
+         display.asyncExec(() -> {
+
+            if (isDisposed() || runnableCounter != _drawAsyncCounter[0]) {
+
+               // a newer painting is requested
+               return;
+            }
+
+            _isChartDirty = true;
+
+            drawAsync_101_DoPainting();
+         });
+      });
+   }
+
+   /**
+    * Fill the chart image with the background color that a graph with other values is not displayed
+    * while the line graphs are prepared, the cleared image is painted in the current paint event.
+    */
+   private void drawAsync_104_ClearChartImage() {
+
+      if (_chartImage_20_Chart == null || _chartImage_20_Chart.isDisposed()) {
+         return;
+      }
+
+      if (_isPaintDraggedImage) {
+
+         // the dragged image is moved to the new position, it is painted until the graphs are prepared
+         return;
+      }
+
+      if (_backgroundColor == null) {
+         setupColors();
+      }
+
+      final GC gcChart = new GC(_chartImage_20_Chart);
+      {
+         gcChart.setBackground(_backgroundColor);
+         gcChart.fillRectangle(_chartImage_20_Chart.getBounds());
+      }
+      gcChart.dispose();
+
+      // force the overlay image to be redrawn
+      _isOverlayDirty = true;
+   }
+
    /**
     * Draw all graphs, each graph is painted in the same canvas (gcGraph) which is painted in the
     * the chart image (gcChart).
@@ -2603,14 +2765,7 @@ public class ChartComponentGraph extends Canvas {
       final RGB rgbBgBright = yData.getRgbGraph_Gradient_Bright();
 
       // get the horizontal offset for the graph
-      float graphValueOffset;
-      if (_chartComponents.synchConfigSrc == null) {
-         // a zoom marker is not set, draw it normally
-         graphValueOffset = (float) (Math.max(0, _xxDevViewPortLeftBorder) / scaleX);
-      } else {
-         // adjust the start position to the zoom marker position
-         graphValueOffset = (float) (_xxDevViewPortLeftBorder / scaleX);
-      }
+      final double graphValueOffset = getLineGraph_ValueOffset(scaleX);
 
       final int synchMarkerStartIndex = xData.getXValueMarker_StartIndex();
       final int synchMarkerEndIndex = xData.getXValueMarker_EndIndex();
@@ -2834,6 +2989,13 @@ public class ChartComponentGraph extends Canvas {
 
       final long[] devXPositions = new long[endIndex];
 
+      // skip values which are hidden by the first/last/min/max value of a device pixel column
+      final int[] visibleIndices = getLineDecimation_VisibleIndices(xValues, yValues, yValues2, noLine, scaleX, graphValueOffset);
+
+      int visibleIndexPos = visibleIndices == null
+            ? 0
+            : getLineDecimation_FirstVisibleIndexPos(visibleIndices, startIndex);
+
       // dev position for y == 0
       final float devY0 = devY0Inverse - devY_XAxisLine;
 
@@ -2847,6 +3009,14 @@ public class ChartComponentGraph extends Canvas {
       double devX = 999;
       for (; valueIndex < endIndex; valueIndex++) {
 
+         if (visibleIndices != null) {
+
+            // jump to the next visible value, the last value closes the path
+            valueIndex = visibleIndexPos < visibleIndices.length
+                  ? Math.min(visibleIndices[visibleIndexPos++], lastIndex)
+                  : lastIndex;
+         }
+
          // check array bounds
          if (valueIndex >= numYValues) {
             break;
@@ -3290,6 +3460,14 @@ public class ChartComponentGraph extends Canvas {
 
          if (customFillPainter != null) {
 
+            if (visibleIndices != null) {
+
+               // the fill painter needs the positions of all painted values
+               for (int fillIndex = xPos_FirstIndex; fillIndex <= xPos_LastIndex; fillIndex++) {
+                  devXPositions[fillIndex] = (long) ((xValues[fillIndex] - graphValueOffset) * scaleX);
+               }
+            }
+
             gc.setForeground(colorBgDark);
             gc.setBackground(colorBgBright);
 
@@ -7430,6 +7608,118 @@ public class ChartComponentGraph extends Canvas {
       return posSliderA < posSliderB ? _xSliderA : _xSliderB;
    }
 
+   /**
+    * @param visibleIndices
+    * @param startIndex
+    *
+    * @return Returns the position in the visible indices of the first visible value which is not
+    *         before the start index
+    */
+   private int getLineDecimation_FirstVisibleIndexPos(final int[] visibleIndices, final int startIndex) {
+
+      final int indexPos = Arrays.binarySearch(visibleIndices, startIndex);
+
+      return indexPos >= 0 ? indexPos : -indexPos - 1;
+   }
+
+   /**
+    * @param xValues
+    * @param yValues
+    * @param yValues2
+    * @param noLine
+    * @param scaleX
+    * @param graphValueOffset
+    *
+    * @return Returns the indices of the values which are visible in the device pixel columns of a
+    *         line graph or <code>null</code> when all values must be painted
+    */
+   private int[] getLineDecimation_VisibleIndices(final double[] xValues,
+                                                  final float[] yValues,
+                                                  final float[] yValues2,
+                                                  final boolean[] noLine,
+                                                  final double scaleX,
+                                                  final double graphValueOffset) {
+
+      LineDecimation lineDecimation = _lineDecimations.get(yValues);
+
+      if (lineDecimation == null
+            || lineDecimation.isValid(xValues, yValues, yValues2, noLine, scaleX, graphValueOffset) == false) {
+
+         // the chart is zoomed, scrolled or has other data
+
+         lineDecimation = new LineDecimation(xValues, yValues, yValues2, noLine, scaleX, graphValueOffset);
+
+         _lineDecimations.put(yValues, lineDecimation);
+      }
+
+      return lineDecimation.getVisibleIndices();
+   }
+
+   /**
+    * @param scaleX
+    *
+    * @return Returns the graph value of the left border of the visible line graph
+    */
+   private double getLineGraph_ValueOffset(final double scaleX) {
+
+      if (_chartComponents.synchConfigSrc == null) {
+
+         // a zoom marker is not set, draw it normally
+         return (float) (Math.max(0, _xxDevViewPortLeftBorder) / scaleX);
+
+      } else {
+
+         // adjust the start position to the zoom marker position
+         return (float) (_xxDevViewPortLeftBorder / scaleX);
+      }
+   }
+
+   /**
+    * @return Returns the line graphs which visible values are not yet created for the current
+    *         x-scaling and graph offset, the list is empty when they have not enough values to be prepared in the
+    *         background
+    */
+   private ArrayList<GraphDrawingData> getLineGraphs_NotPrepared() {
+
+      final ArrayList<GraphDrawingData> allNotPreparedGraphs = new ArrayList<>();
+
+      long numNotPreparedValues = 0;
+
+      for (final GraphDrawingData graphDrawingData : _allGraphDrawingData) {
+
+         if (graphDrawingData.getChartType() != ChartType.LINE) {
+            continue;
+         }
+
+         final ChartDataXSerie xData = graphDrawingData.getXData();
+         final double[] xValues = xData.getHighValuesDouble()[0];
+         final float[][] yHighValues = graphDrawingData.getYData().getHighValuesFloat();
+         final double scaleX = graphDrawingData.getScaleX();
+
+         final LineDecimation lineDecimation = _lineDecimations.get(yHighValues[0]);
+
+         if (lineDecimation == null || lineDecimation.isValid(
+               xValues,
+               yHighValues[0],
+               yHighValues.length > 1 ? yHighValues[1] : null,
+               xData.getNoLine(),
+               scaleX,
+               getLineGraph_ValueOffset(scaleX)) == false) {
+
+            allNotPreparedGraphs.add(graphDrawingData);
+            numNotPreparedValues += xValues.length;
+         }
+      }
+
+      if (numNotPreparedValues < PREPARE_GRAPHS_MIN_VALUES) {
+
+         // painting is fast enough
+         allNotPreparedGraphs.clear();
+      }
+
+      return allNotPreparedGraphs;
+   }
+
    /**
     * @return Returns the right most slider
     */
@@ -7986,6 +8276,10 @@ public class ChartComponentGraph extends Canvas {
 // SET_FORMATTING_ON
 
       _colorCache.dispose();
+
+      if (_graphPreparingFuture != null) {
+         _graphPreparingFuture.cancel(true);
+      }
    }
 
    private void onKeyDown(final Event event) {
@@ -9811,6 +10105,12 @@ public class ChartComponentGraph extends Canvas {
     */
    void setDrawingData(final ChartDrawingData chartDrawingData) {
 
+      if (_chartDrawingData == null || _chartDrawingData.chartDataModel != chartDrawingData.chartDataModel) {
+
+         // release the values of the previous chart data
+         _lineDecimations.clear();
+      }
+
       _chartDrawingData = chartDrawingData;
 
       // create empty list if list is not available, so we do not need
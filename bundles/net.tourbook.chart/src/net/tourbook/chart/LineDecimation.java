@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.chart;
+
+/**
+ * Keeps only the first, last, min and max value within one device pixel column of a line graph
+ * (M4 decimation). All other values are hidden by these values and do not need to be painted.
+ * <p>
+ * The visible values depend only on the graph values, the x-scaling and the horizontal graph
+ * offset, they are reused until the chart is zoomed, scrolled or gets other data.
+ */
+public final class LineDecimation {
+
+   /**
+    * Decimation is used only when it hides at least this ratio of the values, otherwise checking
+    * the visible values is more expensive than painting them.
+    */
+   private static final float MIN_HIDDEN_RATIO = 0.5f;
+
+   private final double[]     _xValues;
+   private final float[]      _yValues;
+   private final float[]      _yValues2;
+   private final boolean[]    _noLine;
+
+   private final double       _scaleX;
+   private final double       _graphValueOffset;
+
+   /**
+    * Indices of the values which must be painted in ascending order, is <code>null</code> when all
+    * values must be painted.
+    */
+   private final int[]        _visibleIndices;
+
+   /**
+    * @param xValues
+    * @param yValues
+    * @param yValues2
+    *           Can be <code>null</code>
+    * @param noLine
+    *           Can be <code>null</code>
+    * @param scaleX
+    * @param graphValueOffset
+    *           Graph value of the left border of the visible graph, the device pixel columns are
+    *           starting at this value
+    */
+   public LineDecimation(final double[] xValues,
+                         final float[] yValues,
+                         final float[] yValues2,
+                         final boolean[] noLine,
+                         final double scaleX,
+                         final double graphValueOffset) {
+
+      _xValues = xValues;
+      _yValues = yValues;
+      _yValues2 = yValues2;
+      _noLine = noLine;
+
+      _scaleX = scaleX;
+      _graphValueOffset = graphValueOffset;
+
+      _visibleIndices = createVisibleIndices();
+   }
+
+   private int[] createVisibleIndices() {
+
+      final int numValues = Math.min(_xValues.length, _yValues.length);
+      if (numValues == 0) {
+         return null;
+      }
+
+      final boolean[] isVisibleValue = new boolean[numValues];
+
+      long devColumn = getDevColumn(0);
+
+      int minIndex = 0;
+      int maxIndex = 0;
+      int min2Index = 0;
+      int max2Index = 0;
+
+      isVisibleValue[0] = true;
+
+      for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+
+         final long valueDevColumn = getDevColumn(valueIndex);
+
+         if (valueDevColumn != devColumn) {
+
+            // a new pixel column starts -> keep min/max and the last value of the previous column
+
+            isVisibleValue[minIndex] = true;
+            isVisibleValue[maxIndex] = true;
+            isVisibleValue[min2Index] = true;
+            isVisibleValue[max2Index] = true;
+            isVisibleValue[valueIndex - 1] = true;
+
+            // first value of the current column
+            isVisibleValue[valueIndex] = true;
+
+            devColumn = valueDevColumn;
+
+            minIndex = valueIndex;
+            maxIndex = valueIndex;
+            min2Index = valueIndex;
+            max2Index = valueIndex;
+
+         } else {
+
+            final float yValue = _yValues[valueIndex];
+
+            if (yValue < _yValues[minIndex]) {
+               minIndex = valueIndex;
+            }
+            if (yValue > _yValues[maxIndex]) {
+               maxIndex = valueIndex;
+            }
+
+            if (_yValues2 != null && valueIndex < _yValues2.length) {
+
+               final float yValue2 = _yValues2[valueIndex];
+
+               if (yValue2 < _yValues2[min2Index]) {
+                  min2Index = valueIndex;
+               }
+               if (yValue2 > _yValues2[max2Index]) {
+                  max2Index = valueIndex;
+               }
+            }
+         }
+
+         /*
+          * Values which are painted in a special way must always be painted
+          */
+         if (_yValues[valueIndex] == 0
+               || (_yValues2 != null && valueIndex < _yValues2.length && _yValues2[valueIndex] == 0)
+               || (_noLine != null && valueIndex < _noLine.length && _noLine[valueIndex])) {
+
+            isVisibleValue[valueIndex] = true;
+         }
+      }
+
+      // last column
+      isVisibleValue[minIndex] = true;
+      isVisibleValue[maxIndex] = true;
+      isVisibleValue[min2Index] = true;
+      isVisibleValue[max2Index] = true;
+      isVisibleValue[numValues - 1] = true;
+
+      int numVisibleValues = 0;
+      for (final boolean isVisible : isVisibleValue) {
+         if (isVisible) {
+            numVisibleValues++;
+         }
+      }
+
+      if (numVisibleValues > numValues * (1 - MIN_HIDDEN_RATIO)) {
+
+         // most values are visible, paint all values
+         return null;
+      }
+
+      final int[] visibleIndices = new int[numVisibleValues];
+
+      for (int valueIndex = 0, visibleIndex = 0; valueIndex < numValues; valueIndex++) {
+         if (isVisibleValue[valueIndex]) {
+            visibleIndices[visibleIndex++] = valueIndex;
+         }
+      }
+
+      return visibleIndices;
+   }
+
+   /**
+    * @param valueIndex
+    *
+    * @return Returns the device pixel column of a value in the same way as it is painted
+    */
+   private long getDevColumn(final int valueIndex) {
+
+      return (long) Math.floor((_xValues[valueIndex] - _graphValueOffset) * _scaleX);
+   }
+
+   /**
+    * @return Returns the indices of the values which must be painted in ascending order or
+    *         <code>null</code> when all values must be painted.
+    */
+   public int[] getVisibleIndices() {
+      return _visibleIndices;
+   }
+
+   /**
+    * @return Returns <code>true</code> when the visible values are computed from the same graph
+    *         values, x-scaling and graph offset
+    */
+   boolean isValid(final double[] xValues,
+                   final float[] yValues,
+                   final float[] yValues2,
+                   final boolean[] noLine,
+                   final double scaleX,
+                   final double graphValueOffset) {
+
+      return _xValues == xValues
+            && _yValues == yValues
+            && _yValues2 == yValues2
+            && _noLine == noLine
+            && _scaleX == scaleX
+            && _graphValueOffset == graphValueOffset;
+   }
+}
@@ -0,0 +1,1009 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.common.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Many small files, e.g. map tile images or photo thumbnails, are stored in one append-only pack
+ * file instead of one file for each item.
+ * <p>
+ * The pack file contains a sequence of records
+ *
+ * <pre>
+ * int    magic number
+ * int    key length
+ * byte[] key (UTF-8)
+ * int    data length, -1 when the item is deleted
+ * byte[] data
+ * </pre>
+ *
+ * The key index is kept in memory. When an index file is used, the index is saved when the store
+ * is closed, it contains also the last access time of each item. When the index file is not
+ * available, e.g. after a crash, the index is created from the pack file. Items are read from
+ * memory mapped segments of the pack file, a record is never split between 2 segments.
+ * <p>
+ * When a max data size is set, the least recently used items are deleted when the items are
+ * larger. Deleted or replaced items are released with {@link #compact()}. The memory mapped
+ * segments are unmapped before the pack file is replaced or deleted, otherwise this fails on
+ * Windows.
+ */
+public class PackFileStore {
+
+   private static final int    INDEX_MAGIC           = 0x50534931;  // PSI1
+
+   /**
+    * Size of a memory mapped segment, a record is never larger than this size
+    */
+   public static final int     SEGMENT_SIZE          = 1 << 26;     // 64 MB
+
+   /**
+    * Compact the pack file when the garbage is larger than this ratio
+    */
+   private static final float  COMPACT_GARBAGE_RATIO = 0.5f;
+
+   /**
+    * When the max data size is exceeded, the least recently used items are deleted until this
+    * ratio of the max data size is reached, that not every new item is evicting another item
+    */
+   private static final float  EVICT_SIZE_RATIO      = 0.8f;
+
+   /**
+    * Unmaps a memory mapped buffer, is <code>null</code> when this is not supported
+    */
+   private static final Object _unsafe;
+   private static final Method _unsafe_InvokeCleaner;
+
+   static {
+
+      Object unsafe = null;
+      Method invokeCleaner = null;
+
+      try {
+
+         final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe"); //$NON-NLS-1$
+
+         final Field theUnsafeField = unsafeClass.getDeclaredField("theUnsafe"); //$NON-NLS-1$
+         theUnsafeField.setAccessible(true);
+
+         unsafe = theUnsafeField.get(null);
+         invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class); //$NON-NLS-1$
+
+      } catch (final ReflectiveOperationException | RuntimeException e) {
+
+         StatusUtil.log("Memory mapped pack files cannot be unmapped", e); //$NON-NLS-1$
+      }
+
+      _unsafe = unsafe;
+      _unsafe_InvokeCleaner = invokeCleaner;
+   }
+
+   private static class IndexEntry {
+
+      private final long    dataPosition;
+      private final int     dataLength;
+
+      private volatile long lastAccessTime;
+
+      private IndexEntry(final long dataPosition, final int dataLength, final long lastAccessTime) {
+
+         this.dataPosition = dataPosition;
+         this.dataLength = dataLength;
+         this.lastAccessTime = lastAccessTime;
+      }
+   }
+
+   private final File                                  _packFolder;
+   private final File                                  _packFile;
+   private final File                                  _packFileTemp;
+
+   /**
+    * Is <code>null</code> when the index is not saved
+    */
+   private final File                                  _indexFile;
+
+   private final int                                   _recordMagic;
+
+   /**
+    * Max size of all available items in bytes, 0 is unlimited
+    */
+   private final long                                  _maxDataSize;
+
+   private FileChannel                                 _fileChannel;
+
+   private final ConcurrentHashMap<String, IndexEntry> _allEntries  = new ConcurrentHashMap<>();
+
+   private final List<MappedByteBuffer>                _allSegments = new ArrayList<>();
+
+   private final ReentrantReadWriteLock                _lock        = new ReentrantReadWriteLock();
+
+   private long                                        _fileSize;
+   private long                                        _garbageSize;
+
+   /**
+    * Size of all available items in bytes
+    */
+   private long                                        _dataSize;
+
+   /**
+    * @param packFolder
+    * @param packFileName
+    * @param indexFileName
+    *           Name of the index file or <code>null</code> when the index is created from the pack
+    *           file when it is opened
+    * @param recordMagic
+    *           Magic number of each record in the pack file
+    * @param maxDataSize
+    *           Max size of all items in bytes, 0 is unlimited
+    *
+    * @throws IOException
+    */
+   public PackFileStore(final File packFolder,
+                        final String packFileName,
+                        final String indexFileName,
+                        final int recordMagic,
+                        final long maxDataSize) throws IOException {
+
+      _packFolder = packFolder;
+      _packFile = new File(packFolder, packFileName);
+      _packFileTemp = new File(packFolder, packFileName + ".tmp"); //$NON-NLS-1$
+      _indexFile = indexFileName == null ? null : new File(packFolder, indexFileName);
+
+      _recordMagic = recordMagic;
+      _maxDataSize = maxDataSize;
+
+      open();
+   }
+
+   /**
+    * Delete a pack file which is not opened. When it cannot be deleted, e.g. when it is locked by
+    * another process, it is truncated that the deleted items do not appear again.
+    *
+    * @param packFile
+    *
+    * @return Returns <code>true</code> when the items of the pack file are deleted
+    */
+   public static boolean deletePackFile(final File packFile) {
+
+      if (packFile.exists() == false || packFile.delete()) {
+         return true;
+      }
+
+      try (FileChannel fileChannel = FileChannel.open(packFile.toPath(), StandardOpenOption.WRITE)) {
+
+         fileChannel.truncate(0);
+
+         return true;
+
+      } catch (final IOException e) {
+
+         StatusUtil.showStatus("Cannot delete pack file: " + packFile.getAbsolutePath(), e); //$NON-NLS-1$
+      }
+
+      return false;
+   }
+
+   /**
+    * Close the pack file and save the index, the store cannot be used any more.
+    */
+   public void close() {
+
+      _lock.writeLock().lock();
+      try {
+
+         if (_fileChannel == null) {
+            return;
+         }
+
+         saveIndex();
+
+         closeFile();
+
+         _allEntries.clear();
+
+      } finally {
+         _lock.writeLock().unlock();
+      }
+   }
+
+   private void closeFile() {
+
+      unmapSegments();
+
+      if (_fileChannel != null) {
+
+         try {
+            _fileChannel.close();
+         } catch (final IOException e) {
+            StatusUtil.log(e);
+         }
+
+         _fileChannel = null;
+      }
+   }
+
+   /**
+    * Create a new pack file which contains only the available items.
+    */
+   public void compact() {
+
+      _lock.writeLock().lock();
+      try {
+
+         if (_fileChannel == null || _garbageSize == 0) {
+            return;
+         }
+
+         final Map<String, IndexEntry> allNewEntries = new ConcurrentHashMap<>();
+         long newFileSize = 0;
+
+         try (FileChannel tempChannel = FileChannel.open(_packFileTemp.toPath(),
+               StandardOpenOption.CREATE,
+               StandardOpenOption.TRUNCATE_EXISTING,
+               StandardOpenOption.WRITE)) {
+
+            for (final Map.Entry<String, IndexEntry> mapEntry : _allEntries.entrySet()) {
+
+               final String key = mapEntry.getKey();
+               final IndexEntry indexEntry = mapEntry.getValue();
+
+               // do not map the old pack file, it is replaced
+               final byte[] data = readEntry_FromChannel(indexEntry);
+
+               final long[] dataPosition = new long[1];
+
+               newFileSize = writeRecord(tempChannel, newFileSize, key, data, dataPosition);
+
+               allNewEntries.put(key, new IndexEntry(dataPosition[0], data.length, indexEntry.lastAccessTime));
+            }
+
+            tempChannel.force(true);
+         }
+
+         closeFile();
+
+         try {
+
+            // an outdated index must not be used with the compacted pack file
+            if (_indexFile != null) {
+               Files.deleteIfExists(_indexFile.toPath());
+            }
+
+            Files.move(_packFileTemp.toPath(), _packFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            _allEntries.clear();
+            _allEntries.putAll(allNewEntries);
+
+            _fileSize = newFileSize;
+            _garbageSize = 0;
+
+         } catch (final IOException e) {
+
+            // the pack file can be locked by another process or when it cannot be unmapped -> keep the old pack file
+
+            StatusUtil.showStatus("Cannot replace pack file: " + _packFile.getAbsolutePath(), e); //$NON-NLS-1$
+
+            Files.deleteIfExists(_packFileTemp.toPath());
+         }
+
+         _fileChannel = FileChannel.open(_packFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+         saveIndex();
+
+      } catch (final IOException e) {
+
+         StatusUtil.showStatus("Cannot compact pack file: " + _packFile.getAbsolutePath(), e); //$NON-NLS-1$
+
+      } finally {
+         _lock.writeLock().unlock();
+      }
+   }
+
+   /**
+    * Compact the pack file when it contains too many deleted items.
+    */
+   public void compactWhenNeeded() {
+
+      if (_garbageSize > _fileSize * COMPACT_GARBAGE_RATIO) {
+         compact();
+      }
+   }
+
+   public boolean contains(final String key) {
+
+      return _allEntries.containsKey(key);
+   }
+
+   /**
+    * @param key
+    *
+    * @return Returns <code>true</code> when the item was deleted
+    */
+   public boolean delete(final String key) {
+
+      _lock.writeLock().lock();
+      try {
+
+         final IndexEntry indexEntry = _allEntries.get(key);
+         if (indexEntry == null || _fileChannel == null) {
+            return false;
+         }
+
+         _fileSize = writeRecord(_fileChannel, _fileSize, key, null, null);
+
+         _allEntries.remove(key);
+
+         _dataSize -= indexEntry.dataLength;
+         _garbageSize += getRecordSize(key, indexEntry.dataLength) + getRecordSize(key, -1);
+
+         return true;
+
+      } catch (final IOException e) {
+
+         StatusUtil.log(e);
+
+         return false;
+
+      } finally {
+         _lock.writeLock().unlock();
+      }
+   }
+
+   /**
+    * Delete all items and the pack file, the store can be used afterwards.
+    */
+   public void deleteAll() {
+
+      _lock.writeLock().lock();
+      try {
+
+         closeFile();
+
+         _allEntries.clear();
+
+         if (_indexFile != null) {
+            Files.deleteIfExists(_indexFile.toPath());
+         }
+
+         deletePackFile(_packFile);
+
+      } catch (final IOException e) {
+
+         StatusUtil.showStatus("Cannot delete index file: " + _indexFile.getAbsolutePath(), e); //$NON-NLS-1$
+
+      } finally {
+
+         try {
+
+            // the store must be opened again, otherwise new items cannot be written
+            open();
+
+         } catch (final IOException e) {
+
+            StatusUtil.showStatus("Cannot open pack file: " + _packFile.getAbsolutePath(), e); //$NON-NLS-1$
+
+         } finally {
+            _lock.writeLock().unlock();
+         }
+      }
+   }
+
+   /**
+    * @param isDeleteItem
+    *
+    * @return Returns the number of deleted items
+    */
+   public int deleteIf(final Predicate<String> isDeleteItem) {
+
+      int numDeleted = 0;
+
+      for (final String key : _allEntries.keySet()) {
+
+         if (isDeleteItem.test(key) && delete(key)) {
+            numDeleted++;
+         }
+      }
+
+      return numDeleted;
+   }
+
+   /**
+    * @param lastAccessTime
+    *           Time in milliseconds
+    *
+    * @return Returns the number of deleted items which were not accessed since the last access time
+    */
+   public int deleteNotAccessedSince(final long lastAccessTime) {
+
+      int numDeleted = 0;
+
+      for (final Map.Entry<String, IndexEntry> mapEntry : _allEntries.entrySet()) {
+
+         if (mapEntry.getValue().lastAccessTime < lastAccessTime && delete(mapEntry.getKey())) {
+            numDeleted++;
+         }
+      }
+
+      return numDeleted;
+   }
+
+   /**
+    * Delete the least recently used items until the items are smaller than the max data size.
+    */
+   private synchronized void evictWhenNeeded() {
+
+      if (_maxDataSize <= 0 || _dataSize <= _maxDataSize) {
+         return;
+      }
+
+      final List<Map.Entry<String, IndexEntry>> allSortedEntries = new ArrayList<>(_allEntries.entrySet());
+
+      allSortedEntries.sort((entry1, entry2) -> Long.compare(
+            entry1.getValue().lastAccessTime,
+            entry2.getValue().lastAccessTime));
+
+      final long evictedDataSize = (long) (_maxDataSize * EVICT_SIZE_RATIO);
+
+      for (final Map.Entry<String, IndexEntry> mapEntry : allSortedEntries) {
+
+         if (_dataSize <= evictedDataSize) {
+            break;
+         }
+
+         delete(mapEntry.getKey());
+      }
+
+      compactWhenNeeded();
+   }
+
+   public long getDataSize() {
+      return _dataSize;
+   }
+
+   public long getFileSize() {
+      return _fileSize;
+   }
+
+   public long getGarbageSize() {
+      return _garbageSize;
+   }
+
+   private int getRecordSize(final String key, final int dataLength) {
+
+      return 12 + key.getBytes(StandardCharsets.UTF_8).length + Math.max(0, dataLength);
+   }
+
+   /**
+    * @param segmentIndex
+    * @param requiredSize
+    *
+    * @return Returns a memory mapped segment of the pack file which has at least the required size
+    *
+    * @throws IOException
+    */
+   private ByteBuffer getSegment(final int segmentIndex, final long requiredSize) throws IOException {
+
+      while (_allSegments.size() <= segmentIndex) {
+         _allSegments.add(null);
+      }
+
+      MappedByteBuffer segment = _allSegments.get(segmentIndex);
+
+      if (segment == null || segment.capacity() < requiredSize) {
+
+         final long segmentStart = (long) segmentIndex * SEGMENT_SIZE;
+         final long segmentSize = Math.min(SEGMENT_SIZE, _fileSize - segmentStart);
+
+         segment = _fileChannel.map(MapMode.READ_ONLY, segmentStart, segmentSize);
+
+         _allSegments.set(segmentIndex, segment);
+      }
+
+      // a duplicate has its own position
+      return segment.duplicate();
+   }
+
+   /**
+    * @return Returns the number of available items
+    */
+   public int getSize() {
+      return _allEntries.size();
+   }
+
+   /**
+    * Open the pack file and read the index of all items.
+    *
+    * @throws IOException
+    */
+   private void open() throws IOException {
+
+      if (_packFolder.exists() == false) {
+         _packFolder.mkdirs();
+      }
+
+      _fileChannel = FileChannel.open(_packFile.toPath(),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+
+      final long fileSize = _fileChannel.size();
+
+      _dataSize = 0;
+      _garbageSize = 0;
+
+      // records which are appended after the index was saved are read from the pack file
+      long position = openIndex(fileSize);
+
+      final long scanAccessTime = System.currentTimeMillis();
+
+      final ByteBuffer intBuffer = ByteBuffer.allocate(4);
+
+      while (position + 12 <= fileSize) {
+
+         final long recordStart = position;
+
+         final int magic = readInt(intBuffer, position);
+
+         if (magic == 0) {
+
+            // padding until the next segment
+            final long segmentEnd = (position / SEGMENT_SIZE + 1) * SEGMENT_SIZE;
+
+            _garbageSize += segmentEnd - position;
+
+            position = segmentEnd;
+
+            continue;
+         }
+
+         if (magic != _recordMagic) {
+            break;
+         }
+
+         final int keyLength = readInt(intBuffer, position + 4);
+         if (keyLength <= 0 || keyLength > SEGMENT_SIZE || position + 12 + keyLength > fileSize) {
+            break;
+         }
+
+         final ByteBuffer keyBuffer = ByteBuffer.allocate(keyLength);
+         _fileChannel.read(keyBuffer, position + 8);
+
+         final String key = new String(keyBuffer.array(), StandardCharsets.UTF_8);
+
+         final int dataLength = readInt(intBuffer, position + 8 + keyLength);
+         final long dataPosition = position + 12 + keyLength;
+
+         if (dataPosition + Math.max(0, dataLength) > fileSize) {
+
+            // the last record is not complete
+            break;
+         }
+
+         final IndexEntry oldEntry = dataLength == -1
+               ? _allEntries.remove(key)
+               : _allEntries.put(key, new IndexEntry(dataPosition, dataLength, scanAccessTime));
+
+         if (oldEntry != null) {
+
+            _dataSize -= oldEntry.dataLength;
+            _garbageSize += getRecordSize(key, oldEntry.dataLength);
+         }
+
+         if (dataLength == -1) {
+            _garbageSize += getRecordSize(key, -1);
+         } else {
+            _dataSize += dataLength;
+         }
+
+         position = dataPosition + Math.max(0, dataLength);
+
+         if (position <= recordStart) {
+            break;
+         }
+      }
+
+      if (position < fileSize) {
+
+         // remove the damaged end of the pack file, this can occur when the app was killed
+         _fileChannel.truncate(Math.min(position, fileSize));
+      }
+
+      _fileSize = Math.min(position, fileSize);
+   }
+
+   /**
+    * Read the index file which was saved when the store was closed.
+    *
+    * @param fileSize
+    *           Size of the pack file
+    *
+    * @return Returns the pack file position until the pack file is indexed, 0 when the index is
+    *         not available or invalid
+    */
+   private long openIndex(final long fileSize) {
+
+      if (_indexFile == null || _indexFile.isFile() == false) {
+         return 0;
+      }
+
+      try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(_indexFile)))) {
+
+         if (inputStream.readInt() != INDEX_MAGIC) {
+            return 0;
+         }
+
+         final long indexedFileSize = inputStream.readLong();
+         final long garbageSize = inputStream.readLong();
+         final int numEntries = inputStream.readInt();
+
+         if (indexedFileSize > fileSize) {
+
+            // the pack file is not from this index
+            return 0;
+         }
+
+         long dataSize = 0;
+
+         for (int entryIndex = 0; entryIndex < numEntries; entryIndex++) {
+
+            final String key = inputStream.readUTF();
+            final long dataPosition = inputStream.readLong();
+            final int dataLength = inputStream.readInt();
+            final long lastAccessTime = inputStream.readLong();
+
+            if (dataPosition + dataLength > indexedFileSize) {
+
+               _allEntries.clear();
+
+               return 0;
+            }
+
+            _allEntries.put(key, new IndexEntry(dataPosition, dataLength, lastAccessTime));
+
+            dataSize += dataLength;
+         }
+
+         _dataSize = dataSize;
+         _garbageSize = garbageSize;
+
+         return indexedFileSize;
+
+      } catch (final IOException e) {
+
+         StatusUtil.log("Cannot read index file: " + _indexFile.getAbsolutePath(), e); //$NON-NLS-1$
+
+         _allEntries.clear();
+
+         _dataSize = 0;
+         _garbageSize = 0;
+
+         return 0;
+      }
+   }
+
+   /**
+    * @param key
+    *
+    * @return Returns the item data or <code>null</code> when not available
+    */
+   public byte[] read(final String key) {
+
+      _lock.readLock().lock();
+      try {
+
+         // get the entry within the lock, compacting is modifying all entries
+         final IndexEntry indexEntry = _allEntries.get(key);
+
+         if (indexEntry == null || _fileChannel == null) {
+            return null;
+         }
+
+         indexEntry.lastAccessTime = System.currentTimeMillis();
+
+         return readEntry(indexEntry);
+
+      } catch (final IOException e) {
+
+         StatusUtil.log(e);
+
+         return null;
+
+      } finally {
+         _lock.readLock().unlock();
+      }
+   }
+
+   private byte[] readEntry(final IndexEntry indexEntry) throws IOException {
+
+      final long dataPosition = indexEntry.dataPosition;
+      final int dataLength = indexEntry.dataLength;
+
+      final int segmentIndex = (int) (dataPosition / SEGMENT_SIZE);
+      final int segmentPosition = (int) (dataPosition % SEGMENT_SIZE);
+
+      final ByteBuffer segment;
+
+      // mapping a segment modifies the segment list
+      synchronized (_allSegments) {
+         segment = getSegment(segmentIndex, (long) segmentPosition + dataLength);
+      }
+
+      final byte[] data = new byte[dataLength];
+
+      segment.position(segmentPosition);
+      segment.get(data);
+
+      return data;
+   }
+
+   /**
+    * Read the item without mapping the pack file
+    *
+    * @param indexEntry
+    *
+    * @return
+    *
+    * @throws IOException
+    */
+   private byte[] readEntry_FromChannel(final IndexEntry indexEntry) throws IOException {
+
+      final ByteBuffer dataBuffer = ByteBuffer.allocate(indexEntry.dataLength);
+
+      while (dataBuffer.hasRemaining()) {
+
+         if (_fileChannel.read(dataBuffer, indexEntry.dataPosition + dataBuffer.position()) == -1) {
+            throw new IOException("Item is not complete in: " + _packFile.getAbsolutePath()); //$NON-NLS-1$
+         }
+      }
+
+      return dataBuffer.array();
+   }
+
+   private int readInt(final ByteBuffer intBuffer, final long position) throws IOException {
+
+      intBuffer.clear();
+
+      while (intBuffer.hasRemaining()) {
+         if (_fileChannel.read(intBuffer, position + intBuffer.position()) == -1) {
+            return -1;
+         }
+      }
+
+      return intBuffer.getInt(0);
+   }
+
+   /**
+    * Save the index with the last access times, that the pack file must not be read when the store
+    * is opened.
+    */
+   private void saveIndex() {
+
+      if (_indexFile == null) {
+         return;
+      }
+
+      try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(_indexFile)))) {
+
+         final List<Map.Entry<String, IndexEntry>> allEntries = new ArrayList<>(_allEntries.entrySet());
+
+         outputStream.writeInt(INDEX_MAGIC);
+         outputStream.writeLong(_fileSize);
+         outputStream.writeLong(_garbageSize);
+         outputStream.writeInt(allEntries.size());
+
+         for (final Map.Entry<String, IndexEntry> mapEntry : allEntries) {
+
+            final IndexEntry indexEntry = mapEntry.getValue();
+
+            outputStream.writeUTF(mapEntry.getKey());
+            outputStream.writeLong(indexEntry.dataPosition);
+            outputStream.writeInt(indexEntry.dataLength);
+            outputStream.writeLong(indexEntry.lastAccessTime);
+         }
+
+      } catch (final IOException e) {
+
+         StatusUtil.log("Cannot save index file: " + _indexFile.getAbsolutePath(), e); //$NON-NLS-1$
+      }
+   }
+
+   /**
+    * Unmap a memory mapped buffer immediately and not when it is garbage collected, the buffer
+    * must not be accessed any more, otherwise the app is crashing.
+    *
+    * @param mappedBuffer
+    *
+    * @return Returns <code>true</code> when the buffer is unmapped
+    */
+   public static boolean unmap(final MappedByteBuffer mappedBuffer) {
+
+      if (_unsafe_InvokeCleaner == null) {
+         return false;
+      }
+
+      try {
+
+         _unsafe_InvokeCleaner.invoke(_unsafe, mappedBuffer);
+
+         return true;
+
+      } catch (final ReflectiveOperationException | RuntimeException e) {
+
+         StatusUtil.log(e);
+      }
+
+      return false;
+   }
+
+   /**
+    * Unmap all memory mapped segments, otherwise the pack file cannot be replaced or deleted on
+    * Windows until the segments are garbage collected. This must be called within the write lock,
+    * a reader is not accessing a segment any more.
+    */
+   private void unmapSegments() {
+
+      synchronized (_allSegments) {
+
+         for (final MappedByteBuffer segment : _allSegments) {
+
+            if (segment != null) {
+               unmap(segment);
+            }
+         }
+
+         _allSegments.clear();
+      }
+   }
+
+   /**
+    * Write an item into the pack file, an existing item is replaced. When the store is too large,
+    * the least recently used items are deleted.
+    *
+    * @param key
+    * @param data
+    *
+    * @throws IOException
+    *            When the item cannot be written or the store is closed
+    */
+   public void write(final String key, final byte[] data) throws IOException {
+
+      _lock.writeLock().lock();
+      try {
+
+         if (_fileChannel == null) {
+            throw new IOException("Pack file is not open: " + _packFile.getAbsolutePath()); //$NON-NLS-1$
+         }
+
+         final long[] dataPosition = new long[1];
+
+         _fileSize = writeRecord(_fileChannel, _fileSize, key, data, dataPosition);
+
+         final IndexEntry oldEntry = _allEntries.put(key,
+               new IndexEntry(dataPosition[0], data.length, System.currentTimeMillis()));
+
+         _dataSize += data.length;
+
+         if (oldEntry != null) {
+
+            _dataSize -= oldEntry.dataLength;
+            _garbageSize += getRecordSize(key, oldEntry.dataLength);
+         }
+
+      } finally {
+         _lock.writeLock().unlock();
+      }
+
+      evictWhenNeeded();
+   }
+
+   /**
+    * @param fileChannel
+    * @param position
+    * @param key
+    * @param data
+    *           Item data or <code>null</code> to delete the item
+    * @param dataPosition
+    *           Returns the position of the item data
+    *
+    * @return Returns the file position after the written record
+    *
+    * @throws IOException
+    */
+   private long writeRecord(final FileChannel fileChannel,
+                            long position,
+                            final String key,
+                            final byte[] data,
+                            final long[] dataPosition) throws IOException {
+
+      final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+      final int dataLength = data == null ? 0 : data.length;
+
+      final int recordSize = 12 + keyBytes.length + dataLength;
+
+      if (recordSize > SEGMENT_SIZE) {
+         throw new IOException("Item is too large: " + key); //$NON-NLS-1$
+      }
+
+      // a record must not be split between 2 segments, fill the remaining segment with 0
+      final long segmentEnd = (position / SEGMENT_SIZE + 1) * SEGMENT_SIZE;
+
+      if (position + recordSize > segmentEnd) {
+
+         final int paddingSize = (int) (segmentEnd - position);
+
+         writeFully(fileChannel, ByteBuffer.allocate(paddingSize), position);
+
+         if (fileChannel == _fileChannel) {
+            _garbageSize += paddingSize;
+         }
+
+         position = segmentEnd;
+      }
+
+      final ByteBuffer recordBuffer = ByteBuffer.allocate(recordSize);
+
+      recordBuffer.putInt(_recordMagic);
+      recordBuffer.putInt(keyBytes.length);
+      recordBuffer.put(keyBytes);
+      recordBuffer.putInt(data == null ? -1 : dataLength);
+
+      if (data != null) {
+         recordBuffer.put(data);
+      }
+
+      recordBuffer.flip();
+
+      writeFully(fileChannel, recordBuffer, position);
+
+      if (dataPosition != null) {
+         dataPosition[0] = position + 12 + keyBytes.length;
+      }
+
+      return position + recordSize;
+   }
+
+   private void writeFully(final FileChannel fileChannel, final ByteBuffer buffer, final long position) throws IOException {
+
+      long writePosition = position;
+
+      while (buffer.hasRemaining()) {
+         writePosition += fileChannel.write(buffer, writePosition);
+      }
+   }
+}
@@ -43,7 +43,7 @@ import net.tourbook.data.DeviceSensorValueImport;
 import net.tourbook.data.GearData;
 import net.tourbook.data.GearDataType;
 import net.tourbook.data.SwimData;
-import net.tourbook.data.TimeData;
+import net.tourbook.data.TimeSeriesBuilder;
 import net.tourbook.data.TourData;
 import net.tourbook.data.TourMarker;
 import net.tourbook.database.TourDatabase;
@@ -96,7 +96,6 @@ public class FitData {
    private String                               _sportName                = UI.EMPTY_STRING;
    private String                               _subSportName             = UI.EMPTY_STRING;
 
-   private final List<TimeData>                 _allTimeData              = new ArrayList<>();
    private final List<Long>                     _pausedTime_Start         = new ArrayList<>();
    private final List<Long>                     _pausedTime_End           = new ArrayList<>();
    private final List<Long>                     _pausedTime_Data          = new ArrayList<>();
@@ -115,9 +114,26 @@ public class FitData {
     */
    private final Map<Short, DeviceSensorImport> _allImportedDeviceSensors = new HashMap<>();
 
-   private TimeData                             _current_TimeData;
-   private TimeData                             _lastAdded_TimeData;
-   private TimeData                             _previous_TimeData;
+   /**
+    * All time slices of the tour, they are appended into primitive columns without creating an
+    * object for each time slice
+    */
+   private final TimeSeriesBuilder              _timeSeries               = new TimeSeriesBuilder();
+
+   /**
+    * Slice index in {@link #_timeSeries} of the record which is currently imported or -1
+    */
+   private int                                  _current_SliceIndex       = -1;
+   private int                                  _lastAdded_SliceIndex     = -1;
+
+   /**
+    * Slice index of the previous record or -1 when the previous record was not added
+    */
+   private int                                  _previous_SliceIndex      = -1;
+   private long                                 _previous_AbsoluteTime    = Long.MIN_VALUE;
+   private boolean                              _isPreviousRecord;
+
+   private String                               _powerDataSource;
 
    private TourMarker                           _current_TourMarker;
    private long                                 _timeDiffMS;
@@ -179,8 +195,8 @@ public class FitData {
       _deviceInfoListener.logDeviceData();
 
       // reset speed at first position
-      if (_allTimeData.size() > 0) {
-         _allTimeData.get(0).speed = Float.MIN_VALUE;
+      if (_timeSeries.size() > 0) {
+         _timeSeries.speed[0] = Float.MIN_VALUE;
       }
 
 // disabled, this is annoying
@@ -195,11 +211,11 @@ public class FitData {
       _tourData.setDeviceTimeInterval((short) -1);
 
       long recordStartTime;
-      if (_allTimeData.size() > 0) {
+      if (_timeSeries.size() > 0) {
 
          // this is the normal case
 
-         recordStartTime = _allTimeData.get(0).absoluteTime;
+         recordStartTime = _timeSeries.absoluteTime[0];
 
       } else if (_sessionStartTime != null) {
 
@@ -249,7 +265,7 @@ public class FitData {
 
       _tourData.setTourStartTime(zonedStartTime);
 
-      _tourData.createTimeSeries(_allTimeData, false, _importState_Process);
+      _tourData.createTimeSeries(_timeSeries, false, _importState_Process);
 
       _tourData.finalizeTour_TimerPauses(_pausedTime_Start, _pausedTime_End, _pausedTime_Data);
 
@@ -822,13 +838,17 @@ public class FitData {
       return _allBatteryTime;
    }
 
-   public TimeData getCurrent_TimeData() {
+   /**
+    * @return Returns the index in {@link #getTimeSeries()} of the record which is currently
+    *         imported
+    */
+   public int getCurrent_SliceIndex() {
 
-      if (_current_TimeData == null) {
+      if (_current_SliceIndex == -1) {
          throw new IllegalArgumentException("Time data is not initialized"); //$NON-NLS-1$
       }
 
-      return _current_TimeData;
+      return _current_SliceIndex;
 
    }
 
@@ -883,8 +903,12 @@ public class FitData {
       return _importState_Process;
    }
 
-   public TimeData getLastAdded_TimeData() {
-      return _lastAdded_TimeData;
+   /**
+    * @return Returns the index in {@link #getTimeSeries()} of the last added time slice or -1 when
+    *         a time slice is not yet added
+    */
+   public int getLastAdded_SliceIndex() {
+      return _lastAdded_SliceIndex;
    }
 
    public String getManufacturerName(final Integer manufacturerNumber) {
@@ -914,6 +938,14 @@ public class FitData {
       return _pausedTime_Start;
    }
 
+   /**
+    * @return Returns the power data source from the developer fields or <code>null</code> when
+    *         not available
+    */
+   public String getPower_DataSource() {
+      return _powerDataSource;
+   }
+
    public String getProductNameCombined(final Integer productNumber,
                                         final String productName,
                                         final Integer garminProductNumber,
@@ -949,8 +981,8 @@ public class FitData {
       return _allSwimData;
    }
 
-   public List<TimeData> getTimeData() {
-      return _allTimeData;
+   public TimeSeriesBuilder getTimeSeries() {
+      return _timeSeries;
    }
 
    public long getTimeDiffMS() {
@@ -984,22 +1016,24 @@ public class FitData {
 
    public void onSetup_Record_10_Initialize() {
 
-      _current_TimeData = new TimeData();
+      _current_SliceIndex = _timeSeries.add();
    }
 
    public void onSetup_Record_20_Finalize() {
 
-      if (_current_TimeData == null) {
+      if (_current_SliceIndex == -1) {
          // this occurred
          return;
       }
 
+      final int currentIndex = _current_SliceIndex;
+
       boolean useThisTimeSlice = true;
 
-      if (_previous_TimeData != null) {
+      if (_isPreviousRecord) {
 
-         final long prevTime = _previous_TimeData.absoluteTime;
-         final long currentTime = _current_TimeData.absoluteTime;
+         final long prevTime = _previous_AbsoluteTime;
+         final long currentTime = _timeSeries.absoluteTime[currentIndex];
 
          if (prevTime == currentTime) {
 
@@ -1010,51 +1044,68 @@ public class FitData {
 
             useThisTimeSlice = false;
 
-            if (_previous_TimeData.absoluteAltitude == Float.MIN_VALUE) {
-               _previous_TimeData.absoluteAltitude = _current_TimeData.absoluteAltitude;
-            }
+            final int prevIndex = _previous_SliceIndex;
 
-            if (_previous_TimeData.absoluteDistance == Float.MIN_VALUE) {
-               _previous_TimeData.absoluteDistance = _current_TimeData.absoluteDistance;
-            }
+            if (prevIndex != -1) {
 
-            if (_previous_TimeData.cadence == Float.MIN_VALUE) {
-               _previous_TimeData.cadence = _current_TimeData.cadence;
-            }
+               final TimeSeriesBuilder ts = _timeSeries;
 
-            if (_previous_TimeData.latitude == Double.MIN_VALUE) {
-               _previous_TimeData.latitude = _current_TimeData.latitude;
-            }
+               if (ts.absoluteAltitude[prevIndex] == Float.MIN_VALUE) {
+                  ts.absoluteAltitude[prevIndex] = ts.absoluteAltitude[currentIndex];
+               }
 
-            if (_previous_TimeData.longitude == Double.MIN_VALUE) {
-               _previous_TimeData.longitude = _current_TimeData.longitude;
-            }
+               if (ts.absoluteDistance[prevIndex] == Float.MIN_VALUE) {
+                  ts.absoluteDistance[prevIndex] = ts.absoluteDistance[currentIndex];
+               }
 
-            if (_previous_TimeData.power == Float.MIN_VALUE) {
-               _previous_TimeData.power = _current_TimeData.power;
-            }
+               if (ts.cadence[prevIndex] == Float.MIN_VALUE) {
+                  ts.cadence[prevIndex] = ts.cadence[currentIndex];
+               }
 
-            if (_previous_TimeData.pulse == Float.MIN_VALUE) {
-               _previous_TimeData.pulse = _current_TimeData.pulse;
-            }
+               if (ts.latitude[prevIndex] == Double.MIN_VALUE) {
+                  ts.latitude[prevIndex] = ts.latitude[currentIndex];
+               }
 
-            if (_previous_TimeData.speed == Float.MIN_VALUE) {
-               _previous_TimeData.speed = _current_TimeData.speed;
-            }
+               if (ts.longitude[prevIndex] == Double.MIN_VALUE) {
+                  ts.longitude[prevIndex] = ts.longitude[currentIndex];
+               }
+
+               if (ts.power[prevIndex] == Float.MIN_VALUE) {
+                  ts.power[prevIndex] = ts.power[currentIndex];
+               }
 
-            if (_previous_TimeData.temperature == Float.MIN_VALUE) {
-               _previous_TimeData.temperature = _current_TimeData.temperature;
+               if (ts.pulse[prevIndex] == Float.MIN_VALUE) {
+                  ts.pulse[prevIndex] = ts.pulse[currentIndex];
+               }
+
+               if (ts.speed[prevIndex] == Float.MIN_VALUE) {
+                  ts.speed[prevIndex] = ts.speed[currentIndex];
+               }
+
+               if (ts.temperature[prevIndex] == Float.MIN_VALUE) {
+                  ts.temperature[prevIndex] = ts.temperature[currentIndex];
+               }
             }
          }
       }
 
+      _isPreviousRecord = true;
+      _previous_AbsoluteTime = _timeSeries.absoluteTime[currentIndex];
+
       if (useThisTimeSlice) {
-         _allTimeData.add(_current_TimeData);
-         _lastAdded_TimeData = _current_TimeData;
+
+         _lastAdded_SliceIndex = currentIndex;
+         _previous_SliceIndex = currentIndex;
+
+      } else {
+
+         // the current slice is the last slice in the time series
+         _timeSeries.removeLast();
+
+         _previous_SliceIndex = -1;
       }
 
-      _previous_TimeData = _current_TimeData;
-      _current_TimeData = null;
+      _current_SliceIndex = -1;
    }
 
    public void onSetup_Session_20_Finalize() {
@@ -1088,6 +1139,18 @@ public class FitData {
       _tourData.setIsPowerSensorPresent(isPowerSensorPresent);
    }
 
+   /**
+    * Set the power data source, only the first data source is kept.
+    *
+    * @param powerDataSource
+    */
+   public void setPower_DataSource(final String powerDataSource) {
+
+      if (_powerDataSource == null) {
+         _powerDataSource = powerDataSource;
+      }
+   }
+
    public void setProfileName(final String profileName) {
       _profileName = profileName;
    }
@@ -19,9 +19,7 @@ import com.garmin.fit.DateTime;
 import com.garmin.fit.HrMesg;
 import com.garmin.fit.HrMesgListener;
 
-import java.util.List;
-
-import net.tourbook.data.TimeData;
+import net.tourbook.data.TimeSeriesBuilder;
 import net.tourbook.device.garmin.fit.FitData;
 import net.tourbook.tour.TourLogManager;
 
@@ -105,7 +103,8 @@ public class MesgListener_Hr extends AbstractMesgListener implements HrMesgListe
          return;
       }
 
-      final List<TimeData> allTimeData = fitData.getTimeData();
+      final TimeSeriesBuilder timeSeries = fitData.getTimeSeries();
+      final int numTimeSlices = timeSeries.size();
 
       /*
        * Get time diff between tour and hr recording. It is complicated because it also contains the
@@ -114,7 +113,7 @@ public class MesgListener_Hr extends AbstractMesgListener implements HrMesgListe
        */
       if (hrTime != null && fitData.getTimeDiffMS() == Long.MIN_VALUE && allEventTime.length > 0) {
 
-         final long firstTourTimeMS = allTimeData.get(0).absoluteTime;
+         final long firstTourTimeMS = timeSeries.absoluteTime[0];
          final long firstHrTimestampMS = hrTime.getDate().getTime();
 
          final long hr2TourTimeDiffMS = firstTourTimeMS - firstHrTimestampMS;
@@ -137,11 +136,11 @@ public class MesgListener_Hr extends AbstractMesgListener implements HrMesgListe
          final long sliceJavaTime = sliceGarminTimeMS + timeDiffMS;
 
          // merge HR data into an already existing time data
-         for (final TimeData timeData : allTimeData) {
+         for (int sliceIndex = 0; sliceIndex < numTimeSlices; sliceIndex++) {
 
-            if (timeData.absoluteTime == sliceJavaTime) {
+            if (timeSeries.absoluteTime[sliceIndex] == sliceJavaTime) {
 
-               timeData.pulse = filteredBpm;
+               timeSeries.pulse[sliceIndex] = filteredBpm;
                isTimeAvailable = true;
 
 //             System.out.println(String.format(""
@@ -19,7 +19,7 @@ import com.garmin.fit.HrvMesg;
 import com.garmin.fit.HrvMesgListener;
 
 import net.tourbook.common.util.Util;
-import net.tourbook.data.TimeData;
+import net.tourbook.data.TimeSeriesBuilder;
 import net.tourbook.device.garmin.fit.FitData;
 
 import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
@@ -61,19 +61,21 @@ public class MesgListener_Hrv extends AbstractMesgListener implements HrvMesgLis
 
       if (pulseTime.size() > 0) {
 
-         final TimeData timeData = fitData.getLastAdded_TimeData();
+         final int sliceIndex = fitData.getLastAdded_SliceIndex();
 
-         if (timeData != null) {
+         if (sliceIndex != -1) {
 
-            if (timeData.pulseTime == null) {
+            final TimeSeriesBuilder timeSeries = fitData.getTimeSeries();
 
-               timeData.pulseTime = pulseTime.toArray();
+            if (timeSeries.pulseTime[sliceIndex] == null) {
+
+               timeSeries.pulseTime[sliceIndex] = pulseTime.toArray();
 
             } else {
 
                // append to existing values
 
-               timeData.pulseTime = Util.concatInt(timeData.pulseTime, pulseTime.toArray());
+               timeSeries.pulseTime[sliceIndex] = Util.concatInt(timeSeries.pulseTime[sliceIndex], pulseTime.toArray());
             }
          }
       }
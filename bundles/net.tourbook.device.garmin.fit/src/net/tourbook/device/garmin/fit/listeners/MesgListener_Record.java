@@ -26,7 +26,7 @@ import java.util.List;
 import net.tourbook.common.UI;
 import net.tourbook.data.GearData;
 import net.tourbook.data.GearDataType;
-import net.tourbook.data.TimeData;
+import net.tourbook.data.TimeSeriesBuilder;
 import net.tourbook.data.TourData;
 import net.tourbook.data.TourMarker;
 import net.tourbook.device.garmin.fit.Activator;
@@ -124,14 +124,15 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
 
    private void setRecord(final RecordMesg mesg) {
 
-      final TimeData timeData = fitData.getCurrent_TimeData();
+      final TimeSeriesBuilder timeSeries = fitData.getTimeSeries();
+      final int sliceIndex = fitData.getCurrent_SliceIndex();
 
       /*
        * Distance
        */
       final Float distance = mesg.getDistance();
       if (distance != null) {
-         timeData.absoluteDistance = distance;
+         timeSeries.absoluteDistance[sliceIndex] = distance;
       }
 
       /*
@@ -171,7 +172,7 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
             _previousAbsoluteTime = sliceJavaTime;
          }
 
-         timeData.absoluteTime = absoluteTime;
+         timeSeries.absoluteTime[sliceIndex] = absoluteTime;
 
          if (isCreateExceededMarker) {
 
@@ -206,12 +207,12 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
        */
       final Integer positionLat = mesg.getPositionLat();
       if (positionLat != null) {
-         timeData.latitude = SemicirclesConverter.semicirclesToDegrees(positionLat);
+         timeSeries.latitude[sliceIndex] = SemicirclesConverter.semicirclesToDegrees(positionLat);
       }
 
       final Integer positionLong = mesg.getPositionLong();
       if (positionLong != null) {
-         timeData.longitude = SemicirclesConverter.semicirclesToDegrees(positionLong);
+         timeSeries.longitude[sliceIndex] = SemicirclesConverter.semicirclesToDegrees(positionLong);
       }
 
       /*
@@ -220,9 +221,9 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
       final Float altitude = mesg.getAltitude();
       final Float altitudeEnhanced = mesg.getEnhancedAltitude();
       if (altitudeEnhanced != null) {
-         timeData.absoluteAltitude = altitudeEnhanced;
+         timeSeries.absoluteAltitude[sliceIndex] = altitudeEnhanced;
       } else if (altitude != null) {
-         timeData.absoluteAltitude = altitude;
+         timeSeries.absoluteAltitude[sliceIndex] = altitude;
       }
 
       /*
@@ -230,7 +231,7 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
        */
       final Short heartRate = mesg.getHeartRate();
       if (heartRate != null) {
-         timeData.pulse = heartRate;
+         timeSeries.pulse[sliceIndex] = heartRate;
       }
 
       /*
@@ -242,9 +243,9 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
          final Float fracttionalCadence = mesg.getFractionalCadence();
 
          if (fracttionalCadence == null) {
-            timeData.cadence = cadence;
+            timeSeries.cadence[sliceIndex] = cadence;
          } else {
-            timeData.cadence = cadence + fracttionalCadence;
+            timeSeries.cadence[sliceIndex] = cadence + fracttionalCadence;
          }
       }
 
@@ -259,9 +260,9 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
          final Float speedEnhanced = mesg.getEnhancedSpeed();
 
          if (speedEnhanced != null) {
-            timeData.speed = DataConverters.convertSpeed(speedEnhanced);
+            timeSeries.speed[sliceIndex] = DataConverters.convertSpeed(speedEnhanced);
          } else if (speed != null) {
-            timeData.speed = DataConverters.convertSpeed(speed);
+            timeSeries.speed[sliceIndex] = DataConverters.convertSpeed(speed);
          }
       }
 
@@ -270,7 +271,7 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
        */
       final Integer power = mesg.getPower();
       if (power != null) {
-         timeData.power = power;
+         timeSeries.power[sliceIndex] = power;
       }
 
       /*
@@ -282,11 +283,11 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
          if (_temperatureAdjustment != 0.0f) {
 
             // adjust temperature when this is set in the fit pref page
-            timeData.temperature = mesgTemperature + _temperatureAdjustment;
+            timeSeries.temperature[sliceIndex] = mesgTemperature + _temperatureAdjustment;
 
          } else {
 
-            timeData.temperature = mesgTemperature;
+            timeSeries.temperature[sliceIndex] = mesgTemperature;
          }
       }
 
@@ -303,27 +304,27 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
        */
       final Float stanceTime = mesg.getStanceTime();
       if (stanceTime != null) {
-         timeData.runDyn_StanceTime = stanceTime.shortValue();
+         timeSeries.runDyn_StanceTime[sliceIndex] = stanceTime.shortValue();
       }
 
       final Float stanceTimeBalance = mesg.getStanceTimeBalance();
       if (stanceTimeBalance != null) {
-         timeData.runDyn_StanceTimeBalance = (short) (stanceTimeBalance * TourData.RUN_DYN_DATA_MULTIPLIER);
+         timeSeries.runDyn_StanceTimeBalance[sliceIndex] = (short) (stanceTimeBalance * TourData.RUN_DYN_DATA_MULTIPLIER);
       }
 
       final Float stepLength = mesg.getStepLength();
       if (stepLength != null) {
-         timeData.runDyn_StepLength = stepLength.shortValue();
+         timeSeries.runDyn_StepLength[sliceIndex] = stepLength.shortValue();
       }
 
       final Float verticalOscillation = mesg.getVerticalOscillation();
       if (verticalOscillation != null) {
-         timeData.runDyn_VerticalOscillation = (short) (verticalOscillation * TourData.RUN_DYN_DATA_MULTIPLIER);
+         timeSeries.runDyn_VerticalOscillation[sliceIndex] = (short) (verticalOscillation * TourData.RUN_DYN_DATA_MULTIPLIER);
       }
 
       final Float verticalRatio = mesg.getVerticalRatio();
       if (verticalRatio != null) {
-         timeData.runDyn_VerticalRatio = (short) (verticalRatio * TourData.RUN_DYN_DATA_MULTIPLIER);
+         timeSeries.runDyn_VerticalRatio[sliceIndex] = (short) (verticalRatio * TourData.RUN_DYN_DATA_MULTIPLIER);
       }
 
       final Float batterySoc = mesg.getBatterySoc();
@@ -332,16 +333,19 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
          // TODO remove SYSTEM.OUT.PRINTLN
       }
 
-      setRecord_DeveloperData(mesg, timeData);
+      setRecord_DeveloperData(mesg, timeSeries, sliceIndex);
    }
 
    /**
     * Field values from developer fields are only set, when the values are not yet set.
     *
     * @param mesg
-    * @param timeData
+    * @param timeSeries
+    * @param sliceIndex
     */
-   private void setRecord_DeveloperData(final RecordMesg mesg, final TimeData timeData) {
+   private void setRecord_DeveloperData(final RecordMesg mesg,
+                                        final TimeSeriesBuilder timeSeries,
+                                        final int sliceIndex) {
 
       int numDeveloperFields = 0;
       final Iterable<DeveloperField> allDeveloperFields = mesg.getDeveloperFields();
@@ -394,7 +398,7 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
 
             final Integer radarCurrent = devField.getIntegerValue();
             if (radarCurrent != null) {
-               timeData.radar_PassedVehicles = radarCurrent.intValue();
+               timeSeries.radar_PassedVehicles[sliceIndex] = radarCurrent.intValue();
             }
 
             break;
@@ -403,7 +407,7 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
 
             final Integer radarRanges = devField.getIntegerValue();
             if (radarRanges != null) {
-               timeData.radar_DistanceToVehicle = radarRanges.shortValue();
+               timeSeries.radar_DistanceToVehicle[sliceIndex] = radarRanges.shortValue();
             }
 
             break;
@@ -420,7 +424,7 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
 
             final Short passingSpeed = devField.getShortValue();
             if (passingSpeed != null) {
-               timeData.radar_PassingSpeed_Relative = passingSpeed.shortValue();
+               timeSeries.radar_PassingSpeed_Relative[sliceIndex] = passingSpeed.shortValue();
             }
 
             break;
@@ -429,7 +433,7 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
 
             final Short passingSpeedAbsolute = devField.getShortValue();
             if (passingSpeedAbsolute != null) {
-               timeData.radar_PassingSpeed_Absolute = passingSpeedAbsolute.shortValue();
+               timeSeries.radar_PassingSpeed_Absolute[sliceIndex] = passingSpeedAbsolute.shortValue();
             }
 
             break;
@@ -455,11 +459,11 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
 
             // 91 RPM
 
-            if (timeData.cadence == Float.MIN_VALUE) {
+            if (timeSeries.cadence[sliceIndex] == Float.MIN_VALUE) {
 
                final Float fieldValue = devField.getFloatValue();
                if (fieldValue != null) {
-                  timeData.cadence = fieldValue;
+                  timeSeries.cadence[sliceIndex] = fieldValue;
                }
             }
 
@@ -469,11 +473,11 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
 
             // 315 Meters
 
-            if (timeData.altitude == Float.MIN_VALUE) {
+            if (timeSeries.altitude[sliceIndex] == Float.MIN_VALUE) {
 
                final Float fieldValue = devField.getFloatValue();
                if (fieldValue != null) {
-                  timeData.altitude = fieldValue;
+                  timeSeries.altitude[sliceIndex] = fieldValue;
                }
             }
 
@@ -506,15 +510,15 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
                }
             }
 
-            timeData.powerDataSource = fieldName.equals(DEV_FIELD_NAME__POWER) ? "Stryd" : "Garmin Running Dynamics Pod"; //$NON-NLS-1$ //$NON-NLS-2$
+            fitData.setPower_DataSource(fieldName.equals(DEV_FIELD_NAME__POWER) ? "Stryd" : "Garmin Running Dynamics Pod"); //$NON-NLS-1$ //$NON-NLS-2$
 
             //  112 Watts
 
-            if (timeData.power == Float.MIN_VALUE) {
+            if (timeSeries.power[sliceIndex] == Float.MIN_VALUE) {
 
                final Float fieldValue = devField.getFloatValue();
                if (fieldValue != null) {
-                  timeData.power = fieldValue;
+                  timeSeries.power[sliceIndex] = fieldValue;
                }
             }
 
@@ -524,11 +528,11 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
 
             // 660 Milliseconds
 
-            if (timeData.runDyn_StanceTime == Short.MIN_VALUE) {
+            if (timeSeries.runDyn_StanceTime[sliceIndex] == Short.MIN_VALUE) {
 
                final Short fieldValue = devField.getShortValue();
                if (fieldValue != null) {
-                  timeData.runDyn_StanceTime = fieldValue.shortValue();
+                  timeSeries.runDyn_StanceTime[sliceIndex] = fieldValue.shortValue();
 
                }
             }
@@ -553,12 +557,12 @@ public class MesgListener_Record extends AbstractMesgListener implements RecordM
             //  Vertical Oscillation       6.0 Centimeters
             //  Vertical Oscillation       6.0 Centimeters
 
-            if (timeData.runDyn_VerticalOscillation == Short.MIN_VALUE) {
+            if (timeSeries.runDyn_VerticalOscillation[sliceIndex] == Short.MIN_VALUE) {
 
                final Float fieldValue = devField.getFloatValue();
                if (fieldValue != null) {
 
-                  timeData.runDyn_VerticalOscillation = (short) (fieldValue
+                  timeSeries.runDyn_VerticalOscillation[sliceIndex] = (short) (fieldValue
 
                         * TourData.RUN_DYN_DATA_MULTIPLIER
 
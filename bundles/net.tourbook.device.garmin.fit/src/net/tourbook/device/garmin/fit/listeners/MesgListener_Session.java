@@ -26,7 +26,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 
 import net.tourbook.common.time.TimeTools;
-import net.tourbook.data.TimeData;
+import net.tourbook.data.TimeSeriesBuilder;
 import net.tourbook.data.TourData;
 import net.tourbook.device.garmin.fit.FitData;
 import net.tourbook.device.garmin.fit.FitDataReaderException;
@@ -149,14 +149,16 @@ public class MesgListener_Session extends AbstractMesgListener implements Sessio
       // Looking if the power was retrieved from the developer fields
       if (mesg.getMaxPower() == null && mesg.getAvgPower() == null) {
          final ArrayList<Float> powerDataList = new ArrayList<>();
-         for (final TimeData timeData : fitData.getTimeData()) {
-            if (timeData.power != Float.MIN_VALUE) {
-               powerDataList.add(timeData.power);
+         final TimeSeriesBuilder timeSeries = fitData.getTimeSeries();
+         for (int sliceIndex = 0; sliceIndex < timeSeries.size(); sliceIndex++) {
+            final float power = timeSeries.power[sliceIndex];
+            if (power != Float.MIN_VALUE) {
+               powerDataList.add(power);
             }
+         }
 
-            if (tourData.getPower_DataSource() == null && timeData.powerDataSource != null) {
-               tourData.setPower_DataSource(timeData.powerDataSource);
-            }
+         if (tourData.getPower_DataSource() == null && fitData.getPower_DataSource() != null) {
+            tourData.setPower_DataSource(fitData.getPower_DataSource());
          }
 
          if (powerDataList.size() > 0) {
@@ -20,6 +20,7 @@ import java.text.SimpleDateFormat;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
@@ -27,13 +28,14 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.stream.IntStream;
 
 import net.tourbook.common.UI;
 import net.tourbook.common.time.TimeTools;
 import net.tourbook.common.util.StatusUtil;
 import net.tourbook.common.util.StringUtils;
 import net.tourbook.common.util.Util;
-import net.tourbook.data.TimeData;
+import net.tourbook.data.TimeSeriesBuilder;
 import net.tourbook.data.TourData;
 import net.tourbook.importdata.DeviceData;
 import net.tourbook.importdata.ImportState_File;
@@ -172,9 +174,12 @@ class GarminTCX_SAXHandler extends DefaultHandler {
    private boolean             _isFirstTrackPointInTrack;
    private final List<Long>    _pausedTime_Start = new ArrayList<>();
    private List<Long>          _pausedTime_End   = new ArrayList<>();
-   private ArrayList<TimeData> _allTimeData      = new ArrayList<>();
+   private TimeSeriesBuilder   _timeSeries       = new TimeSeriesBuilder();
 
-   private TimeData            _timeData;
+   /**
+    * Index of the current trackpoint time slice or -1 when not in a trackpoint
+    */
+   private int                 _sliceIndex       = -1;
 
    private int                 _dataVersion      = -1;
    private int                 _lapCounter;
@@ -363,9 +368,12 @@ class GarminTCX_SAXHandler extends DefaultHandler {
       int validIndex = 0;
       ZonedDateTime checkedTourStart = null;
 
-      for (final TimeData timeData : _allTimeData) {
+      final int numSlices = _timeSeries.size();
+      final long[] absoluteTime = _timeSeries.absoluteTime;
+
+      for (int sliceIndex = 0; sliceIndex < numSlices; sliceIndex++) {
 
-         checkedTourStart = TimeTools.getZonedDateTime(timeData.absoluteTime);
+         checkedTourStart = TimeTools.getZonedDateTime(absoluteTime[sliceIndex]);
 
          if (checkedTourStart.getYear() == DEFAULT_YEAR
                && checkedTourStart.getMonthValue() == DEFAULT_MONTH
@@ -390,7 +398,7 @@ class GarminTCX_SAXHandler extends DefaultHandler {
 
       } else {
 
-         if (validIndex == _allTimeData.size()) {
+         if (validIndex == numSlices) {
 
             // all time slices have the same "invalid" date 2007-04-01 but the date also could be valid
 
@@ -402,8 +410,6 @@ class GarminTCX_SAXHandler extends DefaultHandler {
        * the date starts with 2007-04-01 but it changes to another date
        */
 
-      final TimeData[] timeSlices = _allTimeData.toArray(new TimeData[_allTimeData.size()]);
-
       /*
        * get average time slice duration
        */
@@ -419,7 +425,7 @@ class GarminTCX_SAXHandler extends DefaultHandler {
 
          for (int sliceIndex = 0; sliceIndex < validIndex; sliceIndex++) {
 
-            final long currentTime = timeSlices[sliceIndex].absoluteTime / 1000;
+            final long currentTime = absoluteTime[sliceIndex] / 1000;
 
             if (sliceIndex > 0) {
                sliceDuration += currentTime - prevSliceTime;
@@ -431,13 +437,12 @@ class GarminTCX_SAXHandler extends DefaultHandler {
          sliceAvgDuration = sliceDuration / validIndex;
       }
 
-      long validTime = timeSlices[validIndex].absoluteTime / 1000;
+      long validTime = absoluteTime[validIndex] / 1000;
       long prevInvalidTime = 0;
 
       for (int sliceIndex = validIndex - 1; sliceIndex >= 0; sliceIndex--) {
 
-         final TimeData timeSlice = timeSlices[sliceIndex];
-         final long currentInvalidTime = timeSlice.absoluteTime / 1000;
+         final long currentInvalidTime = absoluteTime[sliceIndex] / 1000;
 
          if (sliceIndex == validIndex - 1) {
 
@@ -454,7 +459,7 @@ class GarminTCX_SAXHandler extends DefaultHandler {
             validTime = validTime - timeDiff;
          }
 
-         timeSlice.absoluteTime = validTime * 1000;
+         absoluteTime[sliceIndex] = validTime * 1000;
          prevInvalidTime = currentInvalidTime;
       }
 
@@ -463,7 +468,7 @@ class GarminTCX_SAXHandler extends DefaultHandler {
 
          final List<Integer> pausesToRemove = new ArrayList<>();
          for (int index = 0; index < _pausedTime_Start.size(); ++index) {
-            if (_pausedTime_Start.get(index) < timeSlices[0].absoluteTime) {
+            if (_pausedTime_Start.get(index) < absoluteTime[0]) {
                pausesToRemove.add(index);
             }
          }
@@ -478,7 +483,7 @@ class GarminTCX_SAXHandler extends DefaultHandler {
 
             String.format(Messages.GarminTCX_SAXHandler_InvalidDate_2007_04_01,
                   _importFilePath,
-                  TimeTools.getZonedDateTime(_allTimeData.get(0).absoluteTime)));
+                  TimeTools.getZonedDateTime(absoluteTime[0])));
    }
 
    @Override
@@ -521,7 +526,7 @@ class GarminTCX_SAXHandler extends DefaultHandler {
    void dispose() {
 
       _allLapStart.clear();
-      _allTimeData.clear();
+      _timeSeries = new TimeSeriesBuilder(0);
       _pausedTime_Start.clear();
       _pausedTime_End.clear();
    }
@@ -642,20 +647,18 @@ class GarminTCX_SAXHandler extends DefaultHandler {
    private void finalize_Lap() {
 
       // set marker in the last time data
-      final int numTimeData = _allTimeData.size();
-      if (numTimeData > 0) {
-
-         final TimeData lastTimeData = _allTimeData.get(numTimeData - 1);
+      final int lastIndex = _timeSeries.lastIndex();
+      if (lastIndex >= 0) {
 
-         lastTimeData.marker = 1;
-         lastTimeData.markerLabel = Integer.toString(_lapCounter);
+         _timeSeries.marker[lastIndex] = 1;
+         _timeSeries.markerLabel[lastIndex] = Integer.toString(_lapCounter);
       }
    }
 
    private void finalize_Tour() {
 
       // check if data are available
-      if (_allTimeData.isEmpty()) {
+      if (_timeSeries.isEmpty()) {
 
          TourLogManager.subLog_INFO(String.format(Messages.GarminTCX_SAXHandler_FileIsEmpty, _importFilePath));
 
@@ -677,7 +680,7 @@ class GarminTCX_SAXHandler extends DefaultHandler {
 
       // set tour start date/time
       adjustTourStart();
-      final ZonedDateTime zonedStartTime = TimeTools.getZonedDateTime(_allTimeData.get(0).absoluteTime);
+      final ZonedDateTime zonedStartTime = TimeTools.getZonedDateTime(_timeSeries.absoluteTime[0]);
       tourData.setTourStartTime(zonedStartTime);
 
       tourData.setIsDistanceFromSensor(_isDistanceFromSensor);
@@ -709,7 +712,7 @@ class GarminTCX_SAXHandler extends DefaultHandler {
                               ? UI.EMPTY_STRING
                               : UI.SYMBOL_DOT + minorVersion));
 
-      tourData.createTimeSeries(_allTimeData, true);
+      tourData.createTimeSeries(_timeSeries, true, null);
 
       // after all data are added, the tour id can be created
       final String uniqueId = _device.createUniqueId(tourData, Util.UNIQUE_ID_SUFFIX_GARMIN_TCX);
@@ -752,30 +755,33 @@ class GarminTCX_SAXHandler extends DefaultHandler {
 
    private void finalize_Trackpoint() {
 
-      if (_timeData != null) {
+      if (_sliceIndex != -1) {
+
+         final int sliceIndex = _sliceIndex;
+         final long[] absoluteTime = _timeSeries.absoluteTime;
 
          // set virtual time if time is not available
-         if (_timeData.absoluteTime == Long.MIN_VALUE) {
+         if (absoluteTime[sliceIndex] == Long.MIN_VALUE) {
 
-            _timeData.absoluteTime = DEFAULT_TIME;
+            absoluteTime[sliceIndex] = DEFAULT_TIME;
 
          } else {
 
             //If only the time was provided in the Trackpoint element,
             //we consider that a pause.
-            if (_timeData.latitude == Double.MIN_VALUE &&
-                  _timeData.longitude == Double.MIN_VALUE &&
-                  _timeData.absoluteAltitude == Float.MIN_VALUE &&
-                  _timeData.absoluteDistance == Float.MIN_VALUE &&
-                  _timeData.pulse == Float.MIN_VALUE &&
-                  _timeData.cadence == Float.MIN_VALUE &&
-                  _timeData.speed == Float.MIN_VALUE &&
-                  _timeData.power == Float.MIN_VALUE) {
+            if (_timeSeries.latitude[sliceIndex] == Double.MIN_VALUE &&
+                  _timeSeries.longitude[sliceIndex] == Double.MIN_VALUE &&
+                  _timeSeries.absoluteAltitude[sliceIndex] == Float.MIN_VALUE &&
+                  _timeSeries.absoluteDistance[sliceIndex] == Float.MIN_VALUE &&
+                  _timeSeries.pulse[sliceIndex] == Float.MIN_VALUE &&
+                  _timeSeries.cadence[sliceIndex] == Float.MIN_VALUE &&
+                  _timeSeries.speed[sliceIndex] == Float.MIN_VALUE &&
+                  _timeSeries.power[sliceIndex] == Float.MIN_VALUE) {
 
                //If the previous and current TrackPoints are pauses, we
                //do not create a new pause event.
                if (!_isPreviousTrackPointAPause) {
-                  _pausedTime_Start.add(_timeData.absoluteTime);
+                  _pausedTime_Start.add(absoluteTime[sliceIndex]);
                   _isPreviousTrackPointAPause = true;
                }
 
@@ -783,16 +789,16 @@ class GarminTCX_SAXHandler extends DefaultHandler {
 
                if (_isPreviousTrackPointAPause) {
 
-                  _pausedTime_End.add(_timeData.absoluteTime);
+                  _pausedTime_End.add(absoluteTime[sliceIndex]);
                   _isPreviousTrackPointAPause = false;
 
-               } else if (_isFirstTrackPointInTrack && _allTimeData.isEmpty() == false && _isSetLapMarker_OLD == false) {
+               } else if (_isFirstTrackPointInTrack && sliceIndex > 0 && _isSetLapMarker_OLD == false) {
 
-                  final long previousTime = _allTimeData.get(_allTimeData.size() - 1).absoluteTime;
+                  final long previousTime = absoluteTime[sliceIndex - 1];
 
-                  if (_timeData.absoluteTime - previousTime > 1000) {
+                  if (absoluteTime[sliceIndex] - previousTime > 1000) {
                      _pausedTime_Start.add(previousTime);
-                     _pausedTime_End.add(_timeData.absoluteTime);
+                     _pausedTime_End.add(absoluteTime[sliceIndex]);
                   }
                }
             }
@@ -802,9 +808,7 @@ class GarminTCX_SAXHandler extends DefaultHandler {
             _isSetLapMarker_OLD = false;
          }
 
-         _allTimeData.add(_timeData);
-
-         _timeData = null;
+         _sliceIndex = -1;
 
          _trackPointCounter++;
          _isFirstTrackPointInTrack = false;
@@ -946,7 +950,7 @@ class GarminTCX_SAXHandler extends DefaultHandler {
          _isInHeartRateValue = false;
 
          if (_dataVersion == 2) {
-            _timeData.pulse = Util.parseFloat(_characters.toString());
+            _timeSeries.pulse[_sliceIndex] = Util.parseFloat(_characters.toString());
          }
 
       } else if (name.equals(TAG_HEART_RATE_BPM)) {
@@ -954,26 +958,26 @@ class GarminTCX_SAXHandler extends DefaultHandler {
          _isInHeartRate = false;
 
          if (_dataVersion == 1) {
-            _timeData.pulse = Util.parseFloat(_characters.toString());
+            _timeSeries.pulse[_sliceIndex] = Util.parseFloat(_characters.toString());
          }
 
       } else if (name.equals(TAG_ALTITUDE_METERS)) {
 
          _isInAltitude = false;
 
-         _timeData.absoluteAltitude = Util.parseFloat(_characters.toString());
+         _timeSeries.absoluteAltitude[_sliceIndex] = Util.parseFloat(_characters.toString());
 
       } else if (name.equals(TAG_DISTANCE_METERS)) {
 
          _isInDistance = false;
-         _timeData.absoluteDistance = Util.parseFloat(_characters.toString());
+         _timeSeries.absoluteDistance[_sliceIndex] = Util.parseFloat(_characters.toString());
 
       } else if (name.equals(TAG_CADENCE)) {
 
          _isInCadence = false;
 
          float cadence = Util.parseFloat(_characters.toString());
-         _timeData.cadence = cadence = cadence == Float.MIN_VALUE ? 0 : cadence;
+         _timeSeries.cadence[_sliceIndex] = cadence = cadence == Float.MIN_VALUE ? 0 : cadence;
 
       } else if (name.equals(TAG_RUN_CADENCE)) {
 
@@ -981,7 +985,7 @@ class GarminTCX_SAXHandler extends DefaultHandler {
          _isFromStrideSensor = true;
 
          float cadence = Util.parseFloat(_characters.toString());
-         _timeData.cadence = cadence = cadence == Float.MIN_VALUE ? 0 : cadence;
+         _timeSeries.cadence[_sliceIndex] = cadence = cadence == Float.MIN_VALUE ? 0 : cadence;
 
       } else if (name.equals(TAG_SENSOR_STATE)) {
 
@@ -992,13 +996,13 @@ class GarminTCX_SAXHandler extends DefaultHandler {
 
          _isInLatitude = false;
 
-         _timeData.latitude = Util.parseDouble(_characters.toString());
+         _timeSeries.latitude[_sliceIndex] = Util.parseDouble(_characters.toString());
 
       } else if (name.equals(TAG_LONGITUDE_DEGREES)) {
 
          _isInLongitude = false;
 
-         _timeData.longitude = Util.parseDouble(_characters.toString());
+         _timeSeries.longitude[_sliceIndex] = Util.parseDouble(_characters.toString());
 
       } else if (name.equals(TAG_NS2_SPEED)) {
 
@@ -1008,14 +1012,14 @@ class GarminTCX_SAXHandler extends DefaultHandler {
 
             // use speed values from the device
 
-            _timeData.speed = Util.parseFloat(_characters.toString());
+            _timeSeries.speed[_sliceIndex] = Util.parseFloat(_characters.toString());
          }
 
       } else if (name.equals(TAG_NS2_WATTS)) {
 
          _isInNs2_Watts = false;
 
-         _timeData.power = Util.parseFloat(_characters.toString());
+         _timeSeries.power[_sliceIndex] = Util.parseFloat(_characters.toString());
 
       } else if (name.equals(TAG_NS3_SPEED)) {
 
@@ -1025,14 +1029,14 @@ class GarminTCX_SAXHandler extends DefaultHandler {
 
             // use speed values from the device
 
-            _timeData.speed = Util.parseFloat(_characters.toString());
+            _timeSeries.speed[_sliceIndex] = Util.parseFloat(_characters.toString());
          }
 
       } else if (name.equals(TAG_NS3_WATTS)) {
 
          _isInNs3_Watts = false;
 
-         _timeData.power = Util.parseFloat(_characters.toString());
+         _timeSeries.power[_sliceIndex] = Util.parseFloat(_characters.toString());
 
       } else if (TAG_TPX.equals(name)) {
 
@@ -1046,14 +1050,14 @@ class GarminTCX_SAXHandler extends DefaultHandler {
 
             // use speed values from the device
 
-            _timeData.speed = Util.parseFloat(_characters.toString());
+            _timeSeries.speed[_sliceIndex] = Util.parseFloat(_characters.toString());
          }
 
       } else if (_isInTPX && TAG_TPX_WATTS.equals(name)) {
 
          _isInTPX_Watts = false;
 
-         _timeData.power = Util.parseFloat(_characters.toString());
+         _timeSeries.power[_sliceIndex] = Util.parseFloat(_characters.toString());
 
       } else if (name.equals(TAG_TIME)) {
 
@@ -1080,7 +1084,7 @@ class GarminTCX_SAXHandler extends DefaultHandler {
             }
          }
 
-         _timeData.absoluteTime = _currentTime;
+         _timeSeries.absoluteTime[_sliceIndex] = _currentTime;
 
       }
    }
@@ -1106,7 +1110,8 @@ class GarminTCX_SAXHandler extends DefaultHandler {
       _isSetLapMarker_OLD = false;
       _allLapStart.clear();
 
-      _allTimeData.clear();
+      _timeSeries = new TimeSeriesBuilder();
+      _sliceIndex = -1;
 
       _isFromStrideSensor = false;
       _sport = new Sport();
@@ -1119,18 +1124,26 @@ class GarminTCX_SAXHandler extends DefaultHandler {
       _isComputeAveragePower = true;
    }
 
+   private void initialize_NewTrackpoint() {
+
+      if (_sliceIndex != -1) {
+
+         // the previous trackpoint is not finalized
+         _timeSeries.removeLast();
+      }
+
+      _sliceIndex = _timeSeries.add();
+   }
+
    private void setTourDataPowerAvgMax(final TourData tourData) {
 
-      final boolean isPower = _allTimeData.stream().anyMatch(timeData -> timeData.power != Float.MIN_VALUE);
+      final float[] powerSerie = Arrays.copyOf(_timeSeries.power, _timeSeries.size());
+
+      final boolean isPower = IntStream.range(0, powerSerie.length).anyMatch(index -> powerSerie[index] != Float.MIN_VALUE);
       if (!isPower) {
          return;
       }
 
-      final float[] powerSerie = new float[_allTimeData.size()];
-      for (int index = 0; index < _allTimeData.size(); ++index) {
-         powerSerie[index] = _allTimeData.get(index).power;
-      }
-
       /*
        * In the case where the power was retrieved from the trackpoint's
        * extension field and the file didn't contain the average power value, we
@@ -1211,7 +1224,7 @@ class GarminTCX_SAXHandler extends DefaultHandler {
                   _isInTrackpoint = true;
 
                   // create new time item
-                  _timeData = new TimeData();
+                  initialize_NewTrackpoint();
 
                } else if (name.equals(TAG_LAP)) {
 
@@ -1262,7 +1275,7 @@ class GarminTCX_SAXHandler extends DefaultHandler {
                         _isInTrackpoint = true;
 
                         // create new time item
-                        _timeData = new TimeData();
+                        initialize_NewTrackpoint();
 
                      } else if (name.equals(TAG_DISTANCE_METERS)) {
 
@@ -1293,7 +1306,7 @@ class GarminTCX_SAXHandler extends DefaultHandler {
                   _isInTrackpoint = true;
 
                   // create new time item
-                  _timeData = new TimeData();
+                  initialize_NewTrackpoint();
 
                } else if (name.equals(TAG_NAME)) {
 
@@ -1368,84 +1381,88 @@ class GarminTCX_SAXHandler extends DefaultHandler {
     * marker time is twice available.
     * There are cases where the {@link GarminTCX_SAXHandler#TAG_DISTANCE_METERS} element (at the
     * {@link GarminTCX_SAXHandler#TAG_TRACKPOINT} level) is reset within each new lap.
-    * In this case, we need to recompute correctly all the {@link TimeData#absoluteDistance} values.
+    * In this case, we need to recompute correctly all the {@link TimeSeriesBuilder#absoluteDistance}
+    * values.
     */
    private void validateTimeSeries() {
 
-      final ArrayList<TimeData> removeTimeData = new ArrayList<>();
+      final int numSlices = _timeSeries.size();
+
+      final long[] absoluteTime = _timeSeries.absoluteTime;
+      final float[] absoluteDistance = _timeSeries.absoluteDistance;
+      final int[] marker = _timeSeries.marker;
+      final String[] markerLabel = _timeSeries.markerLabel;
+
+      final boolean[] isRemoved = new boolean[numSlices];
 
-      TimeData previousTimeData = null;
-      TimeData firstMarkerTimeData = null;
+      int firstMarkerIndex = -1;
 
       boolean recomputeAbsoluteDistances = false;
       float previousTrackPointDistance = 0;
       float currentTrackPointDistance = 0;
 
-      for (final TimeData timeData : _allTimeData) {
+      for (int sliceIndex = 1; sliceIndex < numSlices; sliceIndex++) {
 
-         if (previousTimeData != null) {
+         final int previousIndex = sliceIndex - 1;
 
-            if (previousTimeData.absoluteTime == timeData.absoluteTime) {
+         if (absoluteTime[previousIndex] == absoluteTime[sliceIndex]) {
 
-               // current slice has the same time as the previous slice
+            // current slice has the same time as the previous slice
 
-               if (firstMarkerTimeData == null) {
+            if (firstMarkerIndex == -1) {
 
-                  // initialize first item
+               // initialize first item
 
-                  firstMarkerTimeData = previousTimeData;
-               }
+               firstMarkerIndex = previousIndex;
+            }
 
-               // copy marker into the first time data
+            // copy marker into the first time data
 
-               if (firstMarkerTimeData.markerLabel == null && timeData.markerLabel != null) {
+            if (markerLabel[firstMarkerIndex] == null && markerLabel[sliceIndex] != null) {
 
-                  firstMarkerTimeData.marker = timeData.marker;
-                  firstMarkerTimeData.markerLabel = timeData.markerLabel;
-               }
+               marker[firstMarkerIndex] = marker[sliceIndex];
+               markerLabel[firstMarkerIndex] = markerLabel[sliceIndex];
+            }
 
-               // remove obsolete time data
-               removeTimeData.add(timeData);
+            // remove obsolete time data
+            isRemoved[sliceIndex] = true;
 
-            } else {
+         } else {
 
-               /*
-                * current slice time is different than the previous
-                */
-               firstMarkerTimeData = null;
-            }
+            /*
+             * current slice time is different than the previous
+             */
+            firstMarkerIndex = -1;
+         }
 
-            // If we have found that we need to recompute the TimeData distances, we don't need to check anymore
-            if (recomputeAbsoluteDistances == false) {
+         // If we have found that we need to recompute the distances, we don't need to check anymore
+         if (recomputeAbsoluteDistances == false) {
 
-               final float distanceDifference = previousTimeData.absoluteDistance - timeData.absoluteDistance;
+            final float distanceDifference = absoluteDistance[previousIndex] - absoluteDistance[sliceIndex];
 
-               // Checking that the difference of distance is more than 5 meters
-               // as there were reported cases where the previous distance was greater by about 1 meter
-               // see https://sourceforge.net/p/mytourbook/discussion/622811/thread/926e45c3/#2208
-               if (timeData.absoluteDistance == 0 && distanceDifference > 5) {
+            // Checking that the difference of distance is more than 5 meters
+            // as there were reported cases where the previous distance was greater by about 1 meter
+            // see https://sourceforge.net/p/mytourbook/discussion/622811/thread/926e45c3/#2208
+            if (absoluteDistance[sliceIndex] == 0 && distanceDifference > 5) {
 
-                  recomputeAbsoluteDistances = true;
+               recomputeAbsoluteDistances = true;
 
-                  timeData.absoluteDistance = previousTimeData.absoluteDistance;
-               }
-            } else {
-               if (timeData.absoluteDistance > 0) { // We are still within the same lap
-                  currentTrackPointDistance = timeData.absoluteDistance;
-                  timeData.absoluteDistance = currentTrackPointDistance - previousTrackPointDistance + previousTimeData.absoluteDistance;
+               absoluteDistance[sliceIndex] = absoluteDistance[previousIndex];
+            }
+         } else {
+            if (absoluteDistance[sliceIndex] > 0) { // We are still within the same lap
+               currentTrackPointDistance = absoluteDistance[sliceIndex];
+               absoluteDistance[sliceIndex] = currentTrackPointDistance - previousTrackPointDistance + absoluteDistance[previousIndex];
 
-                  previousTrackPointDistance = currentTrackPointDistance;
-               } else if (timeData.absoluteDistance == 0) { // We are entering a new lap
+               previousTrackPointDistance = currentTrackPointDistance;
+            } else if (absoluteDistance[sliceIndex] == 0) { // We are entering a new lap
 
-                  timeData.absoluteDistance = previousTimeData.absoluteDistance;
-                  previousTrackPointDistance = 0;
-               }
+               absoluteDistance[sliceIndex] = absoluteDistance[previousIndex];
+               previousTrackPointDistance = 0;
             }
          }
-
-         previousTimeData = timeData;
       }
 
-      _allTimeData.removeAll(removeTimeData);
+      _timeSeries.remove(isRemoved);
    }
 }
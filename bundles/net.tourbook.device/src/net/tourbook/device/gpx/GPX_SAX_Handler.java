@@ -20,7 +20,6 @@ import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -30,7 +29,7 @@ import net.tourbook.common.UI;
 import net.tourbook.common.time.TimeTools;
 import net.tourbook.common.util.MtMath;
 import net.tourbook.common.util.Util;
-import net.tourbook.data.TimeData;
+import net.tourbook.data.TimeSeriesBuilder;
 import net.tourbook.data.TourData;
 import net.tourbook.data.TourMarker;
 import net.tourbook.data.TourWayPoint;
@@ -288,9 +287,15 @@ public class GPX_SAX_Handler extends DefaultHandler {
    private boolean                       _isInWpt_UrlAddress;
    private boolean                       _isInWpt_UrlText;
 
-   private final ArrayList<TimeData>     _timeDataList          = new ArrayList<>();
-   private TimeData                      _timeSlice;
-   private TimeData                      _prevTimeSlice;
+   private TimeSeriesBuilder             _timeSeries            = new TimeSeriesBuilder();
+   private int                           _sliceIndex            = -1;
+   private int                           _prevSliceIndex        = -1;
+
+   /**
+    * Relative distance of the current time slice from the &lt;gpxdata:distance&gt; tag
+    */
+   private float                         _gpxDistance;
+
    private String                        _trkDesc;
    private String                        _trkName;
 
@@ -700,7 +705,7 @@ public class GPX_SAX_Handler extends DefaultHandler {
 
             _isInEle = false;
 
-            _timeSlice.absoluteAltitude = getFloatValue(charData);
+            _timeSeries.absoluteAltitude[_sliceIndex] = getFloatValue(charData);
 
          } else if (name.equals(TAG_TIME)) {
 
@@ -708,21 +713,21 @@ public class GPX_SAX_Handler extends DefaultHandler {
 
             _isInTime = false;
 
-            _timeSlice.absoluteTime = parseDateTime(charData);
+            _timeSeries.absoluteTime[_sliceIndex] = parseDateTime(charData);
 
          } else if (name.equals(TAG_MT_SERIE_GEAR)) {
 
             // </mt:gear>
 
             _isInMT_Trk = false;
-            _timeSlice.gear = getLongValue(charData);
+            _timeSeries.gear[_sliceIndex] = getLongValue(charData);
 
          } else if (name.equals(TAG_EXT_TPX_CAD)) {
 
             // </gpxtpx:cad>
 
             _isInCadence = false;
-            _timeSlice.cadence = getFloatValue(charData);
+            _timeSeries.cadence[_sliceIndex] = getFloatValue(charData);
 
          } else if (name.equals(TAG_EXT_CAD)
                || name.equals(TAG_EXT_UN_CAD)) {
@@ -731,7 +736,7 @@ public class GPX_SAX_Handler extends DefaultHandler {
             // </un:cad>
 
             _isInCadence = false;
-            _timeSlice.cadence = getIntValue(charData);
+            _timeSeries.cadence[_sliceIndex] = getIntValue(charData);
 
          } else if (name.equals(TAG_EXT_TPX_HR)
                || name.equals(TAG_EXT_GPXX_HR)) {
@@ -740,7 +745,7 @@ public class GPX_SAX_Handler extends DefaultHandler {
             // </gpxx:hr>
 
             _isInHr = false;
-            _timeSlice.pulse = getFloatValue(charData);
+            _timeSeries.pulse[_sliceIndex] = getFloatValue(charData);
 
          } else if (name.equals(TAG_EXT_DATA_HR)
                || name.equals(TAG_EXT_HR)
@@ -753,14 +758,14 @@ public class GPX_SAX_Handler extends DefaultHandler {
             // </ns3:hr>
 
             _isInHr = false;
-            _timeSlice.pulse = getIntValue(charData);
+            _timeSeries.pulse[_sliceIndex] = getIntValue(charData);
 
          } else if (name.equals(TAG_EXT_UN_POWER)) {
 
             // </un:power>
 
             _isInPower = false;
-            _timeSlice.power = getFloatValue(charData);
+            _timeSeries.power[_sliceIndex] = getFloatValue(charData);
 
          } else if (name.equals(TAG_EXT_TPX_TEMP)
                || name.equals(TAG_EXT_GPXX_TEMP)
@@ -773,7 +778,7 @@ public class GPX_SAX_Handler extends DefaultHandler {
             // </gpxdata:temp>
 
             _isInTemp = false;
-            _timeSlice.temperature = getFloatValue(charData);
+            _timeSeries.temperature[_sliceIndex] = getFloatValue(charData);
 
          } else if (name.equals(TAG_EXT_DATA_DISTANCE)) {
 
@@ -799,7 +804,7 @@ public class GPX_SAX_Handler extends DefaultHandler {
                relativeDistanceValue = gpxExtDistanceValue;
             }
 
-            _timeSlice.gpxDistance = relativeDistanceValue;
+            _gpxDistance = relativeDistanceValue;
          }
 
       } else if (name.equals(TAG_TRK_NAME)) {
@@ -972,13 +977,13 @@ public class GPX_SAX_Handler extends DefaultHandler {
 
    private void finalizeTour() {
 
-      if (_timeDataList.isEmpty()) {
+      if (_timeSeries.isEmpty()) {
          // there is not data
 // disabled to imports tour without tracks
 //         return;
       }
 
-      // insert Laps into _timeDataList
+      // insert Laps into the time series
       insertLapData();
 
       // create data object for each tour
@@ -994,12 +999,11 @@ public class GPX_SAX_Handler extends DefaultHandler {
          _tourData.setTourDescription(_trkDesc);
       }
 
-      if (!_timeDataList.isEmpty()) {
+      if (!_timeSeries.isEmpty()) {
 
          // set tour start date/time
 
-         final TimeData firstTimeData = _timeDataList.get(0);
-         final Instant tourStartInstant = Instant.ofEpochMilli(firstTimeData.absoluteTime);
+         final Instant tourStartInstant = Instant.ofEpochMilli(_timeSeries.absoluteTime[0]);
 
          ZonedDateTime dtTourStart;
 
@@ -1027,7 +1031,7 @@ public class GPX_SAX_Handler extends DefaultHandler {
       _tourData.setDeviceId(_device.deviceId);
       _tourData.setDeviceName(_device.visibleName);
 
-      _tourData.createTimeSeries(_timeDataList, true);
+      _tourData.createTimeSeries(_timeSeries, true, null);
 
       // after all data are added, the tour id can be created
       final String uniqueId = _device.createUniqueId(_tourData, Util.UNIQUE_ID_SUFFIX_GPX);
@@ -1109,45 +1113,45 @@ public class GPX_SAX_Handler extends DefaultHandler {
 
    private void finalizeTrackpoint() {
 
-      if (_timeSlice == null) {
+      if (_sliceIndex == -1) {
          return;
       }
 
-      _timeDataList.add(_timeSlice);
+      final int sliceIndex = _sliceIndex;
 
       /*
        * calculate distance
        */
-      if (_prevTimeSlice == null) {
+      if (_prevSliceIndex == -1) {
          // first time data
-         _timeSlice.absoluteDistance = 0;
+         _timeSeries.absoluteDistance[sliceIndex] = 0;
       } else {
-         if (_timeSlice.absoluteDistance == Float.MIN_VALUE) {
+         if (_timeSeries.absoluteDistance[sliceIndex] == Float.MIN_VALUE) {
 
-            if (_timeSlice.gpxDistance != Float.MIN_VALUE) {
+            if (_gpxDistance != Float.MIN_VALUE) {
 
                // get distance from gpx tag: <gpxdata:distance>
 
-               _timeSlice.absoluteDistance = _absoluteDistance += _timeSlice.gpxDistance;
+               _timeSeries.absoluteDistance[sliceIndex] = _absoluteDistance += _gpxDistance;
 
             } else {
 
                // compute distance from lat/lon
 
-               _timeSlice.absoluteDistance = _absoluteDistance += MtMath.distanceVincenty(
-                     _prevTimeSlice.latitude,
-                     _prevTimeSlice.longitude,
-                     _timeSlice.latitude,
-                     _timeSlice.longitude);
+               _timeSeries.absoluteDistance[sliceIndex] = _absoluteDistance += MtMath.distanceVincenty(
+                     _timeSeries.latitude[_prevSliceIndex],
+                     _timeSeries.longitude[_prevSliceIndex],
+                     _timeSeries.latitude[sliceIndex],
+                     _timeSeries.longitude[sliceIndex]);
             }
          }
       }
 
-      final long originalTime = _timeSlice.absoluteTime;
+      final long originalTime = _timeSeries.absoluteTime[sliceIndex];
 
       // set virtual time if time is not available
-      if (_timeSlice.absoluteTime == Long.MIN_VALUE) {
-         _timeSlice.absoluteTime = DEFAULT_DATE_TIME;
+      if (originalTime == Long.MIN_VALUE) {
+         _timeSeries.absoluteTime[sliceIndex] = DEFAULT_DATE_TIME;
       }
 
       if (_isSetTrackMarker) {
@@ -1158,16 +1162,17 @@ public class GPX_SAX_Handler extends DefaultHandler {
                (originalTime == Long.MIN_VALUE //
                      ? UI.EMPTY_STRING
                      : UI.DASH_WITH_SPACE + TimeTools
-                           .getZonedDateTime(_timeSlice.absoluteTime)//
+                           .getZonedDateTime(_timeSeries.absoluteTime[sliceIndex])//
                            .format(TimeTools.Formatter_DateTime_M));
 
          final String markerLabel = NLS.bind(Messages.Marker_Label_Track, labelText);
 
-         _timeSlice.marker = 1;
-         _timeSlice.markerLabel = markerLabel;
+         _timeSeries.marker[sliceIndex] = 1;
+         _timeSeries.markerLabel[sliceIndex] = markerLabel;
       }
 
-      _prevTimeSlice = _timeSlice;
+      _prevSliceIndex = sliceIndex;
+      _sliceIndex = -1;
    }
 
    private void finalizeWayPoint() {
@@ -1307,7 +1312,8 @@ public class GPX_SAX_Handler extends DefaultHandler {
          _tourData = new TourData();
       }
 
-      _timeDataList.clear();
+      _timeSeries = new TimeSeriesBuilder();
+      _sliceIndex = -1;
 
       _allImportedTagNames.clear();
       _tourTypeName = null;
@@ -1318,7 +1324,7 @@ public class GPX_SAX_Handler extends DefaultHandler {
       _tourElevationGain = 0;
       _tourElevationLoss = 0;
 
-      _prevTimeSlice = null;
+      _prevSliceIndex = -1;
       _trkName = null;
       _isTourMarkerImported = false;
    }
@@ -1333,13 +1339,15 @@ public class GPX_SAX_Handler extends DefaultHandler {
          boolean found = false;
          absoluteDistance += lap.distance;
 
-         for (final TimeData timeData : _timeDataList) {
+         final int numSlices = _timeSeries.size();
+
+         for (int sliceIndex = 0; sliceIndex < numSlices; sliceIndex++) {
 
-            if ((lap.latitude == timeData.latitude) && (lap.longitude == timeData.longitude)) {
+            if ((lap.latitude == _timeSeries.latitude[sliceIndex]) && (lap.longitude == _timeSeries.longitude[sliceIndex])) {
 
                /* timeslice already exists */
-               timeData.marker = 1;
-               timeData.markerLabel = NLS.bind(Messages.Marker_Label_Lap, Integer.parseInt(lap.index) + 1);
+               _timeSeries.marker[sliceIndex] = 1;
+               _timeSeries.markerLabel[sliceIndex] = NLS.bind(Messages.Marker_Label_Lap, Integer.parseInt(lap.index) + 1);
 
                found = true;
                break;
@@ -1347,32 +1355,22 @@ public class GPX_SAX_Handler extends DefaultHandler {
          }
          if (!found) {
             /* create new timeSlice with Lap Data */
-            final TimeData timeSlice = new TimeData();
-            timeSlice.absoluteTime = lap.absoluteTime + Integer.parseInt(lap.elapsedTime) * 1000;
-            timeSlice.latitude = lap.latitude;
-            timeSlice.longitude = lap.longitude;
-            timeSlice.marker = 1;
-            timeSlice.markerLabel = NLS.bind(Messages.Marker_Label_Lap, Integer.parseInt(lap.index) + 1);
-            timeSlice.absoluteDistance = absoluteDistance;
-
-            _timeDataList.add(timeSlice);
+            final int sliceIndex = _timeSeries.add();
+            _timeSeries.absoluteTime[sliceIndex] = lap.absoluteTime + Integer.parseInt(lap.elapsedTime) * 1000;
+            _timeSeries.latitude[sliceIndex] = lap.latitude;
+            _timeSeries.longitude[sliceIndex] = lap.longitude;
+            _timeSeries.marker[sliceIndex] = 1;
+            _timeSeries.markerLabel[sliceIndex] = NLS.bind(Messages.Marker_Label_Lap, Integer.parseInt(lap.index) + 1);
+            _timeSeries.absoluteDistance[sliceIndex] = absoluteDistance;
+
             needsSort = true;
          }
 
       }
 
       if (needsSort) {
-         /* sort the _timeDataList */
-         Collections.sort(_timeDataList, (timeData1, timeData2) -> {
-            if (timeData1.absoluteTime < timeData2.absoluteTime) {
-               return -1;
-            }
-            if (timeData1.absoluteTime > timeData2.absoluteTime) {
-               return 1;
-            }
-
-            return 0;
-         });
+         /* sort the time series */
+         _timeSeries.sortByAbsoluteTime();
       }
    }
 
@@ -1655,12 +1653,19 @@ public class GPX_SAX_Handler extends DefaultHandler {
           */
          _isInTrkPt = true;
 
+         if (_sliceIndex != -1) {
+
+            // the previous trackpoint is not finalized
+            _timeSeries.removeLast();
+         }
+
          // create new time item
-         _timeSlice = new TimeData();
+         _sliceIndex = _timeSeries.add();
+         _gpxDistance = Float.MIN_VALUE;
 
          // get attributes
-         _timeSlice.latitude = getDoubleValue(attributes.getValue(ATTR_LATITUDE));
-         _timeSlice.longitude = getDoubleValue(attributes.getValue(ATTR_LONGITUDE));
+         _timeSeries.latitude[_sliceIndex] = getDoubleValue(attributes.getValue(ATTR_LATITUDE));
+         _timeSeries.longitude[_sliceIndex] = getDoubleValue(attributes.getValue(ATTR_LONGITUDE));
 
       } else if (name.equals(TAG_TRK_NAME)) {
 
@@ -26,6 +26,7 @@ public interface IPhotoPreferences {
    public static final String PHOTO_THUMBNAIL_STORE_CLEANUP_PERIOD                = "PHOTO_THUMBNAIL_STORE_CLEANUP_PERIOD";                //$NON-NLS-1$
    public static final String PHOTO_THUMBNAIL_STORE_NUMBER_OF_DAYS_TO_KEEP_IMAGES = "PHOTO_THUMBNAIL_STORE_NUMBER_OF_DAYS_TO_KEEP_IMAGES"; //$NON-NLS-1$
    public static final String PHOTO_THUMBNAIL_STORE_LAST_CLEANUP_DATE_TIME        = "PHOTO_THUMBNAIL_STORE_LAST_CLEANUP_DATE_TIME";        //$NON-NLS-1$
+   public static final String PHOTO_THUMBNAIL_STORE_MAX_SIZE                      = "PHOTO_THUMBNAIL_STORE_MAX_SIZE";                      //$NON-NLS-1$
 
    public static final String PHOTO_THUMBNAIL_IMAGE_CACHE_SIZE                    = "PHOTO_THUMBNAIL_IMAGE_CACHE_SIZE";                    //$NON-NLS-1$
 
@@ -170,9 +170,12 @@ public class Messages extends NLS {
    public static String        PrefPage_Photo_Thumbstore_Label_CleanupPeriod;
    public static String        PrefPage_Photo_Thumbstore_Label_KeepImagesNumberOfDays;
    public static String        PrefPage_Photo_Thumbstore_Label_LastCleanup;
+   public static String        PrefPage_Photo_Thumbstore_Label_MaxStoreSize;
    public static String        PrefPage_Photo_Thumbstore_Label_UnitDays;
+   public static String        PrefPage_Photo_Thumbstore_Label_UnitMByte;
    public static String        PrefPage_Photo_Thumbstore_Spinner_CleanupPeriod_Tooltip;
    public static String        PrefPage_Photo_Thumbstore_Spinner_KeepImagesNumberOfDays_Tooltip;
+   public static String        PrefPage_Photo_Thumbstore_Spinner_MaxStoreSize_Tooltip;
    public static String        PrefPage_Photo_Viewer_Checkbox_ShowHighQuality;
    public static String        PrefPage_Photo_Viewer_Checkbox_ShowHighQuality_Tooltip;
    public static String        PrefPage_Photo_Viewer_Checkbox_ShowNumbersInFolderView;
@@ -17,20 +17,23 @@ package net.tourbook.photo.internal.manager;
 
 import java.awt.Point;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.time.LocalDate;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.LinkedBlockingDeque;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 import net.tourbook.common.UI;
 import net.tourbook.common.graphics.SVGRasterizerMT;
-import net.tourbook.common.time.TimeTools;
 import net.tourbook.common.util.CustomScalingImageDataProvider;
 import net.tourbook.common.util.SWT2Dutil;
 import net.tourbook.common.util.StatusUtil;
@@ -71,6 +74,12 @@ public class PhotoImageLoader {
 
    private static final String     TEMP_IMAGE_FORMAT_JPG = "jpg";                        //$NON-NLS-1$
 
+   /**
+    * The subsampled original image is at least this factor larger than the HQ image, that the
+    * resized image is not showing subsampling artifacts
+    */
+   private static final int        SUBSAMPLING_MIN_RATIO = 2;
+
    static {
 
       Messages.setHandler(new GUIMessageHandler());
@@ -546,30 +555,19 @@ public class PhotoImageLoader {
       final IPath requestedStoreImageFilePath = ThumbnailStore.getStoreImagePath(_photo, requestedImageQuality, _thumbImageFormat);
 
       final String imageStoreFilePath = requestedStoreImageFilePath.toOSString();
-      final File storeImageFile = new File(imageStoreFilePath);
+      final byte[] storeImageData = ThumbnailStore.readImage(requestedStoreImageFilePath);
 
-      if (storeImageFile.isFile() == false) {
+      if (storeImageData == null) {
          return null;
       }
 
       // photo image is available in the thumbnail store
 
-      /*
-       * touch store file when it is not yet done today, this is done to track last access time so
-       * that a store cleanup can check the date
-       */
-      final LocalDate dtModified = TimeTools.getZonedDateTime(storeImageFile.lastModified()).toLocalDate();
-
-      if (dtModified.equals(LocalDate.now()) == false) {
-
-         storeImageFile.setLastModified(TimeTools.now().toInstant().toEpochMilli());
-      }
-
       BufferedImage awtImage = null;
 
       try {
 
-         awtImage = ImageIO.read(new File(imageStoreFilePath));
+         awtImage = ImageIO.read(new ByteArrayInputStream(storeImageData));
 
          loadImageProperties(requestedStoreImageFilePath);
 
@@ -597,9 +595,9 @@ public class PhotoImageLoader {
       final IPath requestedStoreImageFilePath = ThumbnailStore.getStoreImagePath(_photo, requestedImageQuality, _thumbImageFormat);
 
       final String imageStoreFilePath = requestedStoreImageFilePath.toOSString();
-      final File storeImageFile = new File(imageStoreFilePath);
+      final byte[] storeImageData = ThumbnailStore.readImage(requestedStoreImageFilePath);
 
-      if (storeImageFile.isFile() == false) {
+      if (storeImageData == null) {
          return null;
       }
 
@@ -607,20 +605,9 @@ public class PhotoImageLoader {
 
       Image swtImage = null;
 
-      /*
-       * touch store file when it is not yet done today, this is done to track last access time so
-       * that a store cleanup can check the date
-       */
-      final LocalDate dtModified = TimeTools.getZonedDateTime(storeImageFile.lastModified()).toLocalDate();
-
-      if (dtModified.equals(LocalDate.now()) == false) {
-
-         storeImageFile.setLastModified(TimeTools.now().toInstant().toEpochMilli());
-      }
-
       try {
 
-         final BufferedImage awtImage = ImageIO.read(new File(imageStoreFilePath));
+         final BufferedImage awtImage = ImageIO.read(new ByteArrayInputStream(storeImageData));
 
          swtImage = new Image(Display.getCurrent(), new CustomScalingImageDataProvider(awtImage));
 
@@ -646,7 +633,7 @@ public class PhotoImageLoader {
              */
             try {
 
-               swtImage = new Image(_display, imageStoreFilePath);
+               swtImage = new Image(_display, new ByteArrayInputStream(storeImageData));
 
             } catch (final Exception e) {
 
@@ -775,15 +762,21 @@ public class PhotoImageLoader {
       BufferedImage awtHQImage = null;
       BufferedImage awtOriginalImage = null;
 
+      final Point originalImageSize = new Point(0, 0);
+
       /*
        * Load original image
        */
       final String originalImagePathName = _photo.imageFilePathName;
+
+      // the thumb image could not be previously saved in the thumb store, the original image is displayed
+      final boolean isThumbSaveError = PhotoLoadManager.isThumbSaveError(originalImagePathName);
+
       try {
 
          final long startHqLoad = System.currentTimeMillis();
          {
-            awtOriginalImage = ImageIO.read(_photo.imageFile);
+            awtOriginalImage = loadImageOriginal_Subsampled(originalImageSize, isThumbSaveError == false);
 
             _allTrackedAWTImages.add(awtOriginalImage);
          }
@@ -806,10 +799,9 @@ public class PhotoImageLoader {
       /*
        * Handle thumb save error
        */
-      final boolean isThumbSaveError = PhotoLoadManager.isThumbSaveError(originalImagePathName);
       if (isThumbSaveError) {
 
-         // the thumb image could not be previously saved in the thumb store, display original image
+         // display the not subsampled original image
 
          final Image swtImage = createSWTimageFromAWTimage(awtOriginalImage, originalImagePathName);
 
@@ -830,18 +822,19 @@ public class PhotoImageLoader {
 
          boolean isHQCreated = false;
 
-         final int originalImageWidth = awtOriginalImage.getWidth();
-         final int originalImageHeight = awtOriginalImage.getHeight();
+         final int originalImageWidth = originalImageSize.x;
+         final int originalImageHeight = originalImageSize.y;
 
          final Properties originalImageProperties = new Properties();
          originalImageProperties.put(ThumbnailStore.ORIGINAL_IMAGE_WIDTH, Integer.toString(originalImageWidth));
          originalImageProperties.put(ThumbnailStore.ORIGINAL_IMAGE_HEIGHT, Integer.toString(originalImageHeight));
 
-         int imageWidth = originalImageWidth;
-         int imageHeight = originalImageHeight;
-
          // update dimension
-         updatePhotoImageSize(imageWidth, imageHeight, true);
+         updatePhotoImageSize(originalImageWidth, originalImageHeight, true);
+
+         // the loaded image can be subsampled
+         int imageWidth = awtOriginalImage.getWidth();
+         int imageHeight = awtOriginalImage.getHeight();
 
          if (imageWidth >= _hqImageSize || imageHeight >= _hqImageSize) {
 
@@ -1230,6 +1223,8 @@ public class PhotoImageLoader {
       BufferedImage awtOriginalImage = null;
       BufferedImage awtHQImage = null;
 
+      final Point originalImageSize = new Point(0, 0);
+
       /*
        * Load original image
        */
@@ -1238,7 +1233,10 @@ public class PhotoImageLoader {
 
          final long startHqLoad = System.currentTimeMillis();
          {
-            awtOriginalImage = ImageIO.read(_photo.imageFile);
+            // a cropped image needs all pixels of the original image
+            final boolean isSubsampling = imageQuality != ImageQuality.THUMB_HQ_ADJUSTED || _photo.isCropped == false;
+
+            awtOriginalImage = loadImageOriginal_Subsampled(originalImageSize, isSubsampling);
 
             _allTrackedAWTImages.add(awtOriginalImage);
          }
@@ -1258,8 +1256,12 @@ public class PhotoImageLoader {
          }
       }
 
-      final int originalImageWidth = awtOriginalImage.getWidth();
-      final int originalImageHeight = awtOriginalImage.getHeight();
+      final int originalImageWidth = originalImageSize.x;
+      final int originalImageHeight = originalImageSize.y;
+
+      // the loaded image can be subsampled
+      final int loadedImageWidth = awtOriginalImage.getWidth();
+      final int loadedImageHeight = awtOriginalImage.getHeight();
 
       /*
        * Create HQ thumb image from original image
@@ -1274,7 +1276,7 @@ public class PhotoImageLoader {
             true // isOriginalSize
       );
 
-      if (originalImageWidth >= _hqImageSize || originalImageHeight >= _hqImageSize) {
+      if (loadedImageWidth >= _hqImageSize || loadedImageHeight >= _hqImageSize) {
 
          // the original image is larger than HQ image -> resize it to HQ
 
@@ -1282,7 +1284,7 @@ public class PhotoImageLoader {
 
          final long startResizeHQ = System.currentTimeMillis();
          {
-            final Point bestSize = ImageUtils.getBestSize(originalImageWidth, originalImageHeight, _hqImageSize, _hqImageSize);
+            final Point bestSize = ImageUtils.getBestSize(loadedImageWidth, loadedImageHeight, _hqImageSize, _hqImageSize);
             final int scaleWidth = bestSize.x;
             final int scaledHeight = bestSize.y;
 
@@ -1530,32 +1532,74 @@ public class PhotoImageLoader {
    }
 
    /**
-    * @param requestedStoreImageFilePath
+    * Decode the original image with source subsampling, so that only the pixels are decoded which
+    * are needed to create the HQ image. A 24 megapixel photo needs then only a fraction of the
+    * memory and time of a full decode.
     *
-    * @return Returns <code>null</code> when properties cannot be loaded.
+    * @param originalImageSize
+    *           Returns the width and height of the not subsampled original image
+    * @param isSubsampling
+    *           When <code>false</code> then all pixels are decoded
+    *
+    * @return Returns the loaded image or <code>null</code> when the image format is not supported
+    *
+    * @throws IOException
     */
-   private void loadImageProperties(final IPath requestedStoreImageFilePath) {
+   private BufferedImage loadImageOriginal_Subsampled(final Point originalImageSize,
+                                                      final boolean isSubsampling) throws IOException {
 
-      final IPath propPath = ThumbnailStore.getPropertiesPathFromImagePath(requestedStoreImageFilePath);
+      try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(_photo.imageFile)) {
 
-      Properties imageProperties = null;
+         if (imageInputStream == null) {
+            return null;
+         }
 
-      try (FileInputStream fileStream = new FileInputStream(propPath.toOSString())) {
+         final Iterator<ImageReader> allImageReaders = ImageIO.getImageReaders(imageInputStream);
+         if (allImageReaders.hasNext() == false) {
+            return null;
+         }
 
-         final File propFile = propPath.toFile();
+         final ImageReader imageReader = allImageReaders.next();
 
-         if (propFile.isFile() == false) {
-            return;
-         }
+         try {
 
-         imageProperties = new Properties();
+            imageReader.setInput(imageInputStream, true, true);
 
-         imageProperties.load(fileStream);
+            final int imageWidth = imageReader.getWidth(0);
+            final int imageHeight = imageReader.getHeight(0);
 
-      } catch (final IOException e) {
-         StatusUtil.log(NLS.bind("Image properties cannot be loaded from: \"{0}\"", //$NON-NLS-1$
-               propPath.toOSString()), e);
+            originalImageSize.x = imageWidth;
+            originalImageSize.y = imageHeight;
+
+            final ImageReadParam readParam = imageReader.getDefaultReadParam();
+
+            if (isSubsampling) {
+
+               // the subsampled image is still larger than the HQ image
+               final int subsampling = Math.max(1, Math.max(imageWidth, imageHeight) / (_hqImageSize * SUBSAMPLING_MIN_RATIO));
+
+               if (subsampling > 1) {
+                  readParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+               }
+            }
+
+            return imageReader.read(0, readParam);
+
+         } finally {
+
+            imageReader.dispose();
+         }
       }
+   }
+
+   /**
+    * @param requestedStoreImageFilePath
+    *
+    * @return Returns <code>null</code> when properties cannot be loaded.
+    */
+   private void loadImageProperties(final IPath requestedStoreImageFilePath) {
+
+      final Properties imageProperties = ThumbnailStore.readProperties(requestedStoreImageFilePath);
 
       if (imageProperties != null) {
 
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.photo.internal.manager;
+
+import java.io.File;
+import java.io.IOException;
+
+import net.tourbook.common.util.PackFileStore;
+
+/**
+ * Thumbnail images are stored in one pack file instead of one file for each image, the key is the
+ * relative thumbnail path, e.g. "a3/a3f1..._THUMB_IMG_1234.jpg".
+ * <p>
+ * The index is saved with the last access time of each image. When the images are larger than the
+ * max store size, the least recently used images are deleted.
+ */
+public class ThumbnailPackStore extends PackFileStore {
+
+   public static final String PACK_FILE_NAME  = "thumbnail-images.pack";  //$NON-NLS-1$
+   public static final String INDEX_FILE_NAME = "thumbnail-images.index"; //$NON-NLS-1$
+
+   private static final int   RECORD_MAGIC    = 0x54484B31;               // THK1
+
+   public ThumbnailPackStore(final File packFolder, final long maxDataSize) throws IOException {
+
+      super(packFolder, PACK_FILE_NAME, INDEX_FILE_NAME, RECORD_MAGIC, maxDataSize);
+   }
+}
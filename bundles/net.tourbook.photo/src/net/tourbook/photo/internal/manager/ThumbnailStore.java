@@ -16,10 +16,13 @@
 package net.tourbook.photo.internal.manager;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Properties;
@@ -85,6 +88,11 @@ public class ThumbnailStore {
 
    private static final ReentrantLock SAVE_LOCK                 = new ReentrantLock();
 
+   /**
+    * Contains all thumbnail images, it is opened when it is used the first time
+    */
+   private static ThumbnailPackStore  _packStore;
+
    private static IPath checkPath(final IPath storeImageFilePath) {
 
       final IPath imagePathWithoutExt = storeImageFilePath.removeFileExtension();
@@ -212,6 +220,11 @@ public class ThumbnailStore {
 
 // SET_FORMATTING_ON
       }
+
+      final ThumbnailPackStore packStore = getPackStore();
+      if (packStore != null) {
+         packStore.compactWhenNeeded();
+      }
    }
 
    private static void cleanupStoreFiles_10_QFile(final File imageFile,
@@ -228,6 +241,15 @@ public class ThumbnailStore {
 
    private static void cleanupStoreFiles_20_Delete(final IPath storeImagePath) {
 
+      final ThumbnailPackStore packStore = getPackStore();
+      final String packKey = getPackKey(storeImagePath);
+
+      if (packStore != null && packKey != null) {
+         packStore.delete(packKey);
+      }
+
+      // image files are from an older version which did not use the pack store
+
       final String storeFilePath = storeImagePath.toOSString();
 
       final File storeFile = new File(storeFilePath);
@@ -255,6 +277,18 @@ public class ThumbnailStore {
       }
    }
 
+   /**
+    * Close the pack store and save its index, it is opened again when it is used the next time.
+    */
+   public static synchronized void closePackStore() {
+
+      if (_packStore != null) {
+
+         _packStore.close();
+         _packStore = null;
+      }
+   }
+
    private static void doCleanup(final int daysToKeepImages,
                                  final long dateToDeleteOlderImagesMillis,
                                  final boolean isDeleteAll) {
@@ -274,8 +308,10 @@ public class ThumbnailStore {
             @Override
             public void run(final IProgressMonitor monitor) throws InvocationTargetException, InterruptedException {
 
+               doCleanupPackStore(isDeleteAll);
+
                final File rootFolder = _storePath.toFile();
-               final File[] rootFiles = rootFolder.listFiles();
+               final File[] rootFiles = rootFolder.listFiles(file -> isPackStoreFile(file) == false);
 
                // show tasks info
                String message;
@@ -450,6 +486,30 @@ public class ThumbnailStore {
       return isFileFolderDeleted ? 1 : 0;
    }
 
+   /**
+    * Delete the images in the pack store which were not accessed since the cleanup date.
+    *
+    * @param isDeleteAll
+    */
+   private static void doCleanupPackStore(final boolean isDeleteAll) {
+
+      final ThumbnailPackStore packStore = getPackStore();
+      if (packStore == null) {
+         return;
+      }
+
+      if (isDeleteAll || _dateToDeleteOlderImagesMillis == Long.MIN_VALUE) {
+
+         packStore.deleteAll();
+
+      } else {
+
+         _deleteUI_DeletedFiles += packStore.deleteNotAccessedSince(_dateToDeleteOlderImagesMillis);
+
+         packStore.compactWhenNeeded();
+      }
+   }
+
    private static String getImageFileExtension(final ImageFormats imageFormat) {
 
       switch (imageFormat) {
@@ -463,6 +523,52 @@ public class ThumbnailStore {
 
    }
 
+   /**
+    * @param storeFilePath
+    *
+    * @return Returns the key of the image or properties in the pack store, it is the path relative
+    *         to the store path, or <code>null</code> when the file is not within the store path
+    */
+   private static String getPackKey(final IPath storeFilePath) {
+
+      final IPath storePath = _storePath;
+
+      if (storePath.isPrefixOf(storeFilePath) == false
+            || storeFilePath.segmentCount() <= storePath.segmentCount()) {
+
+         return null;
+      }
+
+      return storeFilePath
+            .removeFirstSegments(storePath.segmentCount())
+            .makeRelative()
+            .setDevice(null)
+            .toPortableString();
+   }
+
+   /**
+    * @return Returns the pack store or <code>null</code> when it cannot be opened
+    */
+   private static synchronized ThumbnailPackStore getPackStore() {
+
+      if (_packStore == null) {
+
+         final File packFolder = _storePath.toFile();
+         final long maxDataSize = _prefStore.getInt(IPhotoPreferences.PHOTO_THUMBNAIL_STORE_MAX_SIZE) * MBYTE;
+
+         try {
+
+            _packStore = new ThumbnailPackStore(packFolder, maxDataSize);
+
+         } catch (final IOException e) {
+
+            StatusUtil.log("Cannot open thumbnail pack file in: " + packFolder.getAbsolutePath(), e); //$NON-NLS-1$
+         }
+      }
+
+      return _packStore;
+   }
+
    static IPath getPropertiesPathFromImagePath(final IPath storeImageFilePath) {
 
       final String rawFileName = storeImageFilePath.removeFileExtension().lastSegment();
@@ -584,35 +690,119 @@ public class ThumbnailStore {
       return tnFolderPath.addTrailingSeparator();
    }
 
-   private static void saveProperties(final IPath storeImageFilePath, final Properties originalImageProperties) {
+   private static boolean isPackStoreFile(final File file) {
+
+      final String fileName = file.getName();
+
+      return fileName.startsWith(ThumbnailPackStore.PACK_FILE_NAME)
+            || fileName.equals(ThumbnailPackStore.INDEX_FILE_NAME);
+   }
+
+   /**
+    * @param storeImageFilePath
+    *
+    * @return Returns the image data from the thumb store or <code>null</code> when the image is
+    *         not available
+    */
+   static byte[] readImage(final IPath storeImageFilePath) {
 
-      IPath propImageFilePath = null;
-      FileOutputStream fileStream = null;
+      return readStoreData(storeImageFilePath);
+   }
+
+   /**
+    * @param storeImageFilePath
+    *
+    * @return Returns the properties of the original image or <code>null</code> when not available
+    */
+   static Properties readProperties(final IPath storeImageFilePath) {
+
+      final IPath propImageFilePath = getPropertiesPathFromImagePath(storeImageFilePath);
+
+      final byte[] propData = readStoreData(propImageFilePath);
+      if (propData == null) {
+         return null;
+      }
+
+      final Properties imageProperties = new Properties();
+
+      try {
+
+         imageProperties.load(new ByteArrayInputStream(propData));
+
+      } catch (final IOException e) {
+
+         StatusUtil.log(NLS.bind("Image properties cannot be loaded from: \"{0}\"", //$NON-NLS-1$
+               propImageFilePath.toOSString()), e);
+
+         return null;
+      }
+
+      return imageProperties;
+   }
+
+   private static byte[] readStoreData(final IPath storeFilePath) {
+
+      final ThumbnailPackStore packStore = getPackStore();
+      final String packKey = getPackKey(storeFilePath);
+
+      if (packStore != null && packKey != null) {
+
+         final byte[] storeData = packStore.read(packKey);
+         if (storeData != null) {
+            return storeData;
+         }
+      }
+
+      /*
+       * Read image files from an older version or when the photo image is already from the thumb
+       * store
+       */
+      final File storeFile = storeFilePath.toFile();
+
+      if (storeFile.isFile() == false) {
+         return null;
+      }
+
+      /*
+       * touch store file when it is not yet done today, this is done to track last access time so
+       * that a store cleanup can check the date
+       */
+      final LocalDate dtModified = TimeTools.getZonedDateTime(storeFile.lastModified()).toLocalDate();
+
+      if (dtModified.equals(LocalDate.now()) == false) {
+
+         storeFile.setLastModified(TimeTools.now().toInstant().toEpochMilli());
+      }
 
       try {
 
-         propImageFilePath = getPropertiesPathFromImagePath(storeImageFilePath);
+         return Files.readAllBytes(storeFile.toPath());
+
+      } catch (final IOException e) {
+
+         StatusUtil.log(e);
+      }
+
+      return null;
+   }
+
+   private static void saveProperties(final IPath storeImageFilePath, final Properties originalImageProperties) {
+
+      final IPath propImageFilePath = getPropertiesPathFromImagePath(storeImageFilePath);
 
-         final File propFile = new File(propImageFilePath.toOSString());
+      try {
 
-         fileStream = new FileOutputStream(propFile);
+         final ByteArrayOutputStream propStream = new ByteArrayOutputStream();
 
-         originalImageProperties.store(fileStream, null);
+         originalImageProperties.store(propStream, null);
+
+         saveStoreData(propImageFilePath, propStream.toByteArray());
 
       } catch (final Exception e) {
 
          StatusUtil.log(NLS.bind(//
                "Cannot save properties file: \"{0}\"", //$NON-NLS-1$
                propImageFilePath.toOSString()), e);
-      } finally {
-
-         if (fileStream != null) {
-            try {
-               fileStream.close();
-            } catch (final IOException e) {
-               e.printStackTrace();
-            }
-         }
       }
    }
 
@@ -631,14 +821,14 @@ public class ThumbnailStore {
 
       try {
 
-         final IPath imagePathWithoutExt = checkPath(storeImageFilePath);
+         final ByteArrayOutputStream imageStream = new ByteArrayOutputStream();
 
-         if (imagePathWithoutExt == null) {
+         ImageIO.write(awtResizedImage, getImageFileExtension(imageFormat), imageStream);
+
+         if (saveStoreData(storeImageFilePath, imageStream.toByteArray()) == false) {
             return false;
          }
 
-         ImageIO.write(awtResizedImage, getImageFileExtension(imageFormat), new File(storeImageFilePath.toOSString()));
-
          if (originalImageProperties != null) {
 
             saveProperties(storeImageFilePath, originalImageProperties);
@@ -661,15 +851,10 @@ public class ThumbnailStore {
 
       try {
 
-         final IPath imagePathWithoutExt = checkPath(storeImageFilePath);
-         if (imagePathWithoutExt == null) {
-            return false;
-         }
-
          final ImageLoader imageLoader = new ImageLoader();
          imageLoader.data = new ImageData[] { swtImage.getImageData() };
 
-         final IPath fullImageFilePath = imagePathWithoutExt.addFileExtension(getImageFileExtension(imageFormat));
+         final IPath fullImageFilePath = storeImageFilePath.removeFileExtension().addFileExtension(getImageFileExtension(imageFormat));
 
          int imageFileExtension;
 
@@ -688,7 +873,13 @@ public class ThumbnailStore {
             imageFileExtension = SWT.IMAGE_JPEG;
          }
 
-         imageLoader.save(fullImageFilePath.toOSString(), imageFileExtension);
+         final ByteArrayOutputStream imageStream = new ByteArrayOutputStream();
+
+         imageLoader.save(imageStream, imageFileExtension);
+
+         if (saveStoreData(fullImageFilePath, imageStream.toByteArray()) == false) {
+            return false;
+         }
 
          saveProperties(storeImageFilePath, originalImageProperties);
 
@@ -700,7 +891,43 @@ public class ThumbnailStore {
       return true;
    }
 
+   /**
+    * Save image or properties data in the pack store, when the pack store is not available, it is
+    * saved in a file.
+    *
+    * @param storeFilePath
+    * @param storeData
+    *
+    * @return Returns <code>true</code> when the data are saved
+    *
+    * @throws IOException
+    */
+   private static boolean saveStoreData(final IPath storeFilePath, final byte[] storeData) throws IOException {
+
+      final ThumbnailPackStore packStore = getPackStore();
+      final String packKey = getPackKey(storeFilePath);
+
+      if (packStore != null && packKey != null) {
+
+         packStore.write(packKey, storeData);
+
+         return true;
+      }
+
+      if (checkPath(storeFilePath) == null) {
+         return false;
+      }
+
+      Files.write(storeFilePath.toFile().toPath(), storeData);
+
+      return true;
+   }
+
    public static void updateStoreLocation() {
+
+      // the pack store is opened again with the new location and max size
+      closePackStore();
+
       _storePath = getThumbnailStorePath();
    }
 }
@@ -65,6 +65,8 @@ public class PrefPagePhotoThumbnailStore extends FieldEditorPreferencePage imple
 	private BooleanFieldEditor		_editorBoolDoCleanup;
 	private DirectoryFieldEditor	_editorDirThumbnailLocation;
 
+	private Spinner					_spinnerMaxStoreSize;
+
 	private Label					_lblCleanup;
 	private Spinner					_spinnerNumberOfDaysToKeepImages;
 	private Label					_lblCleanupDays;
@@ -145,6 +147,48 @@ public class PrefPagePhotoThumbnailStore extends FieldEditorPreferencePage imple
 
 				addField(_editorDirThumbnailLocation);
 			}
+
+			final Composite containerSize = new Composite(group, SWT.NONE);
+			GridDataFactory.fillDefaults().grab(true, false).span(3, 1).applyTo(containerSize);
+			GridLayoutFactory.fillDefaults().numColumns(3).applyTo(containerSize);
+			{
+				/*
+				 * label: max store size
+				 */
+				final Label label = new Label(containerSize, SWT.NONE);
+				GridDataFactory.fillDefaults()//
+						.align(SWT.BEGINNING, SWT.CENTER)
+						.applyTo(label);
+				label.setText(Messages.PrefPage_Photo_Thumbstore_Label_MaxStoreSize);
+
+				/*
+				 * spinner: max store size
+				 */
+				_spinnerMaxStoreSize = new Spinner(containerSize, SWT.BORDER);
+				GridDataFactory.fillDefaults() //
+						.align(SWT.BEGINNING, SWT.FILL)
+						.applyTo(_spinnerMaxStoreSize);
+				_spinnerMaxStoreSize.setToolTipText(Messages.PrefPage_Photo_Thumbstore_Spinner_MaxStoreSize_Tooltip);
+				_spinnerMaxStoreSize.setMinimum(0);
+				_spinnerMaxStoreSize.setMaximum(999_999);
+				_spinnerMaxStoreSize.setIncrement(100);
+				_spinnerMaxStoreSize.setPageIncrement(1000);
+				_spinnerMaxStoreSize.addMouseWheelListener(new MouseWheelListener() {
+					@Override
+					public void mouseScrolled(final MouseEvent event) {
+						Util.adjustSpinnerValueOnMouseScroll(event);
+					}
+				});
+
+				/*
+				 * label: MByte
+				 */
+				final Label labelUnit = new Label(containerSize, SWT.NONE);
+				GridDataFactory.fillDefaults()//
+						.align(SWT.BEGINNING, SWT.CENTER)
+						.applyTo(labelUnit);
+				labelUnit.setText(Messages.PrefPage_Photo_Thumbstore_Label_UnitMByte);
+			}
 		}
 
 		// !!! set layout after the editor was created because the editor sets the parents layout
@@ -462,6 +506,9 @@ public class PrefPagePhotoThumbnailStore extends FieldEditorPreferencePage imple
 		_spinnerCleanupPeriod.setSelection(_prefStore.getDefaultInt(//
 				IPhotoPreferences.PHOTO_THUMBNAIL_STORE_CLEANUP_PERIOD));
 
+		_spinnerMaxStoreSize.setSelection(_prefStore.getDefaultInt(//
+				IPhotoPreferences.PHOTO_THUMBNAIL_STORE_MAX_SIZE));
+
 		enableControls();
 	}
 
@@ -491,6 +538,8 @@ public class PrefPagePhotoThumbnailStore extends FieldEditorPreferencePage imple
 				IPhotoPreferences.PHOTO_THUMBNAIL_STORE_NUMBER_OF_DAYS_TO_KEEP_IMAGES));
 		_spinnerCleanupPeriod.setSelection(_prefStore.getInt(//
 				IPhotoPreferences.PHOTO_THUMBNAIL_STORE_CLEANUP_PERIOD));
+		_spinnerMaxStoreSize.setSelection(_prefStore.getInt(//
+				IPhotoPreferences.PHOTO_THUMBNAIL_STORE_MAX_SIZE));
 
 		updateUILastCleanup();
 
@@ -507,6 +556,10 @@ public class PrefPagePhotoThumbnailStore extends FieldEditorPreferencePage imple
 				IPhotoPreferences.PHOTO_THUMBNAIL_STORE_CLEANUP_PERIOD,
 				_spinnerCleanupPeriod.getSelection());
 
+		_prefStore.setValue(
+				IPhotoPreferences.PHOTO_THUMBNAIL_STORE_MAX_SIZE,
+				_spinnerMaxStoreSize.getSelection());
+
 		ThumbnailStore.updateStoreLocation();
 	}
 
@@ -44,6 +44,7 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
       store.setDefault(IPhotoPreferences.PHOTO_THUMBNAIL_STORE_IS_CLEANUP, false);
       store.setDefault(IPhotoPreferences.PHOTO_THUMBNAIL_STORE_NUMBER_OF_DAYS_TO_KEEP_IMAGES, 90);
       store.setDefault(IPhotoPreferences.PHOTO_THUMBNAIL_STORE_CLEANUP_PERIOD, 30);
+      store.setDefault(IPhotoPreferences.PHOTO_THUMBNAIL_STORE_MAX_SIZE, 2048); // MByte
 
       store.setDefault(IPhotoPreferences.PHOTO_THUMBNAIL_IMAGE_CACHE_SIZE, 2000);
       store.setDefault(IPhotoPreferences.PHOTO_ORIGINAL_IMAGE_CACHE_SIZE, 3);
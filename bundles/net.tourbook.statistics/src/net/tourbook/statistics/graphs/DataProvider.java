@@ -22,6 +22,7 @@ import net.tourbook.common.UI;
 import net.tourbook.common.time.TimeTools;
 import net.tourbook.data.TourData;
 import net.tourbook.data.TourPerson;
+import net.tourbook.database.TourDatabase;
 import net.tourbook.statistic.DurationTime;
 import net.tourbook.statistics.Messages;
 import net.tourbook.ui.TourTypeFilter;
@@ -167,7 +168,45 @@ public abstract class DataProvider {
     */
    int[]                allYear_NumWeeks;
 
-   static String createSQL_SumDurationTime(final DurationTime durationTime) {
+   /**
+    * @param isAggregated
+    *
+    * @return Returns the average body weight and body fat, the values are separated with a comma
+    */
+   static String createSQL_AvgBodyValues(final boolean isAggregated) {
+
+      if (isAggregated) {
+
+         return UI.EMPTY_STRING
+
+               + "   SUM(BodyWeight_Sum) / NULLIF(SUM(BodyWeight_Num), 0)," + NL //  //$NON-NLS-1$
+               + "   SUM(BodyFat_Sum)    / NULLIF(SUM(BodyFat_Num), 0)" + NL //      //$NON-NLS-1$
+         ;
+      }
+
+      return UI.EMPTY_STRING
+
+            + "   AVG( CASE WHEN BodyWeight = 0    THEN NULL ELSE BodyWeight END)," + NL //  //$NON-NLS-1$
+            + "   AVG( CASE WHEN BodyFat = 0       THEN NULL ELSE BodyFat END)" + NL //      //$NON-NLS-1$
+      ;
+   }
+
+   /**
+    * @param isAggregated
+    *           When <code>true</code> then the tour values are summarized from the
+    *           {@link TourDatabase#TABLE_TOUR_STATISTIC_AGGREGATE}, it has the alias
+    *           <code>TourData</code> that the app filter can be applied
+    *
+    * @return Returns the table from which the tour values are summarized
+    */
+   static String createSQL_FromTourValues(final boolean isAggregated) {
+
+      return isAggregated
+            ? TourDatabase.TABLE_TOUR_STATISTIC_AGGREGATE + " TourData" //$NON-NLS-1$
+            : TourDatabase.TABLE_TOUR_DATA;
+   }
+
+   static String createSQL_SumDurationTime(final DurationTime durationTime, final boolean isAggregated) {
 
       String sqlSumDurationTime = null;
 
@@ -195,13 +234,53 @@ public abstract class DataProvider {
       case MOVING:
       default:
          // this is also the old implementation for the duration values
-         sqlSumDurationTime = "SUM(CASE WHEN TourComputedTime_Moving > 0 THEN TourComputedTime_Moving ELSE TourDeviceTime_Elapsed END),"; //$NON-NLS-1$
+         sqlSumDurationTime = isAggregated
+               ? "SUM(TourDuration_Moving)," //$NON-NLS-1$
+               : "SUM(CASE WHEN TourComputedTime_Moving > 0 THEN TourComputedTime_Moving ELSE TourDeviceTime_Elapsed END),"; //$NON-NLS-1$
          break;
       }
 
       return sqlSumDurationTime;
    }
 
+   /**
+    * @param isAggregated
+    *
+    * @return Returns the sum of all 10 hr zones, the values are separated with a comma
+    */
+   static String createSQL_SumHrZones(final boolean isAggregated) {
+
+      final StringBuilder sb = new StringBuilder();
+
+      for (int zoneIndex = 0; zoneIndex < 10; zoneIndex++) {
+
+         final String column = "hrZone" + zoneIndex; //$NON-NLS-1$
+
+         if (zoneIndex > 0) {
+            sb.append(',').append(NL);
+         }
+
+         if (isAggregated) {
+
+            // only positive zone values of tours with hr zones are aggregated
+            sb.append("   SUM(" + column + ")"); //$NON-NLS-1$ //$NON-NLS-2$
+
+         } else {
+
+            sb.append("   SUM(CASE WHEN " + column + " > 0 THEN " + column + " ELSE 0 END)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+         }
+      }
+
+      return sb.append(NL).toString();
+   }
+
+   static String createSQL_SumNumTours(final boolean isAggregated) {
+
+      return isAggregated
+            ? "SUM(NumTours)," //$NON-NLS-1$
+            : "SUM(1),"; //$NON-NLS-1$
+   }
+
    /**
     * @param finalYear
     * @param numberOfYears
@@ -255,9 +334,26 @@ public abstract class DataProvider {
     * All years in {@link #allYear_Numbers} <br>
     * Number of day's in {@link #allYear_NumDays} <br>
     * Number of week's in {@link #allYear_NumWeeks}
+    * <p>
+    * The years are set from {@link #statistic_LastYear} and {@link #statistic_NumberOfYears}
     */
    void setupYearNumbers() {
 
+      setupYearNumbers(statistic_LastYear, statistic_NumberOfYears);
+   }
+
+   /**
+    * Get different data for each year, data are set into <br>
+    * <br>
+    * All years in {@link #allYear_Numbers} <br>
+    * Number of day's in {@link #allYear_NumDays} <br>
+    * Number of week's in {@link #allYear_NumWeeks}
+    *
+    * @param lastYear
+    * @param numberOfYears
+    */
+   void setupYearNumbers(final int lastYear, final int numberOfYears) {
+
       /**
        * Log num weeks in a year, 2012 has 54 weeks but computed value is 52 !
        * <code>
@@ -283,14 +379,14 @@ public abstract class DataProvider {
 //      System.out.println();
 //      System.out.println();
 
-      allYear_Numbers = new int[statistic_NumberOfYears];
-      allYear_NumDays = new int[statistic_NumberOfYears];
-      allYear_NumWeeks = new int[statistic_NumberOfYears];
+      allYear_Numbers = new int[numberOfYears];
+      allYear_NumDays = new int[numberOfYears];
+      allYear_NumWeeks = new int[numberOfYears];
 
-      final int firstYear = statistic_LastYear - statistic_NumberOfYears + 1;
+      final int firstYear = lastYear - numberOfYears + 1;
       int yearIndex = 0;
 
-      for (int currentYear = firstYear; currentYear <= statistic_LastYear; currentYear++) {
+      for (int currentYear = firstYear; currentYear <= lastYear; currentYear++) {
 
          final int numOfWeeksInCurrentYear = TimeTools.getNumberOfWeeksWithYear(currentYear);
 
@@ -306,7 +402,7 @@ public abstract class DataProvider {
 //            }
 //         }
 //
-//         if (currentYear == statistic_LastYear) {
+//         if (currentYear == lastYear) {
 //
 //            // add one week when the last day's of the last year are in the next year, e.g. 31.12.2012
 //
@@ -15,15 +15,14 @@
  *******************************************************************************/
 package net.tourbook.statistics.graphs;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.function.Function;
 
 import net.tourbook.common.UI;
-import net.tourbook.common.util.SQL;
 import net.tourbook.data.TourPerson;
-import net.tourbook.database.TourDatabase;
+import net.tourbook.database.TourStatisticAggregate;
+import net.tourbook.statistic.StatisticQueryService;
+import net.tourbook.statistic.StatisticQueryService.QueryKey;
+import net.tourbook.statistic.StatisticQueryService.QueryRows;
 import net.tourbook.ui.AppFilter;
 import net.tourbook.ui.TourTypeFilter;
 
@@ -52,90 +51,19 @@ public class DataProvider_HrZone_Month extends DataProvider {
       // reset cached values
       statistic_RawStatisticValues = null;
 
-      String sql = null;
+      final TourStatisticData_MonthHrZones loadedData = StatisticQueryService.getData(
 
-      try (Connection conn = TourDatabase.getInstance().getConnection()) {
+            new QueryKey(TourStatisticData_MonthHrZones.class, person, tourTypeFilter, lastYear, numYears, null),
 
-         statistic_ActivePerson = person;
-         statistic_ActiveTourTypeFilter = tourTypeFilter;
+            () -> loadMonthData(lastYear, numYears));
 
-         statistic_LastYear = lastYear;
-         statistic_NumberOfYears = numYears;
+      // keep the query parameters only when the data are loaded, otherwise the failed query is not run again
+      statistic_ActivePerson = person;
+      statistic_ActiveTourTypeFilter = tourTypeFilter;
+      statistic_LastYear = lastYear;
+      statistic_NumberOfYears = numYears;
 
-         _monthData = new TourStatisticData_MonthHrZones();
-
-         final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
-
-         sql = UI.EMPTY_STRING
-
-               + "SELECT" + NL //                                                               //$NON-NLS-1$
-
-               + "   StartYear," + NL //                                                     1  //$NON-NLS-1$
-               + "   StartMonth," + NL //                                                    2  //$NON-NLS-1$
-
-               + "   SUM(CASE WHEN hrZone0 > 0 THEN hrZone0 ELSE 0 END)," + NL //            3  //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone1 > 0 THEN hrZone1 ELSE 0 END)," + NL //            4  //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone2 > 0 THEN hrZone2 ELSE 0 END)," + NL //            5  //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone3 > 0 THEN hrZone3 ELSE 0 END)," + NL //            6  //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone4 > 0 THEN hrZone4 ELSE 0 END)," + NL //            7  //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone5 > 0 THEN hrZone5 ELSE 0 END)," + NL //            8  //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone6 > 0 THEN hrZone6 ELSE 0 END)," + NL //            9  //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone7 > 0 THEN hrZone7 ELSE 0 END)," + NL //            10 //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone8 > 0 THEN hrZone8 ELSE 0 END)," + NL //            11 //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone9 > 0 THEN hrZone9 ELSE 0 END)" + NL //             12 //$NON-NLS-1$
-
-               + "FROM " + TourDatabase.TABLE_TOUR_DATA + NL //                              //$NON-NLS-1$
-
-               + "WHERE StartYear IN (" + getYearList(lastYear, numYears) + ")" + NL //      //$NON-NLS-1$ //$NON-NLS-2$
-               + "   AND NumberOfHrZones > 0" + NL //                                        //$NON-NLS-1$
-
-               + appFilter.getWhereClause()
-
-               + "GROUP BY StartYear, StartMonth" + NL //                                       //$NON-NLS-1$
-               + "ORDER BY StartYear, StartMonth" + NL //                                       //$NON-NLS-1$
-         ;
-
-         final int maxZones = 10; // hr zones: 0...9
-         final int serieLength = maxZones;
-         final int valueLength = 12 * numYears;
-
-         final int[][] dbHrZones = new int[serieLength][valueLength];
-
-         {
-            final PreparedStatement prepStmt = conn.prepareStatement(sql);
-
-            int nextIndex = 1;
-
-            nextIndex = appFilter.setParameters(prepStmt, nextIndex);
-
-            final ResultSet result = prepStmt.executeQuery();
-
-            while (result.next()) {
-
-               final int dbYear = result.getInt(1);
-               final int dbMonth = result.getInt(2);
-
-               final int yearIndex = numYears - (lastYear - dbYear + 1);
-               final int monthIndex = (dbMonth - 1) + yearIndex * 12;
-
-               dbHrZones[0][monthIndex] = result.getInt(3);
-               dbHrZones[1][monthIndex] = result.getInt(4);
-               dbHrZones[2][monthIndex] = result.getInt(5);
-               dbHrZones[3][monthIndex] = result.getInt(6);
-               dbHrZones[4][monthIndex] = result.getInt(7);
-               dbHrZones[5][monthIndex] = result.getInt(8);
-               dbHrZones[6][monthIndex] = result.getInt(9);
-               dbHrZones[7][monthIndex] = result.getInt(10);
-               dbHrZones[8][monthIndex] = result.getInt(11);
-               dbHrZones[9][monthIndex] = result.getInt(12);
-            }
-         }
-
-         _monthData.hrZoneValues = dbHrZones;
-
-      } catch (final SQLException e) {
-         SQL.showException(e, sql);
-      }
+      _monthData = loadedData;
 
       return _monthData;
    }
@@ -290,4 +218,67 @@ public class DataProvider_HrZone_Month extends DataProvider {
       return statistic_RawStatisticValues;
    }
 
+   private TourStatisticData_MonthHrZones loadMonthData(final int lastYear,
+                                                        final int numYears) {
+
+      final TourStatisticData_MonthHrZones monthData = new TourStatisticData_MonthHrZones();
+
+      final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
+
+      // tours which are filtered only by person and tour type are summarized from the aggregates
+      final boolean isAggregated = TourStatisticAggregate.isAvailable(appFilter);
+
+      final Function<String, String> sqlCreator = yearList -> UI.EMPTY_STRING
+
+            + "SELECT" + NL //                                                               //$NON-NLS-1$
+
+            + "   StartYear," + NL //                                                     1  //$NON-NLS-1$
+            + "   StartMonth," + NL //                                                    2  //$NON-NLS-1$
+            + createSQL_SumHrZones(isAggregated) //                        3...12
+
+            + "FROM " + createSQL_FromTourValues(isAggregated) + NL //              //$NON-NLS-1$
+
+            + "WHERE StartYear IN (" + yearList + ")" + NL //      //$NON-NLS-1$ //$NON-NLS-2$
+            + (isAggregated ? UI.EMPTY_STRING : "   AND NumberOfHrZones > 0" + NL) //  //$NON-NLS-1$
+
+            + appFilter.getWhereClause()
+
+            + "GROUP BY StartYear, StartMonth" + NL //                                       //$NON-NLS-1$
+            + "ORDER BY StartYear, StartMonth" + NL //                                       //$NON-NLS-1$
+      ;
+
+      final int maxZones = 10; // hr zones: 0...9
+      final int serieLength = maxZones;
+      final int valueLength = 12 * numYears;
+
+      final int[][] dbHrZones = new int[serieLength][valueLength];
+
+      {
+         final QueryRows result = StatisticQueryService.loadRows(getClass().getSimpleName(), lastYear, numYears, sqlCreator, appFilter);
+
+         while (result.next()) {
+
+            final int dbYear = result.getInt(1);
+            final int dbMonth = result.getInt(2);
+
+            final int yearIndex = numYears - (lastYear - dbYear + 1);
+            final int monthIndex = (dbMonth - 1) + yearIndex * 12;
+
+            dbHrZones[0][monthIndex] = result.getInt(3);
+            dbHrZones[1][monthIndex] = result.getInt(4);
+            dbHrZones[2][monthIndex] = result.getInt(5);
+            dbHrZones[3][monthIndex] = result.getInt(6);
+            dbHrZones[4][monthIndex] = result.getInt(7);
+            dbHrZones[5][monthIndex] = result.getInt(8);
+            dbHrZones[6][monthIndex] = result.getInt(9);
+            dbHrZones[7][monthIndex] = result.getInt(10);
+            dbHrZones[8][monthIndex] = result.getInt(11);
+            dbHrZones[9][monthIndex] = result.getInt(12);
+         }
+      }
+
+      monthData.hrZoneValues = dbHrZones;
+
+      return monthData;
+   }
 }
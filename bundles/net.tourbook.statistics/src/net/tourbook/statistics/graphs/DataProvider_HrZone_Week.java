@@ -15,18 +15,18 @@
  *******************************************************************************/
 package net.tourbook.statistics.graphs;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.temporal.TemporalField;
 import java.time.temporal.WeekFields;
+import java.util.function.Function;
 
 import net.tourbook.common.UI;
 import net.tourbook.common.time.TimeTools;
 import net.tourbook.data.TourPerson;
-import net.tourbook.database.TourDatabase;
+import net.tourbook.database.TourStatisticAggregate;
+import net.tourbook.statistic.StatisticQueryService;
+import net.tourbook.statistic.StatisticQueryService.QueryKey;
+import net.tourbook.statistic.StatisticQueryService.QueryRows;
 import net.tourbook.ui.AppFilter;
 import net.tourbook.ui.TourTypeFilter;
 
@@ -257,113 +257,118 @@ public class DataProvider_HrZone_Week extends DataProvider {
       // reset cached values
       statistic_RawStatisticValues = null;
 
-      String sql = null;
+      setupYearNumbers(lastYear, numYears);
 
-      try (Connection conn = TourDatabase.getInstance().getConnection()) {
+      final TourStatisticData_WeekHrZones loadedData;
 
-         statistic_ActivePerson = person;
-         statistic_ActiveTourTypeFilter = tourTypeFilter;
+      try {
 
-         statistic_LastYear = lastYear;
-         statistic_NumberOfYears = numYears;
+         loadedData = StatisticQueryService.getData(
 
+               new QueryKey(TourStatisticData_WeekHrZones.class, person, tourTypeFilter, lastYear, numYears, null),
+
+               () -> loadWeekData(lastYear, numYears));
+
+      } catch (final RuntimeException e) {
+
+         // restore the years of the previously loaded data
          setupYearNumbers();
 
-         final int maxZones = 10; // hr zones: 0...9
-         int numberOfWeeks = 0;
-         for (final int weeks : allYear_NumWeeks) {
-            numberOfWeeks += weeks;
-         }
+         throw e;
+      }
 
-         final int serieLength = maxZones;
-         final int valueLength = numberOfWeeks;
+      // keep the query parameters only when the data are loaded, otherwise the failed query is not run again
+      statistic_ActivePerson = person;
+      statistic_ActiveTourTypeFilter = tourTypeFilter;
+      statistic_LastYear = lastYear;
+      statistic_NumberOfYears = numYears;
 
-         _weekData = new TourStatisticData_WeekHrZones();
+      _weekData = loadedData;
 
-         final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
+      setStatisticValues();
 
-         sql = UI.EMPTY_STRING
+      return _weekData;
+   }
 
-               + "SELECT" + NL //                                                      //$NON-NLS-1$
+   private TourStatisticData_WeekHrZones loadWeekData(final int lastYear,
+                                                      final int numYears) {
 
-               + "   StartWeekYear," + NL //                                        1  //$NON-NLS-1$
-               + "   StartWeek," + NL //                                            2  //$NON-NLS-1$
+      final int maxZones = 10; // hr zones: 0...9
+      int numberOfWeeks = 0;
+      for (final int weeks : allYear_NumWeeks) {
+         numberOfWeeks += weeks;
+      }
 
-               + "   SUM(CASE WHEN hrZone0 > 0 THEN hrZone0 ELSE 0 END)," + NL //   3  //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone1 > 0 THEN hrZone1 ELSE 0 END)," + NL //   4  //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone2 > 0 THEN hrZone2 ELSE 0 END)," + NL //   5  //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone3 > 0 THEN hrZone3 ELSE 0 END)," + NL //   6  //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone4 > 0 THEN hrZone4 ELSE 0 END)," + NL //   7  //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone5 > 0 THEN hrZone5 ELSE 0 END)," + NL //   8  //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone6 > 0 THEN hrZone6 ELSE 0 END)," + NL //   9  //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone7 > 0 THEN hrZone7 ELSE 0 END)," + NL //   10 //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone8 > 0 THEN hrZone8 ELSE 0 END)," + NL //   11 //$NON-NLS-1$
-               + "   SUM(CASE WHEN hrZone9 > 0 THEN hrZone9 ELSE 0 END)" + NL //    12 //$NON-NLS-1$
+      final int serieLength = maxZones;
+      final int valueLength = numberOfWeeks;
 
-               + "FROM " + TourDatabase.TABLE_TOUR_DATA + NL //                                 //$NON-NLS-1$
+      final TourStatisticData_WeekHrZones weekData = new TourStatisticData_WeekHrZones();
 
-               + "WHERE StartWeekYear IN (" + getYearList(lastYear, numYears) + ")" + NL //     //$NON-NLS-1$ //$NON-NLS-2$
-               + "   AND NumberOfHrZones > 0" + NL //                                           //$NON-NLS-1$
+      final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
 
-               + appFilter.getWhereClause()
+      // tours which are filtered only by person and tour type are summarized from the aggregates
+      final boolean isAggregated = TourStatisticAggregate.isAvailable(appFilter);
 
-               + "GROUP BY StartWeekYear, StartWeek" + NL //                           //$NON-NLS-1$
-               + "ORDER BY StartWeekYear, StartWeek" + NL //                           //$NON-NLS-1$
-         ;
+      final Function<String, String> sqlCreator = yearList -> UI.EMPTY_STRING
 
-         final int[][] dbHrZoneValues = new int[serieLength][valueLength];
+            + "SELECT" + NL //                                                      //$NON-NLS-1$
 
-         {
-            final PreparedStatement prepStmt = conn.prepareStatement(sql);
+            + "   StartWeekYear," + NL //                                        1  //$NON-NLS-1$
+            + "   StartWeek," + NL //                                            2  //$NON-NLS-1$
+            + createSQL_SumHrZones(isAggregated) //                        3...12
 
-            int nextIndex = 1;
+            + "FROM " + createSQL_FromTourValues(isAggregated) + NL //              //$NON-NLS-1$
 
-            nextIndex = appFilter.setParameters(prepStmt, nextIndex);
+            + "WHERE StartWeekYear IN (" + yearList + ")" + NL //     //$NON-NLS-1$ //$NON-NLS-2$
+            + (isAggregated ? UI.EMPTY_STRING : "   AND NumberOfHrZones > 0" + NL) //  //$NON-NLS-1$
 
-            final ResultSet result = prepStmt.executeQuery();
+            + appFilter.getWhereClause()
 
-            while (result.next()) {
+            + "GROUP BY StartWeekYear, StartWeek" + NL //                           //$NON-NLS-1$
+            + "ORDER BY StartWeekYear, StartWeek" + NL //                           //$NON-NLS-1$
+      ;
 
-               final int dbValue_CW_Year = result.getInt(1);
-               final int dbValue_CW_Week = result.getInt(2);
+      final int[][] dbHrZoneValues = new int[serieLength][valueLength];
 
-               // get number of weeks for the current year in the db
-               final int dbYearIndex = numYears - (lastYear - dbValue_CW_Year + 1);
-               int allWeeks = 0;
-               for (int yearIndex = 0; yearIndex <= dbYearIndex; yearIndex++) {
-                  if (yearIndex > 0) {
-                     allWeeks += allYear_NumWeeks[yearIndex - 1];
-                  }
-               }
+      {
+         final QueryRows result = StatisticQueryService.loadRows(getClass().getSimpleName(), lastYear, numYears, sqlCreator, appFilter);
 
-               final int weekIndex = allWeeks + dbValue_CW_Week - 1;
-
-               dbHrZoneValues[0][weekIndex] = result.getInt(3);
-               dbHrZoneValues[1][weekIndex] = result.getInt(4);
-               dbHrZoneValues[2][weekIndex] = result.getInt(5);
-               dbHrZoneValues[3][weekIndex] = result.getInt(6);
-               dbHrZoneValues[4][weekIndex] = result.getInt(7);
-               dbHrZoneValues[5][weekIndex] = result.getInt(8);
-               dbHrZoneValues[6][weekIndex] = result.getInt(9);
-               dbHrZoneValues[7][weekIndex] = result.getInt(10);
-               dbHrZoneValues[8][weekIndex] = result.getInt(11);
-               dbHrZoneValues[9][weekIndex] = result.getInt(12);
-            }
-         }
+         while (result.next()) {
 
-         _weekData.hrZoneValues = dbHrZoneValues;
+            final int dbValue_CW_Year = result.getInt(1);
+            final int dbValue_CW_Week = result.getInt(2);
 
-         _weekData.years = allYear_Numbers;
-         _weekData.yearWeeks = allYear_NumWeeks;
-         _weekData.yearDays = allYear_NumDays;
+            // get number of weeks for the current year in the db
+            final int dbYearIndex = numYears - (lastYear - dbValue_CW_Year + 1);
+            int allWeeks = 0;
+            for (int yearIndex = 0; yearIndex <= dbYearIndex; yearIndex++) {
+               if (yearIndex > 0) {
+                  allWeeks += allYear_NumWeeks[yearIndex - 1];
+               }
+            }
 
-      } catch (final SQLException e) {
-         UI.showSQLException(e);
+            final int weekIndex = allWeeks + dbValue_CW_Week - 1;
+
+            dbHrZoneValues[0][weekIndex] = result.getInt(3);
+            dbHrZoneValues[1][weekIndex] = result.getInt(4);
+            dbHrZoneValues[2][weekIndex] = result.getInt(5);
+            dbHrZoneValues[3][weekIndex] = result.getInt(6);
+            dbHrZoneValues[4][weekIndex] = result.getInt(7);
+            dbHrZoneValues[5][weekIndex] = result.getInt(8);
+            dbHrZoneValues[6][weekIndex] = result.getInt(9);
+            dbHrZoneValues[7][weekIndex] = result.getInt(10);
+            dbHrZoneValues[8][weekIndex] = result.getInt(11);
+            dbHrZoneValues[9][weekIndex] = result.getInt(12);
+         }
       }
 
-      setStatisticValues();
+      weekData.hrZoneValues = dbHrZoneValues;
 
-      return _weekData;
+      weekData.years = allYear_Numbers;
+      weekData.yearWeeks = allYear_NumWeeks;
+      weekData.yearDays = allYear_NumDays;
+
+      return weekData;
    }
 
    private void setStatisticValues() {
@@ -15,20 +15,20 @@
  *******************************************************************************/
 package net.tourbook.statistics.graphs;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.function.Function;
 
 import net.tourbook.Messages;
 import net.tourbook.common.UI;
-import net.tourbook.common.util.SQL;
 import net.tourbook.data.TourPerson;
 import net.tourbook.data.TourType;
 import net.tourbook.database.TourDatabase;
+import net.tourbook.database.TourStatisticAggregate;
 import net.tourbook.statistic.DurationTime;
+import net.tourbook.statistic.StatisticQueryService;
+import net.tourbook.statistic.StatisticQueryService.QueryKey;
+import net.tourbook.statistic.StatisticQueryService.QueryRows;
 import net.tourbook.ui.AppFilter;
 import net.tourbook.ui.TourTypeFilter;
 
@@ -58,359 +58,19 @@ class DataProvider_Tour_Month extends DataProvider {
       // reset cached values
       statistic_RawStatisticValues = null;
 
-      String sql = null;
-      int numUsedTourTypes = 0;
-
-      try (Connection conn = TourDatabase.getInstance().getConnection()) {
-
-         statistic_ActivePerson = person;
-         statistic_ActiveTourTypeFilter = tourTypeFilter;
-         statistic_LastYear = lastYear;
-         statistic_NumberOfYears = numYears;
-
-         // get the tour types
-         final ArrayList<TourType> allTourTypesList = TourDatabase.getActiveTourTypes();
-         final TourType[] allTourTypes = allTourTypesList.toArray(new TourType[allTourTypesList.size()]);
-
-         _tourMonthData = new TourStatisticData_Month();
-
-         final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
-
-         sql = NL +
-
-               "SELECT" + NL //                                               //$NON-NLS-1$
-
-               + "   StartYear," + NL //                                   1  //$NON-NLS-1$
-               + "   StartMonth," + NL //                                  2  //$NON-NLS-1$
-
-               + "   TourType_TypeId," + NL //                             3  //$NON-NLS-1$
-
-               + "   SUM(TourDeviceTime_Elapsed)," + NL //                 4  //$NON-NLS-1$
-               + "   SUM(TourDeviceTime_Recorded)," + NL //                5  //$NON-NLS-1$
-               + "   SUM(TourDeviceTime_Paused)," + NL //                  6  //$NON-NLS-1$
-               + "   SUM(TourComputedTime_Moving)," + NL //                7  //$NON-NLS-1$
-               + "   " + createSQL_SumDurationTime(durationTime) + NL //   8  //$NON-NLS-1$
-
-               + "   SUM(TourDistance)," + NL //                           9  //$NON-NLS-1$
-               + "   SUM(TourAltUp)," + NL //                              10 //$NON-NLS-1$
-               + "   SUM(TourAltDown)," + NL //                            11 //$NON-NLS-1$
-
-               + "   SUM(1)," + NL //                                      12 //$NON-NLS-1$
-
-               + "   AVG( CASE WHEN BodyWeight = 0    THEN NULL ELSE BodyWeight END)," + NL //  13 //$NON-NLS-1$
-               + "   AVG( CASE WHEN BodyFat = 0       THEN NULL ELSE BodyFat END)" + NL //      14 //$NON-NLS-1$
-
-               + " FROM " + TourDatabase.TABLE_TOUR_DATA + NL //                             //$NON-NLS-1$
-
-               + " WHERE StartYear IN (" + getYearList(lastYear, numYears) + ")" + NL //     //$NON-NLS-1$ //$NON-NLS-2$
-
-               + appFilter.getWhereClause()
-
-               + "GROUP BY StartYear, StartMonth, tourType_typeId" + NL //   //$NON-NLS-1$
-               + "ORDER BY StartYear, StartMonth" + NL //                    //$NON-NLS-1$
-         ;
-
-         final boolean isShowMultipleTourTypes = tourTypeFilter.containsMultipleTourTypes();
-
-         int numTourTypes = allTourTypes.length;
-         numTourTypes = numTourTypes == 0 ? 1 : numTourTypes; // ensure that at least 1 is available
-
-         final int numMonths = 12 * numYears;
-
-         final float[][] dbDistance = new float[numTourTypes][numMonths];
-         final float[][] dbNumTours = new float[numTourTypes][numMonths];
-
-         final float[][] dbElevationUp = new float[numTourTypes][numMonths];
-         final float[][] dbElevationDown = new float[numTourTypes][numMonths];
-
-         final int[][] dbDurationTime = new int[numTourTypes][numMonths];
-         final int[][] dbElapsedTime = new int[numTourTypes][numMonths];
-         final int[][] dbRecordedTime = new int[numTourTypes][numMonths];
-         final int[][] dbPausedTime = new int[numTourTypes][numMonths];
-         final int[][] dbMovingTime = new int[numTourTypes][numMonths];
-         final int[][] dbBreakTime = new int[numTourTypes][numMonths];
-
-         final long[][] dbTypeIds = new long[numTourTypes][numMonths];
-         final long[] tourTypeSum = new long[numTourTypes];
-         final long[] usedTourTypeIds = new long[numTourTypes];
-
-         final float[] allDbBodyWeight = new float[numMonths];
-         final float[] allDbBodyFat = new float[numMonths];
-
-         /*
-          * Initialize tour types, when there are 0 tours for some years/months, a tour
-          * type 0 could be a valid tour type which is the default values for native arrays
-          * -> wrong tour type
-          */
-         Arrays.fill(usedTourTypeIds, TourType.TOUR_TYPE_IS_NOT_USED);
-         for (final long[] allTypeIds : dbTypeIds) {
-            Arrays.fill(allTypeIds, TourType.TOUR_TYPE_IS_NOT_USED);
-         }
-
-         final PreparedStatement prepStmt = conn.prepareStatement(sql);
-
-         int nextIndex = 1;
+      final TourStatisticData_Month loadedData = StatisticQueryService.getData(
 
-         nextIndex = appFilter.setParameters(prepStmt, nextIndex);
+            new QueryKey(TourStatisticData_Month.class, person, tourTypeFilter, lastYear, numYears, durationTime),
 
-         final ResultSet result = prepStmt.executeQuery();
+            () -> loadMonthData(tourTypeFilter, lastYear, numYears, durationTime));
 
-         while (result.next()) {
-
-// SET_FORMATTING_OFF
-
-            final int dbValue_Year                 = result.getInt(1);
-            final int dbValue_Month                = result.getInt(2);
-
-            final Long dbValue_TourTypeIdObject    = (Long) result.getObject(3);
-
-            final int dbValue_ElapsedTime          = result.getInt(4);
-            final int dbValue_RecordedTime         = result.getInt(5);
-            final int dbValue_PausedTime           = result.getInt(6);
-            final int dbValue_MovingTime           = result.getInt(7);
-            final int dbValue_Duration             = result.getInt(8);
-
-            final long dbValue_Distance            = (long) (result.getInt(9) / UI.UNIT_VALUE_DISTANCE);
-
-            final long dbValue_ElevationUp         = (long) (result.getInt(10) / UI.UNIT_VALUE_ELEVATION);
-            final long dbValue_ElevationDown       = (long) (result.getInt(11) / UI.UNIT_VALUE_ELEVATION);
-
-            final int dbValue_NumTours             = result.getInt(12);
-
-            final float dbValue_BodyWeight         = result.getFloat(13) * UI.UNIT_VALUE_WEIGHT;
-            final float dbValue_BodyFat            = result.getFloat(14);
-
-// SET_FORMATTING_ON
-
-            final int yearIndex = numYears - (lastYear - dbValue_Year + 1);
-            final int monthIndex = (dbValue_Month - 1) + yearIndex * 12;
-
-            /*
-             * Convert type id to the type index in the tour types list which is also the color
-             * index
-             */
-            int colorIndex = 0;
-
-            if (dbValue_TourTypeIdObject != null) {
-               final long dbTypeId = dbValue_TourTypeIdObject;
-               for (int typeIndex = 0; typeIndex < numTourTypes; typeIndex++) {
-                  if (dbTypeId == allTourTypes[typeIndex].getTypeId()) {
-                     colorIndex = typeIndex;
-                     break;
-                  }
-               }
-            }
-
-            final long noTourTypeId = isShowMultipleTourTypes
-                  ? TourType.TOUR_TYPE_IS_NOT_DEFINED_IN_TOUR_DATA
-                  : TourType.TOUR_TYPE_IS_NOT_USED;
-
-            final long typeId = dbValue_TourTypeIdObject == null
-                  ? noTourTypeId
-                  : dbValue_TourTypeIdObject;
-
-            dbTypeIds[colorIndex][monthIndex] = typeId;
-            usedTourTypeIds[colorIndex] = typeId;
-
-            dbDistance[colorIndex][monthIndex] = dbValue_Distance;
-            dbDurationTime[colorIndex][monthIndex] = dbValue_Duration;
-
-            dbElevationUp[colorIndex][monthIndex] = dbValue_ElevationUp;
-            dbElevationDown[colorIndex][monthIndex] = dbValue_ElevationDown;
-
-            dbElapsedTime[colorIndex][monthIndex] = dbValue_ElapsedTime;
-            dbRecordedTime[colorIndex][monthIndex] = dbValue_RecordedTime;
-            dbPausedTime[colorIndex][monthIndex] = dbValue_PausedTime;
-            dbMovingTime[colorIndex][monthIndex] = dbValue_MovingTime;
-            dbBreakTime[colorIndex][monthIndex] = dbValue_ElapsedTime - dbValue_MovingTime;
-
-            dbNumTours[colorIndex][monthIndex] = dbValue_NumTours;
-
-            if (dbValue_BodyWeight > 0) {
-               allDbBodyWeight[monthIndex] = dbValue_BodyWeight;
-            }
-            if (dbValue_BodyFat > 0) {
-               allDbBodyFat[monthIndex] = dbValue_BodyFat;
-            }
-
-            tourTypeSum[colorIndex] += dbValue_Distance + dbValue_ElevationUp + dbValue_ElapsedTime;
-
-            if (UI.IS_SCRAMBLE_DATA) {
-
-// SET_FORMATTING_OFF
+      // keep the query parameters only when the data are loaded, otherwise the failed query is not run again
+      statistic_ActivePerson = person;
+      statistic_ActiveTourTypeFilter = tourTypeFilter;
+      statistic_LastYear = lastYear;
+      statistic_NumberOfYears = numYears;
 
-               dbDistance[colorIndex][monthIndex]        = UI.scrambleNumbers(dbDistance[colorIndex][monthIndex]);
-               dbDurationTime[colorIndex][monthIndex]    = UI.scrambleNumbers(dbDurationTime[colorIndex][monthIndex]);
-
-               dbElevationUp[colorIndex][monthIndex]     = UI.scrambleNumbers(dbElevationUp[colorIndex][monthIndex]);
-               dbElevationDown[colorIndex][monthIndex]   = UI.scrambleNumbers(dbElevationDown[colorIndex][monthIndex]);
-
-               dbElapsedTime[colorIndex][monthIndex]     = UI.scrambleNumbers(dbElapsedTime[colorIndex][monthIndex]);
-               dbRecordedTime[colorIndex][monthIndex]    = UI.scrambleNumbers(dbRecordedTime[colorIndex][monthIndex]);
-               dbPausedTime[colorIndex][monthIndex]      = UI.scrambleNumbers(dbPausedTime[colorIndex][monthIndex]);
-               dbMovingTime[colorIndex][monthIndex]      = UI.scrambleNumbers(dbMovingTime[colorIndex][monthIndex]);
-               dbBreakTime[colorIndex][monthIndex]       = UI.scrambleNumbers(dbBreakTime[colorIndex][monthIndex]);
-
-               dbNumTours[colorIndex][monthIndex]        = UI.scrambleNumbers(dbNumTours[colorIndex][monthIndex]);
-
-               allDbBodyWeight[monthIndex]               = UI.scrambleNumbers(allDbBodyWeight[monthIndex]);
-               allDbBodyFat[monthIndex]                  = UI.scrambleNumbers(allDbBodyFat[monthIndex]);
-
-               tourTypeSum[colorIndex]                  += UI.scrambleNumbers(dbValue_Distance + dbValue_ElevationUp + dbValue_ElapsedTime);
-
-// SET_FORMATTING_ON
-            }
-         }
-
-         /*
-          * Remove not used tour types
-          */
-         final ArrayList<Object> typeIdsWithData = new ArrayList<>();
-
-         final ArrayList<Object> distance_WithData = new ArrayList<>();
-         final ArrayList<Object> duration_WithData = new ArrayList<>();
-         final ArrayList<Object> numTours_WithData = new ArrayList<>();
-
-         final ArrayList<Object> elevationUp_WithData = new ArrayList<>();
-         final ArrayList<Object> elevationDown_WithData = new ArrayList<>();
-
-         final ArrayList<Object> elapsedTime_WithData = new ArrayList<>();
-         final ArrayList<Object> recordedTime_WithData = new ArrayList<>();
-         final ArrayList<Object> pausedTime_WithData = new ArrayList<>();
-         final ArrayList<Object> movingTime_WithData = new ArrayList<>();
-         final ArrayList<Object> breakTime_WithData = new ArrayList<>();
-
-         for (int tourTypeIndex = 0; tourTypeIndex < tourTypeSum.length; tourTypeIndex++) {
-
-            final long summary = tourTypeSum[tourTypeIndex];
-
-            if (summary > 0) {
-
-               typeIdsWithData.add(dbTypeIds[tourTypeIndex]);
-
-               distance_WithData.add(dbDistance[tourTypeIndex]);
-               duration_WithData.add(dbDurationTime[tourTypeIndex]);
-               numTours_WithData.add(dbNumTours[tourTypeIndex]);
-
-               elevationUp_WithData.add(dbElevationUp[tourTypeIndex]);
-               elevationDown_WithData.add(dbElevationDown[tourTypeIndex]);
-
-               elapsedTime_WithData.add(dbElapsedTime[tourTypeIndex]);
-               recordedTime_WithData.add(dbRecordedTime[tourTypeIndex]);
-               pausedTime_WithData.add(dbPausedTime[tourTypeIndex]);
-               movingTime_WithData.add(dbMovingTime[tourTypeIndex]);
-               breakTime_WithData.add(dbBreakTime[tourTypeIndex]);
-            }
-         }
-
-         /*
-          * Create statistic data
-          */
-         numUsedTourTypes = typeIdsWithData.size();
-
-         if (numUsedTourTypes == 0) {
-
-            // there are NO data -> create dummy data that the UI do not fail
-
-            _tourMonthData.typeIds = new long[1][1];
-            _tourMonthData.usedTourTypeIds = new long[] { TourType.TOUR_TYPE_IS_NOT_USED };
-
-            _tourMonthData.elevationUp_Low = new float[1][numMonths];
-            _tourMonthData.elevationUp_High = new float[1][numMonths];
-            _tourMonthData.elevationDown_Low = new float[1][numMonths];
-            _tourMonthData.elevationDown_High = new float[1][numMonths];
-
-            _tourMonthData.distance_Low = new float[1][numMonths];
-            _tourMonthData.distance_High = new float[1][numMonths];
-
-            _tourMonthData.setDurationTimeLow(new int[1][numMonths]);
-            _tourMonthData.setDurationTimeHigh(new int[1][numMonths]);
-
-            _tourMonthData.elapsedTime = new int[1][numMonths];
-            _tourMonthData.recordedTime = new int[1][numMonths];
-            _tourMonthData.pausedTime = new int[1][numMonths];
-            _tourMonthData.movingTime = new int[1][numMonths];
-            _tourMonthData.breakTime = new int[1][numMonths];
-
-            _tourMonthData.numTours_Low = new float[1][numMonths];
-            _tourMonthData.numTours_High = new float[1][numMonths];
-
-            _tourMonthData.athleteBodyWeight_Low = new float[numMonths];
-            _tourMonthData.athleteBodyWeight_High = new float[numMonths];
-            _tourMonthData.athleteBodyFat_Low = new float[numMonths];
-            _tourMonthData.athleteBodyFat_High = new float[numMonths];
-
-         } else {
-
-            final long[][] usedTypeIds = new long[numUsedTourTypes][];
-
-            final float[][] usedDistance = new float[numUsedTourTypes][];
-
-            final float[][] usedElevationUp = new float[numUsedTourTypes][];
-            final float[][] usedElevationDown = new float[numUsedTourTypes][];
-
-            final float[][] usedNumTours = new float[numUsedTourTypes][];
-
-            final int[][] usedDuration = new int[numUsedTourTypes][];
-            final int[][] usedElapsedTime = new int[numUsedTourTypes][];
-            final int[][] usedRecordedTime = new int[numUsedTourTypes][];
-            final int[][] usedPausedTime = new int[numUsedTourTypes][];
-            final int[][] usedMovingTime = new int[numUsedTourTypes][];
-            final int[][] usedBreakTime = new int[numUsedTourTypes][];
-
-            for (int index = 0; index < numUsedTourTypes; index++) {
-
-               usedTypeIds[index] = (long[]) typeIdsWithData.get(index);
-
-               usedDistance[index] = (float[]) distance_WithData.get(index);
-
-               usedElevationUp[index] = (float[]) elevationUp_WithData.get(index);
-               usedElevationDown[index] = (float[]) elevationDown_WithData.get(index);
-
-               usedDuration[index] = (int[]) duration_WithData.get(index);
-               usedElapsedTime[index] = (int[]) elapsedTime_WithData.get(index);
-               usedRecordedTime[index] = (int[]) recordedTime_WithData.get(index);
-               usedPausedTime[index] = (int[]) pausedTime_WithData.get(index);
-               usedMovingTime[index] = (int[]) movingTime_WithData.get(index);
-               usedBreakTime[index] = (int[]) breakTime_WithData.get(index);
-
-               usedNumTours[index] = (float[]) numTours_WithData.get(index);
-            }
-
-            _tourMonthData.typeIds = usedTypeIds;
-            _tourMonthData.usedTourTypeIds = usedTourTypeIds;
-
-            _tourMonthData.elevationUp_Low = new float[numUsedTourTypes][numMonths];
-            _tourMonthData.elevationUp_High = usedElevationUp;
-            _tourMonthData.elevationDown_Low = new float[numUsedTourTypes][numMonths];
-            _tourMonthData.elevationDown_High = usedElevationDown;
-
-            _tourMonthData.distance_Low = new float[numUsedTourTypes][numMonths];
-            _tourMonthData.distance_High = usedDistance;
-
-            _tourMonthData.setDurationTimeLow(new int[numUsedTourTypes][numMonths]);
-            _tourMonthData.setDurationTimeHigh(usedDuration);
-
-            _tourMonthData.elapsedTime = usedElapsedTime;
-            _tourMonthData.recordedTime = usedRecordedTime;
-            _tourMonthData.pausedTime = usedPausedTime;
-            _tourMonthData.movingTime = usedMovingTime;
-            _tourMonthData.breakTime = usedBreakTime;
-
-            _tourMonthData.numTours_Low = new float[numUsedTourTypes][numMonths];
-            _tourMonthData.numTours_High = usedNumTours;
-
-            _tourMonthData.athleteBodyWeight_Low = new float[numMonths];
-            _tourMonthData.athleteBodyWeight_High = allDbBodyWeight;
-            _tourMonthData.athleteBodyFat_Low = new float[numMonths];
-            _tourMonthData.athleteBodyFat_High = allDbBodyFat;
-         }
-
-      } catch (final SQLException e) {
-         SQL.showException(e, sql);
-      }
-
-      _tourMonthData.numUsedTourTypes = numUsedTourTypes;
+      _tourMonthData = loadedData;
 
       return _tourMonthData;
    }
@@ -597,4 +257,348 @@ class DataProvider_Tour_Month extends DataProvider {
       return statistic_RawStatisticValues;
    }
 
+   private TourStatisticData_Month loadMonthData(final TourTypeFilter tourTypeFilter,
+                                                 final int lastYear,
+                                                 final int numYears,
+                                                 final DurationTime durationTime) {
+
+      int numUsedTourTypes = 0;
+
+      // get the tour types
+      final ArrayList<TourType> allTourTypesList = TourDatabase.getActiveTourTypes();
+      final TourType[] allTourTypes = allTourTypesList.toArray(new TourType[allTourTypesList.size()]);
+
+      final TourStatisticData_Month monthData = new TourStatisticData_Month();
+
+      final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
+
+      // tours which are filtered only by person and tour type are summarized from the aggregates
+      final boolean isAggregated = TourStatisticAggregate.isAvailable(appFilter);
+
+      final Function<String, String> sqlCreator = yearList -> NL +
+
+            "SELECT" + NL //                                               //$NON-NLS-1$
+
+            + "   StartYear," + NL //                                   1  //$NON-NLS-1$
+            + "   StartMonth," + NL //                                  2  //$NON-NLS-1$
+
+            + "   TourType_TypeId," + NL //                             3  //$NON-NLS-1$
+
+            + "   SUM(TourDeviceTime_Elapsed)," + NL //                 4  //$NON-NLS-1$
+            + "   SUM(TourDeviceTime_Recorded)," + NL //                5  //$NON-NLS-1$
+            + "   SUM(TourDeviceTime_Paused)," + NL //                  6  //$NON-NLS-1$
+            + "   SUM(TourComputedTime_Moving)," + NL //                7  //$NON-NLS-1$
+            + "   " + createSQL_SumDurationTime(durationTime, isAggregated) + NL //  8  //$NON-NLS-1$
+
+            + "   SUM(TourDistance)," + NL //                           9  //$NON-NLS-1$
+            + "   SUM(TourAltUp)," + NL //                              10 //$NON-NLS-1$
+            + "   SUM(TourAltDown)," + NL //                            11 //$NON-NLS-1$
+
+            + "   " + createSQL_SumNumTours(isAggregated) + NL //  12 //$NON-NLS-1$
+            + createSQL_AvgBodyValues(isAggregated) //                       13, 14
+
+            + " FROM " + createSQL_FromTourValues(isAggregated) + NL //              //$NON-NLS-1$
+
+            + " WHERE StartYear IN (" + yearList + ")" + NL //     //$NON-NLS-1$ //$NON-NLS-2$
+
+            + appFilter.getWhereClause()
+
+            + "GROUP BY StartYear, StartMonth, tourType_typeId" + NL //   //$NON-NLS-1$
+            + "ORDER BY StartYear, StartMonth" + NL //                    //$NON-NLS-1$
+      ;
+
+      final boolean isShowMultipleTourTypes = tourTypeFilter.containsMultipleTourTypes();
+
+      int numTourTypes = allTourTypes.length;
+      numTourTypes = numTourTypes == 0 ? 1 : numTourTypes; // ensure that at least 1 is available
+
+      final int numMonths = 12 * numYears;
+
+      final float[][] dbDistance = new float[numTourTypes][numMonths];
+      final float[][] dbNumTours = new float[numTourTypes][numMonths];
+
+      final float[][] dbElevationUp = new float[numTourTypes][numMonths];
+      final float[][] dbElevationDown = new float[numTourTypes][numMonths];
+
+      final int[][] dbDurationTime = new int[numTourTypes][numMonths];
+      final int[][] dbElapsedTime = new int[numTourTypes][numMonths];
+      final int[][] dbRecordedTime = new int[numTourTypes][numMonths];
+      final int[][] dbPausedTime = new int[numTourTypes][numMonths];
+      final int[][] dbMovingTime = new int[numTourTypes][numMonths];
+      final int[][] dbBreakTime = new int[numTourTypes][numMonths];
+
+      final long[][] dbTypeIds = new long[numTourTypes][numMonths];
+      final long[] tourTypeSum = new long[numTourTypes];
+      final long[] usedTourTypeIds = new long[numTourTypes];
+
+      final float[] allDbBodyWeight = new float[numMonths];
+      final float[] allDbBodyFat = new float[numMonths];
+
+      /*
+       * Initialize tour types, when there are 0 tours for some years/months, a tour
+       * type 0 could be a valid tour type which is the default values for native arrays
+       * -> wrong tour type
+       */
+      Arrays.fill(usedTourTypeIds, TourType.TOUR_TYPE_IS_NOT_USED);
+      for (final long[] allTypeIds : dbTypeIds) {
+         Arrays.fill(allTypeIds, TourType.TOUR_TYPE_IS_NOT_USED);
+      }
+
+      final QueryRows result = StatisticQueryService.loadRows(getClass().getSimpleName(), lastYear, numYears, sqlCreator, appFilter);
+
+      while (result.next()) {
+
+// SET_FORMATTING_OFF
+
+         final int dbValue_Year                 = result.getInt(1);
+         final int dbValue_Month                = result.getInt(2);
+
+         final Long dbValue_TourTypeIdObject    = (Long) result.getObject(3);
+
+         final int dbValue_ElapsedTime          = result.getInt(4);
+         final int dbValue_RecordedTime         = result.getInt(5);
+         final int dbValue_PausedTime           = result.getInt(6);
+         final int dbValue_MovingTime           = result.getInt(7);
+         final int dbValue_Duration             = result.getInt(8);
+
+         final long dbValue_Distance            = (long) (result.getInt(9) / UI.UNIT_VALUE_DISTANCE);
+
+         final long dbValue_ElevationUp         = (long) (result.getInt(10) / UI.UNIT_VALUE_ELEVATION);
+         final long dbValue_ElevationDown       = (long) (result.getInt(11) / UI.UNIT_VALUE_ELEVATION);
+
+         final int dbValue_NumTours             = result.getInt(12);
+
+         final float dbValue_BodyWeight         = result.getFloat(13) * UI.UNIT_VALUE_WEIGHT;
+         final float dbValue_BodyFat            = result.getFloat(14);
+
+// SET_FORMATTING_ON
+
+         final int yearIndex = numYears - (lastYear - dbValue_Year + 1);
+         final int monthIndex = (dbValue_Month - 1) + yearIndex * 12;
+
+         /*
+          * Convert type id to the type index in the tour types list which is also the color
+          * index
+          */
+         int colorIndex = 0;
+
+         if (dbValue_TourTypeIdObject != null) {
+            final long dbTypeId = dbValue_TourTypeIdObject;
+            for (int typeIndex = 0; typeIndex < numTourTypes; typeIndex++) {
+               if (dbTypeId == allTourTypes[typeIndex].getTypeId()) {
+                  colorIndex = typeIndex;
+                  break;
+               }
+            }
+         }
+
+         final long noTourTypeId = isShowMultipleTourTypes
+               ? TourType.TOUR_TYPE_IS_NOT_DEFINED_IN_TOUR_DATA
+               : TourType.TOUR_TYPE_IS_NOT_USED;
+
+         final long typeId = dbValue_TourTypeIdObject == null
+               ? noTourTypeId
+               : dbValue_TourTypeIdObject;
+
+         dbTypeIds[colorIndex][monthIndex] = typeId;
+         usedTourTypeIds[colorIndex] = typeId;
+
+         dbDistance[colorIndex][monthIndex] = dbValue_Distance;
+         dbDurationTime[colorIndex][monthIndex] = dbValue_Duration;
+
+         dbElevationUp[colorIndex][monthIndex] = dbValue_ElevationUp;
+         dbElevationDown[colorIndex][monthIndex] = dbValue_ElevationDown;
+
+         dbElapsedTime[colorIndex][monthIndex] = dbValue_ElapsedTime;
+         dbRecordedTime[colorIndex][monthIndex] = dbValue_RecordedTime;
+         dbPausedTime[colorIndex][monthIndex] = dbValue_PausedTime;
+         dbMovingTime[colorIndex][monthIndex] = dbValue_MovingTime;
+         dbBreakTime[colorIndex][monthIndex] = dbValue_ElapsedTime - dbValue_MovingTime;
+
+         dbNumTours[colorIndex][monthIndex] = dbValue_NumTours;
+
+         if (dbValue_BodyWeight > 0) {
+            allDbBodyWeight[monthIndex] = dbValue_BodyWeight;
+         }
+         if (dbValue_BodyFat > 0) {
+            allDbBodyFat[monthIndex] = dbValue_BodyFat;
+         }
+
+         tourTypeSum[colorIndex] += dbValue_Distance + dbValue_ElevationUp + dbValue_ElapsedTime;
+
+         if (UI.IS_SCRAMBLE_DATA) {
+
+// SET_FORMATTING_OFF
+
+            dbDistance[colorIndex][monthIndex]        = UI.scrambleNumbers(dbDistance[colorIndex][monthIndex]);
+            dbDurationTime[colorIndex][monthIndex]    = UI.scrambleNumbers(dbDurationTime[colorIndex][monthIndex]);
+
+            dbElevationUp[colorIndex][monthIndex]     = UI.scrambleNumbers(dbElevationUp[colorIndex][monthIndex]);
+            dbElevationDown[colorIndex][monthIndex]   = UI.scrambleNumbers(dbElevationDown[colorIndex][monthIndex]);
+
+            dbElapsedTime[colorIndex][monthIndex]     = UI.scrambleNumbers(dbElapsedTime[colorIndex][monthIndex]);
+            dbRecordedTime[colorIndex][monthIndex]    = UI.scrambleNumbers(dbRecordedTime[colorIndex][monthIndex]);
+            dbPausedTime[colorIndex][monthIndex]      = UI.scrambleNumbers(dbPausedTime[colorIndex][monthIndex]);
+            dbMovingTime[colorIndex][monthIndex]      = UI.scrambleNumbers(dbMovingTime[colorIndex][monthIndex]);
+            dbBreakTime[colorIndex][monthIndex]       = UI.scrambleNumbers(dbBreakTime[colorIndex][monthIndex]);
+
+            dbNumTours[colorIndex][monthIndex]        = UI.scrambleNumbers(dbNumTours[colorIndex][monthIndex]);
+
+            allDbBodyWeight[monthIndex]               = UI.scrambleNumbers(allDbBodyWeight[monthIndex]);
+            allDbBodyFat[monthIndex]                  = UI.scrambleNumbers(allDbBodyFat[monthIndex]);
+
+            tourTypeSum[colorIndex]                  += UI.scrambleNumbers(dbValue_Distance + dbValue_ElevationUp + dbValue_ElapsedTime);
+
+// SET_FORMATTING_ON
+         }
+      }
+
+      /*
+       * Remove not used tour types
+       */
+      final ArrayList<Object> typeIdsWithData = new ArrayList<>();
+
+      final ArrayList<Object> distance_WithData = new ArrayList<>();
+      final ArrayList<Object> duration_WithData = new ArrayList<>();
+      final ArrayList<Object> numTours_WithData = new ArrayList<>();
+
+      final ArrayList<Object> elevationUp_WithData = new ArrayList<>();
+      final ArrayList<Object> elevationDown_WithData = new ArrayList<>();
+
+      final ArrayList<Object> elapsedTime_WithData = new ArrayList<>();
+      final ArrayList<Object> recordedTime_WithData = new ArrayList<>();
+      final ArrayList<Object> pausedTime_WithData = new ArrayList<>();
+      final ArrayList<Object> movingTime_WithData = new ArrayList<>();
+      final ArrayList<Object> breakTime_WithData = new ArrayList<>();
+
+      for (int tourTypeIndex = 0; tourTypeIndex < tourTypeSum.length; tourTypeIndex++) {
+
+         final long summary = tourTypeSum[tourTypeIndex];
+
+         if (summary > 0) {
+
+            typeIdsWithData.add(dbTypeIds[tourTypeIndex]);
+
+            distance_WithData.add(dbDistance[tourTypeIndex]);
+            duration_WithData.add(dbDurationTime[tourTypeIndex]);
+            numTours_WithData.add(dbNumTours[tourTypeIndex]);
+
+            elevationUp_WithData.add(dbElevationUp[tourTypeIndex]);
+            elevationDown_WithData.add(dbElevationDown[tourTypeIndex]);
+
+            elapsedTime_WithData.add(dbElapsedTime[tourTypeIndex]);
+            recordedTime_WithData.add(dbRecordedTime[tourTypeIndex]);
+            pausedTime_WithData.add(dbPausedTime[tourTypeIndex]);
+            movingTime_WithData.add(dbMovingTime[tourTypeIndex]);
+            breakTime_WithData.add(dbBreakTime[tourTypeIndex]);
+         }
+      }
+
+      /*
+       * Create statistic data
+       */
+      numUsedTourTypes = typeIdsWithData.size();
+
+      if (numUsedTourTypes == 0) {
+
+         // there are NO data -> create dummy data that the UI do not fail
+
+         monthData.typeIds = new long[1][1];
+         monthData.usedTourTypeIds = new long[] { TourType.TOUR_TYPE_IS_NOT_USED };
+
+         monthData.elevationUp_Low = new float[1][numMonths];
+         monthData.elevationUp_High = new float[1][numMonths];
+         monthData.elevationDown_Low = new float[1][numMonths];
+         monthData.elevationDown_High = new float[1][numMonths];
+
+         monthData.distance_Low = new float[1][numMonths];
+         monthData.distance_High = new float[1][numMonths];
+
+         monthData.setDurationTimeLow(new int[1][numMonths]);
+         monthData.setDurationTimeHigh(new int[1][numMonths]);
+
+         monthData.elapsedTime = new int[1][numMonths];
+         monthData.recordedTime = new int[1][numMonths];
+         monthData.pausedTime = new int[1][numMonths];
+         monthData.movingTime = new int[1][numMonths];
+         monthData.breakTime = new int[1][numMonths];
+
+         monthData.numTours_Low = new float[1][numMonths];
+         monthData.numTours_High = new float[1][numMonths];
+
+         monthData.athleteBodyWeight_Low = new float[numMonths];
+         monthData.athleteBodyWeight_High = new float[numMonths];
+         monthData.athleteBodyFat_Low = new float[numMonths];
+         monthData.athleteBodyFat_High = new float[numMonths];
+
+      } else {
+
+         final long[][] usedTypeIds = new long[numUsedTourTypes][];
+
+         final float[][] usedDistance = new float[numUsedTourTypes][];
+
+         final float[][] usedElevationUp = new float[numUsedTourTypes][];
+         final float[][] usedElevationDown = new float[numUsedTourTypes][];
+
+         final float[][] usedNumTours = new float[numUsedTourTypes][];
+
+         final int[][] usedDuration = new int[numUsedTourTypes][];
+         final int[][] usedElapsedTime = new int[numUsedTourTypes][];
+         final int[][] usedRecordedTime = new int[numUsedTourTypes][];
+         final int[][] usedPausedTime = new int[numUsedTourTypes][];
+         final int[][] usedMovingTime = new int[numUsedTourTypes][];
+         final int[][] usedBreakTime = new int[numUsedTourTypes][];
+
+         for (int index = 0; index < numUsedTourTypes; index++) {
+
+            usedTypeIds[index] = (long[]) typeIdsWithData.get(index);
+
+            usedDistance[index] = (float[]) distance_WithData.get(index);
+
+            usedElevationUp[index] = (float[]) elevationUp_WithData.get(index);
+            usedElevationDown[index] = (float[]) elevationDown_WithData.get(index);
+
+            usedDuration[index] = (int[]) duration_WithData.get(index);
+            usedElapsedTime[index] = (int[]) elapsedTime_WithData.get(index);
+            usedRecordedTime[index] = (int[]) recordedTime_WithData.get(index);
+            usedPausedTime[index] = (int[]) pausedTime_WithData.get(index);
+            usedMovingTime[index] = (int[]) movingTime_WithData.get(index);
+            usedBreakTime[index] = (int[]) breakTime_WithData.get(index);
+
+            usedNumTours[index] = (float[]) numTours_WithData.get(index);
+         }
+
+         monthData.typeIds = usedTypeIds;
+         monthData.usedTourTypeIds = usedTourTypeIds;
+
+         monthData.elevationUp_Low = new float[numUsedTourTypes][numMonths];
+         monthData.elevationUp_High = usedElevationUp;
+         monthData.elevationDown_Low = new float[numUsedTourTypes][numMonths];
+         monthData.elevationDown_High = usedElevationDown;
+
+         monthData.distance_Low = new float[numUsedTourTypes][numMonths];
+         monthData.distance_High = usedDistance;
+
+         monthData.setDurationTimeLow(new int[numUsedTourTypes][numMonths]);
+         monthData.setDurationTimeHigh(usedDuration);
+
+         monthData.elapsedTime = usedElapsedTime;
+         monthData.recordedTime = usedRecordedTime;
+         monthData.pausedTime = usedPausedTime;
+         monthData.movingTime = usedMovingTime;
+         monthData.breakTime = usedBreakTime;
+
+         monthData.numTours_Low = new float[numUsedTourTypes][numMonths];
+         monthData.numTours_High = usedNumTours;
+
+         monthData.athleteBodyWeight_Low = new float[numMonths];
+         monthData.athleteBodyWeight_High = allDbBodyWeight;
+         monthData.athleteBodyFat_Low = new float[numMonths];
+         monthData.athleteBodyFat_High = allDbBodyFat;
+      }
+
+      monthData.numUsedTourTypes = numUsedTourTypes;
+
+      return monthData;
+   }
 }
@@ -15,24 +15,24 @@
  *******************************************************************************/
 package net.tourbook.statistics.graphs;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.temporal.TemporalField;
 import java.time.temporal.WeekFields;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.function.Function;
 
 import net.tourbook.Messages;
 import net.tourbook.common.UI;
 import net.tourbook.common.time.TimeTools;
-import net.tourbook.common.util.SQL;
 import net.tourbook.data.TourPerson;
 import net.tourbook.data.TourType;
 import net.tourbook.database.TourDatabase;
+import net.tourbook.database.TourStatisticAggregate;
 import net.tourbook.statistic.DurationTime;
+import net.tourbook.statistic.StatisticQueryService;
+import net.tourbook.statistic.StatisticQueryService.QueryKey;
+import net.tourbook.statistic.StatisticQueryService.QueryRows;
 import net.tourbook.ui.AppFilter;
 import net.tourbook.ui.TourTypeFilter;
 
@@ -301,242 +301,256 @@ class DataProvider_Tour_Week extends DataProvider {
       // reset cached values
       statistic_RawStatisticValues = null;
 
-      String sql = null;
+      setupYearNumbers(lastYear, numberOfYears);
 
-      try (Connection conn = TourDatabase.getInstance().getConnection()) {
+      final TourStatisticData_Week loadedData;
 
-         statistic_ActivePerson = person;
-         statistic_ActiveTourTypeFilter = tourTypeFilter;
+      try {
 
-         statistic_LastYear = lastYear;
-         statistic_NumberOfYears = numberOfYears;
+         loadedData = StatisticQueryService.getData(
 
+               new QueryKey(TourStatisticData_Week.class, person, tourTypeFilter, lastYear, numberOfYears, durationTime),
+
+               () -> loadWeekData(lastYear, numberOfYears, durationTime));
+
+      } catch (final RuntimeException e) {
+
+         // restore the years of the previously loaded data
          setupYearNumbers();
 
-         _tourWeekData = new TourStatisticData_Week();
+         throw e;
+      }
 
-         // get the tour types
-         final ArrayList<TourType> allActiveTourTypesList = TourDatabase.getActiveTourTypes();
-         final TourType[] allActiveTourTypes = allActiveTourTypesList.toArray(new TourType[allActiveTourTypesList.size()]);
+      // keep the query parameters only when the data are loaded, otherwise the failed query is not run again
+      statistic_ActivePerson = person;
+      statistic_ActiveTourTypeFilter = tourTypeFilter;
+      statistic_LastYear = lastYear;
+      statistic_NumberOfYears = numberOfYears;
 
-         int numAllWeeks = 0;
-         for (final int weeks : allYear_NumWeeks) {
-            numAllWeeks += weeks;
-         }
+      _tourWeekData = loadedData;
 
-         int numTourTypes = allActiveTourTypes.length;
-         numTourTypes = numTourTypes == 0 ? 1 : numTourTypes; // ensure that at least 1 is available
+      return _tourWeekData;
+   }
 
-         final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
+   private TourStatisticData_Week loadWeekData(final int lastYear,
+                                               final int numberOfYears,
+                                               final DurationTime durationTime) {
 
-         sql = UI.EMPTY_STRING
+      final TourStatisticData_Week weekData = new TourStatisticData_Week();
 
-               + "SELECT" + NL //                                                //$NON-NLS-1$
+      // get the tour types
+      final ArrayList<TourType> allActiveTourTypesList = TourDatabase.getActiveTourTypes();
+      final TourType[] allActiveTourTypes = allActiveTourTypesList.toArray(new TourType[allActiveTourTypesList.size()]);
 
-               + "   StartWeekYear," + NL //                                  1  //$NON-NLS-1$
-               + "   StartWeek," + NL //                                      2  //$NON-NLS-1$
+      int numAllWeeks = 0;
+      for (final int weeks : allYear_NumWeeks) {
+         numAllWeeks += weeks;
+      }
 
-               + "   TourType_TypeId," + NL //                                3  //$NON-NLS-1$
+      int numTourTypes = allActiveTourTypes.length;
+      numTourTypes = numTourTypes == 0 ? 1 : numTourTypes; // ensure that at least 1 is available
 
-               + "   SUM(TourDeviceTime_Elapsed)," + NL //                    4  //$NON-NLS-1$
-               + "   SUM(TourDeviceTime_Recorded)," + NL //                   5  //$NON-NLS-1$
-               + "   SUM(TourDeviceTime_Paused)," + NL //                     6  //$NON-NLS-1$
-               + "   SUM(TourComputedTime_Moving)," + NL //                   7  //$NON-NLS-1$
-               + "   " + createSQL_SumDurationTime(durationTime) + NL //      8  //$NON-NLS-1$
+      final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
 
-               + "   SUM(TourDistance)," + NL //                              9  //$NON-NLS-1$
-               + "   SUM(TourAltUp)," + NL //                                 10 //$NON-NLS-1$
-               + "   SUM(TourAltDown)," + NL //                               11 //$NON-NLS-1$
+      // tours which are filtered only by person and tour type are summarized from the aggregates
+      final boolean isAggregated = TourStatisticAggregate.isAvailable(appFilter);
 
-               + "   SUM(1)," + NL //                                         12 //$NON-NLS-1$
+      final Function<String, String> sqlCreator = yearList -> UI.EMPTY_STRING
 
-               + "   AVG( CASE WHEN BodyWeight = 0    THEN NULL ELSE BodyWeight END)," + NL //  13 //$NON-NLS-1$
-               + "   AVG( CASE WHEN BodyFat = 0       THEN NULL ELSE BodyFat END)" + NL //      14 //$NON-NLS-1$
+            + "SELECT" + NL //                                                //$NON-NLS-1$
 
-               + "FROM " + TourDatabase.TABLE_TOUR_DATA + NL //                                       //$NON-NLS-1$
+            + "   StartWeekYear," + NL //                                  1  //$NON-NLS-1$
+            + "   StartWeek," + NL //                                      2  //$NON-NLS-1$
 
-               + "WHERE StartWeekYear IN (" + getYearList(lastYear, numberOfYears) + ")" + NL //      //$NON-NLS-1$ //$NON-NLS-2$
+            + "   TourType_TypeId," + NL //                                3  //$NON-NLS-1$
 
-               + appFilter.getWhereClause()
+            + "   SUM(TourDeviceTime_Elapsed)," + NL //                    4  //$NON-NLS-1$
+            + "   SUM(TourDeviceTime_Recorded)," + NL //                   5  //$NON-NLS-1$
+            + "   SUM(TourDeviceTime_Paused)," + NL //                     6  //$NON-NLS-1$
+            + "   SUM(TourComputedTime_Moving)," + NL //                   7  //$NON-NLS-1$
+            + "   " + createSQL_SumDurationTime(durationTime, isAggregated) + NL //  8  //$NON-NLS-1$
 
-               + "GROUP BY StartWeekYear, StartWeek, tourType_typeId" + NL //    //$NON-NLS-1$
-               + "ORDER BY StartWeekYear, StartWeek" + NL //                     //$NON-NLS-1$
-         ;
+            + "   SUM(TourDistance)," + NL //                              9  //$NON-NLS-1$
+            + "   SUM(TourAltUp)," + NL //                                 10 //$NON-NLS-1$
+            + "   SUM(TourAltDown)," + NL //                               11 //$NON-NLS-1$
 
-         final long[][] allDbTypeIds = new long[numTourTypes][numAllWeeks];
-         final long[] allUsedTourTypeIds = new long[numTourTypes];
+            + "   " + createSQL_SumNumTours(isAggregated) + NL //  12 //$NON-NLS-1$
+            + createSQL_AvgBodyValues(isAggregated) //                       13, 14
 
-         /*
-          * Initialize tour types, when there are 0 tours for some years/weeks, a tour
-          * type 0 could be a valid tour type which is the default values for native arrays
-          * -> wrong tour type
-          */
-         Arrays.fill(allUsedTourTypeIds, TourType.TOUR_TYPE_IS_NOT_USED);
+            + "FROM " + createSQL_FromTourValues(isAggregated) + NL //              //$NON-NLS-1$
 
-         final int[][] allDbDurationTime = new int[numTourTypes][numAllWeeks];
-         final int[][] allDbElapsedTime = new int[numTourTypes][numAllWeeks];
-         final int[][] allDbRecordedTime = new int[numTourTypes][numAllWeeks];
-         final int[][] allDbPausedTime = new int[numTourTypes][numAllWeeks];
-         final int[][] allDbMovingTime = new int[numTourTypes][numAllWeeks];
-         final int[][] allDbBreakTime = new int[numTourTypes][numAllWeeks];
+            + "WHERE StartWeekYear IN (" + yearList + ")" + NL //      //$NON-NLS-1$ //$NON-NLS-2$
 
-         final float[][] allDbDistance = new float[numTourTypes][numAllWeeks];
+            + appFilter.getWhereClause()
 
-         final float[][] allDbElevationUp = new float[numTourTypes][numAllWeeks];
-         final float[][] allDbElevationDown = new float[numTourTypes][numAllWeeks];
+            + "GROUP BY StartWeekYear, StartWeek, tourType_typeId" + NL //    //$NON-NLS-1$
+            + "ORDER BY StartWeekYear, StartWeek" + NL //                     //$NON-NLS-1$
+      ;
 
-         final float[][] allDbNumTours = new float[numTourTypes][numAllWeeks];
+      final long[][] allDbTypeIds = new long[numTourTypes][numAllWeeks];
+      final long[] allUsedTourTypeIds = new long[numTourTypes];
 
-         final float[] allDbBodyWeight = new float[numAllWeeks];
-         final float[] allDbBodyFat = new float[numAllWeeks];
+      /*
+       * Initialize tour types, when there are 0 tours for some years/weeks, a tour
+       * type 0 could be a valid tour type which is the default values for native arrays
+       * -> wrong tour type
+       */
+      Arrays.fill(allUsedTourTypeIds, TourType.TOUR_TYPE_IS_NOT_USED);
 
-         final PreparedStatement prepStmt = conn.prepareStatement(sql);
+      final int[][] allDbDurationTime = new int[numTourTypes][numAllWeeks];
+      final int[][] allDbElapsedTime = new int[numTourTypes][numAllWeeks];
+      final int[][] allDbRecordedTime = new int[numTourTypes][numAllWeeks];
+      final int[][] allDbPausedTime = new int[numTourTypes][numAllWeeks];
+      final int[][] allDbMovingTime = new int[numTourTypes][numAllWeeks];
+      final int[][] allDbBreakTime = new int[numTourTypes][numAllWeeks];
 
-         int nextIndex = 1;
+      final float[][] allDbDistance = new float[numTourTypes][numAllWeeks];
 
-         nextIndex = appFilter.setParameters(prepStmt, nextIndex);
+      final float[][] allDbElevationUp = new float[numTourTypes][numAllWeeks];
+      final float[][] allDbElevationDown = new float[numTourTypes][numAllWeeks];
 
-         final ResultSet result = prepStmt.executeQuery();
-         while (result.next()) {
+      final float[][] allDbNumTours = new float[numTourTypes][numAllWeeks];
 
-            final int dbValue_CW_Year = result.getInt(1);
-            final int dbValue_CW_Week = result.getInt(2);
+      final float[] allDbBodyWeight = new float[numAllWeeks];
+      final float[] allDbBodyFat = new float[numAllWeeks];
 
-            // get number of weeks for the current year in the db
-            final int dbYearIndex = numberOfYears - (lastYear - dbValue_CW_Year + 1);
-            int allWeeks = 0;
-            for (int yearIndex = 0; yearIndex <= dbYearIndex; yearIndex++) {
-               if (yearIndex > 0) {
-                  allWeeks += allYear_NumWeeks[yearIndex - 1];
-               }
+      final QueryRows result = StatisticQueryService.loadRows(getClass().getSimpleName(), lastYear, numberOfYears, sqlCreator, appFilter);
+      while (result.next()) {
+
+         final int dbValue_CW_Year = result.getInt(1);
+         final int dbValue_CW_Week = result.getInt(2);
+
+         // get number of weeks for the current year in the db
+         final int dbYearIndex = numberOfYears - (lastYear - dbValue_CW_Year + 1);
+         int allWeeks = 0;
+         for (int yearIndex = 0; yearIndex <= dbYearIndex; yearIndex++) {
+            if (yearIndex > 0) {
+               allWeeks += allYear_NumWeeks[yearIndex - 1];
             }
+         }
 
-            final int weekIndex = allWeeks + dbValue_CW_Week - 1;
+         final int weekIndex = allWeeks + dbValue_CW_Week - 1;
 
-            if (weekIndex < 0) {
+         if (weekIndex < 0) {
 
-               /**
-                * This can occur when dbWeek == 0, tour is in the previous year and not displayed
-                * in the week stats
-                */
+            /**
+             * This can occur when dbWeek == 0, tour is in the previous year and not displayed
+             * in the week stats
+             */
 
-               continue;
-            }
+            continue;
+         }
 
-            if (weekIndex >= numAllWeeks) {
-
-               /**
-                * This problem occurred but is not yet fully fixed, it needs more investigation.
-                * <p>
-                * Problem with this configuration</br>
-                * Statistic: Week summary</br>
-                * Tour type: Velo (3 bars)</br>
-                * Displayed years: 2013 + 2014
-                * <p>
-                * Problem occurred when selecting year 2015
-                */
-               continue;
-            }
+         if (weekIndex >= numAllWeeks) {
+
+            /**
+             * This problem occurred but is not yet fully fixed, it needs more investigation.
+             * <p>
+             * Problem with this configuration</br>
+             * Statistic: Week summary</br>
+             * Tour type: Velo (3 bars)</br>
+             * Displayed years: 2013 + 2014
+             * <p>
+             * Problem occurred when selecting year 2015
+             */
+            continue;
+         }
 
 // SET_FORMATTING_OFF
 
-            final Long dbValue_TypeIdObject     = (Long) result.getObject(3);
+         final Long dbValue_TypeIdObject     = (Long) result.getObject(3);
 
-            final int dbValue_ElapsedTime       = result.getInt(4);
-            final int dbValue_RecordedTime      = result.getInt(5);
-            final int dbValue_PausedTime        = result.getInt(6);
-            final int dbValue_MovingTime        = result.getInt(7);
+         final int dbValue_ElapsedTime       = result.getInt(4);
+         final int dbValue_RecordedTime      = result.getInt(5);
+         final int dbValue_PausedTime        = result.getInt(6);
+         final int dbValue_MovingTime        = result.getInt(7);
 
-            final int dbValue_DurationTime      = result.getInt(8);
+         final int dbValue_DurationTime      = result.getInt(8);
 
-            final int dbValue_Distance          = (int) (result.getInt(9) / UI.UNIT_VALUE_DISTANCE);
-            final int dbValue_ElevationUp       = (int) (result.getInt(10) / UI.UNIT_VALUE_ELEVATION);
-            final int dbValue_ElevationDown     = (int) (result.getInt(11) / UI.UNIT_VALUE_ELEVATION);
+         final int dbValue_Distance          = (int) (result.getInt(9) / UI.UNIT_VALUE_DISTANCE);
+         final int dbValue_ElevationUp       = (int) (result.getInt(10) / UI.UNIT_VALUE_ELEVATION);
+         final int dbValue_ElevationDown     = (int) (result.getInt(11) / UI.UNIT_VALUE_ELEVATION);
 
-            final int dbValue_NumTours          = result.getInt(12);
+         final int dbValue_NumTours          = result.getInt(12);
 
-            final float dbValue_BodyWeight      = result.getFloat(13) * UI.UNIT_VALUE_WEIGHT;
-            final float dbValue_BodyFat         = result.getFloat(14);
+         final float dbValue_BodyWeight      = result.getFloat(13) * UI.UNIT_VALUE_WEIGHT;
+         final float dbValue_BodyFat         = result.getFloat(14);
 
 // SET_FORMATTING_ON
 
-            /*
-             * Convert type id to the type index in the tour types list which is also the color
-             * index
-             */
-            int colorIndex = 0;
-            if (dbValue_TypeIdObject != null) {
-               final long dbTypeId = dbValue_TypeIdObject;
-               for (int typeIndex = 0; typeIndex < allActiveTourTypes.length; typeIndex++) {
-                  if (dbTypeId == allActiveTourTypes[typeIndex].getTypeId()) {
-                     colorIndex = typeIndex;
-                     break;
-                  }
+         /*
+          * Convert type id to the type index in the tour types list which is also the color
+          * index
+          */
+         int colorIndex = 0;
+         if (dbValue_TypeIdObject != null) {
+            final long dbTypeId = dbValue_TypeIdObject;
+            for (int typeIndex = 0; typeIndex < allActiveTourTypes.length; typeIndex++) {
+               if (dbTypeId == allActiveTourTypes[typeIndex].getTypeId()) {
+                  colorIndex = typeIndex;
+                  break;
                }
             }
-            final long dbTypeId = dbValue_TypeIdObject == null ? TourDatabase.ENTITY_IS_NOT_SAVED : dbValue_TypeIdObject;
+         }
+         final long dbTypeId = dbValue_TypeIdObject == null ? TourDatabase.ENTITY_IS_NOT_SAVED : dbValue_TypeIdObject;
 
-            allDbTypeIds[colorIndex][weekIndex] = dbTypeId;
-            allUsedTourTypeIds[colorIndex] = dbTypeId;
+         allDbTypeIds[colorIndex][weekIndex] = dbTypeId;
+         allUsedTourTypeIds[colorIndex] = dbTypeId;
 
-            allDbElapsedTime[colorIndex][weekIndex] = dbValue_ElapsedTime;
-            allDbRecordedTime[colorIndex][weekIndex] = dbValue_RecordedTime;
-            allDbPausedTime[colorIndex][weekIndex] = dbValue_PausedTime;
-            allDbMovingTime[colorIndex][weekIndex] = dbValue_MovingTime;
-            allDbBreakTime[colorIndex][weekIndex] = dbValue_ElapsedTime - dbValue_MovingTime;
-            allDbDurationTime[colorIndex][weekIndex] = dbValue_DurationTime;
+         allDbElapsedTime[colorIndex][weekIndex] = dbValue_ElapsedTime;
+         allDbRecordedTime[colorIndex][weekIndex] = dbValue_RecordedTime;
+         allDbPausedTime[colorIndex][weekIndex] = dbValue_PausedTime;
+         allDbMovingTime[colorIndex][weekIndex] = dbValue_MovingTime;
+         allDbBreakTime[colorIndex][weekIndex] = dbValue_ElapsedTime - dbValue_MovingTime;
+         allDbDurationTime[colorIndex][weekIndex] = dbValue_DurationTime;
 
-            allDbDistance[colorIndex][weekIndex] = dbValue_Distance;
+         allDbDistance[colorIndex][weekIndex] = dbValue_Distance;
 
-            allDbElevationUp[colorIndex][weekIndex] = dbValue_ElevationUp;
-            allDbElevationDown[colorIndex][weekIndex] = dbValue_ElevationDown;
+         allDbElevationUp[colorIndex][weekIndex] = dbValue_ElevationUp;
+         allDbElevationDown[colorIndex][weekIndex] = dbValue_ElevationDown;
 
-            allDbNumTours[colorIndex][weekIndex] = dbValue_NumTours;
+         allDbNumTours[colorIndex][weekIndex] = dbValue_NumTours;
 
-            if (dbValue_BodyWeight > 0) {
-               allDbBodyWeight[weekIndex] = dbValue_BodyWeight;
-            }
-            if (dbValue_BodyFat > 0) {
-               allDbBodyFat[weekIndex] = dbValue_BodyFat;
-            }
+         if (dbValue_BodyWeight > 0) {
+            allDbBodyWeight[weekIndex] = dbValue_BodyWeight;
          }
+         if (dbValue_BodyFat > 0) {
+            allDbBodyFat[weekIndex] = dbValue_BodyFat;
+         }
+      }
 
-         _tourWeekData.years = allYear_Numbers;
-         _tourWeekData.yearWeeks = allYear_NumWeeks;
-         _tourWeekData.yearDays = allYear_NumDays;
-
-         _tourWeekData.typeIds = allDbTypeIds;
-         _tourWeekData.usedTourTypeIds = allUsedTourTypeIds;
+      weekData.years = allYear_Numbers;
+      weekData.yearWeeks = allYear_NumWeeks;
+      weekData.yearDays = allYear_NumDays;
 
-         _tourWeekData.elapsedTime = allDbElapsedTime;
-         _tourWeekData.recordedTime = allDbRecordedTime;
-         _tourWeekData.pausedTime = allDbPausedTime;
-         _tourWeekData.movingTime = allDbMovingTime;
-         _tourWeekData.breakTime = allDbBreakTime;
+      weekData.typeIds = allDbTypeIds;
+      weekData.usedTourTypeIds = allUsedTourTypeIds;
 
-         _tourWeekData.setDurationTimeLow(new int[numTourTypes][numAllWeeks]);
-         _tourWeekData.setDurationTimeHigh(allDbDurationTime);
+      weekData.elapsedTime = allDbElapsedTime;
+      weekData.recordedTime = allDbRecordedTime;
+      weekData.pausedTime = allDbPausedTime;
+      weekData.movingTime = allDbMovingTime;
+      weekData.breakTime = allDbBreakTime;
 
-         _tourWeekData.distance_Low = new float[numTourTypes][numAllWeeks];
-         _tourWeekData.distance_High = allDbDistance;
+      weekData.setDurationTimeLow(new int[numTourTypes][numAllWeeks]);
+      weekData.setDurationTimeHigh(allDbDurationTime);
 
-         _tourWeekData.elevationUp_Low = new float[numTourTypes][numAllWeeks];
-         _tourWeekData.elevationUp_High = allDbElevationUp;
-         _tourWeekData.elevationDown_Low = new float[numTourTypes][numAllWeeks];
-         _tourWeekData.elevationDown_High = allDbElevationDown;
+      weekData.distance_Low = new float[numTourTypes][numAllWeeks];
+      weekData.distance_High = allDbDistance;
 
-         _tourWeekData.numTours_Low = new float[numTourTypes][numAllWeeks];
-         _tourWeekData.numTours_High = allDbNumTours;
+      weekData.elevationUp_Low = new float[numTourTypes][numAllWeeks];
+      weekData.elevationUp_High = allDbElevationUp;
+      weekData.elevationDown_Low = new float[numTourTypes][numAllWeeks];
+      weekData.elevationDown_High = allDbElevationDown;
 
-         _tourWeekData.athleteBodyWeight_Low = new float[numAllWeeks];
-         _tourWeekData.athleteBodyWeight_High = allDbBodyWeight;
-         _tourWeekData.athleteBodyFat_Low = new float[numAllWeeks];
-         _tourWeekData.athleteBodyFat_High = allDbBodyFat;
+      weekData.numTours_Low = new float[numTourTypes][numAllWeeks];
+      weekData.numTours_High = allDbNumTours;
 
-      } catch (final SQLException e) {
-         SQL.showException(e, sql);
-      }
+      weekData.athleteBodyWeight_Low = new float[numAllWeeks];
+      weekData.athleteBodyWeight_High = allDbBodyWeight;
+      weekData.athleteBodyFat_Low = new float[numAllWeeks];
+      weekData.athleteBodyFat_High = allDbBodyFat;
 
-      return _tourWeekData;
+      return weekData;
    }
 }
@@ -15,21 +15,21 @@
  *******************************************************************************/
 package net.tourbook.statistics.graphs;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.OptionalDouble;
+import java.util.function.Function;
 
 import net.tourbook.Messages;
 import net.tourbook.common.UI;
-import net.tourbook.common.util.SQL;
 import net.tourbook.data.TourPerson;
 import net.tourbook.data.TourType;
 import net.tourbook.database.TourDatabase;
+import net.tourbook.database.TourStatisticAggregate;
 import net.tourbook.statistic.DurationTime;
+import net.tourbook.statistic.StatisticQueryService;
+import net.tourbook.statistic.StatisticQueryService.QueryKey;
+import net.tourbook.statistic.StatisticQueryService.QueryRows;
 import net.tourbook.ui.AppFilter;
 import net.tourbook.ui.TourTypeFilter;
 
@@ -241,356 +241,360 @@ public class DataProvider_Tour_Year extends DataProvider {
       // reset cached values
       statistic_RawStatisticValues = null;
 
-      String sql = null;
+      final TourStatisticData_Year loadedData = StatisticQueryService.getData(
 
-      try (final Connection conn = TourDatabase.getInstance().getConnection()) {
+            new QueryKey(TourStatisticData_Year.class, person, tourTypeFilter, lastYear, numYears, durationTime),
 
-         statistic_ActivePerson = person;
-         statistic_ActiveTourTypeFilter = tourTypeFilter;
-         statistic_LastYear = lastYear;
-         statistic_NumberOfYears = numYears;
+            () -> loadYearData(tourTypeFilter, lastYear, numYears, durationTime));
 
-         // get the tour types
-         final ArrayList<TourType> tourTypeList = TourDatabase.getActiveTourTypes();
-         final TourType[] allTourTypes = tourTypeList.toArray(new TourType[tourTypeList.size()]);
+      // keep the query parameters only when the data are loaded, otherwise the failed query is not run again
+      statistic_ActivePerson = person;
+      statistic_ActiveTourTypeFilter = tourTypeFilter;
+      statistic_LastYear = lastYear;
+      statistic_NumberOfYears = numYears;
 
-         _tourYearData = new TourStatisticData_Year();
+      _tourYearData = loadedData;
 
-         final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
+      return _tourYearData;
+   }
 
-         sql = NL +
+   private TourStatisticData_Year loadYearData(final TourTypeFilter tourTypeFilter,
+                                               final int lastYear,
+                                               final int numYears,
+                                               final DurationTime durationTime) {
 
-               "SELECT" + NL //                                               //$NON-NLS-1$
+      // get the tour types
+      final ArrayList<TourType> tourTypeList = TourDatabase.getActiveTourTypes();
+      final TourType[] allTourTypes = tourTypeList.toArray(new TourType[tourTypeList.size()]);
 
-               + "   StartYear," + NL //                                   1  //$NON-NLS-1$
+      final TourStatisticData_Year yearData = new TourStatisticData_Year();
 
-               + "   TourType_TypeId," + NL //                             2  //$NON-NLS-1$
+      final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
 
-               + "   SUM(TourDeviceTime_Elapsed)," + NL //                 3  //$NON-NLS-1$
-               + "   SUM(TourDeviceTime_Recorded)," + NL //                4  //$NON-NLS-1$
-               + "   SUM(TourDeviceTime_Paused)," + NL //                  5  //$NON-NLS-1$
-               + "   SUM(TourComputedTime_Moving)," + NL //                6  //$NON-NLS-1$
-               + "   " + createSQL_SumDurationTime(durationTime) + NL //   7  //$NON-NLS-1$
+      // tours which are filtered only by person and tour type are summarized from the aggregates
+      final boolean isAggregated = TourStatisticAggregate.isAvailable(appFilter);
 
-               + "   SUM(TourDistance)," + NL //                           8  //$NON-NLS-1$
-               + "   SUM(TourAltUp)," + NL //                              9  //$NON-NLS-1$
-               + "   SUM(TourAltDown)," + NL //                            10 //$NON-NLS-1$
+      final Function<String, String> sqlCreator = yearList -> NL +
 
-               + "   SUM(1)," + NL //                                      11 //$NON-NLS-1$
+            "SELECT" + NL //                                               //$NON-NLS-1$
 
-               + "   AVG( CASE WHEN BodyWeight = 0    THEN NULL ELSE BodyWeight END)," + NL //  12 //$NON-NLS-1$
-               + "   AVG( CASE WHEN BodyFat = 0       THEN NULL ELSE BodyFat END)" + NL //      13 //$NON-NLS-1$
+            + "   StartYear," + NL //                                   1  //$NON-NLS-1$
 
-               + "FROM " + TourDatabase.TABLE_TOUR_DATA + NL //                              //$NON-NLS-1$
+            + "   TourType_TypeId," + NL //                             2  //$NON-NLS-1$
 
-               + "WHERE StartYear IN (" + getYearList(lastYear, numYears) + ")" + NL //      //$NON-NLS-1$ //$NON-NLS-2$
+            + "   SUM(TourDeviceTime_Elapsed)," + NL //                 3  //$NON-NLS-1$
+            + "   SUM(TourDeviceTime_Recorded)," + NL //                4  //$NON-NLS-1$
+            + "   SUM(TourDeviceTime_Paused)," + NL //                  5  //$NON-NLS-1$
+            + "   SUM(TourComputedTime_Moving)," + NL //                6  //$NON-NLS-1$
+            + "   " + createSQL_SumDurationTime(durationTime, isAggregated) + NL //  7  //$NON-NLS-1$
 
-               + appFilter.getWhereClause()
+            + "   SUM(TourDistance)," + NL //                           8  //$NON-NLS-1$
+            + "   SUM(TourAltUp)," + NL //                              9  //$NON-NLS-1$
+            + "   SUM(TourAltDown)," + NL //                            10 //$NON-NLS-1$
 
-               + "GROUP BY StartYear, tourType_typeId " + NL //               //$NON-NLS-1$
-               + "ORDER BY StartYear" + NL //                                 //$NON-NLS-1$
-         ;
+            + "   " + createSQL_SumNumTours(isAggregated) + NL //  11 //$NON-NLS-1$
+            + createSQL_AvgBodyValues(isAggregated) //                       12, 13
 
-         final boolean isShowMultipleTourTypes = tourTypeFilter.containsMultipleTourTypes();
+            + "FROM " + createSQL_FromTourValues(isAggregated) + NL //              //$NON-NLS-1$
 
-         int numTourTypes = allTourTypes.length;
-         numTourTypes = numTourTypes == 0 ? 1 : numTourTypes; // ensure that at least 1 is available
+            + "WHERE StartYear IN (" + yearList + ")" + NL //      //$NON-NLS-1$ //$NON-NLS-2$
 
-         final float[][] dbDistance = new float[numTourTypes][numYears];
-         final float[][] dbElevationUp = new float[numTourTypes][numYears];
-         final float[][] dbElevationDown = new float[numTourTypes][numYears];
-         final float[][] dbNumTours = new float[numTourTypes][numYears];
+            + appFilter.getWhereClause()
 
-         @SuppressWarnings("unchecked")
-         final ArrayList<Float>[] dbBodyWeight = new ArrayList[numYears];
-         @SuppressWarnings("unchecked")
-         final ArrayList<Float>[] dbBodyFat = new ArrayList[numYears];
+            + "GROUP BY StartYear, tourType_typeId " + NL //               //$NON-NLS-1$
+            + "ORDER BY StartYear" + NL //                                 //$NON-NLS-1$
+      ;
 
-         // initializing
-         for (int index = 0; index < numYears; index++) {
-            dbBodyWeight[index] = new ArrayList<>();
-            dbBodyFat[index] = new ArrayList<>();
-         }
+      final boolean isShowMultipleTourTypes = tourTypeFilter.containsMultipleTourTypes();
 
-         final int[][] dbDurationTime = new int[numTourTypes][numYears];
-         final int[][] dbElapsedTime = new int[numTourTypes][numYears];
-         final int[][] dbRecordedTime = new int[numTourTypes][numYears];
-         final int[][] dbPausedTime = new int[numTourTypes][numYears];
-         final int[][] dbMovingTime = new int[numTourTypes][numYears];
-         final int[][] dbBreakTime = new int[numTourTypes][numYears];
+      int numTourTypes = allTourTypes.length;
+      numTourTypes = numTourTypes == 0 ? 1 : numTourTypes; // ensure that at least 1 is available
 
-         final long[][] dbTypeIds = new long[numTourTypes][numYears];
-         final long[] tourTypeSum = new long[numTourTypes];
-         final long[] usedTourTypeIds = new long[numTourTypes];
+      final float[][] dbDistance = new float[numTourTypes][numYears];
+      final float[][] dbElevationUp = new float[numTourTypes][numYears];
+      final float[][] dbElevationDown = new float[numTourTypes][numYears];
+      final float[][] dbNumTours = new float[numTourTypes][numYears];
 
-         /*
-          * Initialize tour types, when there are 0 tours for some years/months, a tour
-          * type 0 could be a valid tour type which is the default values for native arrays
-          * -> wrong tour type
-          */
-         Arrays.fill(usedTourTypeIds, TourType.TOUR_TYPE_IS_NOT_USED);
-         for (final long[] allTypeIds : dbTypeIds) {
-            Arrays.fill(allTypeIds, TourType.TOUR_TYPE_IS_NOT_USED);
-         }
+      @SuppressWarnings("unchecked")
+      final ArrayList<Float>[] dbBodyWeight = new ArrayList[numYears];
+      @SuppressWarnings("unchecked")
+      final ArrayList<Float>[] dbBodyFat = new ArrayList[numYears];
+
+      // initializing
+      for (int index = 0; index < numYears; index++) {
+         dbBodyWeight[index] = new ArrayList<>();
+         dbBodyFat[index] = new ArrayList<>();
+      }
 
-         final PreparedStatement prepStmt = conn.prepareStatement(sql);
+      final int[][] dbDurationTime = new int[numTourTypes][numYears];
+      final int[][] dbElapsedTime = new int[numTourTypes][numYears];
+      final int[][] dbRecordedTime = new int[numTourTypes][numYears];
+      final int[][] dbPausedTime = new int[numTourTypes][numYears];
+      final int[][] dbMovingTime = new int[numTourTypes][numYears];
+      final int[][] dbBreakTime = new int[numTourTypes][numYears];
 
-         int nextIndex = 1;
+      final long[][] dbTypeIds = new long[numTourTypes][numYears];
+      final long[] tourTypeSum = new long[numTourTypes];
+      final long[] usedTourTypeIds = new long[numTourTypes];
 
-         nextIndex = appFilter.setParameters(prepStmt, nextIndex);
+      /*
+       * Initialize tour types, when there are 0 tours for some years/months, a tour
+       * type 0 could be a valid tour type which is the default values for native arrays
+       * -> wrong tour type
+       */
+      Arrays.fill(usedTourTypeIds, TourType.TOUR_TYPE_IS_NOT_USED);
+      for (final long[] allTypeIds : dbTypeIds) {
+         Arrays.fill(allTypeIds, TourType.TOUR_TYPE_IS_NOT_USED);
+      }
 
-         final ResultSet result = prepStmt.executeQuery();
+      final QueryRows result = StatisticQueryService.loadRows(getClass().getSimpleName(), lastYear, numYears, sqlCreator, appFilter);
 
-         while (result.next()) {
+      while (result.next()) {
 
 // SET_FORMATTING_OFF
 
-            final int dbValue_ResultYear           = result.getInt(1);
+         final int dbValue_ResultYear           = result.getInt(1);
 
-            final Long dbValue_TourTypeIdObject    = (Long) result.getObject(2);
+         final Long dbValue_TourTypeIdObject    = (Long) result.getObject(2);
 
-            final int dbValue_ElapsedTime          = result.getInt(3);
-            final int dbValue_RecordedTime         = result.getInt(4);
-            final int dbValue_PausedTime           = result.getInt(5);
-            final int dbValue_MovingTime           = result.getInt(6);
-            final int dbValue_Duration             = result.getInt(7);
+         final int dbValue_ElapsedTime          = result.getInt(3);
+         final int dbValue_RecordedTime         = result.getInt(4);
+         final int dbValue_PausedTime           = result.getInt(5);
+         final int dbValue_MovingTime           = result.getInt(6);
+         final int dbValue_Duration             = result.getInt(7);
 
-            final long dbValue_Distance            = (long) (result.getInt(8) / UI.UNIT_VALUE_DISTANCE);
+         final long dbValue_Distance            = (long) (result.getInt(8) / UI.UNIT_VALUE_DISTANCE);
 
-            final long dbValue_ElevationUp         = (long) (result.getInt(9) / UI.UNIT_VALUE_ELEVATION);
-            final long dbValue_ElevationDown       = (long) (result.getInt(10) / UI.UNIT_VALUE_ELEVATION);
+         final long dbValue_ElevationUp         = (long) (result.getInt(9) / UI.UNIT_VALUE_ELEVATION);
+         final long dbValue_ElevationDown       = (long) (result.getInt(10) / UI.UNIT_VALUE_ELEVATION);
 
-            final int dbValue_NumTours             = result.getInt(11);
-            final float dbValue_BodyWeight         = result.getFloat(12) * UI.UNIT_VALUE_WEIGHT;
-            final float dbValue_BodyFat            = result.getFloat(13);
+         final int dbValue_NumTours             = result.getInt(11);
+         final float dbValue_BodyWeight         = result.getFloat(12) * UI.UNIT_VALUE_WEIGHT;
+         final float dbValue_BodyFat            = result.getFloat(13);
 
 // SET_FORMATTING_ON
 
-            final int yearIndex = numYears - (lastYear - dbValue_ResultYear + 1);
+         final int yearIndex = numYears - (lastYear - dbValue_ResultYear + 1);
 
-            /*
-             * convert type id to the type index in the tour types list which is also the color
-             * index
-             */
+         /*
+          * convert type id to the type index in the tour types list which is also the color
+          * index
+          */
 
-            // set default color index
-            int colorIndex = 0;
+         // set default color index
+         int colorIndex = 0;
 
-            // get colorIndex from the type id
-            if (dbValue_TourTypeIdObject != null) {
+         // get colorIndex from the type id
+         if (dbValue_TourTypeIdObject != null) {
 
-               final long dbTypeId = dbValue_TourTypeIdObject;
+            final long dbTypeId = dbValue_TourTypeIdObject;
 
-               for (int typeIndex = 0; typeIndex < allTourTypes.length; typeIndex++) {
-                  if (dbTypeId == allTourTypes[typeIndex].getTypeId()) {
-                     colorIndex = typeIndex;
-                     break;
-                  }
+            for (int typeIndex = 0; typeIndex < allTourTypes.length; typeIndex++) {
+               if (dbTypeId == allTourTypes[typeIndex].getTypeId()) {
+                  colorIndex = typeIndex;
+                  break;
                }
             }
+         }
 
-            final long noTourTypeId = isShowMultipleTourTypes
-                  ? TourType.TOUR_TYPE_IS_NOT_DEFINED_IN_TOUR_DATA
-                  : TourType.TOUR_TYPE_IS_NOT_USED;
+         final long noTourTypeId = isShowMultipleTourTypes
+               ? TourType.TOUR_TYPE_IS_NOT_DEFINED_IN_TOUR_DATA
+               : TourType.TOUR_TYPE_IS_NOT_USED;
 
-            final long dbTypeId = dbValue_TourTypeIdObject == null ? noTourTypeId : dbValue_TourTypeIdObject;
+         final long dbTypeId = dbValue_TourTypeIdObject == null ? noTourTypeId : dbValue_TourTypeIdObject;
 
-            dbTypeIds[colorIndex][yearIndex] = dbTypeId;
+         dbTypeIds[colorIndex][yearIndex] = dbTypeId;
 
-            dbDistance[colorIndex][yearIndex] = dbValue_Distance;
+         dbDistance[colorIndex][yearIndex] = dbValue_Distance;
 
-            dbElevationUp[colorIndex][yearIndex] = dbValue_ElevationUp;
-            dbElevationDown[colorIndex][yearIndex] = dbValue_ElevationDown;
+         dbElevationUp[colorIndex][yearIndex] = dbValue_ElevationUp;
+         dbElevationDown[colorIndex][yearIndex] = dbValue_ElevationDown;
 
-            dbNumTours[colorIndex][yearIndex] = dbValue_NumTours;
-            if (dbValue_BodyWeight > 0) {
-               dbBodyWeight[yearIndex].add(dbValue_BodyWeight);
-            }
-            if (dbValue_BodyFat > 0) {
-               dbBodyFat[yearIndex].add(dbValue_BodyFat);
-            }
+         dbNumTours[colorIndex][yearIndex] = dbValue_NumTours;
+         if (dbValue_BodyWeight > 0) {
+            dbBodyWeight[yearIndex].add(dbValue_BodyWeight);
+         }
+         if (dbValue_BodyFat > 0) {
+            dbBodyFat[yearIndex].add(dbValue_BodyFat);
+         }
 
-            dbDurationTime[colorIndex][yearIndex] = dbValue_Duration;
+         dbDurationTime[colorIndex][yearIndex] = dbValue_Duration;
 
-            dbElapsedTime[colorIndex][yearIndex] = dbValue_ElapsedTime;
-            dbRecordedTime[colorIndex][yearIndex] = dbValue_RecordedTime;
-            dbPausedTime[colorIndex][yearIndex] = dbValue_PausedTime;
-            dbMovingTime[colorIndex][yearIndex] = dbValue_MovingTime;
-            dbBreakTime[colorIndex][yearIndex] = dbValue_ElapsedTime - dbValue_MovingTime;
+         dbElapsedTime[colorIndex][yearIndex] = dbValue_ElapsedTime;
+         dbRecordedTime[colorIndex][yearIndex] = dbValue_RecordedTime;
+         dbPausedTime[colorIndex][yearIndex] = dbValue_PausedTime;
+         dbMovingTime[colorIndex][yearIndex] = dbValue_MovingTime;
+         dbBreakTime[colorIndex][yearIndex] = dbValue_ElapsedTime - dbValue_MovingTime;
 
-            usedTourTypeIds[colorIndex] = dbTypeId;
-            tourTypeSum[colorIndex] += dbValue_Distance + dbValue_ElevationUp + dbValue_ElapsedTime;
-         }
+         usedTourTypeIds[colorIndex] = dbTypeId;
+         tourTypeSum[colorIndex] += dbValue_Distance + dbValue_ElevationUp + dbValue_ElapsedTime;
+      }
 
-         final int[] years = new int[statistic_NumberOfYears];
-         int yearIndex = 0;
-         for (int currentYear = statistic_LastYear - statistic_NumberOfYears + 1; currentYear <= statistic_LastYear; currentYear++) {
-            years[yearIndex++] = currentYear;
-         }
-         _tourYearData.years = years;
+      final int[] years = new int[numYears];
+      int yearIndex = 0;
+      for (int currentYear = lastYear - numYears + 1; currentYear <= lastYear; currentYear++) {
+         years[yearIndex++] = currentYear;
+      }
+      yearData.years = years;
 
-         /*
-          * Remove not used tour types
-          */
-         final ArrayList<Object> allTypeIds_WithData = new ArrayList<>();
+      /*
+       * Remove not used tour types
+       */
+      final ArrayList<Object> allTypeIds_WithData = new ArrayList<>();
 
-         final ArrayList<Object> allElevationUp_WithData = new ArrayList<>();
-         final ArrayList<Object> allElevationDown_WithData = new ArrayList<>();
-         final ArrayList<Object> allDistance_WithData = new ArrayList<>();
-         final ArrayList<Object> allDuration_WithData = new ArrayList<>();
-         final ArrayList<Object> allNumTours_WithData = new ArrayList<>();
+      final ArrayList<Object> allElevationUp_WithData = new ArrayList<>();
+      final ArrayList<Object> allElevationDown_WithData = new ArrayList<>();
+      final ArrayList<Object> allDistance_WithData = new ArrayList<>();
+      final ArrayList<Object> allDuration_WithData = new ArrayList<>();
+      final ArrayList<Object> allNumTours_WithData = new ArrayList<>();
 
-         final ArrayList<Object> allElapsedTime_WithData = new ArrayList<>();
-         final ArrayList<Object> allRecordedTime_WithData = new ArrayList<>();
-         final ArrayList<Object> allPausedTime_WithData = new ArrayList<>();
-         final ArrayList<Object> allMovingTime_WithData = new ArrayList<>();
-         final ArrayList<Object> allBreakTime_WithData = new ArrayList<>();
+      final ArrayList<Object> allElapsedTime_WithData = new ArrayList<>();
+      final ArrayList<Object> allRecordedTime_WithData = new ArrayList<>();
+      final ArrayList<Object> allPausedTime_WithData = new ArrayList<>();
+      final ArrayList<Object> allMovingTime_WithData = new ArrayList<>();
+      final ArrayList<Object> allBreakTime_WithData = new ArrayList<>();
 
-         for (int tourTypeIndex = 0; tourTypeIndex < tourTypeSum.length; tourTypeIndex++) {
+      for (int tourTypeIndex = 0; tourTypeIndex < tourTypeSum.length; tourTypeIndex++) {
 
-            final long summary = tourTypeSum[tourTypeIndex];
+         final long summary = tourTypeSum[tourTypeIndex];
 
-            if (summary > 0) {
+         if (summary > 0) {
 
-               allTypeIds_WithData.add(dbTypeIds[tourTypeIndex]);
+            allTypeIds_WithData.add(dbTypeIds[tourTypeIndex]);
 
-               allElevationUp_WithData.add(dbElevationUp[tourTypeIndex]);
-               allElevationDown_WithData.add(dbElevationDown[tourTypeIndex]);
-               allDistance_WithData.add(dbDistance[tourTypeIndex]);
-               allDuration_WithData.add(dbDurationTime[tourTypeIndex]);
-               allNumTours_WithData.add(dbNumTours[tourTypeIndex]);
+            allElevationUp_WithData.add(dbElevationUp[tourTypeIndex]);
+            allElevationDown_WithData.add(dbElevationDown[tourTypeIndex]);
+            allDistance_WithData.add(dbDistance[tourTypeIndex]);
+            allDuration_WithData.add(dbDurationTime[tourTypeIndex]);
+            allNumTours_WithData.add(dbNumTours[tourTypeIndex]);
 
-               allElapsedTime_WithData.add(dbElapsedTime[tourTypeIndex]);
-               allRecordedTime_WithData.add(dbRecordedTime[tourTypeIndex]);
-               allPausedTime_WithData.add(dbPausedTime[tourTypeIndex]);
-               allMovingTime_WithData.add(dbMovingTime[tourTypeIndex]);
-               allBreakTime_WithData.add(dbBreakTime[tourTypeIndex]);
-            }
+            allElapsedTime_WithData.add(dbElapsedTime[tourTypeIndex]);
+            allRecordedTime_WithData.add(dbRecordedTime[tourTypeIndex]);
+            allPausedTime_WithData.add(dbPausedTime[tourTypeIndex]);
+            allMovingTime_WithData.add(dbMovingTime[tourTypeIndex]);
+            allBreakTime_WithData.add(dbBreakTime[tourTypeIndex]);
          }
+      }
 
-         /*
-          * Create statistic data
-          */
-         final int numTourTypes_WithData = allTypeIds_WithData.size();
+      /*
+       * Create statistic data
+       */
+      final int numTourTypes_WithData = allTypeIds_WithData.size();
 
-         if (numTourTypes_WithData == 0) {
+      if (numTourTypes_WithData == 0) {
 
-            // there are NO data, create dummy data that the UI do not fail
+         // there are NO data, create dummy data that the UI do not fail
 
-            _tourYearData.typeIds = new long[1][1];
-            _tourYearData.usedTourTypeIds = new long[] { TourType.TOUR_TYPE_IS_NOT_USED };
+         yearData.typeIds = new long[1][1];
+         yearData.usedTourTypeIds = new long[] { TourType.TOUR_TYPE_IS_NOT_USED };
 
-            _tourYearData.elevationUp_Low = new float[1][numYears];
-            _tourYearData.elevationUp_High = new float[1][numYears];
-            _tourYearData.elevationDown_Low = new float[1][numYears];
-            _tourYearData.elevationDown_High = new float[1][numYears];
+         yearData.elevationUp_Low = new float[1][numYears];
+         yearData.elevationUp_High = new float[1][numYears];
+         yearData.elevationDown_Low = new float[1][numYears];
+         yearData.elevationDown_High = new float[1][numYears];
 
-            _tourYearData.distance_Low = new float[1][numYears];
-            _tourYearData.distance_High = new float[1][numYears];
+         yearData.distance_Low = new float[1][numYears];
+         yearData.distance_High = new float[1][numYears];
 
-            _tourYearData.setDurationTimeLow(new int[1][numYears]);
-            _tourYearData.setDurationTimeHigh(new int[1][numYears]);
+         yearData.setDurationTimeLow(new int[1][numYears]);
+         yearData.setDurationTimeHigh(new int[1][numYears]);
 
-            _tourYearData.elapsedTime = new int[1][numYears];
-            _tourYearData.recordedTime = new int[1][numYears];
-            _tourYearData.pausedTime = new int[1][numYears];
-            _tourYearData.movingTime = new int[1][numYears];
-            _tourYearData.breakTime = new int[1][numYears];
+         yearData.elapsedTime = new int[1][numYears];
+         yearData.recordedTime = new int[1][numYears];
+         yearData.pausedTime = new int[1][numYears];
+         yearData.movingTime = new int[1][numYears];
+         yearData.breakTime = new int[1][numYears];
 
-            _tourYearData.numTours_Low = new float[1][numYears];
-            _tourYearData.numTours_High = new float[1][numYears];
+         yearData.numTours_Low = new float[1][numYears];
+         yearData.numTours_High = new float[1][numYears];
 
-            _tourYearData.athleteBodyWeight_Low = new float[numYears];
-            _tourYearData.athleteBodyWeight_High = new float[numYears];
-            _tourYearData.athleteBodyFat_Low = new float[numYears];
-            _tourYearData.athleteBodyFat_High = new float[numYears];
+         yearData.athleteBodyWeight_Low = new float[numYears];
+         yearData.athleteBodyWeight_High = new float[numYears];
+         yearData.athleteBodyFat_Low = new float[numYears];
+         yearData.athleteBodyFat_High = new float[numYears];
 
-         } else {
+      } else {
 
-            final long[][] usedTypeIds = new long[numTourTypes_WithData][];
+         final long[][] usedTypeIds = new long[numTourTypes_WithData][];
 
-            final float[][] usedElevationUp = new float[numTourTypes_WithData][];
-            final float[][] usedElevationDown = new float[numTourTypes_WithData][];
-            final float[][] usedDistance = new float[numTourTypes_WithData][];
-            final int[][] usedDuration = new int[numTourTypes_WithData][];
-            final int[][] usedElapsedTime = new int[numTourTypes_WithData][];
-            final int[][] usedRecordedTime = new int[numTourTypes_WithData][];
-            final int[][] usedPausedTime = new int[numTourTypes_WithData][];
-            final int[][] usedMovingTime = new int[numTourTypes_WithData][];
-            final int[][] usedBreakTime = new int[numTourTypes_WithData][];
-            final float[][] usedNumTours = new float[numTourTypes_WithData][];
+         final float[][] usedElevationUp = new float[numTourTypes_WithData][];
+         final float[][] usedElevationDown = new float[numTourTypes_WithData][];
+         final float[][] usedDistance = new float[numTourTypes_WithData][];
+         final int[][] usedDuration = new int[numTourTypes_WithData][];
+         final int[][] usedElapsedTime = new int[numTourTypes_WithData][];
+         final int[][] usedRecordedTime = new int[numTourTypes_WithData][];
+         final int[][] usedPausedTime = new int[numTourTypes_WithData][];
+         final int[][] usedMovingTime = new int[numTourTypes_WithData][];
+         final int[][] usedBreakTime = new int[numTourTypes_WithData][];
+         final float[][] usedNumTours = new float[numTourTypes_WithData][];
 
-            for (int index = 0; index < numTourTypes_WithData; index++) {
+         for (int index = 0; index < numTourTypes_WithData; index++) {
 
-               usedTypeIds[index] = (long[]) allTypeIds_WithData.get(index);
+            usedTypeIds[index] = (long[]) allTypeIds_WithData.get(index);
 
-               usedElevationUp[index] = (float[]) allElevationUp_WithData.get(index);
-               usedElevationDown[index] = (float[]) allElevationDown_WithData.get(index);
-               usedDistance[index] = (float[]) allDistance_WithData.get(index);
+            usedElevationUp[index] = (float[]) allElevationUp_WithData.get(index);
+            usedElevationDown[index] = (float[]) allElevationDown_WithData.get(index);
+            usedDistance[index] = (float[]) allDistance_WithData.get(index);
 
-               usedDuration[index] = (int[]) allDuration_WithData.get(index);
-               usedElapsedTime[index] = (int[]) allElapsedTime_WithData.get(index);
-               usedRecordedTime[index] = (int[]) allRecordedTime_WithData.get(index);
-               usedPausedTime[index] = (int[]) allPausedTime_WithData.get(index);
-               usedMovingTime[index] = (int[]) allMovingTime_WithData.get(index);
-               usedBreakTime[index] = (int[]) allBreakTime_WithData.get(index);
+            usedDuration[index] = (int[]) allDuration_WithData.get(index);
+            usedElapsedTime[index] = (int[]) allElapsedTime_WithData.get(index);
+            usedRecordedTime[index] = (int[]) allRecordedTime_WithData.get(index);
+            usedPausedTime[index] = (int[]) allPausedTime_WithData.get(index);
+            usedMovingTime[index] = (int[]) allMovingTime_WithData.get(index);
+            usedBreakTime[index] = (int[]) allBreakTime_WithData.get(index);
 
-               usedNumTours[index] = (float[]) allNumTours_WithData.get(index);
-            }
+            usedNumTours[index] = (float[]) allNumTours_WithData.get(index);
+         }
 
-            _tourYearData.typeIds = usedTypeIds;
-            _tourYearData.usedTourTypeIds = usedTourTypeIds;
+         yearData.typeIds = usedTypeIds;
+         yearData.usedTourTypeIds = usedTourTypeIds;
 
-            _tourYearData.elevationUp_Low = new float[numTourTypes_WithData][numYears];
-            _tourYearData.elevationUp_High = usedElevationUp;
-            _tourYearData.elevationDown_Low = new float[numTourTypes_WithData][numYears];
-            _tourYearData.elevationDown_High = usedElevationDown;
+         yearData.elevationUp_Low = new float[numTourTypes_WithData][numYears];
+         yearData.elevationUp_High = usedElevationUp;
+         yearData.elevationDown_Low = new float[numTourTypes_WithData][numYears];
+         yearData.elevationDown_High = usedElevationDown;
 
-            _tourYearData.distance_Low = new float[numTourTypes_WithData][numYears];
-            _tourYearData.distance_High = usedDistance;
+         yearData.distance_Low = new float[numTourTypes_WithData][numYears];
+         yearData.distance_High = usedDistance;
 
-            _tourYearData.setDurationTimeLow(new int[numTourTypes_WithData][numYears]);
-            _tourYearData.setDurationTimeHigh(usedDuration);
+         yearData.setDurationTimeLow(new int[numTourTypes_WithData][numYears]);
+         yearData.setDurationTimeHigh(usedDuration);
 
-            _tourYearData.elapsedTime = usedElapsedTime;
-            _tourYearData.recordedTime = usedRecordedTime;
-            _tourYearData.pausedTime = usedPausedTime;
-            _tourYearData.movingTime = usedMovingTime;
-            _tourYearData.breakTime = usedBreakTime;
+         yearData.elapsedTime = usedElapsedTime;
+         yearData.recordedTime = usedRecordedTime;
+         yearData.pausedTime = usedPausedTime;
+         yearData.movingTime = usedMovingTime;
+         yearData.breakTime = usedBreakTime;
 
-            _tourYearData.numTours_Low = new float[numTourTypes_WithData][numYears];
-            _tourYearData.numTours_High = usedNumTours;
+         yearData.numTours_Low = new float[numTourTypes_WithData][numYears];
+         yearData.numTours_High = usedNumTours;
 
-            _tourYearData.athleteBodyWeight_Low = new float[numYears];
+         yearData.athleteBodyWeight_Low = new float[numYears];
 
-            final float[] weight = new float[numYears];
-            for (int index = 0; index < numYears; ++index) {
-               final OptionalDouble averageDouble = dbBodyWeight[index].stream().mapToDouble(d -> d).average();
+         final float[] weight = new float[numYears];
+         for (int index = 0; index < numYears; ++index) {
+            final OptionalDouble averageDouble = dbBodyWeight[index].stream().mapToDouble(d -> d).average();
 
-               if (averageDouble.isPresent()) {
-                  weight[index] = (float) averageDouble.getAsDouble();
-               }
+            if (averageDouble.isPresent()) {
+               weight[index] = (float) averageDouble.getAsDouble();
             }
-            _tourYearData.athleteBodyWeight_High = weight;
+         }
+         yearData.athleteBodyWeight_High = weight;
 
-            final float[] fat = new float[numYears];
-            for (int index = 0; index < numYears; ++index) {
-               final OptionalDouble averageDouble = dbBodyFat[index].stream().mapToDouble(d -> d).average();
+         final float[] fat = new float[numYears];
+         for (int index = 0; index < numYears; ++index) {
+            final OptionalDouble averageDouble = dbBodyFat[index].stream().mapToDouble(d -> d).average();
 
-               if (averageDouble.isPresent()) {
-                  fat[index] = (float) averageDouble.getAsDouble();
-               }
+            if (averageDouble.isPresent()) {
+               fat[index] = (float) averageDouble.getAsDouble();
             }
-            _tourYearData.athleteBodyFat_Low = new float[numYears];
-            _tourYearData.athleteBodyFat_High = fat;
          }
-
-         _tourYearData.numUsedTourTypes = numTourTypes_WithData;
-
-      } catch (final SQLException e) {
-         SQL.showException(e, sql);
+         yearData.athleteBodyFat_Low = new float[numYears];
+         yearData.athleteBodyFat_High = fat;
       }
 
-      return _tourYearData;
+      yearData.numUsedTourTypes = numTourTypes_WithData;
+
+      return yearData;
    }
 }
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import net.tourbook.algorithm.DouglasPeuckerSimplifier;
+
+import org.junit.jupiter.api.Test;
+
+public class DouglasPeuckerSimplifierTests {
+
+   @Test
+   void testForcedIndices() {
+
+      final float[] xSerie = { 0, 1, 2, 3, 4 };
+      final float[] ySerie = { 0, 0, 0, 0, 0 };
+
+      assertArrayEquals(new int[] { 0, 4 }, DouglasPeuckerSimplifier.simplify(1, xSerie, ySerie, null));
+      assertArrayEquals(new int[] { 0, 2, 4 }, DouglasPeuckerSimplifier.simplify(1, xSerie, ySerie, new int[] { 0, 2 }));
+   }
+
+   @Test
+   void testLargeSerie() {
+
+      final int numPoints = 500_000;
+
+      final float[] xSerie = new float[numPoints];
+      final float[] ySerie = new float[numPoints];
+
+      for (int serieIndex = 0; serieIndex < numPoints; serieIndex++) {
+
+         xSerie[serieIndex] = serieIndex;
+         ySerie[serieIndex] = (float) Math.exp(serieIndex / 20_000.0);
+      }
+
+      final int[] allSimplifiedIndices = DouglasPeuckerSimplifier.simplify(0.0001f, xSerie, ySerie, null);
+
+      assertEquals(0, allSimplifiedIndices[0]);
+      assertEquals(numPoints - 1, allSimplifiedIndices[allSimplifiedIndices.length - 1]);
+   }
+
+   @Test
+   void testLatLon() {
+
+      // a straight track with one point which is about 11 m beside the track
+      final double[] latitudeSerie = { 47.0, 47.001, 47.002, 47.003, 47.004 };
+      final double[] longitudeSerie = { 8.0, 8.0, 8.0, 8.00015, 8.0 };
+
+      assertArrayEquals(new int[] { 0, 4 }, DouglasPeuckerSimplifier.simplifyLatLon(20, latitudeSerie, longitudeSerie, null));
+      assertArrayEquals(new int[] { 0, 2, 3, 4 }, DouglasPeuckerSimplifier.simplifyLatLon(5, latitudeSerie, longitudeSerie, null));
+   }
+
+   @Test
+   void testRange() {
+
+      final float[] xSerie = { 0, 1, 2, 3, 4, 5, 6 };
+      final float[] ySerie = { 9, 0, 0, 5, 0, 0, 9 };
+
+      assertArrayEquals(new int[] { 1, 3, 5 }, DouglasPeuckerSimplifier.simplify(1, xSerie, ySerie, 1, 6, null));
+      assertArrayEquals(new int[] { 0, 6 }, DouglasPeuckerSimplifier.simplify(10, new int[] { 0, 1, 2, 3, 4, 5, 6 }, ySerie, null));
+   }
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package chart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import net.tourbook.chart.LineDecimation;
+
+import org.junit.jupiter.api.Test;
+
+public class LineDecimationTests {
+
+   /**
+    * 10 values are painted into one device pixel column
+    */
+   private static final double SCALE_X    = 0.1;
+
+   private static final int    NUM_VALUES = 1000;
+
+   private static double[] createXValues() {
+
+      final double[] xValues = new double[NUM_VALUES];
+
+      for (int valueIndex = 0; valueIndex < NUM_VALUES; valueIndex++) {
+         xValues[valueIndex] = valueIndex;
+      }
+
+      return xValues;
+   }
+
+   private static float[] createYValues() {
+
+      final float[] yValues = new float[NUM_VALUES];
+
+      Arrays.fill(yValues, 1);
+
+      return yValues;
+   }
+
+   private static boolean isVisible(final int[] visibleIndices, final int valueIndex) {
+
+      return Arrays.binarySearch(visibleIndices, valueIndex) >= 0;
+   }
+
+   @Test
+   void testFirstAndLastValue() {
+
+      final int[] visibleIndices = new LineDecimation(createXValues(), createYValues(), null, null, SCALE_X, 0)
+            .getVisibleIndices();
+
+      assertNotNull(visibleIndices);
+
+      // first and last value of each pixel column
+      assertEquals(NUM_VALUES / 10 * 2, visibleIndices.length);
+
+      assertEquals(0, visibleIndices[0]);
+      assertEquals(NUM_VALUES - 1, visibleIndices[visibleIndices.length - 1]);
+
+      assertTrue(isVisible(visibleIndices, 9));
+      assertTrue(isVisible(visibleIndices, 10));
+      assertFalse(isVisible(visibleIndices, 5));
+   }
+
+   @Test
+   void testGraphValueOffset() {
+
+      // the pixel columns are starting at the scrolled graph position
+      final int[] visibleIndices = new LineDecimation(createXValues(), createYValues(), null, null, SCALE_X, 5)
+            .getVisibleIndices();
+
+      assertNotNull(visibleIndices);
+
+      assertTrue(isVisible(visibleIndices, 4));
+      assertTrue(isVisible(visibleIndices, 5));
+      assertTrue(isVisible(visibleIndices, 14));
+      assertTrue(isVisible(visibleIndices, 15));
+
+      assertFalse(isVisible(visibleIndices, 9));
+      assertFalse(isVisible(visibleIndices, 10));
+   }
+
+   @Test
+   void testNotDecimated() {
+
+      // only 2 values are in one pixel column, all values are painted
+      assertNull(new LineDecimation(createXValues(), createYValues(), null, null, 0.5, 0).getVisibleIndices());
+   }
+
+   @Test
+   void testSpikes() {
+
+      final float[] yValues = createYValues();
+      final float[] yValues2 = createYValues();
+      final boolean[] noLine = new boolean[NUM_VALUES];
+
+      yValues[123] = 100;
+      yValues[456] = -100;
+      yValues2[789] = 100;
+
+      // values which are painted in a special way
+      yValues[234] = 0;
+      noLine[345] = true;
+
+      final int[] visibleIndices = new LineDecimation(createXValues(), yValues, yValues2, noLine, SCALE_X, 0)
+            .getVisibleIndices();
+
+      assertNotNull(visibleIndices);
+
+      assertTrue(isVisible(visibleIndices, 123));
+      assertTrue(isVisible(visibleIndices, 456));
+      assertTrue(isVisible(visibleIndices, 789));
+
+      assertTrue(isVisible(visibleIndices, 234));
+      assertTrue(isVisible(visibleIndices, 345));
+
+      assertFalse(isVisible(visibleIndices, 125));
+   }
+}
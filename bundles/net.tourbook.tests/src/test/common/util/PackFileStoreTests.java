@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package common.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import net.tourbook.common.util.PackFileStore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PackFileStoreTests {
+
+   private static final String PACK_FILE_NAME  = "test.pack";  //$NON-NLS-1$
+   private static final String INDEX_FILE_NAME = "test.index"; //$NON-NLS-1$
+
+   private static final int    RECORD_MAGIC    = 0x54535431;   // TST1
+
+   @TempDir
+   private File                _packFolder;
+
+   private PackFileStore openStore(final long maxDataSize) throws IOException {
+
+      return new PackFileStore(_packFolder, PACK_FILE_NAME, INDEX_FILE_NAME, RECORD_MAGIC, maxDataSize);
+   }
+
+   @Test
+   void testClosedStore() throws IOException {
+
+      final PackFileStore packStore = openStore(0);
+
+      packStore.close();
+
+      // data must not be dropped silently
+      assertThrows(IOException.class, () -> packStore.write("a", new byte[] { 1 })); //$NON-NLS-1$
+      assertNull(packStore.read("a")); //$NON-NLS-1$
+   }
+
+   @Test
+   void testDeleteAll() throws IOException {
+
+      final PackFileStore packStore = openStore(0);
+
+      packStore.write("a", new byte[] { 1 }); //$NON-NLS-1$
+      packStore.write("b", new byte[] { 2 }); //$NON-NLS-1$
+
+      // map the pack file
+      assertArrayEquals(new byte[] { 1 }, packStore.read("a")); //$NON-NLS-1$
+
+      packStore.deleteAll();
+
+      assertEquals(0, packStore.getSize());
+      assertEquals(0, packStore.getDataSize());
+      assertNull(packStore.read("a")); //$NON-NLS-1$
+
+      // the store must still be usable
+      packStore.write("c", new byte[] { 3 }); //$NON-NLS-1$
+      assertArrayEquals(new byte[] { 3 }, packStore.read("c")); //$NON-NLS-1$
+
+      packStore.close();
+
+      final PackFileStore reopenedStore = openStore(0);
+
+      assertEquals(1, reopenedStore.getSize());
+      assertFalse(reopenedStore.contains("a")); //$NON-NLS-1$
+      assertArrayEquals(new byte[] { 3 }, reopenedStore.read("c")); //$NON-NLS-1$
+
+      reopenedStore.close();
+   }
+
+   @Test
+   void testDeleteNotAccessedSince() throws IOException, InterruptedException {
+
+      final PackFileStore packStore = openStore(0);
+
+      packStore.write("old", new byte[] { 1 }); //$NON-NLS-1$
+
+      Thread.sleep(10);
+      final long lastAccessTime = System.currentTimeMillis();
+      Thread.sleep(10);
+
+      packStore.write("new", new byte[] { 2 }); //$NON-NLS-1$
+
+      assertEquals(1, packStore.deleteNotAccessedSince(lastAccessTime));
+      assertFalse(packStore.contains("old")); //$NON-NLS-1$
+      assertTrue(packStore.contains("new")); //$NON-NLS-1$
+
+      packStore.close();
+   }
+
+   @Test
+   void testEvictLeastRecentlyUsed() throws IOException, InterruptedException {
+
+      final PackFileStore packStore = openStore(10_000);
+
+      for (int itemIndex = 0; itemIndex < 10; itemIndex++) {
+         packStore.write(Integer.toString(itemIndex), new byte[1000]);
+      }
+
+      assertEquals(10, packStore.getSize());
+
+      Thread.sleep(10);
+
+      // item 0 is now the most recently used item
+      packStore.read("0"); //$NON-NLS-1$
+
+      Thread.sleep(10);
+
+      // exceed the max data size, items are evicted until 80% of the max data size
+      packStore.write("10", new byte[1000]); //$NON-NLS-1$
+
+      assertEquals(8, packStore.getSize());
+      assertEquals(8000, packStore.getDataSize());
+      assertTrue(packStore.contains("0")); //$NON-NLS-1$
+      assertTrue(packStore.contains("10")); //$NON-NLS-1$
+
+      packStore.close();
+   }
+
+   @Test
+   void testReopenWithIndex() throws IOException {
+
+      PackFileStore packStore = openStore(0);
+
+      packStore.write("a", new byte[] { 1, 2, 3 }); //$NON-NLS-1$
+      packStore.write("b", new byte[] { 4, 5 }); //$NON-NLS-1$
+      packStore.write("b", new byte[] { 6 }); //$NON-NLS-1$
+      packStore.write("c", new byte[] { 7 }); //$NON-NLS-1$
+      packStore.delete("c"); //$NON-NLS-1$
+
+      final long garbageSize = packStore.getGarbageSize();
+
+      packStore.close();
+
+      assertTrue(new File(_packFolder, INDEX_FILE_NAME).isFile());
+
+      packStore = openStore(0);
+
+      assertEquals(2, packStore.getSize());
+      assertEquals(4, packStore.getDataSize());
+      assertEquals(garbageSize, packStore.getGarbageSize());
+      assertArrayEquals(new byte[] { 1, 2, 3 }, packStore.read("a")); //$NON-NLS-1$
+      assertArrayEquals(new byte[] { 6 }, packStore.read("b")); //$NON-NLS-1$
+
+      // the index is created from the pack file when the index file is not available
+      packStore.close();
+      new File(_packFolder, INDEX_FILE_NAME).delete();
+
+      packStore = openStore(0);
+
+      assertEquals(2, packStore.getSize());
+      assertEquals(garbageSize, packStore.getGarbageSize());
+      assertArrayEquals(new byte[] { 6 }, packStore.read("b")); //$NON-NLS-1$
+
+      packStore.compact();
+
+      assertEquals(0, packStore.getGarbageSize());
+      assertArrayEquals(new byte[] { 1, 2, 3 }, packStore.read("a")); //$NON-NLS-1$
+
+      packStore.close();
+   }
+}
@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import net.tourbook.data.SerieData;
+import net.tourbook.data.SerieDataCodec;
+
+import org.junit.jupiter.api.Test;
+
+public class SerieDataCodecTests {
+
+   private static SerieData createSerieData() {
+
+      final int numTimeSlices = 5_000;
+
+      final SerieData serieData = new SerieData();
+
+      serieData.timeSerie = new int[numTimeSlices];
+      serieData.altitudeSerie20 = new float[numTimeSlices];
+      serieData.pulseSerie20 = new float[numTimeSlices];
+      serieData.latitudeE6 = new int[numTimeSlices];
+      serieData.longitudeE6 = new int[numTimeSlices];
+      serieData.latitude = new double[numTimeSlices];
+      serieData.gears = new long[numTimeSlices];
+      serieData.runDyn_StanceTime = new short[numTimeSlices];
+      serieData.visiblePoints_Surfing = new boolean[numTimeSlices];
+
+      float altitude = 523.4f;
+      double latitude = 47.123456;
+
+      for (int serieIndex = 0; serieIndex < numTimeSlices; serieIndex++) {
+
+         altitude += serieIndex % 7 == 0 ? 0.2f : -0.1f;
+         latitude += 0.000013 * (serieIndex % 3);
+
+         serieData.timeSerie[serieIndex] = serieIndex;
+         serieData.altitudeSerie20[serieIndex] = altitude;
+         serieData.pulseSerie20[serieIndex] = 120 + serieIndex % 25;
+         serieData.latitudeE6[serieIndex] = (int) (latitude * 1E6);
+         serieData.longitudeE6[serieIndex] = 11_000_000 - serieIndex * 3;
+         serieData.latitude[serieIndex] = latitude;
+         serieData.gears[serieIndex] = 0x3402_1c05L + serieIndex / 100;
+         serieData.runDyn_StanceTime[serieIndex] = (short) (serieIndex % 2 == 0 ? Short.MIN_VALUE : Short.MAX_VALUE);
+         serieData.visiblePoints_Surfing[serieIndex] = serieIndex % 3 == 0;
+      }
+
+      // extreme values
+      serieData.timeSerie[10] = Integer.MIN_VALUE;
+      serieData.timeSerie[11] = Integer.MAX_VALUE;
+      serieData.altitudeSerie20[20] = Float.NaN;
+      serieData.altitudeSerie20[21] = Float.NEGATIVE_INFINITY;
+      serieData.gears[30] = Long.MIN_VALUE;
+
+      return serieData;
+   }
+
+   /**
+    * @param componentType
+    * @param fieldIndex
+    *           Is used to create different values for each field, so that swapped fields are
+    *           detected
+    * @param serieIndex
+    *
+    * @return Returns a value which is not the default value of the component type
+    */
+   private static Object createValue(final Class<?> componentType, final int fieldIndex, final int serieIndex) {
+
+      final int value = fieldIndex * 1_000 + serieIndex + 1;
+
+      if (componentType == boolean.class) {
+         return (fieldIndex + serieIndex) % 2 == 0;
+
+      } else if (componentType == short.class) {
+         return (short) value;
+
+      } else if (componentType == int.class) {
+         return value;
+
+      } else if (componentType == long.class) {
+         return value * 1_000_000_000L;
+
+      } else if (componentType == float.class) {
+         return value + 0.25f;
+
+      } else if (componentType == double.class) {
+         return value + 0.123456;
+      }
+
+      throw new IllegalArgumentException(componentType.getName());
+   }
+
+   /**
+    * @return Returns all fields of {@link SerieData} which are persisted
+    */
+   private static List<Field> getPersistedFields() {
+
+      final List<Field> allFields = new ArrayList<>();
+
+      for (final Field field : SerieData.class.getDeclaredFields()) {
+
+         final int modifiers = field.getModifiers();
+
+         if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+            continue;
+         }
+
+         field.setAccessible(true);
+
+         allFields.add(field);
+      }
+
+      return allFields;
+   }
+
+   @Test
+   void testDecode_InvalidData() {
+
+      assertThrows(IllegalArgumentException.class, () -> SerieDataCodec.decode(new byte[] { 1, 2, 3, 4, 5, 6 }));
+   }
+
+   @Test
+   void testEncodeDecode() {
+
+      final SerieData serieData = createSerieData();
+
+      final byte[] encodedData = SerieDataCodec.encode(serieData);
+
+      assertTrue(SerieDataCodec.isEncoded(encodedData));
+
+      final SerieData decodedData = SerieDataCodec.decode(encodedData);
+
+      assertArrayEquals(serieData.timeSerie, decodedData.timeSerie);
+      assertArrayEquals(serieData.altitudeSerie20, decodedData.altitudeSerie20);
+      assertArrayEquals(serieData.pulseSerie20, decodedData.pulseSerie20);
+      assertArrayEquals(serieData.latitudeE6, decodedData.latitudeE6);
+      assertArrayEquals(serieData.longitudeE6, decodedData.longitudeE6);
+      assertArrayEquals(serieData.latitude, decodedData.latitude);
+      assertArrayEquals(serieData.gears, decodedData.gears);
+      assertArrayEquals(serieData.runDyn_StanceTime, decodedData.runDyn_StanceTime);
+      assertArrayEquals(serieData.visiblePoints_Surfing, decodedData.visiblePoints_Surfing);
+
+      // not available data series are not created
+      assertNull(decodedData.cadenceSerie20);
+      assertNull(decodedData.altitudeSerie);
+      assertNull(decodedData.battery_Time);
+   }
+
+   /**
+    * Every persisted field of {@link SerieData} must be written and read by
+    * {@link SerieDataCodec}, otherwise the values of a new field are lost when a tour is saved.
+    */
+   @Test
+   void testEncodeDecode_AllFields() throws Exception {
+
+      final int numTimeSlices = 100;
+
+      final List<Field> allFields = getPersistedFields();
+
+      final SerieData serieData = new SerieData();
+
+      for (int fieldIndex = 0; fieldIndex < allFields.size(); fieldIndex++) {
+
+         final Field field = allFields.get(fieldIndex);
+         final Class<?> fieldType = field.getType();
+
+         assertTrue(fieldType.isArray(), "SerieData field is not an array: " + field.getName()); //$NON-NLS-1$
+
+         final Object dataSerie = Array.newInstance(fieldType.getComponentType(), numTimeSlices);
+
+         for (int serieIndex = 0; serieIndex < numTimeSlices; serieIndex++) {
+            Array.set(dataSerie, serieIndex, createValue(fieldType.getComponentType(), fieldIndex, serieIndex));
+         }
+
+         field.set(serieData, dataSerie);
+      }
+
+      final SerieData decodedData = SerieDataCodec.decode(SerieDataCodec.encode(serieData));
+
+      for (final Field field : allFields) {
+
+         final Object decodedSerie = field.get(decodedData);
+
+         assertNotNull(decodedSerie, "SerieData field is not encoded: " + field.getName()); //$NON-NLS-1$
+
+         assertTrue(
+               Objects.deepEquals(field.get(serieData), decodedSerie),
+               "SerieData field is not decoded correctly: " + field.getName()); //$NON-NLS-1$
+      }
+   }
+
+   @Test
+   void testDecode_OnlyRequestedColumns() {
+
+      final SerieData serieData = createSerieData();
+
+      final SerieData decodedData = SerieDataCodec.decode(
+            SerieDataCodec.encode(serieData),
+            SerieDataCodec.COLUMN_LATITUDE_E6,
+            SerieDataCodec.COLUMN_LONGITUDE_E6);
+
+      assertArrayEquals(serieData.latitudeE6, decodedData.latitudeE6);
+      assertArrayEquals(serieData.longitudeE6, decodedData.longitudeE6);
+
+      assertNull(decodedData.timeSerie);
+      assertNull(decodedData.altitudeSerie20);
+      assertNull(decodedData.gears);
+   }
+
+   @Test
+   void testDeserialize_OnlyRequestedColumns() throws Exception {
+
+      final SerieData serieData = createSerieData();
+
+      final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+      try (ObjectOutputStream outStream = new ObjectOutputStream(byteStream)) {
+         outStream.writeObject(serieData);
+      }
+
+      final SerieData decodedData = SerieDataCodec.deserialize(byteStream.toByteArray(), SerieDataCodec.COLUMN_TIME);
+
+      assertArrayEquals(serieData.timeSerie, decodedData.timeSerie);
+      assertNull(decodedData.latitudeE6);
+   }
+
+   @Test
+   void testSerialization() throws Exception {
+
+      final SerieData serieData = createSerieData();
+
+      final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+      try (ObjectOutputStream outStream = new ObjectOutputStream(byteStream)) {
+         outStream.writeObject(serieData);
+      }
+
+      final Object readObject;
+
+      try (ObjectInputStream inStream = new ObjectInputStream(new ByteArrayInputStream(byteStream.toByteArray()))) {
+         readObject = inStream.readObject();
+      }
+
+      assertTrue(readObject instanceof SerieData);
+
+      final SerieData decodedData = (SerieData) readObject;
+
+      assertArrayEquals(serieData.timeSerie, decodedData.timeSerie);
+      assertArrayEquals(serieData.altitudeSerie20, decodedData.altitudeSerie20);
+      assertArrayEquals(serieData.latitudeE6, decodedData.latitudeE6);
+   }
+}
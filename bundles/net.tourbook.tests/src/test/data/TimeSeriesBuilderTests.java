@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.tourbook.data.TimeData;
+import net.tourbook.data.TimeSeriesBuilder;
+
+import org.junit.jupiter.api.Test;
+
+public class TimeSeriesBuilderTests {
+
+   @Test
+   void testAdd_Grow() {
+
+      final TimeSeriesBuilder timeSeries = new TimeSeriesBuilder(2);
+
+      for (int sliceIndex = 0; sliceIndex < 1_000; sliceIndex++) {
+
+         assertEquals(sliceIndex, timeSeries.add());
+
+         timeSeries.absoluteTime[sliceIndex] = 1_000L * sliceIndex;
+         timeSeries.pulse[sliceIndex] = sliceIndex % 200;
+      }
+
+      assertEquals(1_000, timeSeries.size());
+      assertEquals(999, timeSeries.lastIndex());
+      assertEquals(999_000L, timeSeries.absoluteTime[999]);
+      assertEquals(199, timeSeries.pulse[999]);
+
+      // values which are not set
+      assertEquals(Float.MIN_VALUE, timeSeries.cadence[999]);
+      assertEquals(Double.MIN_VALUE, timeSeries.latitude[999]);
+      assertEquals(Short.MIN_VALUE, timeSeries.runDyn_StanceTime[999]);
+      assertEquals(0, timeSeries.gear[999]);
+   }
+
+   @Test
+   void testOf_TimeData() {
+
+      final List<TimeData> allTimeData = new ArrayList<>();
+
+      final TimeData timeData1 = new TimeData();
+      timeData1.absoluteTime = 1_000;
+      timeData1.markerLabel = "Marker"; //$NON-NLS-1$
+      timeData1.marker = 1;
+
+      final TimeData timeData2 = new TimeData();
+      timeData2.pulseTime = new int[] { 800, 810 };
+      timeData2.radar_PassedVehicles = 3;
+
+      allTimeData.add(timeData1);
+      allTimeData.add(timeData2);
+
+      final TimeSeriesBuilder timeSeries = TimeSeriesBuilder.of(allTimeData);
+
+      assertEquals(2, timeSeries.size());
+      assertEquals(1_000, timeSeries.absoluteTime[0]);
+      assertEquals(Long.MIN_VALUE, timeSeries.absoluteTime[1]);
+      assertEquals("Marker", timeSeries.markerLabel[0]); //$NON-NLS-1$
+      assertEquals(1, timeSeries.marker[0]);
+      assertEquals(810, timeSeries.pulseTime[1][1]);
+      assertEquals(Integer.MIN_VALUE, timeSeries.radar_PassedVehicles[0]);
+      assertEquals(3, timeSeries.radar_PassedVehicles[1]);
+   }
+
+   @Test
+   void testRemove() {
+
+      final TimeSeriesBuilder timeSeries = new TimeSeriesBuilder(2);
+
+      for (int sliceIndex = 0; sliceIndex < 5; sliceIndex++) {
+
+         timeSeries.add();
+         timeSeries.absoluteTime[sliceIndex] = sliceIndex;
+      }
+
+      timeSeries.markerLabel[3] = "Marker"; //$NON-NLS-1$
+
+      timeSeries.remove(new boolean[] { false, true, false, false, true });
+
+      assertEquals(3, timeSeries.size());
+      assertEquals(0, timeSeries.absoluteTime[0]);
+      assertEquals(2, timeSeries.absoluteTime[1]);
+      assertEquals(3, timeSeries.absoluteTime[2]);
+      assertEquals("Marker", timeSeries.markerLabel[2]); //$NON-NLS-1$
+
+      // a new slice has "not set" values
+      assertEquals(3, timeSeries.add());
+      assertEquals(Long.MIN_VALUE, timeSeries.absoluteTime[3]);
+      assertNull(timeSeries.markerLabel[3]);
+   }
+
+   @Test
+   void testRemoveLast() {
+
+      final TimeSeriesBuilder timeSeries = new TimeSeriesBuilder();
+
+      timeSeries.add();
+
+      final int sliceIndex = timeSeries.add();
+      timeSeries.speed[sliceIndex] = 5;
+      timeSeries.markerLabel[sliceIndex] = "Label"; //$NON-NLS-1$
+
+      timeSeries.removeLast();
+
+      assertEquals(1, timeSeries.size());
+
+      // a new slice has "not set" values
+      assertEquals(1, timeSeries.add());
+      assertEquals(Float.MIN_VALUE, timeSeries.speed[1]);
+      assertNull(timeSeries.markerLabel[1]);
+   }
+
+   @Test
+   void testSortByAbsoluteTime() {
+
+      final TimeSeriesBuilder timeSeries = new TimeSeriesBuilder();
+
+      final long[] allTimes = { 3_000, 1_000, 2_000, 1_000 };
+
+      for (int sliceIndex = 0; sliceIndex < allTimes.length; sliceIndex++) {
+
+         timeSeries.add();
+         timeSeries.absoluteTime[sliceIndex] = allTimes[sliceIndex];
+         timeSeries.pulse[sliceIndex] = sliceIndex;
+      }
+
+      timeSeries.sortByAbsoluteTime();
+
+      assertEquals(1_000, timeSeries.absoluteTime[0]);
+      assertEquals(1_000, timeSeries.absoluteTime[1]);
+      assertEquals(2_000, timeSeries.absoluteTime[2]);
+      assertEquals(3_000, timeSeries.absoluteTime[3]);
+
+      // slices with the same time keep their order
+      assertEquals(1, timeSeries.pulse[0]);
+      assertEquals(3, timeSeries.pulse[1]);
+      assertEquals(2, timeSeries.pulse[2]);
+      assertEquals(0, timeSeries.pulse[3]);
+   }
+}
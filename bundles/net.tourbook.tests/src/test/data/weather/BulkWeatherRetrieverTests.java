@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package data.weather;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.pgssoft.httpclient.HttpClientMock;
+
+import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.util.List;
+
+import net.tourbook.data.TourData;
+import net.tourbook.ui.views.IWeatherProvider;
+import net.tourbook.weather.BulkWeatherRetriever;
+import net.tourbook.weather.HistoricalWeatherRetriever;
+import net.tourbook.weather.TourWeatherRetriever;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import utils.Comparison;
+import utils.FilesUtils;
+import utils.Initializer;
+
+public class BulkWeatherRetrieverTests {
+
+   private static final String WORLDWEATHERONLINE_FILE_PATH =
+         FilesUtils.rootPath + "data/weather/worldweatheronline/files/"; //$NON-NLS-1$
+
+   static HttpClientMock       httpClientMock;
+
+   @TempDir
+   Path                        cacheFolder;
+
+   @BeforeAll
+   static void initAll() throws NoSuchFieldException, SecurityException, IllegalArgumentException, IllegalAccessException {
+
+      httpClientMock = new HttpClientMock();
+      final Field field = HistoricalWeatherRetriever.class.getDeclaredField("httpClient"); //$NON-NLS-1$
+      field.setAccessible(true);
+      field.set(null, httpClientMock);
+   }
+
+   @Test
+   void testCachedResponse() {
+
+      final String worldWeatherOnlineResponse = Comparison.readFileContent(WORLDWEATHERONLINE_FILE_PATH
+            + "LongsPeak-Manual-WorldWeatherOnlineResponse-2020-07-04.json"); //$NON-NLS-1$
+      final String url =
+            "http://api.worldweatheronline.com/premium/v1/past-weather.ashx?key=&q=40.263996,-105.58854099999999&date=2020-07-04&tp=1&format=json&includelocation=yes&extra=utcDateTime&lang=en"; //$NON-NLS-1$
+      httpClientMock.onGet(url)
+            .doReturn(worldWeatherOnlineResponse);
+
+      final String weatherProvider = IWeatherProvider.WEATHER_PROVIDER_WORLDWEATHERONLINE_ID;
+      final BulkWeatherRetriever bulkRetriever = new BulkWeatherRetriever(weatherProvider, cacheFolder);
+
+      final TourData tour = Initializer.importTour();
+      final TourData sameTour = Initializer.importTour();
+
+      // the 2nd retrieval is reading the response from the cache
+      for (final TourData tourData : List.of(tour, sameTour)) {
+
+         final List<TourData> allModifiedTours = bulkRetriever.retrieveWeatherData(
+               List.of(tourData),
+               new NullProgressMonitor(),
+               tourToRetrieve -> TourWeatherRetriever.retrieveWeatherData(tourToRetrieve, weatherProvider, bulkRetriever));
+
+         assertEquals(1, allModifiedTours.size());
+      }
+
+      httpClientMock.verify().get(url).called(1);
+
+      assertEquals(1, bulkRetriever.getNumCachedResponses());
+      assertEquals(tour.getWeather_Temperature_Average(), sameTour.getWeather_Temperature_Average());
+   }
+}
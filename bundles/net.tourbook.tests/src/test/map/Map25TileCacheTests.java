@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import net.tourbook.map25.Map25TileCache;
+
+import org.junit.jupiter.api.Test;
+
+public class Map25TileCacheTests {
+
+   @Test
+   void testEviction() {
+
+      final Map25TileCache tileCache = new Map25TileCache(300);
+
+      final String tileKey1 = Map25TileCache.getTileKey("provider", 10, 1, 1); //$NON-NLS-1$
+      final String tileKey2 = Map25TileCache.getTileKey("provider", 10, 1, 2); //$NON-NLS-1$
+      final String tileKey3 = Map25TileCache.getTileKey("provider", 10, 1, 3); //$NON-NLS-1$
+
+      tileCache.put(tileKey1, new byte[100]);
+      tileCache.put(tileKey2, new byte[100]);
+      tileCache.put(tileKey3, new byte[100]);
+
+      assertEquals(300, tileCache.getDataSize());
+
+      // tile 1 is now the most recently used tile
+      tileCache.get(tileKey1);
+
+      tileCache.put(Map25TileCache.getTileKey("provider", 11, 1, 1), new byte[150]); //$NON-NLS-1$
+
+      assertEquals(250, tileCache.getDataSize());
+      assertEquals(2, tileCache.getNumEvictions());
+      assertNull(tileCache.get(tileKey2));
+      assertNull(tileCache.get(tileKey3));
+
+      // a tile which is larger than the cache is not cached
+      tileCache.put(tileKey2, new byte[400]);
+      assertNull(tileCache.get(tileKey2));
+
+      tileCache.setMaxDataSize(200);
+      assertEquals(150, tileCache.getDataSize());
+      assertNull(tileCache.get(tileKey1));
+   }
+
+   @Test
+   void testHitsAndMisses() {
+
+      final Map25TileCache tileCache = new Map25TileCache(1000);
+
+      final String tileKey = Map25TileCache.getTileKey("provider", 14, 8000, 5000); //$NON-NLS-1$
+      final byte[] tileData = { 1, 2, 3 };
+
+      assertEquals("provider/14/8000/5000", tileKey); //$NON-NLS-1$
+      assertNull(tileCache.get(tileKey));
+
+      tileCache.put(tileKey, tileData);
+
+      assertArrayEquals(tileData, tileCache.get(tileKey));
+      assertEquals(1, tileCache.getNumHits());
+      assertEquals(1, tileCache.getNumMisses());
+      assertEquals(1, tileCache.getSize());
+   }
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import de.byteholder.geoclipse.map.Tile;
+import de.byteholder.geoclipse.map.TileLoadingQueue;
+import de.byteholder.geoclipse.mapprovider.MP;
+import de.byteholder.geoclipse.mapprovider.MPCustom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TileLoadingQueueTests {
+
+   private static final int ZOOM = 10;
+
+   private MP               _mp;
+   private TileLoadingQueue _queue;
+
+   private Tile createTile(final MP mp, final int zoom, final int x, final int y) {
+
+      final Tile tile = new Tile(mp, zoom, x, y, null);
+
+      tile.setLoading(true);
+
+      return tile;
+   }
+
+   @BeforeEach
+   void setUp() {
+
+      _mp = new MPCustom();
+
+      _queue = new TileLoadingQueue();
+
+      // viewport center is 102/202
+      _queue.setViewport(_mp, ZOOM, 100, 200, 104, 204);
+   }
+
+   @Test
+   void testInvisibleTilesAreCanceled() {
+
+      final Tile visibleTile = createTile(_mp, ZOOM, 104, 204);
+
+      // the map was moved far away
+      final Tile farTile = createTile(_mp, ZOOM, 150, 150);
+
+      // the map was zoomed
+      final Tile zoomedTile = createTile(_mp, ZOOM + 1, 204, 404);
+
+      _queue.add(farTile, true);
+      _queue.add(visibleTile, true);
+      _queue.add(zoomedTile, true);
+
+      assertSame(visibleTile, _queue.pollFirst());
+
+      // canceled tiles are queued again when they are painted
+      assertFalse(farTile.isLoading());
+      assertFalse(zoomedTile.isLoading());
+
+      assertNull(_queue.pollFirst());
+      assertEquals(0, _queue.size());
+   }
+
+   @Test
+   void testNearestTileFirst() {
+
+      final Tile cornerTile = createTile(_mp, ZOOM, 100, 200);
+      final Tile marginTile = createTile(_mp, ZOOM, 106, 202);
+      final Tile centerTile = createTile(_mp, ZOOM, 102, 202);
+      final Tile nearTile = createTile(_mp, ZOOM, 101, 202);
+
+      _queue.add(cornerTile, true);
+      _queue.add(marginTile, true);
+      _queue.add(centerTile, true);
+      _queue.add(nearTile, true);
+
+      assertSame(centerTile, _queue.pollFirst());
+      assertSame(nearTile, _queue.pollFirst());
+      assertSame(cornerTile, _queue.pollFirst());
+
+      // tiles in the margin around the viewport are also loaded
+      assertSame(marginTile, _queue.pollFirst());
+      assertNull(_queue.pollFirst());
+   }
+
+   @Test
+   void testOtherTilesAreLoadedLast() {
+
+      final Tile offlineTile = createTile(_mp, ZOOM, 102, 202);
+      final Tile otherMpTile = createTile(new MPCustom(), ZOOM, 150, 150);
+      final Tile visibleTile = createTile(_mp, ZOOM, 104, 204);
+
+      // a child tile is not canceled, the parent image needs all children
+      final Tile parentTile = createTile(_mp, ZOOM, 150, 150);
+      final Tile childTile = createTile(_mp, ZOOM, 150, 150);
+      childTile.setParentTile(parentTile);
+
+      _queue.add(offlineTile, false);
+      _queue.add(childTile, true);
+      _queue.add(otherMpTile, true);
+      _queue.add(visibleTile, true);
+
+      assertSame(visibleTile, _queue.pollFirst());
+      assertSame(otherMpTile, _queue.pollFirst());
+      assertSame(childTile, _queue.pollFirst());
+      assertSame(offlineTile, _queue.pollFirst());
+      assertNull(_queue.pollFirst());
+   }
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.byteholder.geoclipse.map.TilePackStore;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TilePackStoreTests {
+
+   @TempDir
+   private File _packFolder;
+
+   @AfterEach
+   void tearDown() {
+
+      TilePackStore.closeAll();
+   }
+
+   @Test
+   void testCompact() throws IOException {
+
+      TilePackStore packStore = TilePackStore.getStore(_packFolder);
+
+      for (int tileIndex = 0; tileIndex < 100; tileIndex++) {
+         packStore.write("10/" + tileIndex + ".png", new byte[1000]); //$NON-NLS-1$ //$NON-NLS-2$
+      }
+
+      packStore.deleteIf(tileKey -> tileKey.startsWith("10/1")); //$NON-NLS-1$
+      packStore.write("10/5.png", new byte[] { 5 }); //$NON-NLS-1$
+
+      final long fileSizeBefore = packStore.getFileSize();
+
+      packStore.compact();
+
+      assertTrue(packStore.getFileSize() < fileSizeBefore);
+      assertEquals(0, packStore.getGarbageSize());
+      assertEquals(89, packStore.getSize());
+      assertArrayEquals(new byte[] { 5 }, packStore.read("10/5.png")); //$NON-NLS-1$
+
+      // reopen compacted pack file
+      TilePackStore.closeAll();
+      packStore = TilePackStore.getStore(_packFolder);
+
+      assertEquals(89, packStore.getSize());
+      assertFalse(packStore.contains("10/15.png")); //$NON-NLS-1$
+      assertArrayEquals(new byte[1000], packStore.read("10/99.png")); //$NON-NLS-1$
+   }
+
+   @Test
+   void testDeleteStore() throws IOException {
+
+      TilePackStore packStore = TilePackStore.getStore(_packFolder);
+
+      packStore.write("12/2140/1436.png", new byte[] { 1, 2, 3 }); //$NON-NLS-1$
+
+      // map the pack file
+      assertArrayEquals(new byte[] { 1, 2, 3 }, packStore.read("12/2140/1436.png")); //$NON-NLS-1$
+
+      TilePackStore.deleteStore(_packFolder, false);
+
+      assertFalse(new File(_packFolder, TilePackStore.PACK_FILE_NAME).exists());
+      assertFalse(new File(_packFolder, TilePackStore.INDEX_FILE_NAME).exists());
+
+      // deleted tile images must not appear again
+      packStore = TilePackStore.getStore(_packFolder);
+
+      assertEquals(0, packStore.getSize());
+      assertNull(packStore.read("12/2140/1436.png")); //$NON-NLS-1$
+   }
+
+   @Test
+   void testReopenWithoutIndex() throws IOException {
+
+      TilePackStore packStore = TilePackStore.getStore(_packFolder);
+
+      packStore.write("12/2140/1436.png", new byte[] { 1, 2, 3 }); //$NON-NLS-1$
+
+      TilePackStore.closeAll();
+
+      // the index is created again from the pack file, e.g. after a crash
+      assertTrue(new File(_packFolder, TilePackStore.INDEX_FILE_NAME).delete());
+
+      packStore = TilePackStore.getStore(_packFolder);
+
+      assertEquals(1, packStore.getSize());
+      assertArrayEquals(new byte[] { 1, 2, 3 }, packStore.read("12/2140/1436.png")); //$NON-NLS-1$
+   }
+
+   @Test
+   void testWriteDeleteReopen() throws IOException {
+
+      TilePackStore packStore = TilePackStore.getStore(_packFolder);
+
+      packStore.write("12/2140/1436.png", new byte[] { 1, 2, 3 }); //$NON-NLS-1$
+      packStore.write("12/2140/1437.png", new byte[] { 4, 5 }); //$NON-NLS-1$
+      packStore.write("12/2140/1437.png", new byte[] { 6 }); //$NON-NLS-1$
+      packStore.write("12/2140/1438.png", new byte[] { 7 }); //$NON-NLS-1$
+
+      assertTrue(packStore.delete("12/2140/1438.png")); //$NON-NLS-1$
+      assertFalse(packStore.delete("12/2140/1438.png")); //$NON-NLS-1$
+
+      assertArrayEquals(new byte[] { 1, 2, 3 }, packStore.read("12/2140/1436.png")); //$NON-NLS-1$
+      assertArrayEquals(new byte[] { 6 }, packStore.read("12/2140/1437.png")); //$NON-NLS-1$
+      assertNull(packStore.read("12/2140/1438.png")); //$NON-NLS-1$
+
+      // the index is saved when the store is closed
+      TilePackStore.closeAll();
+      assertTrue(new File(_packFolder, TilePackStore.INDEX_FILE_NAME).exists());
+
+      packStore = TilePackStore.getStore(_packFolder);
+
+      assertEquals(2, packStore.getSize());
+      assertArrayEquals(new byte[] { 1, 2, 3 }, packStore.read("12/2140/1436.png")); //$NON-NLS-1$
+      assertArrayEquals(new byte[] { 6 }, packStore.read("12/2140/1437.png")); //$NON-NLS-1$
+      assertFalse(packStore.contains("12/2140/1438.png")); //$NON-NLS-1$
+   }
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.byteholder.geoclipse.map.Tile;
+import de.byteholder.geoclipse.mapprovider.MP;
+import de.byteholder.geoclipse.mapprovider.MPCustom;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.tourbook.data.TourData;
+import net.tourbook.map2.view.TourTileIndex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TourTileIndexTests {
+
+   private static final int ZOOM = 10;
+
+   private MP               _mp;
+   private int              _tileSize;
+
+   /**
+    * @param allTilePositions
+    *           Tile x/y positions, a position of 0.5 is the center of the tile
+    *
+    * @return Returns a tour with world pixels at the tile positions
+    */
+   private TourData createTour(final double... allTilePositions) {
+
+      final int numPositions = allTilePositions.length / 2;
+
+      final Point[] allWorldPixelPos = new Point[numPositions];
+
+      for (int positionIndex = 0; positionIndex < numPositions; positionIndex++) {
+
+         allWorldPixelPos[positionIndex] = new Point(
+               (int) (allTilePositions[positionIndex * 2] * _tileSize),
+               (int) (allTilePositions[positionIndex * 2 + 1] * _tileSize));
+      }
+
+      final TourData tourData = new TourData();
+
+      // the geo positions are not used when the world pixels are available
+      tourData.latitudeSerie = new double[numPositions];
+      tourData.longitudeSerie = new double[numPositions];
+
+      tourData.setWorldPixelForTour(allWorldPixelPos, ZOOM, _mp.getProjection().getId().hashCode());
+
+      return tourData;
+   }
+
+   private int[] getTourIndices(final TourTileIndex tourTileIndex, final int tileX, final int tileY) {
+
+      return tourTileIndex.getTourIndices(new Tile(_mp, ZOOM, tileX, tileY, null));
+   }
+
+   @BeforeEach
+   void setUp() {
+
+      _mp = new MPCustom();
+      _tileSize = _mp.getTileSize();
+   }
+
+   @Test
+   void testDiagonalLine() {
+
+      final TourTileIndex tourTileIndex = TourTileIndex.create(
+            Arrays.asList(createTour(100.5, 200.25, 110.5, 205.25)),
+            _mp,
+            ZOOM);
+
+      // the line is crossing these tiles without a position in it
+      assertArrayEquals(new int[] { 0 }, getTourIndices(tourTileIndex, 105, 202));
+      assertArrayEquals(new int[] { 0 }, getTourIndices(tourTileIndex, 107, 203));
+
+      // tiles beside the line
+      assertEquals(0, getTourIndices(tourTileIndex, 105, 204).length);
+      assertEquals(0, getTourIndices(tourTileIndex, 107, 201).length);
+   }
+
+   @Test
+   void testHorizontalLine() {
+
+      final TourTileIndex tourTileIndex = TourTileIndex.create(
+            Arrays.asList(createTour(100.5, 200.5, 110.5, 200.5)),
+            _mp,
+            ZOOM);
+
+      // all tiles between the start and end tile are crossed
+      for (int tileX = 100; tileX <= 110; tileX++) {
+         assertArrayEquals(new int[] { 0 }, getTourIndices(tourTileIndex, tileX, 200));
+      }
+
+      // tile below the line which is not around the start/end markers
+      assertEquals(0, getTourIndices(tourTileIndex, 105, 201).length);
+   }
+
+   @Test
+   void testMarkerTiles() {
+
+      final TourTileIndex tourTileIndex = TourTileIndex.create(
+            Arrays.asList(createTour(100.5, 200.5, 100.6, 200.6)),
+            _mp,
+            ZOOM);
+
+      // the start/end markers can overlap the tiles around the start/end position
+      assertArrayEquals(new int[] { 0 }, getTourIndices(tourTileIndex, 99, 199));
+      assertArrayEquals(new int[] { 0 }, getTourIndices(tourTileIndex, 101, 201));
+
+      assertEquals(0, getTourIndices(tourTileIndex, 102, 200).length);
+   }
+
+   @Test
+   void testTourOrder() {
+
+      final List<TourData> allTourData = new ArrayList<>();
+
+      allTourData.add(createTour(100.5, 200.5, 110.5, 200.5));
+      allTourData.add(null);
+      allTourData.add(createTour(105.5, 195.5, 105.5, 205.5));
+      allTourData.add(createTour(120.5, 200.5, 130.5, 200.5));
+
+      final TourTileIndex tourTileIndex = TourTileIndex.create(allTourData, _mp, ZOOM);
+
+      // both crossing tours are painted in the original order
+      assertArrayEquals(new int[] { 0, 2 }, getTourIndices(tourTileIndex, 105, 200));
+
+      assertArrayEquals(new int[] { 3 }, getTourIndices(tourTileIndex, 125, 200));
+   }
+}
@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package srtm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.tourbook.application.TourbookPlugin;
+import net.tourbook.srtm.ElevationSRTM3;
+import net.tourbook.srtm.GeoLat;
+import net.tourbook.srtm.GeoLon;
+import net.tourbook.srtm.IPreferences;
+import net.tourbook.srtm.NumberForm;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ElevationSRTM3Tests {
+
+   private static final IPreferenceStore _prefStore      = TourbookPlugin.getPrefStore();
+
+   /**
+    * Latitude of the south border of the test files, these files are not used by other tests
+    */
+   private static final int              FILE_LATITUDE   = -60;
+   private static final int              FILE_LONGITUDE  = 100;
+
+   /**
+    * More files than the max number of cached files
+    */
+   private static final int              NUM_FILES       = 40;
+
+   /**
+    * The test positions are in the north west corner of a file, only the first rows are written
+    */
+   private static final double           POSITION_DIFF   = 0.001;
+   private static final int              NUM_FILE_ROWS   = 3;
+   private static final int              GRID_POINTS     = 1201;
+
+   /**
+    * The file values are increasing from the north west corner, that the interpolation between the
+    * grid values can be checked
+    */
+   private static final int              ROW_GRADIENT    = 10;
+   private static final int              COLUMN_GRADIENT = 1;
+
+   @TempDir
+   static File                           _srtmFolder;
+
+   private static String                 _prevSrtmFolder;
+
+   private void assertElevations(final float[] allElevations) {
+
+      assertEquals(NUM_FILES * 2, allElevations.length);
+
+      for (int positionIndex = 0; positionIndex < allElevations.length; positionIndex++) {
+         assertEquals(getInterpolatedElevation(positionIndex % NUM_FILES), allElevations[positionIndex], 0.01);
+      }
+   }
+
+   @AfterAll
+   static void cleanUp() {
+
+      _prefStore.setValue(IPreferences.SRTM_DATA_FILEPATH, _prevSrtmFolder);
+   }
+
+   /**
+    * @return Returns positions which are changing the file for each position
+    */
+   private double[][] createPositions() {
+
+      final double[] allLatitudes = new double[NUM_FILES * 2];
+      final double[] allLongitudes = new double[NUM_FILES * 2];
+
+      for (int positionIndex = 0; positionIndex < allLatitudes.length; positionIndex++) {
+
+         allLatitudes[positionIndex] = FILE_LATITUDE + 1 - POSITION_DIFF;
+         allLongitudes[positionIndex] = FILE_LONGITUDE + positionIndex % NUM_FILES + POSITION_DIFF;
+      }
+
+      return new double[][] { allLatitudes, allLongitudes };
+   }
+
+   private static float getFileElevation(final int fileIndex, final int row, final int column) {
+
+      return 100 + fileIndex + row * ROW_GRADIENT + column * COLUMN_GRADIENT;
+   }
+
+   /**
+    * @param fileIndex
+    *
+    * @return Returns the elevation at the test position, the values are linear within the grid,
+    *         therefore the bilinear interpolation is exact
+    */
+   private static double getInterpolatedElevation(final int fileIndex) {
+
+      final double row = POSITION_DIFF * 1200;
+      final double column = POSITION_DIFF * 1200;
+
+      // the interpolation is adding 0.5
+      return getFileElevation(fileIndex, 0, 0) + row * ROW_GRADIENT + column * COLUMN_GRADIENT + 0.5;
+   }
+
+   @BeforeAll
+   static void initAll() throws IOException {
+
+      // the file names are formatted with these number formats, they are created when they are instantiated
+      new NumberForm();
+
+      _prevSrtmFolder = _prefStore.getString(IPreferences.SRTM_DATA_FILEPATH);
+      _prefStore.setValue(IPreferences.SRTM_DATA_FILEPATH, _srtmFolder.getAbsolutePath());
+
+      final File srtm3Folder = new File(_srtmFolder, "srtm3"); //$NON-NLS-1$
+      srtm3Folder.mkdirs();
+
+      for (int fileIndex = 0; fileIndex < NUM_FILES; fileIndex++) {
+
+         final ByteBuffer fileBuffer = ByteBuffer.allocate(NUM_FILE_ROWS * GRID_POINTS * 2);
+
+         for (int row = 0; row < NUM_FILE_ROWS; row++) {
+            for (int column = 0; column < GRID_POINTS; column++) {
+               fileBuffer.putShort((short) getFileElevation(fileIndex, row, column));
+            }
+         }
+
+         // e.g. S60E100.hgt
+         final String fileName = "S" + Math.abs(FILE_LATITUDE) + "E" + (FILE_LONGITUDE + fileIndex) + ".hgt"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+         Files.write(new File(srtm3Folder, fileName).toPath(), fileBuffer.array());
+      }
+   }
+
+   @Test
+   void testBatchAndSingleLookup() {
+
+      final ElevationSRTM3 elevationSRTM3 = new ElevationSRTM3();
+
+      final double latitude = FILE_LATITUDE + 1 - POSITION_DIFF;
+      final double longitude = FILE_LONGITUDE + POSITION_DIFF;
+
+      final float[] allElevations = elevationSRTM3.getElevations(new double[] { latitude }, new double[] { longitude });
+      final double elevation = elevationSRTM3.getElevationDouble(new GeoLat(latitude), new GeoLon(longitude));
+
+      assertEquals(getInterpolatedElevation(0), allElevations[0], 0.01);
+      assertEquals(elevation, allElevations[0], 0.01);
+   }
+
+   @Test
+   void testConcurrentLookup() throws Exception {
+
+      final ElevationSRTM3 elevationSRTM3 = new ElevationSRTM3();
+      final double[][] allPositions = createPositions();
+
+      final List<Callable<float[]>> allLookups = new ArrayList<>();
+
+      for (int lookupIndex = 0; lookupIndex < 16; lookupIndex++) {
+         allLookups.add(() -> elevationSRTM3.getElevations(allPositions[0], allPositions[1]));
+      }
+
+      final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+      try {
+
+         for (final Future<float[]> lookup : executor.invokeAll(allLookups)) {
+            assertElevations(lookup.get());
+         }
+
+      } finally {
+         executor.shutdown();
+      }
+   }
+
+   @Test
+   void testFileCacheEviction() {
+
+      final ElevationSRTM3 elevationSRTM3 = new ElevationSRTM3();
+      final double[][] allPositions = createPositions();
+
+      // more files are used than cached, evicted files must be opened again
+      assertElevations(elevationSRTM3.getElevations(allPositions[0], allPositions[1]));
+      assertElevations(elevationSRTM3.getElevations(allPositions[0], allPositions[1]));
+   }
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package tour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.tourbook.data.TourData;
+import net.tourbook.tour.TourDataCache;
+
+import org.junit.jupiter.api.Test;
+
+public class TourDataCacheTests {
+
+   @Test
+   void testClear() {
+
+      final TourDataCache tourDataCache = new TourDataCache(10, 16);
+      final TourData tourData = new TourData();
+
+      tourDataCache.put(1L, tourData);
+      tourDataCache.clear();
+
+      // a cleared tour must be reloaded also when it is still used
+      assertNull(tourDataCache.get(1L));
+      assertEquals(0, tourDataCache.getAllTours().size());
+   }
+
+   @Test
+   void testRemove() {
+
+      final TourDataCache tourDataCache = new TourDataCache(10, 16);
+      final TourData tourData = new TourData();
+
+      tourDataCache.put(1L, tourData);
+      assertSame(tourData, tourDataCache.get(1L));
+
+      tourDataCache.remove(1L);
+      assertNull(tourDataCache.get(1L));
+   }
+
+   @Test
+   void testStatistics() {
+
+      final TourDataCache tourDataCache = new TourDataCache(10, 16);
+
+      tourDataCache.put(1L, new TourData());
+
+      tourDataCache.get(1L);
+      tourDataCache.get(1L);
+      tourDataCache.get(2L);
+
+      final CacheStats statistics = tourDataCache.getStatistics();
+
+      assertEquals(2, statistics.hitCount());
+      assertEquals(1, statistics.missCount());
+   }
+
+   @Test
+   void testSameInstanceForUsedTours() {
+
+      // the cache can contain only 2 tours
+      final TourDataCache tourDataCache = new TourDataCache(2, 1);
+
+      final List<TourData> allUsedTours = new ArrayList<>();
+
+      for (long tourId = 0; tourId < 1000; tourId++) {
+
+         final TourData tourData = new TourData();
+
+         allUsedTours.add(tourData);
+         tourDataCache.put(tourId, tourData);
+      }
+
+      // evicted tours which are still used must be returned with the same instance
+      for (int tourId = 0; tourId < 1000; tourId++) {
+         assertSame(allUsedTours.get(tourId), tourDataCache.get((long) tourId));
+      }
+
+      assertEquals(1000, tourDataCache.getAllTours().size());
+   }
+}
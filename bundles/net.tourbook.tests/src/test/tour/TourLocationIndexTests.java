@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package tour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import net.tourbook.tour.location.TourLocationIndex;
+
+import org.junit.jupiter.api.Test;
+
+public class TourLocationIndexTests {
+
+   @Test
+   void testAddRemove() {
+
+      final TourLocationIndex locationIndex = new TourLocationIndex();
+
+      locationIndex.add(1, 14, 100, 200, 100, 200);
+      locationIndex.add(2, 10, 150, 300, 150, 300);
+
+      assertEquals(1, locationIndex.getLocationId(14, 160, 160));
+      assertEquals(1, locationIndex.getLocationId(10, 160, 160));
+      assertEquals(2, locationIndex.getLocationId(10, 250, 250));
+      assertEquals(TourLocationIndex.LOCATION_IS_NOT_AVAILABLE, locationIndex.getLocationId(14, 250, 250));
+
+      locationIndex.remove(1);
+
+      assertEquals(2, locationIndex.getLocationId(10, 160, 160));
+      assertEquals(TourLocationIndex.LOCATION_IS_NOT_AVAILABLE, locationIndex.getLocationId(10, 120, 120));
+
+      locationIndex.setBoundingBox(2, 0, 50, 0, 50);
+
+      assertEquals(2, locationIndex.getLocationId(10, 20, 20));
+      assertEquals(TourLocationIndex.LOCATION_IS_NOT_AVAILABLE, locationIndex.getLocationId(10, 250, 250));
+      assertEquals(1, locationIndex.getSize());
+   }
+
+   @Test
+   void testPackedIndex() {
+
+      final TourLocationIndex locationIndex = new TourLocationIndex();
+
+      // a grid of 100 x 100 locations, the index is packed several times
+      for (int latIndex = 0; latIndex < 100; latIndex++) {
+         for (int lonIndex = 0; lonIndex < 100; lonIndex++) {
+
+            final int latitude = latIndex * 1000;
+            final int longitude = lonIndex * 1000;
+
+            locationIndex.add(latIndex * 100 + lonIndex, 14, latitude, latitude + 999, longitude, longitude + 999);
+         }
+      }
+
+      assertEquals(10_000, locationIndex.getSize());
+
+      assertEquals(0, locationIndex.getLocationId(14, 500, 500));
+      assertEquals(4217, locationIndex.getLocationId(14, 42_500, 17_500));
+      assertEquals(9999, locationIndex.getLocationId(14, 99_999, 99_999));
+      assertEquals(TourLocationIndex.LOCATION_IS_NOT_AVAILABLE, locationIndex.getLocationId(14, 100_000, 500));
+
+      for (int locationId = 0; locationId < 5000; locationId++) {
+         locationIndex.remove(locationId);
+      }
+
+      assertEquals(5000, locationIndex.getSize());
+      assertEquals(TourLocationIndex.LOCATION_IS_NOT_AVAILABLE, locationIndex.getLocationId(14, 42_500, 17_500));
+      assertEquals(7317, locationIndex.getLocationId(14, 73_500, 17_500));
+   }
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package ui.views.geoCompare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Random;
+
+import net.tourbook.ui.views.geoCompare.GeoPartMatcher;
+
+import org.junit.jupiter.api.Test;
+
+public class GeoPartMatcherTests {
+
+   /**
+    * @return Returns the index with the smallest diff when ALL tour slices are compared
+    */
+   private static int findBestMatch_BruteForce(final float[] normLatLonDiff) {
+
+      float minDiffValue = Float.MAX_VALUE;
+      int minDiffIndex = -1;
+
+      for (int normTourIndex = 0; normTourIndex < normLatLonDiff.length; normTourIndex++) {
+
+         final float latLonDiff = normLatLonDiff[normTourIndex];
+
+         if (latLonDiff < minDiffValue && latLonDiff != -1) {
+
+            minDiffValue = latLonDiff;
+            minDiffIndex = normTourIndex;
+         }
+      }
+
+      return minDiffIndex;
+   }
+
+   private static int[] createTrack(final Random random, final int numSlices, final int startValue) {
+
+      final int[] track = new int[numSlices];
+
+      int value = startValue;
+
+      for (int sliceIndex = 0; sliceIndex < numSlices; sliceIndex++) {
+
+         value += random.nextInt(21) - 10;
+         track[sliceIndex] = value;
+      }
+
+      return track;
+   }
+
+   @Test
+   void testFindBestMatch_Canceled() {
+
+      final int[] track = { 1, 2, 3 };
+
+      assertNull(GeoPartMatcher.findBestMatch(track, track, track, track, () -> true));
+   }
+
+   @Test
+   void testFindBestMatch_PartIsLongerThanTour() {
+
+      final int[] part = { 1, 2, 3 };
+      final int[] tour = { 1, 2 };
+
+      final GeoPartMatcher.Result bestMatch = GeoPartMatcher.findBestMatch(part, part, tour, tour, () -> false);
+
+      assertEquals(-1, bestMatch.normTourIndex());
+      assertEquals(-1, bestMatch.latLonDiff());
+   }
+
+   @Test
+   void testFindBestMatch_SameAsBruteForce() {
+
+      final Random random = new Random(42);
+
+      for (int testIndex = 0; testIndex < 200; testIndex++) {
+
+         final int numTourSlices = 1 + random.nextInt(500);
+         final int numPartSlices = 1 + random.nextInt(100);
+
+         final int[] tourLat = createTrack(random, numTourSlices, 4_700_000);
+         final int[] tourLon = createTrack(random, numTourSlices, 1_100_000);
+
+         final int[] partLat;
+         final int[] partLon;
+
+         if (testIndex % 2 == 0 && numPartSlices <= numTourSlices) {
+
+            // part is a modified part of the tour, this creates many similar diff values
+
+            final int partStart = random.nextInt(numTourSlices - numPartSlices + 1);
+
+            partLat = new int[numPartSlices];
+            partLon = new int[numPartSlices];
+
+            for (int partIndex = 0; partIndex < numPartSlices; partIndex++) {
+
+               partLat[partIndex] = tourLat[partStart + partIndex] + random.nextInt(3) - 1;
+               partLon[partIndex] = tourLon[partStart + partIndex] + random.nextInt(3) - 1;
+            }
+
+         } else {
+
+            partLat = createTrack(random, numPartSlices, 4_700_000 + random.nextInt(200) - 100);
+            partLon = createTrack(random, numPartSlices, 1_100_000 + random.nextInt(200) - 100);
+         }
+
+         final float[] normLatLonDiff = GeoPartMatcher.computeLatLonDiff(partLat, partLon, tourLat, tourLon);
+         final int bruteForceIndex = findBestMatch_BruteForce(normLatLonDiff);
+
+         final GeoPartMatcher.Result bestMatch = GeoPartMatcher.findBestMatch(partLat, partLon, tourLat, tourLon, () -> false);
+
+         assertEquals(bruteForceIndex, bestMatch.normTourIndex());
+
+         if (bruteForceIndex != -1) {
+            assertEquals((long) normLatLonDiff[bruteForceIndex], (long) (float) bestMatch.latLonDiff());
+         }
+      }
+   }
+}
@@ -236,6 +236,8 @@ public class Messages extends NLS {
    public static String        TileInfo_Position_Y;
    public static String        TileInfo_Position_Zoom;
 
+   public static String        TilePackStore_Import_SubTask;
+
    public static String        Url_Parameter_Random;
    public static String        Url_Parameter_Random_Abbr;
    public static String        Url_Parameter_Text;
@@ -624,6 +624,9 @@ public class DialogManageOfflineImages extends TitleAreaDialog implements ITileL
          }
       }
 
+      // release the space of the deleted images in the pack files
+      BusyIndicator.showWhile(_display, TilePackStore::compactWhenNeeded_All);
+
       getOfflineImageState();
 
       // reset states
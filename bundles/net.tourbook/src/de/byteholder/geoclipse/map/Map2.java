@@ -12354,6 +12354,9 @@ public class Map2 extends Canvas {
       _tilePos_MaxX = _tilePos_MinX + numTileWidth;
       _tilePos_MaxY = _tilePos_MinY + numTileHeight;
 
+      // load the tiles near the viewport center first
+      _mp.setTileLoadingViewport(_mapZoomLevel, _tilePos_MinX, _tilePos_MinY, _tilePos_MaxX, _tilePos_MaxY);
+
       _allPaintedTiles = new Tile[numTileWidth + 1][numTileHeight + 1];
 
       /*
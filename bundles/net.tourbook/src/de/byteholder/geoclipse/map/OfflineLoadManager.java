@@ -20,7 +20,6 @@ import de.byteholder.geoclipse.preferences.IMappingPreferences;
 
 import java.io.File;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.LinkedBlockingDeque;
 
 import net.tourbook.application.TourbookPlugin;
 import net.tourbook.common.util.StatusUtil;
@@ -58,7 +57,7 @@ class OfflineLoadManager {
       public void update(final Tile tile) {
 
          // update loading state
-         final LinkedBlockingDeque<Tile> waitingQueue = MP.getTileWaitingQueue();
+         final TileLoadingQueue waitingQueue = MP.getTileWaitingQueue();
 
          if (waitingQueue.isEmpty()) {
             _isLoading = false;
@@ -150,13 +149,8 @@ class OfflineLoadManager {
             return false;
          }
 
-         final File tileFile = tilePath.toFile();
-         if (tileFile.exists()) {
-
-            // offline image is available
-
-            return tileFile.delete();
-         }
+         // delete offline image from the pack file or the image file
+         return TileImageCache.deleteOfflineImage(_osTileCachePath, tilePath);
 
       } catch (final Exception e) {
          StatusUtil.showStatus("error occurred when deleting offline image: " + tilePath.toOSString(), e); //$NON-NLS-1$
@@ -190,20 +184,13 @@ class OfflineLoadManager {
             return false;
          }
 
-         final File tileFile = tilePath.toFile();
-         if (tileFile.exists()) {
-
-            // offline image is available
-
-            return true;
-         }
+         // offline image is available in the pack file or as image file
+         return TileImageCache.isOfflineImageAvailable(_osTileCachePath, tilePath);
 
       } catch (final Exception e) {
          StatusUtil.showStatus("error occurred when checking offline image", e); //$NON-NLS-1$
          return false;
       }
-
-      return false;
    }
 
    void stopLoading() {
@@ -19,7 +19,11 @@ import de.byteholder.geoclipse.mapprovider.MP;
 import de.byteholder.geoclipse.mapprovider.MapProviderManager;
 import de.byteholder.geoclipse.preferences.IMappingPreferences;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
@@ -48,6 +52,8 @@ import org.eclipse.swt.widgets.Display;
 /**
  * This cache manages map images by caching and saving the images for the offline mode. The cached
  * images can be dimmed, saved offline image are not dimmed.
+ * <p>
+ * Offline images are saved as image files or in the pack files of {@link TilePackStore}.
  *
  * @author joshua.marinacci@sun.com
  * @author Michael Kanis
@@ -72,6 +78,11 @@ public class TileImageCache {
 
    private static boolean                                _useOffLineCache;
 
+   /**
+    * When <code>true</code> then offline images are saved in a {@link TilePackStore}
+    */
+   private static boolean                                _useTilePack;
+
    private static final ReentrantLock                    CREATE_DIR_LOCK            = new ReentrantLock();
    private static final ReentrantLock                    CACHE_LOCK                 = new ReentrantLock();
 
@@ -96,6 +107,37 @@ public class TileImageCache {
       setTileCachePath();
    }
 
+   /**
+    * Delete an offline image from the pack file and the image file.
+    *
+    * @param osTileCachePath
+    * @param tileImagePath
+    *
+    * @return Returns <code>true</code> when the offline image was deleted
+    */
+   static boolean deleteOfflineImage(final String osTileCachePath, final IPath tileImagePath) {
+
+      boolean isDeleted = false;
+
+      if (_useTilePack) {
+
+         final IPath tileCachePath = new Path(osTileCachePath);
+         final TilePackStore packStore = TilePackStore.getStore(tileCachePath, tileImagePath);
+
+         if (packStore != null) {
+            isDeleted = packStore.delete(TilePackStore.getTileKey(tileCachePath, tileImagePath));
+         }
+      }
+
+      // an image file can be available from a previous offline cache
+      final File tileFile = tileImagePath.toFile();
+      if (tileFile.exists()) {
+         isDeleted |= tileFile.delete();
+      }
+
+      return isDeleted;
+   }
+
    /**
     * @return OS path for the tile cache or <code>null</code> when offline cache is not used or
     *         otherwise
@@ -110,6 +152,91 @@ public class TileImageCache {
       return null;
    }
 
+   /**
+    * @param osTileCachePath
+    * @param tileImagePath
+    *
+    * @return Returns <code>true</code> when the offline image is available in the pack file or as
+    *         image file
+    */
+   static boolean isOfflineImageAvailable(final String osTileCachePath, final IPath tileImagePath) {
+
+      if (_useTilePack) {
+
+         final IPath tileCachePath = new Path(osTileCachePath);
+         final TilePackStore packStore = TilePackStore.getStore(tileCachePath, tileImagePath);
+
+         if (packStore != null && packStore.contains(TilePackStore.getTileKey(tileCachePath, tileImagePath))) {
+            return true;
+         }
+      }
+
+      return tileImagePath.toFile().exists();
+   }
+
+   /**
+    * @return Returns <code>true</code> when offline images are saved in a {@link TilePackStore}
+    */
+   public static boolean isTilePackUsed() {
+      return _useTilePack;
+   }
+
+   /**
+    * Load offline image from the pack file or from the image file. When the tile pack is used and
+    * an image file from a previous offline cache is available, then it is moved into the pack file.
+    *
+    * @param osTileCachePath
+    * @param tileImagePath
+    *
+    * @return
+    */
+   private static ImageData loadOfflineImageData(final String osTileCachePath, final IPath tileImagePath) {
+
+      if (_useTilePack) {
+
+         final IPath tileCachePath = new Path(osTileCachePath);
+         final TilePackStore packStore = TilePackStore.getStore(tileCachePath, tileImagePath);
+
+         if (packStore != null) {
+
+            final String tileKey = TilePackStore.getTileKey(tileCachePath, tileImagePath);
+
+            byte[] imageBytes = packStore.read(tileKey);
+
+            if (imageBytes == null) {
+
+               final File tileFile = tileImagePath.toFile();
+               if (tileFile.exists()) {
+
+                  // import image file into the pack file
+
+                  try {
+
+                     imageBytes = Files.readAllBytes(tileFile.toPath());
+
+                     packStore.write(tileKey, imageBytes);
+
+                     tileFile.delete();
+
+                  } catch (final IOException e) {
+                     StatusUtil.log(e);
+                  }
+               }
+            }
+
+            if (imageBytes != null) {
+               return new ImageData(new ByteArrayInputStream(imageBytes));
+            }
+         }
+      }
+
+      /*
+       * Load image with the constructor which is 20 times faster than loading the image with an
+       * imageloader
+       */
+      return new ImageData(tileImagePath.toOSString());
+   }
+
    private static void setTileCachePath() {
 
       // get status if the tile is offline cache is activated
@@ -144,6 +271,8 @@ public class TileImageCache {
          }
 
          _osTileCachePath = tileCachePath.toOSString();
+
+         _useTilePack = prefStore.getBoolean(IMappingPreferences.OFFLINE_CACHE_USE_TILE_PACK);
       }
    }
 
@@ -259,7 +388,7 @@ public class TileImageCache {
             .append(hiDPI_2xFileName)
             .addFileExtension(fileExt);
 
-      if (hiDPIFilePath.toFile().exists()) {
+      if (isOfflineImageAvailable(_osTileCachePath, hiDPIFilePath)) {
          return hiDPIFilePath;
       }
 
@@ -270,7 +399,7 @@ public class TileImageCache {
             .append(hiDPI_15xFileName)
             .addFileExtension(fileExt);
 
-      if (hiDPIFilePath.toFile().exists()) {
+      if (isOfflineImageAvailable(_osTileCachePath, hiDPIFilePath)) {
          return hiDPIFilePath;
       }
 
@@ -278,7 +407,7 @@ public class TileImageCache {
        * Test default image
        */
 
-      if (tileImagePath.toFile().exists()) {
+      if (isOfflineImageAvailable(_osTileCachePath, tileImagePath)) {
          return tileImagePath;
       }
 
@@ -293,7 +422,7 @@ public class TileImageCache {
             .append(partImageFileName)
             .addFileExtension(fileExt);
 
-      if (partImageFilePath.toFile().exists()) {
+      if (isOfflineImageAvailable(_osTileCachePath, partImageFilePath)) {
          return partImageFilePath;
       }
 
@@ -335,11 +464,7 @@ public class TileImageCache {
 
             try {
 
-               /*
-                * Load image with the constructor which is 20 times faster than loading the
-                * image with an imageloader
-                */
-               final ImageData imageData = new ImageData(osTileImagePath);
+               final ImageData imageData = loadOfflineImageData(_osTileCachePath, offlineImagePath);
 
                final Image tileImage = createTileImage(tile, imageData);
 
@@ -538,9 +663,9 @@ public class TileImageCache {
 
       IPath tilePathWithoutExt = tileImageFilePath.removeFileExtension();
 
-      // check tile directory
+      // check tile directory, it is not needed for the tile pack
       final File tileDir = tilePathWithoutExt.removeLastSegments(1).toFile();
-      if (tileDir.exists() == false) {
+      if (_useTilePack == false && tileDir.exists() == false) {
 
          /*
           * create tile directory
@@ -599,7 +724,11 @@ public class TileImageCache {
 
          final IPath fullImageFilePath = tilePathWithoutExt.addFileExtension(extension);
 
-         imageLoader.save(fullImageFilePath.toOSString(), imageType);
+         if (_useTilePack) {
+            saveOfflineImage_TilePack(imageLoader, fullImageFilePath, imageType);
+         } else {
+            imageLoader.save(fullImageFilePath.toOSString(), imageType);
+         }
 
          // update map provider with the image format
          mp.setImageFormat(MapProviderManager.getImageMimeType(imageType));
@@ -613,6 +742,24 @@ public class TileImageCache {
       }
    }
 
+   private void saveOfflineImage_TilePack(final ImageLoader imageLoader,
+                                          final IPath imageFilePath,
+                                          final int imageType) throws IOException {
+
+      final IPath tileCachePath = new Path(_osTileCachePath);
+      final TilePackStore packStore = TilePackStore.getStore(tileCachePath, imageFilePath);
+
+      if (packStore == null) {
+         throw new IOException("Tile pack is not available for: " + imageFilePath.toOSString()); //$NON-NLS-1$
+      }
+
+      final ByteArrayOutputStream imageStream = new ByteArrayOutputStream();
+
+      imageLoader.save(imageStream, imageType);
+
+      packStore.write(TilePackStore.getTileKey(tileCachePath, imageFilePath), imageStream.toByteArray());
+   }
+
    /**
     * Checks if the offline image is available in the file system and set's the state into the tile
     * which can be retrieved with {@link Tile#isOfflimeImageAvailable()}
@@ -715,11 +862,7 @@ public class TileImageCache {
 
             // create custom scaled image
 
-            /*
-             * Load image with the constructor which is 20 times faster than loading the
-             * image with an imageloader
-             */
-            final ImageData imageData = new ImageData(osTileImagePath);
+            final ImageData imageData = loadOfflineImageData(_osTileCachePath, new Path(osTileImagePath));
 
             tileImage = createTileImage(tile, imageData);
 
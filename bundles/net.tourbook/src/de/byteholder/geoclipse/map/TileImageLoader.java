@@ -27,7 +27,6 @@ import java.net.URLConnection;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -586,8 +585,9 @@ public class TileImageLoader implements Runnable {
        * load/create tile image
        */
       // get tile from queue
-      final LinkedBlockingDeque<Tile> tileWaitingQueue = MP.getTileWaitingQueue();
+      final TileLoadingQueue tileWaitingQueue = MP.getTileWaitingQueue();
 
+      // the tile is not the tile for which this task was submitted but the most important tile
       final Tile tile = tileWaitingQueue.pollFirst();
 
       if (tile == null) {
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package de.byteholder.geoclipse.map;
+
+import de.byteholder.geoclipse.map.event.TileEventId;
+import de.byteholder.geoclipse.mapprovider.MP;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * Contains the tiles which are waiting to be loaded. The tiles are not loaded in the queued order,
+ * {@link #pollFirst()} returns the map tile which is nearest to the center of the map viewport.
+ * <p>
+ * Map tiles which are not visible any more, because the map was zoomed or moved far away, are
+ * removed from the queue without loading them. They are queued again when they are painted.
+ * <p>
+ * Offline tiles are loaded in FIFO order after all map tiles.
+ */
+public class TileLoadingQueue {
+
+   /**
+    * Number of tiles around the viewport which are loaded even when they are not visible
+    */
+   private static final int  VIEWPORT_TILE_MARGIN   = 2;
+
+   private static final long PRIORITY_OTHER_MP      = Long.MAX_VALUE - 2;
+   private static final long PRIORITY_OUTSIDE_GROUP = Long.MAX_VALUE - 1;
+   private static final long PRIORITY_IS_STALE      = Long.MAX_VALUE;
+
+   /**
+    * Tiles which are painted in a map
+    */
+   private final ArrayList<Tile>  _mapTiles     = new ArrayList<>();
+
+   /**
+    * Tiles which are loaded to create offline images
+    */
+   private final ArrayDeque<Tile> _offlineTiles = new ArrayDeque<>();
+
+   private MP                     _viewportMP;
+   private int                    _viewportZoom;
+   private int                    _viewportMinX;
+   private int                    _viewportMinY;
+   private int                    _viewportMaxX;
+   private int                    _viewportMaxY;
+
+   /**
+    * @param tile
+    * @param isMapTile
+    *           <code>true</code> when the tile is painted in a map, <code>false</code> when the
+    *           tile is loaded to create an offline image
+    */
+   public synchronized void add(final Tile tile, final boolean isMapTile) {
+
+      if (isMapTile) {
+         _mapTiles.add(tile);
+      } else {
+         _offlineTiles.addLast(tile);
+      }
+   }
+
+   public synchronized void clear() {
+
+      _mapTiles.clear();
+      _offlineTiles.clear();
+   }
+
+   /**
+    * @param tile
+    *
+    * @return Returns the loading priority of a map tile, a lower value is loaded earlier
+    */
+   private long getPriority(final Tile tile) {
+
+      // child tiles are loaded together with their parent tile
+      final Tile parentTile = tile.getParentTile();
+      final Tile priorityTile = parentTile == null ? tile : parentTile;
+
+      if (_viewportMP == null || priorityTile.getMP() != _viewportMP) {
+
+         // the tile is from another map
+         return PRIORITY_OTHER_MP;
+      }
+
+      final int tileX = priorityTile.getX();
+      final int tileY = priorityTile.getY();
+
+      final boolean isNearViewport = priorityTile.getZoom() == _viewportZoom
+
+            && tileX >= _viewportMinX - VIEWPORT_TILE_MARGIN
+            && tileX <= _viewportMaxX + VIEWPORT_TILE_MARGIN
+            && tileY >= _viewportMinY - VIEWPORT_TILE_MARGIN
+            && tileY <= _viewportMaxY + VIEWPORT_TILE_MARGIN;
+
+      if (isNearViewport == false) {
+
+         if (parentTile != null || tile.getChildren() != null) {
+
+            /*
+             * A parent image is created only when all children are loaded, canceling some of them
+             * would leave the parent tile unfinished -> load it after all other tiles
+             */
+            return PRIORITY_OUTSIDE_GROUP;
+         }
+
+         return PRIORITY_IS_STALE;
+      }
+
+      // squared distance to the viewport center, in half tiles that it is an integer
+      final long distanceX = 2L * tileX - (_viewportMinX + _viewportMaxX);
+      final long distanceY = 2L * tileY - (_viewportMinY + _viewportMaxY);
+
+      return distanceX * distanceX + distanceY * distanceY;
+   }
+
+   public synchronized boolean isEmpty() {
+
+      return _mapTiles.isEmpty() && _offlineTiles.isEmpty();
+   }
+
+   /**
+    * Removes the tile which should be loaded next, map tiles which are not visible any more are
+    * canceled.
+    *
+    * @return Returns the next tile which should be loaded or <code>null</code> when the queue is
+    *         empty
+    */
+   public Tile pollFirst() {
+
+      final ArrayList<Tile> allCanceledTiles = new ArrayList<>();
+
+      Tile nextTile;
+
+      synchronized (this) {
+
+         nextTile = pollFirst_10_MapTile(allCanceledTiles);
+
+         if (nextTile == null) {
+            nextTile = _offlineTiles.pollFirst();
+         }
+      }
+
+      for (final Tile canceledTile : allCanceledTiles) {
+
+         // the tile is queued again when it is painted
+         canceledTile.setLoading(false);
+
+         MP.fireTileEvent(TileEventId.TILE_IS_CANCELED, canceledTile);
+      }
+
+      return nextTile;
+   }
+
+   private Tile pollFirst_10_MapTile(final ArrayList<Tile> allCanceledTiles) {
+
+      int bestIndex = -1;
+      long bestPriority = Long.MAX_VALUE;
+
+      // loop backwards that the last queued tile is loaded first when the priority is the same
+      for (int tileIndex = _mapTiles.size() - 1; tileIndex >= 0; tileIndex--) {
+
+         final Tile tile = _mapTiles.get(tileIndex);
+         final long priority = getPriority(tile);
+
+         if (priority == PRIORITY_IS_STALE) {
+
+            allCanceledTiles.add(tile);
+
+            // keep the index of the best tile valid
+            _mapTiles.remove(tileIndex);
+            if (bestIndex > tileIndex) {
+               bestIndex--;
+            }
+
+            continue;
+         }
+
+         if (priority < bestPriority || bestIndex == -1) {
+
+            bestIndex = tileIndex;
+            bestPriority = priority;
+         }
+      }
+
+      return bestIndex == -1 ? null : _mapTiles.remove(bestIndex);
+   }
+
+   /**
+    * Set the tile positions of the map viewport, tiles which are near the viewport center are
+    * loaded first.
+    *
+    * @param mp
+    * @param zoom
+    * @param minX
+    * @param minY
+    * @param maxX
+    * @param maxY
+    */
+   public synchronized void setViewport(final MP mp,
+                                        final int zoom,
+                                        final int minX,
+                                        final int minY,
+                                        final int maxX,
+                                        final int maxY) {
+
+      _viewportMP = mp;
+      _viewportZoom = zoom;
+      _viewportMinX = minX;
+      _viewportMinY = minY;
+      _viewportMaxX = maxX;
+      _viewportMaxY = maxY;
+   }
+
+   public synchronized int size() {
+
+      return _mapTiles.size() + _offlineTiles.size();
+   }
+}
@@ -0,0 +1,356 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package de.byteholder.geoclipse.map;
+
+import de.byteholder.geoclipse.Messages;
+import de.byteholder.geoclipse.mapprovider.MPProfile;
+import de.byteholder.geoclipse.mapprovider.MapProviderManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.tourbook.common.UI;
+import net.tourbook.common.util.PackFileStore;
+import net.tourbook.common.util.StatusUtil;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Offline tile images of one offline folder are stored in one append-only pack file instead of
+ * one file for each tile image. This prevents millions of tiny files in the offline cache.
+ * <p>
+ * The pack file contains a sequence of records
+ *
+ * <pre>
+ * int    magic number
+ * int    key length
+ * byte[] key (UTF-8), e.g. "12/2140/1436.png"
+ * int    image length, -1 when the tile image is deleted
+ * byte[] image data
+ * </pre>
+ *
+ * The key is the tile image path relative to the pack folder, e.g. "12/2140/1436.png". The key
+ * index is saved in an index file when the store is closed, that the pack file must not be read
+ * when it is opened again.
+ * <p>
+ * When the tile images of one offline folder are larger than {@link #MAX_DATA_SIZE}, the least
+ * recently used tile images are deleted.
+ */
+public class TilePackStore extends PackFileStore {
+
+   public static final String                                    PACK_FILE_NAME  = "tile-images.pack";        //$NON-NLS-1$
+   public static final String                                    INDEX_FILE_NAME = "tile-images.index";       //$NON-NLS-1$
+
+   private static final int                                      RECORD_MAGIC    = 0x54504B31;                // TPK1
+
+   /**
+    * Max size of the tile images in one offline folder, e.g. for one map provider
+    */
+   private static final long                                     MAX_DATA_SIZE   = 2L * 1024 * 1024 * 1024;   // 2 GB
+
+   private static final ConcurrentHashMap<String, TilePackStore> _allStores      = new ConcurrentHashMap<>();
+
+   TilePackStore(final File packFolder) throws IOException {
+
+      super(packFolder, PACK_FILE_NAME, INDEX_FILE_NAME, RECORD_MAGIC, MAX_DATA_SIZE);
+   }
+
+   /**
+    * Close all pack stores and save their index, they are opened again when they are used the next
+    * time.
+    */
+   public static void closeAll() {
+
+      for (final TilePackStore packStore : _allStores.values()) {
+         packStore.close();
+      }
+
+      _allStores.clear();
+   }
+
+   /**
+    * Compact all opened pack stores which contain too many deleted tile images.
+    */
+   public static void compactWhenNeeded_All() {
+
+      for (final TilePackStore packStore : _allStores.values()) {
+         packStore.compactWhenNeeded();
+      }
+   }
+
+   /**
+    * Delete tile images from the pack file in the pack folder.
+    *
+    * @param packFolder
+    * @param isDeletePartImages
+    *           When <code>true</code> only the part images are deleted, otherwise the whole pack
+    *           file is deleted.
+    */
+   public static void deleteStore(final File packFolder, final boolean isDeletePartImages) {
+
+      final File packFile = new File(packFolder, PACK_FILE_NAME);
+
+      if (isDeletePartImages) {
+
+         final TilePackStore packStore = packFile.exists() ? getStore(packFolder) : null;
+
+         if (packStore != null) {
+
+            packStore.deleteIf(tileKey -> tileKey.contains(MapProviderManager.PART_IMAGE_FILE_NAME_SUFFIX));
+            packStore.compactWhenNeeded();
+         }
+
+         return;
+      }
+
+      final TilePackStore packStore = _allStores.remove(packFolder.getAbsolutePath());
+      if (packStore != null) {
+
+         // this is also unmapping the pack file
+         packStore.close();
+      }
+
+      // an index of the deleted tile images must not be used for a new pack file
+      new File(packFolder, INDEX_FILE_NAME).delete();
+
+      /*
+       * The pack file can be locked, then it is truncated that the tile images do not appear again
+       * when the pack file is opened
+       */
+      deletePackFile(packFile);
+   }
+
+   /**
+    * @return Returns the number of path segments of the pack folder relative to the offline cache
+    *         root path, -1 when the tile image is not within the offline cache
+    */
+   private static int getNumPackFolderSegments(final IPath tileCachePath, final IPath tileImagePath) {
+
+      if (tileCachePath.isPrefixOf(tileImagePath) == false) {
+         return -1;
+      }
+
+      final int numCacheSegments = tileCachePath.segmentCount();
+
+      // WMS images of a map profile are in a sub folder of the common WMS folder
+      final int numStoreSegments = MPProfile.WMS_CUSTOM_TILE_PATH.equals(tileImagePath.segment(numCacheSegments)) ? 2 : 1;
+
+      if (tileImagePath.segmentCount() <= numCacheSegments + numStoreSegments) {
+         return -1;
+      }
+
+      return numStoreSegments;
+   }
+
+   /**
+    * @param tileCachePath
+    *           Root path of the offline cache
+    * @param tileImagePath
+    *           Path of a tile image file within the offline cache
+    *
+    * @return Returns the folder of the pack file which contains the tile image or <code>null</code>
+    *         when the tile image is not within the offline cache
+    */
+   private static File getPackFolder(final IPath tileCachePath, final IPath tileImagePath) {
+
+      final int numStoreSegments = getNumPackFolderSegments(tileCachePath, tileImagePath);
+      if (numStoreSegments == -1) {
+         return null;
+      }
+
+      return tileImagePath.uptoSegment(tileCachePath.segmentCount() + numStoreSegments).toFile();
+   }
+
+   /**
+    * @param packFolder
+    *
+    * @return Returns the pack store for the folder or <code>null</code> when it cannot be opened
+    */
+   public static TilePackStore getStore(final File packFolder) {
+
+      try {
+
+         return _allStores.computeIfAbsent(packFolder.getAbsolutePath(), folderPath -> {
+
+            try {
+
+               return new TilePackStore(packFolder);
+
+            } catch (final IOException e) {
+               throw new IllegalStateException(e);
+            }
+         });
+
+      } catch (final IllegalStateException e) {
+
+         StatusUtil.log("Cannot open tile pack file in: " + packFolder.getAbsolutePath(), e); //$NON-NLS-1$
+      }
+
+      return null;
+   }
+
+   /**
+    * @param tileCachePath
+    * @param tileImagePath
+    *
+    * @return Returns the pack store which contains the tile image or <code>null</code> when not
+    *         available
+    */
+   static TilePackStore getStore(final IPath tileCachePath, final IPath tileImagePath) {
+
+      final File packFolder = getPackFolder(tileCachePath, tileImagePath);
+      if (packFolder == null) {
+         return null;
+      }
+
+      return getStore(packFolder);
+   }
+
+   /**
+    * @param tileCachePath
+    * @param tileImagePath
+    *
+    * @return Returns the key of the tile image in the pack store, it is the path relative to the
+    *         pack folder, e.g. "12/2140/1436.png", or <code>null</code> when the tile image is not
+    *         within the offline cache
+    */
+   static String getTileKey(final IPath tileCachePath, final IPath tileImagePath) {
+
+      final int numStoreSegments = getNumPackFolderSegments(tileCachePath, tileImagePath);
+      if (numStoreSegments == -1) {
+         return null;
+      }
+
+      return tileImagePath
+            .removeFirstSegments(tileCachePath.segmentCount() + numStoreSegments)
+            .makeRelative()
+            .setDevice(null)
+            .toPortableString();
+   }
+
+   /**
+    * Import all tile image files from the offline cache into the pack files. The image files are
+    * deleted when they are imported.
+    *
+    * @param tileCacheFolder
+    *           Root folder of the offline cache
+    * @param monitor
+    *
+    * @return Returns the number of imported tile images
+    */
+   public static int importTileFiles(final File tileCacheFolder, final IProgressMonitor monitor) {
+
+      final File[] allOfflineFolders = tileCacheFolder.listFiles(File::isDirectory);
+      if (allOfflineFolders == null) {
+         return 0;
+      }
+
+      int numImported = 0;
+
+      for (final File offlineFolder : allOfflineFolders) {
+
+         if (MPProfile.WMS_CUSTOM_TILE_PATH.equals(offlineFolder.getName())) {
+
+            final File[] allWmsFolders = offlineFolder.listFiles(File::isDirectory);
+            if (allWmsFolders != null) {
+
+               for (final File wmsFolder : allWmsFolders) {
+                  numImported += importTileFiles_10_PackFolder(wmsFolder, numImported, monitor);
+               }
+            }
+
+         } else {
+
+            numImported += importTileFiles_10_PackFolder(offlineFolder, numImported, monitor);
+         }
+
+         if (monitor.isCanceled()) {
+            break;
+         }
+      }
+
+      return numImported;
+   }
+
+   private static int importTileFiles_10_PackFolder(final File packFolder,
+                                                    final int numImportedBefore,
+                                                    final IProgressMonitor monitor) {
+
+      final TilePackStore packStore = getStore(packFolder);
+      if (packStore == null) {
+         return 0;
+      }
+
+      final int[] numImported = { 0 };
+
+      importTileFiles_20_Folder(packStore, packFolder, UI.EMPTY_STRING, numImportedBefore, numImported, monitor);
+
+      return numImported[0];
+   }
+
+   /**
+    * !!! Recursive !!!
+    */
+   private static void importTileFiles_20_Folder(final TilePackStore packStore,
+                                                 final File folder,
+                                                 final String keyPrefix,
+                                                 final int numImportedBefore,
+                                                 final int[] numImported,
+                                                 final IProgressMonitor monitor) {
+
+      final File[] allFiles = folder.listFiles();
+      if (allFiles == null) {
+         return;
+      }
+
+      for (final File file : allFiles) {
+
+         if (monitor.isCanceled()) {
+            return;
+         }
+
+         final String fileName = file.getName();
+
+         if (file.isDirectory()) {
+
+            importTileFiles_20_Folder(packStore, file, keyPrefix + fileName + '/', numImportedBefore, numImported, monitor);
+
+            // delete empty folder, it fails when it is not empty
+            file.delete();
+
+         } else if (keyPrefix.length() > 0 || PACK_FILE_NAME.equals(fileName) == false) {
+
+            try {
+
+               packStore.write(keyPrefix + fileName, Files.readAllBytes(file.toPath()));
+
+               file.delete();
+
+               if (++numImported[0] % 1000 == 0) {
+                  monitor.subTask(NLS.bind(Messages.TilePackStore_Import_SubTask, numImportedBefore + numImported[0]));
+               }
+
+            } catch (final IOException e) {
+               StatusUtil.log(e);
+            }
+         }
+      }
+   }
+}
@@ -33,6 +33,11 @@ public enum TileEventId {
 	 */
 	TILE_END_LOADING,
 
+	/**
+	 * tile is removed from the loading queue without loading it because it is not visible any more
+	 */
+	TILE_IS_CANCELED,
+
 	/**
 	 * error occured when loading
 	 */
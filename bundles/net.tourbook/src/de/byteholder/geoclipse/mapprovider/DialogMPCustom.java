@@ -1281,6 +1281,8 @@ public class DialogMPCustom extends DialogMP implements ITileListener, IMapDefau
             _statEndLoading++;
             _statIsQueued--;
             tile.setTimeEndLoading(nanoTime);
+         } else if (tileEventId == TileEventId.TILE_IS_CANCELED) {
+            _statIsQueued--;
          } else if (tileEventId == TileEventId.TILE_ERROR_LOADING) {
             _statErrorLoading++;
             _statIsQueued--;
@@ -2147,6 +2147,8 @@ public class DialogMPProfile extends DialogMP implements ITileListener, IMapDefa
          _statEndLoading++;
          _statIsQueued--;
          tile.setTimeEndLoading(nanoTime);
+      } else if (tileEventId == TileEventId.TILE_IS_CANCELED) {
+         _statIsQueued--;
       } else if (tileEventId == TileEventId.TILE_ERROR_LOADING) {
          _statErrorLoading++;
          _statIsQueued--;
@@ -1495,6 +1495,8 @@ public class DialogMPWms extends DialogMP implements ITileListener, IMapDefaultA
          _statEndLoading++;
          _statIsQueued--;
          tile.setTimeEndLoading(nanoTime);
+      } else if (tileEventId == TileEventId.TILE_IS_CANCELED) {
+         _statIsQueued--;
       } else if (tileEventId == TileEventId.TILE_ERROR_LOADING) {
          _statErrorLoading++;
          _statIsQueued--;
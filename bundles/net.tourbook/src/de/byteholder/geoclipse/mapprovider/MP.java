@@ -26,6 +26,7 @@ import de.byteholder.geoclipse.map.Tile;
 import de.byteholder.geoclipse.map.TileCache;
 import de.byteholder.geoclipse.map.TileImageCache;
 import de.byteholder.geoclipse.map.TileImageLoader;
+import de.byteholder.geoclipse.map.TileLoadingQueue;
 import de.byteholder.geoclipse.map.event.ITileListener;
 import de.byteholder.geoclipse.map.event.TileEventId;
 import de.byteholder.geoclipse.util.Util;
@@ -40,7 +41,6 @@ import java.util.ArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -119,11 +119,9 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
    /**
     * This queue contains tiles which needs to be loaded, only the number of
     * {@link #THREAD_POOL_SIZE} can be loaded at the same time, the other tiles are waiting in this
-    * queue. <br>
-    * <br>
-    * !!!!! THIS IS JDK 1.6 !!!!!!!
+    * queue. Tiles near the center of the map viewport are loaded first.
     */
-   private static final LinkedBlockingDeque<Tile>          _tileWaitingQueue            = new LinkedBlockingDeque<>();
+   private static final TileLoadingQueue                   _tileWaitingQueue            = new TileLoadingQueue();
 
    /**
     * Listener which throws {@link ITileListener} events
@@ -327,7 +325,7 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
       return _tileListeners;
    }
 
-   public static LinkedBlockingDeque<Tile> getTileWaitingQueue() {
+   public static TileLoadingQueue getTileWaitingQueue() {
       return _tileWaitingQueue;
    }
 
@@ -1257,19 +1255,15 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
     * Put one tile into the tile image waiting queue
     *
     * @param tile
-    * @param isFiFo
+    * @param isMapTile
     *
     * @throws InterruptedException
     */
-   private void putOneTileInWaitingQueue(final Tile tile, final boolean isFiFo) {
+   private void putOneTileInWaitingQueue(final Tile tile, final boolean isMapTile) {
 
       tile.setLoading(true);
 
-      if (isFiFo) {
-         _tileWaitingQueue.addFirst(tile);
-      } else {
-         _tileWaitingQueue.addLast(tile);
-      }
+      _tileWaitingQueue.add(tile, isMapTile);
 
       // create loading task
       final Future<?> future = getExecutor().submit(new TileImageLoader());
@@ -1284,11 +1278,12 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
     * Put all tiles into a queue to load/create the tile image
     *
     * @param tile
-    * @param isFiFo
-    *           when <code>true</code> the waiting queue is working as FIFO, when <code>false</code>
-    *           it is a LIFO
+    * @param isMapTile
+    *           when <code>true</code> the tile is painted in the map and is loaded by it's distance
+    *           to the viewport center, when <code>false</code> it is an offline tile which is
+    *           loaded after all map tiles
     */
-   public void putTileInWaitingQueue(final Tile tile, final boolean isFiFo) {
+   public void putTileInWaitingQueue(final Tile tile, final boolean isMapTile) {
 
       // prevent to load it more than once
       if (tile.isLoading()) {
@@ -1297,7 +1292,7 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
 
       try {
 
-         putOneTileInWaitingQueue(tile, isFiFo);
+         putOneTileInWaitingQueue(tile, isMapTile);
 
          if (tile.isOfflimeImageAvailable() == false) {
 
@@ -1318,7 +1313,8 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
                }
 
                for (final Tile tileChild : tileChildren) {
-                  putOneTileInWaitingQueue(tileChild, isFiFo);
+                  // children are queued together with the parent that they get the same priority
+                  putOneTileInWaitingQueue(tileChild, isMapTile);
                }
             }
          }
@@ -1555,6 +1551,21 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
       }
    }
 
+   /**
+    * Set the tile positions of the map viewport, queued tiles which are near the viewport center
+    * are loaded first and tiles which are not visible any more are not loaded.
+    *
+    * @param zoom
+    * @param minX
+    * @param minY
+    * @param maxX
+    * @param maxY
+    */
+   public void setTileLoadingViewport(final int zoom, final int minX, final int minY, final int maxX, final int maxY) {
+
+      _tileWaitingQueue.setViewport(this, zoom, minX, minY, maxX, maxY);
+   }
+
    /**
     * Sets the tile image size and updates the internal datastructures.
     *
@@ -19,6 +19,7 @@ import de.byteholder.geoclipse.GeoclipseExtensions;
 import de.byteholder.geoclipse.Messages;
 import de.byteholder.geoclipse.logging.GeoException;
 import de.byteholder.geoclipse.map.TileImageCache;
+import de.byteholder.geoclipse.map.TilePackStore;
 import de.byteholder.geoclipse.mapprovider.DialogMPCustom.PART_TYPE;
 import de.byteholder.geoclipse.preferences.IMappingPreferences;
 
@@ -424,6 +425,10 @@ public class MapProviderManager {
       // delete map provider files
       final File tileCacheDir = tileCacheBasePath.append(tileOSFolder).toFile();
       if (tileCacheDir.exists()) {
+
+         // the pack file is deleted at once, the remaining image files are deleted one by one
+         TilePackStore.deleteStore(tileCacheDir, isDeletePartImages);
+
          deleteOfflineMapFiles(tileCacheDir, isDeletePartImages);
          isDeleted = true;
       }
@@ -431,6 +436,9 @@ public class MapProviderManager {
       // delete profile wms files
       final File wmsPath = tileCacheBasePath.append(MPProfile.WMS_CUSTOM_TILE_PATH).append(tileOSFolder).toFile();
       if (wmsPath.exists()) {
+
+         TilePackStore.deleteStore(wmsPath, isDeletePartImages);
+
          deleteOfflineMapFiles(wmsPath, isDeletePartImages);
          isDeleted = true;
       }
@@ -28,11 +28,14 @@ public class Messages extends NLS {
    public static String        Map2Provider_Tooltip_Label_OfflineFolder;
 
    public static String        pref_cache_clear_cache;
+   public static String        pref_cache_import_tile_files;
+   public static String        pref_cache_import_tile_files_tooltip;
    public static String        pref_cache_location;
    public static String        pref_cache_message_box_text;
    public static String        pref_cache_message_box_title;
    public static String        pref_cache_use_default_location;
    public static String        pref_cache_use_offline;
+   public static String        pref_cache_use_tile_pack;
 
    public static String        pref_error_invalid_path;
 
@@ -150,6 +153,7 @@ public class Messages extends NLS {
    public static String        prefPage_cache_status_infoWasCanceled;
    public static String        prefPage_cache_status_noValue;
    public static String        prefPage_cache_status_retrieving;
+   public static String        prefPage_cache_task_importTileFiles;
 
    public static String        Theme_Font_Logging;
    public static String        Theme_Font_Logging_PREVIEW_TEXT;
@@ -18,8 +18,10 @@ package de.byteholder.geoclipse.preferences;
 import static org.eclipse.swt.events.SelectionListener.widgetSelectedAdapter;
 
 import de.byteholder.geoclipse.map.TileImageCache;
+import de.byteholder.geoclipse.map.TilePackStore;
 
 import java.io.File;
+import java.lang.reflect.InvocationTargetException;
 import java.text.NumberFormat;
 
 import net.tourbook.application.TourbookPlugin;
@@ -34,6 +36,7 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.dialogs.ProgressMonitorDialog;
 import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.GridLayoutFactory;
 import org.eclipse.jface.preference.BooleanFieldEditor;
@@ -78,6 +81,7 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
    private Group                _groupOffline;
    private BooleanFieldEditor   _boolEditorUseOffLineCache;
    private BooleanFieldEditor   _boolEditorUseDefaultLocation;
+   private BooleanFieldEditor   _boolEditorUseTilePack;
    private Composite            _containerPath;
 
    private DirectoryFieldEditor _dirEditorCachePath;
@@ -91,6 +95,7 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
    private Label                _lblInfoWaiting;
    private Label                _lblInfoWaitingValue;
    private Button               _btnDeleteOfflineCache;
+   private Button               _btnImportTileFiles;
 
    @Override
    protected Control createContents(final Composite parent) {
@@ -179,6 +184,17 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
             _dirEditorCachePath.load();
             _dirEditorCachePath.setPropertyChangeListener(propertyChangeEvent -> getOfflineInfo());
          }
+
+         // field: use tile pack
+         _boolEditorUseTilePack = new BooleanFieldEditor(
+               IMappingPreferences.OFFLINE_CACHE_USE_TILE_PACK,
+               Messages.pref_cache_use_tile_pack,
+               _groupOffline);
+         _boolEditorUseTilePack.setPreferenceStore(prefStore);
+         _boolEditorUseTilePack.setPage(this);
+         _boolEditorUseTilePack.load();
+         _boolEditorUseTilePack.setPropertyChangeListener(propertyChangeEvent -> enableControls());
+         new Label(_groupOffline, SWT.NONE);
       }
 
       // !!! set layout after the editor was created because the editor sets the parents layout
@@ -224,6 +240,18 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
 
             deleteOfflineFiles();
          }));
+
+         // button: import offline files into the pack files
+         _btnImportTileFiles = new Button(group, SWT.PUSH);
+         _btnImportTileFiles.setText(Messages.pref_cache_import_tile_files);
+         _btnImportTileFiles.setToolTipText(Messages.pref_cache_import_tile_files_tooltip);
+         GridDataFactory.swtDefaults().span(2, 1).applyTo(_btnImportTileFiles);
+         _btnImportTileFiles.addSelectionListener(widgetSelectedAdapter(selectionEvent -> {
+
+            stopOfflineInfoJob();
+
+            importTileFiles();
+         }));
       }
    }
 
@@ -268,6 +296,9 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
             _lblInfoWaitingValue.setText(Messages.prefPage_cache_status_deletingFiles);
             _lblInfoWaitingValue.pack(true);
 
+            // pack files cannot be deleted when they are open
+            TilePackStore.closeAll();
+
             deleteDir(_tileCacheDir);
             getOfflineInfo();
          });
@@ -290,6 +321,7 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
       final boolean useDefaultLocation = _boolEditorUseDefaultLocation.getBooleanValue();
 
       _boolEditorUseDefaultLocation.setEnabled(useOffLineCache, _groupOffline);
+      _boolEditorUseTilePack.setEnabled(useOffLineCache, _groupOffline);
 
       // enable cache path editor, set default path
       if (useOffLineCache) {
@@ -302,6 +334,14 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
       } else {
          _dirEditorCachePath.setEnabled(false, _containerPath);
       }
+
+      /*
+       * Image files can be imported only when the tile pack is already used by the tile image
+       * cache, otherwise new image files would be created in the offline cache
+       */
+      _btnImportTileFiles.setEnabled(useOffLineCache
+            && _boolEditorUseTilePack.getBooleanValue()
+            && TileImageCache.isTilePackUsed());
    }
 
    /**
@@ -395,6 +435,31 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
       _offlineInfoJob.schedule();
    }
 
+   /**
+    * Import all offline image files into the pack files
+    */
+   private void importTileFiles() {
+
+      if (_tileCacheDir == null || _tileCacheDir.exists() == false) {
+         return;
+      }
+
+      try {
+
+         new ProgressMonitorDialog(Display.getCurrent().getActiveShell()).run(true, true, monitor -> {
+
+            monitor.beginTask(Messages.prefPage_cache_task_importTileFiles, IProgressMonitor.UNKNOWN);
+
+            TilePackStore.importTileFiles(_tileCacheDir, monitor);
+         });
+
+      } catch (final InvocationTargetException | InterruptedException e) {
+         StatusUtil.log(e);
+      }
+
+      getOfflineInfo();
+   }
+
    @Override
    public void init(final IWorkbench workbench) {}
 
@@ -425,6 +490,7 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
 
       _boolEditorUseOffLineCache.loadDefault();
       _boolEditorUseDefaultLocation.loadDefault();
+      _boolEditorUseTilePack.loadDefault();
 
       enableControls();
 
@@ -455,10 +521,14 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
       if (prefStore.getString(IMappingPreferences.OFFLINE_CACHE_PATH).equals(_dirEditorCachePath.getStringValue()) == false) {
          isModified = true;
       }
+      if (prefStore.getBoolean(IMappingPreferences.OFFLINE_CACHE_USE_TILE_PACK) != _boolEditorUseTilePack.getBooleanValue()) {
+         isModified = true;
+      }
 
       _boolEditorUseOffLineCache.store();
       _boolEditorUseDefaultLocation.store();
       _dirEditorCachePath.store();
+      _boolEditorUseTilePack.store();
 
       if (isModified) {
 
@@ -503,6 +573,7 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
       _lblInfoSizeValue.pack(true);
 
       _btnDeleteOfflineCache.setEnabled(false);
+      _btnImportTileFiles.setEnabled(false);
    }
 
    /**
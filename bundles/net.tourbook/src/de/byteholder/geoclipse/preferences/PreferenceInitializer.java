@@ -35,6 +35,7 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
 
       store.setDefault(IMappingPreferences.OFFLINE_CACHE_PERIOD_OF_VALIDITY, 7);
       store.setDefault(IMappingPreferences.OFFLINE_CACHE_MAX_SIZE, 100);
+      store.setDefault(IMappingPreferences.OFFLINE_CACHE_USE_TILE_PACK, false);
 
       store.setDefault(IMappingPreferences.SHOW_MAP_TILE_INFO, true);
 
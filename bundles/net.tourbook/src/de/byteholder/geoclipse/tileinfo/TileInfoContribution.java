@@ -192,6 +192,10 @@ public class TileInfoContribution extends WorkbenchWindowControlContribution {
 			_statEndLoading++;
 			_statIsQueued--;
 
+		} else if (tileEventId == TileEventId.TILE_IS_CANCELED) {
+
+			_statIsQueued--;
+
 		} else if (tileEventId == TileEventId.TILE_ERROR_LOADING) {
 
 			_statErrorLoading++;
@@ -985,6 +985,15 @@ public class Messages extends NLS {
    public static String        Dialog_PersonManager_PersonIsNotAvailable_Message;
    public static String        Dialog_PersonManager_PersonIsNotAvailable_Title;
 
+   public static String        Dialog_QueryProfiler_Action_CreateIndexes;
+   public static String        Dialog_QueryProfiler_Action_SaveReport;
+   public static String        Dialog_QueryProfiler_Action_Start;
+   public static String        Dialog_QueryProfiler_Action_Stop;
+   public static String        Dialog_QueryProfiler_CreateIndexes_Message;
+   public static String        Dialog_QueryProfiler_Running_Message;
+   public static String        Dialog_QueryProfiler_Start_Message;
+   public static String        Dialog_QueryProfiler_Title;
+
    public static String        dialog_quick_edit_dialog_area_title;
    public static String        dialog_quick_edit_dialog_title;
 
@@ -1559,6 +1568,7 @@ public class Messages extends NLS {
    public static String        Log_RetrieveWeatherData_001_Start;
    public static String        Log_RetrieveWeatherData_002_End;
    public static String        Log_RetrieveWeatherData_003_NoWeatherData;
+   public static String        Log_RetrieveWeatherData_004_CachedResponses;
    public static String        Log_RetrieveWeatherData_010_NoGpsDataSeries;
    public static String        Log_SaveTags_End;
    public static String        Log_SaveTags_Progress_AppendTags;
@@ -2017,8 +2027,11 @@ public class Messages extends NLS {
    public static String        Pref_Map25_Offline_Dialog_Restart_Message;
    public static String        Pref_Map25_Offline_Dialog_Restart_Title;
    public static String        Pref_Map25_Offline_Error_Location;
+   public static String        Pref_Map25_Offline_Group_Cache;
    public static String        Pref_Map25_Offline_Group_OfflineMap;
+   public static String        Pref_Map25_Offline_Label_CacheSize;
    public static String        Pref_Map25_Offline_Label_Location;
+   public static String        Pref_Map25_Offline_Label_TileCacheSize;
    public static String        Pref_Map25_Provider_Checkbox_IsEnabled;
    public static String        Pref_Map25_Provider_Checkbox_IsEnabled_Tooltip;
    public static String        Pref_Map25_Provider_Column_APIKey_ThemeStyle;
@@ -2220,6 +2233,7 @@ public class Messages extends NLS {
    public static String        Pref_Tour_Label_FailedUpdateInfo_BOLD;
    public static String        Pref_Tour_Label_TourCacheSize;
    public static String        Pref_Tour_Label_TourCacheSize_Info;
+   public static String        Pref_Tour_Label_TourCacheSize_MB;
 
    public static String        Pref_TourActions_Check_CheckOnSelection;
    public static String        Pref_TourActions_Check_CheckOnSelection_Tooltip;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (C) 2005, 2023 Wolfgang Schramm and Contributors
+ * Copyright (C) 2005, 2026 Wolfgang Schramm and Contributors
  *
  * This program is free software; you can redistribute it and/or modify it under
  * the terms of the GNU General Public License as published by the Free Software
@@ -15,7 +15,7 @@
  *******************************************************************************/
 package net.tourbook.algorithm;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 import net.tourbook.data.TourData;
 
@@ -30,183 +30,355 @@ import net.tourbook.data.TourData;
  * included with it. SoftSurfer makes no warranty for this code, and cannot be held liable for any
  * real or imagined damage resulting from its use. Users of this code must verify correctness for
  * their application.
+ * <p>
+ * The sections are simplified with an explicit stack and not with recursion, so that very long
+ * data series cannot cause a {@link StackOverflowError}. The points are read from primitive x/y
+ * arrays and the simplified points are returned as indices into the data series.
  */
-public class DouglasPeuckerSimplifier {
+public final class DouglasPeuckerSimplifier {
 
    /**
-    * Approximation tolerance
+    * Meters of one degree latitude
     */
-   private float     _tolerance;
+   private static final double METER_PER_DEGREE = 111_319.49;
 
-   private DPPoint[] _graphPoints;
+   private DouglasPeuckerSimplifier() {}
 
    /**
-    * Contains true for each point in graphPoints which remains for the simplifyed graph
+    * Create the simplified points with the explicit stack of sections
+    *
+    * @param tolerance
+    *           Approximation tolerance
+    * @param xValues
+    *           X values of the simplified points, the first value is at the start index
+    * @param yValues
+    *           Y values of the simplified points, the first value is at the start index
+    * @param startIndex
+    *           Serie index of the first point
+    * @param forcedIndices
+    *           Serie indices which are always used, e.g. where a new tour starts when multiple
+    *           tours are contained in {@link TourData}, can be <code>null</code>
+    *
+    * @return Returns the serie indices of the simplified points in ascending order
     */
-   private boolean[] _usedPoints;
+   private static int[] createSimplifiedIndices(final double tolerance,
+                                                final double[] xValues,
+                                                final double[] yValues,
+                                                final int startIndex,
+                                                final int[] forcedIndices) {
 
-   /**
-    * Contains indices where a new segment should start, this is used when a new tour start when
-    * multiple tours are contained in {@link TourData}.
-    */
-   private int[]     _forcedSegmentsIndices;
+      final int numPoints = xValues.length;
 
-   public DouglasPeuckerSimplifier(final float tolerance,
-                                   final DPPoint[] graphPoints,
-                                   final int[] forcedSegmentIndices) {
+      if (numPoints <= 0) {
+         return new int[0];
+      }
 
-      _tolerance = tolerance;
-      _graphPoints = graphPoints;
-      _forcedSegmentsIndices = forcedSegmentIndices;
-   }
+      if (numPoints == 1) {
+         return new int[] { startIndex };
+      }
 
-   public DPPoint[] simplify() {
+      // tolerance squared
+      final double tol2 = tolerance * tolerance;
 
-      int forcedIndex = 0;
-      int forcedSegmentIndex = 0;
+      // contains true for each point which remains in the simplified graph
+      final boolean[] isPointUsed = new boolean[numPoints];
 
-      if (_forcedSegmentsIndices != null && _forcedSegmentsIndices.length > forcedSegmentIndex + 1) {
+      // start and end points are used
+      isPointUsed[0] = true;
+      isPointUsed[numPoints - 1] = true;
 
-         forcedSegmentIndex++;
-         forcedIndex = _forcedSegmentsIndices[forcedSegmentIndex];
-      }
+      int numUsedPoints = 2;
 
-      // set all used points to false
-      _usedPoints = new boolean[_graphPoints.length];
-      for (int iPoint = 0; iPoint < _graphPoints.length; iPoint++) {
-         _usedPoints[iPoint] = false;
+      if (forcedIndices != null) {
+
+         for (final int forcedIndex : forcedIndices) {
+
+            final int pointIndex = forcedIndex - startIndex;
+
+            if (pointIndex >= 0 && pointIndex < numPoints && isPointUsed[pointIndex] == false) {
+
+               isPointUsed[pointIndex] = true;
+               numUsedPoints++;
+            }
+         }
       }
 
-      // start and end points are used
-      _usedPoints[0] = true;
-      _usedPoints[_usedPoints.length - 1] = true;
+      /*
+       * Each section is pushed with its start and end point index, the sections on the stack do
+       * not overlap, so their number cannot become larger than the number of points
+       */
+      int[] sectionStack = new int[Math.min(numPoints, 64) * 2];
+      int stackSize = 0;
+
+      sectionStack[stackSize++] = 0;
+      sectionStack[stackSize++] = numPoints - 1;
+
+      while (stackSize > 0) {
 
-      // simplify between start and end
-      simplifySection(0, _graphPoints.length - 1);
+         final int sectionEndIndex = sectionStack[--stackSize];
+         final int sectionStartIndex = sectionStack[--stackSize];
 
-      // create a point list with all simplified points
-      final ArrayList<DPPoint> simplifiedPoints = new ArrayList<>();
-      for (int serieIndex = 0; serieIndex < _graphPoints.length; serieIndex++) {
+         // check for adequate approximation by segment S from v[j] to v[k]
+         // index of vertex farthest from S
+         int maxi = sectionStartIndex;
 
-         // get default state
-         boolean isPointUsed = _usedPoints[serieIndex];
+         // tolerance squared of farthest vertex
+         double maxd2 = 0;
 
-         // get state when tourdata contains multiple tours
-         if (_forcedSegmentsIndices != null && forcedIndex == serieIndex) {
+         // Segment S = { v[j], v[k] }; // segment from v[j] to v[k]
+         final double startX = xValues[sectionStartIndex];
+         final double startY = yValues[sectionStartIndex];
+         final double endX = xValues[sectionEndIndex];
+         final double endY = yValues[sectionEndIndex];
 
-            isPointUsed = true;
+         // Vector u = S.P1 - S.P0; // segment direction vector
+         final double ux = endX - startX;
+         final double uy = endY - startY;
 
-            // get next forced index
-            forcedSegmentIndex++;
-            if (forcedSegmentIndex < _forcedSegmentsIndices.length) {
-               forcedIndex = _forcedSegmentsIndices[forcedSegmentIndex];
+         // double cu = dot(u, u); // segment length squared
+         final double cu = ux * ux + uy * uy;
+
+         // test each vertex v[i] for max distance from S
+         // compute using the Feb 2001 Algorithm's dist_Point_to_Segment()
+         for (int i = sectionStartIndex + 1; i < sectionEndIndex; i++) {
+
+            final double x = xValues[i];
+            final double y = yValues[i];
+
+            // w = v[i] - S.P0;
+            final double wx = x - startX;
+            final double wy = y - startY;
+
+            // cw = dot(w, u);
+            final double cw = wx * ux + wy * uy;
+
+            double dx;
+            double dy;
+
+            if (cw <= 0) {
+
+               // dv2 = d2(v[i], S.P0);
+               dx = wx;
+               dy = wy;
+
+            } else if (cu <= cw) {
+
+               // dv2 = d2(v[i], S.P1);
+               dx = x - endX;
+               dy = y - endY;
+
+            } else {
+
+               // Pb = S.P0 + b * u; // base of perpendicular from v[i] to S
+               final double b = cw / cu;
+
+               // dv2 = d2(v[i], Pb);
+               dx = x - (startX + b * ux);
+               dy = y - (startY + b * uy);
+            }
+
+            final double dv2 = dx * dx + dy * dy;
+
+            // test with current max distance squared
+            if (dv2 > maxd2) {
+
+               // v[i] is a new max vertex
+               maxi = i;
+               maxd2 = dv2;
             }
          }
 
-         if (isPointUsed) {
+         if (maxd2 <= tol2) {
+            // the approximation is OK, so ignore intermediate vertices
+            continue;
+         }
 
-            final DPPoint graphPoint = _graphPoints[serieIndex];
+         // error is worse than the tolerance, split the polyline at the farthest vertex from S
+         if (isPointUsed[maxi] == false) {
 
-            simplifiedPoints.add(new DPPoint(graphPoint.x, graphPoint.y, serieIndex));
+            isPointUsed[maxi] = true;
+            numUsedPoints++;
+         }
+
+         if (stackSize + 4 > sectionStack.length) {
+            sectionStack = Arrays.copyOf(sectionStack, sectionStack.length * 2);
+         }
+
+         // polyline v[j] to v[maxi]
+         if (maxi - sectionStartIndex > 1) {
+            sectionStack[stackSize++] = sectionStartIndex;
+            sectionStack[stackSize++] = maxi;
+         }
+
+         // polyline v[maxi] to v[k]
+         if (sectionEndIndex - maxi > 1) {
+            sectionStack[stackSize++] = maxi;
+            sectionStack[stackSize++] = sectionEndIndex;
          }
       }
 
-      return simplifiedPoints.toArray(new DPPoint[simplifiedPoints.size()]);
-   }
+      // create the indices of all simplified points
+      final int[] allSimplifiedIndices = new int[numUsedPoints];
+      int simplifiedIndex = 0;
 
-   private void simplifySection(final int startIndex, final int endIndex) {
+      for (int pointIndex = 0; pointIndex < numPoints; pointIndex++) {
 
-      if (startIndex >= endIndex + 1) {
-         // nothing can be simplified
-         return;
+         if (isPointUsed[pointIndex]) {
+            allSimplifiedIndices[simplifiedIndex++] = startIndex + pointIndex;
+         }
       }
 
-      // check for adequate approximation by segment S from v[j] to v[k]
-      // index of vertex farthest from S
-      int maxi = startIndex;
+      return allSimplifiedIndices;
+   }
 
-      // tolerance squared of farthest vertex
-      double maxd2 = 0;
+   /**
+    * Simplify a graph
+    *
+    * @param tolerance
+    *           Approximation tolerance in the units of the y values
+    * @param xSerie
+    * @param ySerie
+    * @param forcedIndices
+    *           Serie indices which are always used or <code>null</code>
+    *
+    * @return Returns the serie indices of the simplified points in ascending order
+    */
+   public static int[] simplify(final double tolerance,
+                                final double[] xSerie,
+                                final double[] ySerie,
+                                final int[] forcedIndices) {
 
-      // tolerance squared
-      final double tol2 = _tolerance * _tolerance;
+      return createSimplifiedIndices(tolerance, xSerie, ySerie, 0, forcedIndices);
+   }
 
-      // Segment S = { v[j], v[k] }; // segment from v[j] to v[k]
-      final DPPoint startPoint = _graphPoints[startIndex];
-      final DPPoint endPoint = _graphPoints[endIndex];
+   /**
+    * Simplify a graph
+    *
+    * @param tolerance
+    *           Approximation tolerance in the units of the y values
+    * @param xSerie
+    * @param ySerie
+    * @param forcedIndices
+    *           Serie indices which are always used or <code>null</code>
+    *
+    * @return Returns the serie indices of the simplified points in ascending order
+    */
+   public static int[] simplify(final float tolerance,
+                                final float[] xSerie,
+                                final float[] ySerie,
+                                final int[] forcedIndices) {
 
-      // Vector u = S.P1 - S.P0; // segment direction vector
-      final Vector u = endPoint.diff(startPoint);
+      return simplify(tolerance, xSerie, ySerie, 0, xSerie.length, forcedIndices);
+   }
 
-      // double cu = dot(u, u); // segment length squared
-      final double cu = u.dot(u);
+   /**
+    * Simplify a part of a graph
+    *
+    * @param tolerance
+    *           Approximation tolerance in the units of the y values
+    * @param xSerie
+    * @param ySerie
+    * @param startIndex
+    *           First serie index of the simplified part
+    * @param endIndex
+    *           Serie index after the last point of the simplified part
+    * @param forcedIndices
+    *           Serie indices which are always used or <code>null</code>
+    *
+    * @return Returns the serie indices of the simplified points in ascending order
+    */
+   public static int[] simplify(final float tolerance,
+                                final float[] xSerie,
+                                final float[] ySerie,
+                                final int startIndex,
+                                final int endIndex,
+                                final int[] forcedIndices) {
 
-      // test each vertex v[i] for max distance from S
-      // compute using the Feb 2001 Algorithm's dist_Point_to_Segment()
-      // Note: this works in any dimension (2D, 3D, ...)
-      Vector w;
-      DPPoint Pb; // base of perpendicular from v[i] to S
-      double cw, dv2; // dv2 = distance v[i] to S squared
-      double b;
+      final int numPoints = Math.max(0, endIndex - startIndex);
 
-      for (int i = startIndex + 1; i < endIndex; i++) {
+      final double[] xValues = new double[numPoints];
+      final double[] yValues = new double[numPoints];
 
-         final DPPoint currentPoint = _graphPoints[i];
+      for (int pointIndex = 0; pointIndex < numPoints; pointIndex++) {
 
-         // compute distance squared dv2
+         xValues[pointIndex] = xSerie[startIndex + pointIndex];
+         yValues[pointIndex] = ySerie[startIndex + pointIndex];
+      }
 
-         // w = v[i] - S.P0;
-         w = currentPoint.diff(startPoint);
+      return createSimplifiedIndices(tolerance, xValues, yValues, startIndex, forcedIndices);
+   }
 
-         // cw = dot(w, u);
-         cw = w.dot(u);
+   /**
+    * Simplify a graph, e.g. with the time serie as x values
+    *
+    * @param tolerance
+    *           Approximation tolerance in the units of the y values
+    * @param xSerie
+    * @param ySerie
+    * @param forcedIndices
+    *           Serie indices which are always used or <code>null</code>
+    *
+    * @return Returns the serie indices of the simplified points in ascending order
+    */
+   public static int[] simplify(final float tolerance,
+                                final int[] xSerie,
+                                final float[] ySerie,
+                                final int[] forcedIndices) {
 
-         if (cw <= 0) {
-            // dv2 = d2(v[i], S.P0);
-            dv2 = currentPoint.d2(startPoint);
+      final int numPoints = xSerie.length;
 
-         } else if (cu <= cw) {
+      final double[] xValues = new double[numPoints];
+      final double[] yValues = new double[numPoints];
 
-            // dv2 = d2(v[i], S.P1);
-            dv2 = currentPoint.d2(endPoint);
+      for (int pointIndex = 0; pointIndex < numPoints; pointIndex++) {
 
-         } else {
+         xValues[pointIndex] = xSerie[pointIndex];
+         yValues[pointIndex] = ySerie[pointIndex];
+      }
 
-            b = cw / cu;
-            // Pb = S.P0 + b * u;
-            Pb = startPoint.add(u.dot(b));
+      return createSimplifiedIndices(tolerance, xValues, yValues, 0, forcedIndices);
+   }
 
-            // dv2 = d2(v[i], Pb);
-            dv2 = currentPoint.d2(Pb);
-         }
+   /**
+    * Simplify a geo track, e.g. to paint a track in a map with fewer points.
+    * <p>
+    * The geo positions are projected with an equirectangular projection at the mean latitude of
+    * the track, this is accurate enough for the distances within one track.
+    *
+    * @param toleranceMeter
+    *           Approximation tolerance in meters
+    * @param latitudeSerie
+    * @param longitudeSerie
+    * @param forcedIndices
+    *           Serie indices which are always used or <code>null</code>
+    *
+    * @return Returns the serie indices of the simplified geo positions in ascending order
+    */
+   public static int[] simplifyLatLon(final double toleranceMeter,
+                                      final double[] latitudeSerie,
+                                      final double[] longitudeSerie,
+                                      final int[] forcedIndices) {
 
-         // test with current max distance squared
-         if (dv2 <= maxd2) {
-            continue;
-         }
+      double latitudeSum = 0;
 
-         // v[i] is a new max vertex
-         maxi = i;
-         maxd2 = dv2;
+      for (final double latitude : latitudeSerie) {
+         latitudeSum += latitude;
       }
 
-      if (maxd2 > tol2) {
-         // error is worse than the tolerance
+      final double meanLatitude = latitudeSerie.length == 0 ? 0 : latitudeSum / latitudeSerie.length;
+      final double longitudeMeterPerDegree = METER_PER_DEGREE * Math.cos(Math.toRadians(meanLatitude));
 
-         // split the polyline at the farthest vertex from S
-         // mk[maxi] = 1; // mark v[maxi] for the simplified polyline
-         _usedPoints[maxi] = true;
+      final int numPoints = latitudeSerie.length;
 
-         // recursively simplify the two subpolylines at v[maxi]
+      final double[] xValues = new double[numPoints];
+      final double[] yValues = new double[numPoints];
 
-         // polyline v[j] to v[maxi]
-         simplifySection(startIndex, maxi);
-
-         // polyline v[maxi] to v[k]
-         simplifySection(maxi, endIndex);
+      for (int pointIndex = 0; pointIndex < numPoints; pointIndex++) {
 
-      } else {
-         // else the approximation is OK, so ignore intermediate vertices
+         xValues[pointIndex] = longitudeSerie[pointIndex] * longitudeMeterPerDegree;
+         yValues[pointIndex] = latitudeSerie[pointIndex] * METER_PER_DEGREE;
       }
+
+      return createSimplifiedIndices(toleranceMeter, xValues, yValues, 0, forcedIndices);
    }
 }
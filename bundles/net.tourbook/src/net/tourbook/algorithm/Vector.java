@@ -1,44 +0,0 @@
-/*******************************************************************************
- * Copyright (C) 2005, 2014  Wolfgang Schramm and Contributors
- * 
- * This program is free software; you can redistribute it and/or modify it under
- * the terms of the GNU General Public License as published by the Free Software
- * Foundation version 2 of the License.
- * 
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
- * 
- * You should have received a copy of the GNU General Public License along with
- * this program; if not, write to the Free Software Foundation,
- * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
- *******************************************************************************/
-package net.tourbook.algorithm;
-
-public class Vector extends DPPoint {
-
-	public Vector(final double x, final double y, final int serieIndex) {
-		super(x, y, serieIndex);
-	}
-
-	/**
-	 * Scalar Product
-	 * 
-	 * @param scalar
-	 * @return
-	 */
-	public Vector dot(final double scalar) {
-		return new Vector((scalar * x), (scalar * y), serieIndex);
-	}
-
-	/**
-	 * Vector product
-	 * 
-	 * @param vector
-	 * @return
-	 */
-	public double dot(final Vector vector) {
-		return (x * vector.x) + (y * vector.y);
-	}
-
-}
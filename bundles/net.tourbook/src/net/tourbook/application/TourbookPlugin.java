@@ -15,6 +15,8 @@
  *******************************************************************************/
 package net.tourbook.application;
 
+import de.byteholder.geoclipse.map.TilePackStore;
+
 import java.util.MissingResourceException;
 import java.util.Optional;
 import java.util.ResourceBundle;
@@ -347,6 +349,9 @@ public class TourbookPlugin extends AbstractUIPlugin {
    @Override
    public void stop(final BundleContext context) throws Exception {
 
+      // save the index of the tile pack files
+      TilePackStore.closeAll();
+
       _instance = null;
       _bundleContext = null;
 
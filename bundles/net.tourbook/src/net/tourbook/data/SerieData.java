@@ -15,6 +15,7 @@
  *******************************************************************************/
 package net.tourbook.data;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -369,4 +370,13 @@ public class SerieData implements Serializable {
 
 // SET_FORMATTING_ON
 
+   /**
+    * Serie data are saved in the columnar format of {@link SerieDataCodec} and not with the default
+    * java serialization which is much larger and slower to read.
+    */
+   private Object writeReplace() throws ObjectStreamException {
+
+      return new SerieDataCodec.SerializedForm(this);
+   }
+
 }
@@ -0,0 +1,1157 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+import java.util.Arrays;
+
+/**
+ * Versioned columnar binary format for {@link SerieData}.
+ * <p>
+ * Each data serie is saved as an own column with a header, so a column can be decoded or skipped
+ * without touching the other columns:
+ *
+ * <pre>
+ * MAGIC             int
+ * FORMAT_VERSION    byte
+ * numColumns        varint
+ *
+ * columnId          varint     one of COLUMN_*, never change an existing id
+ * encoding          byte       one of ENCODING_*
+ * numValues         varint
+ * numPayloadBytes   varint
+ * payload           byte[numPayloadBytes]
+ * ...
+ * </pre>
+ *
+ * Integer series are delta + zigzag + varint encoded, float/double series are XOR encoded
+ * ("Gorilla" time series compression) which is compact for slowly changing sensor values.
+ * <p>
+ * {@link SerieData} is still persisted as a serializable object but it is replaced with
+ * {@link SerializedForm} when it is written, old blobs which were saved with the default java
+ * serialization can still be read.
+ */
+public final class SerieDataCodec {
+
+   /**
+    * 'MTSD'
+    */
+   static final int          MAGIC                         = 0x4d545344;
+
+   static final byte         FORMAT_VERSION                = 1;
+
+   /**
+    * Column ids which should be decoded when {@link SerializedForm} is deserialized in
+    * {@link #deserialize(byte[], int...)}, <code>null</code> decodes all columns
+    */
+   private static final ThreadLocal<int[]> _deserializeColumnIds = new ThreadLocal<>();
+
+   /*
+    * Encodings
+    */
+   private static final byte ENCODING_INT_DELTA            = 1;
+   private static final byte ENCODING_LONG_DELTA           = 2;
+   private static final byte ENCODING_SHORT_DELTA          = 3;
+   private static final byte ENCODING_FLOAT_XOR            = 4;
+   private static final byte ENCODING_DOUBLE_XOR           = 5;
+   private static final byte ENCODING_BOOLEAN_BITS         = 6;
+
+   /*
+    * Column ids, these values are saved in the database and MUST NEVER be changed, only new ids
+    * can be appended
+    */
+   public static final int   COLUMN_TIME                   = 1;
+
+   public static final int   COLUMN_ALTITUDE_20            = 2;
+   public static final int   COLUMN_CADENCE_20             = 3;
+   public static final int   COLUMN_DISTANCE_20            = 4;
+   public static final int   COLUMN_POWER_20               = 5;
+   public static final int   COLUMN_PULSE_20               = 6;
+   public static final int   COLUMN_SPEED_20               = 7;
+   public static final int   COLUMN_TEMPERATURE_20         = 8;
+
+   public static final int   COLUMN_ALTITUDE               = 9;
+   public static final int   COLUMN_CADENCE                = 10;
+   public static final int   COLUMN_DISTANCE               = 11;
+   public static final int   COLUMN_POWER                  = 12;
+   public static final int   COLUMN_PULSE                  = 13;
+   public static final int   COLUMN_SPEED                  = 14;
+   public static final int   COLUMN_TEMPERATURE            = 15;
+
+   public static final int   COLUMN_GEARS                  = 16;
+
+   public static final int   COLUMN_LONGITUDE              = 17;
+   public static final int   COLUMN_LATITUDE               = 18;
+   public static final int   COLUMN_LONGITUDE_E6           = 19;
+   public static final int   COLUMN_LATITUDE_E6            = 20;
+
+   public static final int   COLUMN_PULSE_TIMES            = 21;
+   public static final int   COLUMN_PULSE_TIME_INDEX       = 22;
+
+   public static final int   COLUMN_RUN_DYN_STANCE_TIME    = 23;
+   public static final int   COLUMN_RUN_DYN_STANCE_BALANCE = 24;
+   public static final int   COLUMN_RUN_DYN_STEP_LENGTH    = 25;
+   public static final int   COLUMN_RUN_DYN_VERTICAL_OSC   = 26;
+   public static final int   COLUMN_RUN_DYN_VERTICAL_RATIO = 27;
+
+   public static final int   COLUMN_SWIM_LENGTH_TYPE       = 28;
+   public static final int   COLUMN_SWIM_CADENCE           = 29;
+   public static final int   COLUMN_SWIM_STROKES           = 30;
+   public static final int   COLUMN_SWIM_STROKE_STYLE      = 31;
+   public static final int   COLUMN_SWIM_TIME              = 32;
+
+   public static final int   COLUMN_VISIBLE_POINTS_SURFING = 33;
+
+   public static final int   COLUMN_PAUSED_TIME_START      = 34;
+   public static final int   COLUMN_PAUSED_TIME_END        = 35;
+   public static final int   COLUMN_PAUSED_TIME_DATA       = 36;
+
+   public static final int   COLUMN_DEVICE_MARKER          = 37;
+
+   public static final int   COLUMN_BATTERY_TIME           = 38;
+   public static final int   COLUMN_BATTERY_PERCENTAGE     = 39;
+
+   public static final int   COLUMN_PHOTOS_WITH_GEO        = 40;
+
+   public static final int   COLUMN_RADAR_PASSED_VEHICLES  = 41;
+   public static final int   COLUMN_RADAR_DISTANCE         = 42;
+   public static final int   COLUMN_RADAR_SPEED_ABSOLUTE   = 43;
+   public static final int   COLUMN_RADAR_SPEED_RELATIVE   = 44;
+
+   /**
+    * Replacement object which is written into the java serialization stream instead of
+    * {@link SerieData}, it contains only the columnar encoded bytes.
+    */
+   public static final class SerializedForm implements Externalizable {
+
+      private static final long serialVersionUID = 1L;
+
+      private byte[]            _encodedData;
+
+      /**
+       * Is needed for {@link Externalizable}
+       */
+      public SerializedForm() {}
+
+      SerializedForm(final SerieData serieData) {
+
+         _encodedData = encode(serieData);
+      }
+
+      @Override
+      public void readExternal(final ObjectInput in) throws IOException {
+
+         final int numBytes = in.readInt();
+
+         _encodedData = new byte[numBytes];
+
+         in.readFully(_encodedData);
+      }
+
+      private Object readResolve() throws ObjectStreamException {
+
+         try {
+
+            return decode(_encodedData, _deserializeColumnIds.get());
+
+         } catch (final IllegalArgumentException e) {
+
+            final InvalidObjectException exception = new InvalidObjectException(e.getMessage());
+            exception.initCause(e);
+
+            throw exception;
+         }
+      }
+
+      @Override
+      public void writeExternal(final ObjectOutput out) throws IOException {
+
+         out.writeInt(_encodedData.length);
+         out.write(_encodedData);
+      }
+   }
+
+   /**
+    * Reads bits from a {@link Reader}, the most significant bit is read first.
+    */
+   private static final class BitReader {
+
+      private final Reader _reader;
+
+      private long         _bitBuffer;
+      private int          _numBufferedBits;
+
+      private BitReader(final Reader reader) {
+
+         _reader = reader;
+      }
+
+      private boolean readBit() {
+
+         return readBits(1) != 0;
+      }
+
+      private long readBits(final int numBits) {
+
+         if (numBits > 32) {
+
+            final long high = readBits(numBits - 32);
+            final long low = readBits(32);
+
+            return high << 32 | low;
+         }
+
+         while (_numBufferedBits < numBits) {
+
+            _bitBuffer = _bitBuffer << 8 | _reader.readByte() & 0xff;
+            _numBufferedBits += 8;
+         }
+
+         _numBufferedBits -= numBits;
+
+         final long value = _bitBuffer >>> _numBufferedBits & (1L << numBits) - 1;
+
+         _bitBuffer &= (1L << _numBufferedBits) - 1;
+
+         return value;
+      }
+   }
+
+   /**
+    * Writes bits into a {@link Writer}, the most significant bit is written first.
+    */
+   private static final class BitWriter {
+
+      private final Writer _writer;
+
+      private long         _bitBuffer;
+      private int          _numBufferedBits;
+
+      private BitWriter(final Writer writer) {
+
+         _writer = writer;
+      }
+
+      private void flush() {
+
+         if (_numBufferedBits > 0) {
+
+            _writer.writeByte((int) (_bitBuffer << 8 - _numBufferedBits));
+
+            _bitBuffer = 0;
+            _numBufferedBits = 0;
+         }
+      }
+
+      private void writeBit(final boolean isSet) {
+
+         writeBits(isSet ? 1 : 0, 1);
+      }
+
+      private void writeBits(final long value, final int numBits) {
+
+         if (numBits > 32) {
+
+            writeBits(value >>> 32, numBits - 32);
+            writeBits(value & 0xffff_ffffL, 32);
+
+            return;
+         }
+
+         _bitBuffer = _bitBuffer << numBits | value & (1L << numBits) - 1;
+         _numBufferedBits += numBits;
+
+         while (_numBufferedBits >= 8) {
+
+            _numBufferedBits -= 8;
+            _writer.writeByte((int) (_bitBuffer >>> _numBufferedBits));
+         }
+
+         _bitBuffer &= (1L << _numBufferedBits) - 1;
+      }
+   }
+
+   /**
+    * Sequential reader for a byte array
+    */
+   static final class Reader {
+
+      private final byte[] _data;
+      private int          _position;
+
+      Reader(final byte[] data, final int position) {
+
+         _data = data;
+         _position = position;
+      }
+
+      int getPosition() {
+         return _position;
+      }
+
+      byte readByte() {
+
+         if (_position >= _data.length) {
+            throw new IllegalArgumentException("Serie data are truncated"); //$NON-NLS-1$
+         }
+
+         return _data[_position++];
+      }
+
+      int readInt() {
+
+         return (readByte() & 0xff) << 24
+               | (readByte() & 0xff) << 16
+               | (readByte() & 0xff) << 8
+               | readByte() & 0xff;
+      }
+
+      int readVarInt() {
+
+         return (int) readVarLong();
+      }
+
+      long readVarLong() {
+
+         long value = 0;
+         int shift = 0;
+
+         while (true) {
+
+            final byte oneByte = readByte();
+
+            value |= (long) (oneByte & 0x7f) << shift;
+
+            if ((oneByte & 0x80) == 0) {
+               return value;
+            }
+
+            shift += 7;
+
+            if (shift > 63) {
+               throw new IllegalArgumentException("Invalid varint in serie data"); //$NON-NLS-1$
+            }
+         }
+      }
+
+      void skip(final int numBytes) {
+
+         if (numBytes < 0 || _position + numBytes > _data.length) {
+            throw new IllegalArgumentException("Serie data are truncated"); //$NON-NLS-1$
+         }
+
+         _position += numBytes;
+      }
+   }
+
+   /**
+    * Growable byte buffer
+    */
+   private static final class Writer {
+
+      private byte[] _buffer;
+      private int    _size;
+
+      private Writer(final int initialCapacity) {
+
+         _buffer = new byte[Math.max(16, initialCapacity)];
+      }
+
+      private void ensureCapacity(final int numAdditionalBytes) {
+
+         final int requiredCapacity = _size + numAdditionalBytes;
+
+         if (requiredCapacity > _buffer.length) {
+            _buffer = Arrays.copyOf(_buffer, Math.max(requiredCapacity, _buffer.length * 2));
+         }
+      }
+
+      private byte[] toByteArray() {
+
+         return Arrays.copyOf(_buffer, _size);
+      }
+
+      private void writeByte(final int value) {
+
+         ensureCapacity(1);
+
+         _buffer[_size++] = (byte) value;
+      }
+
+      private void writeBytes(final Writer other) {
+
+         ensureCapacity(other._size);
+
+         System.arraycopy(other._buffer, 0, _buffer, _size, other._size);
+
+         _size += other._size;
+      }
+
+      private void writeInt(final int value) {
+
+         writeByte(value >>> 24);
+         writeByte(value >>> 16);
+         writeByte(value >>> 8);
+         writeByte(value);
+      }
+
+      private void writeVarInt(final int value) {
+
+         writeVarLong(value & 0xffff_ffffL);
+      }
+
+      private void writeVarLong(long value) {
+
+         while ((value & ~0x7fL) != 0) {
+
+            writeByte((int) (value & 0x7f | 0x80));
+
+            value >>>= 7;
+         }
+
+         writeByte((int) value);
+      }
+   }
+
+   private SerieDataCodec() {}
+
+   /**
+    * @param encodedData
+    *           Data which were created with {@link #encode(SerieData)}
+    *
+    * @return Returns a new {@link SerieData} with all columns which are contained in the encoded
+    *         data
+    *
+    * @throws IllegalArgumentException
+    *            When the data are not valid
+    */
+   public static SerieData decode(final byte[] encodedData) {
+
+      return decode(encodedData, (int[]) null);
+   }
+
+   /**
+    * Decode only some data series, the payload of all other columns is skipped without decoding
+    * it.
+    *
+    * @param encodedData
+    *           Data which were created with {@link #encode(SerieData)}
+    * @param allColumnIds
+    *           Ids of the columns {@link #COLUMN_TIME}... which should be decoded or
+    *           <code>null</code> to decode all columns
+    *
+    * @return Returns a new {@link SerieData} which contains only the requested columns
+    *
+    * @throws IllegalArgumentException
+    *            When the data are not valid
+    */
+   public static SerieData decode(final byte[] encodedData, final int... allColumnIds) {
+
+      final SerieData serieData = new SerieData();
+
+      final Reader reader = readHeader(encodedData);
+      final int numColumns = reader.readVarInt();
+
+      for (int columnIndex = 0; columnIndex < numColumns; columnIndex++) {
+
+         final int columnId = reader.readVarInt();
+         final byte encoding = reader.readByte();
+         final int numValues = reader.readVarInt();
+         final int numPayloadBytes = reader.readVarInt();
+
+         final int payloadStart = reader.getPosition();
+
+         if (isColumnRequested(columnId, allColumnIds)) {
+            decodeColumn(serieData, columnId, encoding, numValues, reader, numPayloadBytes);
+         }
+
+         // position after the payload, this is also skipping unknown columns from newer versions
+         reader._position = payloadStart;
+         reader.skip(numPayloadBytes);
+      }
+
+      return serieData;
+   }
+
+   private static boolean[] decodeBooleans(final Reader reader, final int numValues) {
+
+      final boolean[] values = new boolean[numValues];
+
+      final BitReader bitReader = new BitReader(reader);
+
+      for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+         values[valueIndex] = bitReader.readBit();
+      }
+
+      return values;
+   }
+
+   /**
+    * Decode one column into the {@link SerieData} field, unknown columns are ignored.
+    */
+   private static void decodeColumn(final SerieData serieData,
+                                    final int columnId,
+                                    final byte encoding,
+                                    final int numValues,
+                                    final Reader reader,
+                                    final int numPayloadBytes) {
+
+      final Object values = decodeValues(encoding, numValues, reader, numPayloadBytes);
+
+      if (values == null) {
+         return;
+      }
+
+// SET_FORMATTING_OFF
+
+      switch (columnId) {
+
+      case COLUMN_TIME:                   serieData.timeSerie                    = (int[]) values;       break;
+
+      case COLUMN_ALTITUDE_20:            serieData.altitudeSerie20              = (float[]) values;     break;
+      case COLUMN_CADENCE_20:             serieData.cadenceSerie20               = (float[]) values;     break;
+      case COLUMN_DISTANCE_20:            serieData.distanceSerie20              = (float[]) values;     break;
+      case COLUMN_POWER_20:               serieData.powerSerie20                 = (float[]) values;     break;
+      case COLUMN_PULSE_20:               serieData.pulseSerie20                 = (float[]) values;     break;
+      case COLUMN_SPEED_20:               serieData.speedSerie20                 = (float[]) values;     break;
+      case COLUMN_TEMPERATURE_20:         serieData.temperatureSerie20           = (float[]) values;     break;
+
+      case COLUMN_ALTITUDE:               serieData.altitudeSerie                = (int[]) values;       break;
+      case COLUMN_CADENCE:                serieData.cadenceSerie                 = (int[]) values;       break;
+      case COLUMN_DISTANCE:               serieData.distanceSerie                = (int[]) values;       break;
+      case COLUMN_POWER:                  serieData.powerSerie                   = (int[]) values;       break;
+      case COLUMN_PULSE:                  serieData.pulseSerie                   = (int[]) values;       break;
+      case COLUMN_SPEED:                  serieData.speedSerie                   = (int[]) values;       break;
+      case COLUMN_TEMPERATURE:            serieData.temperatureSerie             = (int[]) values;       break;
+
+      case COLUMN_GEARS:                  serieData.gears                        = (long[]) values;      break;
+
+      case COLUMN_LONGITUDE:              serieData.longitude                    = (double[]) values;    break;
+      case COLUMN_LATITUDE:               serieData.latitude                     = (double[]) values;    break;
+      case COLUMN_LONGITUDE_E6:           serieData.longitudeE6                  = (int[]) values;       break;
+      case COLUMN_LATITUDE_E6:            serieData.latitudeE6                   = (int[]) values;       break;
+
+      case COLUMN_PULSE_TIMES:            serieData.pulseTimes                   = (int[]) values;       break;
+      case COLUMN_PULSE_TIME_INDEX:       serieData.pulseTime_TimeIndex          = (int[]) values;       break;
+
+      case COLUMN_RUN_DYN_STANCE_TIME:    serieData.runDyn_StanceTime            = (short[]) values;     break;
+      case COLUMN_RUN_DYN_STANCE_BALANCE: serieData.runDyn_StanceTimeBalance     = (short[]) values;     break;
+      case COLUMN_RUN_DYN_STEP_LENGTH:    serieData.runDyn_StepLength            = (short[]) values;     break;
+      case COLUMN_RUN_DYN_VERTICAL_OSC:   serieData.runDyn_VerticalOscillation   = (short[]) values;     break;
+      case COLUMN_RUN_DYN_VERTICAL_RATIO: serieData.runDyn_VerticalRatio         = (short[]) values;     break;
+
+      case COLUMN_SWIM_LENGTH_TYPE:       serieData.swim_LengthType              = (short[]) values;     break;
+      case COLUMN_SWIM_CADENCE:           serieData.swim_Cadence                 = (short[]) values;     break;
+      case COLUMN_SWIM_STROKES:           serieData.swim_Strokes                 = (short[]) values;     break;
+      case COLUMN_SWIM_STROKE_STYLE:      serieData.swim_StrokeStyle             = (short[]) values;     break;
+      case COLUMN_SWIM_TIME:              serieData.swim_Time                    = (int[]) values;       break;
+
+      case COLUMN_VISIBLE_POINTS_SURFING: serieData.visiblePoints_Surfing        = (boolean[]) values;   break;
+
+      case COLUMN_PAUSED_TIME_START:      serieData.pausedTime_Start             = (long[]) values;      break;
+      case COLUMN_PAUSED_TIME_END:        serieData.pausedTime_End               = (long[]) values;      break;
+      case COLUMN_PAUSED_TIME_DATA:       serieData.pausedTime_Data              = (long[]) values;      break;
+
+      case COLUMN_DEVICE_MARKER:          serieData.deviceMarker                 = (int[]) values;       break;
+
+      case COLUMN_BATTERY_TIME:           serieData.battery_Time                 = (int[]) values;       break;
+      case COLUMN_BATTERY_PERCENTAGE:     serieData.battery_Percentage           = (short[]) values;     break;
+
+      case COLUMN_PHOTOS_WITH_GEO:        serieData.tourPhotosWithPositionedGeo  = (long[]) values;      break;
+
+      case COLUMN_RADAR_PASSED_VEHICLES:  serieData.radar_PassedVehicles         = (int[]) values;       break;
+      case COLUMN_RADAR_DISTANCE:         serieData.radar_DistanceToVehicle      = (short[]) values;     break;
+      case COLUMN_RADAR_SPEED_ABSOLUTE:   serieData.radar_PassingSpeed_Absolute  = (short[]) values;     break;
+      case COLUMN_RADAR_SPEED_RELATIVE:   serieData.radar_PassingSpeed_Relative  = (short[]) values;     break;
+
+      default:
+         // column from a newer version -> ignore
+         break;
+      }
+
+// SET_FORMATTING_ON
+   }
+
+   private static double[] decodeDoubles(final Reader reader, final int numValues) {
+
+      final double[] values = new double[numValues];
+
+      final BitReader bitReader = new BitReader(reader);
+      final long[] xorState = { 0, -1, 0 };
+
+      for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+         values[valueIndex] = Double.longBitsToDouble(readXor(bitReader, xorState, 64, valueIndex == 0));
+      }
+
+      return values;
+   }
+
+   private static float[] decodeFloats(final Reader reader, final int numValues) {
+
+      final float[] values = new float[numValues];
+
+      final BitReader bitReader = new BitReader(reader);
+      final long[] xorState = { 0, -1, 0 };
+
+      for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+         values[valueIndex] = Float.intBitsToFloat((int) readXor(bitReader, xorState, 32, valueIndex == 0));
+      }
+
+      return values;
+   }
+
+   private static int[] decodeInts(final Reader reader, final int numValues) {
+
+      final int[] values = new int[numValues];
+
+      int previousValue = 0;
+
+      for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+
+         final int zigzag = reader.readVarInt();
+
+         previousValue += zigzag >>> 1 ^ -(zigzag & 1);
+
+         values[valueIndex] = previousValue;
+      }
+
+      return values;
+   }
+
+   private static long[] decodeLongs(final Reader reader, final int numValues) {
+
+      final long[] values = new long[numValues];
+
+      long previousValue = 0;
+
+      for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+
+         final long zigzag = reader.readVarLong();
+
+         previousValue += zigzag >>> 1 ^ -(zigzag & 1);
+
+         values[valueIndex] = previousValue;
+      }
+
+      return values;
+   }
+
+   private static short[] decodeShorts(final Reader reader, final int numValues) {
+
+      final short[] values = new short[numValues];
+
+      int previousValue = 0;
+
+      for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+
+         final int zigzag = reader.readVarInt();
+
+         previousValue += zigzag >>> 1 ^ -(zigzag & 1);
+
+         values[valueIndex] = (short) previousValue;
+      }
+
+      return values;
+   }
+
+   /**
+    * @return Returns the decoded array or <code>null</code> when the encoding is not supported
+    */
+   static Object decodeValues(final byte encoding,
+                              final int numValues,
+                              final Reader reader,
+                              final int numPayloadBytes) {
+
+      if (numValues < 0) {
+         throw new IllegalArgumentException("Invalid number of serie values: " + numValues); //$NON-NLS-1$
+      }
+
+      return switch (encoding) {
+
+      case ENCODING_INT_DELTA     -> decodeInts(reader, numValues);
+      case ENCODING_LONG_DELTA    -> decodeLongs(reader, numValues);
+      case ENCODING_SHORT_DELTA   -> decodeShorts(reader, numValues);
+      case ENCODING_FLOAT_XOR     -> decodeFloats(reader, numValues);
+      case ENCODING_DOUBLE_XOR    -> decodeDoubles(reader, numValues);
+      case ENCODING_BOOLEAN_BITS  -> decodeBooleans(reader, numValues);
+
+      // encoding from a newer version
+      default                     -> null;
+      };
+   }
+
+   /**
+    * Deserialize a {@link SerieData} blob from the database.
+    * <p>
+    * When the blob was saved in the columnar format, only the requested data series are decoded.
+    * Blobs which were saved with the default java serialization are always read completely.
+    *
+    * @param serializedData
+    *           Serialized {@link SerieData}
+    * @param allColumnIds
+    *           Ids of the columns {@link #COLUMN_TIME}... which should be decoded or
+    *           <code>null</code> to decode all columns
+    *
+    * @return
+    *
+    * @throws IOException
+    * @throws ClassNotFoundException
+    */
+   public static SerieData deserialize(final byte[] serializedData, final int... allColumnIds) throws IOException,
+         ClassNotFoundException {
+
+      _deserializeColumnIds.set(allColumnIds);
+
+      try (ObjectInputStream inStream = new ObjectInputStream(new ByteArrayInputStream(serializedData))) {
+
+         return (SerieData) inStream.readObject();
+
+      } finally {
+
+         _deserializeColumnIds.remove();
+      }
+   }
+
+   /**
+    * @param serieData
+    *
+    * @return Returns all not <code>null</code> data series of the {@link SerieData} in the
+    *         columnar format
+    */
+   public static byte[] encode(final SerieData serieData) {
+
+      final Writer allColumns = new Writer(estimateSize(serieData));
+      final Writer column = new Writer(1024);
+
+      final int[] numColumns = { 0 };
+
+// SET_FORMATTING_OFF
+
+      encodeInts     (allColumns, column, numColumns, COLUMN_TIME,                     serieData.timeSerie);
+
+      encodeFloats   (allColumns, column, numColumns, COLUMN_ALTITUDE_20,              serieData.altitudeSerie20);
+      encodeFloats   (allColumns, column, numColumns, COLUMN_CADENCE_20,               serieData.cadenceSerie20);
+      encodeFloats   (allColumns, column, numColumns, COLUMN_DISTANCE_20,              serieData.distanceSerie20);
+      encodeFloats   (allColumns, column, numColumns, COLUMN_POWER_20,                 serieData.powerSerie20);
+      encodeFloats   (allColumns, column, numColumns, COLUMN_PULSE_20,                 serieData.pulseSerie20);
+      encodeFloats   (allColumns, column, numColumns, COLUMN_SPEED_20,                 serieData.speedSerie20);
+      encodeFloats   (allColumns, column, numColumns, COLUMN_TEMPERATURE_20,           serieData.temperatureSerie20);
+
+      encodeInts     (allColumns, column, numColumns, COLUMN_ALTITUDE,                 serieData.altitudeSerie);
+      encodeInts     (allColumns, column, numColumns, COLUMN_CADENCE,                  serieData.cadenceSerie);
+      encodeInts     (allColumns, column, numColumns, COLUMN_DISTANCE,                 serieData.distanceSerie);
+      encodeInts     (allColumns, column, numColumns, COLUMN_POWER,                    serieData.powerSerie);
+      encodeInts     (allColumns, column, numColumns, COLUMN_PULSE,                    serieData.pulseSerie);
+      encodeInts     (allColumns, column, numColumns, COLUMN_SPEED,                    serieData.speedSerie);
+      encodeInts     (allColumns, column, numColumns, COLUMN_TEMPERATURE,              serieData.temperatureSerie);
+
+      encodeLongs    (allColumns, column, numColumns, COLUMN_GEARS,                    serieData.gears);
+
+      encodeDoubles  (allColumns, column, numColumns, COLUMN_LONGITUDE,                serieData.longitude);
+      encodeDoubles  (allColumns, column, numColumns, COLUMN_LATITUDE,                 serieData.latitude);
+      encodeInts     (allColumns, column, numColumns, COLUMN_LONGITUDE_E6,             serieData.longitudeE6);
+      encodeInts     (allColumns, column, numColumns, COLUMN_LATITUDE_E6,              serieData.latitudeE6);
+
+      encodeInts     (allColumns, column, numColumns, COLUMN_PULSE_TIMES,              serieData.pulseTimes);
+      encodeInts     (allColumns, column, numColumns, COLUMN_PULSE_TIME_INDEX,         serieData.pulseTime_TimeIndex);
+
+      encodeShorts   (allColumns, column, numColumns, COLUMN_RUN_DYN_STANCE_TIME,      serieData.runDyn_StanceTime);
+      encodeShorts   (allColumns, column, numColumns, COLUMN_RUN_DYN_STANCE_BALANCE,   serieData.runDyn_StanceTimeBalance);
+      encodeShorts   (allColumns, column, numColumns, COLUMN_RUN_DYN_STEP_LENGTH,      serieData.runDyn_StepLength);
+      encodeShorts   (allColumns, column, numColumns, COLUMN_RUN_DYN_VERTICAL_OSC,     serieData.runDyn_VerticalOscillation);
+      encodeShorts   (allColumns, column, numColumns, COLUMN_RUN_DYN_VERTICAL_RATIO,   serieData.runDyn_VerticalRatio);
+
+      encodeShorts   (allColumns, column, numColumns, COLUMN_SWIM_LENGTH_TYPE,         serieData.swim_LengthType);
+      encodeShorts   (allColumns, column, numColumns, COLUMN_SWIM_CADENCE,             serieData.swim_Cadence);
+      encodeShorts   (allColumns, column, numColumns, COLUMN_SWIM_STROKES,             serieData.swim_Strokes);
+      encodeShorts   (allColumns, column, numColumns, COLUMN_SWIM_STROKE_STYLE,        serieData.swim_StrokeStyle);
+      encodeInts     (allColumns, column, numColumns, COLUMN_SWIM_TIME,                serieData.swim_Time);
+
+      encodeBooleans (allColumns, column, numColumns, COLUMN_VISIBLE_POINTS_SURFING,   serieData.visiblePoints_Surfing);
+
+      encodeLongs    (allColumns, column, numColumns, COLUMN_PAUSED_TIME_START,        serieData.pausedTime_Start);
+      encodeLongs    (allColumns, column, numColumns, COLUMN_PAUSED_TIME_END,          serieData.pausedTime_End);
+      encodeLongs    (allColumns, column, numColumns, COLUMN_PAUSED_TIME_DATA,         serieData.pausedTime_Data);
+
+      encodeInts     (allColumns, column, numColumns, COLUMN_DEVICE_MARKER,            serieData.deviceMarker);
+
+      encodeInts     (allColumns, column, numColumns, COLUMN_BATTERY_TIME,             serieData.battery_Time);
+      encodeShorts   (allColumns, column, numColumns, COLUMN_BATTERY_PERCENTAGE,       serieData.battery_Percentage);
+
+      encodeLongs    (allColumns, column, numColumns, COLUMN_PHOTOS_WITH_GEO,          serieData.tourPhotosWithPositionedGeo);
+
+      encodeInts     (allColumns, column, numColumns, COLUMN_RADAR_PASSED_VEHICLES,    serieData.radar_PassedVehicles);
+      encodeShorts   (allColumns, column, numColumns, COLUMN_RADAR_DISTANCE,           serieData.radar_DistanceToVehicle);
+      encodeShorts   (allColumns, column, numColumns, COLUMN_RADAR_SPEED_ABSOLUTE,     serieData.radar_PassingSpeed_Absolute);
+      encodeShorts   (allColumns, column, numColumns, COLUMN_RADAR_SPEED_RELATIVE,     serieData.radar_PassingSpeed_Relative);
+
+// SET_FORMATTING_ON
+
+      final Writer writer = new Writer(allColumns._size + 16);
+
+      writer.writeInt(MAGIC);
+      writer.writeByte(FORMAT_VERSION);
+      writer.writeVarInt(numColumns[0]);
+      writer.writeBytes(allColumns);
+
+      return writer.toByteArray();
+   }
+
+   private static void encodeBooleans(final Writer allColumns,
+                                      final Writer column,
+                                      final int[] numColumns,
+                                      final int columnId,
+                                      final boolean[] values) {
+
+      if (values == null) {
+         return;
+      }
+
+      column._size = 0;
+
+      final BitWriter bitWriter = new BitWriter(column);
+
+      for (final boolean value : values) {
+         bitWriter.writeBit(value);
+      }
+
+      bitWriter.flush();
+
+      writeColumn(allColumns, column, numColumns, columnId, ENCODING_BOOLEAN_BITS, values.length);
+   }
+
+   private static void encodeDoubles(final Writer allColumns,
+                                     final Writer column,
+                                     final int[] numColumns,
+                                     final int columnId,
+                                     final double[] values) {
+
+      if (values == null) {
+         return;
+      }
+
+      column._size = 0;
+
+      final BitWriter bitWriter = new BitWriter(column);
+      final long[] xorState = { 0, -1, 0 };
+
+      for (int valueIndex = 0; valueIndex < values.length; valueIndex++) {
+         writeXor(bitWriter, xorState, Double.doubleToRawLongBits(values[valueIndex]), 64, valueIndex == 0);
+      }
+
+      bitWriter.flush();
+
+      writeColumn(allColumns, column, numColumns, columnId, ENCODING_DOUBLE_XOR, values.length);
+   }
+
+   private static void encodeFloats(final Writer allColumns,
+                                    final Writer column,
+                                    final int[] numColumns,
+                                    final int columnId,
+                                    final float[] values) {
+
+      if (values == null) {
+         return;
+      }
+
+      column._size = 0;
+
+      final BitWriter bitWriter = new BitWriter(column);
+      final long[] xorState = { 0, -1, 0 };
+
+      for (int valueIndex = 0; valueIndex < values.length; valueIndex++) {
+
+         final long valueBits = Float.floatToRawIntBits(values[valueIndex]) & 0xffff_ffffL;
+
+         writeXor(bitWriter, xorState, valueBits, 32, valueIndex == 0);
+      }
+
+      bitWriter.flush();
+
+      writeColumn(allColumns, column, numColumns, columnId, ENCODING_FLOAT_XOR, values.length);
+   }
+
+   private static void encodeInts(final Writer allColumns,
+                                  final Writer column,
+                                  final int[] numColumns,
+                                  final int columnId,
+                                  final int[] values) {
+
+      if (values == null) {
+         return;
+      }
+
+      column._size = 0;
+
+      int previousValue = 0;
+
+      for (final int value : values) {
+
+         final int delta = value - previousValue;
+
+         column.writeVarInt(delta << 1 ^ delta >> 31);
+
+         previousValue = value;
+      }
+
+      writeColumn(allColumns, column, numColumns, columnId, ENCODING_INT_DELTA, values.length);
+   }
+
+   private static void encodeLongs(final Writer allColumns,
+                                   final Writer column,
+                                   final int[] numColumns,
+                                   final int columnId,
+                                   final long[] values) {
+
+      if (values == null) {
+         return;
+      }
+
+      column._size = 0;
+
+      long previousValue = 0;
+
+      for (final long value : values) {
+
+         final long delta = value - previousValue;
+
+         column.writeVarLong(delta << 1 ^ delta >> 63);
+
+         previousValue = value;
+      }
+
+      writeColumn(allColumns, column, numColumns, columnId, ENCODING_LONG_DELTA, values.length);
+   }
+
+   private static void encodeShorts(final Writer allColumns,
+                                    final Writer column,
+                                    final int[] numColumns,
+                                    final int columnId,
+                                    final short[] values) {
+
+      if (values == null) {
+         return;
+      }
+
+      column._size = 0;
+
+      int previousValue = 0;
+
+      for (final short value : values) {
+
+         final int delta = value - previousValue;
+
+         column.writeVarInt(delta << 1 ^ delta >> 31);
+
+         previousValue = value;
+      }
+
+      writeColumn(allColumns, column, numColumns, columnId, ENCODING_SHORT_DELTA, values.length);
+   }
+
+   /**
+    * @return Returns a rough size of the encoded data that the buffer is not too often resized
+    */
+   private static int estimateSize(final SerieData serieData) {
+
+      final int numTimeSlices = serieData.timeSerie == null ? 0 : serieData.timeSerie.length;
+
+      return 64 + numTimeSlices * 16;
+   }
+
+   /**
+    * @param encodedData
+    *
+    * @return Returns <code>true</code> when the data are in the columnar format
+    */
+   public static boolean isEncoded(final byte[] encodedData) {
+
+      if (encodedData == null || encodedData.length < 5) {
+         return false;
+      }
+
+      return new Reader(encodedData, 0).readInt() == MAGIC;
+   }
+
+   private static boolean isColumnRequested(final int columnId, final int[] allColumnIds) {
+
+      if (allColumnIds == null) {
+         return true;
+      }
+
+      for (final int requestedColumnId : allColumnIds) {
+         if (requestedColumnId == columnId) {
+            return true;
+         }
+      }
+
+      return false;
+   }
+
+   static Reader readHeader(final byte[] encodedData) {
+
+      if (isEncoded(encodedData) == false) {
+         throw new IllegalArgumentException("Serie data are not in the columnar format"); //$NON-NLS-1$
+      }
+
+      final Reader reader = new Reader(encodedData, 4);
+
+      final byte formatVersion = reader.readByte();
+
+      if (formatVersion > FORMAT_VERSION) {
+         throw new IllegalArgumentException(String.format("Serie data format version %d is not supported", formatVersion)); //$NON-NLS-1$
+      }
+
+      return reader;
+   }
+
+   /**
+    * Read one XOR encoded value.
+    *
+    * @param xorState
+    *           [0] previous value bits, [1] previous leading zeros, [2] previous trailing zeros
+    */
+   private static long readXor(final BitReader bitReader,
+                               final long[] xorState,
+                               final int valueBits,
+                               final boolean isFirstValue) {
+
+      if (isFirstValue) {
+
+         xorState[0] = bitReader.readBits(valueBits);
+
+         return xorState[0];
+      }
+
+      if (bitReader.readBit() == false) {
+
+         // same value as the previous value
+         return xorState[0];
+      }
+
+      final int numHeaderBits = valueBits == 32 ? 5 : 6;
+
+      if (bitReader.readBit()) {
+
+         // new leading/trailing zeros
+
+         final int numLeadingZeros = (int) bitReader.readBits(numHeaderBits);
+         final int numMeaningfulBits = (int) bitReader.readBits(numHeaderBits) + 1;
+
+         xorState[1] = numLeadingZeros;
+         xorState[2] = valueBits - numLeadingZeros - numMeaningfulBits;
+      }
+
+      final int numTrailingZeros = (int) xorState[2];
+      final int numMeaningfulBits = valueBits - (int) xorState[1] - numTrailingZeros;
+
+      final long xorValue = bitReader.readBits(numMeaningfulBits) << numTrailingZeros;
+
+      xorState[0] ^= xorValue;
+
+      return xorState[0];
+   }
+
+   private static void writeColumn(final Writer allColumns,
+                                   final Writer column,
+                                   final int[] numColumns,
+                                   final int columnId,
+                                   final byte encoding,
+                                   final int numValues) {
+
+      allColumns.writeVarInt(columnId);
+      allColumns.writeByte(encoding);
+      allColumns.writeVarInt(numValues);
+      allColumns.writeVarInt(column._size);
+      allColumns.writeBytes(column);
+
+      numColumns[0]++;
+   }
+
+   /**
+    * Write one value with the XOR encoding, see "Gorilla: A Fast, Scalable, In-Memory Time Series
+    * Database"
+    *
+    * @param xorState
+    *           [0] previous value bits, [1] previous leading zeros, [2] previous trailing zeros
+    */
+   private static void writeXor(final BitWriter bitWriter,
+                                final long[] xorState,
+                                final long valueBits,
+                                final int numValueBits,
+                                final boolean isFirstValue) {
+
+      if (isFirstValue) {
+
+         bitWriter.writeBits(valueBits, numValueBits);
+         xorState[0] = valueBits;
+
+         return;
+      }
+
+      final long xorValue = valueBits ^ xorState[0];
+
+      xorState[0] = valueBits;
+
+      if (xorValue == 0) {
+
+         bitWriter.writeBit(false);
+
+         return;
+      }
+
+      bitWriter.writeBit(true);
+
+      final int numLeadingZeros = Long.numberOfLeadingZeros(xorValue) - (64 - numValueBits);
+      final int numTrailingZeros = Long.numberOfTrailingZeros(xorValue);
+
+      final long previousLeadingZeros = xorState[1];
+      final long previousTrailingZeros = xorState[2];
+
+      if (previousLeadingZeros != -1
+            && numLeadingZeros >= previousLeadingZeros
+            && numTrailingZeros >= previousTrailingZeros) {
+
+         // meaningful bits fit into the previous window
+
+         bitWriter.writeBit(false);
+
+         final int numMeaningfulBits = numValueBits - (int) previousLeadingZeros - (int) previousTrailingZeros;
+
+         bitWriter.writeBits(xorValue >>> previousTrailingZeros, numMeaningfulBits);
+
+      } else {
+
+         final int numHeaderBits = numValueBits == 32 ? 5 : 6;
+         final int numMeaningfulBits = numValueBits - numLeadingZeros - numTrailingZeros;
+
+         bitWriter.writeBit(true);
+         bitWriter.writeBits(numLeadingZeros, numHeaderBits);
+         bitWriter.writeBits(numMeaningfulBits - 1, numHeaderBits);
+         bitWriter.writeBits(xorValue >>> numTrailingZeros, numMeaningfulBits);
+
+         xorState[1] = numLeadingZeros;
+         xorState[2] = numTrailingZeros;
+      }
+   }
+}
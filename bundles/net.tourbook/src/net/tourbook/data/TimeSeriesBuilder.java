@@ -0,0 +1,447 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.data;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Contains the time slices of an imported tour in primitive columns, this replaces one
+ * {@link TimeData} object for each time slice.
+ * <p>
+ * A time slice is appended with {@link #add()}, the values are then set with the returned index,
+ * e.g.
+ *
+ * <pre>
+ * final int sliceIndex = timeSeries.add();
+ *
+ * timeSeries.absoluteTime[sliceIndex] = ...;
+ * timeSeries.pulse[sliceIndex] = ...;
+ * </pre>
+ *
+ * The column arrays are replaced when the capacity is increased, so they must not be kept in a
+ * local variable while slices are added.
+ * <p>
+ * Values are not available when they are set to the same "not set" value as in {@link TimeData}.
+ */
+public class TimeSeriesBuilder {
+
+   private static final int DEFAULT_CAPACITY = 1024;
+
+   private int              _numSlices;
+   private int              _capacity;
+
+   /**
+    * Contains the difference to the previous time in seconds
+    */
+   public int[]             time;
+
+   /**
+    * Milliseconds since 1970-01-01T00:00:00Z or {@link Long#MIN_VALUE} when not set
+    */
+   public long[]            absoluteTime;
+
+   public float[]           temperature;
+   public float[]           cadence;
+
+   /**
+    * Gear value or 0 when not set
+    */
+   public long[]            gear;
+
+   public float[]           pulse;
+   public float[]           altitude;
+   public float[]           absoluteAltitude;
+   public float[]           distance;
+   public float[]           absoluteDistance;
+   public float[]           power;
+   public float[]           speed;
+
+   public double[]          latitude;
+   public double[]          longitude;
+
+   /**
+    * A marker is created when the value is not 0
+    */
+   public int[]             marker;
+   public String[]          markerLabel;
+
+   /**
+    * Pulse times in milliseconds, is <code>null</code> for most time slices
+    */
+   public int[][]           pulseTime;
+
+   public short[]           runDyn_StanceTime;
+   public short[]           runDyn_StanceTimeBalance;
+   public short[]           runDyn_StepLength;
+   public short[]           runDyn_VerticalOscillation;
+   public short[]           runDyn_VerticalRatio;
+
+   public int[]             radar_PassedVehicles;
+   public short[]           radar_DistanceToVehicle;
+   public short[]           radar_PassingSpeed_Relative;
+   public short[]           radar_PassingSpeed_Absolute;
+
+   public TimeSeriesBuilder() {
+
+      this(DEFAULT_CAPACITY);
+   }
+
+   /**
+    * @param initialCapacity
+    *           Number of time slices which can be added before the columns are resized
+    */
+   public TimeSeriesBuilder(final int initialCapacity) {
+
+      final int capacity = Math.max(1, initialCapacity);
+
+// SET_FORMATTING_OFF
+
+      time                          = new int[capacity];
+      absoluteTime                  = new long[capacity];
+      temperature                   = new float[capacity];
+      cadence                       = new float[capacity];
+      gear                          = new long[capacity];
+      pulse                         = new float[capacity];
+      altitude                      = new float[capacity];
+      absoluteAltitude              = new float[capacity];
+      distance                      = new float[capacity];
+      absoluteDistance              = new float[capacity];
+      power                         = new float[capacity];
+      speed                         = new float[capacity];
+      latitude                      = new double[capacity];
+      longitude                     = new double[capacity];
+      marker                        = new int[capacity];
+      markerLabel                   = new String[capacity];
+      pulseTime                     = new int[capacity][];
+      runDyn_StanceTime             = new short[capacity];
+      runDyn_StanceTimeBalance      = new short[capacity];
+      runDyn_StepLength             = new short[capacity];
+      runDyn_VerticalOscillation    = new short[capacity];
+      runDyn_VerticalRatio          = new short[capacity];
+      radar_PassedVehicles          = new int[capacity];
+      radar_DistanceToVehicle       = new short[capacity];
+      radar_PassingSpeed_Relative   = new short[capacity];
+      radar_PassingSpeed_Absolute   = new short[capacity];
+
+// SET_FORMATTING_ON
+
+      setNotSetValues(0, capacity);
+
+      _capacity = capacity;
+   }
+
+   /**
+    * Convert {@link TimeData} objects into columns, this is used by readers which are still
+    * creating a {@link TimeData} for each time slice.
+    *
+    * @param allTimeData
+    *
+    * @return
+    */
+   public static TimeSeriesBuilder of(final List<TimeData> allTimeData) {
+
+      final int numTimeData = allTimeData.size();
+
+      final TimeSeriesBuilder timeSeries = new TimeSeriesBuilder(numTimeData);
+
+      for (int serieIndex = 0; serieIndex < numTimeData; serieIndex++) {
+
+         final TimeData timeData = allTimeData.get(serieIndex);
+
+         timeSeries.add();
+
+// SET_FORMATTING_OFF
+
+         timeSeries.time[serieIndex]                        = timeData.time;
+         timeSeries.absoluteTime[serieIndex]                = timeData.absoluteTime;
+         timeSeries.temperature[serieIndex]                 = timeData.temperature;
+         timeSeries.cadence[serieIndex]                     = timeData.cadence;
+         timeSeries.gear[serieIndex]                        = timeData.gear;
+         timeSeries.pulse[serieIndex]                       = timeData.pulse;
+         timeSeries.altitude[serieIndex]                    = timeData.altitude;
+         timeSeries.absoluteAltitude[serieIndex]            = timeData.absoluteAltitude;
+         timeSeries.distance[serieIndex]                    = timeData.distance;
+         timeSeries.absoluteDistance[serieIndex]            = timeData.absoluteDistance;
+         timeSeries.power[serieIndex]                       = timeData.power;
+         timeSeries.speed[serieIndex]                       = timeData.speed;
+         timeSeries.latitude[serieIndex]                    = timeData.latitude;
+         timeSeries.longitude[serieIndex]                   = timeData.longitude;
+         timeSeries.marker[serieIndex]                      = timeData.marker;
+         timeSeries.markerLabel[serieIndex]                 = timeData.markerLabel;
+         timeSeries.pulseTime[serieIndex]                   = timeData.pulseTime;
+         timeSeries.runDyn_StanceTime[serieIndex]           = timeData.runDyn_StanceTime;
+         timeSeries.runDyn_StanceTimeBalance[serieIndex]    = timeData.runDyn_StanceTimeBalance;
+         timeSeries.runDyn_StepLength[serieIndex]           = timeData.runDyn_StepLength;
+         timeSeries.runDyn_VerticalOscillation[serieIndex]  = timeData.runDyn_VerticalOscillation;
+         timeSeries.runDyn_VerticalRatio[serieIndex]        = timeData.runDyn_VerticalRatio;
+         timeSeries.radar_PassedVehicles[serieIndex]        = timeData.radar_PassedVehicles;
+         timeSeries.radar_DistanceToVehicle[serieIndex]     = timeData.radar_DistanceToVehicle;
+         timeSeries.radar_PassingSpeed_Relative[serieIndex] = timeData.radar_PassingSpeed_Relative;
+         timeSeries.radar_PassingSpeed_Absolute[serieIndex] = timeData.radar_PassingSpeed_Absolute;
+
+// SET_FORMATTING_ON
+      }
+
+      return timeSeries;
+   }
+
+   /**
+    * Append a time slice, all values of this time slice are "not set".
+    *
+    * @return Returns the index of the new time slice
+    */
+   public int add() {
+
+      if (_numSlices == _capacity) {
+         grow(_capacity + (_capacity >> 1) + 1);
+      }
+
+      return _numSlices++;
+   }
+
+   private void copySlice(final int sliceIndex, final TimeSeriesBuilder target, final int targetIndex) {
+
+// SET_FORMATTING_OFF
+
+      target.time[targetIndex]                        = time[sliceIndex];
+      target.absoluteTime[targetIndex]                = absoluteTime[sliceIndex];
+      target.temperature[targetIndex]                 = temperature[sliceIndex];
+      target.cadence[targetIndex]                     = cadence[sliceIndex];
+      target.gear[targetIndex]                        = gear[sliceIndex];
+      target.pulse[targetIndex]                       = pulse[sliceIndex];
+      target.altitude[targetIndex]                    = altitude[sliceIndex];
+      target.absoluteAltitude[targetIndex]            = absoluteAltitude[sliceIndex];
+      target.distance[targetIndex]                    = distance[sliceIndex];
+      target.absoluteDistance[targetIndex]            = absoluteDistance[sliceIndex];
+      target.power[targetIndex]                       = power[sliceIndex];
+      target.speed[targetIndex]                       = speed[sliceIndex];
+      target.latitude[targetIndex]                    = latitude[sliceIndex];
+      target.longitude[targetIndex]                   = longitude[sliceIndex];
+      target.marker[targetIndex]                      = marker[sliceIndex];
+      target.markerLabel[targetIndex]                 = markerLabel[sliceIndex];
+      target.pulseTime[targetIndex]                   = pulseTime[sliceIndex];
+      target.runDyn_StanceTime[targetIndex]           = runDyn_StanceTime[sliceIndex];
+      target.runDyn_StanceTimeBalance[targetIndex]    = runDyn_StanceTimeBalance[sliceIndex];
+      target.runDyn_StepLength[targetIndex]           = runDyn_StepLength[sliceIndex];
+      target.runDyn_VerticalOscillation[targetIndex]  = runDyn_VerticalOscillation[sliceIndex];
+      target.runDyn_VerticalRatio[targetIndex]        = runDyn_VerticalRatio[sliceIndex];
+      target.radar_PassedVehicles[targetIndex]        = radar_PassedVehicles[sliceIndex];
+      target.radar_DistanceToVehicle[targetIndex]     = radar_DistanceToVehicle[sliceIndex];
+      target.radar_PassingSpeed_Relative[targetIndex] = radar_PassingSpeed_Relative[sliceIndex];
+      target.radar_PassingSpeed_Absolute[targetIndex] = radar_PassingSpeed_Absolute[sliceIndex];
+
+// SET_FORMATTING_ON
+   }
+
+   private void grow(final int newCapacity) {
+
+// SET_FORMATTING_OFF
+
+      time                          = Arrays.copyOf(time,                        newCapacity);
+      absoluteTime                  = Arrays.copyOf(absoluteTime,                newCapacity);
+      temperature                   = Arrays.copyOf(temperature,                 newCapacity);
+      cadence                       = Arrays.copyOf(cadence,                     newCapacity);
+      gear                          = Arrays.copyOf(gear,                        newCapacity);
+      pulse                         = Arrays.copyOf(pulse,                       newCapacity);
+      altitude                      = Arrays.copyOf(altitude,                    newCapacity);
+      absoluteAltitude              = Arrays.copyOf(absoluteAltitude,            newCapacity);
+      distance                      = Arrays.copyOf(distance,                    newCapacity);
+      absoluteDistance              = Arrays.copyOf(absoluteDistance,            newCapacity);
+      power                         = Arrays.copyOf(power,                       newCapacity);
+      speed                         = Arrays.copyOf(speed,                       newCapacity);
+      latitude                      = Arrays.copyOf(latitude,                    newCapacity);
+      longitude                     = Arrays.copyOf(longitude,                   newCapacity);
+      marker                        = Arrays.copyOf(marker,                      newCapacity);
+      markerLabel                   = Arrays.copyOf(markerLabel,                 newCapacity);
+      pulseTime                     = Arrays.copyOf(pulseTime,                   newCapacity);
+      runDyn_StanceTime             = Arrays.copyOf(runDyn_StanceTime,           newCapacity);
+      runDyn_StanceTimeBalance      = Arrays.copyOf(runDyn_StanceTimeBalance,    newCapacity);
+      runDyn_StepLength             = Arrays.copyOf(runDyn_StepLength,           newCapacity);
+      runDyn_VerticalOscillation    = Arrays.copyOf(runDyn_VerticalOscillation,  newCapacity);
+      runDyn_VerticalRatio          = Arrays.copyOf(runDyn_VerticalRatio,        newCapacity);
+      radar_PassedVehicles          = Arrays.copyOf(radar_PassedVehicles,        newCapacity);
+      radar_DistanceToVehicle       = Arrays.copyOf(radar_DistanceToVehicle,     newCapacity);
+      radar_PassingSpeed_Relative   = Arrays.copyOf(radar_PassingSpeed_Relative, newCapacity);
+      radar_PassingSpeed_Absolute   = Arrays.copyOf(radar_PassingSpeed_Absolute, newCapacity);
+
+// SET_FORMATTING_ON
+
+      setNotSetValues(_capacity, newCapacity);
+
+      _capacity = newCapacity;
+   }
+
+   public boolean isEmpty() {
+
+      return _numSlices == 0;
+   }
+
+   /**
+    * @return Returns the index of the last added time slice or -1 when no slice is added
+    */
+   public int lastIndex() {
+
+      return _numSlices - 1;
+   }
+
+   /**
+    * Remove time slices, the other time slices keep their order.
+    *
+    * @param isRemoved
+    *           Contains <code>true</code> for each time slice which is removed
+    */
+   public void remove(final boolean[] isRemoved) {
+
+      final int[] allKeptIndices = IntStream.range(0, _numSlices)
+            .filter(sliceIndex -> isRemoved[sliceIndex] == false)
+            .toArray();
+
+      if (allKeptIndices.length == _numSlices) {
+         return;
+      }
+
+      select(allKeptIndices);
+   }
+
+   /**
+    * Remove the last added time slice, all values of this slice are reset to "not set".
+    */
+   public void removeLast() {
+
+      if (_numSlices == 0) {
+         return;
+      }
+
+      final int lastIndex = --_numSlices;
+
+      time[lastIndex] = 0;
+      gear[lastIndex] = 0;
+      marker[lastIndex] = 0;
+      markerLabel[lastIndex] = null;
+      pulseTime[lastIndex] = null;
+
+      setNotSetValues(lastIndex, lastIndex + 1);
+   }
+
+   /**
+    * Replace the columns with the selected time slices.
+    *
+    * @param allSliceIndices
+    *           Indices of the time slices in the new order
+    */
+   private void select(final int[] allSliceIndices) {
+
+      final int numSlices = allSliceIndices.length;
+
+      final TimeSeriesBuilder selected = new TimeSeriesBuilder(_capacity);
+
+      for (int newIndex = 0; newIndex < numSlices; newIndex++) {
+         copySlice(allSliceIndices[newIndex], selected, newIndex);
+      }
+
+// SET_FORMATTING_OFF
+
+      time                          = selected.time;
+      absoluteTime                  = selected.absoluteTime;
+      temperature                   = selected.temperature;
+      cadence                       = selected.cadence;
+      gear                          = selected.gear;
+      pulse                         = selected.pulse;
+      altitude                      = selected.altitude;
+      absoluteAltitude              = selected.absoluteAltitude;
+      distance                      = selected.distance;
+      absoluteDistance              = selected.absoluteDistance;
+      power                         = selected.power;
+      speed                         = selected.speed;
+      latitude                      = selected.latitude;
+      longitude                     = selected.longitude;
+      marker                        = selected.marker;
+      markerLabel                   = selected.markerLabel;
+      pulseTime                     = selected.pulseTime;
+      runDyn_StanceTime             = selected.runDyn_StanceTime;
+      runDyn_StanceTimeBalance      = selected.runDyn_StanceTimeBalance;
+      runDyn_StepLength             = selected.runDyn_StepLength;
+      runDyn_VerticalOscillation    = selected.runDyn_VerticalOscillation;
+      runDyn_VerticalRatio          = selected.runDyn_VerticalRatio;
+      radar_PassedVehicles          = selected.radar_PassedVehicles;
+      radar_DistanceToVehicle       = selected.radar_DistanceToVehicle;
+      radar_PassingSpeed_Relative   = selected.radar_PassingSpeed_Relative;
+      radar_PassingSpeed_Absolute   = selected.radar_PassingSpeed_Absolute;
+
+// SET_FORMATTING_ON
+
+      _numSlices = numSlices;
+   }
+
+   /**
+    * Fill the "not set" values, the default array values 0 and <code>null</code> are already the
+    * "not set" values for time, gear, marker, marker label and pulse time.
+    *
+    * @param fromIndex
+    * @param toIndex
+    */
+   private void setNotSetValues(final int fromIndex, final int toIndex) {
+
+// SET_FORMATTING_OFF
+
+      Arrays.fill(absoluteTime,                 fromIndex, toIndex, Long.MIN_VALUE);
+      Arrays.fill(temperature,                  fromIndex, toIndex, Float.MIN_VALUE);
+      Arrays.fill(cadence,                      fromIndex, toIndex, Float.MIN_VALUE);
+      Arrays.fill(pulse,                        fromIndex, toIndex, Float.MIN_VALUE);
+      Arrays.fill(altitude,                     fromIndex, toIndex, Float.MIN_VALUE);
+      Arrays.fill(absoluteAltitude,             fromIndex, toIndex, Float.MIN_VALUE);
+      Arrays.fill(distance,                     fromIndex, toIndex, Float.MIN_VALUE);
+      Arrays.fill(absoluteDistance,             fromIndex, toIndex, Float.MIN_VALUE);
+      Arrays.fill(power,                        fromIndex, toIndex, Float.MIN_VALUE);
+      Arrays.fill(speed,                        fromIndex, toIndex, Float.MIN_VALUE);
+      Arrays.fill(latitude,                     fromIndex, toIndex, Double.MIN_VALUE);
+      Arrays.fill(longitude,                    fromIndex, toIndex, Double.MIN_VALUE);
+      Arrays.fill(runDyn_StanceTime,            fromIndex, toIndex, Short.MIN_VALUE);
+      Arrays.fill(runDyn_StanceTimeBalance,     fromIndex, toIndex, Short.MIN_VALUE);
+      Arrays.fill(runDyn_StepLength,            fromIndex, toIndex, Short.MIN_VALUE);
+      Arrays.fill(runDyn_VerticalOscillation,   fromIndex, toIndex, Short.MIN_VALUE);
+      Arrays.fill(runDyn_VerticalRatio,         fromIndex, toIndex, Short.MIN_VALUE);
+      Arrays.fill(radar_PassedVehicles,         fromIndex, toIndex, Integer.MIN_VALUE);
+      Arrays.fill(radar_DistanceToVehicle,      fromIndex, toIndex, Short.MIN_VALUE);
+      Arrays.fill(radar_PassingSpeed_Relative,  fromIndex, toIndex, Short.MIN_VALUE);
+      Arrays.fill(radar_PassingSpeed_Absolute,  fromIndex, toIndex, Short.MIN_VALUE);
+
+// SET_FORMATTING_ON
+   }
+
+   /**
+    * @return Returns the number of added time slices
+    */
+   public int size() {
+
+      return _numSlices;
+   }
+
+   /**
+    * Sort the time slices by {@link #absoluteTime}, time slices with the same time keep their
+    * order.
+    */
+   public void sortByAbsoluteTime() {
+
+      select(IntStream.range(0, _numSlices)
+            .boxed()
+            .sorted((sliceIndex1, sliceIndex2) -> Long.compare(absoluteTime[sliceIndex1], absoluteTime[sliceIndex2]))
+            .mapToInt(Integer::intValue)
+            .toArray());
+   }
+}
@@ -72,7 +72,6 @@ import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 
 import net.tourbook.Messages;
-import net.tourbook.algorithm.DPPoint;
 import net.tourbook.algorithm.DouglasPeuckerSimplifier;
 import net.tourbook.application.TourbookPlugin;
 import net.tourbook.common.UI;
@@ -98,8 +97,6 @@ import net.tourbook.photo.PhotoCache;
 import net.tourbook.preferences.ITourbookPreferences;
 import net.tourbook.srtm.ElevationSRTM1;
 import net.tourbook.srtm.ElevationSRTM3;
-import net.tourbook.srtm.GeoLat;
-import net.tourbook.srtm.GeoLon;
 import net.tourbook.srtm.NumberForm;
 import net.tourbook.tour.BreakTimeResult;
 import net.tourbook.tour.BreakTimeTool;
@@ -3344,23 +3341,18 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
          }
       }
 
-      // convert data series into DP points
-      final DPPoint[] allDPPoints = new DPPoint[endIndex - startIndex];
-      int dpPointsIndex = 0;
-      for (int serieIndex = startIndex; serieIndex < endIndex; serieIndex++) {
-         allDPPoints[dpPointsIndex] = new DPPoint(distanceSerie[serieIndex], elevationSerie[serieIndex], serieIndex);
-         dpPointsIndex++;
-      }
-
       int[] forcedIndices = null;
       if (isMultipleTours) {
          forcedIndices = multipleTourStartIndex;
       }
 
-      final DPPoint[] allSimplifiedPoints = new DouglasPeuckerSimplifier(
+      final int[] allSimplifiedIndices = DouglasPeuckerSimplifier.simplify(
             dpTolerance,
-            allDPPoints,
-            forcedIndices).simplify();
+            distanceSerie,
+            elevationSerie,
+            startIndex,
+            endIndex,
+            forcedIndices);
 
       // set break time when not yet set
       if (breakTimeSerie == null) {
@@ -3391,11 +3383,9 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       /*
        * Get all flat/gain/loss values which were found by DP
        */
-      for (int segmentIndex = 1; segmentIndex < allSimplifiedPoints.length; segmentIndex++) {
+      for (int segmentIndex = 1; segmentIndex < allSimplifiedIndices.length; segmentIndex++) {
 
-         final DPPoint dpPoint = allSimplifiedPoints[segmentIndex];
-
-         final int serieIndex = startIndex + dpPoint.serieIndex;
+         final int serieIndex = allSimplifiedIndices[segmentIndex];
          final int segmentEndIndex = serieIndex;
 
          final int segmentEndTime = timeSerie[segmentEndIndex];
@@ -3755,31 +3745,18 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       }
 
       final int serieLength = Math.abs(valueIndexRight - valueIndexLeft);
+      final int valueIndexEnd = valueIndexLeft + serieLength;
 
-      // convert data series into DP points
-      final DPPoint[] dpPoints = new DPPoint[serieLength];
-      for (int serieIndex = 0; serieIndex < dpPoints.length; serieIndex++) {
-
-         final int valueIndex = serieIndex + valueIndexLeft;
-
-         if (valueIndex >= distanceSerie.length) {
+      if (valueIndexEnd > distanceSerie.length) {
 
-            StatusUtil.logError(String.format(
+         StatusUtil.logError(String.format(
 
-                  "[TourData.computeAvg_Altitude()] valueIndex=%d is larger than the distanceSerie.length=%d", //$NON-NLS-1$
+               "[TourData.computeAvg_Altitude()] valueIndex=%d is larger than the distanceSerie.length=%d", //$NON-NLS-1$
 
-                  valueIndex,
-                  distanceSerie.length));
+               valueIndexEnd - 1,
+               distanceSerie.length));
 
-            return Float.MAX_VALUE;
-         }
-
-         dpPoints[serieIndex] = new DPPoint(
-
-               distanceSerie[valueIndex],
-               altitudeSerie[valueIndex],
-
-               serieIndex);
+         return Float.MAX_VALUE;
       }
 
       int[] forcedIndices = null;
@@ -3787,10 +3764,13 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
          forcedIndices = multipleTourStartIndex;
       }
 
-      final DPPoint[] simplifiedPoints = new DouglasPeuckerSimplifier(
+      final int[] allSimplifiedIndices = DouglasPeuckerSimplifier.simplify(
             dpTolerance / 10.0f,
-            dpPoints,
-            forcedIndices).simplify();
+            distanceSerie,
+            altitudeSerie,
+            valueIndexLeft,
+            valueIndexEnd,
+            forcedIndices);
 
       float altitudeUpTotal = 0;
       float altitudeDownTotal = 0;
@@ -3800,10 +3780,9 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       /*
        * Get altitude up/down from the tour altitude values which are found by DP
        */
-      for (int dbIndex = 1; dbIndex < simplifiedPoints.length; dbIndex++) {
+      for (int dbIndex = 1; dbIndex < allSimplifiedIndices.length; dbIndex++) {
 
-         final DPPoint point = simplifiedPoints[dbIndex];
-         final float currentAltitude = altitudeSerie[point.serieIndex + valueIndexLeft];
+         final float currentAltitude = altitudeSerie[allSimplifiedIndices[dbIndex]];
          final float altiDiff = currentAltitude - prevAltitude;
 
          if (altiDiff > 0) {
@@ -5242,11 +5221,43 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                                                        final int geoAccuracy,
                                                        final int distanceInterval) {
 
-      final float[] measureAllDistance = distanceSerie;
-      final double[] measureAllLat = latitudeSerie;
-      final double[] measureAllLon = longitudeSerie;
+      return computeGeo_NormalizeLatLon(
+            tourId,
+            distanceSerie,
+            latitudeSerie,
+            longitudeSerie,
+            measureStartIndex,
+            measureEndIndex,
+            geoAccuracy,
+            distanceInterval);
+   }
+
+   /**
+    * Normalize lat/lon values to a distance interval, this can be used without a {@link TourData}
+    * entity, e.g. when only the lat/lon/distance series are loaded from the database.
+    *
+    * @param tourId
+    * @param measureAllDistance
+    * @param measureAllLat
+    * @param measureAllLon
+    * @param measureStartIndex
+    * @param measureEndIndex
+    * @param geoAccuracy
+    * @param distanceInterval
+    *
+    * @return Returns the normalized geo data or <code>null</code> when lat/lon or distance are not
+    *         available
+    */
+   public static NormalizedGeoData computeGeo_NormalizeLatLon(final Long tourId,
+                                                              final float[] measureAllDistance,
+                                                              final double[] measureAllLat,
+                                                              final double[] measureAllLon,
+                                                              final int measureStartIndex,
+                                                              final int measureEndIndex,
+                                                              final int geoAccuracy,
+                                                              final int distanceInterval) {
 
-      if (measureAllLat == null || measureAllDistance == null) {
+      if (measureAllLat == null || measureAllLon == null || measureAllDistance == null) {
          return null;
       }
 
@@ -7555,26 +7566,70 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
          // when true then SRTM 1 values are used OR partly used
          boolean isSRTM1Values = false;
 
+         final float[] allSrtm1Values;
+         final float[] allSrtm3Values = new float[serieLength];
+
+         // use SRTM 1 values when requested, this makes it possible to disable the use of SRTM 1 values
+         if (isUseSrtm1Values) {
+
+            // get all SRTM 1 values at once, like the SRTM 3 values
+            allSrtm1Values = _elevationSRTM1.getElevations(latitudeSerie, longitudeSerie);
+
+         } else {
+
+            allSrtm1Values = new float[serieLength];
+            Arrays.fill(allSrtm1Values, Float.MIN_VALUE);
+         }
+
+         // positions which are not available in SRTM 1
+         final IntArrayList allSrtm3Indices = new IntArrayList();
+
+         for (int srtm1Index = 0; srtm1Index < serieLength; srtm1Index++) {
+
+            // ignore lat/lon 0/0, this is in the ocean
+            if (latitudeSerie[srtm1Index] == 0 && longitudeSerie[srtm1Index] == 0) {
+               continue;
+            }
+
+            if (isValidSrtm1Value(allSrtm1Values[srtm1Index], lowerLimit, upperLimit) == false) {
+               allSrtm3Indices.add(srtm1Index);
+            }
+         }
+
+         final int numSrtm3Values = allSrtm3Indices.size();
+
+         if (numSrtm3Values > 0) {
+
+            final double[] allSrtm3Latitudes = new double[numSrtm3Values];
+            final double[] allSrtm3Longitudes = new double[numSrtm3Values];
+
+            for (int srtm3Index = 0; srtm3Index < numSrtm3Values; srtm3Index++) {
+
+               final int positionIndex = allSrtm3Indices.get(srtm3Index);
+
+               allSrtm3Latitudes[srtm3Index] = latitudeSerie[positionIndex];
+               allSrtm3Longitudes[srtm3Index] = longitudeSerie[positionIndex];
+            }
+
+            // get all SRTM 3 values at once, this is much faster than creating geo positions for each value
+            final float[] allSrtm3Elevations = _elevationSRTM3.getElevations(allSrtm3Latitudes, allSrtm3Longitudes);
+
+            for (int srtm3Index = 0; srtm3Index < numSrtm3Values; srtm3Index++) {
+               allSrtm3Values[allSrtm3Indices.get(srtm3Index)] = allSrtm3Elevations[srtm3Index];
+            }
+         }
+
          for (final double latitude : latitudeSerie) {
 
             final double longitude = longitudeSerie[serieIndex];
-            float srtm1Value = Float.MIN_VALUE;
+            final float srtm1Value = allSrtm1Values[serieIndex];
             final float srtm3Value;
             float srtmValue = 0;
 
             // ignore lat/lon 0/0, this is in the ocean
             if (latitude != 0 || longitude != 0) {
 
-               // use SRTM 1 values when requested, this makes it possible to disable the use of SRTM 1 values
-               if (isUseSrtm1Values) {
-
-                  srtm1Value = _elevationSRTM1.getElevation(new GeoLat(latitude), new GeoLon(longitude));
-               }
-
-               if (srtm1Value != Float.MIN_VALUE
-
-                     // check if valid srtm1Value. sometimes illegal value is also -32767.0
-                     && srtm1Value > lowerLimit && srtm1Value < upperLimit) {
+               if (isValidSrtm1Value(srtm1Value, lowerLimit, upperLimit)) {
 
                   isSRTM1Values = true;
 
@@ -7589,7 +7644,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
 
                   //no srtm1 found, try srtm3
 
-                  srtm3Value = _elevationSRTM3.getElevation(new GeoLat(latitude), new GeoLon(longitude));
+                  srtm3Value = allSrtm3Values[serieIndex];
 
                   if (srtm3Value == Float.MIN_VALUE) {
 
@@ -7863,19 +7918,37 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                                 final boolean isCreateMarker,
                                 final ImportState_Process importState_Process) {
 
-      final int numTimeData = timeDataList.size();
-      if (numTimeData == 0) {
+      if (timeDataList.isEmpty()) {
          return;
       }
 
-      final TimeData[] allTimeData = timeDataList.toArray(new TimeData[numTimeData]);
-      final TimeData firstTimeDataItem = allTimeData[0];
+      createTimeSeries(TimeSeriesBuilder.of(timeDataList), isCreateMarker, importState_Process);
+   }
+
+   /**
+    * Convert the time slices of a {@link TimeSeriesBuilder} into the data series of this tour.
+    * <p>
+    * The leading "not set" values in the builder are replaced with starting values.
+    *
+    * @param timeSeries
+    * @param isCreateMarker
+    *           creates markers when <code>true</code>
+    * @param importState_Process
+    */
+   public void createTimeSeries(final TimeSeriesBuilder timeSeries,
+                                final boolean isCreateMarker,
+                                final ImportState_Process importState_Process) {
+
+      final int numTimeData = timeSeries.size();
+      if (numTimeData == 0) {
+         return;
+      }
 
       /*
        * absolute time is set when absolute data are available which are mostly data from GPS
        * devices
        */
-      final boolean isAbsoluteData = firstTimeDataItem.absoluteTime != Long.MIN_VALUE;
+      final boolean isAbsoluteData = timeSeries.absoluteTime[0] != Long.MIN_VALUE;
 
       /*
        * Time serie is always available, except when tours are created manually
@@ -7884,26 +7957,26 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
 
 // SET_FORMATTING_OFF
 
-      final boolean isAltitude                     = setupStartingValues_Altitude(allTimeData, isAbsoluteData);
-      final boolean isCadence                      = setupStartingValues_Cadence(allTimeData);
-      final boolean isDistance                     = setupStartingValues_Distance(allTimeData, isAbsoluteData);
-      final boolean isGear                         = setupStartingValues_Gear(allTimeData);
-      final boolean isGPS                          = setupStartingValues_LatLon(allTimeData);
-      final boolean isPower                        = setupStartingValues_Power(allTimeData);
-      final boolean isPulse                        = setupStartingValues_Pulse(allTimeData);
-      final boolean isSpeed                        = setupStartingValues_Speed(allTimeData);
-      final boolean isTemperature                  = setupStartingValues_Temperature(allTimeData);
-
-      final boolean isRunDyn_StanceTime            = setupStartingValues_RunDyn_StanceTime(allTimeData);
-      final boolean isRunDyn_StanceTimeBalance     = setupStartingValues_RunDyn_StanceTimeBalance(allTimeData);
-      final boolean isRunDyn_StepLength            = setupStartingValues_RunDyn_StepLength(allTimeData);
-      final boolean isRunDyn_VerticalOscillation   = setupStartingValues_RunDyn_VerticalOscillation(allTimeData);
-      final boolean isRunDyn_VerticalRatio         = setupStartingValues_RunDyn_VerticalRatio(allTimeData);
-
-      final boolean isRadar_PassedVehicles         = setupStartingValues_radar_PassedVehicles(allTimeData);
-      final boolean isRadar_DistanceToVehicle      = setupStartingValues_Radar_DistanceToVehicle(allTimeData);
-      final boolean isRadar_PassingSpeed_Absolute  = setupStartingValues_Radar_PassingSpeedAbsolute(allTimeData);
-      final boolean isRadar_PassingSpeed_Relative  = setupStartingValues_Radar_PassingSpeedRelative(allTimeData);
+      final boolean isAltitude                     = setupStartingValues_Altitude(timeSeries, isAbsoluteData);
+      final boolean isCadence                      = setupStartingValues_Cadence(timeSeries);
+      final boolean isDistance                     = setupStartingValues_Distance(timeSeries, isAbsoluteData);
+      final boolean isGear                         = setupStartingValues_Gear(timeSeries);
+      final boolean isGPS                          = setupStartingValues_LatLon(timeSeries);
+      final boolean isPower                        = setupStartingValues_Power(timeSeries);
+      final boolean isPulse                        = setupStartingValues_Pulse(timeSeries);
+      final boolean isSpeed                        = setupStartingValues_Speed(timeSeries);
+      final boolean isTemperature                  = setupStartingValues_Temperature(timeSeries);
+
+      final boolean isRunDyn_StanceTime            = setupStartingValues_RunDyn_StanceTime(timeSeries);
+      final boolean isRunDyn_StanceTimeBalance     = setupStartingValues_RunDyn_StanceTimeBalance(timeSeries);
+      final boolean isRunDyn_StepLength            = setupStartingValues_RunDyn_StepLength(timeSeries);
+      final boolean isRunDyn_VerticalOscillation   = setupStartingValues_RunDyn_VerticalOscillation(timeSeries);
+      final boolean isRunDyn_VerticalRatio         = setupStartingValues_RunDyn_VerticalRatio(timeSeries);
+
+      final boolean isRadar_PassedVehicles         = setupStartingValues_radar_PassedVehicles(timeSeries);
+      final boolean isRadar_DistanceToVehicle      = setupStartingValues_Radar_DistanceToVehicle(timeSeries);
+      final boolean isRadar_PassingSpeed_Absolute  = setupStartingValues_Radar_PassingSpeedAbsolute(timeSeries);
+      final boolean isRadar_PassingSpeed_Relative  = setupStartingValues_Radar_PassingSpeedRelative(timeSeries);
 
 // SET_FORMATTING_ON
 
@@ -7923,9 +7996,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
          // convert data from the tour format into integer[] arrays
          for (int serieIndex = 0; serieIndex < numTimeData; serieIndex++) {
 
-            final TimeData timeData = allTimeData[serieIndex];
-
-            final long absoluteTime = timeData.absoluteTime;
+            final long absoluteTime = timeSeries.absoluteTime[serieIndex];
 
             if (serieIndex == 0) {
 
@@ -7950,7 +8021,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                 */
                if (isDistance) {
 
-                  final float absoluteDistance = timeData.absoluteDistance;
+                  final float absoluteDistance = timeSeries.absoluteDistance[serieIndex];
                   if ((absoluteDistance == Float.MIN_VALUE) || (absoluteDistance >= Integer.MAX_VALUE)) {
                      distanceSerie[serieIndex] = 0;
                   } else {
@@ -7987,7 +8058,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                 */
                if (isDistance) {
 
-                  final float absoluteDistance = timeData.absoluteDistance;
+                  final float absoluteDistance = timeSeries.absoluteDistance[serieIndex];
                   if ((absoluteDistance == Float.MIN_VALUE) || (absoluteDistance >= Integer.MAX_VALUE)) {
                      distanceSerie[serieIndex] = Float.MIN_VALUE;
                   } else {
@@ -8008,7 +8079,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
              * altitude
              */
             if (isAltitude) {
-               final float absoluteAltitude = timeData.absoluteAltitude;
+               final float absoluteAltitude = timeSeries.absoluteAltitude[serieIndex];
                altitudeSerie[serieIndex] = (absoluteAltitude == Float.MIN_VALUE
                      || (absoluteAltitude >= Integer.MAX_VALUE)) //
                            ? Float.MIN_VALUE
@@ -8019,22 +8090,22 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
              * latitude & longitude
              */
             if (isGPS) {
-               latitudeSerie[serieIndex] = timeData.latitude;
-               longitudeSerie[serieIndex] = timeData.longitude;
+               latitudeSerie[serieIndex] = timeSeries.latitude[serieIndex];
+               longitudeSerie[serieIndex] = timeSeries.longitude[serieIndex];
             }
 
             /*
              * pulse
              */
             if (isPulse) {
-               pulseSerie[serieIndex] = timeData.pulse;
+               pulseSerie[serieIndex] = timeSeries.pulse[serieIndex];
             }
 
             /*
              * temperature
              */
             if (isTemperature) {
-               temperatureSerie[serieIndex] = timeData.temperature;
+               temperatureSerie[serieIndex] = timeSeries.temperature[serieIndex];
             }
 
             /*
@@ -8042,7 +8113,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
              */
             if (isCadence) {
                // cadence is not interpolated, ensure to set valid values
-               final float tdCadence = timeData.cadence;
+               final float tdCadence = timeSeries.cadence[serieIndex];
                cadenceSerie[serieIndex] = tdCadence == Float.MIN_VALUE ? 0 : tdCadence;
             }
 
@@ -8050,14 +8121,14 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
              * Gear
              */
             if (isGear) {
-               gearSerieCombined[serieIndex] = timeData.gear;
+               gearSerieCombined[serieIndex] = timeSeries.gear[serieIndex];
             }
 
             /*
              * power
              */
             if (isPower) {
-               final float tdPower = timeData.power;
+               final float tdPower = timeSeries.power[serieIndex];
                powerSerie[serieIndex] = tdPower == Float.MIN_VALUE ? 0 : tdPower;
             }
 
@@ -8066,7 +8137,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
              */
             if (isSpeed) {
                // speed is not interpolated, ensure to set valid values
-               final float tdSpeed = timeData.speed;
+               final float tdSpeed = timeSeries.speed[serieIndex];
                speedSerie[serieIndex] = tdSpeed == Float.MIN_VALUE ? 0 : tdSpeed;
             }
 
@@ -8074,23 +8145,23 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
              * Running Dynamics
              */
             if (isRunDyn_StanceTime) {
-               final short tdValue = timeData.runDyn_StanceTime;
+               final short tdValue = timeSeries.runDyn_StanceTime[serieIndex];
                runDyn_StanceTime[serieIndex] = tdValue == Short.MIN_VALUE ? 0 : tdValue;
             }
             if (isRunDyn_StanceTimeBalance) {
-               final short tdValue = timeData.runDyn_StanceTimeBalance;
+               final short tdValue = timeSeries.runDyn_StanceTimeBalance[serieIndex];
                runDyn_StanceTimeBalance[serieIndex] = tdValue == Short.MIN_VALUE ? 0 : tdValue;
             }
             if (isRunDyn_StepLength) {
-               final short tdValue = timeData.runDyn_StepLength;
+               final short tdValue = timeSeries.runDyn_StepLength[serieIndex];
                runDyn_StepLength[serieIndex] = tdValue == Short.MIN_VALUE ? 0 : tdValue;
             }
             if (isRunDyn_VerticalOscillation) {
-               final short tdValue = timeData.runDyn_VerticalOscillation;
+               final short tdValue = timeSeries.runDyn_VerticalOscillation[serieIndex];
                runDyn_VerticalOscillation[serieIndex] = tdValue == Short.MIN_VALUE ? 0 : tdValue;
             }
             if (isRunDyn_VerticalRatio) {
-               final short tdValue = timeData.runDyn_VerticalRatio;
+               final short tdValue = timeSeries.runDyn_VerticalRatio[serieIndex];
                runDyn_VerticalRatio[serieIndex] = tdValue == Short.MIN_VALUE ? 0 : tdValue;
             }
 
@@ -8098,19 +8169,19 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
              * Radar
              */
             if (isRadar_PassedVehicles) {
-               final int tdValue = timeData.radar_PassedVehicles;
+               final int tdValue = timeSeries.radar_PassedVehicles[serieIndex];
                radar_PassedVehicles[serieIndex] = tdValue == Integer.MIN_VALUE ? 0 : tdValue;
             }
             if (isRadar_DistanceToVehicle) {
-               final short tdValue = timeData.radar_DistanceToVehicle;
+               final short tdValue = timeSeries.radar_DistanceToVehicle[serieIndex];
                radar_DistanceToVehicle[serieIndex] = tdValue == Short.MIN_VALUE ? 0 : tdValue;
             }
             if (isRadar_PassingSpeed_Relative) {
-               final short tdValue = timeData.radar_PassingSpeed_Relative;
+               final short tdValue = timeSeries.radar_PassingSpeed_Relative[serieIndex];
                radar_PassingSpeed_Relative[serieIndex] = tdValue == Short.MIN_VALUE ? 0 : tdValue;
             }
             if (isRadar_PassingSpeed_Absolute) {
-               final short tdValue = timeData.radar_PassingSpeed_Absolute;
+               final short tdValue = timeSeries.radar_PassingSpeed_Absolute[serieIndex];
                radar_PassingSpeed_Absolute[serieIndex] = tdValue == Short.MIN_VALUE ? 0 : tdValue;
             }
          }
@@ -8127,15 +8198,13 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
          // convert data from the tour format into an integer[]
          for (int serieIndex = 0; serieIndex < numTimeData; serieIndex++) {
 
-            final TimeData timeData = allTimeData[serieIndex];
-
-            final int tdTime = timeData.time;
+            final int tdTime = timeSeries.time[serieIndex];
 
             // set time
             timeSerie[serieIndex] = (int) (elapsedTime += tdTime == Integer.MIN_VALUE ? 0 : tdTime);
 
             if (isDistance) {
-               final float tdDistance = timeData.distance;
+               final float tdDistance = timeSeries.distance[serieIndex];
                if (tdDistance == Float.MIN_VALUE) {
                   distanceSerie[serieIndex] = Float.MIN_VALUE;
                } else {
@@ -8144,7 +8213,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
             }
 
             if (isAltitude) {
-               final float tdAltitude = timeData.altitude;
+               final float tdAltitude = timeSeries.altitude[serieIndex];
                if (tdAltitude == Float.MIN_VALUE) {
                   altitudeSerie[serieIndex] = Float.MIN_VALUE;
                } else {
@@ -8153,32 +8222,32 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
             }
 
             if (isPulse) {
-               pulseSerie[serieIndex] = timeData.pulse;
+               pulseSerie[serieIndex] = timeSeries.pulse[serieIndex];
             }
 
             if (isTemperature) {
-               temperatureSerie[serieIndex] = timeData.temperature;
+               temperatureSerie[serieIndex] = timeSeries.temperature[serieIndex];
             }
 
             if (isCadence) {
-               final float tdCadence = timeData.cadence;
+               final float tdCadence = timeSeries.cadence[serieIndex];
                cadenceSerie[serieIndex] = tdCadence == Float.MIN_VALUE ? 0 : tdCadence;
             }
 
             if (isPower) {
-               final float tdPower = timeData.power;
+               final float tdPower = timeSeries.power[serieIndex];
                powerSerie[serieIndex] = tdPower == Float.MIN_VALUE ? 0 : tdPower;
             }
 
             if (isSpeed) {
-               final float tdSpeed = timeData.speed;
+               final float tdSpeed = timeSeries.speed[serieIndex];
                speedSerie[serieIndex] = tdSpeed == Float.MIN_VALUE ? 0 : tdSpeed;
             }
          }
       }
 
       createTimeSeries_10_InterpolateMissingValues(importState_Process);
-      createTimeSeries_50_PulseTimes(allTimeData);
+      createTimeSeries_50_PulseTimes(timeSeries);
 
       tourDistance = isDistance ? distanceSerie[numTimeData - 1] : 0;
       tourDeviceTime_Elapsed = elapsedTime;
@@ -8228,9 +8297,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
 
          for (int serieIndex = 0; serieIndex < numTimeData; serieIndex++) {
 
-            final TimeData timeData = allTimeData[serieIndex];
-
-            if (timeData.marker != 0) {
+            if (timeSeries.marker[serieIndex] != 0) {
 
                int relativeTime = 0;
                float distanceValue = 0;
@@ -8242,7 +8309,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                   distanceValue = distanceSerie[serieIndex];
                }
 
-               createTourMarker(timeData, serieIndex, relativeTime, distanceValue);
+               createTourMarker(timeSeries.markerLabel[serieIndex], serieIndex, relativeTime, distanceValue);
             }
          }
       }
@@ -8494,16 +8561,16 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       }
    }
 
-   private void createTimeSeries_50_PulseTimes(final TimeData[] allTimeData) {
+   private void createTimeSeries_50_PulseTimes(final TimeSeriesBuilder timeSeries) {
 
       boolean isPulseTimes = false;
 
       PULSE_TIMES:
 
       // check if any pulse time data is available
-      for (final TimeData timeData : allTimeData) {
+      for (int timeIndex = 0; timeIndex < timeSeries.size(); timeIndex++) {
 
-         final int[] pulseTimes = timeData.pulseTime;
+         final int[] pulseTimes = timeSeries.pulseTime[timeIndex];
 
          if (pulseTimes != null) {
 
@@ -8522,7 +8589,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
          return;
       }
 
-      final int numTimeSlices = allTimeData.length;
+      final int numTimeSlices = timeSeries.size();
 
       final IntArrayList allPulseTimes = new IntArrayList(numTimeSlices * 3);
       final int[] allPulseTime_TimeIndex = new int[numTimeSlices];
@@ -8533,8 +8600,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
 
       for (int timeIndex = 0; timeIndex < numTimeSlices; timeIndex++) {
 
-         final TimeData timeData = allTimeData[timeIndex];
-         final int[] timeSlice_AllPulseTimes = timeData.pulseTime;
+         final int[] timeSlice_AllPulseTimes = timeSeries.pulseTime[timeIndex];
 
          if (timeSlice_AllPulseTimes != null) {
 
@@ -8653,12 +8719,12 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
    /**
     * Create a device marker at the current position
     *
-    * @param timeData
+    * @param markerLabel
     * @param serieIndex
     * @param relativeTime
     * @param distanceAbsolute
     */
-   private void createTourMarker(final TimeData timeData,
+   private void createTourMarker(final String markerLabel,
                                  final int serieIndex,
                                  final int relativeTime,
                                  final float distanceAbsolute) {
@@ -8675,10 +8741,10 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       tourMarker.setDistance(distanceAbsolute);
       tourMarker.setSerieIndex(serieIndex);
 
-      if (timeData.markerLabel == null) {
+      if (markerLabel == null) {
          tourMarker.setLabel(Messages.tour_data_label_device_marker);
       } else {
-         tourMarker.setLabel(timeData.markerLabel);
+         tourMarker.setLabel(markerLabel);
       }
 
       // set lat/lon and elevation values
@@ -11639,6 +11705,10 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return startDistance;
    }
 
+   public short getStartMonth() {
+      return startMonth;
+   }
+
    public short getStartPulse() {
       return startPulse;
    }
@@ -12866,6 +12936,19 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return true;
    }
 
+   /**
+    * @param srtm1Value
+    * @param lowerLimit
+    * @param upperLimit
+    *
+    * @return Returns <code>true</code> when the SRTM 1 value is available and valid, sometimes an
+    *         illegal value is also -32767.0
+    */
+   private boolean isValidSrtm1Value(final float srtm1Value, final float lowerLimit, final float upperLimit) {
+
+      return srtm1Value != Float.MIN_VALUE && srtm1Value > lowerLimit && srtm1Value < upperLimit;
+   }
+
    /**
     * @return Returns <code>true</code> when the {@link SerieData#visiblePoints_Surfing} is saved in
     *         the tour.
@@ -14578,27 +14661,25 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
     * reached.
     * <p>
     *
-    * @param timeDataSerie
+    * @param timeSeries
     * @param isAbsoluteData
     *
     * @return Returns <code>true</code> when values are available in the data serie and
     *         {@link #altitudeSerie} has valid start values.
     */
-   private boolean setupStartingValues_Altitude(final TimeData[] timeDataSerie, final boolean isAbsoluteData) {
+   private boolean setupStartingValues_Altitude(final TimeSeriesBuilder timeSeries, final boolean isAbsoluteData) {
 
-      final TimeData firstTimeData = timeDataSerie[0];
-      final int serieSize = timeDataSerie.length;
+      final int serieSize = timeSeries.size();
 
       boolean isAvailable = false;
 
       if (isAbsoluteData) {
 
-         if (firstTimeData.absoluteAltitude == Float.MIN_VALUE) {
+         if (timeSeries.absoluteAltitude[0] == Float.MIN_VALUE) {
 
             for (int timeDataIndex = 0; timeDataIndex < serieSize; timeDataIndex++) {
 
-               final TimeData timeData = timeDataSerie[timeDataIndex];
-               if (timeData.absoluteAltitude != Float.MIN_VALUE) {
+               if (timeSeries.absoluteAltitude[timeDataIndex] != Float.MIN_VALUE) {
 
                   // valid value is available
 
@@ -14607,10 +14688,10 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
 
                   // update values to the first valid value
 
-                  final float firstValidValue = timeData.absoluteAltitude;
+                  final float firstValidValue = timeSeries.absoluteAltitude[timeDataIndex];
 
                   for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-                     timeDataSerie[invalidIndex].absoluteAltitude = firstValidValue;
+                     timeSeries.absoluteAltitude[invalidIndex] = firstValidValue;
                   }
 
                   break;
@@ -14625,7 +14706,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
             isAvailable = true;
          }
 
-      } else if (firstTimeData.altitude != Float.MIN_VALUE) {
+      } else if (timeSeries.altitude[0] != Float.MIN_VALUE) {
 
          // altitude is available
 
@@ -14636,21 +14717,19 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isAvailable;
    }
 
-   private boolean setupStartingValues_Cadence(final TimeData[] timeDataSerie) {
+   private boolean setupStartingValues_Cadence(final TimeSeriesBuilder timeSeries) {
 
-      final TimeData firstTimeData = timeDataSerie[0];
-      final int serieSize = timeDataSerie.length;
+      final int serieSize = timeSeries.size();
 
       boolean isAvailable = false;
 
-      if (firstTimeData.cadence == Float.MIN_VALUE) {
+      if (timeSeries.cadence[0] == Float.MIN_VALUE) {
 
          // search for first cadence value
 
          for (int timeDataIndex = 0; timeDataIndex < serieSize; timeDataIndex++) {
 
-            final TimeData timeData = timeDataSerie[timeDataIndex];
-            if (timeData.cadence != Float.MIN_VALUE) {
+            if (timeSeries.cadence[timeDataIndex] != Float.MIN_VALUE) {
 
                // cadence is available, starting values are set to 0
 
@@ -14658,7 +14737,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                isAvailable = true;
 
                for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-                  timeDataSerie[invalidIndex].cadence = 0;
+                  timeSeries.cadence[invalidIndex] = 0;
                }
                break;
             }
@@ -14675,14 +14754,13 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isAvailable;
    }
 
-   private boolean setupStartingValues_Distance(final TimeData[] timeDataSerie, final boolean isAbsoluteData) {
+   private boolean setupStartingValues_Distance(final TimeSeriesBuilder timeSeries, final boolean isAbsoluteData) {
 
-      final TimeData firstTimeData = timeDataSerie[0];
-      final int serieSize = timeDataSerie.length;
+      final int serieSize = timeSeries.size();
 
       boolean isAvailable = false;
 
-      if ((firstTimeData.distance != Float.MIN_VALUE) || isAbsoluteData) {
+      if ((timeSeries.distance[0] != Float.MIN_VALUE) || isAbsoluteData) {
          distanceSerie = new float[serieSize];
          isAvailable = true;
       }
@@ -14690,21 +14768,19 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isAvailable;
    }
 
-   private boolean setupStartingValues_Gear(final TimeData[] timeDataSerie) {
+   private boolean setupStartingValues_Gear(final TimeSeriesBuilder timeSeries) {
 
-      final int numTimeSlices = timeDataSerie.length;
-      final TimeData firstTimeData = timeDataSerie[0];
+      final int numTimeSlices = timeSeries.size();
 
       boolean isGearAvailable = false;
 
-      if (firstTimeData.gear == 0) {
+      if (timeSeries.gear[0] == 0) {
 
          // search for first gear value
 
          for (int timeDataIndex = 0; timeDataIndex < numTimeSlices; timeDataIndex++) {
 
-            final TimeData timeData = timeDataSerie[timeDataIndex];
-            final long firstGearValue = timeData.gear;
+            final long firstGearValue = timeSeries.gear[timeDataIndex];
 
             if (firstGearValue != 0) {
 
@@ -14714,7 +14790,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                isGearAvailable = true;
 
                for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-                  timeDataSerie[invalidIndex].gear = firstGearValue;
+                  timeSeries.gear[invalidIndex] = firstGearValue;
                }
 
                break;
@@ -14732,21 +14808,20 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isGearAvailable;
    }
 
-   private boolean setupStartingValues_LatLon(final TimeData[] timeDataSerie) {
+   private boolean setupStartingValues_LatLon(final TimeSeriesBuilder timeSeries) {
 
-      final int serieSize = timeDataSerie.length;
+      final int serieSize = timeSeries.size();
       boolean isGPS = false;
 
       for (int timeDataIndex = 0; timeDataIndex < serieSize; timeDataIndex++) {
 
-         final TimeData timeData = timeDataSerie[timeDataIndex];
 
-         if (timeData.latitude != Double.MIN_VALUE) {
+         if (timeSeries.latitude[timeDataIndex] != Double.MIN_VALUE) {
 
             isGPS = true;
 
-            final double firstValidLatitude = timeData.latitude;
-            final double firstValidLongitude = timeData.longitude;
+            final double firstValidLatitude = timeSeries.latitude[timeDataIndex];
+            final double firstValidLongitude = timeSeries.longitude[timeDataIndex];
 
             latitudeSerie = new double[serieSize];
             longitudeSerie = new double[serieSize];
@@ -14754,8 +14829,8 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
             // fill beginning of lat/lon data series with first valid values
 
             for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-               timeDataSerie[invalidIndex].latitude = firstValidLatitude;
-               timeDataSerie[invalidIndex].longitude = firstValidLongitude;
+               timeSeries.latitude[invalidIndex] = firstValidLatitude;
+               timeSeries.longitude[invalidIndex] = firstValidLongitude;
             }
 
             break;
@@ -14765,19 +14840,17 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isGPS;
    }
 
-   private boolean setupStartingValues_Power(final TimeData[] timeDataSerie) {
+   private boolean setupStartingValues_Power(final TimeSeriesBuilder timeSeries) {
 
-      final TimeData firstTimeData = timeDataSerie[0];
-      final int serieSize = timeDataSerie.length;
+      final int serieSize = timeSeries.size();
 
       boolean isAvailable = false;
 
-      if (firstTimeData.power == Float.MIN_VALUE) {
+      if (timeSeries.power[0] == Float.MIN_VALUE) {
 
          for (int timeDataIndex = 0; timeDataIndex < serieSize; timeDataIndex++) {
 
-            final TimeData timeData = timeDataSerie[timeDataIndex];
-            final float power = timeData.power;
+            final float power = timeSeries.power[timeDataIndex];
 
             if (power != Float.MIN_VALUE) {
 
@@ -14788,7 +14861,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
 
                // update values to 0
                for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-                  timeDataSerie[invalidIndex].power = 0;
+                  timeSeries.power[invalidIndex] = 0;
                }
 
                break;
@@ -14808,19 +14881,17 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isAvailable;
    }
 
-   private boolean setupStartingValues_Pulse(final TimeData[] timeDataSerie) {
+   private boolean setupStartingValues_Pulse(final TimeSeriesBuilder timeSeries) {
 
-      final TimeData firstTimeData = timeDataSerie[0];
-      final int serieSize = timeDataSerie.length;
+      final int serieSize = timeSeries.size();
 
       boolean isAvailable = false;
 
-      if (firstTimeData.pulse == Float.MIN_VALUE) {
+      if (timeSeries.pulse[0] == Float.MIN_VALUE) {
 
          for (int timeDataIndex = 0; timeDataIndex < serieSize; timeDataIndex++) {
 
-            final TimeData timeData = timeDataSerie[timeDataIndex];
-            final float pulse = timeData.pulse;
+            final float pulse = timeSeries.pulse[timeDataIndex];
 
             if (pulse > 0) {
 
@@ -14830,7 +14901,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                isAvailable = true;
 
                for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-                  timeDataSerie[invalidIndex].pulse = pulse;
+                  timeSeries.pulse[invalidIndex] = pulse;
                }
 
                break;
@@ -14848,21 +14919,19 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isAvailable;
    }
 
-   private boolean setupStartingValues_Radar_DistanceToVehicle(final TimeData[] allTimeData) {
+   private boolean setupStartingValues_Radar_DistanceToVehicle(final TimeSeriesBuilder timeSeries) {
 
-      final int numTimeData = allTimeData.length;
-      final TimeData firstTimeData = allTimeData[0];
+      final int numTimeData = timeSeries.size();
 
       boolean isAvailable = false;
 
-      if (firstTimeData.radar_DistanceToVehicle == Short.MIN_VALUE) {
+      if (timeSeries.radar_DistanceToVehicle[0] == Short.MIN_VALUE) {
 
          // check if there is a valid value
 
          for (int timeDataIndex = 0; timeDataIndex < numTimeData; timeDataIndex++) {
 
-            final TimeData timeData = allTimeData[timeDataIndex];
-            final short timeDataValue = timeData.radar_DistanceToVehicle;
+            final short timeDataValue = timeSeries.radar_DistanceToVehicle[timeDataIndex];
 
             if (timeDataValue > 0) {
 
@@ -14872,7 +14941,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                isAvailable = true;
 
                for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-                  allTimeData[invalidIndex].radar_DistanceToVehicle = 0;
+                  timeSeries.radar_DistanceToVehicle[invalidIndex] = 0;
                }
 
                break;
@@ -14890,21 +14959,19 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isAvailable;
    }
 
-   private boolean setupStartingValues_radar_PassedVehicles(final TimeData[] allTimeData) {
+   private boolean setupStartingValues_radar_PassedVehicles(final TimeSeriesBuilder timeSeries) {
 
-      final int numTimeData = allTimeData.length;
-      final TimeData firstTimeData = allTimeData[0];
+      final int numTimeData = timeSeries.size();
 
       boolean isAvailable = false;
 
-      if (firstTimeData.radar_PassedVehicles == Integer.MIN_VALUE) {
+      if (timeSeries.radar_PassedVehicles[0] == Integer.MIN_VALUE) {
 
          // check if there is a valid value
 
          for (int timeDataIndex = 0; timeDataIndex < numTimeData; timeDataIndex++) {
 
-            final TimeData timeData = allTimeData[timeDataIndex];
-            final int timeDataValue = timeData.radar_PassedVehicles;
+            final int timeDataValue = timeSeries.radar_PassedVehicles[timeDataIndex];
 
             if (timeDataValue > 0) {
 
@@ -14914,7 +14981,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                isAvailable = true;
 
                for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-                  allTimeData[invalidIndex].radar_PassedVehicles = 0;
+                  timeSeries.radar_PassedVehicles[invalidIndex] = 0;
                }
 
                break;
@@ -14932,21 +14999,19 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isAvailable;
    }
 
-   private boolean setupStartingValues_Radar_PassingSpeedAbsolute(final TimeData[] allTimeData) {
+   private boolean setupStartingValues_Radar_PassingSpeedAbsolute(final TimeSeriesBuilder timeSeries) {
 
-      final int numTimeData = allTimeData.length;
-      final TimeData firstTimeData = allTimeData[0];
+      final int numTimeData = timeSeries.size();
 
       boolean isAvailable = false;
 
-      if (firstTimeData.radar_PassingSpeed_Absolute == Short.MIN_VALUE) {
+      if (timeSeries.radar_PassingSpeed_Absolute[0] == Short.MIN_VALUE) {
 
          // check if there is a valid value
 
          for (int timeDataIndex = 0; timeDataIndex < numTimeData; timeDataIndex++) {
 
-            final TimeData timeData = allTimeData[timeDataIndex];
-            final short passingSpeed = timeData.radar_PassingSpeed_Absolute;
+            final short passingSpeed = timeSeries.radar_PassingSpeed_Absolute[timeDataIndex];
 
             if (passingSpeed > 0) {
 
@@ -14956,7 +15021,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                isAvailable = true;
 
                for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-                  allTimeData[invalidIndex].radar_PassingSpeed_Absolute = 0;
+                  timeSeries.radar_PassingSpeed_Absolute[invalidIndex] = 0;
                }
 
                break;
@@ -14974,21 +15039,19 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isAvailable;
    }
 
-   private boolean setupStartingValues_Radar_PassingSpeedRelative(final TimeData[] allTimeData) {
+   private boolean setupStartingValues_Radar_PassingSpeedRelative(final TimeSeriesBuilder timeSeries) {
 
-      final int numTimeData = allTimeData.length;
-      final TimeData firstTimeData = allTimeData[0];
+      final int numTimeData = timeSeries.size();
 
       boolean isAvailable = false;
 
-      if (firstTimeData.radar_PassingSpeed_Relative == Short.MIN_VALUE) {
+      if (timeSeries.radar_PassingSpeed_Relative[0] == Short.MIN_VALUE) {
 
          // check if there is a valid value
 
          for (int timeDataIndex = 0; timeDataIndex < numTimeData; timeDataIndex++) {
 
-            final TimeData timeData = allTimeData[timeDataIndex];
-            final short passingSpeed = timeData.radar_PassingSpeed_Relative;
+            final short passingSpeed = timeSeries.radar_PassingSpeed_Relative[timeDataIndex];
 
             if (passingSpeed > 0) {
 
@@ -14998,7 +15061,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                isAvailable = true;
 
                for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-                  allTimeData[invalidIndex].radar_PassingSpeed_Relative = 0;
+                  timeSeries.radar_PassingSpeed_Relative[invalidIndex] = 0;
                }
 
                break;
@@ -15016,20 +15079,20 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isAvailable;
    }
 
-   private boolean setupStartingValues_RunDyn_StanceTime(final TimeData[] timeDataSerie) {
+   private boolean setupStartingValues_RunDyn_StanceTime(final TimeSeriesBuilder timeSeries) {
 
-      final TimeData firstTimeData = timeDataSerie[0];
-      final int serieSize = timeDataSerie.length;
+      final int serieSize = timeSeries.size();
 
       boolean isAvailable = false;
 
-      if (firstTimeData.runDyn_StanceTime == Short.MIN_VALUE) {
+      if (timeSeries.runDyn_StanceTime[0] == Short.MIN_VALUE) {
 
          // search for first valid value
 
          for (int timeDataIndex = 0; timeDataIndex < serieSize; timeDataIndex++) {
 
-            final short value = timeDataSerie[timeDataIndex].runDyn_StanceTime;
+
+            final short value = timeSeries.runDyn_StanceTime[timeDataIndex];
 
             if (value != Short.MIN_VALUE) {
 
@@ -15039,7 +15102,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                isAvailable = true;
 
                for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-                  timeDataSerie[invalidIndex].runDyn_StanceTime = value;
+                  timeSeries.runDyn_StanceTime[invalidIndex] = value;
                }
                break;
             }
@@ -15056,20 +15119,20 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isAvailable;
    }
 
-   private boolean setupStartingValues_RunDyn_StanceTimeBalance(final TimeData[] timeDataSerie) {
+   private boolean setupStartingValues_RunDyn_StanceTimeBalance(final TimeSeriesBuilder timeSeries) {
 
-      final TimeData firstTimeData = timeDataSerie[0];
-      final int serieSize = timeDataSerie.length;
+      final int serieSize = timeSeries.size();
 
       boolean isAvailable = false;
 
-      if (firstTimeData.runDyn_StanceTimeBalance == Short.MIN_VALUE) {
+      if (timeSeries.runDyn_StanceTimeBalance[0] == Short.MIN_VALUE) {
 
          // search for first valid value
 
          for (int timeDataIndex = 0; timeDataIndex < serieSize; timeDataIndex++) {
 
-            final short value = timeDataSerie[timeDataIndex].runDyn_StanceTimeBalance;
+
+            final short value = timeSeries.runDyn_StanceTimeBalance[timeDataIndex];
 
             if (value != Short.MIN_VALUE) {
 
@@ -15079,7 +15142,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                isAvailable = true;
 
                for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-                  timeDataSerie[invalidIndex].runDyn_StanceTimeBalance = value;
+                  timeSeries.runDyn_StanceTimeBalance[invalidIndex] = value;
                }
                break;
             }
@@ -15096,20 +15159,20 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isAvailable;
    }
 
-   private boolean setupStartingValues_RunDyn_StepLength(final TimeData[] timeDataSerie) {
+   private boolean setupStartingValues_RunDyn_StepLength(final TimeSeriesBuilder timeSeries) {
 
-      final TimeData firstTimeData = timeDataSerie[0];
-      final int serieSize = timeDataSerie.length;
+      final int serieSize = timeSeries.size();
 
       boolean isAvailable = false;
 
-      if (firstTimeData.runDyn_StepLength == Short.MIN_VALUE) {
+      if (timeSeries.runDyn_StepLength[0] == Short.MIN_VALUE) {
 
          // search for first valid value
 
          for (int timeDataIndex = 0; timeDataIndex < serieSize; timeDataIndex++) {
 
-            final short value = timeDataSerie[timeDataIndex].runDyn_StepLength;
+
+            final short value = timeSeries.runDyn_StepLength[timeDataIndex];
 
             if (value != Short.MIN_VALUE) {
 
@@ -15119,7 +15182,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                isAvailable = true;
 
                for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-                  timeDataSerie[invalidIndex].runDyn_StepLength = value;
+                  timeSeries.runDyn_StepLength[invalidIndex] = value;
                }
                break;
             }
@@ -15136,20 +15199,20 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isAvailable;
    }
 
-   private boolean setupStartingValues_RunDyn_VerticalOscillation(final TimeData[] timeDataSerie) {
+   private boolean setupStartingValues_RunDyn_VerticalOscillation(final TimeSeriesBuilder timeSeries) {
 
-      final TimeData firstTimeData = timeDataSerie[0];
-      final int serieSize = timeDataSerie.length;
+      final int serieSize = timeSeries.size();
 
       boolean isAvailable = false;
 
-      if (firstTimeData.runDyn_VerticalOscillation == Short.MIN_VALUE) {
+      if (timeSeries.runDyn_VerticalOscillation[0] == Short.MIN_VALUE) {
 
          // search for first valid value
 
          for (int timeDataIndex = 0; timeDataIndex < serieSize; timeDataIndex++) {
 
-            final short value = timeDataSerie[timeDataIndex].runDyn_VerticalOscillation;
+
+            final short value = timeSeries.runDyn_VerticalOscillation[timeDataIndex];
 
             if (value != Short.MIN_VALUE) {
 
@@ -15159,7 +15222,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                isAvailable = true;
 
                for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-                  timeDataSerie[invalidIndex].runDyn_VerticalOscillation = value;
+                  timeSeries.runDyn_VerticalOscillation[invalidIndex] = value;
                }
                break;
             }
@@ -15176,20 +15239,20 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isAvailable;
    }
 
-   private boolean setupStartingValues_RunDyn_VerticalRatio(final TimeData[] timeDataSerie) {
+   private boolean setupStartingValues_RunDyn_VerticalRatio(final TimeSeriesBuilder timeSeries) {
 
-      final TimeData firstTimeData = timeDataSerie[0];
-      final int serieSize = timeDataSerie.length;
+      final int serieSize = timeSeries.size();
 
       boolean isAvailable = false;
 
-      if (firstTimeData.runDyn_VerticalRatio == Short.MIN_VALUE) {
+      if (timeSeries.runDyn_VerticalRatio[0] == Short.MIN_VALUE) {
 
          // search for first valid value
 
          for (int timeDataIndex = 0; timeDataIndex < serieSize; timeDataIndex++) {
 
-            final short value = timeDataSerie[timeDataIndex].runDyn_VerticalRatio;
+
+            final short value = timeSeries.runDyn_VerticalRatio[timeDataIndex];
 
             if (value != Short.MIN_VALUE) {
 
@@ -15199,7 +15262,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
                isAvailable = true;
 
                for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-                  timeDataSerie[invalidIndex].runDyn_VerticalRatio = value;
+                  timeSeries.runDyn_VerticalRatio[invalidIndex] = value;
                }
                break;
             }
@@ -15216,14 +15279,18 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isAvailable;
    }
 
-   private boolean setupStartingValues_Speed(final TimeData[] timeDataSerie) {
+   private boolean setupStartingValues_Speed(final TimeSeriesBuilder timeSeries) {
 
       boolean isAvailable = false;
 
+      final int serieSize = timeSeries.size();
+      final float[] allSpeed = timeSeries.speed;
+
       // find valid speed slices
-      for (final TimeData timeData : timeDataSerie) {
+      for (int timeDataIndex = 0; timeDataIndex < serieSize; timeDataIndex++) {
+
 
-         if (timeData.speed != Float.MIN_VALUE) {
+         if (allSpeed[timeDataIndex] != Float.MIN_VALUE) {
             isAvailable = true;
             break;
          }
@@ -15233,33 +15300,32 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
 
          // cleanup speed serie, remove invalid values
 
-         for (final TimeData timeData : timeDataSerie) {
+         for (int timeDataIndex = 0; timeDataIndex < serieSize; timeDataIndex++) {
+
 
-            if (timeData.speed == Float.MIN_VALUE) {
-               timeData.speed = 0;
+            if (allSpeed[timeDataIndex] == Float.MIN_VALUE) {
+               allSpeed[timeDataIndex] = 0;
             }
          }
 
-         speedSerie = new float[timeDataSerie.length];
+         speedSerie = new float[serieSize];
          isSpeedSerieFromDevice = true;
       }
 
       return isAvailable;
    }
 
-   private boolean setupStartingValues_Temperature(final TimeData[] timeDataSerie) {
+   private boolean setupStartingValues_Temperature(final TimeSeriesBuilder timeSeries) {
 
-      final TimeData firstTimeData = timeDataSerie[0];
-      final int serieSize = timeDataSerie.length;
+      final int serieSize = timeSeries.size();
 
       boolean isAvailable = false;
 
-      if (firstTimeData.temperature == Float.MIN_VALUE) {
+      if (timeSeries.temperature[0] == Float.MIN_VALUE) {
 
          for (int timeDataIndex = 0; timeDataIndex < serieSize; timeDataIndex++) {
 
-            final TimeData timeData = timeDataSerie[timeDataIndex];
-            final float temperature = timeData.temperature;
+            final float temperature = timeSeries.temperature[timeDataIndex];
 
             if (temperature != Float.MIN_VALUE) {
 
@@ -15270,7 +15336,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
 
                // update values to the first valid value
                for (int invalidIndex = 0; invalidIndex < timeDataIndex; invalidIndex++) {
-                  timeDataSerie[invalidIndex].temperature = temperature;
+                  timeSeries.temperature[invalidIndex] = temperature;
                }
 
                break;
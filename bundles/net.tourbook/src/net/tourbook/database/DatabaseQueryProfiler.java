@@ -0,0 +1,795 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.database;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import net.tourbook.common.UI;
+import net.tourbook.common.util.StatusUtil;
+
+/**
+ * Captures the Derby runtime statistics of the app queries, e.g. tour book, statistics,
+ * calendar, geo filter and tag view, when the profiler is running.
+ * <p>
+ * The query plans are parsed for table scans, the columns which are used in the scan qualifiers
+ * of a table scan are suggested as index columns when the table has no index which starts with
+ * these columns.
+ * <p>
+ * A query is profiled with
+ *
+ * <pre>
+ * final long profilerStart = DatabaseQueryProfiler.start(conn);
+ *
+ * ... execute query and read result set ...
+ *
+ * DatabaseQueryProfiler.stop(conn, "Query name", profilerStart);
+ * </pre>
+ *
+ * When the profiler is not running, then these methods do nothing.
+ */
+public final class DatabaseQueryProfiler {
+
+   private static final char                      NL                      = UI.NEW_LINE;
+
+   /**
+    * Table scans which visit on average fewer rows are not slow enough that an index is
+    * suggested
+    */
+   private static final int                       MIN_ROWS_VISITED        = 1_000;
+
+   /**
+    * Max length of a Derby identifier
+    */
+   private static final int                       MAX_INDEX_NAME_LENGTH   = 128;
+
+   private static final String                    INDEX_NAME_PREFIX       = "QP_";                             //$NON-NLS-1$
+
+   private static final String                    PLAN_TABLE_SCAN         = "Table Scan ResultSet for ";       //$NON-NLS-1$
+   private static final String                    PLAN_RESULT_SET         = "ResultSet";                       //$NON-NLS-1$
+   private static final String                    PLAN_ROWS_VISITED       = "Number of rows visited";          //$NON-NLS-1$
+   private static final String                    PLAN_QUALIFIER_COLUMN   = "Column[";                         //$NON-NLS-1$
+   private static final String                    PLAN_QUALIFIER_ID       = "Id:";                             //$NON-NLS-1$
+   private static final String                    PLAN_QUALIFIER_OPERATOR = "Operator:";                       //$NON-NLS-1$
+   private static final String                    PLAN_QUALIFIER_NEGATE   = "Negate comparison result: true";  //$NON-NLS-1$
+
+   private static final Object                    PROFILER_LOCK           = new Object();
+
+   private static volatile boolean                _isRunning;
+
+   private static LocalDateTime                   _startTime;
+
+   /**
+    * Key is the query name
+    */
+   private static final Map<String, QueryProfile> _allQueryProfiles      = new LinkedHashMap<>();
+
+   private static class IndexCandidate {
+
+      String            tableName;
+
+      /**
+       * Column numbers of the table, the first column is 1, equal columns are before a range
+       * column
+       */
+      List<Integer>     allColumnNumbers;
+
+      int               numEqualColumns;
+
+      int               numScans;
+      long              numRowsVisited;
+
+      final Set<String> allQueryNames = new TreeSet<>();
+
+      /**
+       * Column names, they are set when the report is created
+       */
+      List<String>      allColumnNames;
+
+      String getCreateSql() {
+
+         final String indexName = INDEX_NAME_PREFIX + tableName + UI.SYMBOL_UNDERSCORE + String.join(UI.SYMBOL_UNDERSCORE, allColumnNames);
+
+         return "CREATE INDEX " //                                                        //$NON-NLS-1$
+               + indexName.substring(0, Math.min(indexName.length(), MAX_INDEX_NAME_LENGTH))
+               + " ON " + tableName //                                                    //$NON-NLS-1$
+               + " (" + String.join(", ", allColumnNames) + ")"; //                        //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+      }
+   }
+
+   private static class QueryProfile {
+
+      String          queryName;
+
+      int             numCalls;
+
+      long            duration_Total;
+      long            duration_Max;
+
+      List<TableScan> allTableScans = new ArrayList<>();
+
+      /**
+       * Runtime statistics of the last call
+       */
+      String          lastQueryPlan;
+   }
+
+   private static class TableScan {
+
+      String        tableName;
+
+      long          numRowsVisited;
+
+      /**
+       * Column numbers of the scan qualifiers, the first column is 1
+       */
+      Set<Integer>  allEqualColumns = new LinkedHashSet<>();
+      Set<Integer>  allRangeColumns = new LinkedHashSet<>();
+   }
+
+   private DatabaseQueryProfiler() {}
+
+   /**
+    * @return Returns a report with all profiled queries, table scans and suggested indexes
+    */
+   public static String createReport() {
+
+      final StringBuilder sb = new StringBuilder();
+
+      final List<QueryProfile> allQueryProfiles;
+      final LocalDateTime startTime;
+
+      synchronized (PROFILER_LOCK) {
+
+         allQueryProfiles = new ArrayList<>(_allQueryProfiles.values());
+         startTime = _startTime;
+      }
+
+      allQueryProfiles.sort(Comparator.comparingLong((final QueryProfile profile) -> profile.duration_Total).reversed());
+
+      final List<IndexCandidate> allIndexCandidates = getIndexCandidates(allQueryProfiles);
+
+      final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+      sb.append("MyTourbook Query Profiler Report" + NL); //                                                        //$NON-NLS-1$
+      sb.append("================================" + NL); //                                                        //$NON-NLS-1$
+      sb.append(NL);
+      sb.append(String.format("Profiling started  %s" + NL, startTime == null ? UI.EMPTY_STRING : startTime.format(dateTimeFormatter))); //$NON-NLS-1$
+      sb.append(String.format("Report created     %s" + NL, LocalDateTime.now().format(dateTimeFormatter))); //     //$NON-NLS-1$
+
+      try (Connection conn = TourDatabase.getInstance().getConnection()) {
+
+         final DatabaseMetaData metaData = conn.getMetaData();
+
+         sb.append(String.format("Database           %s %s" + NL, metaData.getDatabaseProductName(), metaData.getDatabaseProductVersion())); //$NON-NLS-1$
+
+         setColumnNames(conn, allIndexCandidates);
+         removeExistingIndexes(conn, allIndexCandidates);
+
+      } catch (final SQLException e) {
+         StatusUtil.log(e);
+      }
+
+      /*
+       * Queries
+       */
+      sb.append(NL);
+      sb.append("Queries" + NL); //                                                                                 //$NON-NLS-1$
+      sb.append("-------" + NL); //                                                                                 //$NON-NLS-1$
+      sb.append(NL);
+      sb.append(String.format("%8s %12s %10s %10s %12s  %s" + NL, //                                                //$NON-NLS-1$
+            "Calls", //                                                                                             //$NON-NLS-1$
+            "Total ms", //                                                                                          //$NON-NLS-1$
+            "Avg ms", //                                                                                            //$NON-NLS-1$
+            "Max ms", //                                                                                            //$NON-NLS-1$
+            "Table Scans", //                                                                                       //$NON-NLS-1$
+            "Query")); //                                                                                           //$NON-NLS-1$
+
+      for (final QueryProfile profile : allQueryProfiles) {
+
+         sb.append(String.format("%8d %12.1f %10.1f %10.1f %12d  %s" + NL, //                                       //$NON-NLS-1$
+               profile.numCalls,
+               profile.duration_Total / 1_000_000.0,
+               profile.duration_Total / 1_000_000.0 / profile.numCalls,
+               profile.duration_Max / 1_000_000.0,
+               profile.allTableScans.size(),
+               profile.queryName));
+      }
+
+      /*
+       * Table scans
+       */
+      final Map<String, long[]> allTableScans = new LinkedHashMap<>();
+
+      for (final QueryProfile profile : allQueryProfiles) {
+         for (final TableScan tableScan : profile.allTableScans) {
+
+            final long[] scanValues = allTableScans.computeIfAbsent(tableScan.tableName, tableName -> new long[2]);
+
+            scanValues[0]++;
+            scanValues[1] += tableScan.numRowsVisited;
+         }
+      }
+
+      sb.append(NL);
+      sb.append("Table Scans" + NL); //                                                                             //$NON-NLS-1$
+      sb.append("-----------" + NL); //                                                                             //$NON-NLS-1$
+      sb.append(NL);
+      sb.append(String.format("%8s %16s  %s" + NL, "Scans", "Rows Visited", "Table")); //                           //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+      for (final Map.Entry<String, long[]> entry : allTableScans.entrySet()) {
+
+         final long[] scanValues = entry.getValue();
+
+         sb.append(String.format("%8d %16d  %s" + NL, scanValues[0], scanValues[1], entry.getKey())); //           //$NON-NLS-1$
+      }
+
+      /*
+       * Suggested indexes
+       */
+      sb.append(NL);
+      sb.append("Suggested Indexes" + NL); //                                                                       //$NON-NLS-1$
+      sb.append("-----------------" + NL); //                                                                       //$NON-NLS-1$
+      sb.append(NL);
+
+      if (allIndexCandidates.isEmpty()) {
+         sb.append("No missing indexes were detected" + NL); //                                                    //$NON-NLS-1$
+      }
+
+      for (final IndexCandidate indexCandidate : allIndexCandidates) {
+
+         sb.append(String.format("-- %d table scans, %d rows visited, queries: %s" + NL, //                        //$NON-NLS-1$
+               indexCandidate.numScans,
+               indexCandidate.numRowsVisited,
+               String.join(", ", indexCandidate.allQueryNames))); //                                               //$NON-NLS-1$
+
+         sb.append(indexCandidate.getCreateSql() + ";" + NL); //                                                    //$NON-NLS-1$
+         sb.append(NL);
+      }
+
+      /*
+       * Query plans
+       */
+      sb.append(NL);
+      sb.append("Query Plans" + NL); //                                                                             //$NON-NLS-1$
+      sb.append("-----------" + NL); //                                                                             //$NON-NLS-1$
+
+      for (final QueryProfile profile : allQueryProfiles) {
+
+         sb.append(NL);
+         sb.append("### " + profile.queryName + NL); //                                                             //$NON-NLS-1$
+         sb.append(NL);
+         sb.append(profile.lastQueryPlan + NL);
+      }
+
+      return sb.toString();
+   }
+
+   /**
+    * Create all suggested indexes
+    *
+    * @return Returns the number of created indexes
+    */
+   public static int createSuggestedIndexes() {
+
+      int numCreatedIndexes = 0;
+
+      try (Connection conn = TourDatabase.getInstance().getConnection();
+            Statement stmt = conn.createStatement()) {
+
+         for (final String sql : getSuggestedIndexes(conn)) {
+
+            TourDatabase.logDbUpdate(sql);
+
+            stmt.execute(sql);
+
+            numCreatedIndexes++;
+         }
+
+      } catch (final SQLException e) {
+         StatusUtil.log(e);
+      }
+
+      return numCreatedIndexes;
+   }
+
+   private static List<IndexCandidate> getIndexCandidates(final List<QueryProfile> allQueryProfiles) {
+
+      final Map<String, IndexCandidate> allIndexCandidates = new LinkedHashMap<>();
+
+      for (final QueryProfile profile : allQueryProfiles) {
+         for (final TableScan tableScan : profile.allTableScans) {
+
+            if (tableScan.allEqualColumns.isEmpty() && tableScan.allRangeColumns.isEmpty()) {
+
+               // an index cannot be used when the scan has no qualifiers
+               continue;
+            }
+
+            // equal columns are before the first range column
+            final List<Integer> allColumnNumbers = new ArrayList<>(tableScan.allEqualColumns);
+
+            for (final Integer rangeColumn : tableScan.allRangeColumns) {
+
+               if (allColumnNumbers.contains(rangeColumn) == false) {
+
+                  allColumnNumbers.add(rangeColumn);
+
+                  break;
+               }
+            }
+
+            final String candidateKey = tableScan.tableName + allColumnNumbers;
+
+            final IndexCandidate indexCandidate = allIndexCandidates.computeIfAbsent(candidateKey, key -> {
+
+               final IndexCandidate newCandidate = new IndexCandidate();
+
+               newCandidate.tableName = tableScan.tableName;
+               newCandidate.allColumnNumbers = allColumnNumbers;
+               newCandidate.numEqualColumns = tableScan.allEqualColumns.size();
+
+               return newCandidate;
+            });
+
+            indexCandidate.numScans++;
+            indexCandidate.numRowsVisited += tableScan.numRowsVisited;
+            indexCandidate.allQueryNames.add(profile.queryName);
+         }
+      }
+
+      final List<IndexCandidate> allCandidates = new ArrayList<>();
+
+      for (final IndexCandidate indexCandidate : allIndexCandidates.values()) {
+
+         if (indexCandidate.numRowsVisited / indexCandidate.numScans >= MIN_ROWS_VISITED) {
+            allCandidates.add(indexCandidate);
+         }
+      }
+
+      allCandidates.sort(Comparator.comparingLong((final IndexCandidate candidate) -> candidate.numRowsVisited).reversed());
+
+      return allCandidates;
+   }
+
+   /**
+    * @return Returns the number of profiled queries
+    */
+   public static int getNumQueries() {
+
+      synchronized (PROFILER_LOCK) {
+
+         int numQueries = 0;
+
+         for (final QueryProfile profile : _allQueryProfiles.values()) {
+            numQueries += profile.numCalls;
+         }
+
+         return numQueries;
+      }
+   }
+
+   /**
+    * @return Returns the number of table scans in all profiled queries
+    */
+   public static int getNumTableScans() {
+
+      synchronized (PROFILER_LOCK) {
+
+         int numTableScans = 0;
+
+         for (final QueryProfile profile : _allQueryProfiles.values()) {
+            numTableScans += profile.allTableScans.size();
+         }
+
+         return numTableScans;
+      }
+   }
+
+   /**
+    * @return Returns the SQL statements to create the suggested indexes
+    */
+   public static List<String> getSuggestedIndexes() {
+
+      try (Connection conn = TourDatabase.getInstance().getConnection()) {
+
+         return getSuggestedIndexes(conn);
+
+      } catch (final SQLException e) {
+         StatusUtil.log(e);
+      }
+
+      return new ArrayList<>();
+   }
+
+   private static List<String> getSuggestedIndexes(final Connection conn) throws SQLException {
+
+      final List<QueryProfile> allQueryProfiles;
+
+      synchronized (PROFILER_LOCK) {
+         allQueryProfiles = new ArrayList<>(_allQueryProfiles.values());
+      }
+
+      final List<IndexCandidate> allIndexCandidates = getIndexCandidates(allQueryProfiles);
+
+      setColumnNames(conn, allIndexCandidates);
+      removeExistingIndexes(conn, allIndexCandidates);
+
+      final List<String> allSql = new ArrayList<>();
+
+      for (final IndexCandidate indexCandidate : allIndexCandidates) {
+         allSql.add(indexCandidate.getCreateSql());
+      }
+
+      return allSql;
+   }
+
+   public static boolean isRunning() {
+      return _isRunning;
+   }
+
+   /**
+    * Parse the runtime statistics of a query for table scans
+    *
+    * @param queryPlan
+    *
+    * @return
+    */
+   private static List<TableScan> parseTableScans(final String queryPlan) {
+
+      final List<TableScan> allTableScans = new ArrayList<>();
+
+      TableScan tableScan = null;
+      int qualifierColumnNumber = -1;
+      boolean isEqualQualifier = false;
+
+      for (final String planLine : queryPlan.split(UI.NEW_LINE1)) {
+
+         final String line = planLine.trim();
+
+         if (line.startsWith(PLAN_TABLE_SCAN)) {
+
+            // Table Scan ResultSet for TOURDATA at read committed isolation level ...
+
+            final String tableName = line.substring(PLAN_TABLE_SCAN.length()).split(UI.SPACE1)[0];
+
+            tableScan = new TableScan();
+            tableScan.tableName = tableName;
+
+            allTableScans.add(tableScan);
+
+         } else if (line.contains(PLAN_RESULT_SET)) {
+
+            // another result set, e.g. an index scan, is following the table scan
+
+            tableScan = null;
+
+         } else if (tableScan == null) {
+
+            continue;
+
+         } else if (line.startsWith(PLAN_ROWS_VISITED)) {
+
+            tableScan.numRowsVisited = parseNumber(line.substring(line.indexOf('=') + 1));
+
+         } else if (line.startsWith(PLAN_QUALIFIER_COLUMN) && line.contains(PLAN_QUALIFIER_ID)) {
+
+            // Column[0][0] Id: 5 -> the column id starts with 0
+
+            qualifierColumnNumber = (int) parseNumber(line.substring(line.indexOf(PLAN_QUALIFIER_ID) + PLAN_QUALIFIER_ID.length())) + 1;
+
+         } else if (line.startsWith(PLAN_QUALIFIER_OPERATOR) && qualifierColumnNumber > 0) {
+
+            isEqualQualifier = "=".equals(line.substring(PLAN_QUALIFIER_OPERATOR.length()).trim()); //$NON-NLS-1$
+
+            if (isEqualQualifier) {
+               tableScan.allEqualColumns.add(qualifierColumnNumber);
+            } else {
+               tableScan.allRangeColumns.add(qualifierColumnNumber);
+            }
+
+         } else if (line.startsWith(PLAN_QUALIFIER_NEGATE) && qualifierColumnNumber > 0) {
+
+            if (isEqualQualifier) {
+
+               // not equal cannot be used for an index
+
+               tableScan.allEqualColumns.remove(qualifierColumnNumber);
+            }
+
+            qualifierColumnNumber = -1;
+         }
+      }
+
+      return allTableScans;
+   }
+
+   private static long parseNumber(final String text) {
+
+      try {
+
+         return Long.parseLong(text.trim());
+
+      } catch (final NumberFormatException e) {
+
+         return 0;
+      }
+   }
+
+   /**
+    * Remove the candidates which are already covered by an existing index, an index covers a
+    * candidate when it starts with the candidate columns.
+    *
+    * @param conn
+    * @param allIndexCandidates
+    *
+    * @throws SQLException
+    */
+   private static void removeExistingIndexes(final Connection conn, final List<IndexCandidate> allIndexCandidates) throws SQLException {
+
+      final DatabaseMetaData metaData = conn.getMetaData();
+      final String schema = conn.getSchema();
+
+      final Map<String, List<List<String>>> allTableIndexes = new HashMap<>();
+
+      allIndexCandidates.removeIf(indexCandidate -> {
+
+         final List<List<String>> allIndexes = allTableIndexes.computeIfAbsent(indexCandidate.tableName, tableName -> {
+
+            final Map<String, List<String>> allIndexColumns = new LinkedHashMap<>();
+
+            try (ResultSet result = metaData.getIndexInfo(null, schema, tableName, false, true)) {
+
+               while (result.next()) {
+
+                  final String indexName = result.getString("INDEX_NAME"); //$NON-NLS-1$
+                  final String columnName = result.getString("COLUMN_NAME"); //$NON-NLS-1$
+
+                  if (indexName != null && columnName != null) {
+
+                     // the index columns are sorted by the ordinal position
+                     allIndexColumns.computeIfAbsent(indexName, name -> new ArrayList<>()).add(columnName);
+                  }
+               }
+
+            } catch (final SQLException e) {
+               StatusUtil.log(e);
+            }
+
+            return new ArrayList<>(allIndexColumns.values());
+         });
+
+         final List<String> allCandidateColumns = indexCandidate.allColumnNames;
+         final int numEqualColumns = indexCandidate.numEqualColumns;
+
+         for (final List<String> allIndexColumns : allIndexes) {
+
+            if (allIndexColumns.size() < allCandidateColumns.size()) {
+               continue;
+            }
+
+            // the equal columns can be in any order
+            final Set<String> allIndexEqualColumns = new LinkedHashSet<>(allIndexColumns.subList(0, numEqualColumns));
+            final Set<String> allCandidateEqualColumns = new LinkedHashSet<>(allCandidateColumns.subList(0, numEqualColumns));
+
+            if (allIndexEqualColumns.equals(allCandidateEqualColumns)
+                  && allIndexColumns.subList(numEqualColumns, allCandidateColumns.size())
+                        .equals(allCandidateColumns.subList(numEqualColumns, allCandidateColumns.size()))) {
+
+               return true;
+            }
+         }
+
+         return false;
+      });
+   }
+
+   /**
+    * Set the column names from the column numbers of the candidates
+    *
+    * @param conn
+    * @param allIndexCandidates
+    *
+    * @throws SQLException
+    */
+   private static void setColumnNames(final Connection conn, final List<IndexCandidate> allIndexCandidates) throws SQLException {
+
+      final String sql = UI.EMPTY_STRING
+
+            + "SELECT c.COLUMNNUMBER, c.COLUMNNAME" + NL //                               //$NON-NLS-1$
+            + "FROM SYS.SYSCOLUMNS c" + NL //                                             //$NON-NLS-1$
+            + "JOIN SYS.SYSTABLES  t ON c.REFERENCEID = t.TABLEID" + NL //                //$NON-NLS-1$
+            + "JOIN SYS.SYSSCHEMAS s ON t.SCHEMAID    = s.SCHEMAID" + NL //               //$NON-NLS-1$
+            + "WHERE s.SCHEMANAME = ? AND t.TABLENAME = ?" + NL //                        //$NON-NLS-1$
+      ;
+
+      final String schema = conn.getSchema();
+      final Map<String, Map<Integer, String>> allTableColumns = new HashMap<>();
+
+      try (PreparedStatement prepStmt = conn.prepareStatement(sql)) {
+
+         for (final IndexCandidate indexCandidate : allIndexCandidates) {
+
+            Map<Integer, String> allColumns = allTableColumns.get(indexCandidate.tableName);
+
+            if (allColumns == null) {
+
+               allColumns = new HashMap<>();
+
+               prepStmt.setString(1, schema);
+               prepStmt.setString(2, indexCandidate.tableName);
+
+               final ResultSet result = prepStmt.executeQuery();
+
+               while (result.next()) {
+                  allColumns.put(result.getInt(1), result.getString(2));
+               }
+
+               allTableColumns.put(indexCandidate.tableName, allColumns);
+            }
+
+            final List<String> allColumnNames = new ArrayList<>();
+
+            for (final Integer columnNumber : indexCandidate.allColumnNumbers) {
+               allColumnNames.add(allColumns.getOrDefault(columnNumber, "COLUMN_" + columnNumber)); //$NON-NLS-1$
+            }
+
+            indexCandidate.allColumnNames = allColumnNames;
+         }
+      }
+   }
+
+   /**
+    * Start profiling a query, this must be called before the query is executed with the same
+    * connection.
+    *
+    * @param conn
+    *
+    * @return Returns the start time which must be used in {@link #stop(Connection, String, long)}
+    *         or 0 when the profiler is not running
+    */
+   public static long start(final Connection conn) {
+
+      if (_isRunning == false) {
+         return 0;
+      }
+
+      try {
+
+         TourDatabase.enableRuntimeStatistics(conn);
+
+      } catch (final SQLException e) {
+
+         StatusUtil.log(e);
+
+         return 0;
+      }
+
+      return System.nanoTime();
+   }
+
+   /**
+    * Start or stop the profiler, all profiled queries are removed when the profiler is started
+    *
+    * @param isRunning
+    */
+   public static void setRunning(final boolean isRunning) {
+
+      synchronized (PROFILER_LOCK) {
+
+         if (isRunning && _isRunning == false) {
+
+            _allQueryProfiles.clear();
+            _startTime = LocalDateTime.now();
+         }
+
+         _isRunning = isRunning;
+      }
+   }
+
+   /**
+    * Stop profiling a query, this must be called after the result set is read and before another
+    * statement is executed with the same connection.
+    *
+    * @param conn
+    * @param queryName
+    *           Queries with the same name are summarized in the report
+    * @param startTime
+    *           Time from {@link #start(Connection)}
+    */
+   public static void stop(final Connection conn, final String queryName, final long startTime) {
+
+      if (startTime == 0) {
+         return;
+      }
+
+      final long duration = System.nanoTime() - startTime;
+
+      final StringBuilder sbQueryPlan = new StringBuilder();
+
+      try {
+
+         try (CallableStatement cs = conn.prepareCall("VALUES SYSCS_UTIL.SYSCS_GET_RUNTIMESTATISTICS()"); //$NON-NLS-1$
+               ResultSet result = cs.executeQuery()) {
+
+            while (result.next()) {
+
+               final String statistics = result.getString(1);
+
+               if (statistics != null) {
+                  sbQueryPlan.append(statistics);
+               }
+            }
+         }
+
+         try (CallableStatement cs = conn.prepareCall("CALL SYSCS_UTIL.SYSCS_SET_RUNTIMESTATISTICS(0)")) { //$NON-NLS-1$
+            cs.execute();
+         }
+
+         try (CallableStatement cs = conn.prepareCall("CALL SYSCS_UTIL.SYSCS_SET_STATISTICS_TIMING(0)")) { //$NON-NLS-1$
+            cs.execute();
+         }
+
+      } catch (final SQLException e) {
+
+         StatusUtil.log(e);
+
+         return;
+      }
+
+      final String queryPlan = sbQueryPlan.toString();
+      final List<TableScan> allTableScans = parseTableScans(queryPlan);
+
+      synchronized (PROFILER_LOCK) {
+
+         if (_isRunning == false) {
+
+            // profiler was stopped during the query
+            return;
+         }
+
+         final QueryProfile profile = _allQueryProfiles.computeIfAbsent(queryName, name -> {
+
+            final QueryProfile newProfile = new QueryProfile();
+            newProfile.queryName = name;
+
+            return newProfile;
+         });
+
+         profile.numCalls++;
+         profile.duration_Total += duration;
+         profile.duration_Max = Math.max(profile.duration_Max, duration);
+         profile.allTableScans.addAll(allTableScans);
+         profile.lastQueryPlan = queryPlan;
+      }
+   }
+}
@@ -23,6 +23,8 @@ import net.tourbook.data.TourData;
 public interface IComputeTourValues {
 
 	/**
+	 * This is called concurrently for different tours, shared values must be thread safe.
+	 *
 	 * @param originalTourData
 	 *            {@link TourData} which is not yet modified
 	 * @return Returns <code>true</code> when {@link TourData} was modified and the tour needs to be
@@ -37,7 +39,10 @@ public interface IComputeTourValues {
 	public String getResultText();
 
 	/**
+	 * This is called for every tour in one thread, also when a tour was not saved.
+	 *
 	 * @param savedTourData
+	 *            Saved {@link TourData} or <code>null</code> when the tour was not saved
 	 * @return Returns the text which should be displayed in the progress bar when one tour was
 	 *         computed
 	 */
@@ -20,7 +20,11 @@ import com.mchange.v2.c3p0.ComboPooledDataSource;
 import com.skedgo.converter.TimezoneMapper;
 
 import java.beans.PropertyVetoException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.net.InetAddress;
 import java.net.URL;
@@ -47,10 +51,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -72,6 +80,8 @@ import net.tourbook.data.DeviceSensor;
 import net.tourbook.data.DeviceSensorValue;
 import net.tourbook.data.Equipment;
 import net.tourbook.data.EquipmentPart;
+import net.tourbook.data.SerieData;
+import net.tourbook.data.SerieDataCodec;
 import net.tourbook.data.TourBeverageContainer;
 import net.tourbook.data.TourBike;
 import net.tourbook.data.TourData;
@@ -92,6 +102,8 @@ import net.tourbook.search.FTSearchManager;
 import net.tourbook.tag.TagCollection;
 import net.tourbook.tour.TourLogManager;
 import net.tourbook.tour.TourManager;
+import net.tourbook.tour.location.TourLocationIndex;
+import net.tourbook.tour.location.TourLocationManager;
 import net.tourbook.tourType.TourTypeImage;
 import net.tourbook.ui.AppFilter;
 import net.tourbook.ui.TourTypeFilter;
@@ -126,8 +138,11 @@ public class TourDatabase {
     * <li>/net.tourbook.export/format-templates/mt-1.0.vm</li>
     * <li>net.tourbook.device.mt.MT_StAXHandler</li>
     */
-   private static final int TOURBOOK_DB_VERSION = 62;
+   private static final int TOURBOOK_DB_VERSION = 65;
 
+//   private static final int TOURBOOK_DB_VERSION = 65; // 26.6.next statistic aggregates
+//   private static final int TOURBOOK_DB_VERSION = 64; // 26.6.next normalized geo data
+//   private static final int TOURBOOK_DB_VERSION = 63; // 26.6.next columnar serie data
 //   private static final int TOURBOOK_DB_VERSION = 62; // 26.6.next
 
 //   private static final int TOURBOOK_DB_VERSION = 61; // 26.6
@@ -211,6 +226,18 @@ public class TourDatabase {
     */
    private static final int    DELAY_SPLASH_LOGGING                       = 500;
 
+   /**
+    * Number of tours which are loaded with one query and which are saved in one transaction when
+    * values are computed for all tours
+    */
+   private static final int    COMPUTE_ALL_TOURS_BATCH_SIZE               = 50;
+
+   /**
+    * Number of tours which are loaded with one query, this should be the same as the
+    * "hibernate.default_batch_fetch_size" in the persistence.xml
+    */
+   private static final int    LOAD_TOURS_BATCH_SIZE                      = 50;
+
    /**
     * <b> !!! Table names are set to uppercase otherwise conn.getMetaData().getColumns() would not
     * work !!! </b>
@@ -230,6 +257,7 @@ public class TourDatabase {
    public static final String  TABLE_TOUR_DATA                            = "TOURDATA";                                              //$NON-NLS-1$
    public static final String  TABLE_TOUR_NUTRITION_PRODUCT               = "TOURNUTRITIONPRODUCT";                                  //$NON-NLS-1$
    public static final String  TABLE_TOUR_GEO_PARTS                       = "TourGeoParts";                                          //$NON-NLS-1$
+   public static final String  TABLE_TOUR_GEO_NORMALIZED                  = "TourGeoNormalized";                                     //$NON-NLS-1$
    public static final String  TABLE_TOUR_LOCATION                        = "TourLocation";                                          //$NON-NLS-1$
    public static final String  TABLE_TOUR_MARKER                          = "TOURMARKER";                                            //$NON-NLS-1$
    public static final String  TABLE_TOUR_MARKER_TYPE                     = "TourMarkerType";                                        //$NON-NLS-1$
@@ -237,6 +265,7 @@ public class TourDatabase {
    public static final String  TABLE_TOUR_PERSON_HRZONE                   = "TOURPERSONHRZONE";                                      //$NON-NLS-1$
    public static final String  TABLE_TOUR_PHOTO                           = "TOURPHOTO";                                             //$NON-NLS-1$
    public static final String  TABLE_TOUR_REFERENCE                       = "TOURREFERENCE";                                         //$NON-NLS-1$
+   public static final String  TABLE_TOUR_STATISTIC_AGGREGATE             = "TourStatisticAggregate";                                //$NON-NLS-1$
    public static final String  TABLE_TOUR_TAG                             = "TOURTAG";                                               //$NON-NLS-1$
    public static final String  TABLE_TOUR_TAG_CATEGORY                    = "TOURTAGCATEGORY";                                       //$NON-NLS-1$
    public static final String  TABLE_TOUR_TYPE                            = "TOURTYPE";                                              //$NON-NLS-1$
@@ -567,6 +596,16 @@ public class TourDatabase {
 
    private boolean                               _isCustomFunctionSetup_AvgSpeedPace;
 
+   /**
+    * Result of a worker when values are computed for all tours
+    *
+    * @param tourData
+    *           Is <code>null</code> when the tour is not available
+    * @param isModified
+    *           Is <code>true</code> when the tour must be saved
+    */
+   private record ComputedTour(TourData tourData, boolean isModified) {}
+
    /**
     * SQL utilities.
     */
@@ -1109,67 +1148,9 @@ public class TourDatabase {
             }
             tourListSize[0] = allTourIds.size();
 
-            long lastUIUpdateTime = 0;
-
             monitor.beginTask(Messages.tour_database_computeComputeValues_mainTask, allTourIds.size());
 
-            // loop over all tours and compute values
-            for (final Long tourId : allTourIds) {
-
-               final TourData dbTourData = getTourFromDb(tourId);
-               TourData savedTourData = null;
-
-               if (dbTourData != null) {
-                  if (computeValuesRunner.computeTourValues(dbTourData)) {
-
-                     // ensure that all computed values are set
-                     dbTourData.computeComputedValues();
-
-                     savedTourData = saveTour(dbTourData, false);
-                  }
-               }
-
-               tourCounter[0]++;
-
-               /*
-                * This must be called in every iteration because it can compute values ! ! !
-                */
-               final String runnerSubTaskText = computeValuesRunner.getSubTaskText(savedTourData);
-
-               final long currentTime = System.currentTimeMillis();
-               if (currentTime > lastUIUpdateTime + 200) {
-
-                  lastUIUpdateTime = currentTime;
-
-                  // create sub task text
-                  final StringBuilder sb = new StringBuilder();
-
-                  // append: Processed tours: {0} of {1}
-                  sb.append(NLS.bind(Messages.tour_database_computeComputeValues_subTask,
-                        tourCounter[0],
-                        tourListSize[0]));
-
-                  // append: % of performed task
-                  sb.append(UI.DASH_WITH_DOUBLE_SPACE);
-                  sb.append(tourCounter[0] * 100 / tourListSize[0]);
-                  sb.append(UI.SYMBOL_PERCENTAGE);
-
-                  // append subsubtask text when available
-                  if (StringUtils.hasContent(runnerSubTaskText)) {
-                     sb.append(UI.DASH_WITH_DOUBLE_SPACE);
-                     sb.append(runnerSubTaskText);
-                  }
-
-                  monitor.subTask(sb.toString());
-               }
-               monitor.worked(1);
-
-               // check if canceled
-               if (monitor.isCanceled()) {
-                  isCanceled[0] = true;
-                  break;
-               }
-            }
+            isCanceled[0] = computeAnyValues_ForAllTours_Pipeline(computeValuesRunner, allTourIds, tourCounter, monitor);
          }
       };
 
@@ -1204,6 +1185,418 @@ public class TourDatabase {
       return isCanceled[0];
    }
 
+   /**
+    * Compute values for all tours with a pipeline
+    * <p>
+    * <li>Reader: Loads tours in batches with one query</li>
+    * <li>Workers: Compute tour values concurrently</li>
+    * <li>Writer: Saves modified tours in batches with one transaction, this is the calling
+    * thread which is also updating the progress monitor</li>
+    *
+    * @param computeValuesRunner
+    * @param allTourIds
+    * @param tourCounter
+    * @param monitor
+    *
+    * @return Returns <code>true</code> when computing was canceled
+    */
+   private static boolean computeAnyValues_ForAllTours_Pipeline(final IComputeTourValues computeValuesRunner,
+                                                                final List<Long> allTourIds,
+                                                                final int[] tourCounter,
+                                                                final IProgressMonitor monitor) {
+
+      final int numTours = allTourIds.size();
+
+      final ThreadFactory threadFactory = runnable -> {
+
+         final Thread thread = new Thread(runnable, "Computing tour values");//$NON-NLS-1$
+
+         thread.setPriority(Thread.MIN_PRIORITY);
+         thread.setDaemon(true);
+
+         return thread;
+      };
+
+      final ExecutorService readerExecutor = Executors.newSingleThreadExecutor(threadFactory);
+      final ExecutorService computeExecutor = Executors.newFixedThreadPool(Util.NUMBER_OF_PROCESSORS, threadFactory);
+
+      /*
+       * Limit the number of loaded but not yet saved tours, otherwise all tours could be loaded
+       * into the memory when computing is slower than loading
+       */
+      final Semaphore loadedTourPermits = new Semaphore(COMPUTE_ALL_TOURS_BATCH_SIZE * 2);
+
+      // contains exactly one item for each tour ID
+      final LinkedBlockingQueue<ComputedTour> allComputedTours = new LinkedBlockingQueue<>();
+
+      final AtomicBoolean isCanceled = new AtomicBoolean();
+
+      /*
+       * Reader
+       */
+      readerExecutor.submit(() -> {
+
+         // number of tours for which an item is or will be added to the queue
+         int numHandedOverTours = 0;
+
+         try {
+
+            for (int batchStart = 0; batchStart < numTours; batchStart += COMPUTE_ALL_TOURS_BATCH_SIZE) {
+
+               final List<Long> allBatchTourIds = allTourIds.subList(
+                     batchStart,
+                     Math.min(batchStart + COMPUTE_ALL_TOURS_BATCH_SIZE, numTours));
+
+               try {
+
+                  loadedTourPermits.acquire(allBatchTourIds.size());
+
+               } catch (final InterruptedException e) {
+
+                  Thread.currentThread().interrupt();
+                  return;
+               }
+
+               if (isCanceled.get()) {
+                  return;
+               }
+
+               Map<Long, TourData> allBatchTours;
+
+               try {
+
+                  allBatchTours = getToursFromDb(allBatchTourIds);
+
+               } catch (final Exception e) {
+
+                  StatusUtil.log(e);
+
+                  allBatchTours = Collections.emptyMap();
+               }
+
+               for (final Long tourId : allBatchTourIds) {
+
+                  final TourData tourData = allBatchTours.get(tourId);
+
+                  if (tourData == null) {
+
+                     // tour is not available, it is also counted
+
+                     allComputedTours.add(new ComputedTour(null, false));
+
+                  } else {
+
+                     /*
+                      * Workers
+                      */
+                     computeExecutor.submit(() -> {
+
+                        ComputedTour computedTour = new ComputedTour(tourData, false);
+
+                        try {
+
+                           computedTour = computeAnyValues_ForAllTours_20_Compute(computeValuesRunner, tourData);
+
+                        } finally {
+
+                           // the writer is waiting for exactly one item for each tour, also when an error occurred
+                           allComputedTours.add(computedTour);
+                        }
+                     });
+                  }
+
+                  numHandedOverTours++;
+               }
+            }
+
+         } finally {
+
+            // ensure that the writer is not waiting forever when the reader is aborted
+            for (; numHandedOverTours < numTours; numHandedOverTours++) {
+               allComputedTours.add(new ComputedTour(null, false));
+            }
+         }
+      });
+
+      /*
+       * Writer
+       */
+      final List<TourData> allModifiedTours = new ArrayList<>();
+      final List<Long> allSavedTourIds = new ArrayList<>();
+
+      // keys before and after saving of all saved tours, the aggregates are updated only once
+      final Set<TourStatisticAggregate.Key> allAggregateKeys = new HashSet<>();
+
+      long lastUIUpdateTime = 0;
+
+      try {
+
+         for (int tourIndex = 0; tourIndex < numTours; tourIndex++) {
+
+            final ComputedTour computedTour = allComputedTours.take();
+
+            loadedTourPermits.release();
+
+            if (computedTour.isModified() && computeAnyValues_ForAllTours_25_PreSave(computedTour.tourData())) {
+               allModifiedTours.add(computedTour.tourData());
+            } else {
+               lastUIUpdateTime = computeAnyValues_ForAllTours_40_Progress(computeValuesRunner, null, tourCounter, numTours, monitor, lastUIUpdateTime);
+            }
+
+            final boolean isMonitorCanceled = monitor.isCanceled();
+
+            if (allModifiedTours.size() >= COMPUTE_ALL_TOURS_BATCH_SIZE
+                  || tourIndex == numTours - 1
+                  || isMonitorCanceled) {
+
+               for (final TourData savedTourData : computeAnyValues_ForAllTours_30_Save(allModifiedTours, allAggregateKeys)) {
+
+                  if (savedTourData != null) {
+                     allSavedTourIds.add(savedTourData.getTourId());
+                  }
+
+                  /*
+                   * This must be called for every tour because it can compute values ! ! !
+                   */
+                  lastUIUpdateTime = computeAnyValues_ForAllTours_40_Progress(
+                        computeValuesRunner,
+                        savedTourData,
+                        tourCounter,
+                        numTours,
+                        monitor,
+                        lastUIUpdateTime);
+               }
+
+               allModifiedTours.clear();
+            }
+
+            // check if canceled, already computed tours are saved
+            if (isMonitorCanceled) {
+
+               isCanceled.set(true);
+
+               break;
+            }
+         }
+
+      } catch (final InterruptedException e) {
+
+         isCanceled.set(true);
+
+         StatusUtil.log(e);
+         Thread.currentThread().interrupt();
+
+      } finally {
+
+         readerExecutor.shutdownNow();
+         computeExecutor.shutdownNow();
+
+         // do these expensive actions only once for all tours
+         TourStatisticAggregate.update(allAggregateKeys);
+         saveTour_PostSaveActions_Concurrent_2_ForAllTours(allSavedTourIds);
+      }
+
+      return isCanceled.get();
+   }
+
+   /**
+    * This is running concurrently, only the tour itself is modified
+    *
+    * @param computeValuesRunner
+    * @param tourData
+    *
+    * @return
+    */
+   private static ComputedTour computeAnyValues_ForAllTours_20_Compute(final IComputeTourValues computeValuesRunner,
+                                                                       final TourData tourData) {
+
+      try {
+
+         if (computeValuesRunner.computeTourValues(tourData)) {
+
+            // ensure that all computed values are set
+            tourData.computeComputedValues();
+
+            return new ComputedTour(tourData, true);
+         }
+
+      } catch (final Exception e) {
+
+         StatusUtil.logError("Exception in tour " + TourManager.getTourDateTimeShort(tourData));//$NON-NLS-1$
+         StatusUtil.log(e);
+      }
+
+      return new ComputedTour(tourData, false);
+   }
+
+   /**
+    * This is running in the writer thread because {@link #saveTour_PreSaveActions(TourData)} is
+    * not thread safe, it clears shared caches and saves transient instances, e.g. tags or tour
+    * types, which are shared between tours
+    *
+    * @param tourData
+    *
+    * @return Returns <code>true</code> when the tour can be saved
+    */
+   private static boolean computeAnyValues_ForAllTours_25_PreSave(final TourData tourData) {
+
+      try {
+
+         if (saveTour_PreSaveActions(tourData)) {
+
+            tourData.onPrePersist();
+
+            return true;
+         }
+
+      } catch (final Exception e) {
+
+         StatusUtil.logError("Exception in tour " + TourManager.getTourDateTimeShort(tourData));//$NON-NLS-1$
+         StatusUtil.log(e);
+      }
+
+      return false;
+   }
+
+   /**
+    * Save all tours in one transaction, when this fails then the tours are saved one by one that a
+    * failing tour is not preventing to save the other tours
+    *
+    * @param allModifiedTours
+    * @param allAggregateKeys
+    *           Collects the statistic aggregate keys before and after saving, a tour could be moved
+    *           into another statistic period
+    *
+    * @return Returns the persisted tours in the same sequence as the modified tours, the item is
+    *         <code>null</code> when saving failed
+    */
+   private static List<TourData> computeAnyValues_ForAllTours_30_Save(final List<TourData> allModifiedTours,
+                                                                      final Set<TourStatisticAggregate.Key> allAggregateKeys) {
+
+      final List<TourData> allPersistedTours = new ArrayList<>();
+
+      if (allModifiedTours.isEmpty()) {
+         return allPersistedTours;
+      }
+
+      // the keys must be read before the tours are saved
+      final List<Long> allModifiedTourIds = new ArrayList<>();
+      for (final TourData tourData : allModifiedTours) {
+         allModifiedTourIds.add(tourData.getTourId());
+      }
+
+      final Map<Long, TourStatisticAggregate.Key> allKeysBeforeSaving = TourStatisticAggregate.getKeys(allModifiedTourIds);
+
+      boolean isSaved = false;
+
+      final EntityManager em = TourDatabase.getInstance().getEntityManager();
+      final EntityTransaction ts = em.getTransaction();
+
+      try {
+
+         ts.begin();
+         {
+            for (final TourData tourData : allModifiedTours) {
+               allPersistedTours.add(em.merge(tourData));
+            }
+         }
+         ts.commit();
+
+         isSaved = true;
+
+      } catch (final Exception e) {
+
+         StatusUtil.log(e);
+
+      } finally {
+
+         if (ts.isActive()) {
+            ts.rollback();
+         }
+
+         em.close();
+      }
+
+      if (isSaved) {
+
+         allAggregateKeys.addAll(allKeysBeforeSaving.values());
+
+         for (int tourIndex = 0; tourIndex < allModifiedTours.size(); tourIndex++) {
+
+            final TourData persistedTour = allPersistedTours.get(tourIndex);
+
+            saveTour_PostSaveActions_Concurrent_1_ForOneTour(persistedTour, allModifiedTours.get(tourIndex));
+
+            allAggregateKeys.add(TourStatisticAggregate.getKey(persistedTour));
+         }
+
+      } else {
+
+         allPersistedTours.clear();
+
+         for (final TourData tourData : allModifiedTours) {
+            allPersistedTours.add(saveTour_Concurrent(tourData, false));
+         }
+      }
+
+      return allPersistedTours;
+   }
+
+   /**
+    * @param computeValuesRunner
+    * @param savedTourData
+    * @param tourCounter
+    * @param numTours
+    * @param monitor
+    * @param lastUIUpdateTime
+    *
+    * @return Returns the time when the UI was updated
+    */
+   private static long computeAnyValues_ForAllTours_40_Progress(final IComputeTourValues computeValuesRunner,
+                                                                final TourData savedTourData,
+                                                                final int[] tourCounter,
+                                                                final int numTours,
+                                                                final IProgressMonitor monitor,
+                                                                final long lastUIUpdateTime) {
+
+      tourCounter[0]++;
+
+      /*
+       * This must be called in every iteration because it can compute values ! ! !
+       */
+      final String runnerSubTaskText = computeValuesRunner.getSubTaskText(savedTourData);
+
+      monitor.worked(1);
+
+      final long currentTime = System.currentTimeMillis();
+      if (currentTime < lastUIUpdateTime + 200) {
+         return lastUIUpdateTime;
+      }
+
+      // create sub task text
+      final StringBuilder sb = new StringBuilder();
+
+      // append: Processed tours: {0} of {1}
+      sb.append(NLS.bind(Messages.tour_database_computeComputeValues_subTask,
+            tourCounter[0],
+            numTours));
+
+      // append: % of performed task
+      sb.append(UI.DASH_WITH_DOUBLE_SPACE);
+      sb.append(tourCounter[0] * 100 / numTours);
+      sb.append(UI.SYMBOL_PERCENTAGE);
+
+      // append subsubtask text when available
+      if (StringUtils.hasContent(runnerSubTaskText)) {
+         sb.append(UI.DASH_WITH_DOUBLE_SPACE);
+         sb.append(runnerSubTaskText);
+      }
+
+      monitor.subTask(sb.toString());
+
+      return currentTime;
+   }
+
    private static void computeAnyValues_ForAllTours(final SplashManager splashManager) {
 
       final ArrayList<Long> allTourIds = getAllTourIds();
@@ -1255,6 +1648,9 @@ public class TourDatabase {
 
                run_AllTours(conn, monitor);
 
+               // the tour values are updated without saving the tours
+               TourStatisticAggregate.rebuild(conn);
+
             } catch (final SQLException e) {
 
                net.tourbook.common.util.SQL.showException(e);
@@ -1374,6 +1770,8 @@ public class TourDatabase {
     */
    public static boolean deleteTour(final long tourId) {
 
+      TourStatisticAggregate.Key aggregateKey = null;
+
       boolean isTourRemovedFromEJB = false;
 
       final EntityManager em = TourDatabase.getInstance().getEntityManager();
@@ -1384,6 +1782,8 @@ public class TourDatabase {
 
          if (tourData != null) {
 
+            aggregateKey = TourStatisticAggregate.getKey(tourData);
+
             ts.begin();
             em.remove(tourData);
             ts.commit();
@@ -1393,6 +1793,10 @@ public class TourDatabase {
 
          e.printStackTrace();
 
+         if (aggregateKey == null) {
+            aggregateKey = TourStatisticAggregate.getKey(tourId);
+         }
+
          /*
           * an error could have been occurred when loading the tour with em.find, remove the tour
           * with sql commands
@@ -1414,6 +1818,8 @@ public class TourDatabase {
 
          FTSearchManager.deleteTourFromIndex(tourId);
 
+         TourStatisticAggregate.update(aggregateKey);
+
          TourManager.getInstance().removeTourFromCache(tourId);
       }
 
@@ -1450,6 +1856,7 @@ public class TourDatabase {
             "DELETE FROM " + JOINTABLE__TOURDATA__EQUIPMENT + sqlWhere_TourData_TourId,   //$NON-NLS-1$
             "DELETE FROM " + TABLE_TOUR_COMPARED            + sqlWhere_TourId,            //$NON-NLS-1$
             "DELETE FROM " + TABLE_TOUR_GEO_PARTS           + sqlWhere_TourId,            //$NON-NLS-1$
+            "DELETE FROM " + TABLE_TOUR_GEO_NORMALIZED      + sqlWhere_TourId,            //$NON-NLS-1$
          };
 
 // SET_FORMATTING_ON
@@ -2325,6 +2732,51 @@ public class TourDatabase {
       return rootEntry;
    }
 
+   /**
+    * Loads only the {@link SerieData} blob of a tour without creating a {@link TourData} entity,
+    * this is much faster when only a few data series are needed, e.g. only lat/lon.
+    *
+    * @param tourId
+    * @param allColumnIds
+    *           Ids of the data series {@link SerieDataCodec#COLUMN_TIME}... which are decoded, all
+    *           other data series in {@link SerieData} are <code>null</code>. Tours which are saved
+    *           with an old format are always decoded completely.
+    *
+    * @return Returns the requested data series or <code>null</code> when the tour is not available
+    */
+   public static SerieData getSerieData(final long tourId, final int... allColumnIds) {
+
+      final String sql = "SELECT SerieData FROM " + TABLE_TOUR_DATA + " WHERE TourId=?"; //$NON-NLS-1$ //$NON-NLS-2$
+
+      try (Connection conn = getInstance().getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+         stmt.setLong(1, tourId);
+
+         try (ResultSet result = stmt.executeQuery()) {
+
+            if (result.next()) {
+
+               final byte[] serializedData = result.getBytes(1);
+
+               if (serializedData != null) {
+                  return SerieDataCodec.deserialize(serializedData, allColumnIds);
+               }
+            }
+         }
+
+      } catch (final SQLException e) {
+
+         UI.showSQLException(e);
+
+      } catch (final IOException | ClassNotFoundException e) {
+
+         StatusUtil.log(e);
+      }
+
+      return null;
+   }
+
    /**
     * @param tagCategoryId
     *
@@ -2636,6 +3088,63 @@ public class TourDatabase {
       return tourData;
    }
 
+   /**
+    * Load many tours with a few SQL statements. The tours are loaded with one query for
+    * {@link #LOAD_TOURS_BATCH_SIZE} tours, their markers, way points, photos, tags and other
+    * associated entities are loaded by the Hibernate batch fetching with one IN (...) query for
+    * each association and not for each tour.
+    *
+    * @param allTourIds
+    *
+    * @return Returns all tours which are available in the database, key is the tour ID
+    */
+   public static Map<Long, TourData> getToursFromDb(final List<Long> allTourIds) {
+
+      final Map<Long, TourData> allTours = new HashMap<>();
+
+      final int numTours = allTourIds.size();
+
+      if (numTours == 0) {
+         return allTours;
+      }
+
+      final EntityManager em = TourDatabase.getInstance().getEntityManager();
+
+      try {
+
+         final Query emQuery = em.createQuery(UI.EMPTY_STRING
+
+               + "SELECT tourData" //$NON-NLS-1$
+               + " FROM TourData AS tourData" //$NON-NLS-1$
+               + " WHERE tourData.tourId IN (:tourIds)"); //$NON-NLS-1$
+
+         for (int batchStart = 0; batchStart < numTours; batchStart += LOAD_TOURS_BATCH_SIZE) {
+
+            final List<Long> allBatchTourIds = allTourIds.subList(
+                  batchStart,
+                  Math.min(batchStart + LOAD_TOURS_BATCH_SIZE, numTours));
+
+            emQuery.setParameter("tourIds", allBatchTourIds); //$NON-NLS-1$
+
+            for (final Object element : emQuery.getResultList()) {
+
+               if (element instanceof final TourData tourData) {
+                  allTours.put(tourData.getTourId(), tourData);
+               }
+            }
+
+            // the loaded tours are not needed any more in the persistence context
+            em.clear();
+         }
+
+      } finally {
+
+         em.close();
+      }
+
+      return allTours;
+   }
+
    public static TourLocation getTourLocation(final double latitude, final double longitude, final int zoomlevel) {
 
       final int latitudeE6 = Util.convertDouble_ToE6(latitude);
@@ -2644,23 +3153,56 @@ public class TourDatabase {
       return getTourLocation(latitudeE6, longitudeE6, zoomlevel);
    }
 
-   /**
-    * Searches for a tour location which is within all saved bounding boxes
-    *
-    * @param latitudeE6
-    * @param longitudeE6
-    * @param zoomlevel
-    *
-    * @return
-    */
-   private static TourLocation getTourLocation(final int latitudeE6, final int longitudeE6, final int zoomlevel) {
+   /**
+    * Searches for a tour location which is within all saved bounding boxes
+    *
+    * @param latitudeE6
+    * @param longitudeE6
+    * @param zoomlevel
+    *
+    * @return
+    */
+   private static TourLocation getTourLocation(final int latitudeE6, final int longitudeE6, final int zoomlevel) {
+
+      // convert possible negative values into positive values to make math easier
+      final int latitudeE6_Normalized = latitudeE6 + 90_000_000;
+      final int longitudeE6_Normalized = longitudeE6 + 180_000_000;
+
+      final TourLocationIndex locationIndex = TourLocationManager.getLocationIndex();
+
+      if (locationIndex != null) {
+
+         // search the location in memory, only the found location is loaded from the database
+
+         final long locationId = locationIndex.getLocationId(zoomlevel, latitudeE6_Normalized, longitudeE6_Normalized);
+
+         if (locationId == TourLocationIndex.LOCATION_IS_NOT_AVAILABLE) {
+            return null;
+         }
+
+         final EntityManager em = TourDatabase.getInstance().getEntityManager();
+
+         final TourLocation dbTourLocation = em.find(TourLocation.class, locationId);
+
+         em.close();
+
+         if (dbTourLocation != null) {
+
+            dbTourLocation.setTransientValues();
+
+            return dbTourLocation;
+         }
+      }
+
+      return getTourLocation_FromDb(latitudeE6_Normalized, longitudeE6_Normalized, zoomlevel);
+   }
+
+   private static TourLocation getTourLocation_FromDb(final int latitudeE6_Normalized,
+                                                      final int longitudeE6_Normalized,
+                                                      final int zoomlevel) {
 
       TourLocation dbTourLocation = null;
 
-      // convert possible negative values into positive values to make math easier
-      final int latitudeE6_Normalized = latitudeE6 + 90_000_000;
-      final int longitudeE6_Normalized = longitudeE6 + 180_000_000;
-
       synchronized (DB_LOCK) {
 
          final EntityManager em = TourDatabase.getInstance().getEntityManager();
@@ -3420,6 +3962,9 @@ public class TourDatabase {
 
       TourData persistedEntity = null;
 
+      // the tour could be moved into another statistic period
+      TourStatisticAggregate.Key aggregateKey = null;
+
       if (em != null) {
 
          final EntityTransaction ts = em.getTransaction();
@@ -3433,6 +3978,10 @@ public class TourDatabase {
                final long dtSaved = TimeTools.createdNowAsYMDhms();
 
                final TourData tourDataEntity = em.find(TourData.class, tourData.getTourId());
+
+               // the key must be read before the entity is merged
+               aggregateKey = TourStatisticAggregate.getKey(tourDataEntity);
+
                if (tourDataEntity == null) {
 
                   // tour is not yet persisted
@@ -3481,6 +4030,8 @@ public class TourDatabase {
          em.close();
 
          saveTour_PostSaveActions(persistedEntity, tourData);
+
+         TourStatisticAggregate.update(aggregateKey, TourStatisticAggregate.getKey(persistedEntity));
       }
 
       return persistedEntity;
@@ -3506,6 +4057,9 @@ public class TourDatabase {
 
       TourData persistedEntity = null;
 
+      // the tour could be moved into another statistic period
+      TourStatisticAggregate.Key aggregateKey = null;
+
       if (em != null) {
 
          final EntityTransaction ts = em.getTransaction();
@@ -3520,6 +4074,10 @@ public class TourDatabase {
 
                // get tour data by tour id
                final TourData dbTourData = em.find(TourData.class, tourData.getTourId());
+
+               // the key must be read before the entity is merged
+               aggregateKey = TourStatisticAggregate.getKey(dbTourData);
+
                if (dbTourData == null) {
 
                   // tour is not yet persisted
@@ -3561,6 +4119,10 @@ public class TourDatabase {
          // do post save actions for only ONE tour
          saveTour_PostSaveActions_Concurrent_1_ForOneTour(persistedEntity, tourData);
 
+         if (persistedEntity != null) {
+            TourStatisticAggregate.update(aggregateKey, TourStatisticAggregate.getKey(persistedEntity));
+         }
+
          // !!! This method MUST be called AFTER all tours are saved !!!
          // !!! This method MUST be called AFTER all tours are saved !!!
          // !!! This method MUST be called AFTER all tours are saved !!!
@@ -3591,6 +4153,16 @@ public class TourDatabase {
           */
          sql = "DELETE FROM " + TABLE_TOUR_GEO_PARTS + " WHERE tourId=?"; //$NON-NLS-1$ //$NON-NLS-2$
 
+         deleteStmt = conn.prepareStatement(sql);
+         deleteStmt.setLong(1, tourId);
+         deleteStmt.execute();
+         deleteStmt.close();
+
+         /*
+          * Delete old normalized geo data, it is created again when the tour is geo compared
+          */
+         sql = "DELETE FROM " + TABLE_TOUR_GEO_NORMALIZED + " WHERE tourId=?"; //$NON-NLS-1$ //$NON-NLS-2$
+
          deleteStmt = conn.prepareStatement(sql);
          deleteStmt.setLong(1, tourId);
          deleteStmt.execute();
@@ -4167,6 +4739,8 @@ public class TourDatabase {
 
                appliedLocation = savedLocation;
 
+               TourLocationManager.updateLocationIndex(locationIndex -> locationIndex.add(savedLocation));
+
                // force reload of cached tour locations
 //               clearTourTypes();
 //               TourManager.getInstance().clearTourDataCache();
@@ -4430,6 +5004,12 @@ public class TourDatabase {
          }
       }
 
+      if (isUpdated) {
+
+         // tours are summarized by the new weeks
+         TourStatisticAggregate.rebuild(conn);
+      }
+
       return isUpdated;
    }
 
@@ -4437,6 +5017,28 @@ public class TourDatabase {
       _propertyListeners.add(listener);
    }
 
+   /**
+    * Create a composite index with the key columns of the {@link TourStatisticAggregate}
+    *
+    * @param stmt
+    * @param tableName
+    *
+    * @throws SQLException
+    */
+   private void createIndex_StatisticAggregateKey(final Statement stmt, final String tableName) throws SQLException {
+
+      SQL.createIndex_Composite(stmt,
+
+            tableName,
+
+            "TourPerson_PersonId", //     //$NON-NLS-1$
+            "TourType_TypeId", //         //$NON-NLS-1$
+            "StartYear", //               //$NON-NLS-1$
+            "StartMonth", //              //$NON-NLS-1$
+            "StartWeekYear", //           //$NON-NLS-1$
+            "StartWeek"); //              //$NON-NLS-1$
+   }
+
    /**
     * Create index for {@link TourData} will dramatically improve performance *
     * <p>
@@ -5413,6 +6015,31 @@ public class TourDatabase {
       SQL.createIndex_Table__Column(stmt, TABLE_TOUR_DATA, "TourLocationEnd_LocationID"); //$NON-NLS-1$
    }
 
+   /**
+    * Create table {@link #TABLE_TOUR_GEO_NORMALIZED}
+    *
+    * @param stmt
+    *
+    * @throws SQLException
+    */
+   private void createTable_TourGeoNormalized(final Statement stmt) throws SQLException {
+
+      /*
+       * CREATE TABLE TourGeoNormalized
+       */
+      exec(stmt, "CREATE TABLE " + TABLE_TOUR_GEO_NORMALIZED + "   (                   " + NL //$NON-NLS-1$ //$NON-NLS-2$
+      //
+            + "   TourId                     BIGINT   NOT NULL,                        " + NL //$NON-NLS-1$
+            + "   GeoAccuracy                INTEGER  NOT NULL,                        " + NL //$NON-NLS-1$
+            + "   DistanceAccuracy           INTEGER  NOT NULL,                        " + NL //$NON-NLS-1$
+            + "   NormalizedData             BLOB,                                     " + NL //$NON-NLS-1$
+
+            + "   CONSTRAINT                 PK_TourId_GeoAccuracy_DistanceAccuracy    " + NL //$NON-NLS-1$
+            + "                              PRIMARY KEY (TourId, GeoAccuracy, DistanceAccuracy)" + NL //$NON-NLS-1$
+
+            + ")"); //$NON-NLS-1$
+   }
+
    /**
     * create table {@link #}
     *
@@ -5895,6 +6522,69 @@ public class TourDatabase {
       SQL.createIndex_Table__Column(stmt, TABLE_TOUR_REFERENCE, KEY_TOUR);
    }
 
+   /**
+    * Create table {@link #TABLE_TOUR_STATISTIC_AGGREGATE}, it is maintained by
+    * {@link TourStatisticAggregate}
+    *
+    * @param stmt
+    *
+    * @throws SQLException
+    */
+   private void createTable_TourStatisticAggregate(final Statement stmt) throws SQLException {
+
+      /*
+       * CREATE TABLE TourStatisticAggregate
+       */
+      exec(stmt, "CREATE TABLE " + TABLE_TOUR_STATISTIC_AGGREGATE + "   (              " + NL //$NON-NLS-1$ //$NON-NLS-2$
+      //
+            + "   TourPerson_PersonId        BIGINT,                                   " + NL //$NON-NLS-1$
+            + "   TourType_TypeId            BIGINT,                                   " + NL //$NON-NLS-1$
+            + "   StartYear                  SMALLINT NOT NULL,                        " + NL //$NON-NLS-1$
+            + "   StartMonth                 SMALLINT NOT NULL,                        " + NL //$NON-NLS-1$
+            + "   StartWeekYear              SMALLINT NOT NULL,                        " + NL //$NON-NLS-1$
+            + "   StartWeek                  SMALLINT NOT NULL,                        " + NL //$NON-NLS-1$
+
+            + "   NumTours                   INTEGER  NOT NULL,                        " + NL //$NON-NLS-1$
+
+            + "   TourDeviceTime_Elapsed     BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   TourDeviceTime_Recorded    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   TourDeviceTime_Paused      BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   TourComputedTime_Moving    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   TourDuration_Moving        BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+
+            + "   TourDistance               BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   TourAltUp                  BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   TourAltDown                BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+
+            + "   BodyWeight_Sum             DOUBLE   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   BodyWeight_Num             INTEGER  DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   BodyFat_Sum                DOUBLE   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   BodyFat_Num                INTEGER  DEFAULT 0,                       " + NL //$NON-NLS-1$
+
+            + "   HrZone0                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone1                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone2                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone3                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone4                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone5                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone6                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone7                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone8                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone9                    BIGINT   DEFAULT 0                        " + NL //$NON-NLS-1$
+
+            + ")"); //$NON-NLS-1$
+
+      SQL.createIndex_Table__Column(stmt, TABLE_TOUR_STATISTIC_AGGREGATE, "StartYear"); //$NON-NLS-1$
+      SQL.createIndex_Table__Column(stmt, TABLE_TOUR_STATISTIC_AGGREGATE, "StartWeekYear"); //$NON-NLS-1$
+
+      /*
+       * The aggregates of one key are deleted and summarized again from the tours when a tour is
+       * saved, without these indices all rows would be scanned
+       */
+      createIndex_StatisticAggregateKey(stmt, TABLE_TOUR_STATISTIC_AGGREGATE);
+      createIndex_StatisticAggregateKey(stmt, TABLE_TOUR_DATA);
+   }
+
    /**
     * Create table {@link #TABLE_TOUR_TAG} which contains {@link TourTag} entities.
     *
@@ -6793,9 +7483,11 @@ public class TourDatabase {
             createTable_TourCompared(stmt);
             createTable_TourBike(stmt);
             createTable_TourGeoParts(stmt);
+            createTable_TourGeoNormalized(stmt);
             createTable_DeviceSensor(stmt);
             createTable_DeviceSensorValues(stmt);
             createTable_TourLocation(stmt);
+            createTable_TourStatisticAggregate(stmt);
 
             createTable_DbVersion_Design(stmt);
             createTable_DbVersion_Data(stmt, TOURBOOK_DB_VERSION);
@@ -6877,6 +7569,8 @@ public class TourDatabase {
 
          _isDesignVersionChecked = true;
 
+         TourStatisticAggregate.setTableAvailable(true);
+
       } catch (final SQLException e) {
 
          UI.showSQLException(e);
@@ -7460,6 +8154,21 @@ public class TourDatabase {
             currentDbVersion = _dbDesignVersion_New = updateDb_061_To_062(conn, splashManager);
          }
 
+         // 62 -> 63    26.6+++
+         if (currentDbVersion == 62) {
+            currentDbVersion = _dbDesignVersion_New = updateDb_062_To_063(splashManager);
+         }
+
+         // 63 -> 64    26.6+++
+         if (currentDbVersion == 63) {
+            currentDbVersion = _dbDesignVersion_New = updateDb_063_To_064(conn, splashManager);
+         }
+
+         // 64 -> 65    26.6+++
+         if (currentDbVersion == 64) {
+            currentDbVersion = _dbDesignVersion_New = updateDb_064_To_065(conn, splashManager);
+         }
+
          // update db design version number
          updateVersionNumber_10_AfterDesignUpdate(conn, _dbDesignVersion_New);
 
@@ -7529,6 +8238,10 @@ public class TourDatabase {
          updateDb__3_Data_Concurrent(conn, splashManager, new TourDataUpdate_058_to_059()); //     59 - 25.11
 
          updateDb_060_To_061_DataUpdate(conn, splashManager); //                                   61 - 26.6
+         updateDb_062_To_063_DataUpdate(conn, splashManager); //                                   63 - 26.6+++
+
+         // this must be run AFTER all other data updates, they could modify summarized tour values
+         updateDb_064_To_065_DataUpdate(conn, splashManager); //                                   65 - 26.6+++
 
       } catch (final SQLException e) {
 
@@ -11966,6 +12679,242 @@ public class TourDatabase {
       return newDbVersion;
    }
 
+   private int updateDb_062_To_063(final SplashManager splashManager) {
+
+      final int newDbVersion = 63;
+
+      logDbUpdate_Start(newDbVersion);
+      updateMonitor(splashManager, newDbVersion);
+
+      // this is a dummy db design update that the db data update works
+
+      logDbUpdate_End(newDbVersion);
+
+      return newDbVersion;
+   }
+
+   /**
+    * Convert {@link TourData#serieData} from the default java serialization into the columnar
+    * format of {@link SerieDataCodec}.
+    * <p>
+    * This is done with plain JDBC because the entity manager would not detect a modified blob, the
+    * serie data values are the same, only the saved format is different.
+    *
+    * @param conn
+    * @param splashManager
+    *
+    * @throws SQLException
+    */
+   private void updateDb_062_To_063_DataUpdate(final Connection conn, final SplashManager splashManager) throws SQLException {
+
+      final long startTime = System.currentTimeMillis();
+
+      final int dbDataVersion = 63;
+
+      if (getDbVersion(conn, TABLE_DB_VERSION_DATA) >= dbDataVersion) {
+
+         // data version is higher -> nothing to do
+         return;
+      }
+
+      final int numAllTours = getAllTourIds().size();
+
+      PreparedStatement stmtSelect = null;
+      PreparedStatement stmtUpdate = null;
+
+      final boolean isAutoCommit = conn.getAutoCommit();
+
+      try {
+
+         conn.setAutoCommit(false);
+
+         stmtSelect = conn.prepareStatement(UI.EMPTY_STRING
+
+               + "SELECT" //                             //$NON-NLS-1$
+
+               + " TourId," //                        1  //$NON-NLS-1$
+               + " SerieData" //                      2  //$NON-NLS-1$
+
+               + " FROM " + TABLE_TOUR_DATA); //         //$NON-NLS-1$
+
+         stmtUpdate = conn.prepareStatement(UI.EMPTY_STRING
+
+               + "UPDATE " + TABLE_TOUR_DATA //          //$NON-NLS-1$
+               + " SET SerieData=?" //                1  //$NON-NLS-1$
+               + " WHERE TourId=?"); //               2  //$NON-NLS-1$
+
+         final ResultSet result = stmtSelect.executeQuery();
+
+         int tourIndex = 0;
+         int lastUpdateNumItems = 0;
+         int numBatchItems = 0;
+         long lastUpdateTime = startTime;
+
+         while (result.next()) {
+
+            tourIndex++;
+
+            final long tourId = result.getLong(1);
+            final byte[] oldSerieData = result.getBytes(2);
+
+            if (oldSerieData == null) {
+               continue;
+            }
+
+            /*
+             * Deserialize with the old format and serialize again, SerieData.writeReplace() is
+             * writing the columnar format
+             */
+            byte[] newSerieData;
+
+            try (ObjectInputStream inStream = new ObjectInputStream(new ByteArrayInputStream(oldSerieData))) {
+
+               final Object serieData = inStream.readObject();
+
+               final ByteArrayOutputStream byteStream = new ByteArrayOutputStream(oldSerieData.length / 2);
+
+               try (ObjectOutputStream outStream = new ObjectOutputStream(byteStream)) {
+                  outStream.writeObject(serieData);
+               }
+
+               newSerieData = byteStream.toByteArray();
+
+            } catch (final IOException | ClassNotFoundException e) {
+
+               StatusUtil.logError(NLS.bind("Cannot convert serie data of tour {0}", tourId)); //$NON-NLS-1$
+               StatusUtil.log(e);
+
+               continue;
+            }
+
+            stmtUpdate.setBytes(1, newSerieData);
+            stmtUpdate.setLong(2, tourId);
+            stmtUpdate.addBatch();
+
+            if (++numBatchItems >= 100) {
+
+               stmtUpdate.executeBatch();
+               conn.commit();
+
+               numBatchItems = 0;
+            }
+
+            if (splashManager != null) {
+
+               final long currentTime = System.currentTimeMillis();
+
+               // reduce logging
+               if (currentTime - lastUpdateTime > DELAY_SPLASH_LOGGING
+
+                     // update UI for the last tour otherwise it looks like that not all data are converted
+                     || tourIndex == numAllTours) {
+
+                  lastUpdateTime = currentTime;
+
+                  final int numTourDiff = tourIndex - lastUpdateNumItems;
+                  lastUpdateNumItems = tourIndex;
+
+                  final String percentValue = String.format(NUMBER_FORMAT_1F, (float) tourIndex / numAllTours * 100.0);
+
+                  splashManager.setMessage(String.format(
+                        Messages.Tour_Database_PostUpdate,
+                        dbDataVersion,
+                        tourIndex,
+                        numAllTours,
+                        percentValue,
+                        numTourDiff));
+               }
+            }
+         }
+
+         if (numBatchItems > 0) {
+            stmtUpdate.executeBatch();
+         }
+
+         conn.commit();
+
+      } finally {
+
+         net.tourbook.common.util.SQL.close(stmtSelect);
+         net.tourbook.common.util.SQL.close(stmtUpdate);
+
+         conn.setAutoCommit(isAutoCommit);
+      }
+
+      updateVersionNumber_20_AfterDataUpdate(conn, dbDataVersion, startTime);
+   }
+
+   private int updateDb_063_To_064(final Connection conn, final SplashManager splashManager) throws SQLException {
+
+      final int newDbVersion = 64;
+
+      logDbUpdate_Start(newDbVersion);
+      updateMonitor(splashManager, newDbVersion);
+
+      final Statement stmt = conn.createStatement();
+      {
+         // double check if db already updated
+         if (isTableAvailable(conn, TABLE_TOUR_GEO_NORMALIZED) == false) {
+
+            createTable_TourGeoNormalized(stmt);
+         }
+      }
+      stmt.close();
+
+      logDbUpdate_End(newDbVersion);
+
+      return newDbVersion;
+   }
+
+   private int updateDb_064_To_065(final Connection conn, final SplashManager splashManager) throws SQLException {
+
+      final int newDbVersion = 65;
+
+      logDbUpdate_Start(newDbVersion);
+      updateMonitor(splashManager, newDbVersion);
+
+      final Statement stmt = conn.createStatement();
+      {
+         // double check if db already updated
+         if (isTableAvailable(conn, TABLE_TOUR_STATISTIC_AGGREGATE) == false) {
+
+            createTable_TourStatisticAggregate(stmt);
+         }
+      }
+      stmt.close();
+
+      logDbUpdate_End(newDbVersion);
+
+      return newDbVersion;
+   }
+
+   /**
+    * Summarize all tours into the statistic aggregates
+    *
+    * @param conn
+    * @param splashManager
+    *
+    * @throws SQLException
+    */
+   private void updateDb_064_To_065_DataUpdate(final Connection conn, final SplashManager splashManager) throws SQLException {
+
+      final long startTime = System.currentTimeMillis();
+
+      final int dbDataVersion = 65;
+
+      if (getDbVersion(conn, TABLE_DB_VERSION_DATA) >= dbDataVersion) {
+
+         // data version is higher -> nothing to do
+         return;
+      }
+
+      updateMonitor(splashManager, dbDataVersion);
+
+      TourStatisticAggregate.rebuild(conn);
+
+      updateVersionNumber_20_AfterDataUpdate(conn, dbDataVersion, startTime);
+   }
+
    private void updateMonitor(final SplashManager splashManager, final int newDbVersion) {
 
       if (splashManager != null) {
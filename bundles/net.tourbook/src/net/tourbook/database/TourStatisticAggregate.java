@@ -0,0 +1,471 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.tourbook.common.UI;
+import net.tourbook.common.util.SQL;
+import net.tourbook.data.TourData;
+import net.tourbook.data.TourPerson;
+import net.tourbook.data.TourType;
+import net.tourbook.ui.AppFilter;
+
+/**
+ * Maintains the table {@link TourDatabase#TABLE_TOUR_STATISTIC_AGGREGATE} which contains the
+ * summarized tour values for each person, tour type, year, month and week.
+ * <p>
+ * The statistics for months, weeks and years are summarized from this table and do not need to
+ * scan all tours. The rows of a period are computed again from {@link TourDatabase#TABLE_TOUR_DATA}
+ * when a tour of this period is saved or deleted.
+ * <p>
+ * The columns have the same names as in {@link TourDatabase#TABLE_TOUR_DATA} when they contain
+ * the sum of this column, the table is used with the alias <code>TourData</code> that the SQL of
+ * the {@link AppFilter} can be applied.
+ */
+public final class TourStatisticAggregate {
+
+   private static final char    NL                 = UI.NEW_LINE;
+
+   private static final String  TABLE_AGGREGATE    = TourDatabase.TABLE_TOUR_STATISTIC_AGGREGATE;
+
+   private static final String  SQL_KEY_COLUMNS    = UI.EMPTY_STRING
+
+         + "   TourPerson_PersonId," + NL //                //$NON-NLS-1$
+         + "   TourType_TypeId," + NL //                    //$NON-NLS-1$
+         + "   StartYear," + NL //                          //$NON-NLS-1$
+         + "   StartMonth," + NL //                         //$NON-NLS-1$
+         + "   StartWeekYear," + NL //                      //$NON-NLS-1$
+         + "   StartWeek" + NL //                           //$NON-NLS-1$
+   ;
+
+   private static final String  SQL_INSERT_SELECT  = UI.EMPTY_STRING
+
+         + "INSERT INTO " + TABLE_AGGREGATE + " (" + NL //                       //$NON-NLS-1$ //$NON-NLS-2$
+
+         + SQL_KEY_COLUMNS + "," + NL //                                         //$NON-NLS-1$
+
+         + "   NumTours," + NL //                                                //$NON-NLS-1$
+
+         + "   TourDeviceTime_Elapsed," + NL //                                  //$NON-NLS-1$
+         + "   TourDeviceTime_Recorded," + NL //                                 //$NON-NLS-1$
+         + "   TourDeviceTime_Paused," + NL //                                   //$NON-NLS-1$
+         + "   TourComputedTime_Moving," + NL //                                 //$NON-NLS-1$
+         + "   TourDuration_Moving," + NL //                                     //$NON-NLS-1$
+
+         + "   TourDistance," + NL //                                            //$NON-NLS-1$
+         + "   TourAltUp," + NL //                                               //$NON-NLS-1$
+         + "   TourAltDown," + NL //                                             //$NON-NLS-1$
+
+         + "   BodyWeight_Sum," + NL //                                          //$NON-NLS-1$
+         + "   BodyWeight_Num," + NL //                                          //$NON-NLS-1$
+         + "   BodyFat_Sum," + NL //                                             //$NON-NLS-1$
+         + "   BodyFat_Num," + NL //                                             //$NON-NLS-1$
+
+         + "   HrZone0, HrZone1, HrZone2, HrZone3, HrZone4," + NL //             //$NON-NLS-1$
+         + "   HrZone5, HrZone6, HrZone7, HrZone8, HrZone9" + NL //              //$NON-NLS-1$
+         + ")" + NL //                                                           //$NON-NLS-1$
+
+         + "SELECT" + NL //                                                      //$NON-NLS-1$
+
+         + SQL_KEY_COLUMNS + "," + NL //                                         //$NON-NLS-1$
+
+         + "   COUNT(*)," + NL //                                                //$NON-NLS-1$
+
+         + "   SUM(TourDeviceTime_Elapsed)," + NL //                             //$NON-NLS-1$
+         + "   SUM(TourDeviceTime_Recorded)," + NL //                            //$NON-NLS-1$
+         + "   SUM(TourDeviceTime_Paused)," + NL //                              //$NON-NLS-1$
+         + "   SUM(TourComputedTime_Moving)," + NL //                            //$NON-NLS-1$
+         + "   SUM(CASE WHEN TourComputedTime_Moving > 0 THEN TourComputedTime_Moving ELSE TourDeviceTime_Elapsed END)," + NL //$NON-NLS-1$
+
+         + "   SUM(CAST(TourDistance AS BIGINT))," + NL //                       //$NON-NLS-1$
+         + "   SUM(CAST(TourAltUp AS BIGINT))," + NL //                          //$NON-NLS-1$
+         + "   SUM(CAST(TourAltDown AS BIGINT))," + NL //                        //$NON-NLS-1$
+
+         + "   COALESCE(SUM(CASE WHEN BodyWeight = 0 THEN NULL ELSE BodyWeight END), 0)," + NL //  //$NON-NLS-1$
+         + "   COUNT(CASE WHEN BodyWeight = 0 THEN NULL ELSE BodyWeight END)," + NL //             //$NON-NLS-1$
+         + "   COALESCE(SUM(CASE WHEN BodyFat = 0 THEN NULL ELSE BodyFat END), 0)," + NL //        //$NON-NLS-1$
+         + "   COUNT(CASE WHEN BodyFat = 0 THEN NULL ELSE BodyFat END)," + NL //                   //$NON-NLS-1$
+
+         + createSQL_SumHrZone(0) + "," + NL //                                  //$NON-NLS-1$
+         + createSQL_SumHrZone(1) + "," + NL //                                  //$NON-NLS-1$
+         + createSQL_SumHrZone(2) + "," + NL //                                  //$NON-NLS-1$
+         + createSQL_SumHrZone(3) + "," + NL //                                  //$NON-NLS-1$
+         + createSQL_SumHrZone(4) + "," + NL //                                  //$NON-NLS-1$
+         + createSQL_SumHrZone(5) + "," + NL //                                  //$NON-NLS-1$
+         + createSQL_SumHrZone(6) + "," + NL //                                  //$NON-NLS-1$
+         + createSQL_SumHrZone(7) + "," + NL //                                  //$NON-NLS-1$
+         + createSQL_SumHrZone(8) + "," + NL //                                  //$NON-NLS-1$
+         + createSQL_SumHrZone(9) + NL //                                        //$NON-NLS-1$
+
+         + "FROM " + TourDatabase.TABLE_TOUR_DATA + NL //                        //$NON-NLS-1$
+   ;
+
+   private static final String  SQL_GROUP_BY       = "GROUP BY" + NL + SQL_KEY_COLUMNS; //$NON-NLS-1$
+
+   /**
+    * When more keys are updated, then all aggregates are computed again with one query which is
+    * faster than many small queries
+    */
+   private static final int     MAX_UPDATED_KEYS   = 200;
+
+   /**
+    * Aggregates are saved or deleted only by one thread that the delete and insert of one period is
+    * not mixed up
+    */
+   private static final Object  AGGREGATE_LOCK     = new Object();
+
+   /**
+    * Is <code>true</code> when the aggregate table is created, this is not yet the case when the
+    * database design is updated
+    */
+   private static volatile boolean _isTableAvailable;
+
+   /**
+    * Key of all tours which are summarized in one row of the aggregate table
+    */
+   record Key(Long personId,
+              Long tourTypeId,
+              int year,
+              int month,
+              int weekYear,
+              int week) {}
+
+   private TourStatisticAggregate() {}
+
+   /**
+    * @param result
+    * @param firstColumn
+    *           Column index of {@link #SQL_KEY_COLUMNS} in the result set
+    *
+    * @return
+    *
+    * @throws SQLException
+    */
+   private static Key createKey(final ResultSet result, final int firstColumn) throws SQLException {
+
+      return new Key(
+            (Long) result.getObject(firstColumn),
+            (Long) result.getObject(firstColumn + 1),
+            result.getInt(firstColumn + 2),
+            result.getInt(firstColumn + 3),
+            result.getInt(firstColumn + 4),
+            result.getInt(firstColumn + 5));
+   }
+
+   private static String createSQL_SumHrZone(final int zoneIndex) {
+
+      final String column = "HrZone" + zoneIndex; //$NON-NLS-1$
+
+      return "   SUM(CASE WHEN NumberOfHrZones > 0 AND " + column + " > 0 THEN " + column + " ELSE 0 END)"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+   }
+
+   private static String createSQL_WhereKey(final Key key) {
+
+      return UI.EMPTY_STRING
+
+            + "WHERE" + NL //                                                                   //$NON-NLS-1$
+
+            + (key.personId() == null
+                  ? "   TourPerson_PersonId IS NULL" + NL //                                    //$NON-NLS-1$
+                  : "   TourPerson_PersonId = " + key.personId() + NL) //                       //$NON-NLS-1$
+
+            + (key.tourTypeId() == null
+                  ? "   AND TourType_TypeId IS NULL" + NL //                                    //$NON-NLS-1$
+                  : "   AND TourType_TypeId = " + key.tourTypeId() + NL) //                     //$NON-NLS-1$
+
+            + "   AND StartYear = " + key.year() + NL //                                        //$NON-NLS-1$
+            + "   AND StartMonth = " + key.month() + NL //                                      //$NON-NLS-1$
+            + "   AND StartWeekYear = " + key.weekYear() + NL //                                //$NON-NLS-1$
+            + "   AND StartWeek = " + key.week() + NL //                                        //$NON-NLS-1$
+      ;
+   }
+
+   /**
+    * Get the aggregate key from the values of a tour entity, this do not need a database
+    * connection
+    *
+    * @param tourData
+    *
+    * @return Returns the aggregate key of a tour or <code>null</code> when the tour is not
+    *         available
+    */
+   static Key getKey(final TourData tourData) {
+
+      if (_isTableAvailable == false || tourData == null) {
+         return null;
+      }
+
+      final TourPerson tourPerson = tourData.getTourPerson();
+      final TourType tourType = tourData.getTourType();
+
+      return new Key(
+            tourPerson == null ? null : tourPerson.getPersonId(),
+            tourType == null ? null : tourType.getTypeId(),
+            tourData.getStartYear(),
+            tourData.getStartMonth(),
+            tourData.getStartWeekYear(),
+            tourData.getStartWeek());
+   }
+
+   /**
+    * @param tourId
+    *
+    * @return Returns the aggregate key of a tour or <code>null</code> when the tour is not saved
+    */
+   static Key getKey(final long tourId) {
+
+      if (_isTableAvailable == false) {
+         return null;
+      }
+
+      try (Connection conn = TourDatabase.getInstance().getConnection()) {
+
+         return getKey(conn, tourId);
+
+      } catch (final SQLException e) {
+         SQL.showException(e);
+      }
+
+      return null;
+   }
+
+   private static Key getKey(final Connection conn, final long tourId) {
+
+      final String sql = UI.EMPTY_STRING
+
+            + "SELECT" + NL //                        //$NON-NLS-1$
+            + SQL_KEY_COLUMNS
+            + "FROM " + TourDatabase.TABLE_TOUR_DATA + NL //  //$NON-NLS-1$
+            + "WHERE TourId = ?" + NL //              //$NON-NLS-1$
+      ;
+
+      try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+         stmt.setLong(1, tourId);
+
+         final ResultSet result = stmt.executeQuery();
+
+         if (result.next()) {
+            return createKey(result, 1);
+         }
+
+      } catch (final SQLException e) {
+         SQL.showException(e, sql);
+      }
+
+      return null;
+   }
+
+   /**
+    * Get the aggregate keys of many tours with one query, e.g. before they are saved, this do not
+    * need to load the tour entities
+    *
+    * @param allTourIds
+    *
+    * @return Returns the aggregate keys of the saved tours by their tour ID
+    */
+   static Map<Long, Key> getKeys(final List<Long> allTourIds) {
+
+      final Map<Long, Key> allKeys = new HashMap<>();
+
+      if (_isTableAvailable == false || allTourIds.isEmpty()) {
+         return allKeys;
+      }
+
+      final String sql = UI.EMPTY_STRING
+
+            + "SELECT" + NL //                                                            //$NON-NLS-1$
+            + "   TourId," + NL //                                                        //$NON-NLS-1$
+            + SQL_KEY_COLUMNS
+            + "FROM " + TourDatabase.TABLE_TOUR_DATA + NL //                              //$NON-NLS-1$
+            + "WHERE TourId IN (" + SQL.createParameterList(allTourIds.size()) + ")" + NL //  //$NON-NLS-1$ //$NON-NLS-2$
+      ;
+
+      try (Connection conn = TourDatabase.getInstance().getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+         for (int tourIndex = 0; tourIndex < allTourIds.size(); tourIndex++) {
+            stmt.setLong(tourIndex + 1, allTourIds.get(tourIndex));
+         }
+
+         final ResultSet result = stmt.executeQuery();
+
+         while (result.next()) {
+            allKeys.put(result.getLong(1), createKey(result, 2));
+         }
+
+      } catch (final SQLException e) {
+         SQL.showException(e, sql);
+      }
+
+      return allKeys;
+   }
+
+   /**
+    * @param appFilter
+    *
+    * @return Returns <code>true</code> when the tour values for this app filter can be summarized
+    *         from the aggregate table
+    */
+   public static boolean isAvailable(final AppFilter appFilter) {
+
+      return _isTableAvailable && appFilter.isFilteredByPersonAndTourTypeOnly();
+   }
+
+   /**
+    * Compute all aggregates from the tours
+    *
+    * @param conn
+    *
+    * @throws SQLException
+    */
+   static void rebuild(final Connection conn) throws SQLException {
+
+      if (_isTableAvailable == false) {
+         return;
+      }
+
+      synchronized (AGGREGATE_LOCK) {
+
+         final boolean isAutoCommit = conn.getAutoCommit();
+
+         try (Statement stmt = conn.createStatement()) {
+
+            conn.setAutoCommit(false);
+
+            stmt.executeUpdate("DELETE FROM " + TABLE_AGGREGATE); //$NON-NLS-1$
+            stmt.executeUpdate(SQL_INSERT_SELECT + SQL_GROUP_BY);
+
+            conn.commit();
+
+         } finally {
+
+            conn.setAutoCommit(isAutoCommit);
+         }
+      }
+   }
+
+   static void setTableAvailable(final boolean isTableAvailable) {
+
+      _isTableAvailable = isTableAvailable;
+   }
+
+   /**
+    * Compute the aggregates of tours again after they are saved or deleted, all aggregates are
+    * updated with one connection and transaction.
+    * <p>
+    * The keys before and after saving must be provided because a tour could be moved into another
+    * period, e.g. when the tour start or the tour type is modified.
+    *
+    * @param allKeys
+    *           Aggregate keys before and after the tours were saved or deleted, a key is
+    *           <code>null</code> when the tour was not yet saved or is deleted
+    */
+   static void update(final Collection<Key> allKeys) {
+
+      if (_isTableAvailable == false) {
+         return;
+      }
+
+      // a modified tour has mostly the same key before and after it is saved
+      final Set<Key> allUniqueKeys = new LinkedHashSet<>();
+      for (final Key key : allKeys) {
+         if (key != null) {
+            allUniqueKeys.add(key);
+         }
+      }
+
+      if (allUniqueKeys.isEmpty()) {
+         return;
+      }
+
+      try (Connection conn = TourDatabase.getInstance().getConnection()) {
+
+         if (allUniqueKeys.size() > MAX_UPDATED_KEYS) {
+
+            rebuild(conn);
+
+         } else {
+
+            update(conn, allUniqueKeys);
+         }
+
+      } catch (final SQLException e) {
+         SQL.showException(e);
+      }
+   }
+
+   /**
+    * @param allKeys
+    *           Aggregate keys before and after a tour was saved or deleted
+    *
+    * @see #update(Collection)
+    */
+   static void update(final Key... allKeys) {
+
+      update(Arrays.asList(allKeys));
+   }
+
+   private static void update(final Connection conn, final Set<Key> allUniqueKeys) {
+
+      String sql = UI.EMPTY_STRING;
+
+      synchronized (AGGREGATE_LOCK) {
+
+         try (Statement stmt = conn.createStatement()) {
+
+            final boolean isAutoCommit = conn.getAutoCommit();
+
+            try {
+
+               conn.setAutoCommit(false);
+
+               for (final Key key : allUniqueKeys) {
+
+                  final String sqlWhere = createSQL_WhereKey(key);
+
+                  sql = "DELETE FROM " + TABLE_AGGREGATE + NL + sqlWhere; //$NON-NLS-1$
+                  stmt.executeUpdate(sql);
+
+                  sql = SQL_INSERT_SELECT + sqlWhere + SQL_GROUP_BY;
+                  stmt.executeUpdate(sql);
+               }
+
+               conn.commit();
+
+            } finally {
+
+               conn.setAutoCommit(isAutoCommit);
+            }
+
+         } catch (final SQLException e) {
+            SQL.showException(e, sql);
+         }
+      }
+   }
+}
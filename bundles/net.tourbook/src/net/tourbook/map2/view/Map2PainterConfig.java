@@ -41,6 +41,11 @@ public class Map2PainterConfig {
 
    private static int                       _zoomLevelAdjustment;
 
+   /**
+    * Is incremented when the displayed tours are set
+    */
+   private static int                       _tourDataVersion;
+
    private static IMapColorProvider         _mapColorProvider;
 
    static boolean                           isBackgroundDark;
@@ -118,6 +123,13 @@ public class Map2PainterConfig {
       return _allTourData;
    }
 
+   /**
+    * @return Returns a number which is changed when the displayed tours are set
+    */
+   static int getTourDataVersion() {
+      return _tourDataVersion;
+   }
+
    public static int getZoomLevelAdjustment() {
       return _zoomLevelAdjustment;
    }
@@ -131,6 +143,8 @@ public class Map2PainterConfig {
 
       _allTourData.clear();
       _allTourData.add(null);
+
+      _tourDataVersion++;
    }
 
    public static void setMapColorProvider(final IMapColorProvider mapColorProvider) {
@@ -186,6 +200,8 @@ public class Map2PainterConfig {
          _allTourData.addAll(tourDataList);
       }
 
+      _tourDataVersion++;
+
       isShowTours = isShowTour && _allTourData.size() > 0;
    }
 
@@ -201,6 +217,8 @@ public class Map2PainterConfig {
       _allTourData.clear();
       _allTourData.add(tourData);
 
+      _tourDataVersion++;
+
       isShowTours = isShowTour && _allTourData.size() > 0;
    }
 
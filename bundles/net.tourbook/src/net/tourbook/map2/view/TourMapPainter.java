@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (C) 2005, 2025 Wolfgang Schramm and Contributors
+ * Copyright (C) 2005, 2026 Wolfgang Schramm and Contributors
  *
  * This program is free software; you can redistribute it and/or modify it under
  * the terms of the GNU General Public License as published by the Free Software
@@ -53,6 +53,7 @@ import net.tourbook.preferences.ITourbookPreferences;
 import net.tourbook.preferences.Map2_Appearance;
 import net.tourbook.ui.views.referenceTour.ReferenceTourManager;
 
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
 import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.jface.preference.IPreferenceStore;
@@ -124,6 +125,14 @@ public class TourMapPainter extends Map2Painter {
    private boolean _isFastPainting;
    private int     _fastPainting_SkippedValues;
 
+   /**
+    * Key is the zoom level, the tile indices are valid for {@link #_tourTileIndex_MP} and
+    * {@link #_tourTileIndex_TourDataVersion}
+    */
+   private final IntObjectHashMap<TourTileIndex> _allTourTileIndices            = new IntObjectHashMap<>();
+   private MP                                    _tourTileIndex_MP;
+   private int                                   _tourTileIndex_TourDataVersion = -1;
+
    public TourMapPainter() {
 
       super();
@@ -745,9 +754,7 @@ public class TourMapPainter extends Map2Painter {
 
       initPainter();
 
-      final ArrayList<TourData> allTourData = Map2PainterConfig.getTourData();
-
-      if (allTourData.isEmpty()) {
+      if (Map2PainterConfig.getTourData().isEmpty()) {
          return false;
       }
 
@@ -771,9 +778,15 @@ public class TourMapPainter extends Map2Painter {
          TourData prevTourData = null;
          final long geoCompareRefTourId = ReferenceTourManager.getGeoCompare_RefTour_TourId();
 
+         final TourTileIndex tourTileIndex = getTourTileIndex(map);
+         final List<TourData> allTourData = tourTileIndex.getTourData();
+
          final int numTours = allTourData.size();
 
-         for (final TourData tourData : allTourData) {
+         // paint only the tours which are in this tile, the tour order is kept
+         for (final int tourIndex : tourTileIndex.getTourIndices(tile)) {
+
+            final TourData tourData = allTourData.get(tourIndex);
 
             if (tourData == null) {
                continue;
@@ -944,12 +957,6 @@ public class TourMapPainter extends Map2Painter {
       final int projectionHash = mp.getProjection().getId().hashCode();
       final int mapZoomLevel = map.getZoomLevel();
 
-      // basic drawing method is used -> optimize performance
-
-      if (isInTile_Tour(tourData, mp, mapZoomLevel, tile, projectionHash) == false) {
-         return false;
-      }
-
       boolean isTourInTile = false;
 
       final int tileSize = mp.getTileSize();
@@ -996,7 +1003,7 @@ public class TourMapPainter extends Map2Painter {
 
       if ((allTour_WorldPixelPos == null)) {
 
-         allTour_WorldPixelPos = setupWorldPixel_Tour(
+         allTour_WorldPixelPos = TourTileIndex.createWorldPixels(
                tourData,
                mp,
                mapZoomLevel,
@@ -1256,6 +1263,38 @@ public class TourMapPainter extends Map2Painter {
                         tile,
                         tourId,
                         serieIndex);
+
+               } else if (isVisibleDataPoint
+                     && serieIndex != lastInsideIndex
+                     && TourTileIndex.isLineInTile(allTour_WorldPixelPos[serieIndex - 1], tourWorldPixel, tile, tileSize)) {
+
+                  /*
+                   * The previous and the current position are outside of the tile but the line
+                   * between them is crossing the tile
+                   */
+
+                  isTourInTile = true;
+
+                  color = getTourColor(
+                        tourData,
+                        serieIndex,
+                        isBorder,
+                        true,
+                        isGeoCompareRefTour,
+                        isInRefTourPart);
+
+                  lastVisibleColor = color;
+
+                  drawTour_20_Line(
+                        gcTile,
+                        devFrom_X,
+                        devFrom_Y,
+                        devTo_X,
+                        devTo_Y,
+                        color,
+                        tile,
+                        tourId,
+                        serieIndex);
                }
 
                // keep positions
@@ -1575,6 +1614,40 @@ public class TourMapPainter extends Map2Painter {
       return valuePosition;
    }
 
+   /**
+    * @param map
+    *
+    * @return Returns the tile index for the displayed tours and the current zoom level, it is
+    *         created when not yet available
+    */
+   private TourTileIndex getTourTileIndex(final Map2 map) {
+
+      final MP mp = map.getMapProvider();
+      final int mapZoomLevel = map.getZoomLevel();
+      final int tourDataVersion = Map2PainterConfig.getTourDataVersion();
+
+      if (mp != _tourTileIndex_MP || tourDataVersion != _tourTileIndex_TourDataVersion) {
+
+         // tours or map provider have changed -> tile indices are invalid
+
+         _allTourTileIndices.clear();
+
+         _tourTileIndex_MP = mp;
+         _tourTileIndex_TourDataVersion = tourDataVersion;
+      }
+
+      TourTileIndex tourTileIndex = _allTourTileIndices.get(mapZoomLevel);
+
+      if (tourTileIndex == null) {
+
+         tourTileIndex = TourTileIndex.create(Map2PainterConfig.getTourData(), mp, mapZoomLevel);
+
+         _allTourTileIndices.put(mapZoomLevel, tourTileIndex);
+      }
+
+      return tourTileIndex;
+   }
+
    private Color getTourColor(final TourData tourData,
                               final int serieIndex,
                               final boolean isBorder,
@@ -1687,55 +1760,10 @@ public class TourMapPainter extends Map2Painter {
       return false;
    }
 
-   private boolean isInTile_Tour(final TourData tourData,
-                                 final MP mp,
-                                 final int mapZoomLevel,
-                                 final Tile tile,
-                                 final int projectionHash) {
-
-      // check if geo position is available
-      final double[] latitudeSerie = tourData.latitudeSerie;
-      final double[] longitudeSerie = tourData.longitudeSerie;
-
-      if (latitudeSerie != null && longitudeSerie != null) {
-
-         // tiles are cached to optimize performance when multiple tours are selected
-         IntHashSet tileHashes = tourData.getTileHashes_ForTours(projectionHash, mapZoomLevel);
-
-         if (tileHashes == null) {
-
-            // tile hashes are not yet cached, create them now
-
-            tileHashes = setupTileHashes_Tour(
-                  tourData,
-                  mp,
-                  mapZoomLevel,
-                  latitudeSerie,
-                  longitudeSerie,
-                  projectionHash);
-         }
-
-         int tileHash = 15;
-         tileHash = 35 * tileHash + tile.getX();
-         tileHash = 35 * tileHash + tile.getY();
-
-         if (tileHashes.contains(tileHash)) {
-
-            // tour is in this tile
-
-            return true;
-         }
-      }
-
-      return false;
-   }
-
    @Override
    public boolean isPaintingNeeded(final Map2 map, final Tile tile) {
 
-      final ArrayList<TourData> allTourData = Map2PainterConfig.getTourData();
-
-      if (allTourData.isEmpty()) {
+      if (Map2PainterConfig.getTourData().isEmpty()) {
          return false;
       }
 
@@ -1743,21 +1771,10 @@ public class TourMapPainter extends Map2Painter {
          createImages();
       }
 
-      final MP mp = map.getMapProvider();
-      final int mapZoomLevel = map.getZoomLevel();
-      final int projectionHash = mp.getProjection().getId().hashCode();
-
       if (Map2PainterConfig.isShowTours
 
-            && allTourData.size() > 0
-
-            && isPaintingNeeded_Tours(
-
-                  allTourData,
-                  mp,
-                  mapZoomLevel,
-                  tile,
-                  projectionHash)) {
+            // check if a tour is within the tile
+            && getTourTileIndex(map).getTourIndices(tile).length > 0) {
 
          return true;
       }
@@ -1765,27 +1782,6 @@ public class TourMapPainter extends Map2Painter {
       return false;
    }
 
-   private boolean isPaintingNeeded_Tours(final ArrayList<TourData> allTourData,
-                                          final MP mp,
-                                          final int mapZoomLevel,
-                                          final Tile tile,
-                                          final int projectionHash) {
-
-      for (final TourData tourData : allTourData) {
-
-         // check tour data
-         if (tourData == null) {
-            continue;
-         }
-
-         if (isInTile_Tour(tourData, mp, mapZoomLevel, tile, projectionHash)) {
-            return true;
-         }
-      }
-
-      return false;
-   }
-
    /**
     * Set the data serie which is painted
     *
@@ -1840,89 +1836,4 @@ public class TourMapPainter extends Map2Painter {
       }
    }
 
-   /**
-    * Create tour tile hashes for all geo positions and the current zoom level and projection
-    *
-    * @param tourData
-    * @param mp
-    * @param mapZoomLevel
-    * @param latitudeSerie
-    * @param longitudeSerie
-    * @param projectionHash
-    *
-    * @return
-    */
-   private IntHashSet setupTileHashes_Tour(final TourData tourData,
-                                           final MP mp,
-                                           final int mapZoomLevel,
-                                           final double[] latitudeSerie,
-                                           final double[] longitudeSerie,
-                                           final int projectionHash) {
-
-      final IntHashSet tileHashes = new IntHashSet();
-
-      final int numSlices = latitudeSerie.length;
-      final int tileSize = mp.getTileSize();
-
-      for (int serieIndex = 0; serieIndex < numSlices; serieIndex++) {
-
-         // convert lat/long into world pixels which depends on the map projection
-
-         final Point worldPixelPos = mp.geoToPixel(
-               new GeoPosition(latitudeSerie[serieIndex], longitudeSerie[serieIndex]),
-               mapZoomLevel);
-
-         final int tileX = worldPixelPos.x / tileSize;
-         final int tileY = worldPixelPos.y / tileSize;
-
-         // create painting hash code
-         int tileHash = 15;
-         tileHash = 35 * tileHash + tileX;
-         tileHash = 35 * tileHash + tileY;
-
-         tileHashes.add(tileHash);
-      }
-
-      tourData.setTileHashes_ForTours(tileHashes, mapZoomLevel, projectionHash);
-
-      return tileHashes;
-   }
-
-   /**
-    * world pixels are not yet cached, create them now
-    *
-    * @param tourData
-    * @param mp
-    * @param mapZoomLevel
-    * @param latitudeSerie
-    * @param longitudeSerie
-    * @param projectionHash
-    *
-    * @return
-    */
-   private Point[] setupWorldPixel_Tour(final TourData tourData,
-                                        final MP mp,
-                                        final int mapZoomLevel,
-                                        final double[] latitudeSerie,
-                                        final double[] longitudeSerie,
-                                        final int projectionHash) {
-
-      final int numSlices = latitudeSerie.length;
-
-      final Point[] allTour_WorldPixelPos = new Point[numSlices];
-
-      for (int serieIndex = 0; serieIndex < numSlices; serieIndex++) {
-
-         // convert lat/long into world pixels which depends on the map projection
-
-         final GeoPosition geoPosition = new GeoPosition(latitudeSerie[serieIndex], longitudeSerie[serieIndex]);
-
-         allTour_WorldPixelPos[serieIndex] = mp.geoToPixel(geoPosition, mapZoomLevel);
-      }
-
-      tourData.setWorldPixelForTour(allTour_WorldPixelPos, mapZoomLevel, projectionHash);
-
-      return allTour_WorldPixelPos;
-   }
-
 }
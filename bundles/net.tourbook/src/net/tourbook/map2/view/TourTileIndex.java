@@ -0,0 +1,380 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.map2.view;
+
+import de.byteholder.geoclipse.map.Tile;
+import de.byteholder.geoclipse.mapprovider.MP;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import net.tourbook.common.map.GeoPosition;
+import net.tourbook.common.util.StatusUtil;
+import net.tourbook.common.util.Util;
+import net.tourbook.data.TourData;
+
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+
+/**
+ * Contains the tours which are painted into a map tile for one zoom level and map provider, a tour
+ * is painted into all tiles which are crossed by the lines between its geo positions.
+ * <p>
+ * The index is created once for all displayed tours, so that painting a tile do not need to check
+ * all tours. The geo positions of the tours are converted into world pixels concurrently, these
+ * world pixels are cached in the {@link TourData} for the painting.
+ */
+public final class TourTileIndex {
+
+   private static final int[]           NO_TOURS = new int[0];
+
+   private static final ExecutorService _indexExecutor;
+
+   static {
+
+      final ThreadFactory threadFactory = new ThreadFactory() {
+
+         private int __threadNumber = 0;
+
+         @Override
+         public Thread newThread(final Runnable runnable) {
+
+            final String threadName = "2D Map - Tour Tile Index-" + __threadNumber++; //$NON-NLS-1$
+
+            final Thread thread = new Thread(runnable, threadName);
+
+            thread.setDaemon(true);
+
+            return thread;
+         }
+      };
+
+      _indexExecutor = Executors.newFixedThreadPool(Util.NUMBER_OF_PROCESSORS, threadFactory);
+   }
+
+   private final List<TourData>           _allTourData;
+
+   /**
+    * Key is the tile key, value contains the indices into {@link #_allTourData} in ascending order
+    */
+   private final LongObjectHashMap<int[]> _allTileTours = new LongObjectHashMap<>();
+
+   private TourTileIndex(final List<TourData> allTourData) {
+
+      _allTourData = allTourData;
+   }
+
+   /**
+    * Add the keys of all tiles which are crossed by the line between 2 world positions, the tiles
+    * are walked along the line from the start to the end position.
+    *
+    * @param allTileKeys
+    * @param fromPos
+    * @param toPos
+    * @param tileSize
+    */
+   private static void addLineTileKeys(final LongHashSet allTileKeys,
+                                       final Point fromPos,
+                                       final Point toPos,
+                                       final int tileSize) {
+
+      int tileX = fromPos.x / tileSize;
+      int tileY = fromPos.y / tileSize;
+
+      final int lastTileX = toPos.x / tileSize;
+      final int lastTileY = toPos.y / tileSize;
+
+      allTileKeys.add(createTileKey(tileX, tileY));
+
+      if (tileX == lastTileX && tileY == lastTileY) {
+
+         // line is within one tile
+         return;
+      }
+
+      final double diffX = toPos.x - fromPos.x;
+      final double diffY = toPos.y - fromPos.y;
+
+      final int stepX = lastTileX > tileX ? 1 : -1;
+      final int stepY = lastTileY > tileY ? 1 : -1;
+
+      // line positions 0...1 where the next vertical and horizontal tile border is crossed
+      double nextBorderX = diffX == 0
+            ? Double.POSITIVE_INFINITY
+            : ((double) (stepX > 0 ? tileX + 1 : tileX) * tileSize - fromPos.x) / diffX;
+
+      double nextBorderY = diffY == 0
+            ? Double.POSITIVE_INFINITY
+            : ((double) (stepY > 0 ? tileY + 1 : tileY) * tileSize - fromPos.y) / diffY;
+
+      final double borderDistanceX = diffX == 0 ? Double.POSITIVE_INFINITY : tileSize / Math.abs(diffX);
+      final double borderDistanceY = diffY == 0 ? Double.POSITIVE_INFINITY : tileSize / Math.abs(diffY);
+
+      while (tileX != lastTileX || tileY != lastTileY) {
+
+         // the last tile column/row is never passed
+         if (tileY == lastTileY || (tileX != lastTileX && nextBorderX < nextBorderY)) {
+
+            tileX += stepX;
+            nextBorderX += borderDistanceX;
+
+         } else {
+
+            tileY += stepY;
+            nextBorderY += borderDistanceY;
+         }
+
+         allTileKeys.add(createTileKey(tileX, tileY));
+      }
+   }
+
+   /**
+    * Create the tile index for all tours, the tours are converted concurrently into world pixels
+    *
+    * @param allTourData
+    *           All displayed tours, tours can be <code>null</code>
+    * @param mp
+    * @param zoomLevel
+    *
+    * @return Returns the tile index
+    */
+   public static TourTileIndex create(final List<TourData> allTourData, final MP mp, final int zoomLevel) {
+
+      final TourTileIndex tileIndex = new TourTileIndex(new ArrayList<>(allTourData));
+
+      final int projectionHash = mp.getProjection().getId().hashCode();
+      final int numTours = tileIndex._allTourData.size();
+
+      final List<Callable<LongHashSet>> allTileKeyCreators = new ArrayList<>();
+      final int[] allTourCreatorIndices = new int[numTours];
+
+      /*
+       * A tour can be displayed more than once, e.g. a compared tour with it's own reference tour,
+       * the tile keys are created only once for each tour, that the cached world pixels of a tour
+       * are not set concurrently
+       */
+      final Map<TourData, Integer> allCreatorIndices = new IdentityHashMap<>();
+
+      for (int tourIndex = 0; tourIndex < numTours; tourIndex++) {
+
+         final TourData tourData = tileIndex._allTourData.get(tourIndex);
+
+         Integer creatorIndex = allCreatorIndices.get(tourData);
+
+         if (creatorIndex == null) {
+
+            creatorIndex = allTileKeyCreators.size();
+
+            allCreatorIndices.put(tourData, creatorIndex);
+            allTileKeyCreators.add(() -> createTileKeys(tourData, mp, zoomLevel, projectionHash));
+         }
+
+         allTourCreatorIndices[tourIndex] = creatorIndex;
+      }
+
+      // key is the tile key, value contains the tour indices in ascending order
+      final LongObjectHashMap<IntArrayList> allTileTourIndices = new LongObjectHashMap<>();
+
+      try {
+
+         final List<Future<LongHashSet>> allTourTileKeys = _indexExecutor.invokeAll(allTileKeyCreators);
+
+         for (int tourIndex = 0; tourIndex < numTours; tourIndex++) {
+
+            final int finalTourIndex = tourIndex;
+
+            try {
+
+               allTourTileKeys.get(allTourCreatorIndices[tourIndex]).get().each(tileKey -> allTileTourIndices
+                     .getIfAbsentPut(tileKey, IntArrayList::new)
+                     .add(finalTourIndex));
+
+            } catch (final ExecutionException e) {
+               StatusUtil.log(e);
+            }
+         }
+
+      } catch (final InterruptedException e) {
+
+         Thread.currentThread().interrupt();
+      }
+
+      allTileTourIndices.forEachKeyValue((tileKey, allTourIndices) -> tileIndex._allTileTours.put(tileKey, allTourIndices.toArray()));
+
+      return tileIndex;
+   }
+
+   private static long createTileKey(final int tileX, final int tileY) {
+
+      return ((long) tileX << 32) | (tileY & 0xffffffffL);
+   }
+
+   /**
+    * @param tourData
+    * @param mp
+    * @param zoomLevel
+    * @param projectionHash
+    *
+    * @return Returns the keys of all tiles which are crossed by the tour lines, the tiles around
+    *         the start and end position are also contained because the start/end markers can
+    *         overlap these tiles
+    */
+   private static LongHashSet createTileKeys(final TourData tourData,
+                                             final MP mp,
+                                             final int zoomLevel,
+                                             final int projectionHash) {
+
+      final LongHashSet allTileKeys = new LongHashSet();
+
+      if (tourData == null) {
+         return allTileKeys;
+      }
+
+      final double[] latitudeSerie = tourData.latitudeSerie;
+      final double[] longitudeSerie = tourData.longitudeSerie;
+
+      if (latitudeSerie == null || longitudeSerie == null || latitudeSerie.length == 0) {
+         return allTileKeys;
+      }
+
+      final int tileSize = mp.getTileSize();
+
+      Point[] allWorldPixelPos = tourData.getWorldPositionForTour(projectionHash, zoomLevel);
+
+      if (allWorldPixelPos == null) {
+         allWorldPixelPos = createWorldPixels(tourData, mp, zoomLevel, latitudeSerie, longitudeSerie, projectionHash);
+      }
+
+      // a line can cross tiles which do not contain a geo position
+      Point prevWorldPixelPos = allWorldPixelPos[0];
+
+      for (final Point worldPixelPos : allWorldPixelPos) {
+
+         addLineTileKeys(allTileKeys, prevWorldPixelPos, worldPixelPos, tileSize);
+
+         prevWorldPixelPos = worldPixelPos;
+      }
+
+      for (final Point markerPos : new Point[] { allWorldPixelPos[0], allWorldPixelPos[allWorldPixelPos.length - 1] }) {
+
+         final int markerTileX = markerPos.x / tileSize;
+         final int markerTileY = markerPos.y / tileSize;
+
+         for (int tileX = markerTileX - 1; tileX <= markerTileX + 1; tileX++) {
+            for (int tileY = markerTileY - 1; tileY <= markerTileY + 1; tileY++) {
+               allTileKeys.add(createTileKey(tileX, tileY));
+            }
+         }
+      }
+
+      return allTileKeys;
+   }
+
+   /**
+    * World pixels are not yet cached, create them now
+    *
+    * @param tourData
+    * @param mp
+    * @param mapZoomLevel
+    * @param latitudeSerie
+    * @param longitudeSerie
+    * @param projectionHash
+    *
+    * @return
+    */
+   static Point[] createWorldPixels(final TourData tourData,
+                                    final MP mp,
+                                    final int mapZoomLevel,
+                                    final double[] latitudeSerie,
+                                    final double[] longitudeSerie,
+                                    final int projectionHash) {
+
+      final int numSlices = latitudeSerie.length;
+
+      final Point[] allTour_WorldPixelPos = new Point[numSlices];
+
+      for (int serieIndex = 0; serieIndex < numSlices; serieIndex++) {
+
+         // convert lat/long into world pixels which depends on the map projection
+
+         final GeoPosition geoPosition = new GeoPosition(latitudeSerie[serieIndex], longitudeSerie[serieIndex]);
+
+         allTour_WorldPixelPos[serieIndex] = mp.geoToPixel(geoPosition, mapZoomLevel);
+      }
+
+      tourData.setWorldPixelForTour(allTour_WorldPixelPos, mapZoomLevel, projectionHash);
+
+      return allTour_WorldPixelPos;
+   }
+
+   /**
+    * @return Returns all tours of this index, the tour indices are indices into this list
+    */
+   List<TourData> getTourData() {
+      return _allTourData;
+   }
+
+   /**
+    * @param tile
+    *
+    * @return Returns the indices of the tours which are painted into the tile in ascending order
+    */
+   public int[] getTourIndices(final Tile tile) {
+
+      final int[] allTourIndices = _allTileTours.get(createTileKey(tile.getX(), tile.getY()));
+
+      return allTourIndices == null ? NO_TOURS : allTourIndices;
+   }
+
+   /**
+    * @param fromPos
+    * @param toPos
+    * @param tile
+    * @param tileSize
+    *
+    * @return Returns <code>true</code> when the line between 2 world positions is crossing the tile
+    */
+   static boolean isLineInTile(final Point fromPos, final Point toPos, final Tile tile, final int tileSize) {
+
+      final int tileWorldPixelX = tile.getX() * tileSize;
+      final int tileWorldPixelY = tile.getY() * tileSize;
+
+      // fast check with the line bounds
+      if (Math.max(fromPos.x, toPos.x) < tileWorldPixelX
+            || Math.max(fromPos.y, toPos.y) < tileWorldPixelY
+            || Math.min(fromPos.x, toPos.x) >= tileWorldPixelX + tileSize
+            || Math.min(fromPos.y, toPos.y) >= tileWorldPixelY + tileSize) {
+
+         return false;
+      }
+
+      final LongHashSet allTileKeys = new LongHashSet();
+
+      addLineTileKeys(allTileKeys, fromPos, toPos, tileSize);
+
+      return allTileKeys.contains(createTileKey(tile.getX(), tile.getY()));
+   }
+}
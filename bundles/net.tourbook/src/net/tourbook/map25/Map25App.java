@@ -1402,8 +1402,9 @@ public class Map25App extends GdxMap implements OnItemGestureListener, ItemizedL
             _lastRenderTime = renderTime;
 
             final Cache httpCache = OkHttpEngineMT.getHttpCache();
+            final Map25TileCache tileCache = OkHttpEngineMT.getTileCache();
 
-            vtmDebugView.updateUI(mMap, httpCache);
+            vtmDebugView.updateUI(mMap, httpCache, tileCache);
          }
       }
 
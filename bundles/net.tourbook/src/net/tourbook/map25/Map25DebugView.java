@@ -58,6 +58,9 @@ public class Map25DebugView extends ViewPart {
 	private Label				_lblRequestedTiles;
 	private Label				_lblNetworkRequests;
 	private Label				_lblCacheSize;
+	private Label				_lblTileCacheHits;
+	private Label				_lblTileCacheMisses;
+	private Label				_lblTileCacheSize;
 
 	private void addPartListener() {
 
@@ -177,6 +180,45 @@ public class Map25DebugView extends ViewPart {
 				GridDataFactory.fillDefaults().grab(true, false).applyTo(_lblCacheSize);
 				_lblCacheSize.setText(UI.EMPTY_STRING);
 			}
+			{
+				/*
+				 * Tile Cache Hits
+				 */
+
+				final Label label = new Label(container, SWT.NONE);
+				GridDataFactory.fillDefaults().applyTo(label);
+				label.setText("Tile Cache Hits"); //$NON-NLS-1$
+
+				_lblTileCacheHits = new Label(container, SWT.NONE);
+				GridDataFactory.fillDefaults().grab(true, false).applyTo(_lblTileCacheHits);
+				_lblTileCacheHits.setText(UI.EMPTY_STRING);
+			}
+			{
+				/*
+				 * Tile Cache Misses
+				 */
+
+				final Label label = new Label(container, SWT.NONE);
+				GridDataFactory.fillDefaults().applyTo(label);
+				label.setText("Tile Cache Misses"); //$NON-NLS-1$
+
+				_lblTileCacheMisses = new Label(container, SWT.NONE);
+				GridDataFactory.fillDefaults().grab(true, false).applyTo(_lblTileCacheMisses);
+				_lblTileCacheMisses.setText(UI.EMPTY_STRING);
+			}
+			{
+				/*
+				 * Tile Cache Size
+				 */
+
+				final Label label = new Label(container, SWT.NONE);
+				GridDataFactory.fillDefaults().applyTo(label);
+				label.setText("Tile Cache Size"); //$NON-NLS-1$
+
+				_lblTileCacheSize = new Label(container, SWT.NONE);
+				GridDataFactory.fillDefaults().grab(true, false).applyTo(_lblTileCacheSize);
+				_lblTileCacheSize.setText(UI.EMPTY_STRING);
+			}
 		}
 	}
 
@@ -191,7 +233,7 @@ public class Map25DebugView extends ViewPart {
 	@Override
 	public void setFocus() {}
 
-	void updateUI(final Map map, final Cache httpCache) {
+	void updateUI(final Map map, final Cache httpCache, final Map25TileCache tileCache) {
 
 //		System.out.println((UI.timeStampNano() + " [" + getClass().getSimpleName() + "] ") + ("\tupdateUI"));
 //		// TODO remove SYSTEM.OUT.PRINTLN
@@ -209,6 +251,14 @@ public class Map25DebugView extends ViewPart {
 					_lblCacheSize.setText(_nf2.format(//
 							(float) httpCache.size() / 1024 / 1024) + Messages.prefPage_cache_MByte);
 
+					if (tileCache != null) {
+
+						_lblTileCacheHits.setText(Long.toString(tileCache.getNumHits()));
+						_lblTileCacheMisses.setText(Long.toString(tileCache.getNumMisses()));
+						_lblTileCacheSize.setText(_nf2.format(//
+								(float) tileCache.getDataSize() / 1024 / 1024) + Messages.prefPage_cache_MByte);
+					}
+
 				} catch (final IOException e) {
 					StatusUtil.log(e);
 				}
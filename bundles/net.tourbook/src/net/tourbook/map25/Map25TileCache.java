@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.map25;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memory cache for the tile data which are loaded from a map provider, the tile data are decoded
+ * by the tile source without parsing any http response.
+ * <p>
+ * The tiles are keyed by the map provider and the tile position, the least recently used tiles
+ * are removed when the cached data are larger than the max data size.
+ */
+public class Map25TileCache {
+
+   private static final char                   KEY_SEPARATOR = '/';
+
+   /**
+    * Tile data in access order, the first entry is the least recently used tile
+    */
+   private final LinkedHashMap<String, byte[]> _allTiles     = new LinkedHashMap<>(1024, 0.75f, true);
+
+   private long                                _maxDataSize;
+   private long                                _dataSize;
+
+   private final AtomicLong                    _numHits      = new AtomicLong();
+   private final AtomicLong                    _numMisses    = new AtomicLong();
+   private final AtomicLong                    _numEvictions = new AtomicLong();
+
+   /**
+    * @param maxDataSize
+    *           Max size in bytes of all cached tiles
+    */
+   public Map25TileCache(final long maxDataSize) {
+
+      _maxDataSize = maxDataSize;
+   }
+
+   /**
+    * @param providerKey
+    *           Identifies the map provider
+    * @param zoom
+    * @param tileX
+    * @param tileY
+    *
+    * @return Returns the key of a tile in this cache
+    */
+   public static String getTileKey(final String providerKey, final int zoom, final int tileX, final int tileY) {
+
+      return new StringBuilder(providerKey.length() + 24)
+            .append(providerKey)
+            .append(KEY_SEPARATOR).append(zoom)
+            .append(KEY_SEPARATOR).append(tileX)
+            .append(KEY_SEPARATOR).append(tileY)
+            .toString();
+   }
+
+   public synchronized void clear() {
+
+      _allTiles.clear();
+      _dataSize = 0;
+   }
+
+   /**
+    * Remove least recently used tiles until the cached data fit into the max data size
+    */
+   private void evictWhenNeeded() {
+
+      final Iterator<Entry<String, byte[]>> tileIterator = _allTiles.entrySet().iterator();
+
+      while (_dataSize > _maxDataSize && tileIterator.hasNext()) {
+
+         _dataSize -= tileIterator.next().getValue().length;
+         tileIterator.remove();
+
+         _numEvictions.incrementAndGet();
+      }
+   }
+
+   /**
+    * @param tileKey
+    *
+    * @return Returns the tile data or <code>null</code> when the tile is not cached
+    */
+   public byte[] get(final String tileKey) {
+
+      final byte[] tileData;
+
+      synchronized (this) {
+         tileData = _allTiles.get(tileKey);
+      }
+
+      if (tileData == null) {
+         _numMisses.incrementAndGet();
+      } else {
+         _numHits.incrementAndGet();
+      }
+
+      return tileData;
+   }
+
+   public synchronized long getDataSize() {
+      return _dataSize;
+   }
+
+   public synchronized long getMaxDataSize() {
+      return _maxDataSize;
+   }
+
+   public long getNumEvictions() {
+      return _numEvictions.get();
+   }
+
+   public long getNumHits() {
+      return _numHits.get();
+   }
+
+   public long getNumMisses() {
+      return _numMisses.get();
+   }
+
+   public synchronized int getSize() {
+      return _allTiles.size();
+   }
+
+   /**
+    * @param tileKey
+    * @param tileData
+    *           Tile data, they must not be modified after they are cached
+    */
+   public synchronized void put(final String tileKey, final byte[] tileData) {
+
+      if (tileData.length > _maxDataSize) {
+
+         // the tile would remove all other tiles
+         return;
+      }
+
+      final byte[] prevTileData = _allTiles.put(tileKey, tileData);
+
+      if (prevTileData != null) {
+         _dataSize -= prevTileData.length;
+      }
+
+      _dataSize += tileData.length;
+
+      evictWhenNeeded();
+   }
+
+   public synchronized void setMaxDataSize(final long maxDataSize) {
+
+      _maxDataSize = maxDataSize;
+
+      evictWhenNeeded();
+   }
+}
@@ -15,11 +15,14 @@
  *******************************************************************************/
 package net.tourbook.map25;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.concurrent.TimeUnit;
 
 import net.tourbook.application.TourbookPlugin;
+import net.tourbook.common.UI;
 import net.tourbook.common.util.StatusUtil;
 import net.tourbook.map25.HttpLoggingInterceptorMT.Level;
 import net.tourbook.preferences.ITourbookPreferences;
@@ -28,6 +31,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.jface.preference.IPreferenceStore;
+import org.oscim.core.Tile;
 import org.oscim.tiling.source.HttpEngine;
 import org.oscim.tiling.source.OkHttpEngine;
 import org.oscim.tiling.source.UrlTileSource;
@@ -47,11 +51,28 @@ public class OkHttpEngineMT extends OkHttpEngine {
 
    private static OkHttpClient                   _httpClient;
    private static Cache                          _httpCache;
+   private static Map25TileCache                 _tileCache;
 
    private static final HttpLoggingInterceptorMT LOGGING_INTERCEPTOR;
    private static final Interceptor              REWRITE_CACHE_CONTROL_INTERCEPTOR;
 
    public static boolean                         _isLogHttp = true;
+
+   private final UrlTileSource                   _tileSource;
+
+   private String                                _tileKey;
+
+   /**
+    * Tile data from the tile cache, is <code>null</code> when the tile is loaded from the map
+    * provider
+    */
+   private byte[]                                _cachedTileData;
+
+   /**
+    * Tile data which are loaded from the map provider, they are cached when they could be decoded
+    */
+   private byte[]                                _loadedTileData;
+
    static {
 
       LOGGING_INTERCEPTOR = new HttpLoggingInterceptorMT().setLevel(Level.BODY);
@@ -79,7 +100,11 @@ public class OkHttpEngineMT extends OkHttpEngine {
        */
       public OkHttpFactoryMT() {
 
-         _httpCache = new Cache(new File(getCacheDir()), Long.MAX_VALUE);
+         final long httpCacheSize = _prefStore.getInt(ITourbookPreferences.MAP25_OFFLINE_MAP_CACHE_SIZE) * 1024L * 1024L;
+         final long tileCacheSize = _prefStore.getInt(ITourbookPreferences.MAP25_TILE_CACHE_SIZE) * 1024L * 1024L;
+
+         _httpCache = new Cache(new File(getCacheDir()), httpCacheSize);
+         _tileCache = new Map25TileCache(tileCacheSize);
 
          final OkHttpClient.Builder httpBuilder = new OkHttpClient.Builder();
 
@@ -113,7 +138,10 @@ public class OkHttpEngineMT extends OkHttpEngine {
    }
 
    public OkHttpEngineMT(final OkHttpClient client, final UrlTileSource tileSource) {
+
       super(client, tileSource);
+
+      _tileSource = tileSource;
    }
 
    /**
@@ -145,4 +173,80 @@ public class OkHttpEngineMT extends OkHttpEngine {
    static Cache getHttpCache() {
       return _httpCache;
    }
+
+   /**
+    * @param tileSource
+    *
+    * @return Returns a key which identifies the map provider of the tile source
+    */
+   private static String getProviderKey(final UrlTileSource tileSource) {
+
+      return tileSource.getUrl().toString() + String.join(UI.EMPTY_STRING, tileSource.getTilePath());
+   }
+
+   static Map25TileCache getTileCache() {
+      return _tileCache;
+   }
+
+   /**
+    * Set the max size of the tile cache from the pref store, the size of the http cache can be
+    * set only when the app is started.
+    */
+   public static void updateTileCacheSize() {
+
+      if (_tileCache != null) {
+         _tileCache.setMaxDataSize(_prefStore.getInt(ITourbookPreferences.MAP25_TILE_CACHE_SIZE) * 1024L * 1024L);
+      }
+   }
+
+   @Override
+   public InputStream read() throws IOException {
+
+      if (_cachedTileData != null) {
+         return new ByteArrayInputStream(_cachedTileData);
+      }
+
+      final InputStream inputStream = super.read();
+      if (inputStream == null) {
+
+         // loading the tile failed
+         return null;
+      }
+
+      // keep the tile data that they can be cached when they are decoded successfully
+      _loadedTileData = inputStream.readAllBytes();
+
+      return new ByteArrayInputStream(_loadedTileData);
+   }
+
+   @Override
+   public boolean requestCompleted(final boolean success) {
+
+      if (success && _loadedTileData != null && _tileCache != null) {
+         _tileCache.put(_tileKey, _loadedTileData);
+      }
+
+      _tileKey = null;
+      _cachedTileData = null;
+      _loadedTileData = null;
+
+      return super.requestCompleted(success);
+   }
+
+   @Override
+   public void sendRequest(final Tile tile) throws IOException {
+
+      _loadedTileData = null;
+      _cachedTileData = null;
+
+      if (_tileCache != null) {
+
+         _tileKey = Map25TileCache.getTileKey(getProviderKey(_tileSource), tile.zoomLevel, tile.tileX, tile.tileY);
+         _cachedTileData = _tileCache.get(_tileKey);
+      }
+
+      if (_cachedTileData == null) {
+         super.sendRequest(tile);
+      }
+   }
 }
@@ -35,7 +35,8 @@ public interface ITourbookPreferences {
    /*
     * System
     */
-   public static final String TOUR_CACHE_SIZE = "TourCacheSize"; //$NON-NLS-1$
+   public static final String TOUR_CACHE_SIZE    = "TourCacheSize";    //$NON-NLS-1$
+   public static final String TOUR_CACHE_SIZE_MB = "TourCacheSize_MB"; //$NON-NLS-1$
 
    /*
     * Tour database
@@ -600,8 +601,10 @@ public interface ITourbookPreferences {
    /*
     * Map 2.5D
     */
+   public static final String MAP25_OFFLINE_MAP_CACHE_SIZE          = "MAP25_OFFLINE_MAP_CACHE_SIZE";          //$NON-NLS-1$
    public static final String MAP25_OFFLINE_MAP_CUSTOM_LOCATION     = "MAP25_OFFLINE_MAP_CUSTOM_LOCATION";     //$NON-NLS-1$
    public static final String MAP25_OFFLINE_MAP_IS_DEFAULT_LOCATION = "MAP25_OFFLINE_MAP_IS_DEFAULT_LOCATION"; //$NON-NLS-1$
+   public static final String MAP25_TILE_CACHE_SIZE                 = "MAP25_TILE_CACHE_SIZE";                 //$NON-NLS-1$
 
    /*
     * Pref page: Map3 color
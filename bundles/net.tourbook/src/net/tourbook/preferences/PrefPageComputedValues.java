@@ -19,6 +19,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.tourbook.Messages;
 import net.tourbook.OtherMessages;
@@ -939,7 +940,8 @@ public class PrefPageComputedValues extends PreferencePage implements IWorkbench
 
       saveState();
 
-      final int[] oldBreakTime = { 0 };
+      // old values are summarized concurrently
+      final AtomicInteger oldBreakTime = new AtomicInteger();
       final int[] newBreakTime = { 0 };
 
       final IComputeTourValues computeTourValueConfig = new IComputeTourValues() {
@@ -951,7 +953,7 @@ public class PrefPageComputedValues extends PreferencePage implements IWorkbench
 
             // get old break time
             final int tourMovingTime = (int) oldTourData.getTourComputedTime_Moving();
-            oldBreakTime[0] += tourElapsedTime - tourMovingTime;
+            oldBreakTime.addAndGet(tourElapsedTime - tourMovingTime);
 
             // force the break time to be recomputed with the current values which are already store in the pref store
             oldTourData.setBreakTimeSerie(null);
@@ -968,7 +970,7 @@ public class PrefPageComputedValues extends PreferencePage implements IWorkbench
             return NLS.bind(
                   Messages.Compute_BreakTime_ForAllTour_Job_Result,
                   new Object[] {
-                        UI.format_hh_mm_ss(oldBreakTime[0]),
+                        UI.format_hh_mm_ss(oldBreakTime.get()),
                         UI.format_hh_mm_ss(newBreakTime[0]), });
          }
 
@@ -989,7 +991,7 @@ public class PrefPageComputedValues extends PreferencePage implements IWorkbench
                subTaskText = NLS.bind(
                      Messages.Compute_BreakTime_ForAllTour_Job_SubTask,
                      new Object[] {
-                           UI.format_hh_mm_ss(oldBreakTime[0]),
+                           UI.format_hh_mm_ss(oldBreakTime.get()),
                            UI.format_hh_mm_ss(newBreakTime[0]), });
             }
 
@@ -1091,7 +1093,9 @@ public class PrefPageComputedValues extends PreferencePage implements IWorkbench
 
       saveState();
 
-      final int[] elevation = new int[] { 0, 0 };
+      // old values are summarized concurrently
+      final AtomicInteger oldElevation = new AtomicInteger();
+      final int[] newElevation = { 0 };
 
       final IComputeTourValues computeTourValueConfig = new IComputeTourValues() {
 
@@ -1099,7 +1103,7 @@ public class PrefPageComputedValues extends PreferencePage implements IWorkbench
          public boolean computeTourValues(final TourData oldTourData) {
 
             // keep old value
-            elevation[0] += oldTourData.getTourAltUp();
+            oldElevation.addAndGet(oldTourData.getTourAltUp());
 
             return oldTourData.computeAltitudeUpDown();
          }
@@ -1118,7 +1122,7 @@ public class PrefPageComputedValues extends PreferencePage implements IWorkbench
          @Override
          public String getResultText() {
 
-            final int elevationDifference = elevation[1] - elevation[0];
+            final int elevationDifference = newElevation[0] - oldElevation.get();
             final String differenceResult = getElevationDifferenceString(elevationDifference);
 
             return NLS.bind(
@@ -1138,9 +1142,9 @@ public class PrefPageComputedValues extends PreferencePage implements IWorkbench
             if (savedTourData != null) {
 
                // summarize new values
-               elevation[1] += savedTourData.getTourAltUp();
+               newElevation[0] += savedTourData.getTourAltUp();
 
-               final int elevationDifference = elevation[1] - elevation[0];
+               final int elevationDifference = newElevation[0] - oldElevation.get();
                final String differenceResult = getElevationDifferenceString(elevationDifference);
 
                subTaskText = NLS.bind(
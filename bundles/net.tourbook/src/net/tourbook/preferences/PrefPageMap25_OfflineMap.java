@@ -17,8 +17,10 @@ package net.tourbook.preferences;
 
 import net.tourbook.Messages;
 import net.tourbook.application.TourbookPlugin;
+import net.tourbook.common.UI;
 import net.tourbook.common.util.Util;
 import net.tourbook.map25.Map25ProviderManager;
+import net.tourbook.map25.OkHttpEngineMT;
 
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.jface.dialogs.MessageDialog;
@@ -28,6 +30,7 @@ import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.DirectoryFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
 import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.swt.SWT;
@@ -59,6 +62,8 @@ public class PrefPageMap25_OfflineMap extends FieldEditorPreferencePage implemen
    private Composite            _editorContainerLocation;
    private BooleanFieldEditor   _editorBool_UseDefaultLocation;
    private DirectoryFieldEditor _editorDir_ThumbnailLocation;
+   private IntegerFieldEditor   _editorInt_HttpCacheSize;
+   private IntegerFieldEditor   _editorInt_TileCacheSize;
 
    @Override
    protected void createFieldEditors() {
@@ -78,6 +83,7 @@ public class PrefPageMap25_OfflineMap extends FieldEditorPreferencePage implemen
       GridLayoutFactory.fillDefaults().applyTo(container);
       {
          createUI_10_OfflineFolder(container);
+         createUI_20_CacheSize(container);
       }
    }
 
@@ -136,6 +142,43 @@ public class PrefPageMap25_OfflineMap extends FieldEditorPreferencePage implemen
       GridLayoutFactory.swtDefaults().numColumns(3).applyTo(group);
    }
 
+   private void createUI_20_CacheSize(final Composite parent) {
+
+      final Group group = new Group(parent, SWT.NONE);
+      group.setText(Messages.Pref_Map25_Offline_Group_Cache);
+      GridDataFactory.fillDefaults().grab(true, false).applyTo(group);
+      {
+         /*
+          * editor: size of the offline cache, it contains the http responses
+          */
+         _editorInt_HttpCacheSize = new IntegerFieldEditor(
+               ITourbookPreferences.MAP25_OFFLINE_MAP_CACHE_SIZE,
+               Messages.Pref_Map25_Offline_Label_CacheSize,
+               group);
+         _editorInt_HttpCacheSize.setValidRange(100, 1_000_000);
+         _editorInt_HttpCacheSize.setPage(this);
+         _editorInt_HttpCacheSize.setPreferenceStore(_prefStore);
+         UI.setFieldWidth(group, _editorInt_HttpCacheSize, UI.DEFAULT_FIELD_WIDTH);
+         addField(_editorInt_HttpCacheSize);
+
+         /*
+          * editor: size of the memory cache, it contains the tile data
+          */
+         _editorInt_TileCacheSize = new IntegerFieldEditor(
+               ITourbookPreferences.MAP25_TILE_CACHE_SIZE,
+               Messages.Pref_Map25_Offline_Label_TileCacheSize,
+               group);
+         _editorInt_TileCacheSize.setValidRange(0, 10_000);
+         _editorInt_TileCacheSize.setPage(this);
+         _editorInt_TileCacheSize.setPreferenceStore(_prefStore);
+         UI.setFieldWidth(group, _editorInt_TileCacheSize, UI.DEFAULT_FIELD_WIDTH);
+         addField(_editorInt_TileCacheSize);
+      }
+
+      // !!! set layout after the editor was created because the editor sets the parents layout
+      GridLayoutFactory.swtDefaults().numColumns(2).applyTo(group);
+   }
+
    private void enableControls() {
 
       /*
@@ -245,9 +288,17 @@ public class PrefPageMap25_OfflineMap extends FieldEditorPreferencePage implemen
          return false;
       }
 
+      final int prevHttpCacheSize = _prefStore.getInt(ITourbookPreferences.MAP25_OFFLINE_MAP_CACHE_SIZE);
+
       // set pref store values
       final boolean isOk = super.performOk();
 
+      if (prevHttpCacheSize != _prefStore.getInt(ITourbookPreferences.MAP25_OFFLINE_MAP_CACHE_SIZE)) {
+
+         // the http cache is created when the app is started
+         _isModified = true;
+      }
+
       saveState();
 
       if (_isModified) {
@@ -277,6 +328,8 @@ public class PrefPageMap25_OfflineMap extends FieldEditorPreferencePage implemen
    private void saveState() {
 
       Map25ProviderManager.updateOfflineLocation();
+
+      OkHttpEngineMT.updateTileCacheSize();
    }
 
 }
@@ -62,6 +62,7 @@ public class PrefPageTour extends PreferencePage implements IWorkbenchPreference
     * UI controls
     */
    private Spinner _spinnerTourCacheSize;
+   private Spinner _spinnerTourCacheSize_MB;
 
    private Button  _rdoDbSystemEmbedded;
    private Button  _rdoDbSystemServer;
@@ -155,6 +156,26 @@ public class PrefPageTour extends PreferencePage implements IWorkbenchPreference
                .hint(_defaultSpinnerWidth, SWT.DEFAULT)
                .align(SWT.BEGINNING, SWT.CENTER)
                .applyTo(_spinnerTourCacheSize);
+
+         /*
+          * label: cache memory
+          */
+         label = new Label(group, NONE);
+         label.setText(Messages.Pref_Tour_Label_TourCacheSize_MB);
+         GridDataFactory.fillDefaults()
+               .align(SWT.BEGINNING, SWT.CENTER)
+               .applyTo(label);
+
+         // spinner: cache memory
+         _spinnerTourCacheSize_MB = new Spinner(group, SWT.BORDER);
+         _spinnerTourCacheSize_MB.setMinimum(16);
+         _spinnerTourCacheSize_MB.setMaximum(100_000);
+         _spinnerTourCacheSize_MB.setIncrement(16);
+         _spinnerTourCacheSize_MB.addMouseWheelListener(_defaultMouseWheelListener);
+         GridDataFactory.fillDefaults()
+               .hint(_defaultSpinnerWidth, SWT.DEFAULT)
+               .align(SWT.BEGINNING, SWT.CENTER)
+               .applyTo(_spinnerTourCacheSize_MB);
       }
    }
 
@@ -259,6 +280,7 @@ public class PrefPageTour extends PreferencePage implements IWorkbenchPreference
    protected void performDefaults() {
 
       _spinnerTourCacheSize.setSelection(_prefStore.getDefaultInt(ITourbookPreferences.TOUR_CACHE_SIZE));
+      _spinnerTourCacheSize_MB.setSelection(_prefStore.getDefaultInt(ITourbookPreferences.TOUR_CACHE_SIZE_MB));
 
       final boolean isEmbedded = _prefStore.getDefaultBoolean(ITourbookPreferences.TOUR_DATABASE_IS_DERBY_EMBEDDED);
       _rdoDbSystemEmbedded.setSelection(isEmbedded);
@@ -271,6 +293,7 @@ public class PrefPageTour extends PreferencePage implements IWorkbenchPreference
    public boolean performOk() {
 
       final int oldCacheSize = _prefStore.getInt(ITourbookPreferences.TOUR_CACHE_SIZE);
+      final int oldCacheSize_MB = _prefStore.getInt(ITourbookPreferences.TOUR_CACHE_SIZE_MB);
       final boolean oldIsEmbedded = _prefStore.getBoolean(ITourbookPreferences.TOUR_DATABASE_IS_DERBY_EMBEDDED);
 
       saveState();
@@ -278,9 +301,10 @@ public class PrefPageTour extends PreferencePage implements IWorkbenchPreference
       boolean isRestart = false;
 
       final int newCacheSize = _prefStore.getInt(ITourbookPreferences.TOUR_CACHE_SIZE);
+      final int newCacheSize_MB = _prefStore.getInt(ITourbookPreferences.TOUR_CACHE_SIZE_MB);
       final boolean newIsEmbedded = _prefStore.getBoolean(ITourbookPreferences.TOUR_DATABASE_IS_DERBY_EMBEDDED);
 
-      if (newCacheSize != oldCacheSize) {
+      if (newCacheSize != oldCacheSize || newCacheSize_MB != oldCacheSize_MB) {
 
          // tour cache size is modified
 
@@ -315,6 +339,7 @@ public class PrefPageTour extends PreferencePage implements IWorkbenchPreference
    private void restoreState() {
 
       _spinnerTourCacheSize.setSelection(_prefStore.getInt(ITourbookPreferences.TOUR_CACHE_SIZE));
+      _spinnerTourCacheSize_MB.setSelection(_prefStore.getInt(ITourbookPreferences.TOUR_CACHE_SIZE_MB));
 
       // tour db system
       final boolean isEmbedded = _prefStore.getBoolean(ITourbookPreferences.TOUR_DATABASE_IS_DERBY_EMBEDDED);
@@ -326,6 +351,7 @@ public class PrefPageTour extends PreferencePage implements IWorkbenchPreference
    private void saveState() {
 
       _prefStore.setValue(ITourbookPreferences.TOUR_CACHE_SIZE, _spinnerTourCacheSize.getSelection());
+      _prefStore.setValue(ITourbookPreferences.TOUR_CACHE_SIZE_MB, _spinnerTourCacheSize_MB.getSelection());
       _prefStore.setValue(ITourbookPreferences.TOUR_DATABASE_IS_DERBY_EMBEDDED, _rdoDbSystemEmbedded.getSelection());
    }
 }
@@ -57,6 +57,7 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
        * system
        */
       store.setDefault(ITourbookPreferences.TOUR_CACHE_SIZE, 500);
+      store.setDefault(ITourbookPreferences.TOUR_CACHE_SIZE_MB, 512);
 
       /*
        * tour database, default is embedded
@@ -544,6 +545,8 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
        * Map 2.5D
        */
       store.setDefault(ITourbookPreferences.MAP25_OFFLINE_MAP_IS_DEFAULT_LOCATION, true);
+      store.setDefault(ITourbookPreferences.MAP25_OFFLINE_MAP_CACHE_SIZE, 2048); // MByte
+      store.setDefault(ITourbookPreferences.MAP25_TILE_CACHE_SIZE, 128); // MByte
 
       /*
        * Pref page: Map3 color
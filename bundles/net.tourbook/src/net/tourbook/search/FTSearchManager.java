@@ -40,9 +40,6 @@ import net.tourbook.common.UI;
 import net.tourbook.common.util.CSS;
 import net.tourbook.common.util.StatusUtil;
 import net.tourbook.common.util.Util;
-import net.tourbook.data.TourData;
-import net.tourbook.data.TourMarker;
-import net.tourbook.data.TourWayPoint;
 import net.tourbook.database.TourDatabase;
 import net.tourbook.preferences.ITourbookPreferences;
 import net.tourbook.tour.TourEventId;
@@ -60,7 +57,6 @@ import org.apache.lucene.document.FieldType;
 import org.apache.lucene.document.IntPoint;
 import org.apache.lucene.document.LongPoint;
 import org.apache.lucene.document.TextField;
-import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.DocValuesType;
 import org.apache.lucene.index.IndexFormatTooOldException;
 import org.apache.lucene.index.IndexOptions;
@@ -79,6 +75,7 @@ import org.apache.lucene.search.BooleanQuery.Builder;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.Sort;
 import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.SortField.Type;
@@ -133,11 +130,31 @@ public class FTSearchManager {
 
    private static Lookup                        _suggester;
 
+   /**
+    * The shared index reader is replaced when the index was modified, a search must acquire it with
+    * {@link #acquireIndexReader()} that it is not closed while it is used.
+    */
    private static IndexReader                   _indexReader;
-   private static IndexSearcher                 _indexSearcher;
+   private static IndexReader[]                 _allIndexReaderParts;
    private static FSDirectory                   _infixStore;
 
-   private static TopDocs                       _topDocs;
+   /**
+    * The index stores and writers are kept open, tours are updated in the index without reopening
+    * the stores. The searchers are near-real-time searchers from these writers.
+    */
+   private static FSDirectory                   _indexStore_TourData;
+   private static FSDirectory                   _indexStore_Marker;
+   private static FSDirectory                   _indexStore_WayPoint;
+
+   private static IndexWriter                   _indexWriter_TourData;
+   private static IndexWriter                   _indexWriter_Marker;
+   private static IndexWriter                   _indexWriter_WayPoint;
+
+   private static SearcherManager               _searcherManager_TourData;
+   private static SearcherManager               _searcherManager_Marker;
+   private static SearcherManager               _searcherManager_WayPoint;
+
+   private static final Object                  INDEX_LOCK                       = new Object();
 
    private static final DefaultPassageFormatter _highlightFormatter;
 
@@ -333,41 +350,125 @@ public class FTSearchManager {
       public String[] allQueryFields;
    }
 
-   public static void closeIndexReaderSuggester() {
+   /**
+    * Setup the index reader for all stores, the reader is reopened when the index was modified.
+    * <p>
+    * The acquired reader must be released with {@link #releaseIndexReader(IndexReader)}, it is
+    * closed when it is replaced and released by all searches.
+    *
+    * @return Returns the acquired index reader or <code>null</code> when it is not available
+    */
+   private static IndexReader acquireIndexReader() {
+
+      if (openIndexWriters() == false) {
+         return null;
+      }
+
+      setupIndex();
+
+      synchronized (INDEX_LOCK) {
+
+         // the index writers could be closed in the meantime
+         if (_searcherManager_TourData == null) {
+            return null;
+         }
+
+         IndexSearcher searcher_TourData = null;
+         IndexSearcher searcher_Marker = null;
+         IndexSearcher searcher_WayPoint = null;
 
-      if (_suggester instanceof AnalyzingInfixSuggester) {
          try {
-            final AnalyzingInfixSuggester suggester = (AnalyzingInfixSuggester) _suggester;
-            suggester.close();
-         } catch (final IOException e) {
+
+            // this is cheap when nothing has changed
+            _searcherManager_TourData.maybeRefresh();
+            _searcherManager_Marker.maybeRefresh();
+            _searcherManager_WayPoint.maybeRefresh();
+
+            searcher_TourData = _searcherManager_TourData.acquire();
+            searcher_Marker = _searcherManager_Marker.acquire();
+            searcher_WayPoint = _searcherManager_WayPoint.acquire();
+
+            final IndexReader[] allReaderParts = {
+
+                  searcher_TourData.getIndexReader(),
+                  searcher_Marker.getIndexReader(),
+                  searcher_WayPoint.getIndexReader()
+            };
+
+            if (_indexReader == null || Arrays.equals(allReaderParts, _allIndexReaderParts) == false) {
+
+               closeIndexReader();
+
+               // the multi reader increments the references of the reader parts
+               _indexReader = new MultiReader(allReaderParts, false);
+               _allIndexReaderParts = allReaderParts;
+            }
+
+            // the reader is kept open until it is released, also when it is closed by another thread
+            _indexReader.incRef();
+
+            return _indexReader;
+
+         } catch (final Exception e) {
+
             StatusUtil.showStatus(e);
+
+         } finally {
+
+            releaseSearcher(_searcherManager_TourData, searcher_TourData);
+            releaseSearcher(_searcherManager_Marker, searcher_Marker);
+            releaseSearcher(_searcherManager_WayPoint, searcher_WayPoint);
          }
+
+         return null;
       }
-      _suggester = null;
+   }
+
+   private static void closeIndexReader() {
 
       if (_indexReader != null) {
 
          try {
 
+            /*
+             * This decrements the references of the reader parts which are kept open by the
+             * searcher managers, the reader is not closed when it is still acquired by a search
+             */
             _indexReader.close();
-            _indexReader = null;
 
          } catch (final IOException e) {
             StatusUtil.showStatus(e);
          }
+
+         _indexReader = null;
+         _allIndexReaderParts = null;
       }
+   }
 
-      if (_infixStore != null) {
+   /**
+    * Close the index reader, suggester and all index writers and stores
+    */
+   public static void closeIndexReaderSuggester() {
+
+      synchronized (INDEX_LOCK) {
+
+         closeSuggester();
+         closeIndexReader();
+         closeIndexWriters();
+      }
+   }
+
+   private static void closeIndexWriterAndStore(final FSDirectory indexStore,
+                                                final IndexWriter indexWriter,
+                                                final SearcherManager searcherManager) {
+
+      if (searcherManager != null) {
          try {
-            _infixStore.close();
+            searcherManager.close();
          } catch (final IOException e) {
             StatusUtil.showStatus(e);
          }
-         _infixStore = null;
       }
-   }
-
-   private static void closeIndexWriterAndStore(final FSDirectory indexStore, final IndexWriter indexWriter) {
 
       if (indexWriter != null) {
          try {
@@ -386,6 +487,81 @@ public class FTSearchManager {
       }
    }
 
+   private static void closeIndexWriters() {
+
+      closeIndexWriterAndStore(_indexStore_TourData, _indexWriter_TourData, _searcherManager_TourData);
+      closeIndexWriterAndStore(_indexStore_Marker, _indexWriter_Marker, _searcherManager_Marker);
+      closeIndexWriterAndStore(_indexStore_WayPoint, _indexWriter_WayPoint, _searcherManager_WayPoint);
+
+      _indexStore_TourData = null;
+      _indexStore_Marker = null;
+      _indexStore_WayPoint = null;
+
+      _indexWriter_TourData = null;
+      _indexWriter_Marker = null;
+      _indexWriter_WayPoint = null;
+
+      _searcherManager_TourData = null;
+      _searcherManager_Marker = null;
+      _searcherManager_WayPoint = null;
+   }
+
+   /**
+    * The suggester is created from all documents, it is recreated when it is used the next time
+    */
+   private static void closeSuggester() {
+
+      if (_suggester instanceof AnalyzingInfixSuggester) {
+         try {
+            final AnalyzingInfixSuggester suggester = (AnalyzingInfixSuggester) _suggester;
+            suggester.close();
+         } catch (final IOException e) {
+            StatusUtil.showStatus(e);
+         }
+      }
+      _suggester = null;
+
+      if (_infixStore != null) {
+         try {
+            _infixStore.close();
+         } catch (final IOException e) {
+            StatusUtil.showStatus(e);
+         }
+         _infixStore = null;
+      }
+   }
+
+   /**
+    * Commit all index writers, the changes are then also available after an app restart.
+    *
+    * @param monitor
+    *           Can be <code>null</code>
+    */
+   private static void commitIndexWriters(final IProgressMonitor monitor) {
+
+      try {
+
+         if (monitor != null) {
+            monitor.subTask(Messages.Search_Manager_SubTask_ClosingFTIndexStore_Tours);
+         }
+         _indexWriter_TourData.commit();
+
+         if (monitor != null) {
+            monitor.subTask(Messages.Search_Manager_SubTask_ClosingFTIndexStore_Markers);
+         }
+         _indexWriter_Marker.commit();
+
+         if (monitor != null) {
+            monitor.subTask(Messages.Search_Manager_SubTask_ClosingFTIndexStore_Waypoints);
+         }
+         _indexWriter_WayPoint.commit();
+
+      } catch (final IOException e) {
+
+         StatusUtil.showStatus(e);
+      }
+   }
+
    private static IndexableField createField_WithIndexOptions_Int(final String fieldName, final int value) {
 
       return new FieldWithOptions_Int(fieldName, fieldType_Int, value);
@@ -561,22 +737,19 @@ public class FTSearchManager {
    }
 
    private static void createStore_TourData(final Connection conn,
+                                            final IndexWriter indexWriter,
+                                            final List<Long> allTourIDs,
                                             final IProgressMonitor monitor)
          throws SQLException {
 
       final long start = System.currentTimeMillis();
 
-      FSDirectory indexStore = null;
-      IndexWriter indexWriter = null;
       PreparedStatement stmt = null;
 
       final String tableName = TourDatabase.TABLE_TOUR_DATA;
 
       try {
 
-         indexStore = openStore(tableName);
-         indexWriter = getIndexWriter(indexStore);
-
          /*
           * Get sql data
           */
@@ -592,7 +765,8 @@ public class FTSearchManager {
                + " tourEndPlace," //      6  //$NON-NLS-1$
                + " weather" //            7  //$NON-NLS-1$
 
-               + " FROM " + tableName; //    //$NON-NLS-1$
+               + " FROM " + tableName //     //$NON-NLS-1$
+               + createSqlWhere_TourIDs("tourId", allTourIDs); //$NON-NLS-1$
 
          stmt = conn.prepareStatement(sql);
          final ResultSet rs = stmt.executeQuery();
@@ -633,7 +807,7 @@ public class FTSearchManager {
              */
             final long now = System.currentTimeMillis();
 
-            if (now > lastUpdateTime + 200) {
+            if (monitor != null && now > lastUpdateTime + 200) {
                lastUpdateTime = now;
                monitor.subTask(NLS.bind(Messages.Search_Manager_CreateFTIndex, createdDocuments));
             }
@@ -645,30 +819,28 @@ public class FTSearchManager {
 
       } finally {
 
-         closeIndexWriterAndStore(indexStore, indexWriter);
-
          Util.closeSql(stmt);
 
-         logCreateIndex(tableName, start);
+         if (allTourIDs == null) {
+            logCreateIndex(tableName, start);
+         }
       }
    }
 
-   private static void createStore_TourMarker(final Connection conn, final IProgressMonitor monitor)
+   private static void createStore_TourMarker(final Connection conn,
+                                              final IndexWriter indexWriter,
+                                              final List<Long> allTourIDs,
+                                              final IProgressMonitor monitor)
          throws SQLException {
 
       final long start = System.currentTimeMillis();
 
-      FSDirectory indexStore = null;
-      IndexWriter indexWriter = null;
       PreparedStatement stmt = null;
 
       final String tableName = TourDatabase.TABLE_TOUR_MARKER;
 
       try {
 
-         indexStore = openStore(tableName);
-         indexWriter = getIndexWriter(indexStore);
-
          /*
           * Get sql data
           */
@@ -682,7 +854,8 @@ public class FTSearchManager {
                + " description," //                   4  //$NON-NLS-1$
                + " tourTime" //                       5  //$NON-NLS-1$
 
-               + " FROM " + tableName; //                //$NON-NLS-1$
+               + " FROM " + tableName //                 //$NON-NLS-1$
+               + createSqlWhere_TourIDs(TourDatabase.KEY_TOUR, allTourIDs);
 
          stmt = conn.prepareStatement(sql);
          final ResultSet rs = stmt.executeQuery();
@@ -714,7 +887,7 @@ public class FTSearchManager {
              */
             final long now = System.currentTimeMillis();
 
-            if (now > lastUpdateTime + 50) {
+            if (monitor != null && now > lastUpdateTime + 50) {
                lastUpdateTime = now;
                monitor.subTask(NLS.bind(Messages.Search_Manager_CreateFTIndex, createdDocuments));
             }
@@ -724,30 +897,28 @@ public class FTSearchManager {
          StatusUtil.showStatus(e);
       } finally {
 
-         closeIndexWriterAndStore(indexStore, indexWriter);
-
          Util.closeSql(stmt);
 
-         logCreateIndex(tableName, start);
+         if (allTourIDs == null) {
+            logCreateIndex(tableName, start);
+         }
       }
    }
 
-   private static void createStore_TourWaypoint(final Connection conn, final IProgressMonitor monitor)
+   private static void createStore_TourWaypoint(final Connection conn,
+                                                final IndexWriter indexWriter,
+                                                final List<Long> allTourIDs,
+                                                final IProgressMonitor monitor)
          throws SQLException {
 
       final long start = System.currentTimeMillis();
 
       final String tableName = TourDatabase.TABLE_TOUR_WAYPOINT;
 
-      FSDirectory indexStore = null;
-      IndexWriter indexWriter = null;
       PreparedStatement stmt = null;
 
       try {
 
-         indexStore = openStore(tableName);
-         indexWriter = getIndexWriter(indexStore);
-
          /*
           * Get sql data
           */
@@ -761,7 +932,8 @@ public class FTSearchManager {
                + " description," //                               4  //$NON-NLS-1$
                + " time" //                                       5  //$NON-NLS-1$
 
-               + " FROM " + tableName; //                            //$NON-NLS-1$
+               + " FROM " + tableName //                             //$NON-NLS-1$
+               + createSqlWhere_TourIDs(TourDatabase.KEY_TOUR, allTourIDs);
 
          stmt = conn.prepareStatement(sql);
          final ResultSet rs = stmt.executeQuery();
@@ -794,7 +966,7 @@ public class FTSearchManager {
              */
             final long now = System.currentTimeMillis();
 
-            if (now > lastUpdateTime + 200) {
+            if (monitor != null && now > lastUpdateTime + 200) {
                lastUpdateTime = now;
                monitor.subTask(NLS.bind(Messages.Search_Manager_CreateFTIndex, createdDocuments));
             }
@@ -804,12 +976,39 @@ public class FTSearchManager {
          StatusUtil.showStatus(e);
       } finally {
 
-         closeIndexWriterAndStore(indexStore, indexWriter);
-
          Util.closeSql(stmt);
 
-         logCreateIndex(tableName, start);
+         if (allTourIDs == null) {
+            logCreateIndex(tableName, start);
+         }
+      }
+   }
+
+   /**
+    * @param keyTourId
+    * @param allTourIDs
+    *
+    * @return Returns an SQL WHERE clause for the tour id's or an empty string when all tours are
+    *         selected
+    */
+   private static String createSqlWhere_TourIDs(final String keyTourId, final List<Long> allTourIDs) {
+
+      if (allTourIDs == null) {
+         return UI.EMPTY_STRING;
       }
+
+      final StringBuilder sb = new StringBuilder();
+
+      for (final Long tourId : allTourIDs) {
+
+         if (sb.length() > 0) {
+            sb.append(',');
+         }
+
+         sb.append(tourId);
+      }
+
+      return " WHERE " + keyTourId + " IN (" + sb.toString() + ")"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
    }
 
    /**
@@ -903,43 +1102,28 @@ public class FTSearchManager {
 
       final long start = System.currentTimeMillis();
 
-      setupIndexReader();
-
-      FSDirectory indexStore_TourData = null;
-      FSDirectory indexStore_Marker = null;
-      FSDirectory indexStore_WayPoint = null;
-
-      IndexWriter indexWriter_TourData = null;
-      IndexWriter indexWriter_Marker = null;
-      IndexWriter indexWriter_WayPoint = null;
-
-      try {
+      synchronized (INDEX_LOCK) {
 
-         indexStore_TourData = openStore(TourDatabase.TABLE_TOUR_DATA);
-         indexStore_Marker = openStore(TourDatabase.TABLE_TOUR_MARKER);
-         indexStore_WayPoint = openStore(TourDatabase.TABLE_TOUR_WAYPOINT);
+         if (openIndexWriters() == false) {
+            return;
+         }
 
-         indexWriter_TourData = new IndexWriter(indexStore_TourData, getIndexWriterConfig());
-         indexWriter_Marker = new IndexWriter(indexStore_Marker, getIndexWriterConfig());
-         indexWriter_WayPoint = new IndexWriter(indexStore_WayPoint, getIndexWriterConfig());
+         try {
 
-         indexWriter_TourData.deleteAll();
-         indexWriter_Marker.deleteAll();
-         indexWriter_WayPoint.deleteAll();
+            _indexWriter_TourData.deleteAll();
+            _indexWriter_Marker.deleteAll();
+            _indexWriter_WayPoint.deleteAll();
 
-      } catch (final IOException e) {
+         } catch (final IOException e) {
 
-         StatusUtil.showStatus(e);
+            StatusUtil.showStatus(e);
+         }
 
-      } finally {
+         commitIndexWriters(null);
 
-         closeIndexWriterAndStore(indexStore_TourData, indexWriter_TourData);
-         closeIndexWriterAndStore(indexStore_Marker, indexWriter_Marker);
-         closeIndexWriterAndStore(indexStore_WayPoint, indexWriter_WayPoint);
+         closeSuggester();
       }
 
-      closeIndexReaderSuggester();
-
       StatusUtil.logInfo(LOG_DELETED_INDEX.formatted(System.currentTimeMillis() - start));
    }
 
@@ -950,55 +1134,32 @@ public class FTSearchManager {
     */
    public static void deleteTourFromIndex(final long tourId) {
 
-      setupIndexReader();
-
-      FSDirectory indexStore_TourData = null;
-      FSDirectory indexStore_Marker = null;
-      FSDirectory indexStore_WayPoint = null;
-
-      IndexWriter indexWriter_TourData = null;
-      IndexWriter indexWriter_Marker = null;
-      IndexWriter indexWriter_WayPoint = null;
+      synchronized (INDEX_LOCK) {
 
-      final Builder deleteDoc_TourData = new BooleanQuery.Builder();
-      final Builder deleteDoc_Marker = new BooleanQuery.Builder();
-      final Builder deleteDoc_WayPoint = new BooleanQuery.Builder();
-
-      try {
-
-         indexStore_TourData = openStore(TourDatabase.TABLE_TOUR_DATA);
-         indexStore_Marker = openStore(TourDatabase.TABLE_TOUR_MARKER);
-         indexStore_WayPoint = openStore(TourDatabase.TABLE_TOUR_WAYPOINT);
-
-         indexWriter_TourData = new IndexWriter(indexStore_TourData, getIndexWriterConfig());
-         indexWriter_Marker = new IndexWriter(indexStore_Marker, getIndexWriterConfig());
-         indexWriter_WayPoint = new IndexWriter(indexStore_WayPoint, getIndexWriterConfig());
+         if (openIndexWriters() == false) {
+            return;
+         }
 
-         /*
-          * Delete existing tour, marker and waypoint
-          */
-         final Query tourIdQuery = LongPoint.newExactQuery(SEARCH_FIELD_TOUR_ID, tourId);
+         try {
 
-         deleteDoc_TourData.add(tourIdQuery, Occur.FILTER);
-         deleteDoc_Marker.add(tourIdQuery, Occur.FILTER);
-         deleteDoc_WayPoint.add(tourIdQuery, Occur.FILTER);
+            /*
+             * Delete existing tour, marker and waypoint
+             */
+            final Query tourIdQuery = LongPoint.newExactQuery(SEARCH_FIELD_TOUR_ID, tourId);
 
-         indexWriter_TourData.deleteDocuments(deleteDoc_TourData.build());
-         indexWriter_Marker.deleteDocuments(deleteDoc_Marker.build());
-         indexWriter_WayPoint.deleteDocuments(deleteDoc_WayPoint.build());
+            _indexWriter_TourData.deleteDocuments(tourIdQuery);
+            _indexWriter_Marker.deleteDocuments(tourIdQuery);
+            _indexWriter_WayPoint.deleteDocuments(tourIdQuery);
 
-      } catch (final IOException e) {
+         } catch (final IOException e) {
 
-         StatusUtil.showStatus(e);
+            StatusUtil.showStatus(e);
+         }
 
-      } finally {
+         commitIndexWriters(null);
 
-         closeIndexWriterAndStore(indexStore_TourData, indexWriter_TourData);
-         closeIndexWriterAndStore(indexStore_Marker, indexWriter_Marker);
-         closeIndexWriterAndStore(indexStore_WayPoint, indexWriter_WayPoint);
+         closeSuggester();
       }
-
-      closeIndexReaderSuggester();
    }
 
    private static Analyzer getAnalyzer() {
@@ -1026,28 +1187,6 @@ public class FTSearchManager {
       return analyzer;
    }
 
-   private static IndexWriter getIndexWriter(final FSDirectory indexStore) throws IOException {
-
-      IndexWriter indexWriter = null;
-
-      try {
-
-         indexWriter = new IndexWriter(indexStore, getIndexWriterConfig());
-
-      } catch (final IndexFormatTooOldException e) {
-
-         // this occures when an old index exists -> delete index
-
-         TourLogManager.log_ERROR(e.getMessage());
-
-         deleteFulltextIndexFiles();
-
-         indexWriter = new IndexWriter(indexStore, getIndexWriterConfig());
-      }
-
-      return indexWriter;
-   }
-
    private static IndexWriterConfig getIndexWriterConfig() {
 
       final Analyzer analyzer = getAnalyzer();
@@ -1092,13 +1231,15 @@ public class FTSearchManager {
             setupSuggester();
          }
 
-         if (_indexReader.numDocs() == 0) {
+         final Lookup suggester = _suggester;
+
+         if (suggester == null) {
 
-            // Suggester for 0 documents causes an exception
+            // Suggester for 0 documents is not created
             return null;
          }
 
-         final List<LookupResult> suggestions = _suggester.lookup(contents, false, 10000);
+         final List<LookupResult> suggestions = suggester.lookup(contents, false, 10000);
 
          return suggestions;
 
@@ -1110,38 +1251,78 @@ public class FTSearchManager {
 
    /**
     * @return Returns <code>true</code> when the ft index is created.
-    *
-    * @throws IOException
     */
    private static boolean isIndexCreated() {
 
-      FSDirectory indexStore = null;
-      IndexWriter indexWriter = null;
+      // check if index is already created
+      return _indexWriter_TourData != null && _indexWriter_TourData.numDocs() > 0;
+   }
 
-      try {
+   private static void logCreateIndex(final String indexStore, final long start) {
+
+      StatusUtil.logInfo(String.format(LOG_CREATE_INDEX,
+            indexStore,
+            System.currentTimeMillis() - start));
+   }
 
-         indexStore = openStore(TourDatabase.TABLE_TOUR_DATA);
-         indexWriter = getIndexWriter(indexStore);
+   /**
+    * Open the index writers when they are not yet open, they are kept open until
+    * {@link #closeIndexReaderSuggester()} is called.
+    *
+    * @return Returns <code>true</code> when the index writers are open
+    */
+   private static boolean openIndexWriters() {
 
-         // check if index is already created
-         if (indexWriter.numDocs() > 0) {
+      synchronized (INDEX_LOCK) {
+
+         if (_indexWriter_TourData != null) {
             return true;
          }
 
-      } catch (final IOException e) {
-         StatusUtil.showStatus(e);
-      } finally {
-         closeIndexWriterAndStore(indexStore, indexWriter);
-      }
+         try {
+
+            try {
+
+               openIndexWriters_10_Open();
+
+            } catch (final IndexFormatTooOldException e) {
+
+               // this occures when an old index exists -> delete index
+
+               TourLogManager.log_ERROR(e.getMessage());
+
+               closeIndexWriters();
+               deleteFulltextIndexFiles();
+
+               openIndexWriters_10_Open();
+            }
+
+            return true;
+
+         } catch (final IOException e) {
 
-      return false;
+            StatusUtil.showStatus(e);
+
+            closeIndexWriters();
+
+            return false;
+         }
+      }
    }
 
-   private static void logCreateIndex(final String indexStore, final long start) {
+   private static void openIndexWriters_10_Open() throws IOException {
 
-      StatusUtil.logInfo(String.format(LOG_CREATE_INDEX,
-            indexStore,
-            System.currentTimeMillis() - start));
+      _indexStore_TourData = openStore(TourDatabase.TABLE_TOUR_DATA);
+      _indexStore_Marker = openStore(TourDatabase.TABLE_TOUR_MARKER);
+      _indexStore_WayPoint = openStore(TourDatabase.TABLE_TOUR_WAYPOINT);
+
+      _indexWriter_TourData = new IndexWriter(_indexStore_TourData, getIndexWriterConfig());
+      _indexWriter_Marker = new IndexWriter(_indexStore_Marker, getIndexWriterConfig());
+      _indexWriter_WayPoint = new IndexWriter(_indexStore_WayPoint, getIndexWriterConfig());
+
+      _searcherManager_TourData = new SearcherManager(_indexWriter_TourData, null);
+      _searcherManager_Marker = new SearcherManager(_indexWriter_Marker, null);
+      _searcherManager_WayPoint = new SearcherManager(_indexWriter_WayPoint, null);
    }
 
    private static FSDirectory openStore(final String tableName) throws IOException {
@@ -1154,6 +1335,32 @@ public class FTSearchManager {
       return indexDirectory;
    }
 
+   private static void releaseIndexReader(final IndexReader indexReader) {
+
+      if (indexReader == null) {
+         return;
+      }
+
+      try {
+         indexReader.decRef();
+      } catch (final IOException e) {
+         StatusUtil.log(e);
+      }
+   }
+
+   private static void releaseSearcher(final SearcherManager searcherManager, final IndexSearcher searcher) {
+
+      if (searcher == null) {
+         return;
+      }
+
+      try {
+         searcherManager.release(searcher);
+      } catch (final IOException e) {
+         StatusUtil.log(e);
+      }
+   }
+
    /**
     * @param searchText
     * @param searchFromIndex
@@ -1169,11 +1376,18 @@ public class FTSearchManager {
                               final boolean isNewSearch,
                               final SearchResult searchResult) {
 
-      try {
+      final IndexReader indexReader = acquireIndexReader();
+
+      if (indexReader == null) {
 
-         setupIndexReader();
+         searchResult.totalHits = 0;
 
-         final int maxDoc = _indexReader.maxDoc();
+         return;
+      }
+
+      try {
+
+         final int maxDoc = indexReader.maxDoc();
 
          if (maxDoc == 0) {
 
@@ -1206,9 +1420,12 @@ public class FTSearchManager {
             queryResult = search_20_Search_Parts(searchText, analyzer);
          }
 
-         _topDocs = _indexSearcher.search(queryResult.query, maxDoc, ftSorting);
+         // creating a searcher is cheap when the index reader is available
+         final IndexSearcher indexSearcher = new IndexSearcher(indexReader);
 
-         searchResult.totalHits = _topDocs.totalHits;
+         final TopDocs topDocs = indexSearcher.search(queryResult.query, maxDoc, ftSorting);
+
+         searchResult.totalHits = topDocs.totalHits;
 
          /**
           * Get doc id's only for the current visible page
@@ -1220,7 +1437,7 @@ public class FTSearchManager {
          final int docStartIndex = searchFromIndex;
          int docEndIndex = searchToIndex;
 
-         final ScoreDoc[] allScoreDocs = _topDocs.scoreDocs;
+         final ScoreDoc[] allScoreDocs = topDocs.scoreDocs;
          final int numScoreDocs = allScoreDocs.length;
 
          if (docEndIndex >= numScoreDocs) {
@@ -1239,7 +1456,7 @@ public class FTSearchManager {
           * <p>
           * This occurred: field 'description' was indexed without offsets -> cannot highlight
           */
-         final UnifiedHighlighter highlighter = new UnifiedHighlighter(_indexSearcher, analyzer);
+         final UnifiedHighlighter highlighter = new UnifiedHighlighter(indexSearcher, analyzer);
 
          highlighter.setFormatter(_highlightFormatter);
 
@@ -1251,7 +1468,7 @@ public class FTSearchManager {
 
          search_80_CreateResult(
                highlightedSearchResults,
-               _indexReader,
+               indexReader,
                searchResult,
                allPageDocIds,
                docStartIndex);
@@ -1271,7 +1488,7 @@ public class FTSearchManager {
 
                _lastSearchText = searchText;
 
-               search_90_CreatePushResult(_indexReader, _topDocs);
+               search_90_CreatePushResult(indexReader, topDocs);
             }
          }
 
@@ -1280,6 +1497,10 @@ public class FTSearchManager {
          StatusUtil.showStatus(e);
 
          searchResult.error = e.getMessage();
+
+      } finally {
+
+         releaseIndexReader(indexReader);
       }
    }
 
@@ -1701,17 +1922,18 @@ public class FTSearchManager {
    }
 
    /**
-    * Create FT index
-    *
-    * @param conn
-    * @param monitor
-    *
-    * @throws SQLException
+    * Create FT index when it is not yet created, the index writers must be open.
+    * <p>
+    * This must not be called within {@link #INDEX_LOCK}, the index is created in the UI thread with
+    * a progress monitor and the UI thread could wait for this lock.
     */
    private static void setupIndex() {
 
-      if (isIndexCreated()) {
-         return;
+      synchronized (INDEX_LOCK) {
+
+         if (isIndexCreated()) {
+            return;
+         }
       }
 
       Display.getDefault().syncExec(() -> {
@@ -1726,15 +1948,25 @@ public class FTSearchManager {
 
                   monitor.subTask(Messages.Database_Monitor_SetupLucene);
 
-                  try (Connection conn = TourDatabase.getInstance().getConnection()) {
+                  synchronized (INDEX_LOCK) {
+
+                     // the index writers could be closed or the index could be created in the meantime
+                     if (_indexWriter_TourData == null || isIndexCreated()) {
+                        return;
+                     }
+
+                     try (Connection conn = TourDatabase.getInstance().getConnection()) {
 
-                     createStore_TourData(conn, monitor);
-                     createStore_TourMarker(conn, monitor);
-                     createStore_TourWaypoint(conn, monitor);
+                        createStore_TourData(conn, _indexWriter_TourData, null, monitor);
+                        createStore_TourMarker(conn, _indexWriter_Marker, null, monitor);
+                        createStore_TourWaypoint(conn, _indexWriter_WayPoint, null, monitor);
 
-                  } catch (final SQLException e) {
+                     } catch (final SQLException e) {
 
-                     net.tourbook.ui.UI.showSQLException(e);
+                        net.tourbook.ui.UI.showSQLException(e);
+                     }
+
+                     commitIndexWriters(monitor);
                   }
                }
             };
@@ -1747,39 +1979,6 @@ public class FTSearchManager {
       });
    }
 
-   /**
-    * Once you have a new IndexReader, it's relatively cheap to create a new IndexSearcher from it.
-    */
-   private static void setupIndexReader() {
-
-      if (_indexReader != null) {
-
-         // index reader is initialized
-         return;
-      }
-
-      setupIndex();
-
-      try {
-
-         final FSDirectory tourDataIndex = openStore(TourDatabase.TABLE_TOUR_DATA);
-         final FSDirectory tourMarkerIndex = openStore(TourDatabase.TABLE_TOUR_MARKER);
-         final FSDirectory tourWayPoint = openStore(TourDatabase.TABLE_TOUR_WAYPOINT);
-
-         final IndexReader indexReader1 = DirectoryReader.open(tourDataIndex);
-         final IndexReader indexReader2 = DirectoryReader.open(tourMarkerIndex);
-         final IndexReader indexReader3 = DirectoryReader.open(tourWayPoint);
-
-         _indexReader = new MultiReader(indexReader1, indexReader2, indexReader3);
-
-         _indexSearcher = new IndexSearcher(_indexReader);
-
-      } catch (final Exception e) {
-
-         StatusUtil.showStatus(e);
-      }
-   }
-
    public static void setupSuggester() {
 
       if (_suggester == null) {
@@ -1794,17 +1993,33 @@ public class FTSearchManager {
 
    private static Lookup setupSuggester_FreeText() {
 
-      setupIndexReader();
+      final IndexReader indexReader = acquireIndexReader();
 
-      final int numDocs = _indexReader.numDocs();
-      if (numDocs == 0) {
+      if (indexReader == null) {
+         return null;
+      }
 
-         /*
-          * Suggester for 0 documents causes an exception
-          */
+      try {
 
-         return null;
+         final int numDocs = indexReader.numDocs();
+         if (numDocs == 0) {
+
+            /*
+             * Suggester for 0 documents causes an exception
+             */
+
+            return null;
+         }
+
+         return setupSuggester_FreeText_Build(indexReader);
+
+      } finally {
+
+         releaseIndexReader(indexReader);
       }
+   }
+
+   private static Lookup setupSuggester_FreeText_Build(final IndexReader indexReader) {
 
       final Lookup suggester[] = new FreeTextSuggester[1];
 
@@ -1812,7 +2027,7 @@ public class FTSearchManager {
 
          try {
 
-            final DocumentInputIterator inputIterator = new DocumentInputIterator(_indexReader);
+            final DocumentInputIterator inputIterator = new DocumentInputIterator(indexReader);
 
             final Analyzer queryAnalyzer = new StandardAnalyzer(new CharArraySet(0, true));
 
@@ -1839,9 +2054,8 @@ public class FTSearchManager {
    }
 
    /**
-    * Update fulltext search index when tours are saved. This is not very efficient because all
-    * tours and their markers/waypoints are deleted and recreated, however it is fast enought for a
-    * few thousand items otherwise it would be more complex.
+    * Update fulltext search index when tours are saved. The tours, markers and waypoints of the
+    * tours are replaced in the open index, the changes are visible for the next search.
     *
     * @param allTourIDs
     */
@@ -1851,128 +2065,57 @@ public class FTSearchManager {
 
       final int numAllTourIDs = allTourIDs.size();
 
-      final FSDirectory[] indexStore_TourData = { null };
-      final FSDirectory[] indexStore_Marker = { null };
-      final FSDirectory[] indexStore_WayPoint = { null };
-
-      // these values MUST be final
-      final IndexWriter[] indexWriter_TourData = { null };
-      final IndexWriter[] indexWriter_Marker = { null };
-      final IndexWriter[] indexWriter_WayPoint = { null };
-
-      final boolean[] isIndexClosed = { false };
-
-      try {
-
-         setupIndexReader();
-
-         indexStore_TourData[0] = openStore(TourDatabase.TABLE_TOUR_DATA);
-         indexStore_Marker[0] = openStore(TourDatabase.TABLE_TOUR_MARKER);
-         indexStore_WayPoint[0] = openStore(TourDatabase.TABLE_TOUR_WAYPOINT);
-
-         indexWriter_TourData[0] = new IndexWriter(indexStore_TourData[0], getIndexWriterConfig());
-         indexWriter_Marker[0] = new IndexWriter(indexStore_Marker[0], getIndexWriterConfig());
-         indexWriter_WayPoint[0] = new IndexWriter(indexStore_WayPoint[0], getIndexWriterConfig());
-
-         if (numAllTourIDs < 5) {
-
-            // run without progress monitor
-
-            for (final List<Long> tourIDPart : createTourIdParts(allTourIDs)) {
-
-               updateIndex_10_Parts(
-                     tourIDPart,
-                     indexWriter_TourData[0],
-                     indexWriter_Marker[0],
-                     indexWriter_WayPoint[0],
-
-                     // monitor parameters
-                     null,
-                     0,
-                     null);
-            }
-
-         } else {
-
-            Display.getDefault().syncExec(() -> {
-
-               try {
-
-                  final IRunnableWithProgress runnable = (monitor) -> {
-
-                     monitor.beginTask(Messages.Search_Manager_Log_UpdatedFTIndex_Title, numAllTourIDs);
-
-                     try {
-
-                        final int[] numWorked = { 0 };
-
-                        for (final List<Long> tourIDPart : createTourIdParts(allTourIDs)) {
-
-                           updateIndex_10_Parts(
+      if (openIndexWriters() == false) {
+         return;
+      }
 
-                                 tourIDPart,
+      final boolean isIndexCreated;
+      synchronized (INDEX_LOCK) {
+         isIndexCreated = isIndexCreated();
+      }
 
-                                 indexWriter_TourData[0],
-                                 indexWriter_Marker[0],
-                                 indexWriter_WayPoint[0],
+      if (isIndexCreated == false) {
 
-                                 // monitor parameters
-                                 monitor,
-                                 numAllTourIDs,
-                                 numWorked);
-                        }
+         // the new index is created from all saved tours, this contains also these tours
+         setupIndex();
 
-                     } catch (final IOException e) {
+         synchronized (INDEX_LOCK) {
+            closeSuggester();
+         }
 
-                        StatusUtil.showStatus(e);
+         return;
+      }
 
-                     } finally {
+      if (numAllTourIDs < 5) {
 
-                        updateIndex_20_ClosingStores(
+         // run without progress monitor
 
-                              indexStore_TourData[0],
-                              indexStore_Marker[0],
-                              indexStore_WayPoint[0],
-                              indexWriter_TourData[0],
-                              indexWriter_Marker[0],
-                              indexWriter_WayPoint[0],
-                              monitor);
+         updateIndex_10_Parts(allTourIDs, null, 0, null);
 
-                        isIndexClosed[0] = true;
-                     }
-                  };
-
-                  new ProgressMonitorDialog(Display.getDefault().getActiveShell()).run(true, false, runnable);
+      } else {
 
-               } catch (final InvocationTargetException | InterruptedException e) {
+         Display.getDefault().syncExec(() -> {
 
-                  StatusUtil.showStatus(e);
-               }
-            });
-         }
+            try {
 
-      } catch (final IOException e) {
+               final IRunnableWithProgress runnable = (monitor) -> {
 
-         StatusUtil.showStatus(e);
+                  monitor.beginTask(Messages.Search_Manager_Log_UpdatedFTIndex_Title, numAllTourIDs);
 
-      } finally {
+                  updateIndex_10_Parts(allTourIDs, monitor, numAllTourIDs, new int[] { 0 });
+               };
 
-         if (isIndexClosed[0] == false) {
+               new ProgressMonitorDialog(Display.getDefault().getActiveShell()).run(true, false, runnable);
 
-            updateIndex_20_ClosingStores(
+            } catch (final InvocationTargetException | InterruptedException e) {
 
-                  indexStore_TourData[0],
-                  indexStore_Marker[0],
-                  indexStore_WayPoint[0],
-                  indexWriter_TourData[0],
-                  indexWriter_Marker[0],
-                  indexWriter_WayPoint[0],
-                  null);
-         }
+               StatusUtil.showStatus(e);
+            }
+         });
       }
 
       // force to reload the suggester
-      closeIndexReaderSuggester();
+      closeSuggester();
 
       final long end = System.nanoTime();
       final float timeDiff = (end - start) / 1_000_000_000.0f;
@@ -1987,151 +2130,74 @@ public class FTSearchManager {
       }
    }
 
-   private static void updateIndex_10_Parts(final List<Long> allTourIDParts,
-                                            final IndexWriter indexWriter_TourData,
-                                            final IndexWriter indexWriter_Marker,
-                                            final IndexWriter indexWriter_WayPoint,
+   /**
+    * Replace the tours, markers and waypoints in the index, the tour values are loaded with SQL
+    * from the saved tours. The changes are committed when all tours are replaced.
+    *
+    * @param allTourIDs
+    * @param monitor
+    * @param numTourIDs
+    * @param numWorked
+    */
+   private static void updateIndex_10_Parts(final List<Long> allTourIDs,
 
                                             // monitor parameters
                                             final IProgressMonitor monitor,
                                             final int numTourIDs,
-                                            final int[] numWorked
-
-   ) throws IOException {
-
-      long lastUpdateTime = System.currentTimeMillis();
-
-      final Builder deleteDoc_TourData = new BooleanQuery.Builder();
-      final Builder deleteDoc_Marker = new BooleanQuery.Builder();
-      final Builder deleteDoc_WayPoint = new BooleanQuery.Builder();
-
-      final ArrayList<Document> newDoc_TourData = new ArrayList<>();
-      final ArrayList<Document> newDoc_Marker = new ArrayList<>();
-      final ArrayList<Document> newDoc_WayPoint = new ArrayList<>();
-
-      for (final Long tourId : allTourIDParts) {
-
-         if (monitor != null) {
-
-            final long now = System.currentTimeMillis();
+                                            final int[] numWorked) {
 
-            if (now > lastUpdateTime + 500) {
+      synchronized (INDEX_LOCK) {
 
-               lastUpdateTime = now;
-
-               monitor.subTask(String.format(Messages.Search_Manager_SubTask_LoadingTours,
-                     numWorked[0],
-                     numTourIDs));
-            }
-
-            numWorked[0]++;
-            monitor.worked(1);
+         // the index writers could be closed in the meantime
+         if (_indexWriter_TourData == null) {
+            return;
          }
 
-         final TourData tourData = TourManager.getTour(tourId);
-
-         if (tourData != null) {
+         try (Connection conn = TourDatabase.getInstance().getConnection()) {
 
-            /*
-             * Delete existing tour, marker and waypoint
-             */
-            final Query tourIdQuery = LongPoint.newExactQuery(SEARCH_FIELD_TOUR_ID, tourId);
+            for (final List<Long> tourIDPart : createTourIdParts(allTourIDs)) {
 
-            deleteDoc_TourData.add(tourIdQuery, Occur.FILTER);
-            deleteDoc_Marker.add(tourIdQuery, Occur.FILTER);
-            deleteDoc_WayPoint.add(tourIdQuery, Occur.FILTER);
+               if (monitor != null) {
 
-            /*
-             * Recreate tour, marker and waypoint
-             */
-            final Document tourDoc = createLuceneDoc_Tour(tourId,
-                  tourData.getTourStartTimeMS(),
-                  tourData.getTourTitle(),
-                  tourData.getTourDescription(),
-                  tourData.getTourStartPlace(),
-                  tourData.getTourEndPlace(),
-                  tourData.getWeather());
-
-            newDoc_TourData.add(tourDoc);
-
-            for (final TourMarker tourMarker : tourData.getTourMarkers()) {
-
-               final Document markerDoc = createLuceneDoc_Marker(
-                     tourMarker.getMarkerId(),
-                     tourId,
-                     tourMarker.getLabel(),
-                     tourMarker.getDescription(),
-                     tourMarker.getTourTime());
-
-               newDoc_Marker.add(markerDoc);
-            }
+                  monitor.subTask(String.format(Messages.Search_Manager_SubTask_LoadingTours,
+                        numWorked[0],
+                        numTourIDs));
+               }
 
-            for (final TourWayPoint wayPoint : tourData.getTourWayPoints()) {
+               /*
+                * Delete existing tours, markers and waypoints
+                */
+               final long[] allTourIDsInPart = tourIDPart.stream().mapToLong(Long::longValue).toArray();
+               final Query tourIdQuery = LongPoint.newSetQuery(SEARCH_FIELD_TOUR_ID, allTourIDsInPart);
 
-               final Document wayPointDoc = createLuceneDoc_WayPoint(
-                     wayPoint.getWayPointId(),
-                     tourId,
-                     wayPoint.getName(),
-                     wayPoint.getDescription(),
-                     wayPoint.getTime());
+               _indexWriter_TourData.deleteDocuments(tourIdQuery);
+               _indexWriter_Marker.deleteDocuments(tourIdQuery);
+               _indexWriter_WayPoint.deleteDocuments(tourIdQuery);
 
-               newDoc_WayPoint.add(wayPointDoc);
-            }
-         }
-      }
+               /*
+                * Recreate tours, markers and waypoints
+                */
+               createStore_TourData(conn, _indexWriter_TourData, tourIDPart, null);
+               createStore_TourMarker(conn, _indexWriter_Marker, tourIDPart, null);
+               createStore_TourWaypoint(conn, _indexWriter_WayPoint, tourIDPart, null);
 
-      if (monitor != null) {
-         monitor.subTask(Messages.Search_Manager_SubTask_UpdatingIndex);
-      }
+               if (monitor != null) {
 
-      indexWriter_TourData.deleteDocuments(deleteDoc_TourData.build());
-      indexWriter_Marker.deleteDocuments(deleteDoc_Marker.build());
-      indexWriter_WayPoint.deleteDocuments(deleteDoc_WayPoint.build());
+                  numWorked[0] += tourIDPart.size();
+                  monitor.worked(tourIDPart.size());
+               }
+            }
 
-      for (final Document document : newDoc_TourData) {
-         indexWriter_TourData.addDocument(document);
-      }
-      for (final Document document : newDoc_Marker) {
-         indexWriter_Marker.addDocument(document);
-      }
-      for (final Document document : newDoc_WayPoint) {
-         indexWriter_WayPoint.addDocument(document);
-      }
-   }
+         } catch (final SQLException e) {
 
-   /**
-    * This is a time consuming task which can have a duration of several seconds when using
-    * many tours
-    *
-    * @param indexStore_TourData
-    * @param indexStore_Marker
-    * @param indexStore_WayPoint
-    * @param indexWriter_TourData
-    * @param indexWriter_Marker
-    * @param indexWriter_WayPoint
-    * @param monitor
-    */
-   private static void updateIndex_20_ClosingStores(final FSDirectory indexStore_TourData,
-                                                    final FSDirectory indexStore_Marker,
-                                                    final FSDirectory indexStore_WayPoint,
-                                                    final IndexWriter indexWriter_TourData,
-                                                    final IndexWriter indexWriter_Marker,
-                                                    final IndexWriter indexWriter_WayPoint,
-                                                    final IProgressMonitor monitor) {
+            net.tourbook.ui.UI.showSQLException(e);
 
-      if (monitor != null) {
-         monitor.subTask(Messages.Search_Manager_SubTask_ClosingFTIndexStore_Tours);
-      }
-      closeIndexWriterAndStore(indexStore_TourData, indexWriter_TourData);
+         } catch (final IOException e) {
 
-      if (monitor != null) {
-         monitor.subTask(Messages.Search_Manager_SubTask_ClosingFTIndexStore_Markers);
-      }
-      closeIndexWriterAndStore(indexStore_Marker, indexWriter_Marker);
+            StatusUtil.showStatus(e);
+         }
 
-      if (monitor != null) {
-         monitor.subTask(Messages.Search_Manager_SubTask_ClosingFTIndexStore_Waypoints);
+         commitIndexWriters(monitor);
       }
-      closeIndexWriterAndStore(indexStore_WayPoint, indexWriter_WayPoint);
    }
 }
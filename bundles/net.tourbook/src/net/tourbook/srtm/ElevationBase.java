@@ -104,6 +104,111 @@ public abstract class ElevationBase {
       return (float) getElevationGridDouble(lat, lon);
    }
 
+   /**
+    * Interpolates the elevation between the 4 grid values which are around the position, this is
+    * the same as {@link #getElevationGridDouble(GeoLat, GeoLon)} but without {@link GeoLat} and
+    * {@link GeoLon} instances.
+    *
+    * @param elevationFile
+    * @param gridIntervals
+    *           Number of grid intervals for one degree
+    * @param fileLatitude
+    *           Latitude within the file, 0 is the south border, 1 is the north border
+    * @param fileLongitude
+    *           Longitude within the file, 0 is the west border, 1 is the east border
+    *
+    * @return
+    */
+   float getElevationGrid(final ElevationFile elevationFile,
+                          final int gridIntervals,
+                          final double fileLatitude,
+                          final double fileLongitude) {
+
+      if (elevationFile == null) {
+         return Float.MIN_VALUE;
+      }
+
+      // the first row is the north border
+      final double row = (1 - fileLatitude) * gridIntervals;
+      final double column = fileLongitude * gridIntervals;
+
+      final int gridPoints = gridIntervals + 1;
+
+      final int northRow = (int) row;
+      final int westColumn = (int) column;
+
+      final double rowRatio = row - northRow;
+      final double columnRatio = column - westColumn;
+
+      if (rowRatio == 0 && columnRatio == 0) {
+
+         // position is on the grid
+
+         return elevationFile.get(northRow * gridPoints + westColumn);
+      }
+
+      final int southRow = Math.min(northRow + 1, gridIntervals);
+      final int eastColumn = Math.min(westColumn + 1, gridIntervals);
+
+      float elevNW = elevationFile.get(northRow * gridPoints + westColumn);
+      float elevNE = elevationFile.get(northRow * gridPoints + eastColumn);
+      float elevSW = elevationFile.get(southRow * gridPoints + westColumn);
+      float elevSE = elevationFile.get(southRow * gridPoints + eastColumn);
+
+      // adjust invalid values
+      final boolean isValidNW = isValid(elevNW);
+      final boolean isValidNE = isValid(elevNE);
+      final boolean isValidSW = isValid(elevSW);
+      final boolean isValidSE = isValid(elevSE);
+
+      if (isValidNW == false || isValidNE == false || isValidSW == false || isValidSE == false) {
+
+         int numValid = 0;
+         double elevMid = 0;
+
+         if (isValidNW) {
+            elevMid += elevNW;
+            numValid++;
+         }
+         if (isValidNE) {
+            elevMid += elevNE;
+            numValid++;
+         }
+         if (isValidSW) {
+            elevMid += elevSW;
+            numValid++;
+         }
+         if (isValidSE) {
+            elevMid += elevSE;
+            numValid++;
+         }
+
+         if (numValid == 0) {
+            return Float.MIN_VALUE;
+         }
+
+         elevMid /= numValid;
+
+         if (isValidNW == false) {
+            elevNW = (float) elevMid;
+         }
+         if (isValidNE == false) {
+            elevNE = (float) elevMid;
+         }
+         if (isValidSW == false) {
+            elevSW = (float) elevMid;
+         }
+         if (isValidSE == false) {
+            elevSE = (float) elevMid;
+         }
+      }
+
+      final double p = 1 - rowRatio;
+      final double q = columnRatio;
+
+      return (float) ((1 - q) * p * elevNW + q * p * elevNE + (1 - q) * (1 - p) * elevSW + q * (1 - p) * elevSE + 0.5);
+   }
+
    /**
     * @param colorButtons
     * @param l
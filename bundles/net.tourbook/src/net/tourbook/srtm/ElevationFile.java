@@ -22,20 +22,23 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
 import java.nio.ShortBuffer;
 import java.nio.channels.FileChannel;
 
+import net.tourbook.common.util.PackFileStore;
 import net.tourbook.srtm.download.DownloadETOPO;
 import net.tourbook.srtm.download.DownloadGLOBE;
 import net.tourbook.srtm.download.DownloadSRTM3;
 
 public class ElevationFile {
 
-   private FileChannel _fileChannel;
-   private ShortBuffer _shortBuffer;
+   private FileChannel      _fileChannel;
+   private MappedByteBuffer _mappedBuffer;
+   private ShortBuffer      _shortBuffer;
 
-   private boolean     _isFileAvailable  = false;
-   private boolean     _isLocalFileError = false;
+   private boolean          _isFileAvailable  = false;
+   private boolean          _isLocalFileError = false;
 
    public ElevationFile(final String localFilePath, final String localFilePathUnzipped, final int elevationTyp) throws Exception {
 
@@ -66,6 +69,27 @@ public class ElevationFile {
       }
    }
 
+   /**
+    * Close the file and unmap the file buffer immediately, otherwise the mapped memory is released
+    * only when the buffer is garbage collected.
+    * <p>
+    * This must be called only when no other thread is reading from this file.
+    */
+   public void closeAndUnmap() {
+
+      close();
+
+      if (_mappedBuffer != null) {
+
+         _isFileAvailable = false;
+
+         PackFileStore.unmap(_mappedBuffer);
+
+         _mappedBuffer = null;
+         _shortBuffer = null;
+      }
+   }
+
    public short get(final int index) {
 
       if (!_isFileAvailable) {
@@ -198,7 +222,8 @@ public class ElevationFile {
       try {
 
          _fileChannel = new FileInputStream(new File(fileName)).getChannel();
-         _shortBuffer = _fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, _fileChannel.size()).asShortBuffer();
+         _mappedBuffer = _fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, _fileChannel.size());
+         _shortBuffer = _mappedBuffer.asShortBuffer();
 
       } catch (final Exception e) {
          System.out.println(this.getClass().getCanonicalName() + " - " + e.getMessage()); //$NON-NLS-1$
@@ -23,6 +23,11 @@ import java.util.HashMap;
 
 public class ElevationSRTM1 extends ElevationBase {
 
+   /**
+    * Number of grid intervals for one degree, a SRTM1 file contains 3601 x 3601 values
+    */
+   private static final int                              GRID_INTERVALS = 3600;
+
    private static SRTM1I_ElevationFile                   _SRTMi;
    private static HashMap<Integer, SRTM1I_ElevationFile> _fileMap;
 
@@ -100,23 +105,7 @@ public class ElevationSRTM1 extends ElevationBase {
          return getElevationGrid(lat, lon);
       }
 
-      int i = lon.degrees;
-      if (lon.direction == GeoLon.DIRECTION_WEST) {
-         i += 256;
-      }
-      i *= 1024;
-      i += lat.degrees;
-      if (lat.direction == GeoLat.DIRECTION_SOUTH) {
-         i += 256;
-      }
-      final Integer ii = Integer.valueOf(i);
-      _SRTMi = _fileMap.get(ii);
-
-      if (_SRTMi == null) {
-         // first time only
-         _SRTMi = new SRTM1I_ElevationFile(lat, lon);
-         _fileMap.put(ii, _SRTMi);
-      }
+      _SRTMi = getElevationFile(lat, lon);
 
       return _SRTMi.getElevation(lat, lon);
 
@@ -137,6 +126,95 @@ public class ElevationSRTM1 extends ElevationBase {
       return getElevation(lat, lon);
    }
 
+   /**
+    * @param lat
+    * @param lon
+    *
+    * @return Returns the SRTM1 file which contains the position, the file is opened when it is not
+    *         yet opened
+    */
+   private SRTM1I_ElevationFile getElevationFile(final GeoLat lat, final GeoLon lon) {
+
+      int i = lon.degrees;
+      if (lon.direction == GeoLon.DIRECTION_WEST) {
+         i += 256;
+      }
+      i *= 1024;
+      i += lat.degrees;
+      if (lat.direction == GeoLat.DIRECTION_SOUTH) {
+         i += 256;
+      }
+      final Integer ii = Integer.valueOf(i);
+      SRTM1I_ElevationFile elevationFile = _fileMap.get(ii);
+
+      if (elevationFile == null) {
+         // first time only
+         elevationFile = new SRTM1I_ElevationFile(lat, lon);
+         _fileMap.put(ii, elevationFile);
+      }
+
+      return elevationFile;
+   }
+
+   /**
+    * Get the elevations for many positions, e.g. for all positions of a tour, the positions are not
+    * converted into {@link GeoLat}/{@link GeoLon} instances. Positions at lat/lon 0/0 are not
+    * looked up.
+    *
+    * @param allLatitudes
+    * @param allLongitudes
+    *
+    * @return Returns the elevation for each position, an elevation is {@link Float#MIN_VALUE}
+    *         when it is not available
+    */
+   public synchronized float[] getElevations(final double[] allLatitudes, final double[] allLongitudes) {
+
+      final int numPositions = allLatitudes.length;
+
+      final float[] allElevations = new float[numPositions];
+
+      int prevFileLatitude = Integer.MIN_VALUE;
+      int prevFileLongitude = Integer.MIN_VALUE;
+
+      ElevationFile elevationFile = null;
+
+      for (int positionIndex = 0; positionIndex < numPositions; positionIndex++) {
+
+         final double latitude = allLatitudes[positionIndex];
+         final double longitude = allLongitudes[positionIndex];
+
+         // ignore lat/lon 0/0, this is in the ocean
+         if (latitude == 0 && longitude == 0) {
+
+            allElevations[positionIndex] = Float.MIN_VALUE;
+
+            continue;
+         }
+
+         final int fileLatitude = (int) Math.floor(latitude);
+         final int fileLongitude = (int) Math.floor(longitude);
+
+         if (fileLatitude != prevFileLatitude || fileLongitude != prevFileLongitude) {
+
+            // the center of the file has the same degrees and direction as all positions in the file
+            elevationFile = getElevationFile(
+                  new GeoLat(fileLatitude + 0.5),
+                  new GeoLon(fileLongitude + 0.5)).elevationFile;
+
+            prevFileLatitude = fileLatitude;
+            prevFileLongitude = fileLongitude;
+         }
+
+         allElevations[positionIndex] = getElevationGrid(
+               elevationFile,
+               GRID_INTERVALS,
+               latitude - fileLatitude,
+               longitude - fileLongitude);
+      }
+
+      return allElevations;
+   }
+
    @Override
    public String getName() {
       return "SRTM1"; //$NON-NLS-1$
@@ -19,8 +19,10 @@
 package net.tourbook.srtm;
 
 import java.io.File;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import net.tourbook.common.UI;
 
@@ -36,33 +38,75 @@ public final class ElevationSRTM3 extends ElevationBase {
    private static final String SRTM3_FILE_NAME_PART = ".SRTMGL3"; //$NON-NLS-1$
    private static final String SRTM3_FILE_EXTENSION = ".hgt";     //$NON-NLS-1$
 
-   // default initial 16 Files
-   private static final HashMap<Integer, SRTM3ElevationFile> _srtmElevationFilesCache = new HashMap<>();
+   /**
+    * Number of grid intervals for one degree, a SRTM3 file contains 1201 x 1201 values
+    */
+   private static final int    GRID_INTERVALS       = 1200;
+
+   /**
+    * Max number of SRTM3 files which are kept open, one file is mapped with 2.8 MB
+    */
+   private static final int    MAX_CACHED_FILES     = 32;
+
+   /**
+    * SRTM3 files in access order, the first entry is the least recently used file. The key is
+    * created from the south west corner of the file.
+    * <p>
+    * A file is opened or downloaded by the task outside of the cache lock, other threads which
+    * need the same file are waiting for this task.
+    */
+   private static final LinkedHashMap<Integer, FutureTask<SRTM3ElevationFile>> _srtmElevationFilesCache = new LinkedHashMap<>(MAX_CACHED_FILES, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Entry<Integer, FutureTask<SRTM3ElevationFile>> eldest) {
+
+         if (size() > MAX_CACHED_FILES) {
+
+            closeFile(eldest.getValue());
+
+            return true;
+         }
+
+         return false;
+      }
+   };
+
+   private static class SRTM3ElevationFile {
 
-   private static SRTM3ElevationFile                         _srtm3ElevationFile;
+      ElevationFile   __elevationFile;
 
-   private class SRTM3ElevationFile {
+      /**
+       * Number of threads which are reading from this file
+       */
+      private int     __numReaders;
 
-      ElevationFile __elevationFile;
+      private boolean __isEvicted;
+      private boolean __isUnmapped;
 
-      private SRTM3ElevationFile(final GeoLat lat, final GeoLon lon) {
+      /**
+       * @param fileLatitude
+       *           Latitude of the south border
+       * @param fileLongitude
+       *           Longitude of the west border
+       */
+      private SRTM3ElevationFile(final int fileLatitude, final int fileLongitude) {
 
          final String srtm3DataPath = getElevationData_FilePath("srtm3"); //$NON-NLS-1$
 
-         final String degreeNorthSouth = NumberForm.n2(lat.direction == GeoLat.DIRECTION_NORTH
-               ? lat.degrees
-               : lat.degrees + 1);
+         final char directionNorthSouth = fileLatitude >= 0 ? GeoLat.DIRECTION_NORTH : GeoLat.DIRECTION_SOUTH;
+         final char directionEastWest = fileLongitude >= 0 ? GeoLon.DIRECTION_EAST : GeoLon.DIRECTION_WEST;
 
-         final String degreeEastWest = NumberForm.n3(lon.direction == GeoLon.DIRECTION_EAST
-               ? lon.degrees
-               : lon.degrees + 1);
+         final String degreeNorthSouth = NumberForm.n2(Math.abs(fileLatitude));
+         final String degreeEastWest = NumberForm.n3(Math.abs(fileLongitude));
 
          final String localFilePath = new String(UI.EMPTY_STRING
 
                + srtm3DataPath
                + File.separator
-               + lat.direction + degreeNorthSouth // e.g. N20
-               + lon.direction + degreeEastWest //   e.g. W018
+               + directionNorthSouth + degreeNorthSouth // e.g. N20
+               + directionEastWest + degreeEastWest //     e.g. W018
                + SRTM3_FILE_NAME_PART
                + SRTM3_FILE_EXTENSION
 
@@ -72,8 +116,8 @@ public final class ElevationSRTM3 extends ElevationBase {
 
                + srtm3DataPath
                + File.separator
-               + lat.direction + degreeNorthSouth // e.g. N20
-               + lon.direction + degreeEastWest //   e.g. W018
+               + directionNorthSouth + degreeNorthSouth // e.g. N20
+               + directionEastWest + degreeEastWest //     e.g. W018
                + SRTM3_FILE_EXTENSION
 
          );
@@ -85,6 +129,51 @@ public final class ElevationSRTM3 extends ElevationBase {
          }
       }
 
+      /**
+       * @return Returns <code>true</code> when the file can be read, it must be released with
+       *         {@link #release()}. Returns <code>false</code> when the file is already unmapped.
+       */
+      private synchronized boolean acquire() {
+
+         if (__isUnmapped) {
+            return false;
+         }
+
+         __numReaders++;
+
+         return true;
+      }
+
+      /**
+       * The file is evicted from the file cache, it is unmapped when it is not read by another
+       * thread, otherwise when the last reader is releasing it
+       */
+      private synchronized void evict() {
+
+         __isEvicted = true;
+
+         unmapWhenNotRead();
+      }
+
+      private synchronized void release() {
+
+         __numReaders--;
+
+         unmapWhenNotRead();
+      }
+
+      private void unmapWhenNotRead() {
+
+         if (__isEvicted && __numReaders == 0 && __isUnmapped == false) {
+
+            __isUnmapped = true;
+
+            if (__elevationFile != null) {
+               __elevationFile.closeAndUnmap();
+            }
+         }
+      }
+
       private float getElevation(final GeoLat lat, final GeoLon lon) {
 
          final int srtmFileOffset = srtmFileOffset(lat, lon);
@@ -148,14 +237,128 @@ public final class ElevationSRTM3 extends ElevationBase {
     * Clears the file cache by closing and removing all evaluation files
     */
    @SuppressWarnings("unused")
-   private static synchronized void clearElevationFileCache() {
+   private static void clearElevationFileCache() {
+
+      synchronized (_srtmElevationFilesCache) {
+
+         // close all files
+         for (final FutureTask<SRTM3ElevationFile> fileTask : _srtmElevationFilesCache.values()) {
+            closeFile(fileTask);
+         }
+
+         _srtmElevationFilesCache.clear();
+      }
+   }
+
+   /**
+    * Close and unmap the file when it is opened, a file which is currently opened by another
+    * thread is not closed, it is released by the garbage collector
+    *
+    * @param fileTask
+    */
+   private static void closeFile(final FutureTask<SRTM3ElevationFile> fileTask) {
+
+      if (fileTask.isDone() == false) {
+         return;
+      }
+
+      try {
+
+         fileTask.get().evict();
+
+      } catch (final InterruptedException | ExecutionException e) {
+
+         // the file was not opened
+      }
+   }
+
+   /**
+    * @param fileLatitude
+    *           Latitude of the south border
+    * @param fileLongitude
+    *           Longitude of the west border
+    *
+    * @return Returns the SRTM3 file which contains the position, the file is opened when it is not
+    *         yet cached. The file must be released with {@link SRTM3ElevationFile#release()} when
+    *         it is not read any more.
+    */
+   private static SRTM3ElevationFile getElevationFile(final int fileLatitude, final int fileLongitude) {
+
+      while (true) {
+
+         final SRTM3ElevationFile elevationFile = getElevationFile_FromCache(fileLatitude, fileLongitude);
+
+         if (elevationFile.acquire()) {
+            return elevationFile;
+         }
 
-      // close all files
-      for (final Entry<Integer, SRTM3ElevationFile> entry : _srtmElevationFilesCache.entrySet()) {
-         entry.getValue().__elevationFile.close();
+         // the file was evicted and unmapped after it was get from the cache -> open it again
       }
+   }
+
+   private static SRTM3ElevationFile getElevationFile_FromCache(final int fileLatitude, final int fileLongitude) {
+
+      final Integer fileKey = (fileLatitude + 90) * 360 + fileLongitude + 180;
+
+      FutureTask<SRTM3ElevationFile> fileTask;
+      boolean isNewTask = false;
+
+      synchronized (_srtmElevationFilesCache) {
+
+         fileTask = _srtmElevationFilesCache.get(fileKey);
+
+         if (fileTask == null) {
+
+            // first time only
+            fileTask = new FutureTask<>(() -> new SRTM3ElevationFile(fileLatitude, fileLongitude));
+            isNewTask = true;
+
+            _srtmElevationFilesCache.put(fileKey, fileTask);
+         }
+      }
+
+      if (isNewTask) {
+
+         // open or download the file in this thread without locking other files
+         fileTask.run();
+      }
+
+      boolean isInterrupted = false;
+
+      try {
 
-      _srtmElevationFilesCache.clear();
+         while (true) {
+
+            try {
+
+               return fileTask.get();
+
+            } catch (final InterruptedException e) {
+
+               // the file is needed, wait until it is opened
+               isInterrupted = true;
+            }
+         }
+
+      } catch (final ExecutionException e) {
+
+         // a failed file must not be cached
+         synchronized (_srtmElevationFilesCache) {
+            _srtmElevationFilesCache.remove(fileKey, fileTask);
+         }
+
+         if (e.getCause() instanceof final RuntimeException runtimeException) {
+            throw runtimeException;
+         }
+
+         throw new RuntimeException(e);
+
+      } finally {
+
+         if (isInterrupted) {
+            Thread.currentThread().interrupt();
+         }
+      }
    }
 
    @Override
@@ -174,28 +377,18 @@ public final class ElevationSRTM3 extends ElevationBase {
          return getElevationGrid(lat, lon);
       }
 
-      int i = lon.degrees;
-      if (lon.direction == GeoLon.DIRECTION_WEST) {
-         i += 256;
-      }
-      i *= 1024;
-      i += lat.degrees;
-      if (lat.direction == GeoLat.DIRECTION_SOUTH) {
-         i += 256;
-      }
+      final int fileLatitude = lat.direction == GeoLat.DIRECTION_NORTH ? lat.degrees : -(lat.degrees + 1);
+      final int fileLongitude = lon.direction == GeoLon.DIRECTION_EAST ? lon.degrees : -(lon.degrees + 1);
 
-      final Integer ii = Integer.valueOf(i);
-      _srtm3ElevationFile = _srtmElevationFilesCache.get(ii);
+      final SRTM3ElevationFile elevationFile = getElevationFile(fileLatitude, fileLongitude);
 
-      if (_srtm3ElevationFile == null) {
-
-         // first time only
-         _srtm3ElevationFile = new SRTM3ElevationFile(lat, lon);
-         _srtmElevationFilesCache.put(ii, _srtm3ElevationFile);
-      }
+      try {
 
-      return _srtm3ElevationFile.getElevation(lat, lon);
+         return elevationFile.getElevation(lat, lon);
 
+      } finally {
+         elevationFile.release();
+      }
    }
 
    @Override
@@ -220,6 +413,71 @@ public final class ElevationSRTM3 extends ElevationBase {
       return getElevation(lat, lon);
    }
 
+   /**
+    * Get the elevations for many positions, e.g. for all positions of a tour.
+    * <p>
+    * This is thread-safe and is not locking this instance, the positions are not converted into
+    * {@link GeoLat}/{@link GeoLon} instances.
+    *
+    * @param allLatitudes
+    * @param allLongitudes
+    *
+    * @return Returns the elevation for each position, an elevation is {@link Float#MIN_VALUE}
+    *         when it is not available, same as {@link #getElevation(GeoLat, GeoLon)}
+    */
+   public float[] getElevations(final double[] allLatitudes, final double[] allLongitudes) {
+
+      final int numPositions = allLatitudes.length;
+
+      final float[] allElevations = new float[numPositions];
+
+      int prevFileLatitude = Integer.MIN_VALUE;
+      int prevFileLongitude = Integer.MIN_VALUE;
+
+      SRTM3ElevationFile elevationFile = null;
+
+      try {
+
+         for (int positionIndex = 0; positionIndex < numPositions; positionIndex++) {
+
+            final double latitude = allLatitudes[positionIndex];
+            final double longitude = allLongitudes[positionIndex];
+
+            final int fileLatitude = (int) Math.floor(latitude);
+            final int fileLongitude = (int) Math.floor(longitude);
+
+            if (fileLatitude != prevFileLatitude || fileLongitude != prevFileLongitude) {
+
+               // the positions of a tour are mostly in the same file -> lock the file cache only when the file is changing
+
+               if (elevationFile != null) {
+                  elevationFile.release();
+                  elevationFile = null;
+               }
+
+               elevationFile = getElevationFile(fileLatitude, fileLongitude);
+
+               prevFileLatitude = fileLatitude;
+               prevFileLongitude = fileLongitude;
+            }
+
+            allElevations[positionIndex] = getElevationGrid(
+                  elevationFile.__elevationFile,
+                  GRID_INTERVALS,
+                  latitude - fileLatitude,
+                  longitude - fileLongitude);
+         }
+
+      } finally {
+
+         if (elevationFile != null) {
+            elevationFile.release();
+         }
+      }
+
+      return allElevations;
+   }
+
    @Override
    public String getName() {
       return ELEVATION_ID;
@@ -0,0 +1,391 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.statistic;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import net.tourbook.common.util.SQL;
+import net.tourbook.common.util.Util;
+import net.tourbook.data.TourPerson;
+import net.tourbook.database.DatabaseQueryProfiler;
+import net.tourbook.database.TourDatabase;
+import net.tourbook.ui.AppFilter;
+import net.tourbook.ui.TourTypeFilter;
+
+/**
+ * Loads and caches the data for the statistics.
+ * <p>
+ * The statistic data are cached for each data type, person, tour type filter, year range and
+ * duration time, e.g. the distance, elevation and summary statistics of one month are displaying
+ * the same month data which are loaded only once.
+ * <p>
+ * The SQL queries of a year range are split into ranges with fewer years which are run
+ * concurrently.
+ */
+public final class StatisticQueryService {
+
+   /**
+    * Max number of statistic data which are cached
+    */
+   private static final int                                        MAX_CACHED_DATA = 30;
+
+   private static final LinkedHashMap<QueryKey, FutureTask<Object>> _allCachedData  = new LinkedHashMap<>(MAX_CACHED_DATA, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Entry<QueryKey, FutureTask<Object>> eldest) {
+         return size() > MAX_CACHED_DATA;
+      }
+   };
+
+   private static final ExecutorService                             _queryExecutor;
+
+   static {
+
+      final ThreadFactory threadFactory = new ThreadFactory() {
+
+         private int __threadNumber = 0;
+
+         @Override
+         public Thread newThread(final Runnable runnable) {
+
+            final String threadName = "StatisticQuery-" + __threadNumber++; //$NON-NLS-1$
+
+            final Thread thread = new Thread(runnable, threadName);
+
+            thread.setDaemon(true);
+
+            return thread;
+         }
+      };
+
+      _queryExecutor = Executors.newFixedThreadPool(Util.NUMBER_OF_PROCESSORS, threadFactory);
+   }
+
+   /**
+    * Key for the cached statistic data
+    *
+    * @param dataType
+    *           Class of the statistic data
+    * @param person
+    *           Person or <code>null</code> when all people are displayed
+    * @param tourTypeFilter
+    * @param lastYear
+    * @param numYears
+    * @param durationTime
+    *           Duration time or <code>null</code> when the data do not contain durations
+    */
+   public record QueryKey(Class<?> dataType,
+                          TourPerson person,
+                          TourTypeFilter tourTypeFilter,
+                          int lastYear,
+                          int numYears,
+                          DurationTime durationTime) {}
+
+   /**
+    * Rows of a statistic query which are read from all {@link ResultSet}s of the year ranges, the
+    * values can be read like from a {@link ResultSet}.
+    */
+   public static class QueryRows {
+
+      private final List<Object[]> _allRows  = new ArrayList<>();
+
+      private int                  _rowIndex = -1;
+
+      private Object[]             _row;
+
+      private QueryRows() {}
+
+      /**
+       * @param columnIndex
+       *           The first column is 1
+       *
+       * @return Returns the column value or 0 when the value is <code>null</code>
+       */
+      public float getFloat(final int columnIndex) {
+
+         final Number value = (Number) _row[columnIndex - 1];
+
+         return value == null ? 0 : value.floatValue();
+      }
+
+      public int getInt(final int columnIndex) {
+
+         final Number value = (Number) _row[columnIndex - 1];
+
+         return value == null ? 0 : value.intValue();
+      }
+
+      public long getLong(final int columnIndex) {
+
+         final Number value = (Number) _row[columnIndex - 1];
+
+         return value == null ? 0 : value.longValue();
+      }
+
+      public Object getObject(final int columnIndex) {
+
+         return _row[columnIndex - 1];
+      }
+
+      public boolean next() {
+
+         if (++_rowIndex < _allRows.size()) {
+
+            _row = _allRows.get(_rowIndex);
+
+            return true;
+         }
+
+         _row = null;
+
+         return false;
+      }
+   }
+
+   private StatisticQueryService() {}
+
+   /**
+    * Remove all cached statistic data, this must be called when tours are modified or when the
+    * app filter is changed
+    */
+   public static void clear() {
+
+      synchronized (_allCachedData) {
+         _allCachedData.clear();
+      }
+   }
+
+   /**
+    * @param firstYear
+    * @param lastYear
+    *
+    * @return Returns a comma separated list with all years from firstYear to lastYear
+    */
+   private static String createYearList(final int firstYear, final int lastYear) {
+
+      final StringBuilder sb = new StringBuilder();
+
+      for (int year = firstYear; year <= lastYear; year++) {
+
+         if (year != firstYear) {
+            sb.append(',');
+         }
+
+         sb.append(year);
+      }
+
+      return sb.toString();
+   }
+
+   /**
+    * @param <T>
+    * @param queryKey
+    * @param dataLoader
+    *           Loads the statistic data when they are not cached
+    *
+    * @return Returns the cached statistic data or the data from the data loader
+    */
+   @SuppressWarnings("unchecked")
+   public static <T> T getData(final QueryKey queryKey, final Supplier<T> dataLoader) {
+
+      FutureTask<Object> dataTask;
+      boolean isNewTask = false;
+
+      synchronized (_allCachedData) {
+
+         dataTask = _allCachedData.get(queryKey);
+
+         if (dataTask == null) {
+
+            dataTask = new FutureTask<>(dataLoader::get);
+            isNewTask = true;
+
+            _allCachedData.put(queryKey, dataTask);
+         }
+      }
+
+      if (isNewTask) {
+
+         // load data in this thread, the queries of the years are run concurrently
+         dataTask.run();
+      }
+
+      try {
+
+         return (T) dataTask.get();
+
+      } catch (InterruptedException | ExecutionException e) {
+
+         // a failed loading must not be cached
+         synchronized (_allCachedData) {
+            _allCachedData.remove(queryKey, dataTask);
+         }
+
+         if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+         }
+
+         if (e.getCause() instanceof final RuntimeException runtimeException) {
+            throw runtimeException;
+         }
+
+         throw new RuntimeException(e);
+      }
+   }
+
+   /**
+    * Run a statistic query for all years, the years are split into year ranges which are queried
+    * concurrently.
+    *
+    * @param queryName
+    *           Name of the query in the {@link DatabaseQueryProfiler}
+    * @param lastYear
+    * @param numYears
+    * @param sqlCreator
+    *           Creates the SQL statement for a comma separated list of years, the rows must be
+    *           sorted by year
+    * @param appFilter
+    *           The parameters of this filter are set into the SQL statement
+    *
+    * @return Returns the rows of all years sorted by the years
+    *
+    * @throws RuntimeException
+    *            When a year range cannot be loaded, incomplete rows must not be cached by
+    *            {@link #getData(QueryKey, Supplier)}
+    */
+   public static QueryRows loadRows(final String queryName,
+                                    final int lastYear,
+                                    final int numYears,
+                                    final Function<String, String> sqlCreator,
+                                    final AppFilter appFilter) {
+
+      final QueryRows queryRows = new QueryRows();
+
+      final int firstYear = lastYear - numYears + 1;
+      final int numRanges = Math.min(numYears, Util.NUMBER_OF_PROCESSORS);
+
+      if (numRanges <= 1) {
+
+         // there is nothing to run concurrently
+         queryRows._allRows.addAll(loadRows_Years(queryName, createYearList(firstYear, lastYear), sqlCreator, appFilter));
+
+         return queryRows;
+      }
+
+      final List<Callable<List<Object[]>>> allRangeLoaders = new ArrayList<>();
+
+      int rangeFirstYear = firstYear;
+
+      for (int rangeIndex = 0; rangeIndex < numRanges; rangeIndex++) {
+
+         // distribute the years as evenly as possible
+         final int numRangeYears = (numYears - (rangeFirstYear - firstYear)) / (numRanges - rangeIndex);
+         final int rangeLastYear = rangeFirstYear + numRangeYears - 1;
+
+         final String yearList = createYearList(rangeFirstYear, rangeLastYear);
+
+         allRangeLoaders.add(() -> loadRows_Years(queryName, yearList, sqlCreator, appFilter));
+
+         rangeFirstYear = rangeLastYear + 1;
+      }
+
+      try {
+
+         // the ranges are sorted by year, so the rows are also sorted by year
+         for (final Future<List<Object[]>> rangeRows : _queryExecutor.invokeAll(allRangeLoaders)) {
+            queryRows._allRows.addAll(rangeRows.get());
+         }
+
+      } catch (final InterruptedException e) {
+
+         Thread.currentThread().interrupt();
+
+         throw new RuntimeException(e);
+
+      } catch (final ExecutionException e) {
+
+         // the SQL exception is already displayed
+
+         if (e.getCause() instanceof final RuntimeException runtimeException) {
+            throw runtimeException;
+         }
+
+         throw new RuntimeException(e);
+      }
+
+      return queryRows;
+   }
+
+   private static List<Object[]> loadRows_Years(final String queryName,
+                                                final String yearList,
+                                                final Function<String, String> sqlCreator,
+                                                final AppFilter appFilter) {
+
+      final List<Object[]> allRows = new ArrayList<>();
+
+      final String sql = sqlCreator.apply(yearList);
+
+      try (Connection conn = TourDatabase.getInstance().getConnection();
+            PreparedStatement prepStmt = conn.prepareStatement(sql)) {
+
+         appFilter.setParameters(prepStmt, 1);
+
+         final long profilerStart = DatabaseQueryProfiler.start(conn);
+
+         final ResultSet result = prepStmt.executeQuery();
+         final int numColumns = result.getMetaData().getColumnCount();
+
+         while (result.next()) {
+
+            final Object[] row = new Object[numColumns];
+
+            for (int columnIndex = 0; columnIndex < numColumns; columnIndex++) {
+               row[columnIndex] = result.getObject(columnIndex + 1);
+            }
+
+            allRows.add(row);
+         }
+
+         DatabaseQueryProfiler.stop(conn, queryName, profilerStart);
+
+      } catch (final SQLException e) {
+
+         SQL.showException(e, sql);
+
+         throw new RuntimeException(e);
+      }
+
+      return allRows;
+   }
+}
@@ -1063,6 +1063,9 @@ public class StatisticView extends ViewPart implements ITourProvider {
       // update number of years is _comboNumberOfYears
       onSelectYear(false);
 
+      // cached statistic data are outdated
+      StatisticQueryService.clear();
+
       // tell all existing statistics the data have changed
       for (final TourbookStatistic statistic : getAvailableStatistics()) {
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (C) 2005, 2021 Wolfgang Schramm and Contributors
+ * Copyright (C) 2005, 2026 Wolfgang Schramm and Contributors
  *
  * This program is free software; you can redistribute it and/or modify it under
  * the terms of the GNU General Public License as published by the Free Software
@@ -15,114 +15,202 @@
  *******************************************************************************/
 package net.tourbook.tour;
 
-import java.util.Queue;
-import java.util.concurrent.ArrayBlockingQueue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
 
 import net.tourbook.data.TourData;
 
 /**
  * Cache for {@link TourData}
+ * <p>
+ * The cache size is limited by the memory which is used by the data series of the cached tours, a
+ * 100k time slices tour uses much more memory than a 1k time slices tour. The number of cached
+ * tours is also limited because each tour is weighted with at least
+ * <code>maxMemory / maxTours</code>.
+ * <p>
+ * Eviction is done by Caffeine (Window TinyLFU) without a global lock. TinyLFU can evict or reject
+ * a tour which was just put into the cache, therefore all cached tours are also weakly referenced.
+ * A tour which is still used, e.g. in an editor or a view, is returned from the weak references
+ * until it is garbage collected, so that there is always only ONE {@link TourData} instance for a
+ * tour.
  */
-class TourDataCache {
+public class TourDataCache {
 
-   private static final ReentrantLock              CACHE_LOCK = new ReentrantLock();
+   /**
+    * Weak reference to a cached tour which is still available when the tour is evicted
+    */
+   private static final class TourReference extends WeakReference<TourData> {
 
-   private final ConcurrentHashMap<Long, TourData> _tourCache;
-   private final Queue<Long>                       _fifoQueue;
+      private final Long __tourId;
 
-   private int                                     _cacheSize;
-   private int                                     _cacheLowMark;
+      private TourReference(final Long tourId, final TourData tourData, final ReferenceQueue<TourData> referenceQueue) {
 
-   public TourDataCache(final int cacheSize) {
+         super(tourData, referenceQueue);
 
-      _cacheSize = cacheSize;
-      _cacheLowMark = Math.max(1, cacheSize - 100);
+         __tourId = tourId;
+      }
+   }
 
-      _tourCache = new ConcurrentHashMap<>();
-      _fifoQueue = new ArrayBlockingQueue<>(_cacheSize);
+   /**
+    * Memory of a tour without data series in KByte
+    */
+   private static final int                             TOUR_BASE_SIZE_KB      = 8;
+
+   /**
+    * Factor for all other data series, e.g. cadence, power, speed, pace, gradient, altimeter,
+    * smoothed values... which are mostly computed when a tour is displayed. The getters are not
+    * used because they could compute these values.
+    */
+   private static final int                             COMPUTED_SERIES_FACTOR = 3;
+
+   private final Cache<Long, TourData>                  _tourCache;
+
+   /**
+    * Contains all tours which were put into the cache and which are not yet garbage collected
+    */
+   private final ConcurrentHashMap<Long, TourReference> _allUsedTours  = new ConcurrentHashMap<>();
+   private final ReferenceQueue<TourData>               _releasedTours = new ReferenceQueue<>();
+
+   private final int                                    _minTourWeight_KB;
+
+   /**
+    * @param maxTours
+    *           Max number of cached tours
+    * @param maxMemory_MB
+    *           Max memory in MByte which is used by all cached tours
+    */
+   public TourDataCache(final int maxTours, final int maxMemory_MB) {
+
+      final long maxWeight_KB = Math.max(1, maxMemory_MB) * 1024L;
+
+      _minTourWeight_KB = (int) Math.max(1, maxWeight_KB / Math.max(1, maxTours));
+
+      _tourCache = Caffeine.newBuilder()
+            .maximumWeight(maxWeight_KB)
+            .weigher((final Long tourId, final TourData tourData) -> getTourWeight(tourData))
+            .recordStats()
+            .build();
    }
 
-   public void clear() {
+   /**
+    * @param tourData
+    *
+    * @return Returns the estimated memory size in KByte for all data series of a tour
+    */
+   static int estimateMemorySize_KB(final TourData tourData) {
 
-      CACHE_LOCK.lock();
-      {
-         try {
-            _tourCache.clear();
-            _fifoQueue.clear();
-         } finally {
-            CACHE_LOCK.unlock();
-         }
-      }
+      long numBytes = 0;
+
+// SET_FORMATTING_OFF
+
+      numBytes += tourData.timeSerie            == null ? 0 : tourData.timeSerie.length            * 4L;
+      numBytes += tourData.distanceSerie        == null ? 0 : tourData.distanceSerie.length        * 4L;
+      numBytes += tourData.altitudeSerie        == null ? 0 : tourData.altitudeSerie.length        * 4L;
+      numBytes += tourData.pulseSerie           == null ? 0 : tourData.pulseSerie.length           * 4L;
+      numBytes += tourData.temperatureSerie     == null ? 0 : tourData.temperatureSerie.length     * 4L;
+      numBytes += tourData.latitudeSerie        == null ? 0 : tourData.latitudeSerie.length        * 8L;
+      numBytes += tourData.longitudeSerie       == null ? 0 : tourData.longitudeSerie.length       * 8L;
+      numBytes += tourData.gearSerieCombined    == null ? 0 : tourData.gearSerieCombined.length    * 8L;
+
+// SET_FORMATTING_ON
+
+      return (int) Math.min(Integer.MAX_VALUE, TOUR_BASE_SIZE_KB + numBytes * COMPUTED_SERIES_FACTOR / 1024);
    }
 
-   public TourData get(final Long tourId) {
-      return _tourCache.get(tourId);
+   public void clear() {
+
+      _tourCache.invalidateAll();
+      _allUsedTours.clear();
    }
 
-   public ConcurrentHashMap<Long, TourData> getCache() {
-      return _tourCache;
+   /**
+    * Remove the references of all tours which are garbage collected
+    */
+   private void expungeReleasedTours() {
+
+      TourReference releasedTour;
+
+      while ((releasedTour = (TourReference) _releasedTours.poll()) != null) {
+         _allUsedTours.remove(releasedTour.__tourId, releasedTour);
+      }
    }
 
-   public void put(final Long tourId, final TourData tourData) {
+   /**
+    * @param tourId
+    *
+    * @return Returns the cached tour or a tour which was evicted from the cache but is still used,
+    *         otherwise <code>null</code>
+    */
+   public TourData get(final Long tourId) {
 
-      CACHE_LOCK.lock();
-      {
-         try {
+      final TourData cachedTourData = _tourCache.getIfPresent(tourId);
 
-            final int fifoQueueSize = _fifoQueue.size();
+      if (cachedTourData != null) {
+         return cachedTourData;
+      }
 
-            // MUST test with >= otherwise a Queue full exceptions occures
-            if (fifoQueueSize >= _cacheSize) {
+      final TourReference usedTour = _allUsedTours.get(tourId);
+      final TourData usedTourData = usedTour == null ? null : usedTour.get();
 
-//               final long start = System.nanoTime();
+      if (usedTourData != null) {
 
-               for (int adjustedQueueSize = fifoQueueSize; adjustedQueueSize > _cacheLowMark; adjustedQueueSize--) {
+         // tour is still used -> cache it again
+         _tourCache.put(tourId, usedTourData);
+      }
 
-                  // remove all entries until the cache low mark is reached
+      return usedTourData;
+   }
 
-                  final Long head = _fifoQueue.poll();
-                  _tourCache.remove(head);
-               }
+   /**
+    * @return Returns all tours which are cached or which are still used
+    */
+   public List<TourData> getAllTours() {
 
-//               final long end = System.nanoTime();
-//               System.out.println("TourDataCache: removed "
-//                     + (queueSize - MAX_TOUR_CACHE_ENTRIES_LOW)
-//                     + " items in "
-//                     + ((end - start) / 1000000.0)
-//                     + "ms");
-//               // TODO remove SYSTEM.OUT.PRINTLN
-            }
+      final List<TourData> allTours = new ArrayList<>();
 
-            // remove entry which has the same tour id
-            if (_tourCache.containsKey(tourId)) {
-               _tourCache.remove(tourId);
-               _fifoQueue.remove(tourId);
-            }
+      for (final TourReference usedTour : _allUsedTours.values()) {
 
-            _tourCache.put(tourId, tourData);
-            _fifoQueue.add(tourId);
+         final TourData tourData = usedTour.get();
 
-         } finally {
-            CACHE_LOCK.unlock();
+         if (tourData != null) {
+            allTours.add(tourData);
          }
       }
+
+      return allTours;
    }
 
-   public void remove(final Long tourId) {
+   /**
+    * @return Returns hit/miss/eviction statistics since the cache was created
+    */
+   public CacheStats getStatistics() {
 
-      if (_tourCache.containsKey(tourId)) {
+      return _tourCache.stats();
+   }
 
-         CACHE_LOCK.lock();
-         {
-            try {
-               _tourCache.remove(tourId);
-               _fifoQueue.remove(tourId);
-            } finally {
-               CACHE_LOCK.unlock();
-            }
-         }
-      }
+   private int getTourWeight(final TourData tourData) {
+
+      return Math.max(_minTourWeight_KB, estimateMemorySize_KB(tourData));
+   }
+
+   public void put(final Long tourId, final TourData tourData) {
+
+      expungeReleasedTours();
+
+      _allUsedTours.put(tourId, new TourReference(tourId, tourData, _releasedTours));
+      _tourCache.put(tourId, tourData);
+   }
+
+   public void remove(final Long tourId) {
+
+      _tourCache.invalidate(tourId);
+      _allUsedTours.remove(tourId);
    }
 }
@@ -17,6 +17,8 @@ package net.tourbook.tour;
 
 import de.byteholder.geoclipse.map.PaintedMapPoint;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
 import java.lang.reflect.InvocationTargetException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -31,16 +33,17 @@ import java.util.Formatter;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -106,6 +109,7 @@ import net.tourbook.ui.views.collateTours.CollatedToursView;
 import net.tourbook.ui.views.rawData.RawDataView;
 import net.tourbook.ui.views.tourBook.TourBookView;
 import net.tourbook.ui.views.tourDataEditor.TourDataEditorView;
+import net.tourbook.weather.BulkWeatherRetriever;
 import net.tourbook.weather.TourWeatherRetriever;
 
 import org.eclipse.collections.impl.list.mutable.primitive.DoubleArrayList;
@@ -139,13 +143,18 @@ import org.eclipse.ui.dialogs.PreferencesUtil;
 
 public class TourManager {
 
-   private static final String SYS_PROP__LOG_RR_ERRORS = "logRRErrors";                                      //$NON-NLS-1$
-   private static boolean      _isLogging_RR_Errors    = System.getProperty(SYS_PROP__LOG_RR_ERRORS) != null;
+   private static final String SYS_PROP__LOG_RR_ERRORS       = "logRRErrors";                                            //$NON-NLS-1$
+   private static final String SYS_PROP__LOG_TOUR_DATA_CACHE = "logTourDataCache";                                       //$NON-NLS-1$
+   private static boolean      _isLogging_RR_Errors          = System.getProperty(SYS_PROP__LOG_RR_ERRORS) != null;
+   private static boolean      _isLogging_TourDataCache      = System.getProperty(SYS_PROP__LOG_TOUR_DATA_CACHE) != null;
 
    static {
       if (_isLogging_RR_Errors) {
          Util.logSystemProperty_IsEnabled(TourManager.class, SYS_PROP__LOG_RR_ERRORS, "R-R errors are logged"); //$NON-NLS-1$
       }
+      if (_isLogging_TourDataCache) {
+         Util.logSystemProperty_IsEnabled(TourManager.class, SYS_PROP__LOG_TOUR_DATA_CACHE, "Tour data cache statistics are logged"); //$NON-NLS-1$
+      }
    }
    //
    static final String         LOG_TEMP_ADJUST_001_START                       = Messages.Log_TemperatureAdjustment_001_Start;
@@ -158,6 +167,7 @@ public class TourManager {
    //
    private static final String LOG_RETRIEVE_WEATHER_DATA_001_START             = Messages.Log_RetrieveWeatherData_001_Start;
    private static final String LOG_RETRIEVE_WEATHER_DATA_002_END               = Messages.Log_RetrieveWeatherData_002_End;
+   private static final String LOG_RETRIEVE_WEATHER_DATA_004_CACHED_RESPONSES  = Messages.Log_RetrieveWeatherData_004_CachedResponses;
    private static final String LOG_RETRIEVE_WEATHER_DATA_010_NO_GPS_DATA_SERIE = Messages.Log_RetrieveWeatherData_010_NoGpsDataSeries;
    //
    public static final String  CUSTOM_DATA_TOUR_DATA                           = "tourData";                                                    //$NON-NLS-1$
@@ -240,6 +250,11 @@ public class TourManager {
    public static final int     GRAPH_TOUR_COMPARE                              = 2000;
    public static final int     GRAPH_TOUR_COMPARE_REF_TOUR                     = 2001;
    //
+   /**
+    * Number of tours which are loaded together when multiple tours are displayed, e.g. in the map
+    */
+   private static final int    LOAD_TOUR_DATA_CHUNK_SIZE                       = 200;
+   //
    //
    /**
     * Contains all graph id's which are displayed as a graph in the tour chart and correspond to a
@@ -320,25 +335,6 @@ public class TourManager {
    private static long                     _allLoaded_TourData_Key;
    private static int                      _allLoaded_TourIds_Hash;
    //
-   private static CountDownLatch           _loadingTour_CountDownLatch;
-   private static ThreadPoolExecutor       _loadingTour_Executor;
-   private static ArrayBlockingQueue<Long> _loadingTour_Queue = new ArrayBlockingQueue<>(Util.NUMBER_OF_PROCESSORS);
-   //
-   static {
-
-      final ThreadFactory loadingThreadFactory = runnable -> {
-
-         final Thread thread = new Thread(runnable, "TourManager : Loading tours from DB");//$NON-NLS-1$
-
-         thread.setPriority(Thread.MIN_PRIORITY);
-         thread.setDaemon(true);
-
-         return thread;
-      };
-
-      _loadingTour_Executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(Util.NUMBER_OF_PROCESSORS, loadingThreadFactory);
-   }
-   //
    private static CountDownLatch           _tourUpdate_CountDownLatch;
    private static ThreadPoolExecutor       _tourUpdate_Executor;
    private static ArrayBlockingQueue<Long> _tourUpdate_Queue = new ArrayBlockingQueue<>(Util.NUMBER_OF_PROCESSORS);
@@ -412,25 +408,16 @@ public class TourManager {
    private TourManager() {
 
       final int cacheSize = _prefStore.getInt(ITourbookPreferences.TOUR_CACHE_SIZE);
-      if (cacheSize > 1) {
-
-         /*
-          * Cache size == 1 causes "java.lang.IllegalStateException: Queue full"
-          */
-
-         _tourDataCache = new TourDataCache(cacheSize);
-
-      } else {
-
-         /**
-          * VERY IMPORTANT
-          * <p>
-          * When cache size is 0, each time when the same tour is requested from the tour manager, a
-          * new TourData entity is created. So each opened view gets a new {@link TourData} for the
-          * same tour which causes LOTs of troubles.
-          */
-         _tourDataCache = new TourDataCache(10);
-      }
+      final int cacheSize_MB = _prefStore.getInt(ITourbookPreferences.TOUR_CACHE_SIZE_MB);
+
+      /**
+       * VERY IMPORTANT
+       * <p>
+       * When cache size is 0, each time when the same tour is requested from the tour manager, a
+       * new TourData entity is created. So each opened view gets a new {@link TourData} for the
+       * same tour which causes LOTs of troubles.
+       */
+      _tourDataCache = new TourDataCache(cacheSize > 1 ? cacheSize : 10, cacheSize_MB);
 
       createAvgCallbacks();
 
@@ -2218,32 +2205,26 @@ public class TourManager {
       allTourData.clear();
 
       final long startTime = System.currentTimeMillis();
-      boolean isLongDuration = false;
 
       // create a unique key for all tours
       final AtomicLong newOverlayKey = new AtomicLong();
-      final int[] tourIndex = { 0 };
       final int numTourIds = allTourIds.size();
+      final int[] tourIndex = { 0 };
 
       while (tourIndex[0] < numTourIds) {
 
-         final Long tourId = allTourIds.get(tourIndex[0]);
-         loadTourData_OneTour(tourId, allTourData, isCheckLatLon, newOverlayKey);
+         tourIndex[0] = loadTourData_Chunk(allTourIds, tourIndex[0], allTourData, isCheckLatLon, newOverlayKey);
 
          /*
-          * Check if this is a long duration -> run with progress monitor and concurrent
+          * Check if this is a long duration -> run with progress monitor
           */
          final long runDuration = System.currentTimeMillis() - startTime;
          if (runDuration > 1000) {
-            isLongDuration = true;
-            ++tourIndex[0];
             break;
          }
-
-         ++tourIndex[0];
       }
 
-      if (isLongDuration && tourIndex[0] < numTourIds) {
+      if (tourIndex[0] < numTourIds) {
 
          try {
 
@@ -2252,78 +2233,22 @@ public class TourManager {
                public void run(final IProgressMonitor monitor)
                      throws InvocationTargetException, InterruptedException {
 
-                  /*
-                   * Setup concurrency
-                   */
-                  _loadingTour_CountDownLatch = new CountDownLatch(numTourIds - tourIndex[0]);
-                  _loadingTour_Queue.clear();
-
-                  final ConcurrentHashMap<Long, TourData> allTourData_Concurrent = new ConcurrentHashMap<>();
-
-                  /*
-                   * Setup monitor
-                   */
-                  long lastUpdateTime = startTime;
-
-                  final AtomicInteger numWorkedTours = new AtomicInteger(tourIndex[0]);
-                  int numLastWorked = 0;
-
                   monitor.beginTask(Messages.Tour_Data_LoadTourData_Monitor, numTourIds);
+                  monitor.worked(tourIndex[0]);
 
                   while (tourIndex[0] < numTourIds) {
 
                      if (monitor.isCanceled()) {
-
-                        /*
-                         * Count down all, that the loading task can finish but process loaded tours
-                         */
-                        long numCounts = _loadingTour_CountDownLatch.getCount();
-                        while (numCounts-- > 0) {
-                           _loadingTour_CountDownLatch.countDown();
-                        }
-
                         break;
                      }
 
-                     /*
-                      * Update monitor
-                      */
-                     final long currentTime = System.currentTimeMillis();
-                     final long timeDiff = currentTime - lastUpdateTime;
-
-                     // reduce logging
-                     if (timeDiff > 500) {
-
-                        lastUpdateTime = currentTime;
-
-                        final int numWorked = numWorkedTours.get();
-
-                        // "{0} / {1} - {2} % - {3} Δ"
-                        UI.showWorkedInProgressMonitor(monitor, numWorked, numTourIds, numLastWorked);
-
-                        numLastWorked = numWorked;
-                     }
-
-                     final Long tourId = allTourIds.get(tourIndex[0]);
-
-                     loadTourData_Concurrent(
-
-                           tourId,
-                           allTourData_Concurrent,
-                           numWorkedTours,
-                           isCheckLatLon,
-                           newOverlayKey,
-                           monitor);
-
-                     ++tourIndex[0];
-                  }
+                     final int numLastWorked = tourIndex[0];
 
-                  // wait until all loadings are performed
-                  _loadingTour_CountDownLatch.await();
+                     tourIndex[0] = loadTourData_Chunk(allTourIds, tourIndex[0], allTourData, isCheckLatLon, newOverlayKey);
 
-                  // add new loaded tours
-                  for (final Entry<Long, TourData> entry : allTourData_Concurrent.entrySet()) {
-                     allTourData.add(entry.getValue());
+                     // "{0} / {1} - {2} % - {3} Δ"
+                     UI.showWorkedInProgressMonitor(monitor, tourIndex[0], numTourIds, numLastWorked);
+                     monitor.worked(tourIndex[0] - numLastWorked);
                   }
                }
             };
@@ -2348,101 +2273,38 @@ public class TourManager {
       return _allLoaded_TourData_Key;
    }
 
-   private static void loadTourData_Concurrent(final Long tourId,
-                                               final ConcurrentHashMap<Long, TourData> allTourData_Concurrent,
-                                               final AtomicInteger numWorkedTours,
-                                               final boolean isCheckLatLon,
-                                               final AtomicLong newOverlayKey,
-                                               final IProgressMonitor monitor) {
-
-      try {
-
-         // put tour ID (queue item) into the queue AND wait when it is full
-
-         _loadingTour_Queue.put(tourId);
-
-      } catch (final InterruptedException e) {
-
-         StatusUtil.log(e);
-         Thread.currentThread().interrupt();
-      }
-
-      _loadingTour_Executor.submit(() -> {
-
-         try {
-
-            // get last added item
-            final Long queueItem_TourId = _loadingTour_Queue.poll();
-
-            if (queueItem_TourId != null) {
-
-               loadTourData_OneTour_Concurrent(
+   /**
+    * Load the next chunk of tours with a few SQL statements
+    *
+    * @param allTourIds
+    * @param fromIndex
+    * @param allTourData
+    * @param isCheckLatLon
+    * @param newOverlayKey
+    *
+    * @return Returns the index of the next tour which is not yet loaded
+    */
+   private static int loadTourData_Chunk(final List<Long> allTourIds,
+                                         final int fromIndex,
+                                         final List<TourData> allTourData,
+                                         final boolean isCheckLatLon,
+                                         final AtomicLong newOverlayKey) {
 
-                     queueItem_TourId,
-                     allTourData_Concurrent,
-                     isCheckLatLon,
-                     newOverlayKey);
-            }
+      final int toIndex = Math.min(fromIndex + LOAD_TOUR_DATA_CHUNK_SIZE, allTourIds.size());
 
-         } finally {
+      for (final TourData tourData : getInstance().getTourData(allTourIds.subList(fromIndex, toIndex))) {
 
-            if (monitor != null) {
-               monitor.worked(1);
-            }
+         if (isCheckLatLon == false || isLatLonAvailable(tourData)) {
 
-            numWorkedTours.incrementAndGet();
+            // keep tour data for each tour id
+            allTourData.add(tourData);
 
-            _loadingTour_CountDownLatch.countDown();
+            // update key for all tours
+            newOverlayKey.getAndAdd(tourData.getTourId());
          }
-      });
-   }
-
-   private static void loadTourData_OneTour(final Long tourId,
-                                            final List<TourData> allTourData,
-                                            final boolean isCheckLatLon,
-                                            final AtomicLong newOverlayKey) {
-
-      final TourData tourData = getInstance().getTourData(tourId);
-
-      if (tourData == null) {
-
-         // this happened when switching tour type during normal startup but all was not yet loaded
-
-         return;
-      }
-
-      if (isCheckLatLon == false || isLatLonAvailable(tourData)) {
-
-         // keep tour data for each tour id
-         allTourData.add(tourData);
-
-         // update key for all tours
-         newOverlayKey.getAndAdd(tourData.getTourId());
-      }
-   }
-
-   private static void loadTourData_OneTour_Concurrent(final Long tourId,
-                                                       final ConcurrentHashMap<Long, TourData> allTourData,
-                                                       final boolean isCheckLatLon,
-                                                       final AtomicLong newOverlayKey) {
-
-      final TourData tourData = getInstance().getTourData(tourId);
-
-      if (tourData == null) {
-
-         // this happened when switching tour type during normal startup but all was not yet loaded
-
-         return;
       }
 
-      if (isCheckLatLon == false || isLatLonAvailable(tourData)) {
-
-         // keep tour data for each tour id
-         allTourData.put(tourData.getTourId(), tourData);
-
-         // update key for all tours
-         newOverlayKey.getAndAdd(tourData.getTourId());
-      }
+      return toIndex;
    }
 
    /**
@@ -3049,33 +2911,36 @@ public class TourManager {
             @Override
             public void run(final IProgressMonitor monitor) throws InvocationTargetException, InterruptedException {
 
-               final int numTours = allTourData.size();
-               int numRetrieved = 0;
+               monitor.beginTask(Messages.Tour_Data_RetrievingWeatherData_Monitor, allTourData.size());
 
-               monitor.beginTask(Messages.Tour_Data_RetrievingWeatherData_Monitor, numTours);
+               final BulkWeatherRetriever bulkRetriever = new BulkWeatherRetriever(
+                     weatherProvider,
+                     BulkWeatherRetriever.getDefaultCacheFolder());
 
-               // loop: all tours
-               for (final TourData tourData : allTourData) {
+               final AtomicBoolean isLimitReached = new AtomicBoolean();
 
-                  monitor.subTask(NLS.bind(
-                        Messages.Tour_Data_RetrievingWeatherData_Monitor_Subtask,
-                        numRetrieved,
-                        numTours));
+               // the tours are retrieved concurrently
+               allModifiedTours.addAll(bulkRetriever.retrieveWeatherData(allTourData, monitor, tourData -> {
 
-                  if (monitor.isCanceled()) {
-                     break;
+                  if (isLimitReached.get()) {
+                     return false;
                   }
 
                   if (!TourWeatherRetriever.canRetrieveWeather(weatherProvider)) {
-                     TourLogManager.log_ERROR(weatherRetrievalFailureLogMessage);
-                     break;
+
+                     if (isLimitReached.getAndSet(true) == false) {
+                        TourLogManager.log_ERROR(weatherRetrievalFailureLogMessage);
+                     }
+
+                     return false;
                   }
 
-                  retrieveWeatherData_OneTour(tourData, allModifiedTours, weatherProvider);
+                  return retrieveWeatherData_OneTour(tourData, weatherProvider, bulkRetriever);
+               }));
 
-                  numRetrieved++;
-                  monitor.worked(1);
-               }
+               TourLogManager.subLog_INFO(String.format(
+                     LOG_RETRIEVE_WEATHER_DATA_004_CACHED_RESPONSES,
+                     bulkRetriever.getNumCachedResponses()));
             }
          };
 
@@ -3099,12 +2964,14 @@ public class TourManager {
 
    /**
     * @param tourData
-    * @param allModifiedTours
     * @param weatherProvider
+    * @param bulkRetriever
+    *
+    * @return Returns <code>true</code> when the tour is modified
     */
-   private static void retrieveWeatherData_OneTour(final TourData tourData,
-                                                   final List<TourData> allModifiedTours,
-                                                   final String weatherProvider) {
+   private static boolean retrieveWeatherData_OneTour(final TourData tourData,
+                                                      final String weatherProvider,
+                                                      final BulkWeatherRetriever bulkRetriever) {
 
       // ensure data is available
       if (tourData.latitudeSerie == null || tourData.longitudeSerie == null) {
@@ -3113,13 +2980,10 @@ public class TourManager {
                LOG_RETRIEVE_WEATHER_DATA_010_NO_GPS_DATA_SERIE,
                getTourDateTimeShort(tourData)));
 
-         return;
+         return false;
       }
 
-      if (TourWeatherRetriever.retrieveWeatherData(tourData, weatherProvider)) {
-
-         allModifiedTours.add(tourData);
-      }
+      return TourWeatherRetriever.retrieveWeatherData(tourData, weatherProvider, bulkRetriever);
    }
 
    /**
@@ -4140,6 +4004,10 @@ public class TourManager {
     */
    public void clearTourDataCache() {
 
+      if (_isLogging_TourDataCache) {
+         logTourDataCacheStatistics();
+      }
+
       _tourDataCache.clear();
 
       if (_tourDataEditorInstance != null && _tourDataEditorInstance.isDirty()) {
@@ -6648,6 +6516,61 @@ public class TourManager {
       }
    }
 
+   /**
+    * Get many tours from the cache or the database. The tours which are not cached are loaded with
+    * a few SQL statements for all tours and not with several SQL statements for each tour.
+    *
+    * @param allTourIds
+    *
+    * @return Returns all available tours in the order of the tour IDs
+    */
+   public List<TourData> getTourData(final List<Long> allTourIds) {
+
+      final TourData tourDataInEditor = _tourDataEditorInstance == null
+            ? null
+            : _tourDataEditorInstance.getTourData();
+
+      final List<Long> allNotCachedTourIds = new ArrayList<>();
+
+      for (final Long tourId : allTourIds) {
+
+         if (tourId != null
+               && _tourDataCache.get(tourId) == null
+               && (tourDataInEditor == null || tourId.equals(tourDataInEditor.getTourId()) == false)) {
+
+            allNotCachedTourIds.add(tourId);
+         }
+      }
+
+      final Map<Long, TourData> allDbTours = TourDatabase.getToursFromDb(allNotCachedTourIds);
+
+      final List<TourData> allTourData = new ArrayList<>();
+
+      for (final Long tourId : allTourIds) {
+
+         final TourData dbTourData = allDbTours.get(tourId);
+
+         if (dbTourData != null) {
+
+            // cache tour data
+            _tourDataCache.put(tourId, dbTourData);
+
+            allTourData.add(dbTourData);
+
+         } else {
+
+            // get tour from the editor, cache or raw data manager
+            final TourData tourData = getTourData(tourId);
+
+            if (tourData != null) {
+               allTourData.add(tourData);
+            }
+         }
+      }
+
+      return allTourData;
+   }
+
    /**
     * Get a tour from the cache, the cache is necessary because getting a tour from the database
     * creates always a new instance.
@@ -6714,6 +6637,14 @@ public class TourManager {
       return existingTourData;
    }
 
+   /**
+    * @return Returns hit/miss/eviction statistics of the tour data cache
+    */
+   public CacheStats getTourDataCacheStatistics() {
+
+      return _tourDataCache.getStatistics();
+   }
+
    /**
     * Get a tour from the database and keep it in the cache
     *
@@ -6739,6 +6670,12 @@ public class TourManager {
       return tourDataFromDb;
    }
 
+   private void logTourDataCacheStatistics() {
+
+      System.out.println(UI.timeStampNano() + " [" + getClass().getSimpleName() + "] " //$NON-NLS-1$ //$NON-NLS-2$
+            + _tourDataCache.getStatistics());
+   }
+
    /**
     * Opens the tour for the given tour id
     *
@@ -6854,7 +6791,7 @@ public class TourManager {
 
    public void resetMapPositions() {
 
-      for (final TourData tourData : _tourDataCache.getCache().values()) {
+      for (final TourData tourData : _tourDataCache.getAllTours()) {
          tourData.mapCenterPositionLatitude = Double.MIN_VALUE;
          tourData.mapCenterPositionLongitude = Double.MIN_VALUE;
       }
@@ -35,6 +35,7 @@ import net.tourbook.common.UI;
 import net.tourbook.common.time.TimeTools;
 import net.tourbook.common.util.StatusUtil;
 import net.tourbook.common.util.Util;
+import net.tourbook.database.DatabaseQueryProfiler;
 import net.tourbook.database.TourDatabase;
 import net.tourbook.map2.view.Map2View;
 import net.tourbook.ui.AppFilter;
@@ -255,17 +256,24 @@ public class TourGeoFilter_Loader {
             stmtSelect.setInt(paramIndex, allLatLonParts.get(partIndex));
          }
 
+         final long profilerStart = DatabaseQueryProfiler.start(conn);
+
          final ResultSet result = stmtSelect.executeQuery();
 
          while (result.next()) {
 
             if (geoLoaderData.isCanceled) {
+
+               DatabaseQueryProfiler.stop(conn, "Geo Filter - Tours", profilerStart); //$NON-NLS-1$
+
                return false;
             }
 
             allTourIds.add(result.getLong(1));
          }
 
+         DatabaseQueryProfiler.stop(conn, "Geo Filter - Tours", profilerStart); //$NON-NLS-1$
+
       } catch (final SQLException e) {
 
          StatusUtil.logError(sqlSelect);
@@ -0,0 +1,626 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.tour.location;
+
+import static net.tourbook.common.UI.NL;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import net.tourbook.common.UI;
+import net.tourbook.data.TourLocation;
+import net.tourbook.database.TourDatabase;
+
+/**
+ * In-memory spatial index of the resized bounding boxes of all {@link TourLocation}s. It is a
+ * packed R-tree (sort-tile-recursive) which is not modified, added and removed locations are kept
+ * beside the packed R-tree until the R-tree is packed again.
+ * <p>
+ * The index is immutable for readers, a lookup is not locking and can run concurrently with
+ * modifications.
+ */
+public class TourLocationIndex {
+
+   public static final long  LOCATION_IS_NOT_AVAILABLE = -1;
+
+   /**
+    * Max number of children of a R-tree node
+    */
+   private static final int  NODE_SIZE                 = 16;
+
+   /**
+    * Number of values for each node: lat min, lat max, lon min, lon max, max zoomlevel
+    */
+   private static final int  NODE_VALUES               = 5;
+
+   /**
+    * The R-tree is packed again when the added and removed locations are more than this ratio of
+    * the packed locations, but at least {@link #MIN_CHANGES_TO_PACK}
+    */
+   private static final int  MIN_CHANGES_TO_PACK       = 64;
+   private static final int  CHANGES_TO_PACK_RATIO     = 8;
+
+   private volatile Snapshot _snapshot                 = new Snapshot(new PackedTree(new LocationBox[0]), new LocationBox[0], Set.of());
+
+   private static class LocationBox {
+
+      private final long locationId;
+      private final int  zoomlevel;
+
+      private final int  latitudeMin;
+      private final int  latitudeMax;
+      private final int  longitudeMin;
+      private final int  longitudeMax;
+
+      private LocationBox(final long locationId,
+                          final int zoomlevel,
+                          final int latitudeMin,
+                          final int latitudeMax,
+                          final int longitudeMin,
+                          final int longitudeMax) {
+
+         this.locationId = locationId;
+         this.zoomlevel = zoomlevel;
+
+         this.latitudeMin = Math.min(latitudeMin, latitudeMax);
+         this.latitudeMax = Math.max(latitudeMin, latitudeMax);
+         this.longitudeMin = Math.min(longitudeMin, longitudeMax);
+         this.longitudeMax = Math.max(longitudeMin, longitudeMax);
+      }
+
+      private boolean contains(final int requestedZoomlevel, final int latitude, final int longitude) {
+
+         return zoomlevel >= requestedZoomlevel
+
+               && latitudeMin <= latitude
+               && latitudeMax >= latitude
+
+               && longitudeMin <= longitude
+               && longitudeMax >= longitude;
+      }
+
+      private long getLatitudeCenter() {
+         return ((long) latitudeMin + latitudeMax) / 2;
+      }
+
+      private long getLongitudeCenter() {
+         return ((long) longitudeMin + longitudeMax) / 2;
+      }
+   }
+
+   private static class PackedTree {
+
+      /**
+       * Location boxes in the order of the leaf nodes
+       */
+      private final LocationBox[] allBoxes;
+
+      /**
+       * Node values of all tree levels, level 0 contains the leaf nodes, the last level contains
+       * the root node
+       */
+      private final int[][]       allLevels;
+
+      private final Set<Long>     allLocationIds = new HashSet<>();
+
+      private PackedTree(final LocationBox[] allBoxes) {
+
+         this.allBoxes = allBoxes;
+
+         sortTileRecursive(allBoxes);
+
+         for (final LocationBox box : allBoxes) {
+            allLocationIds.add(box.locationId);
+         }
+
+         final List<int[]> allTreeLevels = new ArrayList<>();
+
+         if (allBoxes.length > 0) {
+
+            int[] level = createLeafLevel(allBoxes);
+            allTreeLevels.add(level);
+
+            while (level.length > NODE_VALUES) {
+
+               level = createParentLevel(level);
+               allTreeLevels.add(level);
+            }
+         }
+
+         allLevels = allTreeLevels.toArray(new int[allTreeLevels.size()][]);
+      }
+
+      private static int[] createLeafLevel(final LocationBox[] allBoxes) {
+
+         final int numNodes = (allBoxes.length + NODE_SIZE - 1) / NODE_SIZE;
+         final int[] nodeValues = new int[numNodes * NODE_VALUES];
+
+         for (int nodeIndex = 0; nodeIndex < numNodes; nodeIndex++) {
+
+            final int firstBox = nodeIndex * NODE_SIZE;
+            final int lastBox = Math.min(firstBox + NODE_SIZE, allBoxes.length);
+
+            int latitudeMin = Integer.MAX_VALUE;
+            int latitudeMax = Integer.MIN_VALUE;
+            int longitudeMin = Integer.MAX_VALUE;
+            int longitudeMax = Integer.MIN_VALUE;
+            int zoomlevelMax = Integer.MIN_VALUE;
+
+            for (int boxIndex = firstBox; boxIndex < lastBox; boxIndex++) {
+
+               final LocationBox box = allBoxes[boxIndex];
+
+               latitudeMin = Math.min(latitudeMin, box.latitudeMin);
+               latitudeMax = Math.max(latitudeMax, box.latitudeMax);
+               longitudeMin = Math.min(longitudeMin, box.longitudeMin);
+               longitudeMax = Math.max(longitudeMax, box.longitudeMax);
+               zoomlevelMax = Math.max(zoomlevelMax, box.zoomlevel);
+            }
+
+            setNodeValues(nodeValues, nodeIndex, latitudeMin, latitudeMax, longitudeMin, longitudeMax, zoomlevelMax);
+         }
+
+         return nodeValues;
+      }
+
+      private static int[] createParentLevel(final int[] childValues) {
+
+         final int numChildren = childValues.length / NODE_VALUES;
+         final int numNodes = (numChildren + NODE_SIZE - 1) / NODE_SIZE;
+         final int[] nodeValues = new int[numNodes * NODE_VALUES];
+
+         for (int nodeIndex = 0; nodeIndex < numNodes; nodeIndex++) {
+
+            final int firstChild = nodeIndex * NODE_SIZE;
+            final int lastChild = Math.min(firstChild + NODE_SIZE, numChildren);
+
+            int latitudeMin = Integer.MAX_VALUE;
+            int latitudeMax = Integer.MIN_VALUE;
+            int longitudeMin = Integer.MAX_VALUE;
+            int longitudeMax = Integer.MIN_VALUE;
+            int zoomlevelMax = Integer.MIN_VALUE;
+
+            for (int childIndex = firstChild; childIndex < lastChild; childIndex++) {
+
+               final int childOffset = childIndex * NODE_VALUES;
+
+               latitudeMin = Math.min(latitudeMin, childValues[childOffset]);
+               latitudeMax = Math.max(latitudeMax, childValues[childOffset + 1]);
+               longitudeMin = Math.min(longitudeMin, childValues[childOffset + 2]);
+               longitudeMax = Math.max(longitudeMax, childValues[childOffset + 3]);
+               zoomlevelMax = Math.max(zoomlevelMax, childValues[childOffset + 4]);
+            }
+
+            setNodeValues(nodeValues, nodeIndex, latitudeMin, latitudeMax, longitudeMin, longitudeMax, zoomlevelMax);
+         }
+
+         return nodeValues;
+      }
+
+      private static void setNodeValues(final int[] nodeValues,
+                                        final int nodeIndex,
+                                        final int latitudeMin,
+                                        final int latitudeMax,
+                                        final int longitudeMin,
+                                        final int longitudeMax,
+                                        final int zoomlevelMax) {
+
+         final int nodeOffset = nodeIndex * NODE_VALUES;
+
+         nodeValues[nodeOffset] = latitudeMin;
+         nodeValues[nodeOffset + 1] = latitudeMax;
+         nodeValues[nodeOffset + 2] = longitudeMin;
+         nodeValues[nodeOffset + 3] = longitudeMax;
+         nodeValues[nodeOffset + 4] = zoomlevelMax;
+      }
+
+      /**
+       * Sort the boxes into vertical slices by longitude and within each slice by latitude, then
+       * adjacent boxes are close together and can be packed into the same leaf node.
+       */
+      private static void sortTileRecursive(final LocationBox[] allBoxes) {
+
+         final int numBoxes = allBoxes.length;
+         final int numLeafNodes = (numBoxes + NODE_SIZE - 1) / NODE_SIZE;
+         final int numSlices = (int) Math.ceil(Math.sqrt(numLeafNodes));
+
+         if (numSlices <= 1) {
+            return;
+         }
+
+         final int sliceSize = numSlices * NODE_SIZE;
+
+         Arrays.sort(allBoxes, Comparator.comparingLong(LocationBox::getLongitudeCenter));
+
+         for (int sliceStart = 0; sliceStart < numBoxes; sliceStart += sliceSize) {
+
+            Arrays.sort(allBoxes,
+                  sliceStart,
+                  Math.min(sliceStart + sliceSize, numBoxes),
+                  Comparator.comparingLong(LocationBox::getLatitudeCenter));
+         }
+      }
+
+      private long search(final int zoomlevel, final int latitude, final int longitude, final Set<Long> allRemovedIds) {
+
+         if (allLevels.length == 0) {
+            return LOCATION_IS_NOT_AVAILABLE;
+         }
+
+         return search_Node(allLevels.length - 1, 0, zoomlevel, latitude, longitude, allRemovedIds, LOCATION_IS_NOT_AVAILABLE);
+      }
+
+      /**
+       * !!! Recursive !!!
+       *
+       * @return Returns the smallest location ID of the found locations or
+       *         {@link TourLocationIndex#LOCATION_IS_NOT_AVAILABLE}
+       */
+      private long search_Node(final int levelIndex,
+                               final int nodeIndex,
+                               final int zoomlevel,
+                               final int latitude,
+                               final int longitude,
+                               final Set<Long> allRemovedIds,
+                               long foundLocationId) {
+
+         final int[] nodeValues = allLevels[levelIndex];
+         final int nodeOffset = nodeIndex * NODE_VALUES;
+
+         if (nodeValues[nodeOffset] > latitude
+               || nodeValues[nodeOffset + 1] < latitude
+               || nodeValues[nodeOffset + 2] > longitude
+               || nodeValues[nodeOffset + 3] < longitude
+               || nodeValues[nodeOffset + 4] < zoomlevel) {
+
+            return foundLocationId;
+         }
+
+         final int firstChild = nodeIndex * NODE_SIZE;
+
+         if (levelIndex == 0) {
+
+            final int lastBox = Math.min(firstChild + NODE_SIZE, allBoxes.length);
+
+            for (int boxIndex = firstChild; boxIndex < lastBox; boxIndex++) {
+
+               final LocationBox box = allBoxes[boxIndex];
+
+               if (box.contains(zoomlevel, latitude, longitude)
+                     && allRemovedIds.contains(box.locationId) == false) {
+
+                  foundLocationId = getFirstLocationId(foundLocationId, box.locationId);
+               }
+            }
+
+         } else {
+
+            final int numChildren = allLevels[levelIndex - 1].length / NODE_VALUES;
+            final int lastChild = Math.min(firstChild + NODE_SIZE, numChildren);
+
+            for (int childIndex = firstChild; childIndex < lastChild; childIndex++) {
+
+               foundLocationId = search_Node(levelIndex - 1,
+                     childIndex,
+                     zoomlevel,
+                     latitude,
+                     longitude,
+                     allRemovedIds,
+                     foundLocationId);
+            }
+         }
+
+         return foundLocationId;
+      }
+   }
+
+   /**
+    * Immutable state of the index
+    */
+   private static class Snapshot {
+
+      private final PackedTree    packedTree;
+
+      /**
+       * Locations which are added after the R-tree was packed
+       */
+      private final LocationBox[] allAddedBoxes;
+
+      /**
+       * Location IDs in the packed R-tree which are removed or replaced
+       */
+      private final Set<Long>     allRemovedIds;
+
+      private Snapshot(final PackedTree packedTree, final LocationBox[] allAddedBoxes, final Set<Long> allRemovedIds) {
+
+         this.packedTree = packedTree;
+         this.allAddedBoxes = allAddedBoxes;
+         this.allRemovedIds = allRemovedIds;
+      }
+   }
+
+   /**
+    * When more than one location contains the position, the oldest location is used, that the
+    * result is always the same.
+    */
+   private static long getFirstLocationId(final long foundLocationId, final long locationId) {
+
+      return foundLocationId == LOCATION_IS_NOT_AVAILABLE || locationId < foundLocationId
+            ? locationId
+            : foundLocationId;
+   }
+
+   /**
+    * Load the resized bounding boxes of all tour locations from the database
+    *
+    * @param conn
+    *
+    * @return
+    *
+    * @throws SQLException
+    */
+   public static TourLocationIndex load(final Connection conn) throws SQLException {
+
+      final String sql = UI.EMPTY_STRING
+
+            + "SELECT" + NL //                                 //$NON-NLS-1$
+
+            + " locationID," + NL //                        1  //$NON-NLS-1$
+            + " zoomlevel," + NL //                         2  //$NON-NLS-1$
+
+            + " latitudeMinE6_Resized_Normalized," + NL //  3  //$NON-NLS-1$
+            + " latitudeMaxE6_Resized_Normalized," + NL //  4  //$NON-NLS-1$
+            + " longitudeMinE6_Resized_Normalized," + NL // 5  //$NON-NLS-1$
+            + " longitudeMaxE6_Resized_Normalized" + NL //  6  //$NON-NLS-1$
+
+            + " FROM " + TourDatabase.TABLE_TOUR_LOCATION + NL //  //$NON-NLS-1$
+      ;
+
+      final List<LocationBox> allBoxes = new ArrayList<>();
+
+      try (PreparedStatement statement = conn.prepareStatement(sql);
+            ResultSet result = statement.executeQuery()) {
+
+         while (result.next()) {
+
+            allBoxes.add(new LocationBox(
+                  result.getLong(1),
+                  result.getInt(2),
+                  result.getInt(3),
+                  result.getInt(4),
+                  result.getInt(5),
+                  result.getInt(6)));
+         }
+      }
+
+      final TourLocationIndex locationIndex = new TourLocationIndex();
+
+      locationIndex._snapshot = new Snapshot(new PackedTree(allBoxes.toArray(new LocationBox[allBoxes.size()])), new LocationBox[0], Set.of());
+
+      return locationIndex;
+   }
+
+   /**
+    * Add or replace the resized bounding box of a tour location
+    *
+    * @param tourLocation
+    */
+   public void add(final TourLocation tourLocation) {
+
+      add(tourLocation.getLocationId(),
+            tourLocation.zoomlevel,
+            tourLocation.latitudeMinE6_Resized_Normalized,
+            tourLocation.latitudeMaxE6_Resized_Normalized,
+            tourLocation.longitudeMinE6_Resized_Normalized,
+            tourLocation.longitudeMaxE6_Resized_Normalized);
+   }
+
+   /**
+    * Add or replace the bounding box of a tour location, all values are normalized E6 values.
+    *
+    * @param locationId
+    * @param zoomlevel
+    * @param latitudeMin
+    * @param latitudeMax
+    * @param longitudeMin
+    * @param longitudeMax
+    */
+   public synchronized void add(final long locationId,
+                                final int zoomlevel,
+                                final int latitudeMin,
+                                final int latitudeMax,
+                                final int longitudeMin,
+                                final int longitudeMax) {
+
+      final LocationBox newBox = new LocationBox(locationId, zoomlevel, latitudeMin, latitudeMax, longitudeMin, longitudeMax);
+
+      final Snapshot snapshot = _snapshot;
+
+      final List<LocationBox> allAddedBoxes = getAddedBoxes_Without(snapshot, locationId);
+      allAddedBoxes.add(newBox);
+
+      final Set<Long> allRemovedIds = getRemovedIds_With(snapshot, locationId);
+
+      setSnapshot(snapshot.packedTree, allAddedBoxes, allRemovedIds);
+   }
+
+   private List<LocationBox> getAddedBoxes_Without(final Snapshot snapshot, final long locationId) {
+
+      final List<LocationBox> allAddedBoxes = new ArrayList<>();
+
+      for (final LocationBox addedBox : snapshot.allAddedBoxes) {
+
+         if (addedBox.locationId != locationId) {
+            allAddedBoxes.add(addedBox);
+         }
+      }
+
+      return allAddedBoxes;
+   }
+
+   /**
+    * Searches for a tour location which contains the position
+    *
+    * @param zoomlevel
+    *           The zoomlevel of the location must be the same or larger
+    * @param latitudeE6_Normalized
+    * @param longitudeE6_Normalized
+    *
+    * @return Returns the ID of the oldest location which contains the position or
+    *         {@link #LOCATION_IS_NOT_AVAILABLE}
+    */
+   public long getLocationId(final int zoomlevel, final int latitudeE6_Normalized, final int longitudeE6_Normalized) {
+
+      final Snapshot snapshot = _snapshot;
+
+      long foundLocationId = snapshot.packedTree.search(
+            zoomlevel,
+            latitudeE6_Normalized,
+            longitudeE6_Normalized,
+            snapshot.allRemovedIds);
+
+      for (final LocationBox addedBox : snapshot.allAddedBoxes) {
+
+         if (addedBox.contains(zoomlevel, latitudeE6_Normalized, longitudeE6_Normalized)) {
+            foundLocationId = getFirstLocationId(foundLocationId, addedBox.locationId);
+         }
+      }
+
+      return foundLocationId;
+   }
+
+   private Set<Long> getRemovedIds_With(final Snapshot snapshot, final long locationId) {
+
+      if (snapshot.packedTree.allLocationIds.contains(locationId) == false
+            || snapshot.allRemovedIds.contains(locationId)) {
+
+         return snapshot.allRemovedIds;
+      }
+
+      final Set<Long> allRemovedIds = new HashSet<>(snapshot.allRemovedIds);
+      allRemovedIds.add(locationId);
+
+      return allRemovedIds;
+   }
+
+   /**
+    * @return Returns the number of indexed locations
+    */
+   public int getSize() {
+
+      final Snapshot snapshot = _snapshot;
+
+      return snapshot.packedTree.allBoxes.length - snapshot.allRemovedIds.size() + snapshot.allAddedBoxes.length;
+   }
+
+   /**
+    * @param locationId
+    */
+   public synchronized void remove(final long locationId) {
+
+      final Snapshot snapshot = _snapshot;
+
+      setSnapshot(snapshot.packedTree,
+            getAddedBoxes_Without(snapshot, locationId),
+            getRemovedIds_With(snapshot, locationId));
+   }
+
+   /**
+    * Replace the bounding box of an indexed location, all values are normalized E6 values.
+    *
+    * @param locationId
+    * @param latitudeMin
+    * @param latitudeMax
+    * @param longitudeMin
+    * @param longitudeMax
+    */
+   public synchronized void setBoundingBox(final long locationId,
+                                           final int latitudeMin,
+                                           final int latitudeMax,
+                                           final int longitudeMin,
+                                           final int longitudeMax) {
+
+      final Snapshot snapshot = _snapshot;
+
+      LocationBox indexedBox = null;
+
+      for (final LocationBox addedBox : snapshot.allAddedBoxes) {
+         if (addedBox.locationId == locationId) {
+            indexedBox = addedBox;
+            break;
+         }
+      }
+
+      if (indexedBox == null
+            && snapshot.packedTree.allLocationIds.contains(locationId)
+            && snapshot.allRemovedIds.contains(locationId) == false) {
+
+         for (final LocationBox packedBox : snapshot.packedTree.allBoxes) {
+            if (packedBox.locationId == locationId) {
+               indexedBox = packedBox;
+               break;
+            }
+         }
+      }
+
+      if (indexedBox == null) {
+         return;
+      }
+
+      add(locationId, indexedBox.zoomlevel, latitudeMin, latitudeMax, longitudeMin, longitudeMax);
+   }
+
+   /**
+    * Set a new snapshot, the R-tree is packed again when there are too many changes.
+    */
+   private void setSnapshot(final PackedTree packedTree,
+                            final List<LocationBox> allAddedBoxes,
+                            final Set<Long> allRemovedIds) {
+
+      final int numPackedBoxes = packedTree.allBoxes.length;
+      final int numChanges = allAddedBoxes.size() + allRemovedIds.size();
+
+      if (numChanges <= Math.max(MIN_CHANGES_TO_PACK, numPackedBoxes / CHANGES_TO_PACK_RATIO)) {
+
+         _snapshot = new Snapshot(packedTree, allAddedBoxes.toArray(new LocationBox[allAddedBoxes.size()]), allRemovedIds);
+
+         return;
+      }
+
+      // pack all available locations into a new R-tree
+
+      final List<LocationBox> allBoxes = new ArrayList<>(numPackedBoxes + allAddedBoxes.size());
+
+      for (final LocationBox packedBox : packedTree.allBoxes) {
+
+         if (allRemovedIds.contains(packedBox.locationId) == false) {
+            allBoxes.add(packedBox);
+         }
+      }
+
+      allBoxes.addAll(allAddedBoxes);
+
+      _snapshot = new Snapshot(new PackedTree(allBoxes.toArray(new LocationBox[allBoxes.size()])), new LocationBox[0], Set.of());
+   }
+}
@@ -42,6 +42,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import net.tourbook.application.ApplicationVersion;
@@ -162,6 +163,12 @@ public class TourLocationManager {
 
    private static TourLocationCache               _locationCache              = new TourLocationCache(10);
 
+   /**
+    * Spatial index of all saved tour locations, it is loaded when it is used the first time
+    */
+   private static volatile TourLocationIndex      _locationIndex;
+   private static final Object                    LOCATION_INDEX_LOCK         = new Object();
+
 // SET_FORMATTING_OFF
 
    /**
@@ -1090,6 +1097,13 @@ public class TourLocationManager {
          }
          conn.commit();
 
+         updateLocationIndex(locationIndex -> {
+
+            for (final TourLocation location : allLocations) {
+               locationIndex.remove(location.getLocationId());
+            }
+         });
+
          // log result
          TourLogManager.showLogView(AutoOpenEvent.DELETE_SOMETHING);
 
@@ -1171,6 +1185,39 @@ public class TourLocationManager {
       return _locationCache;
    }
 
+   /**
+    * @return Returns the spatial index of all saved tour locations or <code>null</code> when it
+    *         cannot be loaded
+    */
+   public static TourLocationIndex getLocationIndex() {
+
+      TourLocationIndex locationIndex = _locationIndex;
+
+      if (locationIndex == null) {
+
+         synchronized (LOCATION_INDEX_LOCK) {
+
+            locationIndex = _locationIndex;
+
+            if (locationIndex == null) {
+
+               try (Connection conn = TourDatabase.getInstance().getConnection()) {
+
+                  locationIndex = TourLocationIndex.load(conn);
+
+                  _locationIndex = locationIndex;
+
+               } catch (final SQLException e) {
+
+                  StatusUtil.log(e);
+               }
+            }
+         }
+      }
+
+      return locationIndex;
+   }
+
    /**
     * @param latitude
     * @param longitude
@@ -2136,6 +2183,17 @@ public class TourLocationManager {
 
          sqlUpdate.executeUpdate();
 
+         final int latitudeMinE6_Index = latitudeMinE6;
+         final int latitudeMaxE6_Index = latitudeMaxE6;
+         final int longitudeMinE6_Index = longitudeMinE6;
+         final int longitudeMaxE6_Index = longitudeMaxE6;
+
+         updateLocationIndex(locationIndex -> locationIndex.setBoundingBox(locationId,
+               latitudeMinE6_Index,
+               latitudeMaxE6_Index,
+               longitudeMinE6_Index,
+               longitudeMaxE6_Index));
+
       } catch (final SQLException e) {
 
          UI.showSQLException(e);
@@ -2547,6 +2605,22 @@ public class TourLocationManager {
       }
    }
 
+   /**
+    * Run an action with the location index when it is loaded, otherwise the changes are loaded
+    * from the database together with the index.
+    *
+    * @param indexAction
+    */
+   public static void updateLocationIndex(final Consumer<TourLocationIndex> indexAction) {
+
+      synchronized (LOCATION_INDEX_LOCK) {
+
+         if (_locationIndex != null) {
+            indexAction.accept(_locationIndex);
+         }
+      }
+   }
+
    private static String validString(final String stringValue) {
 
       if (stringValue == null) {
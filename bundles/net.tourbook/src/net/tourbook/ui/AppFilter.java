@@ -79,6 +79,11 @@ public class AppFilter {
 
    private List<Object> _allParameters  = new ArrayList<>();
 
+   /**
+    * Is <code>true</code> when tours are filtered by other values than the person or tour type
+    */
+   private boolean      _isFilteredByTourValues;
+
    /**
     * Create sql app filter which contains the mostly fast app filters
     */
@@ -184,6 +189,7 @@ public class AppFilter {
       if (additionalAppFilter.contains(AppFilterType.Photo) && TourbookPlugin.getActivePhotoFilter()) {
 
          sqlWhere.append(" AND TourData.NumberOfPhotos > 0" + NL); //$NON-NLS-1$
+         _isFilteredByTourValues = true;
       }
 
       /*
@@ -206,6 +212,7 @@ public class AppFilter {
       if (tourSqlData != null) {
 
          sqlWhere.append(tourSqlData.getSqlString());
+         _isFilteredByTourValues = true;
 
          _allParameters.addAll(tourSqlData.getParameters());
       }
@@ -220,6 +227,7 @@ public class AppFilter {
          if (tourSqlGeoData != null) {
 
             sqlWhere.append(tourSqlGeoData.getSqlString());
+            _isFilteredByTourValues = true;
 
             _allParameters.addAll(tourSqlGeoData.getParameters());
          }
@@ -235,6 +243,7 @@ public class AppFilter {
             final SQLData tagSqlData = new TourTagFilter().getSqlData();
 
             sqlWhere.append(tagSqlData.getSqlString());
+            _isFilteredByTourValues = true;
 
             _allParameters.addAll(tagSqlData.getParameters());
          }
@@ -250,6 +259,7 @@ public class AppFilter {
             final SQLData equipmentSqlData = new EquipmentFilter().getSqlData();
 
             sqlWhere.append(equipmentSqlData.getSqlString());
+            _isFilteredByTourValues = true;
 
             _allParameters.addAll(equipmentSqlData.getParameters());
          }
@@ -273,6 +283,15 @@ public class AppFilter {
       return _sqlWhereClause;
    }
 
+   /**
+    * @return Returns <code>true</code> when tours are filtered only by the person and tour type,
+    *         then the tours can be filtered without the values of a tour
+    */
+   public boolean isFilteredByPersonAndTourTypeOnly() {
+
+      return _isFilteredByTourValues == false;
+   }
+
    /**
     * Sets the app filter parameters into the filter statement.
     *
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.ui.action;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import net.tourbook.Messages;
+import net.tourbook.common.UI;
+import net.tourbook.common.time.TimeTools;
+import net.tourbook.common.util.StatusUtil;
+import net.tourbook.database.DatabaseQueryProfiler;
+
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Starts the {@link DatabaseQueryProfiler}, when it is running, then the report can be saved and
+ * the suggested indexes can be created.
+ */
+public class ActionHandler_Database_QueryProfiler extends AbstractHandler {
+
+   private static final String REPORT_FILE_NAME = "mytourbook-query-profiler-"; //$NON-NLS-1$
+   private static final String REPORT_FILE_EXT  = "txt";                        //$NON-NLS-1$
+
+   private static final int    BUTTON_SAVE      = 0;
+   private static final int    BUTTON_STOP      = 1;
+
+   private void createIndexes(final Shell shell, final List<String> allSuggestedIndexes) {
+
+      if (new MessageDialog(shell,
+
+            Messages.Dialog_QueryProfiler_Title,
+            null, // no title image
+
+            NLS.bind(Messages.Dialog_QueryProfiler_CreateIndexes_Message,
+                  allSuggestedIndexes.size(),
+                  String.join(UI.NEW_LINE1, allSuggestedIndexes)),
+            MessageDialog.QUESTION,
+
+            1, // default index
+
+            Messages.Dialog_QueryProfiler_Action_CreateIndexes,
+            Messages.App_Action_Cancel
+
+      ).open() == 0) {
+
+         DatabaseQueryProfiler.createSuggestedIndexes();
+      }
+   }
+
+   @Override
+   public Object execute(final ExecutionEvent event) throws ExecutionException {
+
+      final Shell shell = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getShell();
+
+      if (DatabaseQueryProfiler.isRunning() == false) {
+
+         if (new MessageDialog(shell,
+
+               Messages.Dialog_QueryProfiler_Title,
+               null, // no title image
+
+               Messages.Dialog_QueryProfiler_Start_Message,
+               MessageDialog.INFORMATION,
+
+               0, // default index
+
+               Messages.Dialog_QueryProfiler_Action_Start,
+               Messages.App_Action_Cancel
+
+         ).open() == 0) {
+
+            DatabaseQueryProfiler.setRunning(true);
+         }
+
+         return null;
+      }
+
+      final List<String> allSuggestedIndexes = DatabaseQueryProfiler.getSuggestedIndexes();
+
+      final int selectedButton = new MessageDialog(shell,
+
+            Messages.Dialog_QueryProfiler_Title,
+            null, // no title image
+
+            NLS.bind(Messages.Dialog_QueryProfiler_Running_Message,
+                  new Object[] {
+                        DatabaseQueryProfiler.getNumQueries(),
+                        DatabaseQueryProfiler.getNumTableScans(),
+                        allSuggestedIndexes.size() }),
+            MessageDialog.INFORMATION,
+
+            0, // default index
+
+            Messages.Dialog_QueryProfiler_Action_SaveReport,
+            Messages.Dialog_QueryProfiler_Action_Stop,
+            Messages.App_Action_Close
+
+      ).open();
+
+      if (selectedButton == BUTTON_SAVE) {
+
+         if (saveReport(shell) && allSuggestedIndexes.size() > 0) {
+            createIndexes(shell, allSuggestedIndexes);
+         }
+
+      } else if (selectedButton == BUTTON_STOP) {
+
+         DatabaseQueryProfiler.setRunning(false);
+      }
+
+      return null;
+   }
+
+   /**
+    * @param shell
+    *
+    * @return Returns <code>true</code> when the report is saved
+    */
+   private boolean saveReport(final Shell shell) {
+
+      final FileDialog dialog = new FileDialog(shell, SWT.SAVE);
+      dialog.setText(Messages.Dialog_QueryProfiler_Title);
+
+      dialog.setFilterExtensions(new String[] { UI.SYMBOL_STAR + UI.SYMBOL_DOT + REPORT_FILE_EXT });
+      dialog.setFileName(REPORT_FILE_NAME
+            + TimeTools.now().format(TimeTools.Formatter_FileName)
+            + UI.SYMBOL_DOT
+            + REPORT_FILE_EXT);
+
+      final String selectedFilePath = dialog.open();
+      if (selectedFilePath == null) {
+         return false;
+      }
+
+      final File reportFile = new File(selectedFilePath);
+
+      if (reportFile.exists() && net.tourbook.ui.UI.confirmOverwrite(reportFile) == false) {
+         // don't overwrite file, nothing more to do
+         return false;
+      }
+
+      try {
+
+         Files.writeString(reportFile.toPath(), DatabaseQueryProfiler.createReport(), StandardCharsets.UTF_8);
+
+      } catch (final IOException e) {
+
+         StatusUtil.showStatus(e);
+
+         return false;
+      }
+
+      return true;
+   }
+}
@@ -37,6 +37,7 @@ import net.tourbook.common.util.SQL;
 import net.tourbook.common.util.StatusUtil;
 import net.tourbook.data.TourData;
 import net.tourbook.data.TourType;
+import net.tourbook.database.DatabaseQueryProfiler;
 import net.tourbook.database.TourDatabase;
 import net.tourbook.ui.AppFilter;
 
@@ -491,6 +492,8 @@ class CalendarTourDataProvider {
 
             prepStmt.setInt(dayParamIndex, day + 1);
 
+            final long profilerStart = DatabaseQueryProfiler.start(conn);
+
             final ResultSet result = prepStmt.executeQuery();
 
             boolean firstTourOfDay = true;
@@ -607,6 +610,8 @@ class CalendarTourDataProvider {
 
             } // while result.next() == all tours of this day
 
+            DatabaseQueryProfiler.stop(conn, "Calendar - Day Tours", profilerStart); //$NON-NLS-1$
+
             /*
              * create data for this day
              */
@@ -750,6 +755,8 @@ class CalendarTourDataProvider {
 
          nextIndex = appFilter.setParameters(prepStmt, nextIndex);
 
+         final long profilerStart = DatabaseQueryProfiler.start(conn);
+
          final ResultSet result = prepStmt.executeQuery();
 
          while (result.next()) {
@@ -793,6 +800,8 @@ class CalendarTourDataProvider {
 // SET_FORMATTING_ON
          }
 
+         DatabaseQueryProfiler.stop(conn, "Calendar - Week Summary", profilerStart); //$NON-NLS-1$
+
       } catch (final SQLException e) {
 
          SQL.showException(e, sql);
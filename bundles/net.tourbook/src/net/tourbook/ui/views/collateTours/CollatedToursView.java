@@ -2056,9 +2056,8 @@ public class CollatedToursView extends ViewPart implements
 
    private void getSelectedTourData(final List<Object> allSelectedTourData, final Set<Long> allTourIDs) {
 
-      for (final Long tourId : allTourIDs) {
-         allSelectedTourData.add(TourManager.getInstance().getTourData(tourId));
-      }
+      // load all tours together
+      allSelectedTourData.addAll(TourManager.getInstance().getTourData(new ArrayList<>(allTourIDs)));
    }
 
    @Override
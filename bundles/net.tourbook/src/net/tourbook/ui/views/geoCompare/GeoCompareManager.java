@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (C) 2018, 2023 Wolfgang Schramm and Contributors
+ * Copyright (C) 2018, 2026 Wolfgang Schramm and Contributors
  *
  * This program is free software; you can redistribute it and/or modify it under
  * the terms of the GNU General Public License as published by the Free Software
@@ -16,6 +16,11 @@
 package net.tourbook.ui.views.geoCompare;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ThreadFactory;
@@ -28,10 +33,13 @@ import net.tourbook.common.util.StatusUtil;
 import net.tourbook.data.FlatGainLoss;
 import net.tourbook.data.NormalizedGeoData;
 import net.tourbook.data.TourData;
+import net.tourbook.database.TourDatabase;
 import net.tourbook.preferences.ITourbookPreferences;
 import net.tourbook.tour.TourManager;
+import net.tourbook.ui.views.geoCompare.NormalizedGeoIndex.IndexedTour;
 import net.tourbook.ui.views.referenceTour.ReferenceTimelineView;
 
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
 import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.ui.IViewPart;
@@ -42,6 +50,12 @@ import org.eclipse.ui.PlatformUI;
 public class GeoCompareManager {
 
    private static final int                                  COMPARATOR_THREADS    = Runtime.getRuntime().availableProcessors();
+
+   /**
+    * Max number of tours for which the geo data are loaded with one query
+    */
+   private static final int                                  COMPARE_BATCH_SIZE    = 100;
+
    private static ThreadPoolExecutor                         _comparerExecutor;
 
    private static final LinkedBlockingDeque<GeoComparedTour> _compareWaitingQueue  = new LinkedBlockingDeque<>();
@@ -90,159 +104,273 @@ public class GeoCompareManager {
     */
    static void compareGeoTours(final GeoCompareData geoCompareData, final GeoCompareView geoPartView) {
 
-      for (final long tourId : geoCompareData.tourIds) {
+      final int numTours = geoCompareData.tourIds.length;
+
+      // the geo data of multiple tours are loaded with one query but all threads should be used
+      final int batchSize = Math.max(1, Math.min(COMPARE_BATCH_SIZE, numTours / COMPARATOR_THREADS));
+
+      for (int batchStart = 0; batchStart < numTours; batchStart += batchSize) {
+
+         final int numBatchTours = Math.min(batchSize, numTours - batchStart);
 
-         final GeoComparedTour geoComparedTour_QueueItem = new GeoComparedTour(tourId, geoCompareData);
+         for (int tourIndex = batchStart; tourIndex < batchStart + numBatchTours; tourIndex++) {
 
-         // keep compared tour
-         geoCompareData.allGeoComparedTours.add(geoComparedTour_QueueItem);
+            final GeoComparedTour geoComparedTour_QueueItem = new GeoComparedTour(geoCompareData.tourIds[tourIndex], geoCompareData);
 
-         _compareWaitingQueue.add(geoComparedTour_QueueItem);
+            // keep compared tour
+            geoCompareData.allGeoComparedTours.add(geoComparedTour_QueueItem);
+
+            _compareWaitingQueue.add(geoComparedTour_QueueItem);
+         }
 
          _comparerExecutor.submit(new Runnable() {
             @Override
             public void run() {
 
-               // get last added queue item
-               final GeoComparedTour geoComparedTour_FromQueue = _compareWaitingQueue.pollFirst();
+               // get first added queue items
+               final List<GeoComparedTour> allGeoComparedTours = new ArrayList<>();
+               _compareWaitingQueue.drainTo(allGeoComparedTours, numBatchTours);
+
+               compareGeoTours_Batch(allGeoComparedTours, geoPartView);
+            }
+         });
+      }
+   }
+
+   private static void compareGeoTours_Batch(final List<GeoComparedTour> allGeoComparedTours, final GeoCompareView geoPartView) {
 
-               if (geoComparedTour_FromQueue == null) {
-                  return;
-               }
+      // the queue can contain tours from previous comparisons, load only tours which are not canceled
+      final Map<GeoCompareData, List<Long>> allCompareTourIds = new IdentityHashMap<>();
 
-               // check if this comparison is canceled
-               final GeoCompareData geoCompareData = geoComparedTour_FromQueue.geoCompareData;
-               if (geoCompareData.isCanceled) {
-                  return;
-               }
+      for (final GeoComparedTour geoComparedTour : allGeoComparedTours) {
 
-               try {
+         final GeoCompareData geoCompareData = geoComparedTour.geoCompareData;
 
-                  compareGeoTours_OneTour(geoComparedTour_FromQueue);
+         if (geoCompareData.isCanceled == false) {
+            allCompareTourIds.computeIfAbsent(geoCompareData, key -> new ArrayList<>()).add(geoComparedTour.tourId);
+         }
+      }
 
-               } catch (final Exception e) {
+      allCompareTourIds.forEach((geoCompareData, allTourIds) -> {
 
-                  StatusUtil.log(e);
-               }
+         final NormalizedGeoData normalizedTourPart = geoCompareData.normalizedTourPart;
 
-               geoPartView.compare_50_OneTourIsCompared(geoCompareData);
+         final LongObjectHashMap<IndexedTour> allIndexedTours = NormalizedGeoIndex.getIndexedTours(
+               allTourIds,
+               normalizedTourPart.geoAccuracy,
+               normalizedTourPart.distanceAccuracy);
+
+         for (final GeoComparedTour geoComparedTour : allGeoComparedTours) {
+
+            // check if this comparison is canceled
+            if (geoComparedTour.geoCompareData != geoCompareData || geoCompareData.isCanceled) {
+               continue;
             }
-         });
-      }
-   }
 
-   private static void compareGeoTours_OneTour(final GeoComparedTour geoComparedTour) {
+            try {
 
-      /*
-       * Load tour data
-       */
-      final long startLoading = System.nanoTime();
+               compareGeoTours_OneTour(geoComparedTour, allIndexedTours.get(geoComparedTour.tourId));
+
+            } catch (final Exception e) {
 
-      final TourData tourData = TourManager.getInstance().getTourData(geoComparedTour.tourId);
+               StatusUtil.log(e);
+            }
+
+            geoPartView.compare_50_OneTourIsCompared(geoCompareData);
+         }
+      });
+   }
+
+   /**
+    * @param geoComparedTour
+    * @param indexedTour
+    *           Normalized geo data of the tour, is <code>null</code> when the tour is not available
+    */
+   private static void compareGeoTours_OneTour(final GeoComparedTour geoComparedTour, final IndexedTour indexedTour) {
 
       /*
-       * Normalize data
+       * The normalized data are already loaded, only the lat/lon series are needed to compare the
+       * tour
        */
-      final long startConvert = System.nanoTime();
+      final long startLoading = System.nanoTime();
 
       final GeoCompareData geoCompareData = geoComparedTour.geoCompareData;
       final NormalizedGeoData normalizedTourPart = geoCompareData.normalizedTourPart;
       final int[] normPartLatSerie = normalizedTourPart.normalizedLat;
       final int[] normPartLonSerie = normalizedTourPart.normalizedLon;
 
-      final NormalizedGeoData normalizedTour = tourData.getNormalizedLatLon(
-            normalizedTourPart.geoAccuracy,
-            normalizedTourPart.distanceAccuracy);
+      final long startConvert = System.nanoTime();
+
+      if (indexedTour != null) {
+
+         final ZonedDateTime tourStartTime = indexedTour.tourStartTime();
+         geoComparedTour.tourStartTime = tourStartTime;
+         geoComparedTour.tourYear = tourStartTime.getYear();
+         geoComparedTour.tourStartTimeMS = TimeTools.toEpochMilli(tourStartTime);
+
+         geoComparedTour.tourTitle = indexedTour.tourTitle();
+         geoComparedTour.tourType = indexedTour.tourTypeId() == null
+               ? null
+               : TourDatabase.getTourType(indexedTour.tourTypeId());
+      }
+
+      if (indexedTour == null || indexedTour.normalizedGeoData() == null) {
+
+         // tour is not available or has no geo data
+         geoComparedTour.minDiffValue = -1;
+         geoComparedTour.isGeoCompareDone = true;
+
+         return;
+      }
+
+      final NormalizedGeoData normalizedTour = indexedTour.normalizedGeoData();
+
       final int[] normTourLatSerie = normalizedTour.normalizedLat;
       final int[] normTourLonSerie = normalizedTour.normalizedLon;
 
       final int numNormPartSlices = normPartLatSerie.length;
       final int numNormTourSlices = normTourLatSerie.length;
 
-      final float[] normLatLonDiff = new float[numNormTourSlices];
-
       /*
        * Compare
        */
       final long startComparing = System.nanoTime();
 
-      long minDiffValue = Long.MAX_VALUE;
-      int normMinDiffIndex = -1;
-      int numCompares = 0;
+      final GeoPartMatcher.Result bestMatch = GeoPartMatcher.findBestMatch(
+            normPartLatSerie,
+            normPartLonSerie,
+            normTourLatSerie,
+            normTourLonSerie,
+            () -> geoCompareData.isCanceled);
 
-      // loop: all normalized tour slices
-      for (int normTourIndex = 0; normTourIndex < numNormTourSlices; normTourIndex++) {
+      if (bestMatch == null) {
+
+         // comparing is canceled
+         return;
+      }
 
-         long latLonDiff = -1;
+      final int normMinDiffIndex = bestMatch.normTourIndex();
+      final long numCompares = bestMatch.numCompares();
 
-         // loop: all part slices
-         for (int normPartIndex = 0; normPartIndex < numNormPartSlices; normPartIndex++) {
+      final int[] norm2OrigIndices = normalizedTour.normalized2OriginalIndices;
 
-            if (geoCompareData.isCanceled) {
-               return;
-            }
+      // a tour is available and could be compared
+      if (normMinDiffIndex > -1) {
 
-            numCompares++;
+         // the values of the compared tour segment are computed when the tour is displayed
+         geoComparedTour.tourFirstIndex = norm2OrigIndices[normMinDiffIndex];
+         geoComparedTour.tourLastIndex = norm2OrigIndices[normMinDiffIndex + numNormPartSlices - 1];
+      }
 
-            final int compareIndex = normTourIndex + normPartIndex;
+      // use the same precision as the diff serie which is displayed in the chart
+      geoComparedTour.minDiffValue = (long) (normMinDiffIndex < 0 ? -1 : (float) bestMatch.latLonDiff());
 
-            /*
-             * Make sure the compare index is not larger than the tour index, this happens when the
-             * part slices has exceeded the tour slices
-             */
-            if (compareIndex == numNormTourSlices) {
-               latLonDiff = -1;
-               break;
-            }
+      // the diff serie is created when the compared tour is displayed
+      geoComparedTour.tourLatLonDiff = null;
 
-            final int latDiff = normPartLatSerie[normPartIndex] - normTourLatSerie[compareIndex];
-            final int lonDiff = normPartLonSerie[normPartIndex] - normTourLonSerie[compareIndex];
+      if (IS_LOG_TOUR_COMPARING) {
 
-            // optimize Math.abs() !!!
-            final int latDiffAbs = latDiff < 0 ? -latDiff : latDiff;
-            final int lonDiffAbs = lonDiff >= 0 ? lonDiff : -lonDiff;
+         final float time_Compare = (float) (System.nanoTime() - startComparing) / 1000000;
+         final float time_All = (float) (System.nanoTime() - startLoading) / 1000000;
+         final float time_Load = (float) (startConvert - startLoading) / 1000000;
+         final float time_Convert = (float) (startComparing - startConvert) / 1000000;
 
-            // summarize all diffs for one tour slice
-            latLonDiff += (latDiffAbs + lonDiffAbs);
-         }
+         final float cmpAvgTime = numCompares / time_Compare;
+
+         System.out.println(String.format(
+
+               UI.EMPTY_STRING
+                     + "[%3d]" // thread           //$NON-NLS-1$
+                     + " tour %-20s" //            //$NON-NLS-1$
+                     // + "   exec %5d"
+
+                     + "   diff %12d" //           //$NON-NLS-1$
+                     + "   # %5d / %5d" //         //$NON-NLS-1$
+
+                     + "   cmp %7.0f" //           //$NON-NLS-1$
+                     + "   #cmp %10d" //           //$NON-NLS-1$
+                     + "   #cmpAvg %8.0f" //       //$NON-NLS-1$
+
+                     + "   all %7.0f ms" //        //$NON-NLS-1$
+                     + "   ld %10.4f" //           //$NON-NLS-1$
+                     + "   cnvrt %10.4f", //       //$NON-NLS-1$
+
+               Thread.currentThread().getId(),
+               geoComparedTour.tourId,
+               //                     loaderItem.executorId,
+
+               bestMatch.latLonDiff(),
+               numNormTourSlices,
+               numNormPartSlices,
+
+               time_Compare,
+               numCompares,
+               cmpAvgTime,
+
+               time_All,
+               time_Load,
+               time_Convert
+
+         ));
+      }
+
+      // set flag that this comparison is done and can be displayed in the UI (year statistic view)
+      geoComparedTour.isGeoCompareDone = true;
+   }
 
-         // keep diff value
-         normLatLonDiff[normTourIndex] = latLonDiff;
+   /**
+    * Compute the values of the compared tour segments, this needs to load the whole tour which is
+    * much more expensive than comparing the normalized geo data, so it is done only for the tours
+    * which are displayed. The tours are loaded concurrently.
+    *
+    * @param allGeoComparedTours
+    */
+   static void computeSegmentValues(final List<GeoComparedTour> allGeoComparedTours) {
+
+      final List<Callable<Object>> allTasks = new ArrayList<>();
 
-         // keep min diff value/index
-         if (latLonDiff < minDiffValue && latLonDiff != -1) {
+      for (final GeoComparedTour geoComparedTour : allGeoComparedTours) {
 
-            minDiffValue = latLonDiff;
+         // a valid min diff value is set when the tour could be compared
+         if (geoComparedTour.isSegmentValuesComputed == false && geoComparedTour.minDiffValue >= 0) {
 
-            // keep tour index where the min diff occurred
-            normMinDiffIndex = normTourIndex;
+            allTasks.add(Executors.callable(() -> computeSegmentValues_OneTour(geoComparedTour)));
          }
       }
 
-      final ZonedDateTime tourStartTime = tourData.getTourStartTime();
-      geoComparedTour.tourStartTime = tourStartTime;
-      geoComparedTour.tourYear = tourStartTime.getYear();
-      geoComparedTour.tourStartTimeMS = TimeTools.toEpochMilli(tourStartTime);
+      if (allTasks.isEmpty()) {
+         return;
+      }
 
-      final int[] norm2OrigIndices = normalizedTour.normalized2OriginalIndices;
+      try {
 
-      // a tour is available and could be compared
-      if (normMinDiffIndex > -1) {
+         _comparerExecutor.invokeAll(allTasks);
+
+      } catch (final InterruptedException e) {
+
+         StatusUtil.log(e);
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   private static void computeSegmentValues_OneTour(final GeoComparedTour geoComparedTour) {
 
-         final int origStartIndex = norm2OrigIndices[normMinDiffIndex];
-         final int origEndIndex = norm2OrigIndices[normMinDiffIndex + numNormPartSlices - 1];
+      try {
+
+         final TourData tourData = TourManager.getInstance().getTourData(geoComparedTour.tourId);
+
+         if (tourData == null) {
+            return;
+         }
+
+         final int origStartIndex = geoComparedTour.tourFirstIndex;
+         final int origEndIndex = geoComparedTour.tourLastIndex;
 
          geoComparedTour.avgPulse = tourData.computeAvg_PulseSegment(origStartIndex, origEndIndex);
          geoComparedTour.maxPulse = tourData.computeMax_FromValues(tourData.getPulse_SmoothedSerie(), origStartIndex, origEndIndex);
 
          geoComparedTour.avgSpeed = TourManager.computeTourSpeed(tourData, origStartIndex, origEndIndex);
 
-         geoComparedTour.tourFirstIndex = origStartIndex;
-         geoComparedTour.tourLastIndex = origEndIndex;
-
-         geoComparedTour.tourTitle = tourData.getTourTitle();
-         geoComparedTour.tourType = tourData.getTourType();
-
          geoComparedTour.avgAltimeter = tourData.computeAvg_FromValues(tourData.getAltimeterSerie(), origStartIndex, origEndIndex);
 
          final FlatGainLoss elevationGainLoss = tourData.computeAltitudeUpDown(origStartIndex, origEndIndex);
@@ -267,9 +395,58 @@ public class GeoCompareManager {
          geoComparedTour.avgPace = distance == 0
                ? 0
                : time * 1000 / distance;
+
+      } catch (final Exception e) {
+
+         StatusUtil.log(e);
+
+      } finally {
+
+         geoComparedTour.isSegmentValuesComputed = true;
+      }
+   }
+
+   public static void fireEvent(final GeoCompareEventId eventId, final Object eventData, final IWorkbenchPart part) {
+
+      for (final Object listener : _geoCompareListeners.getListeners()) {
+         ((IGeoCompareListener) listener).geoCompareEvent(part, eventId, eventData);
+      }
+   }
+
+   /**
+    * The lat/lon diff serie is created only when it is displayed because it requires to compare
+    * the geo part with ALL tour slices, when tours are compared, most tour slices are skipped.
+    *
+    * @param geoComparedTour
+    * @param tourData
+    *
+    * @return Returns the lat/lon diff for each tour slice or <code>null</code> when not available
+    */
+   public static float[] getTourLatLonDiff(final GeoComparedTour geoComparedTour, final TourData tourData) {
+
+      if (geoComparedTour.tourLatLonDiff != null) {
+         return geoComparedTour.tourLatLonDiff;
       }
 
-      geoComparedTour.minDiffValue = (long) (normMinDiffIndex < 0 ? -1 : normLatLonDiff[normMinDiffIndex]);
+      final NormalizedGeoData normalizedTourPart = geoComparedTour.geoCompareData.normalizedTourPart;
+
+      final NormalizedGeoData normalizedTour = tourData.getNormalizedLatLon(
+            normalizedTourPart.geoAccuracy,
+            normalizedTourPart.distanceAccuracy);
+
+      if (normalizedTour == null) {
+         return null;
+      }
+
+      final int[] norm2OrigIndices = normalizedTour.normalized2OriginalIndices;
+
+      final float[] normLatLonDiff = GeoPartMatcher.computeLatLonDiff(
+            normalizedTourPart.normalizedLat,
+            normalizedTourPart.normalizedLon,
+            normalizedTour.normalizedLat,
+            normalizedTour.normalizedLon);
+
+      final int numNormTourSlices = normLatLonDiff.length;
 
       /*
        * Create data serie for the chart graph from the normalized diff data serie
@@ -301,61 +478,7 @@ public class GeoCompareManager {
 
       geoComparedTour.tourLatLonDiff = tourLatLonDiff;
 
-      if (IS_LOG_TOUR_COMPARING) {
-
-         final float time_Compare = (float) (System.nanoTime() - startComparing) / 1000000;
-         final float time_All = (float) (System.nanoTime() - startLoading) / 1000000;
-         final float time_Load = (float) (startConvert - startLoading) / 1000000;
-         final float time_Convert = (float) (startComparing - startConvert) / 1000000;
-
-         final float cmpAvgTime = numCompares / time_Compare;
-
-         System.out.println(String.format(
-
-               UI.EMPTY_STRING
-                     + "[%3d]" // thread           //$NON-NLS-1$
-                     + " tour %-20s" //            //$NON-NLS-1$
-                     // + "   exec %5d"
-
-                     + "   diff %12d" //           //$NON-NLS-1$
-                     + "   # %5d / %5d" //         //$NON-NLS-1$
-
-                     + "   cmp %7.0f" //           //$NON-NLS-1$
-                     + "   #cmp %10d" //           //$NON-NLS-1$
-                     + "   #cmpAvg %8.0f" //       //$NON-NLS-1$
-
-                     + "   all %7.0f ms" //        //$NON-NLS-1$
-                     + "   ld %10.4f" //           //$NON-NLS-1$
-                     + "   cnvrt %10.4f", //       //$NON-NLS-1$
-
-               Thread.currentThread().getId(),
-               geoComparedTour.tourId,
-               //                     loaderItem.executorId,
-
-               normMinDiffIndex < 0 ? normMinDiffIndex : normLatLonDiff[normMinDiffIndex],
-               numNormTourSlices,
-               numNormPartSlices,
-
-               time_Compare,
-               numCompares,
-               cmpAvgTime,
-
-               time_All,
-               time_Load,
-               time_Convert
-
-         ));
-      }
-
-      // set flag that this comparison is done and can be displayed in the UI (year statistic view)
-      geoComparedTour.isGeoCompareDone = true;
-   }
-
-   public static void fireEvent(final GeoCompareEventId eventId, final Object eventData, final IWorkbenchPart part) {
-
-      for (final Object listener : _geoCompareListeners.getListeners()) {
-         ((IGeoCompareListener) listener).geoCompareEvent(part, eventId, eventData);
-      }
+      return tourLatLonDiff;
    }
 
    /**
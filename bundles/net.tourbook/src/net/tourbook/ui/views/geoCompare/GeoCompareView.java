@@ -102,6 +102,7 @@ import org.eclipse.jface.viewers.ViewerCell;
 import org.eclipse.jface.viewers.ViewerComparator;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.BusyIndicator;
 import org.eclipse.swt.custom.CLabel;
 import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.events.ControlListener;
@@ -1292,8 +1293,6 @@ public class GeoCompareView extends ViewPart implements ITourViewer, IGeoCompare
        * Get various values from the compared tours
        */
       _maxMinDiff = 0;
-      _refTourElevationGain = 0;
-      _refTourElevationLoss = 0;
 
       for (final GeoComparedTour geoComparedTour : geoCompareData.allGeoComparedTours) {
 
@@ -1301,20 +1300,6 @@ public class GeoCompareView extends ViewPart implements ITourViewer, IGeoCompare
 
             _maxMinDiff = geoComparedTour.minDiffValue;
          }
-
-         // get ref tour elevation gain/loss
-         if (geoComparedTour.tourId == _compareData_RefTour_TourId) {
-
-            _refTourElevationGain = geoComparedTour.elevationGainAbsolute;
-            _refTourElevationLoss = geoComparedTour.elevationLossAbsolute;
-         }
-      }
-
-      // set computed values
-      for (final GeoComparedTour geoComparedTour : geoCompareData.allGeoComparedTours) {
-
-         geoComparedTour.elevationGainDiff = Math.abs(_refTourElevationGain - geoComparedTour.elevationGainAbsolute);
-         geoComparedTour.elevationLossDiff = Math.abs(_refTourElevationLoss - geoComparedTour.elevationLossAbsolute);
       }
 
       filterGeoCompareItems(geoCompareData);
@@ -1357,6 +1342,43 @@ public class GeoCompareView extends ViewPart implements ITourViewer, IGeoCompare
       }
    }
 
+   /**
+    * Compute the values of the compared tour segments which are displayed and the elevation
+    * gain/loss diffs to the reference tour
+    *
+    * @param geoCompareData
+    * @param allDisplayedTours
+    */
+   private void computeSegmentValues(final GeoCompareData geoCompareData, final List<GeoComparedTour> allDisplayedTours) {
+
+      final List<GeoComparedTour> allComputedTours = new ArrayList<>(allDisplayedTours);
+
+      // the elevation diffs are computed from the reference tour, also when it is not displayed
+      GeoComparedTour refTour = null;
+
+      for (final GeoComparedTour geoComparedTour : geoCompareData.allGeoComparedTours) {
+
+         if (geoComparedTour.tourId == _compareData_RefTour_TourId) {
+
+            refTour = geoComparedTour;
+            allComputedTours.add(refTour);
+
+            break;
+         }
+      }
+
+      BusyIndicator.showWhile(_display, () -> GeoCompareManager.computeSegmentValues(allComputedTours));
+
+      _refTourElevationGain = refTour == null ? 0 : refTour.elevationGainAbsolute;
+      _refTourElevationLoss = refTour == null ? 0 : refTour.elevationLossAbsolute;
+
+      for (final GeoComparedTour geoComparedTour : allDisplayedTours) {
+
+         geoComparedTour.elevationGainDiff = Math.abs(_refTourElevationGain - geoComparedTour.elevationGainAbsolute);
+         geoComparedTour.elevationLossDiff = Math.abs(_refTourElevationLoss - geoComparedTour.elevationLossAbsolute);
+      }
+   }
+
    private void createActions() {
 
 // SET_FORMATTING_OFF
@@ -2529,6 +2551,9 @@ public class GeoCompareView extends ViewPart implements ITourViewer, IGeoCompare
 
       if (_isTourFilter_ElevationDiff) {
 
+         // the elevation values are needed to filter the tours
+         computeSegmentValues(geoCompareData, _allGeoComparedTours);
+
          final List<GeoComparedTour> filteredComparedTours = new ArrayList<>(
 
                _allGeoComparedTours
@@ -2559,6 +2584,9 @@ public class GeoCompareView extends ViewPart implements ITourViewer, IGeoCompare
             geoCompareData.allGeoComparedTours_Filtered = _allGeoComparedTours;
          }
       }
+
+      // the segment values are computed only for the displayed tours
+      computeSegmentValues(geoCompareData, _allGeoComparedTours);
    }
 
    @Override
@@ -33,6 +33,12 @@ public class GeoComparedTour implements Comparable<Object> {
     */
    public boolean            isGeoCompareDone;
 
+   /**
+    * When <code>true</code> then the values of the compared tour segment are computed, they are
+    * computed only when the tour is displayed
+    */
+   boolean                   isSegmentValuesComputed;
+
    public long               tourId;
 
    /**
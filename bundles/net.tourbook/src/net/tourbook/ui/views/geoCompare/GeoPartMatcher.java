@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.ui.views.geoCompare;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Finds the position in a normalized tour where a normalized geo part has the smallest lat/lon
+ * difference.
+ * <p>
+ * The lat/lon diff for a tour position is the sum of all |lat diff| + |lon diff| of the part
+ * slices - 1, this is the same value as computed with {@link #computeLatLonDiff}.
+ * <p>
+ * Most of the tour positions are skipped without comparing all part slices:
+ * <p>
+ * <li>Lower bound: For a block of slices, sum(|a - b|) >= |sum(a) - sum(b)|, the block sums of
+ * the tour are computed with prefix sums</li>
+ * <li>Early abandoning: Comparing is stopped when the partial sum is already larger than the
+ * current min diff</li>
+ * <p>
+ * Positions which cannot have a smaller diff than the current min diff are skipped, so the found
+ * position is the same as with comparing all slices.
+ */
+public final class GeoPartMatcher {
+
+   /**
+    * Number of part slices which are summarized for the lower bound
+    */
+   private static final int LOWER_BOUND_BLOCK_SIZE = 16;
+
+   /**
+    * @param normTourIndex
+    *           Normalized tour index where the part has the smallest diff or -1 when the part
+    *           could not be compared
+    * @param latLonDiff
+    *           Lat/lon diff at {@link #normTourIndex} or -1
+    * @param numCompares
+    *           Number of compared slices
+    */
+   public record Result(int normTourIndex, long latLonDiff, long numCompares) {}
+
+   private GeoPartMatcher() {}
+
+   /**
+    * Compare the part at ALL tour positions, this is much slower than
+    * {@link #findBestMatch(int[], int[], int[], int[], BooleanSupplier)}
+    *
+    * @param partLat
+    * @param partLon
+    * @param tourLat
+    * @param tourLon
+    *
+    * @return Returns the lat/lon diff for each normalized tour position, it is -1 when the part
+    *         exceeds the tour
+    */
+   public static float[] computeLatLonDiff(final int[] partLat,
+                                           final int[] partLon,
+                                           final int[] tourLat,
+                                           final int[] tourLon) {
+
+      final int numNormPartSlices = partLat.length;
+      final int numNormTourSlices = tourLat.length;
+
+      final float[] normLatLonDiff = new float[numNormTourSlices];
+
+      // loop: all normalized tour slices
+      for (int normTourIndex = 0; normTourIndex < numNormTourSlices; normTourIndex++) {
+
+         long latLonDiff = -1;
+
+         // loop: all part slices
+         for (int normPartIndex = 0; normPartIndex < numNormPartSlices; normPartIndex++) {
+
+            final int compareIndex = normTourIndex + normPartIndex;
+
+            /*
+             * Make sure the compare index is not larger than the tour index, this happens when the
+             * part slices has exceeded the tour slices
+             */
+            if (compareIndex == numNormTourSlices) {
+               latLonDiff = -1;
+               break;
+            }
+
+            final int latDiff = partLat[normPartIndex] - tourLat[compareIndex];
+            final int lonDiff = partLon[normPartIndex] - tourLon[compareIndex];
+
+            // optimize Math.abs() !!!
+            final int latDiffAbs = latDiff < 0 ? -latDiff : latDiff;
+            final int lonDiffAbs = lonDiff >= 0 ? lonDiff : -lonDiff;
+
+            // summarize all diffs for one tour slice
+            latLonDiff += (latDiffAbs + lonDiffAbs);
+         }
+
+         // keep diff value
+         normLatLonDiff[normTourIndex] = latLonDiff;
+      }
+
+      return normLatLonDiff;
+   }
+
+   /**
+    * @param partLat
+    * @param partLon
+    * @param tourLat
+    * @param tourLon
+    * @param isCanceled
+    *
+    * @return Returns the tour position with the smallest lat/lon diff, when there are multiple
+    *         positions with the same diff, then the first position is returned. Returns
+    *         <code>null</code> when comparing is canceled.
+    */
+   public static Result findBestMatch(final int[] partLat,
+                                      final int[] partLon,
+                                      final int[] tourLat,
+                                      final int[] tourLon,
+                                      final BooleanSupplier isCanceled) {
+
+      final int numPartSlices = partLat.length;
+      final int numTourSlices = tourLat.length;
+
+      // the part must be within the tour
+      final int numTourPositions = numTourSlices - numPartSlices + 1;
+
+      if (numPartSlices == 0 || numTourPositions <= 0) {
+         return new Result(-1, -1, 0);
+      }
+
+      /*
+       * Sum part slices for each block
+       */
+      final int numBlocks = (numPartSlices + LOWER_BOUND_BLOCK_SIZE - 1) / LOWER_BOUND_BLOCK_SIZE;
+
+      final long[] partBlockSum_Lat = new long[numBlocks];
+      final long[] partBlockSum_Lon = new long[numBlocks];
+
+      for (int partIndex = 0; partIndex < numPartSlices; partIndex++) {
+
+         final int blockIndex = partIndex / LOWER_BOUND_BLOCK_SIZE;
+
+         partBlockSum_Lat[blockIndex] += partLat[partIndex];
+         partBlockSum_Lon[blockIndex] += partLon[partIndex];
+      }
+
+      /*
+       * Prefix sums of the tour slices, the sum of the slices [a, b) is prefixSum[b] - prefixSum[a]
+       */
+      final long[] tourPrefixSum_Lat = new long[numTourSlices + 1];
+      final long[] tourPrefixSum_Lon = new long[numTourSlices + 1];
+
+      for (int tourIndex = 0; tourIndex < numTourSlices; tourIndex++) {
+
+         tourPrefixSum_Lat[tourIndex + 1] = tourPrefixSum_Lat[tourIndex] + tourLat[tourIndex];
+         tourPrefixSum_Lon[tourIndex + 1] = tourPrefixSum_Lon[tourIndex] + tourLon[tourIndex];
+      }
+
+      long minDiffValue = Long.MAX_VALUE;
+      int minDiffIndex = -1;
+      long numCompares = 0;
+
+      // loop: all tour positions
+      for (int tourStartIndex = 0; tourStartIndex < numTourPositions; tourStartIndex++) {
+
+         if (isCanceled.getAsBoolean()) {
+            return null;
+         }
+
+         /*
+          * A position is skipped when the diff (sum - 1) cannot be smaller than the min diff
+          */
+         final long maxSum = minDiffValue == Long.MAX_VALUE
+               ? Long.MAX_VALUE
+               : minDiffValue + 1;
+
+         /*
+          * Lower bound
+          */
+         if (minDiffIndex != -1) {
+
+            long lowerBound = 0;
+
+            for (int blockIndex = 0; blockIndex < numBlocks && lowerBound < maxSum; blockIndex++) {
+
+               final int blockStart = tourStartIndex + blockIndex * LOWER_BOUND_BLOCK_SIZE;
+               final int blockEnd = Math.min(blockStart + LOWER_BOUND_BLOCK_SIZE, tourStartIndex + numPartSlices);
+
+               final long latDiff = partBlockSum_Lat[blockIndex] - (tourPrefixSum_Lat[blockEnd] - tourPrefixSum_Lat[blockStart]);
+               final long lonDiff = partBlockSum_Lon[blockIndex] - (tourPrefixSum_Lon[blockEnd] - tourPrefixSum_Lon[blockStart]);
+
+               lowerBound += (latDiff < 0 ? -latDiff : latDiff) + (lonDiff < 0 ? -lonDiff : lonDiff);
+            }
+
+            if (lowerBound >= maxSum) {
+               continue;
+            }
+         }
+
+         /*
+          * Compare with early abandoning
+          */
+         long latLonSum = 0;
+         boolean isAbandoned = false;
+
+         // loop: all part slices
+         for (int partIndex = 0; partIndex < numPartSlices; partIndex++) {
+
+            numCompares++;
+
+            final int latDiff = partLat[partIndex] - tourLat[tourStartIndex + partIndex];
+            final int lonDiff = partLon[partIndex] - tourLon[tourStartIndex + partIndex];
+
+            // optimize Math.abs() !!!
+            final int latDiffAbs = latDiff < 0 ? -latDiff : latDiff;
+            final int lonDiffAbs = lonDiff >= 0 ? lonDiff : -lonDiff;
+
+            latLonSum += (latDiffAbs + lonDiffAbs);
+
+            if (latLonSum >= maxSum) {
+               isAbandoned = true;
+               break;
+            }
+         }
+
+         if (isAbandoned) {
+            continue;
+         }
+
+         final long latLonDiff = latLonSum - 1;
+
+         // keep min diff value/index, -1 is an invalid value
+         if (latLonDiff < minDiffValue && latLonDiff != -1) {
+
+            minDiffValue = latLonDiff;
+            minDiffIndex = tourStartIndex;
+         }
+      }
+
+      return new Result(
+            minDiffIndex,
+            minDiffIndex == -1 ? -1 : minDiffValue,
+            numCompares);
+   }
+}
@@ -0,0 +1,507 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.ui.views.geoCompare;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.tourbook.common.UI;
+import net.tourbook.common.time.TimeTools;
+import net.tourbook.common.util.StatusUtil;
+import net.tourbook.common.util.Util;
+import net.tourbook.data.NormalizedGeoData;
+import net.tourbook.data.SerieData;
+import net.tourbook.data.SerieDataCodec;
+import net.tourbook.data.TourData;
+import net.tourbook.database.TourDatabase;
+
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+
+/**
+ * Persisted {@link NormalizedGeoData} for each tour and geo/distance accuracy, it is saved in
+ * {@link TourDatabase#TABLE_TOUR_GEO_NORMALIZED}.
+ * <p>
+ * The normalized data are deleted when a tour is saved or deleted, they are created again from the
+ * lat/lon data series when the tour is geo compared. A tour without geo data is saved without
+ * normalized data, that it is not loaded again for every geo compare.
+ * <p>
+ * The normalized lat/lon values of neighbouring slices differ only a little, they are saved as
+ * variable length differences which needs mostly 1 or 2 bytes for each value.
+ */
+class NormalizedGeoIndex {
+
+   private static final char   NL                      = UI.NEW_LINE;
+
+   /**
+    * Version of the saved data format
+    */
+   private static final int    NORMALIZED_DATA_VERSION = 1;
+
+   /**
+    * SQL state when a row with the same primary key is already available
+    */
+   private static final String SQL_STATE_DUPLICATE_KEY = "23505";     //$NON-NLS-1$
+
+   /**
+    * Geo data and the values of a tour which are displayed without loading the tour, the normalized
+    * data are <code>null</code> when the tour has no geo data
+    */
+   record IndexedTour(ZonedDateTime tourStartTime,
+                      String tourTitle,
+                      Long tourTypeId,
+                      NormalizedGeoData normalizedGeoData) {}
+
+   private NormalizedGeoIndex() {}
+
+   /**
+    * Create the normalized geo data only from the lat/lon and distance series, the other data
+    * series of the tour are not decoded.
+    *
+    * @param tourId
+    * @param geoAccuracy
+    * @param distanceAccuracy
+    *
+    * @return Returns <code>null</code> when the tour has no geo data
+    */
+   private static NormalizedGeoData createNormalizedLatLon(final long tourId,
+                                                           final int geoAccuracy,
+                                                           final int distanceAccuracy) {
+
+      final SerieData serieData = TourDatabase.getSerieData(tourId,
+
+            SerieDataCodec.COLUMN_DISTANCE_20,
+            SerieDataCodec.COLUMN_LATITUDE,
+            SerieDataCodec.COLUMN_LONGITUDE,
+            SerieDataCodec.COLUMN_LATITUDE_E6,
+            SerieDataCodec.COLUMN_LONGITUDE_E6);
+
+      if (serieData == null) {
+         return null;
+      }
+
+      double[] latitudeSerie;
+      double[] longitudeSerie;
+
+      if (serieData.latitude != null) {
+
+         // lat/lon double serie data from older versions
+
+         latitudeSerie = serieData.latitude;
+         longitudeSerie = serieData.longitude;
+
+      } else {
+
+         latitudeSerie = Util.convertDoubleSeries_FromE6(serieData.latitudeE6);
+         longitudeSerie = Util.convertDoubleSeries_FromE6(serieData.longitudeE6);
+      }
+
+      if (latitudeSerie == null || latitudeSerie.length == 0) {
+         return null;
+      }
+
+      return TourData.computeGeo_NormalizeLatLon(
+            tourId,
+            serieData.distanceSerie20,
+            latitudeSerie,
+            longitudeSerie,
+            0,
+            latitudeSerie.length - 1,
+            geoAccuracy,
+            distanceAccuracy);
+   }
+
+   /**
+    * @param tourId
+    * @param normalizedData
+    *
+    * @return Returns <code>null</code> when the data are saved with another version
+    *
+    * @throws IOException
+    */
+   private static NormalizedGeoData decode(final long tourId, final byte[] normalizedData) throws IOException {
+
+      try (DataInputStream inStream = new DataInputStream(new ByteArrayInputStream(normalizedData))) {
+
+         if (inStream.readInt() != NORMALIZED_DATA_VERSION) {
+            return null;
+         }
+
+         final NormalizedGeoData geoData = new NormalizedGeoData();
+
+         geoData.tourId = tourId;
+
+         geoData.geoAccuracy = inStream.readInt();
+         geoData.distanceAccuracy = inStream.readInt();
+
+         geoData.originalFirstIndex = inStream.readInt();
+         geoData.originalLastIndex = inStream.readInt();
+
+         geoData.normalizedDistance = inStream.readFloat();
+
+         final int numSlices = inStream.readInt();
+
+         geoData.normalizedLat = decode_Differences(inStream, numSlices);
+         geoData.normalizedLon = decode_Differences(inStream, numSlices);
+         geoData.normalized2OriginalIndices = decode_Differences(inStream, numSlices);
+
+         return geoData;
+      }
+   }
+
+   private static int[] decode_Differences(final DataInput inStream, final int numSlices) throws IOException {
+
+      final int[] allValues = new int[numSlices];
+
+      int previousValue = 0;
+
+      for (int sliceIndex = 0; sliceIndex < numSlices; sliceIndex++) {
+
+         // read variable length value, 7 bits for each byte
+         int zigZagValue = 0;
+         int shift = 0;
+         int byteValue;
+
+         do {
+
+            byteValue = inStream.readUnsignedByte();
+
+            zigZagValue |= (byteValue & 0x7f) << shift;
+            shift += 7;
+
+         } while ((byteValue & 0x80) != 0);
+
+         // zig zag decoding
+         final int difference = (zigZagValue >>> 1) ^ -(zigZagValue & 1);
+
+         previousValue += difference;
+
+         allValues[sliceIndex] = previousValue;
+      }
+
+      return allValues;
+   }
+
+   private static byte[] encode(final NormalizedGeoData geoData) throws IOException {
+
+      final int numSlices = geoData.normalizedLat.length;
+
+      final ByteArrayOutputStream byteStream = new ByteArrayOutputStream(28 + numSlices * 4);
+
+      try (DataOutputStream outStream = new DataOutputStream(byteStream)) {
+
+         outStream.writeInt(NORMALIZED_DATA_VERSION);
+
+         outStream.writeInt(geoData.geoAccuracy);
+         outStream.writeInt(geoData.distanceAccuracy);
+
+         outStream.writeInt(geoData.originalFirstIndex);
+         outStream.writeInt(geoData.originalLastIndex);
+
+         outStream.writeFloat(geoData.normalizedDistance);
+
+         outStream.writeInt(numSlices);
+
+         encode_Differences(outStream, geoData.normalizedLat);
+         encode_Differences(outStream, geoData.normalizedLon);
+         encode_Differences(outStream, geoData.normalized2OriginalIndices);
+      }
+
+      return byteStream.toByteArray();
+   }
+
+   private static void encode_Differences(final DataOutput outStream, final int[] allValues) throws IOException {
+
+      int previousValue = 0;
+
+      for (final int value : allValues) {
+
+         final int difference = value - previousValue;
+
+         previousValue = value;
+
+         // zig zag encoding, small negative differences are also small values
+         int zigZagValue = (difference << 1) ^ (difference >> 31);
+
+         // write variable length value, 7 bits for each byte
+         while ((zigZagValue & ~0x7f) != 0) {
+
+            outStream.writeByte((zigZagValue & 0x7f) | 0x80);
+
+            zigZagValue >>>= 7;
+         }
+
+         outStream.writeByte(zigZagValue);
+      }
+   }
+
+   /**
+    * Load the normalized geo data and start time of multiple tours with one query, when the
+    * normalized data are not available, then they are created from the lat/lon series of the tour
+    * and saved with one batch.
+    *
+    * @param allTourIds
+    * @param geoAccuracy
+    * @param distanceAccuracy
+    *
+    * @return Returns the indexed tours, key is the tour ID, a tour which is not available is not
+    *         contained
+    */
+   static LongObjectHashMap<IndexedTour> getIndexedTours(final List<Long> allTourIds,
+                                                         final int geoAccuracy,
+                                                         final int distanceAccuracy) {
+
+      final LongObjectHashMap<IndexedTour> allIndexedTours = new LongObjectHashMap<>();
+
+      if (allTourIds.isEmpty()) {
+         return allIndexedTours;
+      }
+
+      final StringBuilder sbTourIds = new StringBuilder();
+
+      for (final Long tourId : allTourIds) {
+
+         if (sbTourIds.length() > 0) {
+            sbTourIds.append(',');
+         }
+
+         sbTourIds.append(tourId);
+      }
+
+      final String sql = UI.EMPTY_STRING
+
+            + "SELECT" + NL //                                                                  //$NON-NLS-1$
+
+            + "   TourData.TourId," + NL //                                                 1   //$NON-NLS-1$
+            + "   TourData.TourStartTime," + NL //                                          2   //$NON-NLS-1$
+            + "   TourData.TimeZoneId," + NL //                                             3   //$NON-NLS-1$
+            + "   TourData.TourTitle," + NL //                                              4   //$NON-NLS-1$
+            + "   TourData.TourType_TypeId," + NL //                                        5   //$NON-NLS-1$
+            + "   GeoNormalized.TourId," + NL //                                            6   //$NON-NLS-1$
+            + "   GeoNormalized.NormalizedData" + NL //                                     7   //$NON-NLS-1$
+
+            + " FROM " + TourDatabase.TABLE_TOUR_DATA + " TourData" + NL //                     //$NON-NLS-1$ //$NON-NLS-2$
+
+            + " LEFT OUTER JOIN " + TourDatabase.TABLE_TOUR_GEO_NORMALIZED + " GeoNormalized" + NL //  //$NON-NLS-1$ //$NON-NLS-2$
+            + " ON GeoNormalized.TourId = TourData.TourId" + NL //                              //$NON-NLS-1$
+            + "   AND GeoNormalized.GeoAccuracy = ?" + NL //                                    //$NON-NLS-1$
+            + "   AND GeoNormalized.DistanceAccuracy = ?" + NL //                               //$NON-NLS-1$
+
+            + " WHERE TourData.TourId IN (" + sbTourIds.toString() + ")" + NL //                //$NON-NLS-1$ //$NON-NLS-2$
+      ;
+
+      // the normalized data of these tours are created, they are set into the indexed tour
+      final LongObjectHashMap<IndexedTour> allNotIndexedTours = new LongObjectHashMap<>();
+      final List<Long> allOutdatedTourIds = new ArrayList<>();
+
+      try (Connection conn = TourDatabase.getInstance().getConnection()) {
+
+         try (PreparedStatement statement = conn.prepareStatement(sql)) {
+
+            statement.setInt(1, geoAccuracy);
+            statement.setInt(2, distanceAccuracy);
+
+            try (ResultSet result = statement.executeQuery()) {
+
+               while (result.next()) {
+
+                  final long tourId = result.getLong(1);
+                  final long dbTourStartTime = result.getLong(2);
+                  final String dbTimeZoneId = result.getString(3);
+                  final String dbTourTitle = result.getString(4);
+                  final Object dbTourTypeId = result.getObject(5);
+                  final Object dbGeoTourId = result.getObject(6);
+                  final byte[] dbNormalizedData = result.getBytes(7);
+
+                  final ZonedDateTime tourStartTime = TimeTools.createTourDateTime(dbTourStartTime, dbTimeZoneId).tourZonedDateTime;
+
+                  final IndexedTour tourWithoutGeoData = new IndexedTour(
+                        tourStartTime,
+                        dbTourTitle == null ? UI.EMPTY_STRING : dbTourTitle,
+                        (Long) dbTourTypeId,
+                        null);
+
+                  if (dbGeoTourId == null) {
+
+                     // normalized data are not yet created
+
+                     allNotIndexedTours.put(tourId, tourWithoutGeoData);
+
+                  } else if (dbNormalizedData == null) {
+
+                     // tour has no geo data
+
+                     allIndexedTours.put(tourId, tourWithoutGeoData);
+
+                  } else {
+
+                     final NormalizedGeoData geoData = decode(tourId, dbNormalizedData);
+
+                     if (geoData == null) {
+
+                        // normalized data are saved with another version
+
+                        allOutdatedTourIds.add(tourId);
+                        allNotIndexedTours.put(tourId, tourWithoutGeoData);
+
+                     } else {
+
+                        allIndexedTours.put(tourId, withGeoData(tourWithoutGeoData, geoData));
+                     }
+                  }
+               }
+            }
+         }
+
+         if (allNotIndexedTours.notEmpty()) {
+
+            final LongObjectHashMap<NormalizedGeoData> allCreatedGeoData = new LongObjectHashMap<>();
+
+            allNotIndexedTours.forEachKeyValue((tourId, tourWithoutGeoData) -> {
+
+               final NormalizedGeoData geoData = createNormalizedLatLon(tourId, geoAccuracy, distanceAccuracy);
+
+               allCreatedGeoData.put(tourId, geoData);
+               allIndexedTours.put(tourId, withGeoData(tourWithoutGeoData, geoData));
+            });
+
+            save(conn, allCreatedGeoData, allOutdatedTourIds, geoAccuracy, distanceAccuracy);
+         }
+
+      } catch (final SQLException | IOException e) {
+
+         StatusUtil.log(e);
+      }
+
+      return allIndexedTours;
+   }
+
+   /**
+    * Save all created normalized data with one batch, outdated data are deleted before
+    *
+    * @param conn
+    * @param allGeoData
+    *           Key is the tour ID, value is <code>null</code> when the tour has no geo data
+    * @param allOutdatedTourIds
+    * @param geoAccuracy
+    * @param distanceAccuracy
+    *
+    * @throws SQLException
+    * @throws IOException
+    */
+   private static void save(final Connection conn,
+                            final LongObjectHashMap<NormalizedGeoData> allGeoData,
+                            final List<Long> allOutdatedTourIds,
+                            final int geoAccuracy,
+                            final int distanceAccuracy) throws SQLException, IOException {
+
+      final String sqlDelete = UI.EMPTY_STRING
+
+            + "DELETE FROM " + TourDatabase.TABLE_TOUR_GEO_NORMALIZED + NL //                //$NON-NLS-1$
+            + " WHERE TourId=? AND GeoAccuracy=? AND DistanceAccuracy=?" + NL //             //$NON-NLS-1$
+      ;
+
+      final String sqlInsert = UI.EMPTY_STRING
+
+            + "INSERT INTO " + TourDatabase.TABLE_TOUR_GEO_NORMALIZED + NL //                //$NON-NLS-1$
+            + " (TourId, GeoAccuracy, DistanceAccuracy, NormalizedData)" + NL //             //$NON-NLS-1$
+            + " VALUES (?, ?, ?, ?)" + NL //                                                 //$NON-NLS-1$
+      ;
+
+      final boolean isAutoCommit = conn.getAutoCommit();
+
+      try (PreparedStatement deleteStmt = conn.prepareStatement(sqlDelete);
+            PreparedStatement insertStmt = conn.prepareStatement(sqlInsert)) {
+
+         conn.setAutoCommit(false);
+
+         if (allOutdatedTourIds.size() > 0) {
+
+            for (final Long tourId : allOutdatedTourIds) {
+
+               deleteStmt.setLong(1, tourId);
+               deleteStmt.setInt(2, geoAccuracy);
+               deleteStmt.setInt(3, distanceAccuracy);
+
+               deleteStmt.addBatch();
+            }
+
+            deleteStmt.executeBatch();
+         }
+
+         for (final long tourId : allGeoData.keySet().toArray()) {
+
+            final NormalizedGeoData geoData = allGeoData.get(tourId);
+
+            insertStmt.setLong(1, tourId);
+            insertStmt.setInt(2, geoAccuracy);
+            insertStmt.setInt(3, distanceAccuracy);
+            insertStmt.setBytes(4, geoData == null ? null : encode(geoData));
+
+            insertStmt.addBatch();
+         }
+
+         insertStmt.executeBatch();
+
+         conn.commit();
+
+      } catch (final SQLException e) {
+
+         conn.rollback();
+
+         // another thread could have saved the same data, they are created again in the next geo compare
+         if (isDuplicateKey(e) == false) {
+            throw e;
+         }
+
+      } finally {
+
+         conn.setAutoCommit(isAutoCommit);
+      }
+   }
+
+   private static boolean isDuplicateKey(final SQLException exception) {
+
+      for (SQLException e = exception; e != null; e = e.getNextException()) {
+
+         if (SQL_STATE_DUPLICATE_KEY.equals(e.getSQLState())) {
+            return true;
+         }
+      }
+
+      return false;
+   }
+
+   private static IndexedTour withGeoData(final IndexedTour indexedTour, final NormalizedGeoData geoData) {
+
+      return new IndexedTour(
+            indexedTour.tourStartTime(),
+            indexedTour.tourTitle(),
+            indexedTour.tourTypeId(),
+            geoData);
+   }
+}
@@ -1234,7 +1234,7 @@ public class ComparedTourChartView extends TourChartViewPart implements ISynched
       final int refTour_FirstIndex = geoCompareData.refTour_FirstIndex;
 
       // set tour compare data, this will enable the action button to see the graph for this data
-      _tourData.tourCompare_DiffSerie = geoComparedTour.tourLatLonDiff;
+      _tourData.tourCompare_DiffSerie = GeoCompareManager.getTourLatLonDiff(geoComparedTour, compTourData);
       _tourData.tourCompare_ReferenceSerie = createRefTourDataSerie(
 
             compTourData,
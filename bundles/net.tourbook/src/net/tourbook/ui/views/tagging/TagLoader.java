@@ -36,6 +36,7 @@ import net.tourbook.common.UI;
 import net.tourbook.common.time.TimeTools;
 import net.tourbook.common.util.SQL;
 import net.tourbook.common.util.TreeViewerItem;
+import net.tourbook.database.DatabaseQueryProfiler;
 import net.tourbook.database.TourDatabase;
 import net.tourbook.ui.AppFilter;
 
@@ -533,6 +534,8 @@ public class TagLoader {
          Set<Long> allTagIDs = null;
          Set<Long> allEquipmentIDs = null;
 
+         final long profilerStart = DatabaseQueryProfiler.start(conn);
+
          final ResultSet result = statement.executeQuery();
          while (result.next()) {
 
@@ -590,6 +593,8 @@ public class TagLoader {
             previousTourId = tourId;
          }
 
+         DatabaseQueryProfiler.stop(conn, "Tag View - Tag Tours", profilerStart); //$NON-NLS-1$
+
          final int numTours = allTourItems.size();
          final int numNoTours = numTours == 0 ? 1 : 0;
 
@@ -755,6 +760,8 @@ public class TagLoader {
          Set<Long> allTagIDs = null;
          Set<Long> allEquipmentIDs = null;
 
+         final long profilerStart = DatabaseQueryProfiler.start(conn);
+
          final ResultSet result = statement.executeQuery();
          while (result.next()) {
 
@@ -813,6 +820,8 @@ public class TagLoader {
             lastTourId = tourId;
          }
 
+         DatabaseQueryProfiler.stop(conn, "Tag View - Year Tours", profilerStart); //$NON-NLS-1$
+
          final int numTours = allTourItems.size();
          final int numNoTours = numTours == 0 ? 1 : 0;
 
@@ -20,6 +20,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -35,7 +36,7 @@ import net.tourbook.common.util.ColumnDefinition;
 import net.tourbook.common.util.ColumnManager;
 import net.tourbook.common.util.SQL;
 import net.tourbook.common.util.SQLData;
-import net.tourbook.common.util.StatusUtil;
+import net.tourbook.database.DatabaseQueryProfiler;
 import net.tourbook.database.TourDatabase;
 import net.tourbook.equipment.EquipmentPartFilter_AND_OR;
 import net.tourbook.equipment.EquipmentPartFilter_NOT;
@@ -74,6 +75,18 @@ public class NatTable_DataLoader {
 
    private static int                                     FETCH_SIZE                     = 1_000;
 
+   /**
+    * Number of threads which are loading pages, the page which is displayed and the pages which
+    * are prefetched can be loaded at the same time
+    */
+   private static final int                               NUM_LOADING_THREADS            = 3;
+
+   /**
+    * When a row within this distance to the next page is displayed, then the next page in the
+    * scroll direction is prefetched
+    */
+   private static final int                               PREFETCH_ROWS                  = FETCH_SIZE / 4;
+
    private static final ExecutorService                   _loadingExecutor               = createExecuter_TourLoading();
    private static final ExecutorService                   _rowIndexExecutor              = createExecuter_TourId_RowIndex();
 
@@ -122,9 +135,15 @@ public class NatTable_DataLoader {
 
    /**
     * Contains all tour id's for the current tour filter and tour sorting, this is used
-    * to get the row index for a tour.
+    * to get the row index for a tour and to load the tours of a page by their tour id's.
     */
-   private long[]                                         _allSortedTourIDs;
+   private volatile long[]                                _allSortedTourIDs;
+   private final Object                                   _allSortedTourIDs_Lock         = new Object();
+
+   /**
+    * Row index which was requested at last, it is used to get the scroll direction
+    */
+   private int                                            _lastRequestedRowIndex;
 
    private SQLData                                        _tourCollectionFilter          = new SQLData();
 
@@ -157,28 +176,29 @@ public class NatTable_DataLoader {
 
    private static ExecutorService createExecuter_TourLoading() {
 
-      final ThreadFactory threadFactory = runnable -> {
+      final ThreadFactory threadFactory = new ThreadFactory() {
 
-         final Thread thread = new Thread(runnable, "NatTable_DataLoader: Loading tours");//$NON-NLS-1$
+         private int __threadNumber = 0;
 
-         thread.setPriority(Thread.MIN_PRIORITY);
-         thread.setDaemon(true);
+         @Override
+         public Thread newThread(final Runnable runnable) {
 
-         return thread;
-      };
+            final Thread thread = new Thread(runnable, "NatTable_DataLoader: Loading tours - " + __threadNumber++);//$NON-NLS-1$
 
-// !!! newCachedThreadPool is not working, part of the view is not updated !!!
-//
-//      final ExecutorService loadingExecutor = Executors.newCachedThreadPool(threadFactory);
-//
-//      final ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) loadingExecutor;
-//
-//      threadPoolExecutor.setKeepAliveTime(1, TimeUnit.SECONDS);
-//      threadPoolExecutor.setMaximumPoolSize(Runtime.getRuntime().availableProcessors());
-//
-//      return loadingExecutor;
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.setDaemon(true);
 
-      return Executors.newSingleThreadExecutor(threadFactory);
+            return thread;
+         }
+      };
+
+      /*
+       * !!! newCachedThreadPool is not working, part of the view is not updated !!!
+       * <p>
+       * A fixed pool is used, each loading task is polling a page from the waiting queue, the UI
+       * is updated after each page is loaded.
+       */
+      return Executors.newFixedThreadPool(NUM_LOADING_THREADS, threadFactory);
    }
 
    private void createColumnHeaderData() {
@@ -196,8 +216,10 @@ public class NatTable_DataLoader {
          return new int[0];
       }
 
+      final long[] allSortedTourIDs = getSortedTourIds();
+
       final IntArrayList allRowIndices = new IntArrayList();
-      final int numAllAvailableTourIds = _allSortedTourIDs.length;
+      final int numAllAvailableTourIds = allSortedTourIDs.length;
 
       // loop: all requested tour id's
       for (final Long requestedTourId : allRequestedTourIds) {
@@ -205,7 +227,7 @@ public class NatTable_DataLoader {
          // loop: all available tour id's
          for (int rowPosition = 0; rowPosition < numAllAvailableTourIds; rowPosition++) {
 
-            final long loadedTourId = _allSortedTourIDs[rowPosition];
+            final long loadedTourId = allSortedTourIDs[rowPosition];
 
             if (loadedTourId == requestedTourId) {
 
@@ -327,6 +349,8 @@ public class NatTable_DataLoader {
          nextIndex = tourCollectionFilter.setParameters(prepStmt, nextIndex);
          nextIndex = partFilter_NOT.setParameters(prepStmt, nextIndex);
 
+         final long profilerStart = DatabaseQueryProfiler.start(conn);
+
          final ResultSet result = prepStmt.executeQuery();
 
          int rowIndex = 0;
@@ -340,6 +364,8 @@ public class NatTable_DataLoader {
             _fetchedTourIndex.put(tourId, rowIndex++);
          }
 
+         DatabaseQueryProfiler.stop(conn, "Tour Book - All Tour IDs", profilerStart); //$NON-NLS-1$
+
       } catch (final SQLException e) {
 
          SQL.showException(e, sql);
@@ -451,45 +477,32 @@ public class NatTable_DataLoader {
 
    private boolean fetchPagedTourItems(final LazyTourLoaderItem loaderItem) {
 
-      /**
-       * Using this syntax from
-       * https://stackoverflow.com/questions/38770349/get-rows-on-first-table-not-on-left-joins-result-set#38770491
-       * <code>
-       * SELECT ST1.Col1, T2.Col1 FROM
-       * (
-       *     SELECT * FROM Table1
-       *     ORDER BY Col1
-       *     OFFSET @offset ROWS
-       *     FETCH NEXT @page ROWS ONLY
-       * ) ST1
-       * JOIN Table2 T2 ON ST1.Id=T2.FkToT1
-       * </code>
+      /*
+       * The tours of a page are loaded by their tour id's, the sorted tour id's are loaded only
+       * once for the current sorting and tour filter.
+       * <p>
+       * Loading a page with "OFFSET ? ROWS FETCH NEXT ? ROWS ONLY" is slow for the last pages
+       * because all previous rows are scanned and sorted again for each page.
        */
+      final long[] allSortedTourIDs = getSortedTourIds();
 
-      String sql = null;
+      final int firstPageRow = loaderItem.sqlOffset;
+      final int numPageTours = Math.min(FETCH_SIZE, allSortedTourIDs.length - firstPageRow);
 
-      /**
-       * VERY IMPORTANT
-       * <p>
-       * Use a local copy because sometimes the filter is replaced during
-       * <code>
-       *
-       *    final PreparedStatement prepStmt = conn.prepareStatement(sql);
-       *
-       * </code>
-       *
-       * which is causing exceptions because of differences between the sql and the parameters,
-       * probably because of concurrency !!!
-       */
+      if (numPageTours <= 0) {
+         return false;
+      }
 
-      try (Connection conn = TourDatabase.getInstance().getConnection()) {
+      final List<Long> allPageTourIds = new ArrayList<>(numPageTours);
+      for (int rowIndex = firstPageRow; rowIndex < firstPageRow + numPageTours; rowIndex++) {
+         allPageTourIds.add(allSortedTourIDs[rowIndex]);
+      }
 
-         final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
-         final SQLData partFilter_AND_OR = new EquipmentPartFilter_AND_OR(EquipmentViewerType.IS_EQUIPMENT_VIEWER).getSqlData();
-         final SQLData partFilter_NOT = new EquipmentPartFilter_NOT(EquipmentViewerType.IS_EQUIPMENT_VIEWER).getSqlData();
-         final SQLData tourCollectionFilter = _tourCollectionFilter;
+      final HashMap<Long, TVITourBookTour> allPageTourItems = new HashMap<>();
 
-         final String orderBy = createSql_Sorting_OrderBy();
+      String sql = null;
+
+      try (Connection conn = TourDatabase.getInstance().getConnection()) {
 
          sql = UI.EMPTY_STRING
 
@@ -514,24 +527,10 @@ public class NatTable_DataLoader {
 
                + "   SELECT" + NL //                                                               //$NON-NLS-1$
 
-               // create unique tour IDs otherwise multiple parts for one tour can create multiple tour rows
-               + "      DISTINCT " //                                                              //$NON-NLS-1$
-
                + TVITourBookItem.getSQL_ALL_TOUR_FIELDS("TourData", 6) + NL //                     //$NON-NLS-1$
 
                + "     FROM TOURDATA AS TourData" + NL //                                          //$NON-NLS-1$
-
-               + partFilter_AND_OR.getSqlString()
-
-               + "     WHERE 1=1" + NL //                                                          //$NON-NLS-1$
-
-               + appFilter.getWhereClause() + NL
-               + tourCollectionFilter.getSqlString() + NL
-               + partFilter_NOT.getSqlString() + NL
-
-               + "   " + orderBy + NL //                                                           //$NON-NLS-1$
-
-               + "   OFFSET ? ROWS FETCH NEXT ? ROWS ONLY" + NL //                                 //$NON-NLS-1$
+               + "     WHERE TourData.TourId IN (" + SQL.createParameterList(numPageTours) + ")" + NL //  //$NON-NLS-1$ //$NON-NLS-2$
 
                + ") AS tdFiltered" + NL //                                                         //$NON-NLS-1$
 
@@ -540,22 +539,18 @@ public class NatTable_DataLoader {
                + "LEFT JOIN " + TourDatabase.TABLE_TOUR_NUTRITION_PRODUCT + "    AS np    ON tdFiltered.tourID = np.TourData_tourId" + NL //   //$NON-NLS-1$ //$NON-NLS-2$
                + "LEFT JOIN " + TourDatabase.JOINTABLE__TOURDATA__EQUIPMENT + "  AS te    ON tdFiltered.tourID = te.TourData_tourId" + NL //   //$NON-NLS-1$ //$NON-NLS-2$
 
-               + orderBy + NL;
+               // all result sets of a tour must follow each other
+               + "ORDER BY tdFiltered.tourID" + NL; //                                             //$NON-NLS-1$
 
          final PreparedStatement prepStmt = conn.prepareStatement(sql);
 
-         int rowIndex = loaderItem.sqlOffset;
          int nextIndex = 1;
 
-         // set filter parameters
-         nextIndex = partFilter_AND_OR.setParameters(prepStmt, nextIndex);
-         nextIndex = appFilter.setParameters(prepStmt, nextIndex);
-         nextIndex = tourCollectionFilter.setParameters(prepStmt, nextIndex);
-         nextIndex = partFilter_NOT.setParameters(prepStmt, nextIndex);
+         for (final Long tourId : allPageTourIds) {
+            prepStmt.setLong(nextIndex++, tourId);
+         }
 
-         // set number of fetched parameters
-         prepStmt.setInt(nextIndex++, rowIndex);
-         prepStmt.setInt(nextIndex++, FETCH_SIZE);
+         final long profilerStart = DatabaseQueryProfiler.start(conn);
 
          long prevTourId = -1;
          HashSet<Long> allEquipmentIDs = null;
@@ -649,51 +644,46 @@ public class NatTable_DataLoader {
                   tourItem.setNutritionProductsIds(nutritionProductIds);
                }
 
-               // keep tour item
-               final int natTableRowIndex = rowIndex++;
-
-               _fetchedTourItems.put(natTableRowIndex, tourItem);
-               _fetchedTourIndex.put(tourItem.tourId, natTableRowIndex);
+               allPageTourItems.put(result_TourId, tourItem);
             }
 
             prevTourId = result_TourId;
          }
 
+         DatabaseQueryProfiler.stop(conn, "Tour Book - Page", profilerStart); //$NON-NLS-1$
+
       } catch (final SQLException sqlException) {
 
-         final String sqlState = sqlException.getSQLState();
-
-         if (TourDatabase.SQL_ERROR_XCL13.equals(sqlState)
-               || TourDatabase.SQL_ERROR_XCL14.equals(sqlState)) {
-
-            /**
-             * ERROR XCL13: The parameter position '13' is out of range. The number of
-             * parameters for this prepared statement is '12'.
-             * <p>
-             * net.tourbook.ui.views.tourBook.natTable.NatTable_DataLoader.fetchPagedTourItems(NatTable_DataLoader.java:648)
-             * <p>
-             * or
-             * <p>
-             * net.tourbook.ui.views.tourBook.natTable.NatTable_DataLoader.fetchPagedTourItems(NatTable_DataLoader.java:652)
-             * <p>
-             * This cannot be reproduced but it happened firstly, after fixing the tour
-             * collection
-             * filter in commit
-             * https://github.com/mytourbook/mytourbook/commit/b4c664f37caadfc45695e0ef806bad4c9a7fd4fc
-             * and it occurred already several times
-             * <p>
-             */
+         SQL.showException(sqlException, sql);
 
-            StatusUtil.log(sqlException);
+         return false;
+      }
 
-         } else {
+      if (allSortedTourIDs != _allSortedTourIDs) {
 
-            SQL.showException(sqlException, sql);
-         }
+         // the sorting or the tour filter has changed during the loading -> the tours are loaded again
 
          return false;
       }
 
+      // set the rows in the sorting order
+      for (int pageIndex = 0; pageIndex < numPageTours; pageIndex++) {
+
+         final long tourId = allPageTourIds.get(pageIndex);
+         final TVITourBookTour tourItem = allPageTourItems.get(tourId);
+
+         if (tourItem == null) {
+
+            // tour was deleted in the meantime
+            continue;
+         }
+
+         final int natTableRowIndex = firstPageRow + pageIndex;
+
+         _fetchedTourItems.put(natTableRowIndex, tourItem);
+         _fetchedTourIndex.put(tourId, natTableRowIndex);
+      }
+
       if (_postFetchRunnable != null) {
 
          final Runnable postFetchRunnable = _postFetchRunnable;
@@ -778,26 +768,8 @@ public class NatTable_DataLoader {
     */
    public CompletableFuture<int[]> getRowIndexFromTourId(final List<Long> allRequestedTourIds) {
 
-      if (_allSortedTourIDs == null) {
-
-         // firstly load all tour id's
-
-         return CompletableFuture.supplyAsync(() -> {
-
-            fetchAllTourIds();
-
-            return createRowIndicesFromTourIds(allRequestedTourIds);
-
-         }, _rowIndexExecutor);
-
-      } else {
-
-         return CompletableFuture.supplyAsync(() -> {
-
-            return createRowIndicesFromTourIds(allRequestedTourIds);
-
-         }, _rowIndexExecutor);
-      }
+      // all tour id's are loaded when not yet available
+      return CompletableFuture.supplyAsync(() -> createRowIndicesFromTourIds(allRequestedTourIds), _rowIndexExecutor);
    }
 
    public String[] getSortColumnIds() {
@@ -808,6 +780,22 @@ public class NatTable_DataLoader {
       return _allSortDirections;
    }
 
+   /**
+    * @return Returns all tour id's for the current sorting and tour filter, they are loaded when
+    *         not yet available
+    */
+   private long[] getSortedTourIds() {
+
+      synchronized (_allSortedTourIDs_Lock) {
+
+         if (_allSortedTourIDs == null) {
+            fetchAllTourIds();
+         }
+
+         return _allSortedTourIDs;
+      }
+   }
+
    /**
     * Maps column field -> database field
     *
@@ -1083,46 +1071,98 @@ public class NatTable_DataLoader {
     */
    TVITourBookTour getTour(final int rowIndex) {
 
+      final int scrollDirection = rowIndex >= _lastRequestedRowIndex ? 1 : -1;
+      _lastRequestedRowIndex = rowIndex;
+
+      final int fetchKey = rowIndex / FETCH_SIZE;
+
       final TVITourBookTour loadedTourItem = _fetchedTourItems.get(rowIndex);
 
       if (loadedTourItem != null) {
 
          // tour is loaded
 
+         /*
+          * Prefetch the next page in the scroll direction that it is loaded before it is
+          * displayed
+          */
+         final int pageRow = rowIndex % FETCH_SIZE;
+
+         if (scrollDirection > 0 && pageRow >= FETCH_SIZE - PREFETCH_ROWS) {
+
+            loadPage(fetchKey + 1, true);
+
+         } else if (scrollDirection < 0 && pageRow < PREFETCH_ROWS) {
+
+            loadPage(fetchKey - 1, true);
+         }
+
          return loadedTourItem;
       }
 
       /*
-       * Check if the tour is currently fetched
+       * Tour is not yet loaded or not yet loading -> load it now
        */
-      final int fetchKey = rowIndex / FETCH_SIZE;
+      loadPage(fetchKey, false);
+
+      return null;
+   }
+
+   long getTourId(final int rowIndex) {
 
-      LazyTourLoaderItem lazyTourLoaderItem = _pageNumbers_Loading.get(fetchKey);
+      if (_allSortedTourIDs == null) {
 
-      if (lazyTourLoaderItem != null) {
+         return -1;
 
-         // tour is currently being loading -> wait until finished loading
+      } else {
 
-         return null;
+         return _allSortedTourIDs[rowIndex];
       }
+   }
 
-      /*
-       * Tour is not yet loaded or not yet loading -> load it now
-       */
+   /**
+    * Load a page in the background when it is not yet loaded or loading
+    *
+    * @param fetchKey
+    *           Page number
+    * @param isPrefetch
+    *           When <code>true</code> then the page is not yet displayed and it is loaded after
+    *           all displayed pages
+    */
+   private void loadPage(final int fetchKey, final boolean isPrefetch) {
+
+      if (fetchKey < 0
+            || _numAllTourItems != -1 && fetchKey * FETCH_SIZE >= _numAllTourItems
+            || _pageNumbers_Fetched.containsKey(fetchKey)) {
+
+         return;
+      }
 
-      lazyTourLoaderItem = new LazyTourLoaderItem();
+      final LazyTourLoaderItem lazyTourLoaderItem = new LazyTourLoaderItem();
 
       lazyTourLoaderItem.sqlOffset = fetchKey * FETCH_SIZE;
       lazyTourLoaderItem.fetchKey = fetchKey;
 
-      _pageNumbers_Loading.put(fetchKey, lazyTourLoaderItem);
+      /*
+       * Check if the page is currently fetched
+       */
+      if (_pageNumbers_Loading.putIfAbsent(fetchKey, lazyTourLoaderItem) != null) {
+
+         // page is currently being loading -> wait until finished loading
+
+         return;
+      }
 
-      _loaderWaitingQueue.add(lazyTourLoaderItem);
+      if (isPrefetch) {
+         _loaderWaitingQueue.addFirst(lazyTourLoaderItem);
+      } else {
+         _loaderWaitingQueue.addLast(lazyTourLoaderItem);
+      }
 
       _loadingExecutor.submit(() -> {
 
-         // get last added loader item
-         final LazyTourLoaderItem loaderItem = _loaderWaitingQueue.pollFirst();
+         // get last added loader item, prefetched pages are loaded at last
+         final LazyTourLoaderItem loaderItem = _loaderWaitingQueue.pollLast();
 
          if (loaderItem == null) {
             return;
@@ -1130,6 +1170,13 @@ public class NatTable_DataLoader {
 
          final boolean fetchPagedTourItems = fetchPagedTourItems(loaderItem);
 
+         final int loaderItemFetchKey = loaderItem.fetchKey;
+
+         // the loader item is not available when the tour items were reset during the loading
+         if (_pageNumbers_Loading.remove(loaderItemFetchKey, loaderItem)) {
+            _pageNumbers_Fetched.put(loaderItemFetchKey, loaderItemFetchKey);
+         }
+
          if (fetchPagedTourItems) {
 
             // update UI
@@ -1147,26 +1194,7 @@ public class NatTable_DataLoader {
                tourViewer_NatTable.redraw();
             });
          }
-
-         final int loaderItemFetchKey = loaderItem.fetchKey;
-
-         _pageNumbers_Fetched.put(loaderItemFetchKey, loaderItemFetchKey);
-         _pageNumbers_Loading.remove(loaderItemFetchKey);
       });
-
-      return null;
-   }
-
-   long getTourId(final int rowIndex) {
-
-      if (_allSortedTourIDs == null) {
-
-         return -1;
-
-      } else {
-
-         return _allSortedTourIDs[rowIndex];
-      }
    }
 
    /**
@@ -1185,8 +1213,11 @@ public class NatTable_DataLoader {
 
       _pageNumbers_Fetched.clear();
       _pageNumbers_Loading.clear();
+      _loaderWaitingQueue.clear();
 
-      _allSortedTourIDs = null;
+      synchronized (_allSortedTourIDs_Lock) {
+         _allSortedTourIDs = null;
+      }
 
       _numAllTourItems = -1;
 
@@ -1335,6 +1366,9 @@ public class NatTable_DataLoader {
           * and a selected tour was not the selected display tour because of different tour ID
           * sortings !!!
           * <p>
+          * Now the pages are loaded with the tour ID's from fetchAllTourIds() but the additional
+          * sorting keeps the tour order stable.
+          * <p>
           * It took me many hours to find/debug this simple workaround.
           */
 
@@ -28,7 +28,6 @@ import java.util.List;
 import net.tourbook.Images;
 import net.tourbook.Messages;
 import net.tourbook.OtherMessages;
-import net.tourbook.algorithm.DPPoint;
 import net.tourbook.algorithm.DouglasPeuckerSimplifier;
 import net.tourbook.application.TourbookPlugin;
 import net.tourbook.chart.ColorCache;
@@ -1616,27 +1615,12 @@ public class TourSegmenterView extends ViewPart implements ITourViewer {
       final float[] distanceSerie = _tourData.distanceSerie;
       final float[] elevationSerie = _tourData.getAltitudeSmoothedSerieMetric();
 
-      // convert data series into dp points
-      final DPPoint[] graphPoints = new DPPoint[distanceSerie.length];
-      for (int serieIndex = 0; serieIndex < graphPoints.length; serieIndex++) {
-         graphPoints[serieIndex] = new DPPoint(distanceSerie[serieIndex], elevationSerie[serieIndex], serieIndex);
-      }
-
-      final Object[] dpPoints = new DouglasPeuckerSimplifier(
+      // the simplified serie indices are the segments of the tour data
+      _tourData.segmentSerieIndex = DouglasPeuckerSimplifier.simplify(
             _dpToleranceElevation,
-            graphPoints,
-            getTourIndices()).simplify();
-
-      /*
-       * copies the data index for the simplified points into the tour data
-       */
-
-      final int[] segmentSerieIndex = _tourData.segmentSerieIndex = new int[dpPoints.length];
-
-      for (int iPoint = 0; iPoint < dpPoints.length; iPoint++) {
-         final DPPoint point = (DPPoint) dpPoints[iPoint];
-         segmentSerieIndex[iPoint] = point.serieIndex;
-      }
+            distanceSerie,
+            elevationSerie,
+            getTourIndices());
    }
 
    /**
@@ -1655,20 +1639,11 @@ public class TourSegmenterView extends ViewPart implements ITourViewer {
 
       final int serieSize = distanceSerie.length;
 
-      // convert data series into dp points
-      final DPPoint[] graphPoints = new DPPoint[serieSize];
-      for (int serieIndex = 0; serieIndex < graphPoints.length; serieIndex++) {
-
-         graphPoints[serieIndex] = new DPPoint(
-               distanceSerie[serieIndex],
-               elevationSerie[serieIndex],
-               serieIndex);
-      }
-
-      final Object[] simplePoints = new DouglasPeuckerSimplifier(
+      final int[] allSimplifiedIndices = DouglasPeuckerSimplifier.simplify(
             _dpToleranceElevation,
-            graphPoints,
-            forcedIndices).simplify();
+            distanceSerie,
+            elevationSerie,
+            forcedIndices);
 
       /*
        * copies the data index for the simplified points into the tour data
@@ -1686,19 +1661,19 @@ public class TourSegmenterView extends ViewPart implements ITourViewer {
       // set first point
       segmentSerieIndex.add(0);
 
-      DPPoint prevDpPoint = (DPPoint) simplePoints[0];
+      int prevSerieIndex = allSimplifiedIndices[0];
 
-      double prevAltitude = prevDpPoint.y;
+      double prevAltitude = elevationSerie[prevSerieIndex];
       boolean isPrevAltiUp = false;
       boolean isPrevAltiDown = false;
 
-      for (int simpleIndex = 1; simpleIndex < simplePoints.length; simpleIndex++) {
+      for (int simpleIndex = 1; simpleIndex < allSimplifiedIndices.length; simpleIndex++) {
 
-         final DPPoint currentDpPoint = (DPPoint) simplePoints[simpleIndex];
+         final int currentSerieIndex = allSimplifiedIndices[simpleIndex];
 
          boolean isAddPoint = false;
 
-         if (forcedIndices != null && forcedIndex == prevDpPoint.serieIndex) {
+         if (forcedIndices != null && forcedIndex == prevSerieIndex) {
 
             // this is a forced point
 
@@ -1716,7 +1691,7 @@ public class TourSegmenterView extends ViewPart implements ITourViewer {
 
          }
 
-         final double currentAltitude = currentDpPoint.y;
+         final double currentAltitude = elevationSerie[currentSerieIndex];
 
          if (simpleIndex == 1) {
 
@@ -1748,10 +1723,10 @@ public class TourSegmenterView extends ViewPart implements ITourViewer {
          }
 
          if (isAddPoint) {
-            segmentSerieIndex.add(prevDpPoint.serieIndex);
+            segmentSerieIndex.add(prevSerieIndex);
          }
 
-         prevDpPoint = currentDpPoint;
+         prevSerieIndex = currentSerieIndex;
          prevAltitude = currentAltitude;
       }
 
@@ -1778,20 +1753,11 @@ public class TourSegmenterView extends ViewPart implements ITourViewer {
 
       final int numTimeSlices = timeSerie.length;
 
-      // convert data series into dp points
-      final DPPoint[] graphPoints = new DPPoint[numTimeSlices];
-      for (int serieIndex = 0; serieIndex < numTimeSlices; serieIndex++) {
-
-         graphPoints[serieIndex] = new DPPoint(
-               distanceSerie[serieIndex],
-               elevationSerie[serieIndex],
-               serieIndex);
-      }
-
-      final DPPoint[] allSimplifiedPoints = new DouglasPeuckerSimplifier(
+      final int[] allSimplifiedIndices = DouglasPeuckerSimplifier.simplify(
             _dpToleranceElevation_FlatGainLoss,
-            graphPoints,
-            allForcedIndices).simplify();
+            distanceSerie,
+            elevationSerie,
+            allForcedIndices);
 
       /*
        * Copies the data index for the simplified points into the tour data
@@ -1808,7 +1774,7 @@ public class TourSegmenterView extends ViewPart implements ITourViewer {
       // set first point
       segmentSerieIndex.add(0);
 
-      DPPoint segmentStartDpPoint = allSimplifiedPoints[0];
+      int segmentStartSerieIndex = allSimplifiedIndices[0];
 
       _vertSpeed_TimeFlat = 0;
       _vertSpeed_TimeGain = 0;
@@ -1838,11 +1804,9 @@ public class TourSegmenterView extends ViewPart implements ITourViewer {
 
       int segmentStartIndex = 0;
 
-      for (int segmentIndex = 1; segmentIndex < allSimplifiedPoints.length; segmentIndex++) {
-
-         final DPPoint segmentEndDpPoint = allSimplifiedPoints[segmentIndex];
+      for (int segmentIndex = 1; segmentIndex < allSimplifiedIndices.length; segmentIndex++) {
 
-         final int serieIndex = segmentEndDpPoint.serieIndex;
+         final int serieIndex = allSimplifiedIndices[segmentIndex];
          final int segmentEndIndex = serieIndex;
 
          final int segmentEndTime = timeSerie[serieIndex];
@@ -1876,7 +1840,7 @@ public class TourSegmenterView extends ViewPart implements ITourViewer {
 
          boolean isAddPoint = false;
 
-         if (allForcedIndices != null && forcedIndex == segmentStartDpPoint.serieIndex) {
+         if (allForcedIndices != null && forcedIndex == segmentStartSerieIndex) {
 
             // this is a forced point
 
@@ -1981,7 +1945,7 @@ public class TourSegmenterView extends ViewPart implements ITourViewer {
 
          if (isAddPoint) {
 
-            segmentSerieIndex.add(segmentStartDpPoint.serieIndex);
+            segmentSerieIndex.add(segmentStartSerieIndex);
 
             if (isFlatGradient) {
                _vertSpeed_NumSegments_Flat++;
@@ -1992,7 +1956,7 @@ public class TourSegmenterView extends ViewPart implements ITourViewer {
             }
          }
 
-         segmentStartDpPoint = segmentEndDpPoint;
+         segmentStartSerieIndex = serieIndex;
          segmentStartIndex = segmentEndIndex;
          segmentStartTime = segmentEndTime;
          segmentStartDistance = segmentEndDistance;
@@ -2018,26 +1982,12 @@ public class TourSegmenterView extends ViewPart implements ITourViewer {
          return;
       }
 
-      // convert data series into points
-      final DPPoint[] graphPoints = new DPPoint[timeSerie.length];
-      for (int serieIndex = 0; serieIndex < graphPoints.length; serieIndex++) {
-         graphPoints[serieIndex] = new DPPoint(timeSerie[serieIndex], powerSerie[serieIndex], serieIndex);
-      }
-
-      final Object[] simplePoints = new DouglasPeuckerSimplifier(
+      // the simplified serie indices are the segments of the tour data
+      _tourData.segmentSerieIndex = DouglasPeuckerSimplifier.simplify(
             _dpTolerancePower,
-            graphPoints,
-            getTourIndices()).simplify();
-
-      /*
-       * copies the data index for the simplified points into the tour data
-       */
-      final int[] segmentSerieIndex = _tourData.segmentSerieIndex = new int[simplePoints.length];
-
-      for (int iPoint = 0; iPoint < simplePoints.length; iPoint++) {
-         final DPPoint point = (DPPoint) simplePoints[iPoint];
-         segmentSerieIndex[iPoint] = point.serieIndex;
-      }
+            timeSerie,
+            powerSerie,
+            getTourIndices());
    }
 
    /**
@@ -2053,26 +2003,12 @@ public class TourSegmenterView extends ViewPart implements ITourViewer {
          return;
       }
 
-      // convert data series into points
-      final DPPoint[] graphPoints = new DPPoint[timeSerie.length];
-      for (int serieIndex = 0; serieIndex < graphPoints.length; serieIndex++) {
-         graphPoints[serieIndex] = new DPPoint(timeSerie[serieIndex], pulseSerie[serieIndex], serieIndex);
-      }
-
-      final Object[] simplePoints = new DouglasPeuckerSimplifier(
+      // the simplified serie indices are the segments of the tour data
+      _tourData.segmentSerieIndex = DouglasPeuckerSimplifier.simplify(
             _dpTolerancePulse,
-            graphPoints,
-            getTourIndices()).simplify();
-
-      /*
-       * copies the data index for the simplified points into the tour data
-       */
-      final int[] segmentSerieIndex = _tourData.segmentSerieIndex = new int[simplePoints.length];
-
-      for (int iPoint = 0; iPoint < simplePoints.length; iPoint++) {
-         final DPPoint point = (DPPoint) simplePoints[iPoint];
-         segmentSerieIndex[iPoint] = point.serieIndex;
-      }
+            timeSerie,
+            pulseSerie,
+            getTourIndices());
    }
 
    private void createSegmentsBy_Elevation_GainLoss() {
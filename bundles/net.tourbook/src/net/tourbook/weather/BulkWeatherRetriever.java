@@ -0,0 +1,304 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.weather;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import net.tourbook.Messages;
+import net.tourbook.common.util.StatusUtil;
+import net.tourbook.data.TourData;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Retrieves the weather of many tours concurrently.
+ * <p>
+ * The HTTP requests of the tours are overlapping but each weather provider is limited to
+ * {@link HistoricalWeatherRetriever#getMaxRequestsPerSecond()}. The responses are cached on disk
+ * with the provider, the rounded location and the requested time, so that tours which are near to
+ * each other or a repeated retrieval do not need to send the requests again.
+ */
+public final class BulkWeatherRetriever {
+
+   private static final String            CACHE_FOLDER_NAME      = "weather-cache"; //$NON-NLS-1$
+   private static final String            CACHE_FILE_EXTENSION   = ".json";         //$NON-NLS-1$
+
+   /**
+    * Number of tours for which the weather is retrieved at the same time, the requests are
+    * additionally limited by the rate limit of the provider
+    */
+   private static final int               NUM_RETRIEVAL_THREADS  = 4;
+
+   /**
+    * Key is the weather provider ID, value is the {@link System#nanoTime()} when the next request
+    * can be sent to this provider
+    */
+   private static final Map<String, Long> _allNextRequestTimes   = new HashMap<>();
+
+   private final String                   _weatherProvider;
+   private final Path                     _providerCacheFolder;
+
+   private int                            _numCachedResponses;
+
+   /**
+    * @param weatherProvider
+    *           ID of the weather provider
+    * @param cacheFolder
+    *           Folder where the responses of all weather providers are cached
+    */
+   public BulkWeatherRetriever(final String weatherProvider, final Path cacheFolder) {
+
+      _weatherProvider = weatherProvider;
+      _providerCacheFolder = cacheFolder.resolve(weatherProvider);
+   }
+
+   /**
+    * @return Returns the default folder for the cached weather responses
+    */
+   public static Path getDefaultCacheFolder() {
+
+      return Paths.get(Platform.getInstanceLocation().getURL().getPath(), CACHE_FOLDER_NAME);
+   }
+
+   /**
+    * @param cacheKey
+    *
+    * @return Returns the cached response or <code>null</code> when the response is not cached
+    */
+   String getCachedResponse(final String cacheKey) {
+
+      final Path cacheFile = _providerCacheFolder.resolve(cacheKey + CACHE_FILE_EXTENSION);
+
+      if (Files.exists(cacheFile) == false) {
+         return null;
+      }
+
+      try {
+
+         final String response = Files.readString(cacheFile, StandardCharsets.UTF_8);
+
+         synchronized (this) {
+            _numCachedResponses++;
+         }
+
+         return response;
+
+      } catch (final IOException e) {
+         StatusUtil.log(e);
+      }
+
+      return null;
+   }
+
+   /**
+    * @return Returns the number of responses which were read from the cache
+    */
+   public synchronized int getNumCachedResponses() {
+      return _numCachedResponses;
+   }
+
+   /**
+    * Cache a response, the file is written into a temporary file and then moved, so that a
+    * concurrent reader never reads a partial response.
+    *
+    * @param cacheKey
+    * @param response
+    */
+   void putCachedResponse(final String cacheKey, final String response) {
+
+      try {
+
+         Files.createDirectories(_providerCacheFolder);
+
+         final Path tempFile = Files.createTempFile(_providerCacheFolder, cacheKey, null);
+
+         Files.writeString(tempFile, response, StandardCharsets.UTF_8);
+         Files.move(tempFile,
+               _providerCacheFolder.resolve(cacheKey + CACHE_FILE_EXTENSION),
+               StandardCopyOption.REPLACE_EXISTING,
+               StandardCopyOption.ATOMIC_MOVE);
+
+      } catch (final IOException e) {
+         StatusUtil.log(e);
+      }
+   }
+
+   /**
+    * Retrieve the weather of all tours concurrently
+    *
+    * @param allTourData
+    * @param monitor
+    *           The progress is reported to this monitor, it must be started by the caller
+    * @param tourRetriever
+    *           Retrieves the weather of one tour and returns <code>true</code> when the tour is
+    *           modified, it is run in a worker thread
+    *
+    * @return Returns all modified tours in the order of all tours
+    */
+   public List<TourData> retrieveWeatherData(final List<TourData> allTourData,
+                                             final IProgressMonitor monitor,
+                                             final Predicate<TourData> tourRetriever) {
+
+      final List<TourData> allModifiedTours = new ArrayList<>();
+
+      final int numTours = allTourData.size();
+      if (numTours == 0) {
+         return allModifiedTours;
+      }
+
+      final ThreadFactory threadFactory = new ThreadFactory() {
+
+         private int __threadNumber = 0;
+
+         @Override
+         public Thread newThread(final Runnable runnable) {
+
+            final Thread thread = new Thread(runnable, "RetrieveWeather-" + __threadNumber++); //$NON-NLS-1$
+
+            thread.setDaemon(true);
+
+            return thread;
+         }
+      };
+
+      final ExecutorService executor = Executors.newFixedThreadPool(Math.min(NUM_RETRIEVAL_THREADS, numTours), threadFactory);
+      final ExecutorCompletionService<Integer> completionService = new ExecutorCompletionService<>(executor);
+
+      final AtomicBoolean isCanceled = new AtomicBoolean();
+      final boolean[] isTourModified = new boolean[numTours];
+
+      for (int tourIndex = 0; tourIndex < numTours; tourIndex++) {
+
+         final int finalTourIndex = tourIndex;
+         final TourData tourData = allTourData.get(tourIndex);
+
+         completionService.submit(() -> {
+
+            // tours which are not yet started are skipped when canceled
+            if (isCanceled.get() == false) {
+               isTourModified[finalTourIndex] = tourRetriever.test(tourData);
+            }
+
+            return finalTourIndex;
+         });
+      }
+
+      try {
+
+         int numRetrieved = 0;
+
+         // wait until all started tours are finished, also when canceled, so that no tour is modified afterwards
+         while (numRetrieved < numTours) {
+
+            if (monitor.isCanceled()) {
+               isCanceled.set(true);
+            }
+
+            final Future<Integer> future = completionService.poll(100, TimeUnit.MILLISECONDS);
+            if (future == null) {
+               continue;
+            }
+
+            try {
+
+               future.get();
+
+            } catch (final ExecutionException e) {
+               StatusUtil.log(e);
+            }
+
+            numRetrieved++;
+
+            monitor.subTask(NLS.bind(
+                  Messages.Tour_Data_RetrievingWeatherData_Monitor_Subtask,
+                  numRetrieved,
+                  numTours));
+            monitor.worked(1);
+         }
+
+      } catch (final InterruptedException e) {
+
+         isCanceled.set(true);
+         Thread.currentThread().interrupt();
+
+      } finally {
+
+         executor.shutdown();
+      }
+
+      for (int tourIndex = 0; tourIndex < numTours; tourIndex++) {
+
+         if (isTourModified[tourIndex]) {
+            allModifiedTours.add(allTourData.get(tourIndex));
+         }
+      }
+
+      return allModifiedTours;
+   }
+
+   /**
+    * Wait until the next request can be sent to the weather provider without exceeding its rate
+    * limit
+    *
+    * @param maxRequestsPerSecond
+    *
+    * @throws InterruptedException
+    */
+   void waitForRequestSlot(final int maxRequestsPerSecond) throws InterruptedException {
+
+      final long requestInterval = TimeUnit.SECONDS.toNanos(1) / maxRequestsPerSecond;
+
+      long waitingTime;
+
+      synchronized (_allNextRequestTimes) {
+
+         final long now = System.nanoTime();
+         final Long nextRequestTime = _allNextRequestTimes.get(_weatherProvider);
+
+         final long requestTime = nextRequestTime == null || nextRequestTime - now < 0
+               ? now
+               : nextRequestTime;
+
+         _allNextRequestTimes.put(_weatherProvider, requestTime + requestInterval);
+
+         waitingTime = requestTime - now;
+      }
+
+      if (waitingTime > 0) {
+         TimeUnit.NANOSECONDS.sleep(waitingTime);
+      }
+   }
+}
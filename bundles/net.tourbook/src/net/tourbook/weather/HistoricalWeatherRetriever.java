@@ -25,6 +25,7 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.time.Duration;
+import java.util.Locale;
 
 import net.tourbook.Messages;
 import net.tourbook.common.UI;
@@ -40,12 +41,30 @@ import org.eclipse.swt.widgets.Display;
 
 public abstract class HistoricalWeatherRetriever {
 
-   private static HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(20)).build();
-   public TourData           tour;
-   public LatLng             searchAreaCenter;
-   public long               tourEndTime;
-   public long               tourMiddleTime;
-   public long               tourStartTime;
+   /**
+    * Responses are cached only when the tour is older than this number of seconds because the
+    * providers can still update the weather of the last hours
+    */
+   private static final long  CACHE_MIN_TOUR_AGE = 24 * 3600;
+
+   private static HttpClient  httpClient         = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(20)).build();
+   public TourData            tour;
+   public LatLng              searchAreaCenter;
+   public long                tourEndTime;
+   public long                tourMiddleTime;
+   public long                tourStartTime;
+
+   /**
+    * Is set when the weather of many tours is retrieved, then the responses are cached and the
+    * requests are rate limited
+    */
+   private BulkWeatherRetriever _bulkRetriever;
+
+   /**
+    * Is <code>true</code> when the last response was read from the response cache and no request
+    * was sent to the provider
+    */
+   protected boolean            isResponseFromCache;
 
    protected HistoricalWeatherRetriever() {}
 
@@ -106,6 +125,43 @@ public abstract class HistoricalWeatherRetriever {
 
    protected abstract boolean canMakeRequest();
 
+   /**
+    * Create the key of a cached response from the rounded search area center, the language and
+    * the requested time, so that tours which are near to each other are sharing their responses.
+    *
+    * @param requestName
+    *           Distinguishes the different requests of a provider
+    * @param requestTime
+    *           The time which is requested, rounded to the time resolution of the response, e.g.
+    *           hours or days
+    *
+    * @return Returns the cache key or <code>null</code> when the response should not be cached
+    */
+   protected String createCacheKey(final String requestName, final String requestTime) {
+
+      if (_bulkRetriever == null
+            || tourEndTime > System.currentTimeMillis() / 1000 - CACHE_MIN_TOUR_AGE) {
+
+         return null;
+      }
+
+      return String.format(Locale.ROOT,
+            "%s_%s_%.2f_%.2f_%s", //$NON-NLS-1$
+            requestName,
+            Locale.getDefault().getLanguage(),
+            searchAreaCenter.getLatitude(),
+            searchAreaCenter.getLongitude(),
+            requestTime);
+   }
+
+   /**
+    * @return Returns the number of requests which can be sent to the provider in one second when
+    *         the weather of many tours is retrieved
+    */
+   protected int getMaxRequestsPerSecond() {
+      return 5;
+   }
+
    protected abstract String getWeatherRetrievalFailureLogMessage();
 
    private void logVendorError(final String exceptionMessage) {
@@ -120,6 +176,47 @@ public abstract class HistoricalWeatherRetriever {
 
    protected String sendWeatherApiRequest(final String weatherRequestWithParameters) {
 
+      return sendWeatherApiRequest(weatherRequestWithParameters, null);
+   }
+
+   /**
+    * @param weatherRequestWithParameters
+    * @param cacheKey
+    *           Key which is created with {@link #createCacheKey(String, String)} or
+    *           <code>null</code> when the response should not be cached
+    *
+    * @return Returns the response or an empty string when the request failed
+    */
+   protected String sendWeatherApiRequest(final String weatherRequestWithParameters, final String cacheKey) {
+
+      isResponseFromCache = false;
+
+      if (_bulkRetriever != null) {
+
+         if (cacheKey != null) {
+
+            final String cachedResponse = _bulkRetriever.getCachedResponse(cacheKey);
+
+            if (cachedResponse != null) {
+
+               isResponseFromCache = true;
+
+               return cachedResponse;
+            }
+         }
+
+         try {
+
+            _bulkRetriever.waitForRequestSlot(getMaxRequestsPerSecond());
+
+         } catch (final InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+            return UI.EMPTY_STRING;
+         }
+      }
+
       String weatherHistoryData = UI.EMPTY_STRING;
 
       try {
@@ -148,9 +245,22 @@ public abstract class HistoricalWeatherRetriever {
          return UI.EMPTY_STRING;
       }
 
+      if (_bulkRetriever != null && cacheKey != null) {
+         _bulkRetriever.putCachedResponse(cacheKey, weatherHistoryData);
+      }
+
       return weatherHistoryData;
    }
 
+   /**
+    * @param bulkRetriever
+    *           Is used to cache the responses and to limit the requests, can be <code>null</code>
+    */
+   public void setBulkRetriever(final BulkWeatherRetriever bulkRetriever) {
+
+      _bulkRetriever = bulkRetriever;
+   }
+
    /**
     * @param tour
     *           The tour for which we need to retrieve the weather data.
@@ -89,11 +89,28 @@ public final class TourWeatherRetriever {
    public static boolean retrieveWeatherData(final TourData tourData,
                                              final String weatherProvider) {
 
+      return retrieveWeatherData(tourData, weatherProvider, null);
+   }
+
+   /**
+    * @param tourData
+    * @param weatherProvider
+    * @param bulkRetriever
+    *           Caches the responses and limits the requests when the weather of many tours is
+    *           retrieved concurrently, can be <code>null</code>
+    *
+    * @return Returns <code>true</code> when the weather is retrieved
+    */
+   public static boolean retrieveWeatherData(final TourData tourData,
+                                             final String weatherProvider,
+                                             final BulkWeatherRetriever bulkRetriever) {
+
       final HistoricalWeatherRetriever historicalWeatherRetriever = getHistoricalWeatherRetriever(weatherProvider);
       if (historicalWeatherRetriever == null) {
          return false;
       }
       historicalWeatherRetriever.setTourData(tourData);
+      historicalWeatherRetriever.setBulkRetriever(bulkRetriever);
 
       final boolean isWeatherRetrieved = historicalWeatherRetriever.retrieveHistoricalWeatherData();
       if (isWeatherRetrieved) {
@@ -239,6 +239,13 @@ public class OpenWeatherMapRetriever extends HistoricalWeatherRetriever {
    @Override
    protected boolean canMakeRequest() {
 
+      synchronized (_state) {
+         return canMakeRequest_Synchronized();
+      }
+   }
+
+   private boolean canMakeRequest_Synchronized() {
+
       final LocalDate lastRequestDay = Util.getStateDate(_state, STATE_LAST_REQUEST_DAY, LocalDate.of(2000, 1, 1));
       int requestCount = getRequestCount();
 
@@ -332,6 +339,13 @@ public class OpenWeatherMapRetriever extends HistoricalWeatherRetriever {
       return Util.getStateInt(_state, STATE_REQUEST_COUNT, 0);
    }
 
+   @Override
+   protected int getMaxRequestsPerSecond() {
+
+      // the one call API allows 60 requests per minute
+      return 1;
+   }
+
    @Override
    protected String getWeatherRetrievalFailureLogMessage() {
       return Messages.Log_HistoricalWeatherRetriever_003_RetrievalLimitReached;
@@ -364,11 +378,46 @@ public class OpenWeatherMapRetriever extends HistoricalWeatherRetriever {
       return tourStartTimeCalendar.compareTo(currentTimeCalendar) == 0;
    }
 
+   /**
+    * Give back a reserved request which was not sent to the provider
+    */
+   private void releaseRequest() {
+
+      synchronized (_state) {
+         _state.put(STATE_REQUEST_COUNT, Math.max(0, getRequestCount() - 1));
+      }
+   }
+
+   /**
+    * Reserve one request of the daily request limit, checking and incrementing the request count is
+    * one atomic step, so that concurrent retrievals cannot exceed the limit.
+    *
+    * @return Returns <code>true</code> when the request can be sent, otherwise the daily limit is
+    *         reached
+    */
+   private boolean reserveRequest() {
+
+      synchronized (_state) {
+
+         if (canMakeRequest_Synchronized() == false) {
+            return false;
+         }
+
+         _state.put(STATE_REQUEST_COUNT, getRequestCount() + 1);
+
+         return true;
+      }
+   }
+
    private AirPollutionResult retrieveAirPollutionData() {
 
       final String airPollutionRequestWithParameters = buildAirPollutionApiRequest();
 
-      final String rawAirPollutionData = sendWeatherApiRequest(airPollutionRequestWithParameters);
+      final String cacheKey = createCacheKey(
+            "air_pollution", //$NON-NLS-1$
+            tourStartTime / 3600 + UI.DASH + tourEndTime / 3600);
+
+      final String rawAirPollutionData = sendWeatherApiRequest(airPollutionRequestWithParameters, cacheKey);
       if (StringUtils.isNullOrEmpty(rawAirPollutionData)) {
          return null;
       }
@@ -431,9 +480,6 @@ public class OpenWeatherMapRetriever extends HistoricalWeatherRetriever {
             return false;
          }
 
-         final int requestCount = getRequestCount();
-         _state.put(STATE_REQUEST_COUNT, requestCount + 1);
-
          timeMachineResult.addAllData(newTimeMachineResult.getData());
          final List<WeatherData> hourly = timeMachineResult.getData();
 
@@ -484,7 +530,21 @@ public class OpenWeatherMapRetriever extends HistoricalWeatherRetriever {
 
       final String weatherRequestWithParameters = buildWeatherApiRequest(requestedTime, BASE_TIME_MACHINE_API_URL);
 
-      final String rawWeatherData = sendWeatherApiRequest(weatherRequestWithParameters);
+      // the time machine returns the weather of the hour which contains the requested time
+      final String cacheKey = createCacheKey("timemachine", Long.toString(requestedTime / 3600)); //$NON-NLS-1$
+
+      // the tours are retrieved concurrently, the request must be reserved before it is sent
+      if (reserveRequest() == false) {
+         return null;
+      }
+
+      final String rawWeatherData = sendWeatherApiRequest(weatherRequestWithParameters, cacheKey);
+
+      if (isResponseFromCache) {
+
+         // the provider was not requested
+         releaseRequest();
+      }
 
       if (StringUtils.isNullOrEmpty(rawWeatherData)) {
          return null;
@@ -242,7 +242,9 @@ public class WeatherApiRetriever extends HistoricalWeatherRetriever {
 
          final String weatherRequestWithParameters = buildWeatherApiRequest(requestedDate);
 
-         final String rawWeatherData = sendWeatherApiRequest(weatherRequestWithParameters);
+         final String cacheKey = createCacheKey("history", requestedDate.toString()); //$NON-NLS-1$
+
+         final String rawWeatherData = sendWeatherApiRequest(weatherRequestWithParameters, cacheKey);
          if (StringUtils.isNullOrEmpty(rawWeatherData)) {
             return false;
          }
@@ -343,7 +343,9 @@ public class WorldWeatherOnlineRetriever extends HistoricalWeatherRetriever {
 
       final String weatherRequestWithParameters = buildWeatherApiRequest();
 
-      final String rawWeatherData = sendWeatherApiRequest(weatherRequestWithParameters);
+      final String cacheKey = createCacheKey("past_weather", startDate + UI.DASH + endDate); //$NON-NLS-1$
+
+      final String rawWeatherData = sendWeatherApiRequest(weatherRequestWithParameters, cacheKey);
       if (StringUtils.isNullOrEmpty(rawWeatherData)) {
          return false;
       }